@@ -0,0 +1,155 @@
+package com.cafm.cafmbackend.benchmark;
+
+import com.cafm.cafmbackend.configuration.web.JacksonConfig;
+import com.cafm.cafmbackend.dto.mobile.MobileSyncResponse;
+import com.cafm.cafmbackend.dto.workorder.WorkOrderSimplifiedResponse;
+import com.cafm.cafmbackend.shared.enums.WorkOrderPriority;
+import com.cafm.cafmbackend.shared.enums.WorkOrderStatus;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JSON cost of the two largest response payloads.
+ *
+ * Purpose: Measure (de)serialization of a work-order list page and a mobile sync response
+ * Pattern: JMH benchmark over the application's primary ObjectMapper configuration
+ * Java 23: Record DTOs with pre-built readers and writers, as Spring MVC reuses them
+ * Architecture: Benchmark for the DTO layer and JacksonConfig
+ * Standards: Payload sizes parameterised to cover a list page and a full offline sync
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class JsonSerializationBenchmark {
+
+    @Param({"20", "500"})
+    private int itemCount;
+
+    private ObjectWriter workOrdersWriter;
+    private ObjectReader workOrdersReader;
+    private ObjectWriter syncWriter;
+    private ObjectReader syncReader;
+
+    private List<WorkOrderSimplifiedResponse> workOrders;
+    private MobileSyncResponse syncResponse;
+    private byte[] workOrdersJson;
+    private byte[] syncJson;
+
+    @Setup
+    public void setUp() throws JsonProcessingException {
+        ObjectMapper objectMapper = new JacksonConfig().objectMapper();
+        TypeReference<List<WorkOrderSimplifiedResponse>> listType = new TypeReference<>() {};
+        workOrdersWriter = objectMapper.writerFor(listType);
+        workOrdersReader = objectMapper.readerFor(listType);
+        syncWriter = objectMapper.writerFor(MobileSyncResponse.class);
+        syncReader = objectMapper.readerFor(MobileSyncResponse.class);
+
+        workOrders = new ArrayList<>(itemCount);
+        for (int i = 0; i < itemCount; i++) {
+            workOrders.add(workOrder(i));
+        }
+        syncResponse = syncResponse(itemCount);
+
+        workOrdersJson = workOrdersWriter.writeValueAsBytes(workOrders);
+        syncJson = syncWriter.writeValueAsBytes(syncResponse);
+    }
+
+    @Benchmark
+    public byte[] serializeWorkOrders() throws JsonProcessingException {
+        return workOrdersWriter.writeValueAsBytes(workOrders);
+    }
+
+    @Benchmark
+    public List<WorkOrderSimplifiedResponse> deserializeWorkOrders() throws Exception {
+        return workOrdersReader.readValue(workOrdersJson);
+    }
+
+    @Benchmark
+    public byte[] serializeSyncResponse() throws JsonProcessingException {
+        return syncWriter.writeValueAsBytes(syncResponse);
+    }
+
+    @Benchmark
+    public MobileSyncResponse deserializeSyncResponse() throws Exception {
+        return syncReader.readValue(syncJson);
+    }
+
+    private static WorkOrderSimplifiedResponse workOrder(int i) {
+        LocalDateTime scheduled = LocalDateTime.of(2024, 9, 1, 8, 0).plusHours(i);
+        return WorkOrderSimplifiedResponse.builder()
+            .id(UUID.randomUUID())
+            .workOrderNumber("WO-2024-" + (10_000 + i))
+            .title("HVAC inspection block " + i)
+            .description("Quarterly inspection of air handling units and filters")
+            .status(WorkOrderStatus.values()[i % WorkOrderStatus.values().length])
+            .priority(WorkOrderPriority.values()[i % WorkOrderPriority.values().length])
+            .reportId(UUID.randomUUID())
+            .schoolId(UUID.randomUUID())
+            .schoolName("Al Noor Secondary School")
+            .assignedToId(UUID.randomUUID())
+            .assignedToName("Technician " + i)
+            .companyId(UUID.randomUUID())
+            .scheduledStart(scheduled)
+            .scheduledEnd(scheduled.plusHours(3))
+            .completionPercentage(i % 101)
+            .actualHours(1.5)
+            .instructions("Check filters, belts and condensate drains")
+            .createdAt(scheduled.minusDays(2))
+            .updatedAt(scheduled.minusDays(1))
+            .build();
+    }
+
+    private static MobileSyncResponse syncResponse(int itemCount) {
+        LocalDateTime now = LocalDateTime.of(2024, 9, 1, 12, 0);
+        List<MobileSyncResponse.EntityData> updated = new ArrayList<>(itemCount);
+        for (int i = 0; i < itemCount; i++) {
+            Map<String, Object> data = new LinkedHashMap<>();
+            data.put("work_order_number", "WO-2024-" + (10_000 + i));
+            data.put("status", "IN_PROGRESS");
+            data.put("priority", "HIGH");
+            data.put("completion_percentage", i % 101);
+            data.put("school_name", "Al Noor Secondary School");
+            updated.add(new MobileSyncResponse.EntityData(
+                "work_order", UUID.randomUUID().toString(), data, (long) i, now.minusMinutes(i), null));
+        }
+        List<MobileSyncResponse.DeletedEntity> deleted = List.of(
+            new MobileSyncResponse.DeletedEntity("work_order", UUID.randomUUID().toString(), now.minusHours(1)));
+
+        return new MobileSyncResponse(
+            UUID.randomUUID().toString(),
+            MobileSyncResponse.SyncStatus.SUCCESS,
+            new MobileSyncResponse.ServerChanges(List.of(), updated, deleted, updated.size() + deleted.size()),
+            List.of(),
+            List.of(),
+            now,
+            UUID.randomUUID().toString(),
+            new MobileSyncResponse.SyncStatistics(itemCount, updated.size(), 0, 0, 0, 42L, 0L),
+            Map.of("api_version", "v1")
+        );
+    }
+}
@@ -0,0 +1,57 @@
+package com.cafm.cafmbackend.benchmark;
+
+import com.cafm.cafmbackend.domain.services.LocationQueryService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Geometry helpers behind the nearby-school and work-order area queries.
+ *
+ * Purpose: Measure Haversine distance and bounding-box calculation per point
+ * Pattern: JMH benchmark; repositories are not touched by the measured methods
+ * Java 23: Coordinates held in state fields so the JIT cannot fold them
+ * Architecture: Benchmark for LocationQueryService
+ * Standards: Coordinates around Riyadh, matching the school data the queries run on
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class LocationQueryBenchmark {
+
+    private LocationQueryService locationQueryService;
+
+    private double centerLat = 24.7136;
+    private double centerLon = 46.6753;
+    private double pointLat = 24.7743;
+    private double pointLon = 46.7386;
+    private double radiusKm = 10.0;
+
+    @Setup
+    public void setUp() {
+        locationQueryService = new LocationQueryService(null, null, null, null, null);
+    }
+
+    @Benchmark
+    public double calculateDistance() {
+        return locationQueryService.calculateDistance(centerLat, centerLon, pointLat, pointLon);
+    }
+
+    @Benchmark
+    public Map<String, Double> calculateBoundingBox() {
+        return locationQueryService.calculateBoundingBox(centerLat, centerLon, radiusKm);
+    }
+}
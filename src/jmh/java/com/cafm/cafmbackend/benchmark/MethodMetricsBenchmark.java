@@ -0,0 +1,63 @@
+package com.cafm.cafmbackend.benchmark;
+
+import com.cafm.cafmbackend.aspect.MethodMetricsRegistry;
+import com.cafm.cafmbackend.aspect.MethodMetricsRegistry.Layer;
+import com.cafm.cafmbackend.aspect.MethodMetricsRegistry.MethodMeters;
+import com.cafm.cafmbackend.domain.services.LocationQueryService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-call overhead of the performance monitoring aspect.
+ *
+ * Purpose: Measure the meter lookup and recording done around every monitored method
+ * Pattern: JMH benchmark of the advice body without the AOP proxy itself
+ * Java 23: Contended run with several threads recording into the same method meters
+ * Architecture: Benchmark for MethodMetricsRegistry, used by PerformanceMonitoringAspect
+ * Standards: SimpleMeterRegistry in place of the Prometheus registry
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class MethodMetricsBenchmark {
+
+    private MethodMetricsRegistry registry;
+    private Method method;
+
+    @Setup
+    public void setUp() throws NoSuchMethodException {
+        registry = new MethodMetricsRegistry(new SimpleMeterRegistry());
+        method = LocationQueryService.class.getMethod("calculateDistance",
+                                                      double.class, double.class, double.class, double.class);
+    }
+
+    @Benchmark
+    public MethodMeters lookupAndRecord() {
+        MethodMeters meters = registry.meters(Layer.SERVICE, LocationQueryService.class, method, null);
+        long start = System.nanoTime();
+        meters.record(System.nanoTime() - start, true);
+        return meters;
+    }
+
+    @Benchmark
+    @Threads(4)
+    public MethodMeters lookupAndRecordContended() {
+        return lookupAndRecord();
+    }
+}
@@ -0,0 +1,85 @@
+package com.cafm.cafmbackend.benchmark;
+
+import com.cafm.cafmbackend.shared.validation.constraint.StrongPassword;
+import com.cafm.cafmbackend.shared.validation.validator.StrongPasswordValidator;
+import jakarta.validation.ConstraintValidatorContext;
+import jakarta.validation.ConstraintValidatorContext.ConstraintViolationBuilder;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.lang.reflect.Proxy;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Password policy check run on registration, reset and change.
+ *
+ * Purpose: Measure StrongPasswordValidator on an accepted and a rejected password
+ * Pattern: JMH benchmark with a no-op validator context
+ * Java 23: Dynamic proxy stands in for the Hibernate Validator context and builder
+ * Architecture: Benchmark for the @StrongPassword constraint
+ * Standards: Validator configured with the application.yml defaults
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class PasswordValidationBenchmark {
+
+    @StrongPassword
+    private String annotatedPassword;
+
+    private StrongPasswordValidator validator;
+    private ConstraintValidatorContext context;
+
+    private String strongPassword = "Vq7#mLk2!pRz9&Tw";
+    private String weakPassword = "password123";
+
+    @Setup
+    public void setUp() throws NoSuchFieldException {
+        validator = new StrongPasswordValidator();
+        ReflectionTestUtils.setField(validator, "minLength", 12);
+        ReflectionTestUtils.setField(validator, "maxLength", 128);
+        ReflectionTestUtils.setField(validator, "requireUppercase", true);
+        ReflectionTestUtils.setField(validator, "requireLowercase", true);
+        ReflectionTestUtils.setField(validator, "requireDigit", true);
+        ReflectionTestUtils.setField(validator, "requireSpecial", true);
+        ReflectionTestUtils.setField(validator, "checkCommonPasswords", true);
+        validator.initialize(PasswordValidationBenchmark.class
+            .getDeclaredField("annotatedPassword").getAnnotation(StrongPassword.class));
+
+        context = noOpContext();
+    }
+
+    @Benchmark
+    public boolean validStrongPassword() {
+        return validator.isValid(strongPassword, context);
+    }
+
+    @Benchmark
+    public boolean invalidWeakPassword() {
+        return validator.isValid(weakPassword, context);
+    }
+
+    /**
+     * Context whose builder calls return the same proxy and discard the violation.
+     */
+    private static ConstraintValidatorContext noOpContext() {
+        Object[] self = new Object[1];
+        self[0] = Proxy.newProxyInstance(
+            PasswordValidationBenchmark.class.getClassLoader(),
+            new Class<?>[] {ConstraintValidatorContext.class, ConstraintViolationBuilder.class},
+            (proxy, method, args) -> method.getReturnType().isInstance(self[0]) ? self[0] : null);
+        return (ConstraintValidatorContext) self[0];
+    }
+}
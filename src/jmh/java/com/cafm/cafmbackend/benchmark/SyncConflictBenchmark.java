@@ -0,0 +1,97 @@
+package com.cafm.cafmbackend.benchmark;
+
+import com.cafm.cafmbackend.domain.services.SyncConflictResolver;
+import com.cafm.cafmbackend.domain.services.SyncConflictResolver.ConflictResolution;
+import com.cafm.cafmbackend.domain.services.SyncConflictResolver.ConflictResolutionResult;
+import com.cafm.cafmbackend.domain.services.SyncConflictResolver.ConflictType;
+import com.cafm.cafmbackend.domain.services.SyncConflictResolver.SyncConflict;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Conflict handling cost of a mobile sync batch.
+ *
+ * Purpose: Measure conflict detection per entity and resolution of a whole batch
+ * Pattern: JMH benchmark over work-order shaped payloads
+ * Java 23: Parameterised batch size and strategy
+ * Architecture: Benchmark for SyncConflictResolver, called from the mobile sync endpoints
+ * Standards: Client and server payloads differ in a few fields, like a typical offline edit
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class SyncConflictBenchmark {
+
+    @Param({"10", "200"})
+    private int conflictCount;
+
+    @Param({"SERVER_WINS", "MERGE"})
+    private ConflictResolution strategy;
+
+    private SyncConflictResolver resolver;
+    private List<SyncConflict> conflicts;
+    private Map<String, Object> clientData;
+    private Map<String, Object> serverData;
+    private LocalDateTime clientTimestamp;
+    private LocalDateTime serverTimestamp;
+
+    @Setup
+    public void setUp() {
+        resolver = new SyncConflictResolver();
+        serverTimestamp = LocalDateTime.of(2024, 9, 1, 10, 0);
+        clientTimestamp = serverTimestamp.plusMinutes(5);
+        serverData = workOrder(3L, "IN_PROGRESS", 40, "Replace ceiling lights in room 12");
+        clientData = workOrder(2L, "COMPLETED", 100, "Replaced ceiling lights, two ballasts swapped");
+
+        conflicts = new ArrayList<>(conflictCount);
+        for (int i = 0; i < conflictCount; i++) {
+            conflicts.add(new SyncConflict(
+                UUID.randomUUID().toString(), "work_order", UUID.randomUUID().toString(),
+                clientData, serverData, clientTimestamp, serverTimestamp, ConflictType.UPDATE_CONFLICT));
+        }
+    }
+
+    @Benchmark
+    public List<ConflictResolutionResult> resolveConflicts() {
+        return resolver.resolveConflicts(conflicts, strategy);
+    }
+
+    @Benchmark
+    public List<SyncConflict> detectConflicts() {
+        return resolver.detectConflicts("work_order", "3b0e7c1a-5d2f-4e8a-9f61-2c7d8e4a1b90",
+                                        clientData, serverData, clientTimestamp, serverTimestamp);
+    }
+
+    private static Map<String, Object> workOrder(long version, String status, int completion, String notes) {
+        Map<String, Object> data = new HashMap<>();
+        data.put("version", version);
+        data.put("status", status);
+        data.put("title", "Lighting repair");
+        data.put("priority", "HIGH");
+        data.put("completion_percentage", completion);
+        data.put("completion_notes", notes);
+        data.put("actual_hours", 2.5);
+        data.put("school_id", "9d2b6c4e-1f3a-4b8c-8e7d-5a6f0c1b2d3e");
+        return data;
+    }
+}
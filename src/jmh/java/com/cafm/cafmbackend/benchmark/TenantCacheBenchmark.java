@@ -0,0 +1,143 @@
+package com.cafm.cafmbackend.benchmark;
+
+import com.cafm.cafmbackend.application.service.cache.HotKeyTracker;
+import com.cafm.cafmbackend.application.service.cache.TenantCacheMetricsRegistry;
+import com.cafm.cafmbackend.application.service.tenant.TenantContextService;
+import com.cafm.cafmbackend.configuration.cache.TenantCacheKeyIndex;
+import com.cafm.cafmbackend.configuration.tenant.TenantAwareCacheConfig.TenantAwareCache;
+import com.cafm.cafmbackend.configuration.tenant.TenantAwareCacheConfig.TenantAwareKeyGenerator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.cache.Cache;
+import org.springframework.cache.concurrent.ConcurrentMapCache;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.lang.reflect.Method;
+import java.time.Duration;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Tenant-scoped caching overhead on top of the underlying cache.
+ *
+ * Purpose: Measure key generation and TenantAwareCache get/put including key indexing,
+ *          hit/miss metrics and hot-key tracking
+ * Pattern: JMH benchmark; an in-memory key index stands in for Redis
+ * Java 23: Thread-scoped state so each benchmark thread carries its own tenant context
+ * Architecture: Benchmark for TenantAwareCacheConfig, in front of every @Cacheable call
+ * Standards: Network cost of the Redis index is excluded; only the wrapper's own work is measured
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class TenantCacheBenchmark {
+
+    private static final int KEY_COUNT = 1_000;
+    private static final UUID TENANT_ID = UUID.fromString("6f1c2a3e-8b1d-4a7e-9c55-0d4f2b7a9e10");
+
+    private TenantContextService tenantContextService;
+    private TenantAwareKeyGenerator keyGenerator;
+    private TenantAwareCache cache;
+    private Method cachedMethod;
+    private UUID[] keys;
+
+    @Setup(Level.Trial)
+    public void setUp() throws NoSuchMethodException {
+        tenantContextService = new TenantContextService(null);
+        tenantContextService.setCurrentTenant(TENANT_ID);
+
+        HotKeyTracker hotKeyTracker = new HotKeyTracker(null);
+        ReflectionTestUtils.setField(hotKeyTracker, "sketchWidth", 512);
+        ReflectionTestUtils.setField(hotKeyTracker, "hotKeysPerCache", 200);
+        hotKeyTracker.track("users");
+
+        Cache delegate = new ConcurrentMapCache("users");
+        cache = new TenantAwareCache(delegate, tenantContextService, new InMemoryTenantCacheKeyIndex(),
+                                     new TenantCacheMetricsRegistry(), hotKeyTracker);
+        keyGenerator = new TenantAwareKeyGenerator(tenantContextService);
+        cachedMethod = TenantContextService.class.getMethod("validateTenantAccess", UUID.class);
+
+        keys = new UUID[KEY_COUNT];
+        for (int i = 0; i < KEY_COUNT; i++) {
+            keys[i] = UUID.randomUUID();
+            cache.put(keys[i], "user-" + i);
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        tenantContextService.clearTenantContext();
+    }
+
+    @Benchmark
+    public Object generateKey() {
+        return keyGenerator.generate(tenantContextService, cachedMethod, nextKey());
+    }
+
+    @Benchmark
+    public Cache.ValueWrapper getHit() {
+        return cache.get(nextKey());
+    }
+
+    @Benchmark
+    public Cache.ValueWrapper getMiss() {
+        return cache.get(UUID.randomUUID());
+    }
+
+    @Benchmark
+    public void put() {
+        UUID key = nextKey();
+        cache.put(key, key.toString());
+    }
+
+    private UUID nextKey() {
+        return keys[ThreadLocalRandom.current().nextInt(KEY_COUNT)];
+    }
+
+    /**
+     * Redis stand-in for the tenant key index: the same set semantics kept in memory.
+     */
+    static final class InMemoryTenantCacheKeyIndex extends TenantCacheKeyIndex {
+
+        private final ConcurrentHashMap<String, Set<String>> index = new ConcurrentHashMap<>();
+
+        InMemoryTenantCacheKeyIndex() {
+            super(null, Duration.ofHours(25));
+        }
+
+        @Override
+        public void add(String cacheName, UUID tenantId, String key) {
+            index.computeIfAbsent(cacheName + ":" + tenantId, k -> ConcurrentHashMap.newKeySet()).add(key);
+        }
+
+        @Override
+        public void remove(String cacheName, UUID tenantId, String key) {
+            Set<String> keys = index.get(cacheName + ":" + tenantId);
+            if (keys != null) {
+                keys.remove(key);
+            }
+        }
+
+        @Override
+        public Set<String> drain(String cacheName, UUID tenantId) {
+            Set<String> keys = index.remove(cacheName + ":" + tenantId);
+            return keys != null ? keys : Set.of();
+        }
+    }
+}
@@ -6,6 +6,7 @@ import com.cafm.cafmbackend.dto.asset.*;
 import com.cafm.cafmbackend.domain.services.AssetService;
 import com.cafm.cafmbackend.application.service.CurrentUserService;
 import com.cafm.cafmbackend.application.service.ReportGenerationService;
+import com.cafm.cafmbackend.configuration.web.ExportStreamer;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.media.Content;
@@ -14,6 +15,7 @@ import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -27,12 +29,13 @@ import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.async.WebAsyncTask;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.util.Map;
 import java.util.UUID;
-import java.util.concurrent.CompletableFuture;
 
 /**
  * REST controller for asset management operations.
@@ -54,11 +57,14 @@ public class AssetController {
     private final AssetService assetService;
     private final CurrentUserService currentUserService;
     private final ReportGenerationService reportGenerationService;
+    private final ExportStreamer exportStreamer;
     
-    public AssetController(AssetService assetService, CurrentUserService currentUserService, ReportGenerationService reportGenerationService) {
+    public AssetController(AssetService assetService, CurrentUserService currentUserService, ReportGenerationService reportGenerationService,
+                          ExportStreamer exportStreamer) {
         this.assetService = assetService;
         this.currentUserService = currentUserService;
         this.reportGenerationService = reportGenerationService;
+        this.exportStreamer = exportStreamer;
     }
     
     /**
@@ -540,6 +546,7 @@ public class AssetController {
     
     /**
      * Export assets inventory to Excel.
+     * The workbook is streamed to the response while rows are read from the database.
      */
     @GetMapping("/export/inventory/excel")
     @PreAuthorize("hasAnyRole('ADMIN', 'SUPERVISOR')")
@@ -548,27 +555,20 @@ public class AssetController {
         @ApiResponse(responseCode = "200", description = "Excel file generated successfully"),
         @ApiResponse(responseCode = "500", description = "Export generation failed")
     })
-    public CompletableFuture<ResponseEntity<byte[]>> exportAssetsInventoryExcel(
-            @AuthenticationPrincipal UserDetails currentUser) {
+    public WebAsyncTask<Void> exportAssetsInventoryExcel(
+            @AuthenticationPrincipal UserDetails currentUser,
+            HttpServletResponse response) {
         
         logger.info("Export assets inventory Excel by user: {}", currentUser.getUsername());
         
         UUID companyId = currentUserService.ensureTenantContext();
         
-        return reportGenerationService.generateAssetsInventoryExcel(companyId)
-            .thenApply(excelData -> {
-                org.springframework.http.HttpHeaders headers = new org.springframework.http.HttpHeaders();
-                headers.setContentType(org.springframework.http.MediaType.APPLICATION_OCTET_STREAM);
-                headers.setContentDispositionFormData("attachment", "assets-inventory.xlsx");
-                
-                logger.info("Successfully generated assets inventory Excel export for {} bytes", excelData.length);
-                return ResponseEntity.ok()
-                    .headers(headers)
-                    .body(excelData);
-            })
-            .exceptionally(throwable -> {
-                logger.error("Error generating assets inventory Excel export", throwable);
-                return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
-            });
+        org.springframework.http.HttpHeaders headers = new org.springframework.http.HttpHeaders();
+        headers.setContentType(org.springframework.http.MediaType.APPLICATION_OCTET_STREAM);
+        headers.setContentDispositionFormData("attachment", "assets-inventory.xlsx");
+        
+        StreamingResponseBody body = outputStream ->
+            reportGenerationService.writeAssetsInventoryExcel(companyId, outputStream);
+        return exportStreamer.stream(response, headers, body);
     }
 }
\ No newline at end of file
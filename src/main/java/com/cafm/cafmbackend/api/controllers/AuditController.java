@@ -4,6 +4,7 @@ import com.cafm.cafmbackend.infrastructure.persistence.entity.AuditLog;
 import com.cafm.cafmbackend.infrastructure.persistence.entity.AuditLog.AuditAction;
 import com.cafm.cafmbackend.application.service.AuditService;
 import com.cafm.cafmbackend.application.service.CurrentUserService;
+import com.cafm.cafmbackend.dto.common.CursorPageResponse;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.media.Content;
@@ -72,6 +73,33 @@ public class AuditController {
         return ResponseEntity.ok(auditLogs);
     }
 
+    @Operation(
+        summary = "Get audit logs by cursor",
+        description = "Retrieve the company's audit logs newest first; pass nextCursor back as cursor for the " +
+                      "next page. Every page costs the same and no exact total is computed",
+        responses = {
+            @ApiResponse(responseCode = "200", description = "Audit logs retrieved successfully"),
+            @ApiResponse(responseCode = "400", description = "Invalid cursor"),
+            @ApiResponse(responseCode = "403", description = "Access denied")
+        }
+    )
+    @GetMapping("/logs/cursor")
+    @PreAuthorize("hasAnyRole('ADMIN', 'SUPERVISOR')")
+    public ResponseEntity<CursorPageResponse<AuditLog>> getAuditLogsByCursor(
+            @Parameter(description = "nextCursor of the previous page")
+            @RequestParam(required = false) String cursor,
+            
+            @Parameter(description = "Page size, at most 100")
+            @RequestParam(defaultValue = "50") int size,
+            
+            @Parameter(description = "Include the planner's estimated total")
+            @RequestParam(defaultValue = "false") boolean estimateTotal) {
+        
+        UUID companyId = currentUserService.ensureTenantContext();
+        
+        return ResponseEntity.ok(auditService.getAuditLogsPage(companyId, cursor, size, estimateTotal));
+    }
+
     @Operation(
         summary = "Get audit logs for entity",
         description = "Retrieve audit logs for a specific entity (e.g., WorkOrder, Report, Asset)",
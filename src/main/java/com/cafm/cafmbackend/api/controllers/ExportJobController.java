@@ -0,0 +1,119 @@
+package com.cafm.cafmbackend.api.controllers;
+
+import com.cafm.cafmbackend.application.service.CurrentUserService;
+import com.cafm.cafmbackend.application.service.ExportJobService;
+import com.cafm.cafmbackend.dto.export.ExportJobRequest;
+import com.cafm.cafmbackend.dto.export.ExportJobResponse;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.web.bind.annotation.*;
+
+import java.net.URI;
+import java.util.UUID;
+
+/**
+ * REST controller for asynchronous export jobs.
+ *
+ * Purpose: Submit long-running exports, poll their status and download the result
+ * Pattern: RESTful job resource (submit -> status -> download) with OpenAPI documentation
+ * Java 23: Using records for DTOs
+ * Architecture: Controller layer with service delegation
+ * Standards: Comprehensive OpenAPI annotations for Swagger
+ */
+@RestController
+@RequestMapping("/api/v1/exports")
+@SecurityRequirement(name = "bearer-jwt")
+@Tag(name = "Exports", description = "Asynchronous export job operations")
+public class ExportJobController {
+    private static final Logger logger = LoggerFactory.getLogger(ExportJobController.class);
+
+    private final ExportJobService exportJobService;
+    private final CurrentUserService currentUserService;
+
+    public ExportJobController(ExportJobService exportJobService, CurrentUserService currentUserService) {
+        this.exportJobService = exportJobService;
+        this.currentUserService = currentUserService;
+    }
+
+    /**
+     * Submit an export job.
+     */
+    @PostMapping
+    @PreAuthorize("hasAnyRole('ADMIN', 'SUPERVISOR')")
+    @Operation(summary = "Submit export job",
+               description = "Queue an Excel/PDF export; identical recent exports are reused")
+    @ApiResponses({
+        @ApiResponse(responseCode = "202", description = "Export job queued or reused"),
+        @ApiResponse(responseCode = "400", description = "Invalid export request"),
+        @ApiResponse(responseCode = "422", description = "Missing or invalid date range")
+    })
+    public ResponseEntity<ExportJobResponse> submitExport(
+            @Valid @RequestBody ExportJobRequest request,
+            @AuthenticationPrincipal UserDetails currentUser) {
+
+        logger.info("Submit {} export from {} to {} by user: {}",
+                   request.exportType(), request.startDate(), request.endDate(), currentUser.getUsername());
+
+        UUID companyId = currentUserService.ensureTenantContext(currentUser);
+        UUID userId = currentUserService.getCurrentUserId();
+
+        ExportJobResponse job = exportJobService.submit(companyId, userId, request);
+        return ResponseEntity.status(HttpStatus.ACCEPTED)
+            .location(URI.create("/api/v1/exports/" + job.jobId()))
+            .body(job);
+    }
+
+    /**
+     * Get export job status.
+     */
+    @GetMapping("/{id}")
+    @PreAuthorize("hasAnyRole('ADMIN', 'SUPERVISOR')")
+    @Operation(summary = "Get export job", description = "Get the status of an export job")
+    @ApiResponses({
+        @ApiResponse(responseCode = "200", description = "Export job found"),
+        @ApiResponse(responseCode = "404", description = "Export job not found")
+    })
+    public ResponseEntity<ExportJobResponse> getExport(
+            @PathVariable @Parameter(description = "Export job ID") UUID id,
+            @AuthenticationPrincipal UserDetails currentUser) {
+
+        UUID companyId = currentUserService.ensureTenantContext(currentUser);
+        return ResponseEntity.ok(exportJobService.getJob(companyId, id));
+    }
+
+    /**
+     * Download a finished export by redirecting to a short-lived storage URL.
+     */
+    @GetMapping("/{id}/download")
+    @PreAuthorize("hasAnyRole('ADMIN', 'SUPERVISOR')")
+    @Operation(summary = "Download export", description = "Redirect to the stored export file")
+    @ApiResponses({
+        @ApiResponse(responseCode = "302", description = "Redirect to the export file"),
+        @ApiResponse(responseCode = "404", description = "Export job not found"),
+        @ApiResponse(responseCode = "422", description = "Export is not ready or has expired")
+    })
+    public ResponseEntity<Void> downloadExport(
+            @PathVariable @Parameter(description = "Export job ID") UUID id,
+            @AuthenticationPrincipal UserDetails currentUser) {
+
+        UUID companyId = currentUserService.ensureTenantContext(currentUser);
+        String downloadUrl = exportJobService.getDownloadUrl(companyId, id);
+
+        logger.info("Download export job {} by user: {}", id, currentUser.getUsername());
+        return ResponseEntity.status(HttpStatus.FOUND)
+            .location(URI.create(downloadUrl))
+            .build();
+    }
+}
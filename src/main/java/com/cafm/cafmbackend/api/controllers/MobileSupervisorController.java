@@ -346,5 +346,5 @@ public class MobileSupervisorController {
         UUID currentLocationId,
         @Parameter(description = "Timestamp of location update") 
         LocalDateTime timestamp
-    ) {}
+    ) implements SupervisorLocationService.LocationReport {}
 }
\ No newline at end of file
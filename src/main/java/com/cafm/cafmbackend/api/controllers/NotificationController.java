@@ -1,6 +1,7 @@
 package com.cafm.cafmbackend.api.controllers;
 
 import com.cafm.cafmbackend.domain.services.MobileNotificationService;
+import com.cafm.cafmbackend.dto.common.CursorPageResponse;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
@@ -40,6 +41,25 @@ public class NotificationController {
         this.notificationService = notificationService;
     }
     
+    /**
+     * Get notifications with cursor pagination.
+     */
+    @GetMapping
+    @Operation(
+        summary = "Get notifications",
+        description = "Get the current user's notifications newest first; pass nextCursor back as cursor for the next page"
+    )
+    @PreAuthorize("hasAnyRole('ADMIN', 'SUPERVISOR', 'TECHNICIAN')")
+    public ResponseEntity<CursorPageResponse<Map<String, Object>>> getNotifications(
+            @AuthenticationPrincipal UserDetails currentUser,
+            @Parameter(description = "nextCursor of the previous page") @RequestParam(required = false) String cursor,
+            @Parameter(description = "Page size, at most 100") @RequestParam(defaultValue = "20") int size,
+            @Parameter(description = "Include the planner's estimated total") @RequestParam(defaultValue = "false") boolean estimateTotal) {
+        
+        return ResponseEntity.ok(
+            notificationService.getNotifications(currentUser.getUsername(), cursor, size, estimateTotal));
+    }
+    
     /**
      * Get unread notification count.
      */
@@ -5,9 +5,11 @@ import com.cafm.cafmbackend.shared.enums.ReportPriority;
 import com.cafm.cafmbackend.shared.enums.ReportStatus;
 import com.cafm.cafmbackend.dto.report.*;
 import com.cafm.cafmbackend.dto.report.ReportListResponse;
+import com.cafm.cafmbackend.dto.common.CursorPageResponse;
 import com.cafm.cafmbackend.application.service.ReportService;
 import com.cafm.cafmbackend.application.service.ReportGenerationService;
 import com.cafm.cafmbackend.application.service.CurrentUserService;
+import com.cafm.cafmbackend.configuration.web.ExportStreamer;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.media.Content;
@@ -16,6 +18,7 @@ import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -32,6 +35,8 @@ import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.async.WebAsyncTask;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
@@ -39,7 +44,6 @@ import java.time.LocalDate;
 import java.util.List;
 import java.util.Map;
 import java.util.UUID;
-import java.util.concurrent.CompletableFuture;
 
 /**
  * REST controller for maintenance report operations.
@@ -60,12 +64,14 @@ public class ReportController {
     private final ReportService reportService;
     private final ReportGenerationService reportGenerationService;
     private final CurrentUserService currentUserService;
+    private final ExportStreamer exportStreamer;
     
     public ReportController(ReportService reportService, ReportGenerationService reportGenerationService,
-                           CurrentUserService currentUserService) {
+                           CurrentUserService currentUserService, ExportStreamer exportStreamer) {
         this.reportService = reportService;
         this.reportGenerationService = reportGenerationService;
         this.currentUserService = currentUserService;
+        this.exportStreamer = exportStreamer;
     }
     
     // ========== CRUD Operations ==========
@@ -97,6 +103,30 @@ public class ReportController {
         return ResponseEntity.ok(reports);
     }
     
+    /**
+     * Get reports with cursor pagination.
+     */
+    @GetMapping("/cursor")
+    @PreAuthorize("hasAnyRole('ADMIN', 'SUPERVISOR')")
+    @Operation(summary = "Get reports by cursor",
+               description = "Get maintenance reports newest first; pass nextCursor back as cursor for the next page. " +
+                             "Every page costs the same and no exact total is computed")
+    @ApiResponses({
+        @ApiResponse(responseCode = "200", description = "Reports retrieved successfully"),
+        @ApiResponse(responseCode = "400", description = "Invalid cursor"),
+        @ApiResponse(responseCode = "401", description = "Not authenticated"),
+        @ApiResponse(responseCode = "403", description = "Not authorized")
+    })
+    public ResponseEntity<CursorPageResponse<ReportSimplifiedResponse>> getReportsByCursor(
+            @RequestParam(required = false) @Parameter(description = "nextCursor of the previous page") String cursor,
+            @RequestParam(defaultValue = "20") @Parameter(description = "Page size, at most 100") int size,
+            @RequestParam(defaultValue = "false") @Parameter(description = "Include the planner's estimated total") boolean estimateTotal) {
+        
+        UUID companyId = currentUserService.ensureTenantContext();
+        
+        return ResponseEntity.ok(reportService.getReportsPage(companyId, cursor, size, estimateTotal));
+    }
+    
     /**
      * Get report by ID.
      */
@@ -545,6 +575,7 @@ public class ReportController {
     
     /**
      * Export maintenance reports to Excel.
+     * The workbook is streamed to the response while rows are read from the database.
      */
     @GetMapping("/export/excel")
     @PreAuthorize("hasAnyRole('ADMIN', 'SUPERVISOR')")
@@ -554,43 +585,36 @@ public class ReportController {
         @ApiResponse(responseCode = "400", description = "Invalid date range"),
         @ApiResponse(responseCode = "500", description = "Export generation failed")
     })
-    public CompletableFuture<ResponseEntity<byte[]>> exportReportsExcel(
+    public WebAsyncTask<Void> exportReportsExcel(
             @RequestParam @Parameter(description = "Start date", required = true) 
             @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
             @RequestParam @Parameter(description = "End date", required = true) 
             @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate,
-            @AuthenticationPrincipal UserDetails currentUser) {
+            @AuthenticationPrincipal UserDetails currentUser,
+            HttpServletResponse response) {
         
         logger.info("Export maintenance reports Excel from {} to {} by user: {}", 
                    startDate, endDate, currentUser.getUsername());
         
         if (endDate.isBefore(startDate)) {
-            return CompletableFuture.completedFuture(ResponseEntity.badRequest().build());
+            throw new IllegalArgumentException("End date must not be before start date");
         }
         
-        // Get company ID from user context - simplified for now
-        UUID companyId = UUID.randomUUID(); // This should come from user's company
-        
-        return reportGenerationService.generateMaintenanceReportsExcel(companyId, startDate, endDate)
-            .thenApply(excelData -> {
-                HttpHeaders headers = new HttpHeaders();
-                headers.setContentType(MediaType.APPLICATION_OCTET_STREAM);
-                headers.setContentDispositionFormData("attachment", 
-                    "maintenance-reports-" + startDate + "-to-" + endDate + ".xlsx");
-                
-                logger.info("Successfully generated Excel export for {} bytes", excelData.length);
-                return ResponseEntity.ok()
-                    .headers(headers)
-                    .body(excelData);
-            })
-            .exceptionally(throwable -> {
-                logger.error("Error generating Excel export", throwable);
-                return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
-            });
+        UUID companyId = currentUserService.ensureTenantContext(currentUser);
+        
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(MediaType.APPLICATION_OCTET_STREAM);
+        headers.setContentDispositionFormData("attachment", 
+            "maintenance-reports-" + startDate + "-to-" + endDate + ".xlsx");
+        
+        StreamingResponseBody body = outputStream ->
+            reportGenerationService.writeMaintenanceReportsExcel(companyId, startDate, endDate, outputStream);
+        return exportStreamer.stream(response, headers, body);
     }
     
     /**
      * Export maintenance reports to PDF.
+     * The document is streamed to the response while rows are read from the database.
      */
     @GetMapping("/export/pdf")
     @PreAuthorize("hasAnyRole('ADMIN', 'SUPERVISOR')")
@@ -600,38 +624,30 @@ public class ReportController {
         @ApiResponse(responseCode = "400", description = "Invalid date range"),
         @ApiResponse(responseCode = "500", description = "Export generation failed")
     })
-    public CompletableFuture<ResponseEntity<byte[]>> exportReportsPDF(
+    public WebAsyncTask<Void> exportReportsPDF(
             @RequestParam @Parameter(description = "Start date", required = true) 
             @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
             @RequestParam @Parameter(description = "End date", required = true) 
             @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate,
-            @AuthenticationPrincipal UserDetails currentUser) {
+            @AuthenticationPrincipal UserDetails currentUser,
+            HttpServletResponse response) {
         
         logger.info("Export maintenance reports PDF from {} to {} by user: {}", 
                    startDate, endDate, currentUser.getUsername());
         
         if (endDate.isBefore(startDate)) {
-            return CompletableFuture.completedFuture(ResponseEntity.badRequest().build());
+            throw new IllegalArgumentException("End date must not be before start date");
         }
         
-        // Get company ID from user context - simplified for now
-        UUID companyId = UUID.randomUUID(); // This should come from user's company
-        
-        return reportGenerationService.generateMaintenanceReportsPDF(companyId, startDate, endDate)
-            .thenApply(pdfData -> {
-                HttpHeaders headers = new HttpHeaders();
-                headers.setContentType(MediaType.APPLICATION_PDF);
-                headers.setContentDispositionFormData("attachment", 
-                    "maintenance-reports-" + startDate + "-to-" + endDate + ".pdf");
-                
-                logger.info("Successfully generated PDF export for {} bytes", pdfData.length);
-                return ResponseEntity.ok()
-                    .headers(headers)
-                    .body(pdfData);
-            })
-            .exceptionally(throwable -> {
-                logger.error("Error generating PDF export", throwable);
-                return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
-            });
+        UUID companyId = currentUserService.ensureTenantContext(currentUser);
+        
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(MediaType.APPLICATION_PDF);
+        headers.setContentDispositionFormData("attachment", 
+            "maintenance-reports-" + startDate + "-to-" + endDate + ".pdf");
+        
+        StreamingResponseBody body = outputStream ->
+            reportGenerationService.writeMaintenanceReportsPdf(companyId, startDate, endDate, outputStream);
+        return exportStreamer.stream(response, headers, body);
     }
-}
\ No newline at end of file
+}
@@ -5,8 +5,11 @@ import com.cafm.cafmbackend.infrastructure.persistence.entity.WorkOrderMaterial;
 import com.cafm.cafmbackend.infrastructure.persistence.entity.WorkOrderTask;
 import com.cafm.cafmbackend.shared.enums.WorkOrderStatus;
 import com.cafm.cafmbackend.dto.workorder.*;
+import com.cafm.cafmbackend.dto.common.CursorPageResponse;
 import com.cafm.cafmbackend.application.service.WorkOrderService;
 import com.cafm.cafmbackend.application.service.ReportGenerationService;
+import com.cafm.cafmbackend.application.service.CurrentUserService;
+import com.cafm.cafmbackend.configuration.web.ExportStreamer;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.media.Content;
@@ -15,6 +18,7 @@ import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -31,14 +35,16 @@ import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.async.WebAsyncTask;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Map;
 import java.util.UUID;
-import java.util.concurrent.CompletableFuture;
 
 /**
  * REST controller for work order management operations.
@@ -58,10 +64,15 @@ public class WorkOrderController {
     
     private final WorkOrderService workOrderService;
     private final ReportGenerationService reportGenerationService;
+    private final CurrentUserService currentUserService;
+    private final ExportStreamer exportStreamer;
     
-    public WorkOrderController(WorkOrderService workOrderService, ReportGenerationService reportGenerationService) {
+    public WorkOrderController(WorkOrderService workOrderService, ReportGenerationService reportGenerationService,
+                              CurrentUserService currentUserService, ExportStreamer exportStreamer) {
         this.workOrderService = workOrderService;
         this.reportGenerationService = reportGenerationService;
+        this.currentUserService = currentUserService;
+        this.exportStreamer = exportStreamer;
     }
     
     // ========== CRUD Operations ==========
@@ -87,6 +98,30 @@ public class WorkOrderController {
         return ResponseEntity.ok(workOrders);
     }
     
+    /**
+     * Get work orders with cursor pagination.
+     */
+    @GetMapping("/cursor")
+    @PreAuthorize("hasAnyRole('ADMIN', 'SUPERVISOR', 'TECHNICIAN')")
+    @Operation(summary = "Get work orders by cursor",
+               description = "Get work orders newest first; pass nextCursor back as cursor for the next page. " +
+                             "Every page costs the same and no exact total is computed")
+    @ApiResponses({
+        @ApiResponse(responseCode = "200", description = "Work orders retrieved successfully"),
+        @ApiResponse(responseCode = "400", description = "Invalid cursor"),
+        @ApiResponse(responseCode = "401", description = "Not authenticated"),
+        @ApiResponse(responseCode = "403", description = "Not authorized")
+    })
+    public ResponseEntity<CursorPageResponse<WorkOrderSimplifiedResponse>> getWorkOrdersByCursor(
+            @RequestParam(required = false) @Parameter(description = "nextCursor of the previous page") String cursor,
+            @RequestParam(defaultValue = "20") @Parameter(description = "Page size, at most 100") int size,
+            @RequestParam(defaultValue = "false") @Parameter(description = "Include the planner's estimated total") boolean estimateTotal) {
+        
+        UUID companyId = currentUserService.ensureTenantContext();
+        
+        return ResponseEntity.ok(workOrderService.getWorkOrdersPage(companyId, cursor, size, estimateTotal));
+    }
+    
     /**
      * Get work order by ID.
      */
@@ -571,6 +606,25 @@ public class WorkOrderController {
         return ResponseEntity.ok(stats);
     }
     
+    /**
+     * Get work order counts by status.
+     */
+    @GetMapping("/statistics/status-counts")
+    @PreAuthorize("hasAnyRole('ADMIN', 'SUPERVISOR')")
+    @Operation(summary = "Get status counts", description = "Get work order counts by status for the current user's company, served from per-tenant counters")
+    @ApiResponses({
+        @ApiResponse(responseCode = "200", description = "Status counts retrieved successfully")
+    })
+    public ResponseEntity<Map<WorkOrderStatus, Long>> getStatusCounts() {
+        
+        // The counters are not covered by RLS, so the tenant always comes from the caller
+        UUID companyId = currentUserService.ensureTenantContext();
+        
+        logger.debug("Get work order status counts for company: {}", companyId);
+        
+        return ResponseEntity.ok(workOrderService.getStatusCounts(companyId));
+    }
+    
     /**
      * Get technician performance.
      */
@@ -595,6 +649,29 @@ public class WorkOrderController {
         return ResponseEntity.ok(performance);
     }
     
+    /**
+     * Get performance of every technician of the current user's company.
+     */
+    @GetMapping("/technicians/performance")
+    @PreAuthorize("hasRole('ADMIN')")
+    @Operation(summary = "Get technician scorecards", description = "Get performance metrics for all technicians of the current user's company in a period")
+    @ApiResponses({
+        @ApiResponse(responseCode = "200", description = "Performance metrics retrieved successfully")
+    })
+    public ResponseEntity<List<WorkOrderService.TechnicianPerformance>> getTechnicianPerformanceForCompany(
+            @RequestParam @Parameter(description = "Start date", required = true) 
+            @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime startDate,
+            @RequestParam @Parameter(description = "End date", required = true) 
+            @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime endDate) {
+        
+        // The aggregate query filters only on the company id, so the tenant always comes from the caller
+        UUID companyId = currentUserService.ensureTenantContext();
+        
+        logger.debug("Get technician performance for company: {} from {} to {}", companyId, startDate, endDate);
+        
+        return ResponseEntity.ok(workOrderService.getTechnicianPerformanceForCompany(companyId, startDate, endDate));
+    }
+    
     /**
      * Auto-schedule work orders.
      */
@@ -619,6 +696,7 @@ public class WorkOrderController {
     
     /**
      * Export work orders to Excel.
+     * The workbook is streamed to the response while rows are read from the database.
      */
     @GetMapping("/export/excel")
     @PreAuthorize("hasAnyRole('ADMIN', 'SUPERVISOR')")
@@ -628,43 +706,36 @@ public class WorkOrderController {
         @ApiResponse(responseCode = "400", description = "Invalid date range"),
         @ApiResponse(responseCode = "500", description = "Export generation failed")
     })
-    public CompletableFuture<ResponseEntity<byte[]>> exportWorkOrdersExcel(
+    public WebAsyncTask<Void> exportWorkOrdersExcel(
             @RequestParam @Parameter(description = "Start date", required = true) 
             @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
             @RequestParam @Parameter(description = "End date", required = true) 
             @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate,
-            @AuthenticationPrincipal UserDetails currentUser) {
+            @AuthenticationPrincipal UserDetails currentUser,
+            HttpServletResponse response) {
         
         logger.info("Export work orders Excel from {} to {} by user: {}", 
                    startDate, endDate, currentUser.getUsername());
         
         if (endDate.isBefore(startDate)) {
-            return CompletableFuture.completedFuture(ResponseEntity.badRequest().build());
+            throw new IllegalArgumentException("End date must not be before start date");
         }
         
-        // Get company ID from user context - simplified for now
-        UUID companyId = UUID.randomUUID(); // This should come from user's company
-        
-        return reportGenerationService.generateWorkOrdersExcel(companyId, startDate, endDate)
-            .thenApply(excelData -> {
-                HttpHeaders headers = new HttpHeaders();
-                headers.setContentType(MediaType.APPLICATION_OCTET_STREAM);
-                headers.setContentDispositionFormData("attachment", 
-                    "work-orders-" + startDate + "-to-" + endDate + ".xlsx");
-                
-                logger.info("Successfully generated work orders Excel export for {} bytes", excelData.length);
-                return ResponseEntity.ok()
-                    .headers(headers)
-                    .body(excelData);
-            })
-            .exceptionally(throwable -> {
-                logger.error("Error generating work orders Excel export", throwable);
-                return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
-            });
+        UUID companyId = currentUserService.ensureTenantContext(currentUser);
+        
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(MediaType.APPLICATION_OCTET_STREAM);
+        headers.setContentDispositionFormData("attachment", 
+            "work-orders-" + startDate + "-to-" + endDate + ".xlsx");
+        
+        StreamingResponseBody body = outputStream ->
+            reportGenerationService.writeWorkOrdersExcel(companyId, startDate, endDate, outputStream);
+        return exportStreamer.stream(response, headers, body);
     }
     
     /**
      * Export work orders to PDF.
+     * The document is streamed to the response while rows are read from the database.
      */
     @GetMapping("/export/pdf")
     @PreAuthorize("hasAnyRole('ADMIN', 'SUPERVISOR')")
@@ -674,38 +745,30 @@ public class WorkOrderController {
         @ApiResponse(responseCode = "400", description = "Invalid date range"),
         @ApiResponse(responseCode = "500", description = "Export generation failed")
     })
-    public CompletableFuture<ResponseEntity<byte[]>> exportWorkOrdersPDF(
+    public WebAsyncTask<Void> exportWorkOrdersPDF(
             @RequestParam @Parameter(description = "Start date", required = true) 
             @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
             @RequestParam @Parameter(description = "End date", required = true) 
             @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate,
-            @AuthenticationPrincipal UserDetails currentUser) {
+            @AuthenticationPrincipal UserDetails currentUser,
+            HttpServletResponse response) {
         
         logger.info("Export work orders PDF from {} to {} by user: {}", 
                    startDate, endDate, currentUser.getUsername());
         
         if (endDate.isBefore(startDate)) {
-            return CompletableFuture.completedFuture(ResponseEntity.badRequest().build());
+            throw new IllegalArgumentException("End date must not be before start date");
         }
         
-        // Get company ID from user context - simplified for now
-        UUID companyId = UUID.randomUUID(); // This should come from user's company
-        
-        return reportGenerationService.generateWorkOrdersPDF(companyId, startDate, endDate)
-            .thenApply(pdfData -> {
-                HttpHeaders headers = new HttpHeaders();
-                headers.setContentType(MediaType.APPLICATION_PDF);
-                headers.setContentDispositionFormData("attachment", 
-                    "work-orders-" + startDate + "-to-" + endDate + ".pdf");
-                
-                logger.info("Successfully generated work orders PDF export for {} bytes", pdfData.length);
-                return ResponseEntity.ok()
-                    .headers(headers)
-                    .body(pdfData);
-            })
-            .exceptionally(throwable -> {
-                logger.error("Error generating work orders PDF export", throwable);
-                return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
-            });
+        UUID companyId = currentUserService.ensureTenantContext(currentUser);
+        
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(MediaType.APPLICATION_PDF);
+        headers.setContentDispositionFormData("attachment", 
+            "work-orders-" + startDate + "-to-" + endDate + ".pdf");
+        
+        StreamingResponseBody body = outputStream ->
+            reportGenerationService.writeWorkOrdersPdf(companyId, startDate, endDate, outputStream);
+        return exportStreamer.stream(response, headers, body);
     }
-}
\ No newline at end of file
+}
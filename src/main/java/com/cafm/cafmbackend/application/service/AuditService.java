@@ -4,20 +4,24 @@ import com.cafm.cafmbackend.infrastructure.persistence.entity.AuditLog;
 import com.cafm.cafmbackend.infrastructure.persistence.entity.AuditLog.AuditAction;
 import com.cafm.cafmbackend.infrastructure.persistence.entity.AuditLog.AuditStatus;
 import com.cafm.cafmbackend.infrastructure.persistence.repository.AuditLogRepository;
+import com.cafm.cafmbackend.infrastructure.persistence.repository.RowEstimateRepository;
+import com.cafm.cafmbackend.infrastructure.persistence.repository.RowEstimateRepository.EstimateScope;
+import com.cafm.cafmbackend.dto.common.CursorPageResponse;
+import com.cafm.cafmbackend.dto.common.SeekCursor;
+import com.cafm.cafmbackend.application.service.audit.AuditLogWriter;
 import com.cafm.cafmbackend.application.service.tenant.TenantContextService;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import jakarta.servlet.http.HttpServletRequest;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.scheduling.annotation.Async;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
+import java.util.List;
 import java.util.Map;
 import java.util.UUID;
 
@@ -25,9 +29,10 @@ import java.util.UUID;
  * Service for audit logging.
  * 
  * Purpose: Provide comprehensive audit logging for all system actions
- * Pattern: Async service with builder pattern
- * Java 23: Virtual threads for async logging
- * Architecture: Service layer with async processing
+ * Pattern: Builder pattern; entries are built on the calling thread, where the security
+ *          and tenant context are available, and handed to AuditLogWriter
+ * Java 23: Batched writes on a dedicated writer thread
+ * Architecture: Service layer; persistence is batched by AuditLogWriter
  * Standards: Non-blocking audit logging
  */
 @Service
@@ -38,21 +43,25 @@ public class AuditService {
     private final AuditLogRepository auditLogRepository;
     private final ObjectMapper objectMapper;
     private final TenantContextService tenantContextService;
+    private final AuditLogWriter auditLogWriter;
+    private final RowEstimateRepository rowEstimateRepository;
     
     @Autowired
     public AuditService(AuditLogRepository auditLogRepository, 
                        ObjectMapper objectMapper,
-                       TenantContextService tenantContextService) {
+                       TenantContextService tenantContextService,
+                       AuditLogWriter auditLogWriter,
+                       RowEstimateRepository rowEstimateRepository) {
         this.auditLogRepository = auditLogRepository;
         this.objectMapper = objectMapper;
         this.tenantContextService = tenantContextService;
+        this.auditLogWriter = auditLogWriter;
+        this.rowEstimateRepository = rowEstimateRepository;
     }
     
     /**
      * Log a simple audit event
      */
-    @Async
-    @Transactional(propagation = Propagation.REQUIRES_NEW)
     public void logEvent(AuditAction action, String entityType, UUID entityId, String entityName) {
         try {
             AuditLog.Builder builder = new AuditLog.Builder(action, entityType)
@@ -61,7 +70,7 @@ public class AuditService {
             enrichWithContext(builder);
             
             AuditLog auditLog = builder.build();
-            auditLogRepository.save(auditLog);
+            auditLogWriter.submit(auditLog);
             
         } catch (Exception e) {
             logger.error("Failed to save audit log", e);
@@ -71,8 +80,6 @@ public class AuditService {
     /**
      * Log an audit event with changes
      */
-    @Async
-    @Transactional(propagation = Propagation.REQUIRES_NEW)
     public void logChange(AuditAction action, String entityType, UUID entityId, 
                          Object oldValue, Object newValue) {
         try {
@@ -87,7 +94,7 @@ public class AuditService {
             enrichWithContext(builder);
             
             AuditLog auditLog = builder.build();
-            auditLogRepository.save(auditLog);
+            auditLogWriter.submit(auditLog);
             
         } catch (Exception e) {
             logger.error("Failed to save audit log with changes", e);
@@ -97,8 +104,6 @@ public class AuditService {
     /**
      * Log authentication event
      */
-    @Async
-    @Transactional(propagation = Propagation.REQUIRES_NEW)
     public void logAuthentication(AuditAction action, String username, boolean success, 
                                  String ipAddress, String userAgent) {
         try {
@@ -114,7 +119,7 @@ public class AuditService {
             }
             
             AuditLog auditLog = builder.build();
-            auditLogRepository.save(auditLog);
+            auditLogWriter.submit(auditLog);
             
         } catch (Exception e) {
             logger.error("Failed to save authentication audit log", e);
@@ -124,8 +129,6 @@ public class AuditService {
     /**
      * Log API request
      */
-    @Async
-    @Transactional(propagation = Propagation.REQUIRES_NEW)
     public void logApiRequest(String endpoint, String method, int responseCode, 
                              long durationMs, HttpServletRequest request) {
         try {
@@ -142,7 +145,7 @@ public class AuditService {
             enrichWithContext(builder);
             
             AuditLog auditLog = builder.build();
-            auditLogRepository.save(auditLog);
+            auditLogWriter.submit(auditLog);
             
         } catch (Exception e) {
             logger.error("Failed to save API request audit log", e);
@@ -152,8 +155,6 @@ public class AuditService {
     /**
      * Log security event
      */
-    @Async
-    @Transactional(propagation = Propagation.REQUIRES_NEW)
     public void logSecurityEvent(AuditAction action, String details, HttpServletRequest request) {
         try {
             AuditLog.Builder builder = new AuditLog.Builder(action, "Security")
@@ -164,7 +165,7 @@ public class AuditService {
             enrichWithContext(builder);
             
             AuditLog auditLog = builder.build();
-            auditLogRepository.save(auditLog);
+            auditLogWriter.submit(auditLog);
             
             // Also log to application logs for security monitoring
             logger.warn("Security event: {} - {}", action, details);
@@ -177,8 +178,6 @@ public class AuditService {
     /**
      * Log bulk operation
      */
-    @Async
-    @Transactional(propagation = Propagation.REQUIRES_NEW)
     public void logBulkOperation(AuditAction action, String entityType, int count, 
                                 boolean success, String details) {
         try {
@@ -189,7 +188,7 @@ public class AuditService {
             enrichWithContext(builder);
             
             AuditLog auditLog = builder.build();
-            auditLogRepository.save(auditLog);
+            auditLogWriter.submit(auditLog);
             
         } catch (Exception e) {
             logger.error("Failed to save bulk operation audit log", e);
@@ -282,8 +281,6 @@ public class AuditService {
     /**
      * Log work order operation.
      */
-    @Async
-    @Transactional(propagation = Propagation.REQUIRES_NEW)
     public void logWorkOrderOperation(String operation, UUID workOrderId, String details) {
         try {
             AuditAction action = mapOperationToAction(operation);
@@ -293,7 +290,7 @@ public class AuditService {
             enrichWithContext(builder);
             
             AuditLog auditLog = builder.build();
-            auditLogRepository.save(auditLog);
+            auditLogWriter.submit(auditLog);
             
         } catch (Exception e) {
             logger.error("Failed to save work order audit log", e);
@@ -303,8 +300,6 @@ public class AuditService {
     /**
      * Log report operation.
      */
-    @Async
-    @Transactional(propagation = Propagation.REQUIRES_NEW)
     public void logReportOperation(String operation, UUID reportId, String details) {
         try {
             AuditAction action = mapOperationToAction(operation);
@@ -314,7 +309,7 @@ public class AuditService {
             enrichWithContext(builder);
             
             AuditLog auditLog = builder.build();
-            auditLogRepository.save(auditLog);
+            auditLogWriter.submit(auditLog);
             
         } catch (Exception e) {
             logger.error("Failed to save report audit log", e);
@@ -324,8 +319,6 @@ public class AuditService {
     /**
      * Log asset operation.
      */
-    @Async
-    @Transactional(propagation = Propagation.REQUIRES_NEW)
     public void logAssetOperation(String operation, UUID assetId, String details) {
         try {
             AuditAction action = mapOperationToAction(operation);
@@ -335,7 +328,7 @@ public class AuditService {
             enrichWithContext(builder);
             
             AuditLog auditLog = builder.build();
-            auditLogRepository.save(auditLog);
+            auditLogWriter.submit(auditLog);
             
         } catch (Exception e) {
             logger.error("Failed to save asset audit log", e);
@@ -345,8 +338,6 @@ public class AuditService {
     /**
      * Log inventory operation.
      */
-    @Async
-    @Transactional(propagation = Propagation.REQUIRES_NEW)
     public void logInventoryOperation(String operation, UUID itemId, String details) {
         try {
             AuditAction action = mapOperationToAction(operation);
@@ -356,7 +347,7 @@ public class AuditService {
             enrichWithContext(builder);
             
             AuditLog auditLog = builder.build();
-            auditLogRepository.save(auditLog);
+            auditLogWriter.submit(auditLog);
             
         } catch (Exception e) {
             logger.error("Failed to save inventory audit log", e);
@@ -366,8 +357,6 @@ public class AuditService {
     /**
      * Log file operation.
      */
-    @Async
-    @Transactional(propagation = Propagation.REQUIRES_NEW)
     public void logFileOperation(String operation, UUID fileId, String details) {
         try {
             AuditAction action = mapOperationToAction(operation);
@@ -377,7 +366,7 @@ public class AuditService {
             enrichWithContext(builder);
             
             AuditLog auditLog = builder.build();
-            auditLogRepository.save(auditLog);
+            auditLogWriter.submit(auditLog);
             
         } catch (Exception e) {
             logger.error("Failed to save file audit log", e);
@@ -387,8 +376,6 @@ public class AuditService {
     /**
      * Log notification event.
      */
-    @Async
-    @Transactional(propagation = Propagation.REQUIRES_NEW)
     public void logNotificationEvent(String eventType, UUID notificationId, UUID userId, String details) {
         try {
             AuditAction action = mapOperationToAction(eventType);
@@ -399,7 +386,7 @@ public class AuditService {
             enrichWithContext(builder);
             
             AuditLog auditLog = builder.build();
-            auditLogRepository.save(auditLog);
+            auditLogWriter.submit(auditLog);
             
         } catch (Exception e) {
             logger.error("Failed to save notification audit log", e);
@@ -409,8 +396,6 @@ public class AuditService {
     /**
      * Log security event (overloaded version without HttpServletRequest).
      */
-    @Async
-    @Transactional(propagation = Propagation.REQUIRES_NEW)
     public void logSecurityEvent(String eventType, String details) {
         try {
             AuditAction action = mapOperationToAction(eventType);
@@ -420,7 +405,7 @@ public class AuditService {
             enrichWithContext(builder);
             
             AuditLog auditLog = builder.build();
-            auditLogRepository.save(auditLog);
+            auditLogWriter.submit(auditLog);
             
             // Also log to application logs for security monitoring
             logger.warn("Security event: {} - {}", eventType, details);
@@ -433,8 +418,6 @@ public class AuditService {
     /**
      * Log user action.
      */
-    @Async
-    @Transactional(propagation = Propagation.REQUIRES_NEW)
     public void logUserAction(String action, UUID userId, String details) {
         try {
             AuditAction auditAction = mapOperationToAction(action);
@@ -444,7 +427,7 @@ public class AuditService {
             enrichWithContext(builder);
             
             AuditLog auditLog = builder.build();
-            auditLogRepository.save(auditLog);
+            auditLogWriter.submit(auditLog);
             
         } catch (Exception e) {
             logger.error("Failed to save user action audit log", e);
@@ -470,6 +453,27 @@ public class AuditService {
         return auditLogRepository.findByCompanyIdOrderByTimestampDesc(companyId, pageable);
     }
 
+    /**
+     * Get a page of company audit logs after a cursor, newest first, without a count query.
+     */
+    @Transactional(readOnly = true)
+    public CursorPageResponse<AuditLog> getAuditLogsPage(UUID companyId, String cursor, int size,
+                                                         boolean estimateTotal) {
+        int pageSize = CursorPageResponse.clampSize(size);
+        SeekCursor after = SeekCursor.decodeOrNull(cursor, companyId);
+        org.springframework.data.domain.Pageable limit =
+            org.springframework.data.domain.Pageable.ofSize(CursorPageResponse.probeSize(pageSize));
+
+        List<AuditLog> rows = after == null
+            ? auditLogRepository.findFirstPageByCompanyId(companyId, limit)
+            : auditLogRepository.findPageAfterByCompanyId(companyId, after.timestamp(), after.id(), limit);
+
+        return CursorPageResponse.fromProbe(rows, pageSize,
+            auditLog -> new SeekCursor(companyId, auditLog.getTimestamp(), auditLog.getId()),
+            auditLog -> auditLog,
+            estimateTotal ? rowEstimateRepository.estimateRows(EstimateScope.AUDIT_LOGS, companyId) : null);
+    }
+
     /**
      * Get audit logs by user.
      */
@@ -10,10 +10,12 @@ import com.cafm.cafmbackend.infrastructure.persistence.repository.UserRepository
 import com.cafm.cafmbackend.dto.auth.*;
 import com.cafm.cafmbackend.shared.exception.ResourceNotFoundException;
 import com.cafm.cafmbackend.security.JwtTokenProvider;
+import com.cafm.cafmbackend.security.event.UserSecurityChangedEvent;
 import com.cafm.cafmbackend.security.service.LoginAttemptService;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.security.authentication.BadCredentialsException;
 import org.springframework.security.authentication.LockedException;
 import org.springframework.security.crypto.password.PasswordEncoder;
@@ -42,6 +44,7 @@ public class AuthService {
     private final JwtTokenProvider jwtTokenProvider;
     private final LoginAttemptService loginAttemptService;
     private final EmailService emailService;
+    private final ApplicationEventPublisher eventPublisher;
     
     @Value("${app.password-reset.token-validity-hours:1}")
     private int passwordResetTokenValidityHours;
@@ -61,7 +64,8 @@ public class AuthService {
                       PasswordEncoder passwordEncoder,
                       JwtTokenProvider jwtTokenProvider,
                       LoginAttemptService loginAttemptService,
-                      EmailService emailService) {
+                      EmailService emailService,
+                      ApplicationEventPublisher eventPublisher) {
         this.userRepository = userRepository;
         this.passwordResetTokenRepository = passwordResetTokenRepository;
         this.emailVerificationTokenRepository = emailVerificationTokenRepository;
@@ -69,6 +73,7 @@ public class AuthService {
         this.jwtTokenProvider = jwtTokenProvider;
         this.loginAttemptService = loginAttemptService;
         this.emailService = emailService;
+        this.eventPublisher = eventPublisher;
     }
     
     /**
@@ -316,6 +321,7 @@ public class AuthService {
         user.setPasswordHash(passwordEncoder.encode(newPassword));
         user.setPasswordChangedAt(LocalDateTime.now());
         userRepository.save(user);
+        eventPublisher.publishEvent(new UserSecurityChangedEvent(user.getId(), user.getEmail(), user.getCompanyId()));
         
         // Mark token as used
         resetToken.markAsUsed();
@@ -345,6 +351,7 @@ public class AuthService {
         // Update password
         user.setPasswordHash(passwordEncoder.encode(newPassword));
         userRepository.save(user);
+        eventPublisher.publishEvent(new UserSecurityChangedEvent(user.getId(), user.getEmail(), user.getCompanyId()));
         
         logger.info("Password changed successfully for user: {}", username);
     }
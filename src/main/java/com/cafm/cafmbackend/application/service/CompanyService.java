@@ -1,5 +1,6 @@
 package com.cafm.cafmbackend.application.service;
 
+import com.cafm.cafmbackend.application.service.tenant.TenantActivatedEvent;
 import com.cafm.cafmbackend.infrastructure.persistence.entity.Company;
 import com.cafm.cafmbackend.infrastructure.persistence.entity.User;
 import com.cafm.cafmbackend.shared.enums.CompanyStatus;
@@ -21,6 +22,7 @@ import com.cafm.cafmbackend.shared.exception.ResourceNotFoundException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.cache.annotation.CacheEvict;
 import org.springframework.cache.annotation.CachePut;
 import org.springframework.cache.annotation.Cacheable;
@@ -55,6 +57,7 @@ public class CompanyService {
     private final AssetRepository assetRepository;
     private final WorkOrderRepository workOrderRepository;
     private final PasswordEncoder passwordEncoder;
+    private final ApplicationEventPublisher eventPublisher;
     
     @Value("${app.trial.duration.days:30}")
     private int trialDurationDays;
@@ -74,7 +77,8 @@ public class CompanyService {
                          ReportRepository reportRepository,
                          AssetRepository assetRepository,
                          WorkOrderRepository workOrderRepository,
-                         PasswordEncoder passwordEncoder) {
+                         PasswordEncoder passwordEncoder,
+                         ApplicationEventPublisher eventPublisher) {
         this.companyRepository = companyRepository;
         this.userRepository = userRepository;
         this.schoolRepository = schoolRepository;
@@ -82,6 +86,7 @@ public class CompanyService {
         this.assetRepository = assetRepository;
         this.workOrderRepository = workOrderRepository;
         this.passwordEncoder = passwordEncoder;
+        this.eventPublisher = eventPublisher;
     }
     
     // ========== Company Management Methods ==========
@@ -196,7 +201,9 @@ public class CompanyService {
         
         company.activate();
         
-        return companyRepository.save(company);
+        Company activated = companyRepository.save(company);
+        eventPublisher.publishEvent(new TenantActivatedEvent(companyId));
+        return activated;
     }
     
     /**
@@ -0,0 +1,301 @@
+package com.cafm.cafmbackend.application.service;
+
+import com.cafm.cafmbackend.application.service.tenant.TenantContextService;
+import com.cafm.cafmbackend.domain.services.FileStorageService;
+import com.cafm.cafmbackend.dto.export.ExportJobRequest;
+import com.cafm.cafmbackend.dto.export.ExportJobResponse;
+import com.cafm.cafmbackend.infrastructure.persistence.entity.ExportJob;
+import com.cafm.cafmbackend.infrastructure.persistence.entity.ExportJob.ExportStatus;
+import com.cafm.cafmbackend.infrastructure.persistence.repository.ExportJobRepository;
+import com.cafm.cafmbackend.shared.exception.BusinessLogicException;
+import com.cafm.cafmbackend.shared.exception.ResourceNotFoundException;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Service for asynchronous export jobs.
+ *
+ * Purpose: Submit exports, run them off the request path and hand out the stored artifact
+ * Pattern: Job table + dedicated bounded executor; artifacts in MinIO via FileStorageService
+ * Java 23: Pattern-matching switch over export types
+ * Architecture: Application service behind ExportJobController
+ * Standards: Identical submissions within the dedup TTL reuse the existing job;
+ *            queue depth is published as a gauge. Jobs queued or running on this node are
+ *            heartbeated, and a job failed as stale is never overwritten by its worker
+ */
+@Service
+public class ExportJobService {
+
+    private static final Logger logger = LoggerFactory.getLogger(ExportJobService.class);
+
+    private static final EnumSet<ExportStatus> REUSABLE_STATUSES =
+        EnumSet.of(ExportStatus.QUEUED, ExportStatus.RUNNING, ExportStatus.COMPLETED);
+    private static final EnumSet<ExportStatus> UNFINISHED_STATUSES =
+        EnumSet.of(ExportStatus.QUEUED, ExportStatus.RUNNING);
+    private static final int CLEANUP_BATCH_SIZE = 100;
+
+    private final ExportJobRepository exportJobRepository;
+    private final ReportGenerationService reportGenerationService;
+    private final FileStorageService fileStorageService;
+    private final TenantContextService tenantContextService;
+    private final ThreadPoolTaskExecutor exportJobExecutor;
+    private final Set<UUID> activeJobs = ConcurrentHashMap.newKeySet();
+
+    @Value("${app.export.jobs.dedup-ttl-minutes:30}")
+    private long dedupTtlMinutes;
+
+    @Value("${app.export.jobs.retention-hours:24}")
+    private long retentionHours;
+
+    @Value("${app.export.jobs.stale-after-minutes:60}")
+    private long staleAfterMinutes;
+
+    @Value("${app.export.jobs.download-url-expiry-minutes:15}")
+    private int downloadUrlExpiryMinutes;
+
+    public ExportJobService(ExportJobRepository exportJobRepository,
+                            ReportGenerationService reportGenerationService,
+                            FileStorageService fileStorageService,
+                            TenantContextService tenantContextService,
+                            @Qualifier("exportJobExecutor") ThreadPoolTaskExecutor exportJobExecutor,
+                            MeterRegistry meterRegistry) {
+        this.exportJobRepository = exportJobRepository;
+        this.reportGenerationService = reportGenerationService;
+        this.fileStorageService = fileStorageService;
+        this.tenantContextService = tenantContextService;
+        this.exportJobExecutor = exportJobExecutor;
+
+        Gauge.builder("cafm.export.jobs.queue.depth", exportJobExecutor,
+                executor -> executor.getThreadPoolExecutor().getQueue().size())
+            .description("Export jobs waiting for a worker")
+            .register(meterRegistry);
+        Gauge.builder("cafm.export.jobs.active", exportJobExecutor, ThreadPoolTaskExecutor::getActiveCount)
+            .description("Export jobs currently running")
+            .register(meterRegistry);
+    }
+
+    /**
+     * Submit an export, or return the identical job submitted within the dedup TTL.
+     */
+    @Transactional
+    public ExportJobResponse submit(UUID companyId, UUID userId, ExportJobRequest request) {
+        if (!request.hasValidDateRange()) {
+            throw new BusinessLogicException("A valid start and end date are required for " + request.exportType());
+        }
+
+        String dedupKey = ExportJob.dedupKey(request.exportType(), request.startDate(), request.endDate());
+        exportJobRepository.lockSubmission("export_jobs:" + companyId + ":" + dedupKey);
+
+        Optional<ExportJob> existing = exportJobRepository
+            .findFirstByCompanyIdAndDedupKeyAndStatusInAndCreatedAtAfterOrderByCreatedAtDesc(
+                companyId, dedupKey, REUSABLE_STATUSES, LocalDateTime.now().minusMinutes(dedupTtlMinutes));
+        if (existing.isPresent() && (existing.get().getStatus() != ExportStatus.COMPLETED
+                                     || existing.get().isDownloadable())) {
+            logger.info("Reusing export job {} for company: {}, key: {}", existing.get().getId(), companyId, dedupKey);
+            return ExportJobResponse.from(existing.get(), true);
+        }
+
+        ExportJob job = exportJobRepository.save(new ExportJob(
+            companyId, userId, request.exportType(), request.startDate(), request.endDate()));
+        UUID jobId = job.getId();
+
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                dispatch(jobId);
+            }
+        });
+
+        logger.info("Queued export job {} ({}) for company: {}", jobId, request.exportType(), companyId);
+        return ExportJobResponse.from(job, false);
+    }
+
+    /**
+     * Current state of a tenant's export job.
+     */
+    @Transactional(readOnly = true)
+    public ExportJobResponse getJob(UUID companyId, UUID jobId) {
+        return ExportJobResponse.from(findJob(companyId, jobId), false);
+    }
+
+    /**
+     * Short-lived presigned URL for a finished export.
+     */
+    @Transactional(readOnly = true)
+    public String getDownloadUrl(UUID companyId, UUID jobId) {
+        ExportJob job = findJob(companyId, jobId);
+        if (!job.isDownloadable()) {
+            throw new BusinessLogicException("Export job " + jobId + " has no downloadable file (status: " + job.getStatus() + ")");
+        }
+        return fileStorageService.generateFileDownloadUrl(job.getObjectName(), job.getFileName(), downloadUrlExpiryMinutes);
+    }
+
+    /**
+     * Remove expired artifacts and fail jobs abandoned by a stopped node.
+     */
+    @Scheduled(fixedDelayString = "${app.export.jobs.cleanup-interval-ms:900000}")
+    @Transactional
+    public void cleanupJobs() {
+        LocalDateTime now = LocalDateTime.now();
+
+        int stale = exportJobRepository.failStaleJobs(UNFINISHED_STATUSES, now.minusMinutes(staleAfterMinutes), now);
+        if (stale > 0) {
+            logger.warn("Marked {} stale export jobs as failed", stale);
+        }
+
+        List<ExportJob> expired = exportJobRepository.findExpiredArtifacts(now, PageRequest.of(0, CLEANUP_BATCH_SIZE));
+        for (ExportJob job : expired) {
+            fileStorageService.deleteGeneratedFile(job.getObjectName());
+            job.markExpired();
+        }
+        if (!expired.isEmpty()) {
+            exportJobRepository.saveAll(expired);
+            logger.info("Removed {} expired export artifacts", expired.size());
+        }
+    }
+
+    /**
+     * Keep the jobs queued or running on this node from being failed as stale.
+     */
+    @Scheduled(fixedDelayString = "${app.export.jobs.heartbeat-interval-ms:60000}")
+    @Transactional
+    public void heartbeat() {
+        if (!activeJobs.isEmpty()) {
+            exportJobRepository.touchJobs(List.copyOf(activeJobs), UNFINISHED_STATUSES, LocalDateTime.now());
+        }
+    }
+
+    // ========== Job Execution ==========
+
+    private void dispatch(UUID jobId) {
+        activeJobs.add(jobId);
+        try {
+            exportJobExecutor.execute(() -> runJob(jobId));
+        } catch (TaskRejectedException e) {
+            activeJobs.remove(jobId);
+            logger.warn("Export queue is full, rejecting job {}", jobId);
+            exportJobRepository.findById(jobId).ifPresent(job -> {
+                job.markFailed("Export queue is full, please retry later");
+                exportJobRepository.save(job);
+            });
+        }
+    }
+
+    private void runJob(UUID jobId) {
+        try {
+            ExportJob job = exportJobRepository.findById(jobId).orElse(null);
+            if (job != null && job.getStatus() == ExportStatus.QUEUED) {
+                runJob(job);
+            }
+        } finally {
+            activeJobs.remove(jobId);
+        }
+    }
+
+    private void runJob(ExportJob job) {
+        UUID jobId = job.getId();
+
+        job.markRunning();
+        job = exportJobRepository.save(job);
+        long startTime = System.currentTimeMillis();
+        Path tempFile = null;
+
+        try {
+            tempFile = Files.createTempFile("export-" + jobId + "-", "." + job.getExportType().getExtension());
+            writeArtifact(job, tempFile);
+
+            String objectName = "exports/" + job.getCompanyId() + "/" + jobId + "/" + job.getFileName();
+            fileStorageService.uploadGeneratedFile(objectName, tempFile, job.getExportType().getContentType());
+
+            job.markCompleted(objectName, Files.size(tempFile), LocalDateTime.now().plusHours(retentionHours));
+            logger.info("Export job {} completed in {} ms ({} bytes)",
+                       jobId, System.currentTimeMillis() - startTime, job.getFileSize());
+
+        } catch (Exception e) {
+            logger.error("Export job {} failed", jobId, e);
+            job.markFailed(e.getMessage() != null ? e.getMessage() : e.getClass().getSimpleName());
+        } finally {
+            saveOutcome(job);
+            deleteQuietly(tempFile);
+        }
+    }
+
+    /**
+     * Store the worker's outcome unless the job was failed as stale in the meantime.
+     */
+    private void saveOutcome(ExportJob job) {
+        try {
+            exportJobRepository.save(job);
+        } catch (OptimisticLockingFailureException e) {
+            logger.warn("Export job {} was failed as stale before it finished; discarding its outcome", job.getId());
+            if (job.getStatus() == ExportStatus.COMPLETED) {
+                fileStorageService.deleteGeneratedFile(job.getObjectName());
+            }
+        }
+    }
+
+    private void writeArtifact(ExportJob job, Path target) {
+        tenantContextService.executeWithTenant(job.getCompanyId(), () -> {
+            try (OutputStream out = new BufferedOutputStream(Files.newOutputStream(target))) {
+                UUID companyId = job.getCompanyId();
+                switch (job.getExportType()) {
+                    case MAINTENANCE_REPORTS_EXCEL -> reportGenerationService.writeMaintenanceReportsExcel(
+                        companyId, job.getStartDate(), job.getEndDate(), out);
+                    case MAINTENANCE_REPORTS_PDF -> reportGenerationService.writeMaintenanceReportsPdf(
+                        companyId, job.getStartDate(), job.getEndDate(), out);
+                    case WORK_ORDERS_EXCEL -> reportGenerationService.writeWorkOrdersExcel(
+                        companyId, job.getStartDate(), job.getEndDate(), out);
+                    case WORK_ORDERS_PDF -> reportGenerationService.writeWorkOrdersPdf(
+                        companyId, job.getStartDate(), job.getEndDate(), out);
+                    case ASSETS_INVENTORY_EXCEL -> reportGenerationService.writeAssetsInventoryExcel(companyId, out);
+                }
+                return null;
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+    }
+
+    private ExportJob findJob(UUID companyId, UUID jobId) {
+        return exportJobRepository.findByIdAndCompanyId(jobId, companyId)
+            .orElseThrow(() -> new ResourceNotFoundException("ExportJob", "id", jobId));
+    }
+
+    private void deleteQuietly(Path file) {
+        if (file == null) {
+            return;
+        }
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException e) {
+            logger.warn("Could not delete temporary export file {}", file, e);
+        }
+    }
+}
@@ -0,0 +1,297 @@
+package com.cafm.cafmbackend.application.service;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Non-blocking HTTP transport for Firebase Cloud Messaging.
+ *
+ * Purpose: Send pushes to thousands of devices with a handful of requests over pooled,
+ *          multiplexed connections instead of one blocking request per device
+ * Pattern: Shared JDK HttpClient (HTTP/2 with HTTP/1.1 fallback); device tokens are sent as
+ *          registration_ids multicasts of up to 1000, and in-flight requests to the provider
+ *          are bounded by a semaphore that is waited for on virtual threads, never by the caller
+ * Java 23: java.net.http async API completing on virtual threads
+ * Architecture: Used by PushNotificationService; the endpoint is app.firebase.fcm.url, so tests
+ *               and local setups can point it at a stub server
+ * Standards: Never throws for delivery problems; every token gets a result saying whether
+ *            a retry can succeed
+ */
+@Component
+public class FcmClient {
+
+    private static final Logger logger = LoggerFactory.getLogger(FcmClient.class);
+
+    // Legacy FCM API limit for registration_ids
+    static final int MAX_MULTICAST_TOKENS = 1000;
+
+    // Per-token errors that may succeed on a later attempt
+    private static final Set<String> RETRYABLE_ERRORS = Set.of(
+        "Unavailable", "InternalServerError", "DeviceMessageRateExceeded", "TopicsMessageRateExceeded");
+
+    // Per-token errors meaning the token will never work again
+    private static final Set<String> INVALID_TOKEN_ERRORS = Set.of("NotRegistered", "InvalidRegistration");
+
+    private final ObjectMapper objectMapper;
+    private final MeterRegistry meterRegistry;
+    private final URI endpoint;
+    private final String serverKey;
+    private final boolean enabled;
+    private final int maxConcurrentRequests;
+    private final Duration requestTimeout;
+    private final Duration acquireTimeout;
+    private final Semaphore permits;
+    private final ExecutorService executor;
+    private final HttpClient httpClient;
+
+    public FcmClient(ObjectMapper objectMapper,
+                     MeterRegistry meterRegistry,
+                     @Value("${app.firebase.fcm.url:https://fcm.googleapis.com/fcm/send}") String url,
+                     @Value("${app.firebase.fcm.server-key:}") String serverKey,
+                     @Value("${app.firebase.fcm.enabled:false}") boolean enabled,
+                     @Value("${app.firebase.fcm.max-concurrent-requests:16}") int maxConcurrentRequests,
+                     @Value("${app.firebase.fcm.connect-timeout:PT5S}") Duration connectTimeout,
+                     @Value("${app.firebase.fcm.request-timeout:PT10S}") Duration requestTimeout,
+                     @Value("${app.firebase.fcm.acquire-timeout:PT30S}") Duration acquireTimeout) {
+        this.objectMapper = objectMapper;
+        this.meterRegistry = meterRegistry;
+        this.endpoint = URI.create(url);
+        this.serverKey = serverKey;
+        this.enabled = enabled;
+        this.maxConcurrentRequests = maxConcurrentRequests;
+        this.requestTimeout = requestTimeout;
+        this.acquireTimeout = acquireTimeout;
+        this.permits = new Semaphore(maxConcurrentRequests);
+        this.executor = Executors.newVirtualThreadPerTaskExecutor();
+        this.httpClient = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_2)
+            .connectTimeout(connectTimeout)
+            .executor(executor)
+            .build();
+
+        Gauge.builder("cafm.fcm.requests.inflight", this, FcmClient::getInFlight)
+            .description("FCM requests currently in flight")
+            .register(meterRegistry);
+    }
+
+    @PreDestroy
+    public void close() {
+        httpClient.close();
+        executor.shutdown();
+    }
+
+    public boolean isEnabled() {
+        return enabled && !serverKey.isEmpty();
+    }
+
+    /**
+     * Send one message to many device tokens; results are in the order of the tokens.
+     * Chunks of up to 1000 tokens are sent concurrently, within the request limit.
+     */
+    public CompletableFuture<List<TokenResult>> sendMulticast(List<String> tokens, Map<String, Object> message) {
+        if (tokens.isEmpty()) {
+            return CompletableFuture.completedFuture(List.of());
+        }
+        List<CompletableFuture<List<TokenResult>>> chunks = new ArrayList<>();
+        for (int from = 0; from < tokens.size(); from += MAX_MULTICAST_TOKENS) {
+            chunks.add(sendChunk(tokens.subList(from, Math.min(from + MAX_MULTICAST_TOKENS, tokens.size())), message));
+        }
+        return CompletableFuture.allOf(chunks.toArray(CompletableFuture[]::new))
+            .thenApply(ignored -> {
+                List<TokenResult> results = new ArrayList<>(tokens.size());
+                chunks.forEach(chunk -> results.addAll(chunk.join()));
+                return results;
+            });
+    }
+
+    /**
+     * Send one message to a topic.
+     */
+    public CompletableFuture<TopicResult> sendToTopic(String topic, Map<String, Object> message) {
+        Map<String, Object> payload = new HashMap<>(message);
+        payload.put("to", "/topics/" + topic);
+        return post("topic", payload).thenApply(response -> {
+            if (response.failure() != null) {
+                return new TopicResult(null, response.failure(), true);
+            }
+            Object messageId = response.body().get("message_id");
+            if (messageId != null) {
+                return new TopicResult(messageId.toString(), null, false);
+            }
+            String error = String.valueOf(response.body().getOrDefault("error", "Unknown"));
+            return new TopicResult(null, error, RETRYABLE_ERRORS.contains(error));
+        });
+    }
+
+    /**
+     * Requests currently holding a permit.
+     */
+    public int getInFlight() {
+        return maxConcurrentRequests - permits.availablePermits();
+    }
+
+    private CompletableFuture<List<TokenResult>> sendChunk(List<String> tokens, Map<String, Object> message) {
+        Map<String, Object> payload = new HashMap<>(message);
+        payload.put("registration_ids", tokens);
+        return post("multicast", payload).thenApply(response -> {
+            List<TokenResult> results = new ArrayList<>(tokens.size());
+            List<Map<String, Object>> perToken = response.failure() == null ? perTokenResults(response.body()) : null;
+            if (perToken == null || perToken.size() != tokens.size()) {
+                String error = response.failure() != null ? response.failure() : "Malformed FCM response";
+                tokens.forEach(token -> results.add(new TokenResult(token, null, error, true, false)));
+                return results;
+            }
+            for (int i = 0; i < tokens.size(); i++) {
+                Object messageId = perToken.get(i).get("message_id");
+                if (messageId != null) {
+                    results.add(new TokenResult(tokens.get(i), messageId.toString(), null, false, false));
+                } else {
+                    String error = String.valueOf(perToken.get(i).getOrDefault("error", "Unknown"));
+                    results.add(new TokenResult(tokens.get(i), null, error,
+                        RETRYABLE_ERRORS.contains(error), INVALID_TOKEN_ERRORS.contains(error)));
+                }
+            }
+            return results;
+        });
+    }
+
+    /**
+     * POST a payload within the concurrency limit; transport and HTTP errors become a failure text.
+     */
+    private CompletableFuture<FcmResponse> post(String kind, Map<String, Object> payload) {
+        if (!isEnabled()) {
+            return CompletableFuture.completedFuture(FcmResponse.failed("FCM not configured"));
+        }
+
+        HttpRequest request;
+        try {
+            request = HttpRequest.newBuilder(endpoint)
+                .timeout(requestTimeout)
+                .header("Content-Type", "application/json")
+                .header("Authorization", "key=" + serverKey)
+                .POST(HttpRequest.BodyPublishers.ofByteArray(objectMapper.writeValueAsBytes(payload)))
+                .build();
+        } catch (Exception e) {
+            return CompletableFuture.completedFuture(FcmResponse.failed("Invalid FCM payload: " + e.getMessage()));
+        }
+
+        // The caller never waits for a permit: that wait happens on a virtual thread of this client
+        CompletableFuture<Boolean> permit;
+        try {
+            permit = CompletableFuture.supplyAsync(this::acquirePermit, executor);
+        } catch (RejectedExecutionException e) {
+            return CompletableFuture.completedFuture(FcmResponse.failed("FCM client closed"));
+        }
+        return permit.thenCompose(acquired -> acquired
+            ? exchange(kind, request)
+            : CompletableFuture.completedFuture(FcmResponse.failed("FCM request limit reached")));
+    }
+
+    private boolean acquirePermit() {
+        try {
+            return permits.tryAcquire(acquireTimeout.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    /**
+     * Send a request holding a permit; the permit is released when the response or error arrives.
+     */
+    private CompletableFuture<FcmResponse> exchange(String kind, HttpRequest request) {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        CompletableFuture<HttpResponse<byte[]>> response;
+        try {
+            response = httpClient.sendAsync(request, HttpResponse.BodyHandlers.ofByteArray());
+        } catch (RuntimeException e) {
+            permits.release();
+            return CompletableFuture.completedFuture(FcmResponse.failed("FCM client closed"));
+        }
+        return response
+            .handle((response, error) -> {
+                permits.release();
+                FcmResponse result = toResponse(response, error);
+                sample.stop(Timer.builder("cafm.fcm.request.duration")
+                    .tag("kind", kind)
+                    .tag("outcome", result.failure() == null ? "success" : "error")
+                    .description("FCM request round trip")
+                    .register(meterRegistry));
+                return result;
+            });
+    }
+
+    private FcmResponse toResponse(HttpResponse<byte[]> response, Throwable error) {
+        if (error != null) {
+            Throwable cause = error.getCause() != null ? error.getCause() : error;
+            logger.warn("FCM request failed: {}", cause.toString());
+            return FcmResponse.failed(cause.getClass().getSimpleName() + ": " + cause.getMessage());
+        }
+        if (response.statusCode() / 100 != 2) {
+            logger.warn("FCM API returned HTTP {}", response.statusCode());
+            return FcmResponse.failed("FCM API error: " + response.statusCode());
+        }
+        try {
+            return new FcmResponse(objectMapper.readValue(response.body(), new TypeReference<Map<String, Object>>() {}), null);
+        } catch (Exception e) {
+            return FcmResponse.failed("Malformed FCM response");
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static List<Map<String, Object>> perTokenResults(Map<String, Object> body) {
+        return body.get("results") instanceof List<?> results ? (List<Map<String, Object>>) results : null;
+    }
+
+    /**
+     * Outcome for one device token; invalid tokens should be deactivated.
+     */
+    public record TokenResult(String token, String messageId, String error, boolean retryable, boolean invalidToken) {
+
+        public boolean success() {
+            return messageId != null;
+        }
+    }
+
+    /**
+     * Outcome of a topic send.
+     */
+    public record TopicResult(String messageId, String error, boolean retryable) {
+
+        public boolean success() {
+            return messageId != null;
+        }
+    }
+
+    private record FcmResponse(Map<String, Object> body, String failure) {
+
+        static FcmResponse failed(String failure) {
+            return new FcmResponse(Map.of(), failure);
+        }
+    }
+}
@@ -0,0 +1,311 @@
+package com.cafm.cafmbackend.application.service;
+
+import com.cafm.cafmbackend.application.service.PushNotificationService.DeliveryResult;
+import com.cafm.cafmbackend.infrastructure.persistence.entity.NotificationQueue;
+import com.cafm.cafmbackend.infrastructure.persistence.entity.NotificationQueue.NotificationPriority;
+import com.cafm.cafmbackend.infrastructure.persistence.entity.NotificationQueue.NotificationStatus;
+import com.cafm.cafmbackend.infrastructure.persistence.entity.NotificationQueue.Platform;
+import com.cafm.cafmbackend.infrastructure.persistence.repository.NotificationDispatchRepository;
+import com.cafm.cafmbackend.infrastructure.persistence.repository.NotificationQueueRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Durable dispatcher for the notification queue.
+ *
+ * Purpose: Deliver queued push notifications at a steady rate from every node, surviving
+ *          restarts and FCM outages without losing or hot-looping on notifications
+ * Pattern: Worker threads claim due rows in batches (FOR UPDATE SKIP LOCKED), highest priority
+ *          first, send them grouped by platform and write all outcomes back in one batch;
+ *          failed deliveries back off exponentially
+ * Java 23: Dedicated platform worker threads built with Thread.ofPlatform()
+ * Architecture: Drains notification_queue through NotificationDispatchRepository and sends with
+ *               PushNotificationService.sendBatch; disabled with app.notifications.dispatcher.enabled
+ * Standards: At-least-once delivery; a claim held by a stopped node is released after the claim
+ *            timeout, and every outcome, the dispatch lag and the backlog are measured
+ */
+@Component
+@ConditionalOnProperty(name = "app.notifications.dispatcher.enabled", havingValue = "true", matchIfMissing = true)
+public class NotificationDispatcher {
+
+    private static final Logger logger = LoggerFactory.getLogger(NotificationDispatcher.class);
+
+    private static final List<NotificationPriority> PRIORITY_ORDER = List.of(
+        NotificationPriority.URGENT, NotificationPriority.HIGH, NotificationPriority.NORMAL, NotificationPriority.LOW);
+
+    private static final List<NotificationStatus> FINISHED_STATUSES = List.of(
+        NotificationStatus.SENT, NotificationStatus.FAILED, NotificationStatus.EXPIRED, NotificationStatus.CANCELLED);
+
+    private static final String UNSPECIFIED_PLATFORM = "UNSPECIFIED";
+    private static final int MAX_ERROR_CODE_LENGTH = 50;
+
+    private final NotificationDispatchRepository dispatchRepository;
+    private final NotificationQueueRepository queueRepository;
+    private final PushNotificationService pushNotificationService;
+    private final MeterRegistry meterRegistry;
+    private final int workerCount;
+    private final int batchSize;
+    private final Duration retryBaseDelay;
+
+    private final Counter sent;
+    private final Counter retried;
+    private final Counter failed;
+    private final Counter expired;
+    private final Counter releasedClaims;
+    private final DistributionSummary claimSizes;
+    private final Timer dispatchLag;
+    private final Map<String, Timer> sendDurations = new LinkedHashMap<>();
+    private final AtomicLong backlog = new AtomicLong();
+
+    @Value("${app.notifications.dispatcher.idle-interval-ms:1000}")
+    private long idleIntervalMs;
+
+    @Value("${app.notifications.dispatcher.claim-timeout:PT5M}")
+    private Duration claimTimeout;
+
+    @Value("${app.notifications.dispatcher.retention:P7D}")
+    private Duration retention;
+
+    private final List<Thread> workers = new ArrayList<>();
+    private volatile boolean running;
+
+    public NotificationDispatcher(NotificationDispatchRepository dispatchRepository,
+                                  NotificationQueueRepository queueRepository,
+                                  PushNotificationService pushNotificationService,
+                                  MeterRegistry meterRegistry,
+                                  @Value("${app.notifications.dispatcher.workers:4}") int workerCount,
+                                  @Value("${app.notifications.dispatcher.batch-size:500}") int batchSize,
+                                  @Value("${app.notifications.dispatcher.retry-base-delay:PT30S}") Duration retryBaseDelay) {
+        this.dispatchRepository = dispatchRepository;
+        this.queueRepository = queueRepository;
+        this.pushNotificationService = pushNotificationService;
+        this.meterRegistry = meterRegistry;
+        this.workerCount = workerCount;
+        this.batchSize = batchSize;
+        this.retryBaseDelay = retryBaseDelay;
+
+        this.sent = outcomeCounter(meterRegistry, "sent");
+        this.retried = outcomeCounter(meterRegistry, "retry");
+        this.failed = outcomeCounter(meterRegistry, "failed");
+        this.expired = outcomeCounter(meterRegistry, "expired");
+        this.releasedClaims = Counter.builder("cafm.notifications.claims.released")
+            .description("Claims returned to the queue after the claim timeout")
+            .register(meterRegistry);
+        this.claimSizes = DistributionSummary.builder("cafm.notifications.claim.size")
+            .description("Notifications claimed per batch")
+            .register(meterRegistry);
+        this.dispatchLag = Timer.builder("cafm.notifications.dispatch.lag")
+            .description("Time from a notification becoming due to its dispatch")
+            .register(meterRegistry);
+        for (Platform platform : Platform.values()) {
+            sendDurations.put(platform.name(), sendDurationTimer(meterRegistry, platform.name()));
+        }
+        sendDurations.put(UNSPECIFIED_PLATFORM, sendDurationTimer(meterRegistry, UNSPECIFIED_PLATFORM));
+        Gauge.builder("cafm.notifications.backlog", backlog, AtomicLong::get)
+            .description("Notifications waiting to be sent, as of the last maintenance run")
+            .register(meterRegistry);
+    }
+
+    @PostConstruct
+    public void start() {
+        running = true;
+        for (int i = 0; i < workerCount; i++) {
+            workers.add(Thread.ofPlatform()
+                .name("NotificationDispatcher-" + i)
+                .daemon()
+                .start(this::runWorker));
+        }
+    }
+
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        running = false;
+        workers.forEach(Thread::interrupt);
+        for (Thread worker : workers) {
+            worker.join(TimeUnit.SECONDS.toMillis(10));
+        }
+    }
+
+    // ========== Worker Threads ==========
+
+    private void runWorker() {
+        while (running) {
+            try {
+                if (dispatchNextBatch() == 0) {
+                    Thread.sleep(idleIntervalMs);
+                }
+            } catch (InterruptedException e) {
+                // Shutdown requested; the loop condition ends the worker
+            } catch (RuntimeException e) {
+                logger.error("Notification dispatch iteration failed", e);
+                sleepQuietly();
+            }
+        }
+    }
+
+    /**
+     * Claim and dispatch one batch of the highest priority that has due notifications.
+     *
+     * @return the number of notifications claimed, 0 when nothing is due
+     */
+    int dispatchNextBatch() {
+        for (NotificationPriority priority : PRIORITY_ORDER) {
+            List<NotificationQueue> claimed = dispatchRepository.claimDue(priority, LocalDateTime.now(), batchSize);
+            if (!claimed.isEmpty()) {
+                dispatch(claimed);
+                return claimed.size();
+            }
+        }
+        return 0;
+    }
+
+    private void dispatch(List<NotificationQueue> claimed) {
+        LocalDateTime now = LocalDateTime.now();
+        claimSizes.record(claimed.size());
+
+        Map<String, List<NotificationQueue>> byPlatform = new LinkedHashMap<>();
+        for (NotificationQueue notification : claimed) {
+            dispatchLag.record(Duration.between(dueAt(notification), now));
+            if (notification.isExpired()) {
+                notification.setStatus(NotificationStatus.EXPIRED);
+                notification.setFailedAt(now);
+                expired.increment();
+            } else {
+                String platform = notification.getPlatform() != null
+                    ? notification.getPlatform().name() : UNSPECIFIED_PLATFORM;
+                byPlatform.computeIfAbsent(platform, key -> new ArrayList<>()).add(notification);
+            }
+        }
+
+        byPlatform.forEach((platform, notifications) -> {
+            Map<UUID, DeliveryResult> results = send(platform, notifications);
+            for (NotificationQueue notification : notifications) {
+                applyResult(notification, results.get(notification.getId()));
+            }
+        });
+
+        dispatchRepository.saveOutcomes(claimed);
+    }
+
+    private Map<UUID, DeliveryResult> send(String platform, List<NotificationQueue> notifications) {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        try {
+            return pushNotificationService.sendBatch(notifications);
+        } catch (RuntimeException e) {
+            logger.warn("Sending {} {} notifications failed: {}", notifications.size(), platform, e.getMessage());
+            return Map.of();
+        } finally {
+            sample.stop(sendDurations.get(platform));
+        }
+    }
+
+    private void applyResult(NotificationQueue notification, DeliveryResult result) {
+        if (result == null) {
+            result = new DeliveryResult(false, null, "No delivery result", true);
+        }
+        if (result.success()) {
+            notification.markAsSent(result.messageId(), null);
+            sent.increment();
+        } else if (result.retryable()) {
+            notification.markAsFailed(result.error(), errorCode(result.error()), retryBaseDelay);
+            (notification.getStatus() == NotificationStatus.RETRY ? retried : failed).increment();
+        } else {
+            notification.markAsUndeliverable(result.error(), errorCode(result.error()));
+            failed.increment();
+        }
+    }
+
+    // ========== Maintenance ==========
+
+    /**
+     * Release abandoned claims, expire overdue notifications and refresh the backlog gauge.
+     */
+    @Scheduled(fixedDelayString = "${app.notifications.dispatcher.maintenance-interval-ms:60000}")
+    public void maintain() {
+        LocalDateTime now = LocalDateTime.now();
+        int released = dispatchRepository.releaseStaleClaims(now.minus(claimTimeout));
+        if (released > 0) {
+            releasedClaims.increment(released);
+            logger.warn("Released {} notification claims older than {}", released, claimTimeout);
+        }
+        int expiredCount = dispatchRepository.expireOverdue(now);
+        if (expiredCount > 0) {
+            expired.increment(expiredCount);
+            logger.info("Expired {} queued notifications", expiredCount);
+        }
+        backlog.set(dispatchRepository.countQueued());
+    }
+
+    /**
+     * Delete finished notifications older than the retention period.
+     */
+    @Scheduled(fixedDelayString = "${app.notifications.dispatcher.cleanup-interval-ms:3600000}")
+    @Transactional
+    public void cleanup() {
+        int deleted = queueRepository.deleteOldProcessedNotifications(
+            FINISHED_STATUSES, LocalDateTime.now().minus(retention));
+        if (deleted > 0) {
+            logger.info("Deleted {} processed notifications older than {}", deleted, retention);
+        }
+    }
+
+    // ========== Helpers ==========
+
+    private static LocalDateTime dueAt(NotificationQueue notification) {
+        if (notification.getNextRetryAt() != null) {
+            return notification.getNextRetryAt();
+        }
+        return notification.getScheduledFor() != null ? notification.getScheduledFor() : notification.getCreatedAt();
+    }
+
+    private static String errorCode(String error) {
+        if (error == null || error.length() <= MAX_ERROR_CODE_LENGTH) {
+            return error;
+        }
+        return error.substring(0, MAX_ERROR_CODE_LENGTH);
+    }
+
+    private void sleepQuietly() {
+        try {
+            Thread.sleep(idleIntervalMs);
+        } catch (InterruptedException e) {
+            // Shutdown requested; the loop condition ends the worker
+        }
+    }
+
+    private static Timer sendDurationTimer(MeterRegistry meterRegistry, String platform) {
+        return Timer.builder("cafm.notifications.send.duration")
+            .tag("platform", platform)
+            .description("Time to send one claimed batch of a platform")
+            .register(meterRegistry);
+    }
+
+    private static Counter outcomeCounter(MeterRegistry meterRegistry, String outcome) {
+        return Counter.builder("cafm.notifications.dispatched")
+            .tag("outcome", outcome)
+            .description("Queued notifications by dispatch outcome")
+            .register(meterRegistry);
+    }
+}
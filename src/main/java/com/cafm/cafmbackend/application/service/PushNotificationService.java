@@ -1,5 +1,6 @@
 package com.cafm.cafmbackend.application.service;
 
+import com.cafm.cafmbackend.application.service.FcmClient.TokenResult;
 import com.cafm.cafmbackend.infrastructure.persistence.entity.FCMToken;
 import com.cafm.cafmbackend.infrastructure.persistence.entity.NotificationQueue;
 import com.cafm.cafmbackend.infrastructure.persistence.entity.User;
@@ -11,19 +12,23 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.http.*;
 import org.springframework.scheduling.annotation.Async;
 import org.springframework.stereotype.Service;
-import org.springframework.web.client.RestTemplate;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.UUID;
 import java.util.concurrent.CompletableFuture;
-import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
+import java.util.concurrent.ConcurrentHashMap;
 import com.fasterxml.jackson.core.type.TypeReference;
 
 /**
@@ -32,48 +37,42 @@ import com.fasterxml.jackson.core.type.TypeReference;
  * Purpose: Handles FCM push notifications with retry logic, token management,
  * and comprehensive error handling for mobile app notifications.
  * 
- * Pattern: Service layer with async processing and proper error handling
+ * Pattern: Service layer over the non-blocking FcmClient; identical messages are multicast
  * Java 23: Uses virtual threads for I/O operations and modern HTTP client
  * Architecture: External service integration with proper resilience patterns
- * Standards: Implements FCM best practices and security guidelines
+ * Standards: Implements FCM best practices and security guidelines; invalid tokens are
+ * deactivated in bulk
  */
 @Service
 public class PushNotificationService {
 
     private static final Logger logger = LoggerFactory.getLogger(PushNotificationService.class);
 
-    private final RestTemplate restTemplate;
+    // Upper bound of ids per IN list when looking up or deactivating tokens
+    private static final int TOKEN_QUERY_CHUNK = 1000;
+
+    // Per-token errors caused by the message rather than the device
+    private static final Set<String> PAYLOAD_ERRORS = Set.of("MessageTooBig", "InvalidDataKey", "InvalidTtl");
+
+    private final FcmClient fcmClient;
     private final FCMTokenRepository fcmTokenRepository;
     private final UserRepository userRepository;
     private final AuditService auditService;
     private final ObjectMapper objectMapper;
-    
-    // Async processing
-    private final ExecutorService executorService;
 
-    @Value("${app.firebase.fcm.server-key:}")
-    private String fcmServerKey;
-    
-    @Value("${app.firebase.fcm.url:https://fcm.googleapis.com/fcm/send}")
-    private String fcmUrl;
-    
-    @Value("${app.firebase.fcm.enabled:false}")
-    private boolean fcmEnabled;
-    
     @Value("${app.firebase.project-id:}")
     private String firebaseProjectId;
 
-    public PushNotificationService(RestTemplate restTemplate,
+    public PushNotificationService(FcmClient fcmClient,
                                  FCMTokenRepository fcmTokenRepository,
                                  UserRepository userRepository,
                                  AuditService auditService,
                                  ObjectMapper objectMapper) {
-        this.restTemplate = restTemplate;
+        this.fcmClient = fcmClient;
         this.fcmTokenRepository = fcmTokenRepository;
         this.userRepository = userRepository;
         this.auditService = auditService;
         this.objectMapper = objectMapper;
-        this.executorService = Executors.newVirtualThreadPerTaskExecutor();
     }
 
     /**
@@ -81,71 +80,30 @@ public class PushNotificationService {
      */
     @Async
     public CompletableFuture<Map<String, Object>> sendToToken(NotificationQueue notification) {
-        return CompletableFuture.supplyAsync(() -> {
-            if (!fcmEnabled || fcmServerKey.isEmpty()) {
-                logger.warn("FCM is disabled or server key not configured");
-                return Map.of("success", false, "error", "FCM not configured");
-            }
-            
-            try {
-                logger.info("Sending FCM notification to token: {}", 
-                    maskToken(notification.getDeviceToken()));
-                
-                Map<String, Object> fcmPayload = buildFCMPayload(notification);
-                
-                HttpHeaders headers = new HttpHeaders();
-                headers.setContentType(MediaType.APPLICATION_JSON);
-                headers.set("Authorization", "key=" + fcmServerKey);
-                
-                HttpEntity<Map<String, Object>> request = new HttpEntity<>(fcmPayload, headers);
-                
-                ResponseEntity<Map> response = restTemplate.exchange(
-                    fcmUrl, HttpMethod.POST, request, Map.class);
-                
-                Map<String, Object> responseBody = response.getBody();
-                
-                if (response.getStatusCode().is2xxSuccessful() && responseBody != null) {
-                    // Check FCM response for success/failure
-                    Integer success = (Integer) responseBody.get("success");
-                    Integer failure = (Integer) responseBody.get("failure");
-                    
-                    if (success != null && success > 0) {
-                        logger.info("FCM notification sent successfully");
-                        
-                        auditService.logNotificationEvent("FCM_NOTIFICATION_SENT", 
-                            notification.getId(), notification.getUser().getId(), 
-                            notification.getTitle());
-                        
-                        return Map.of(
-                            "success", true,
-                            "messageId", responseBody.getOrDefault("multicast_id", ""),
-                            "response", responseBody
-                        );
-                    } else {
-                        String errorMessage = "FCM delivery failed";
-                        if (responseBody.containsKey("results")) {
-                            @SuppressWarnings("unchecked")
-                            List<Map<String, Object>> results = (List<Map<String, Object>>) responseBody.get("results");
-                            if (!results.isEmpty() && results.get(0).containsKey("error")) {
-                                errorMessage = (String) results.get(0).get("error");
-                            }
-                        }
-                        
-                        logger.warn("FCM notification failed: {}", errorMessage);
-                        handleTokenError(notification.getDeviceToken(), errorMessage);
-                        
-                        return Map.of("success", false, "error", errorMessage, "response", responseBody);
-                    }
-                } else {
-                    logger.error("FCM API returned error: {}", response.getStatusCode());
-                    return Map.of("success", false, "error", "FCM API error: " + response.getStatusCode());
+        if (!fcmClient.isEnabled()) {
+            logger.warn("FCM is disabled or server key not configured");
+            return CompletableFuture.completedFuture(Map.of("success", false, "error", "FCM not configured"));
+        }
+
+        logger.info("Sending FCM notification to token: {}", maskToken(notification.getDeviceToken()));
+
+        return fcmClient.sendMulticast(List.of(notification.getDeviceToken()), buildFCMMessage(notification))
+            .thenApply(results -> {
+                TokenResult result = results.get(0);
+                if (result.success()) {
+                    logger.info("FCM notification sent successfully");
+
+                    auditService.logNotificationEvent("FCM_NOTIFICATION_SENT",
+                        notification.getId(), notification.getUser().getId(),
+                        notification.getTitle());
+
+                    return Map.<String, Object>of("success", true, "messageId", result.messageId());
                 }
-                
-            } catch (Exception e) {
-                logger.error("Error sending FCM notification: {}", e.getMessage(), e);
-                return Map.of("success", false, "error", e.getMessage());
-            }
-        }, executorService);
+
+                logger.warn("FCM notification failed: {}", result.error());
+                handleTokenErrors(results);
+                return Map.<String, Object>of("success", false, "error", result.error());
+            });
     }
 
     /**
@@ -153,49 +111,207 @@ public class PushNotificationService {
      */
     @Async
     public CompletableFuture<Map<String, Object>> sendToTopic(NotificationQueue notification) {
-        return CompletableFuture.supplyAsync(() -> {
-            if (!fcmEnabled || fcmServerKey.isEmpty()) {
-                logger.warn("FCM is disabled or server key not configured");
-                return Map.of("success", false, "error", "FCM not configured");
-            }
-            
-            try {
-                logger.info("Sending FCM notification to topic: {}", notification.getTopic());
-                
-                Map<String, Object> fcmPayload = buildFCMTopicPayload(notification);
-                
-                HttpHeaders headers = new HttpHeaders();
-                headers.setContentType(MediaType.APPLICATION_JSON);
-                headers.set("Authorization", "key=" + fcmServerKey);
-                
-                HttpEntity<Map<String, Object>> request = new HttpEntity<>(fcmPayload, headers);
-                
-                ResponseEntity<Map> response = restTemplate.exchange(
-                    fcmUrl, HttpMethod.POST, request, Map.class);
-                
-                Map<String, Object> responseBody = response.getBody();
-                
-                if (response.getStatusCode().is2xxSuccessful() && responseBody != null) {
+        if (!fcmClient.isEnabled()) {
+            logger.warn("FCM is disabled or server key not configured");
+            return CompletableFuture.completedFuture(Map.of("success", false, "error", "FCM not configured"));
+        }
+
+        logger.info("Sending FCM notification to topic: {}", notification.getTopic());
+
+        return fcmClient.sendToTopic(notification.getTopic(), buildFCMMessage(notification))
+            .thenApply(result -> {
+                if (result.success()) {
                     logger.info("FCM topic notification sent successfully");
-                    
-                    auditService.logNotificationEvent("FCM_TOPIC_NOTIFICATION_SENT", 
+
+                    auditService.logNotificationEvent("FCM_TOPIC_NOTIFICATION_SENT",
                         notification.getId(), null, notification.getTitle());
-                    
-                    return Map.of(
-                        "success", true,
-                        "messageId", responseBody.getOrDefault("message_id", ""),
-                        "response", responseBody
-                    );
-                } else {
-                    logger.error("FCM topic notification failed: {}", response.getStatusCode());
-                    return Map.of("success", false, "error", "FCM API error: " + response.getStatusCode());
+
+                    return Map.<String, Object>of("success", true, "messageId", result.messageId());
                 }
-                
-            } catch (Exception e) {
-                logger.error("Error sending FCM topic notification: {}", e.getMessage(), e);
-                return Map.of("success", false, "error", e.getMessage());
+
+                logger.error("FCM topic notification failed: {}", result.error());
+                return Map.<String, Object>of("success", false, "error", result.error());
+            });
+    }
+
+    /**
+     * Send a batch of queued notifications, returning once every outcome is known.
+     * Device notifications with identical content share one multicast; notifications addressed
+     * only to a user go to that user's active devices, also one multicast per identical content.
+     * All requests are in flight together, within the FcmClient request limit.
+     */
+    public Map<UUID, DeliveryResult> sendBatch(List<NotificationQueue> notifications) {
+        Map<UUID, DeliveryResult> results = new ConcurrentHashMap<>();
+        if (!fcmClient.isEnabled()) {
+            logger.warn("FCM is disabled or server key not configured");
+            notifications.forEach(notification ->
+                results.put(notification.getId(), DeliveryResult.failed("FCM not configured", false)));
+            return results;
+        }
+
+        Map<List<Object>, List<NotificationQueue>> byContent = new LinkedHashMap<>();
+        Map<List<Object>, List<NotificationQueue>> userByContent = new LinkedHashMap<>();
+        List<CompletableFuture<Void>> inFlight = new ArrayList<>();
+        for (NotificationQueue notification : notifications) {
+            if (notification.getDeviceToken() != null) {
+                byContent.computeIfAbsent(contentKey(notification), key -> new ArrayList<>()).add(notification);
+            } else if (notification.getTopic() != null) {
+                inFlight.add(fcmClient.sendToTopic(notification.getTopic(), buildFCMMessage(notification))
+                    .thenAccept(result -> results.put(notification.getId(), result.success()
+                        ? DeliveryResult.sent(result.messageId())
+                        : DeliveryResult.failed(result.error(), result.retryable()))));
+            } else if (notification.getUser() != null) {
+                userByContent.computeIfAbsent(contentKey(notification), key -> new ArrayList<>()).add(notification);
+            } else {
+                results.put(notification.getId(), DeliveryResult.failed("No device token, topic or user", false));
             }
-        }, executorService);
+        }
+
+        List<TokenResult> tokenResults = Collections.synchronizedList(new ArrayList<>());
+        if (!userByContent.isEmpty()) {
+            inFlight.addAll(sendToUserDevices(userByContent.values(), results, tokenResults));
+        }
+        for (List<NotificationQueue> group : byContent.values()) {
+            List<String> tokens = group.stream().map(NotificationQueue::getDeviceToken).toList();
+            inFlight.add(fcmClient.sendMulticast(tokens, buildGroupMessage(group))
+                .thenAccept(groupResults -> {
+                    tokenResults.addAll(groupResults);
+                    // Results are in the order of the tokens
+                    for (int i = 0; i < group.size(); i++) {
+                        TokenResult result = groupResults.get(i);
+                        results.put(group.get(i).getId(), result.success()
+                            ? DeliveryResult.sent(result.messageId())
+                            : DeliveryResult.failed(result.error(), result.retryable()));
+                    }
+                }));
+        }
+
+        CompletableFuture.allOf(inFlight.toArray(CompletableFuture[]::new)).join();
+        handleTokenErrors(tokenResults);
+        return results;
+    }
+
+    /**
+     * Multicast each group of user-addressed notifications to the users' active devices.
+     * A notification counts as sent when at least one of its user's devices was reached.
+     */
+    private List<CompletableFuture<Void>> sendToUserDevices(Collection<List<NotificationQueue>> groups,
+                                                            Map<UUID, DeliveryResult> results,
+                                                            List<TokenResult> tokenResults) {
+        Map<UUID, List<String>> tokensByUser = new HashMap<>();
+        List<UUID> userIds = groups.stream()
+            .flatMap(List::stream)
+            .map(notification -> notification.getUser().getId())
+            .distinct()
+            .toList();
+        for (Object[] row : findActiveTokens(userIds)) {
+            tokensByUser.computeIfAbsent((UUID) row[0], id -> new ArrayList<>()).add((String) row[1]);
+        }
+
+        List<CompletableFuture<Void>> inFlight = new ArrayList<>();
+        for (List<NotificationQueue> group : groups) {
+            // One entry per device token, naming the notification it delivers
+            List<String> tokens = new ArrayList<>();
+            List<NotificationQueue> targets = new ArrayList<>();
+            List<NotificationQueue> reachable = new ArrayList<>();
+            for (NotificationQueue notification : group) {
+                List<String> userTokens = tokensByUser.getOrDefault(notification.getUser().getId(), List.of());
+                if (userTokens.isEmpty()) {
+                    results.put(notification.getId(), DeliveryResult.failed("No active device tokens", false));
+                    continue;
+                }
+                reachable.add(notification);
+                for (String token : userTokens) {
+                    tokens.add(token);
+                    targets.add(notification);
+                }
+            }
+            if (reachable.isEmpty()) {
+                continue;
+            }
+
+            inFlight.add(fcmClient.sendMulticast(tokens, buildGroupMessage(reachable))
+                .thenAccept(groupResults -> {
+                    tokenResults.addAll(groupResults);
+                    // Results are in the order of the tokens
+                    Map<UUID, List<TokenResult>> byNotification = new LinkedHashMap<>();
+                    for (int i = 0; i < targets.size(); i++) {
+                        byNotification.computeIfAbsent(targets.get(i).getId(), id -> new ArrayList<>())
+                            .add(groupResults.get(i));
+                    }
+                    byNotification.forEach((id, deviceResults) -> results.put(id, userResult(deviceResults)));
+                }));
+        }
+        return inFlight;
+    }
+
+    private static DeliveryResult userResult(List<TokenResult> deviceResults) {
+        for (TokenResult result : deviceResults) {
+            if (result.success()) {
+                return DeliveryResult.sent(result.messageId());
+            }
+        }
+        return DeliveryResult.failed(deviceResults.get(0).error(),
+            deviceResults.stream().anyMatch(TokenResult::retryable));
+    }
+
+    /**
+     * Send one message to every active device of the given users.
+     * Devices are reached by multicast and tokens FCM reports as invalid are deactivated in bulk.
+     */
+    public CompletableFuture<UserDeliverySummary> sendToUsers(Collection<UUID> userIds, NotificationQueue message) {
+        Map<String, UUID> ownerByToken = new LinkedHashMap<>();
+        List<UUID> ids = new ArrayList<>(new HashSet<>(userIds));
+        for (Object[] row : findActiveTokens(ids)) {
+            ownerByToken.put((String) row[1], (UUID) row[0]);
+        }
+        Set<UUID> withoutDevices = new HashSet<>(ids);
+        withoutDevices.removeAll(ownerByToken.values());
+
+        if (ownerByToken.isEmpty() || !fcmClient.isEnabled()) {
+            if (!ownerByToken.isEmpty()) {
+                logger.warn("FCM is disabled or server key not configured");
+            }
+            return CompletableFuture.completedFuture(new UserDeliverySummary(
+                ownerByToken.size(), 0, ownerByToken.size(), 0, Set.of(), withoutDevices));
+        }
+
+        List<String> tokens = new ArrayList<>(ownerByToken.keySet());
+        return fcmClient.sendMulticast(tokens, buildFCMMessage(message)).thenApply(results -> {
+            Set<UUID> deliveredTo = new HashSet<>();
+            for (TokenResult result : results) {
+                if (result.success()) {
+                    deliveredTo.add(ownerByToken.get(result.token()));
+                }
+            }
+            int sent = (int) results.stream().filter(TokenResult::success).count();
+            int deactivated = handleTokenErrors(results);
+            logger.info("Multicast to {} users: {} of {} devices reached, {} tokens deactivated",
+                       ids.size(), sent, tokens.size(), deactivated);
+            return new UserDeliverySummary(tokens.size(), sent, tokens.size() - sent, deactivated,
+                                           deliveredTo, withoutDevices);
+        });
+    }
+
+    /**
+     * Outcome of one notification of a batch; failed deliveries say whether a retry can succeed.
+     */
+    public record DeliveryResult(boolean success, String messageId, String error, boolean retryable) {
+
+        static DeliveryResult sent(String messageId) {
+            return new DeliveryResult(true, messageId, null, false);
+        }
+
+        static DeliveryResult failed(String error, boolean retryable) {
+            return new DeliveryResult(false, null, error, retryable);
+        }
+    }
+
+    /**
+     * Outcome of a send to users: device counts, and which users were reached or have no device.
+     */
+    public record UserDeliverySummary(int devices, int sent, int failed, int deactivated,
+                                      Set<UUID> deliveredTo, Set<UUID> withoutDevices) {
     }
 
     /**
@@ -296,12 +412,12 @@ public class PushNotificationService {
 
     // ==================== PRIVATE HELPER METHODS ====================
 
-    private Map<String, Object> buildFCMPayload(NotificationQueue notification) {
+    /**
+     * The FCM message without its target; FcmClient adds registration ids or the topic.
+     */
+    private Map<String, Object> buildFCMMessage(NotificationQueue notification) {
         Map<String, Object> payload = new HashMap<>();
         
-        // Set target
-        payload.put("to", notification.getDeviceToken());
-        
         // Set notification
         Map<String, Object> notificationData = new HashMap<>();
         notificationData.put("title", notification.getTitle());
@@ -326,9 +442,14 @@ public class PushNotificationService {
         payload.put("notification", notificationData);
         
         // Set data payload
-        Map<String, Object> data = new HashMap<>(notification.getData());
-        data.put("notificationId", notification.getId().toString());
-        data.put("type", notification.getNotificationType().toString());
+        Map<String, Object> data = notification.getData() != null
+            ? new HashMap<>(notification.getData()) : new HashMap<>();
+        if (notification.getId() != null) {
+            data.put("notificationId", notification.getId().toString());
+        }
+        if (notification.getNotificationType() != null) {
+            data.put("type", notification.getNotificationType().toString());
+        }
         data.put("category", notification.getCategory());
         data.put("timestamp", LocalDateTime.now().toString());
         
@@ -362,38 +483,78 @@ public class PushNotificationService {
         return payload;
     }
 
-    private Map<String, Object> buildFCMTopicPayload(NotificationQueue notification) {
-        Map<String, Object> payload = buildFCMPayload(notification);
-        
-        // Replace "to" with topic
-        payload.remove("to");
-        payload.put("to", "/topics/" + notification.getTopic());
-        
-        return payload;
+    private Map<String, Object> buildGroupMessage(List<NotificationQueue> group) {
+        Map<String, Object> message = buildFCMMessage(group.get(0));
+        if (group.size() > 1) {
+            // One message stands for several queue rows; the first row's id would mislead clients
+            @SuppressWarnings("unchecked")
+            Map<String, Object> data = (Map<String, Object>) message.get("data");
+            data.remove("notificationId");
+        }
+        return message;
     }
 
-    private void handleTokenError(String token, String error) {
-        // Handle specific FCM errors
-        switch (error) {
-            case "NotRegistered":
-            case "InvalidRegistration":
-                // Token is invalid, mark as inactive
-                unregisterToken(token);
-                logger.info("Invalid FCM token marked as inactive: {}", maskToken(token));
-                break;
-                
-            case "MessageTooBig":
-            case "InvalidDataKey":
-            case "InvalidTtl":
+    /**
+     * Everything that ends up in the FCM message apart from the target.
+     */
+    private static List<Object> contentKey(NotificationQueue notification) {
+        return Arrays.asList(notification.getTitle(), notification.getBody(), notification.getData(),
+            notification.getNotificationType(), notification.getCategory(), notification.getPriority(),
+            notification.getPlatform(), notification.getSound(), notification.getBadge(),
+            notification.getExpiresAt());
+    }
+
+    /**
+     * Active (user id, token) rows of the given users, one query per chunk of ids.
+     */
+    private List<Object[]> findActiveTokens(List<UUID> userIds) {
+        List<Object[]> rows = new ArrayList<>();
+        for (int from = 0; from < userIds.size(); from += TOKEN_QUERY_CHUNK) {
+            rows.addAll(fcmTokenRepository.findActiveTokensByUserIds(
+                userIds.subList(from, Math.min(from + TOKEN_QUERY_CHUNK, userIds.size()))));
+        }
+        return rows;
+    }
+
+    /**
+     * Deactivate tokens FCM reported as invalid, in one update per chunk.
+     *
+     * @return the number of tokens deactivated
+     */
+    private int handleTokenErrors(List<TokenResult> results) {
+        List<String> invalidTokens = new ArrayList<>();
+        for (TokenResult result : results) {
+            if (result.success()) {
+                continue;
+            }
+            if (result.invalidToken()) {
+                invalidTokens.add(result.token());
+            } else if (PAYLOAD_ERRORS.contains(result.error())) {
                 // Payload errors - log for debugging
-                logger.warn("FCM payload error for token {}: {}", maskToken(token), error);
-                break;
-                
-            default:
+                logger.warn("FCM payload error for token {}: {}", maskToken(result.token()), result.error());
+            } else {
                 // Other errors - log but don't deactivate token
-                logger.warn("FCM error for token {}: {}", maskToken(token), error);
-                break;
+                logger.debug("FCM error for token {}: {}", maskToken(result.token()), result.error());
+            }
+        }
+        if (invalidTokens.isEmpty()) {
+            return 0;
+        }
+
+        int deactivated = 0;
+        try {
+            LocalDateTime now = LocalDateTime.now();
+            for (int from = 0; from < invalidTokens.size(); from += TOKEN_QUERY_CHUNK) {
+                deactivated += fcmTokenRepository.deactivateTokens(
+                    invalidTokens.subList(from, Math.min(from + TOKEN_QUERY_CHUNK, invalidTokens.size())), now);
+            }
+            logger.info("Invalid FCM tokens marked as inactive: {}", deactivated);
+            auditService.logSecurityEvent("FCM_TOKENS_DEACTIVATED",
+                String.format("%d invalid FCM tokens deactivated", deactivated));
+        } catch (Exception e) {
+            logger.error("Failed to deactivate {} invalid FCM tokens: {}", invalidTokens.size(), e.getMessage(), e);
         }
+        return deactivated;
     }
 
     private String maskToken(String token) {
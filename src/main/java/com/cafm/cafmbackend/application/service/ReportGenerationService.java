@@ -3,636 +3,534 @@ package com.cafm.cafmbackend.application.service;
 import com.cafm.cafmbackend.infrastructure.persistence.entity.Report;
 import com.cafm.cafmbackend.infrastructure.persistence.entity.WorkOrder;
 import com.cafm.cafmbackend.infrastructure.persistence.entity.Asset;
-import com.cafm.cafmbackend.infrastructure.persistence.entity.User;
 import com.cafm.cafmbackend.infrastructure.persistence.repository.ReportRepository;
 import com.cafm.cafmbackend.infrastructure.persistence.repository.WorkOrderRepository;
 import com.cafm.cafmbackend.infrastructure.persistence.repository.AssetRepository;
-import com.cafm.cafmbackend.infrastructure.persistence.repository.UserRepository;
-import com.itextpdf.html2pdf.HtmlConverter;
+import com.cafm.cafmbackend.shared.enums.AssetStatus;
+import com.cafm.cafmbackend.shared.enums.ReportStatus;
+import com.cafm.cafmbackend.shared.enums.WorkOrderStatus;
+import com.itextpdf.kernel.colors.Color;
+import com.itextpdf.kernel.colors.DeviceRgb;
+import com.itextpdf.kernel.geom.PageSize;
 import com.itextpdf.kernel.pdf.PdfDocument;
 import com.itextpdf.kernel.pdf.PdfWriter;
 import com.itextpdf.layout.Document;
 import com.itextpdf.layout.element.Paragraph;
+import com.itextpdf.layout.element.Table;
+import com.itextpdf.layout.properties.UnitValue;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
 import org.apache.poi.ss.usermodel.*;
-import org.apache.poi.xssf.usermodel.XSSFWorkbook;
+import org.apache.poi.xssf.streaming.SXSSFWorkbook;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.data.domain.Page;
-import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
-import java.io.ByteArrayOutputStream;
 import java.io.IOException;
+import java.io.OutputStream;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
-import java.util.List;
+import java.util.EnumMap;
+import java.util.Iterator;
+import java.util.Map;
 import java.util.UUID;
-import java.util.concurrent.CompletableFuture;
+import java.util.stream.Stream;
 
 /**
  * Service for generating reports in various formats (Excel, PDF).
- * 
+ *
  * Purpose: Provide report generation functionality for maintenance data export
- * Pattern: Service layer with format-specific generation methods
+ * Pattern: Streaming writers fed by repository cursors inside a read-only transaction
  * Java 23: Uses modern exception handling and streaming operations
- * Architecture: Domain service for business logic with async processing
- * Standards: Excel via Apache POI, PDF via iText, async operations for performance
+ * Architecture: Application service writing exports straight to the HTTP response stream
+ * Standards: Excel via Apache POI SXSSF, PDF via incremental iText tables; memory is bounded
+ *            by the row window and flush intervals, not by the number of exported rows
  */
 @Service
 @Transactional(readOnly = true)
 public class ReportGenerationService {
-    
+
     private static final Logger logger = LoggerFactory.getLogger(ReportGenerationService.class);
     private static final DateTimeFormatter DATE_FORMATTER = DateTimeFormatter.ofPattern("yyyy-MM-dd");
     private static final DateTimeFormatter DATETIME_FORMATTER = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
-    
+
+    /** Rows kept in memory per SXSSF sheet; older rows are flushed to a compressed temp file. */
+    private static final int EXCEL_ROW_WINDOW = 100;
+
+    /** Rows between persistence context clears, so streamed entities do not pile up in the session. */
+    private static final int DETACH_INTERVAL = 500;
+
+    /** Rows between flushes of a large iText table to the output stream. */
+    private static final int PDF_FLUSH_INTERVAL = 200;
+
+    private static final Color HIGH_COLOR = new DeviceRgb(0xE7, 0x4C, 0x3C);
+    private static final Color MEDIUM_COLOR = new DeviceRgb(0xF3, 0x9C, 0x12);
+    private static final Color LOW_COLOR = new DeviceRgb(0x27, 0xAE, 0x60);
+    private static final Color PROGRESS_COLOR = new DeviceRgb(0x34, 0x98, 0xDB);
+
     private final ReportRepository reportRepository;
     private final WorkOrderRepository workOrderRepository;
     private final AssetRepository assetRepository;
-    private final UserRepository userRepository;
-    
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
     @Autowired
     public ReportGenerationService(
             ReportRepository reportRepository,
             WorkOrderRepository workOrderRepository,
-            AssetRepository assetRepository,
-            UserRepository userRepository) {
+            AssetRepository assetRepository) {
         this.reportRepository = reportRepository;
         this.workOrderRepository = workOrderRepository;
         this.assetRepository = assetRepository;
-        this.userRepository = userRepository;
     }
-    
+
     /**
-     * Generate maintenance reports Excel file asynchronously.
+     * Stream maintenance reports as an Excel workbook to the given output stream.
      */
-    public CompletableFuture<byte[]> generateMaintenanceReportsExcel(UUID companyId, 
-                                                                      LocalDate startDate, 
-                                                                      LocalDate endDate) {
-        return CompletableFuture.supplyAsync(() -> {
-            logger.info("Generating maintenance reports Excel for company: {} from {} to {}", 
-                       companyId, startDate, endDate);
-            
-            try (XSSFWorkbook workbook = new XSSFWorkbook();
-                 ByteArrayOutputStream outputStream = new ByteArrayOutputStream()) {
-                
-                // Create main reports sheet
-                Sheet reportsSheet = workbook.createSheet("Maintenance Reports");
-                createMaintenanceReportsExcelSheet(reportsSheet, companyId, startDate, endDate);
-                
-                // Create summary sheet
-                Sheet summarySheet = workbook.createSheet("Summary");
-                createReportsSummarySheet(summarySheet, companyId, startDate, endDate);
-                
-                workbook.write(outputStream);
-                logger.info("Successfully generated maintenance reports Excel for company: {}", companyId);
-                return outputStream.toByteArray();
-                
-            } catch (IOException e) {
-                logger.error("Error generating maintenance reports Excel", e);
-                throw new RuntimeException("Failed to generate Excel report", e);
-            }
-        });
+    public void writeMaintenanceReportsExcel(UUID companyId, LocalDate startDate, LocalDate endDate,
+                                             OutputStream outputStream) throws IOException {
+        logger.info("Streaming maintenance reports Excel for company: {} from {} to {}",
+                   companyId, startDate, endDate);
+
+        SXSSFWorkbook workbook = newStreamingWorkbook();
+        try (workbook; Stream<Report> reports = reportRepository.streamForExport(companyId, startDate, endDate)) {
+            Sheet reportsSheet = workbook.createSheet("Maintenance Reports");
+            Map<ReportStatus, Long> statusCounts = new EnumMap<>(ReportStatus.class);
+            long total = writeMaintenanceReportsSheet(reportsSheet, reports, statusCounts);
+
+            Sheet summarySheet = workbook.createSheet("Summary");
+            writeSummarySheet(summarySheet, "Maintenance Reports Summary - " + startDate + " to " + endDate, new String[][] {
+                {"Total Reports", String.valueOf(total)},
+                {"Pending Reports", String.valueOf(statusCounts.getOrDefault(ReportStatus.SUBMITTED, 0L))},
+                {"Completed Reports", String.valueOf(statusCounts.getOrDefault(ReportStatus.COMPLETED, 0L))},
+                {"Completion Rate", completionRate(statusCounts.getOrDefault(ReportStatus.COMPLETED, 0L), total)}
+            });
+
+            workbook.write(outputStream);
+            logger.info("Streamed {} maintenance reports to Excel for company: {}", total, companyId);
+        } finally {
+            workbook.dispose();
+        }
     }
-    
+
     /**
-     * Generate work orders Excel file asynchronously.
+     * Stream work orders as an Excel workbook to the given output stream.
      */
-    public CompletableFuture<byte[]> generateWorkOrdersExcel(UUID companyId, 
-                                                             LocalDate startDate, 
-                                                             LocalDate endDate) {
-        return CompletableFuture.supplyAsync(() -> {
-            logger.info("Generating work orders Excel for company: {} from {} to {}", 
-                       companyId, startDate, endDate);
-            
-            try (XSSFWorkbook workbook = new XSSFWorkbook();
-                 ByteArrayOutputStream outputStream = new ByteArrayOutputStream()) {
-                
-                // Create main work orders sheet
-                Sheet workOrdersSheet = workbook.createSheet("Work Orders");
-                createWorkOrdersExcelSheet(workOrdersSheet, companyId, startDate, endDate);
-                
-                // Create status summary sheet
-                Sheet statusSheet = workbook.createSheet("Status Summary");
-                createWorkOrderStatusSummarySheet(statusSheet, companyId, startDate, endDate);
-                
-                workbook.write(outputStream);
-                logger.info("Successfully generated work orders Excel for company: {}", companyId);
-                return outputStream.toByteArray();
-                
-            } catch (IOException e) {
-                logger.error("Error generating work orders Excel", e);
-                throw new RuntimeException("Failed to generate Excel report", e);
-            }
-        });
+    public void writeWorkOrdersExcel(UUID companyId, LocalDate startDate, LocalDate endDate,
+                                     OutputStream outputStream) throws IOException {
+        logger.info("Streaming work orders Excel for company: {} from {} to {}",
+                   companyId, startDate, endDate);
+
+        SXSSFWorkbook workbook = newStreamingWorkbook();
+        try (workbook; Stream<WorkOrder> workOrders = workOrderRepository.streamForExport(
+                companyId, startDate.atStartOfDay(), endDate.atTime(23, 59, 59))) {
+            Sheet workOrdersSheet = workbook.createSheet("Work Orders");
+            Map<WorkOrderStatus, Long> statusCounts = new EnumMap<>(WorkOrderStatus.class);
+            long total = writeWorkOrdersSheet(workOrdersSheet, workOrders, statusCounts);
+
+            Sheet statusSheet = workbook.createSheet("Status Summary");
+            writeSummarySheet(statusSheet, "Work Orders Status Summary - " + startDate + " to " + endDate, new String[][] {
+                {"Total Work Orders", String.valueOf(total)},
+                {"Assigned Orders", String.valueOf(statusCounts.getOrDefault(WorkOrderStatus.ASSIGNED, 0L))},
+                {"In Progress Orders", String.valueOf(statusCounts.getOrDefault(WorkOrderStatus.IN_PROGRESS, 0L))},
+                {"Completed Orders", String.valueOf(statusCounts.getOrDefault(WorkOrderStatus.COMPLETED, 0L))},
+                {"Completion Rate", completionRate(statusCounts.getOrDefault(WorkOrderStatus.COMPLETED, 0L), total)}
+            });
+
+            workbook.write(outputStream);
+            logger.info("Streamed {} work orders to Excel for company: {}", total, companyId);
+        } finally {
+            workbook.dispose();
+        }
     }
-    
+
     /**
-     * Generate assets inventory Excel file asynchronously.
+     * Stream the active assets inventory as an Excel workbook to the given output stream.
      */
-    public CompletableFuture<byte[]> generateAssetsInventoryExcel(UUID companyId) {
-        return CompletableFuture.supplyAsync(() -> {
-            logger.info("Generating assets inventory Excel for company: {}", companyId);
-            
-            try (XSSFWorkbook workbook = new XSSFWorkbook();
-                 ByteArrayOutputStream outputStream = new ByteArrayOutputStream()) {
-                
-                Sheet assetsSheet = workbook.createSheet("Assets Inventory");
-                createAssetsInventoryExcelSheet(assetsSheet, companyId);
-                
-                workbook.write(outputStream);
-                logger.info("Successfully generated assets inventory Excel for company: {}", companyId);
-                return outputStream.toByteArray();
-                
-            } catch (IOException e) {
-                logger.error("Error generating assets inventory Excel", e);
-                throw new RuntimeException("Failed to generate Excel report", e);
-            }
-        });
+    public void writeAssetsInventoryExcel(UUID companyId, OutputStream outputStream) throws IOException {
+        logger.info("Streaming assets inventory Excel for company: {}", companyId);
+
+        SXSSFWorkbook workbook = newStreamingWorkbook();
+        try (workbook; Stream<Asset> assets = assetRepository.streamForExport(companyId, AssetStatus.ACTIVE)) {
+            Sheet assetsSheet = workbook.createSheet("Assets Inventory");
+            long total = writeAssetsInventorySheet(assetsSheet, assets);
+
+            workbook.write(outputStream);
+            logger.info("Streamed {} assets to Excel for company: {}", total, companyId);
+        } finally {
+            workbook.dispose();
+        }
     }
-    
+
     /**
-     * Generate maintenance reports PDF asynchronously.
+     * Stream maintenance reports as a PDF document to the given output stream.
      */
-    public CompletableFuture<byte[]> generateMaintenanceReportsPDF(UUID companyId, 
-                                                                    LocalDate startDate, 
-                                                                    LocalDate endDate) {
-        return CompletableFuture.supplyAsync(() -> {
-            logger.info("Generating maintenance reports PDF for company: {} from {} to {}", 
-                       companyId, startDate, endDate);
-            
-            try (ByteArrayOutputStream outputStream = new ByteArrayOutputStream()) {
-                PdfWriter writer = new PdfWriter(outputStream);
-                PdfDocument pdfDoc = new PdfDocument(writer);
-                Document document = new Document(pdfDoc);
-                
-                // Generate HTML content and convert to PDF
-                String htmlContent = generateMaintenanceReportsHTML(companyId, startDate, endDate);
-                HtmlConverter.convertToPdf(htmlContent, outputStream);
-                
-                document.close();
-                logger.info("Successfully generated maintenance reports PDF for company: {}", companyId);
-                return outputStream.toByteArray();
-                
-            } catch (Exception e) {
-                logger.error("Error generating maintenance reports PDF", e);
-                throw new RuntimeException("Failed to generate PDF report", e);
+    public void writeMaintenanceReportsPdf(UUID companyId, LocalDate startDate, LocalDate endDate,
+                                           OutputStream outputStream) {
+        logger.info("Streaming maintenance reports PDF for company: {} from {} to {}",
+                   companyId, startDate, endDate);
+
+        String[] headers = {
+            "Report ID", "Title", "Priority", "Status", "Asset", "Reported By", "Created Date", "Due Date"
+        };
+        float[] widths = {8, 24, 9, 10, 15, 14, 12, 8};
+
+        try (Document document = newPdfDocument(outputStream);
+             Stream<Report> reports = reportRepository.streamForExport(companyId, startDate, endDate)) {
+            document.add(new Paragraph("Maintenance Reports - " + startDate + " to " + endDate)
+                .setBold().setFontSize(16));
+
+            Table table = newLargeTable(document, headers, widths);
+            long rowCount = 0;
+
+            for (Iterator<Report> it = reports.iterator(); it.hasNext(); ) {
+                Report report = it.next();
+                table.addCell(shortId(report.getId()));
+                table.addCell(text(report.getTitle()));
+                table.addCell(coloredText(report.getPriority() != null ? report.getPriority().toString() : "",
+                                          priorityColor(report)));
+                table.addCell(report.getStatus() != null ? report.getStatus().toString() : "");
+                table.addCell(report.getSchool() != null ? text(report.getSchool().getName()) : "");
+                table.addCell(report.getSupervisor() != null ? text(report.getSupervisor().getFullName()) : "");
+                table.addCell(formatDateTime(report.getCreatedAt()));
+                table.addCell(report.getScheduledDate() != null ? report.getScheduledDate().format(DATE_FORMATTER) : "");
+
+                rowCount++;
+                flushPdfRows(table, rowCount);
             }
-        });
+
+            table.complete();
+            logger.info("Streamed {} maintenance reports to PDF for company: {}", rowCount, companyId);
+        }
     }
-    
+
     /**
-     * Generate work orders PDF asynchronously.
+     * Stream work orders as a PDF document to the given output stream.
      */
-    public CompletableFuture<byte[]> generateWorkOrdersPDF(UUID companyId, 
-                                                           LocalDate startDate, 
-                                                           LocalDate endDate) {
-        return CompletableFuture.supplyAsync(() -> {
-            logger.info("Generating work orders PDF for company: {} from {} to {}", 
-                       companyId, startDate, endDate);
-            
-            try (ByteArrayOutputStream outputStream = new ByteArrayOutputStream()) {
-                PdfWriter writer = new PdfWriter(outputStream);
-                PdfDocument pdfDoc = new PdfDocument(writer);
-                Document document = new Document(pdfDoc);
-                
-                // Generate HTML content and convert to PDF
-                String htmlContent = generateWorkOrdersHTML(companyId, startDate, endDate);
-                HtmlConverter.convertToPdf(htmlContent, outputStream);
-                
-                document.close();
-                logger.info("Successfully generated work orders PDF for company: {}", companyId);
-                return outputStream.toByteArray();
-                
-            } catch (Exception e) {
-                logger.error("Error generating work orders PDF", e);
-                throw new RuntimeException("Failed to generate PDF report", e);
+    public void writeWorkOrdersPdf(UUID companyId, LocalDate startDate, LocalDate endDate,
+                                   OutputStream outputStream) {
+        logger.info("Streaming work orders PDF for company: {} from {} to {}",
+                   companyId, startDate, endDate);
+
+        String[] headers = {
+            "Work Order ID", "Title", "Status", "Priority", "Asset", "Assigned To", "Created Date", "Due Date"
+        };
+        float[] widths = {8, 24, 10, 9, 15, 14, 12, 8};
+
+        try (Document document = newPdfDocument(outputStream);
+             Stream<WorkOrder> workOrders = workOrderRepository.streamForExport(
+                 companyId, startDate.atStartOfDay(), endDate.atTime(23, 59, 59))) {
+            document.add(new Paragraph("Work Orders - " + startDate + " to " + endDate)
+                .setBold().setFontSize(16));
+
+            Table table = newLargeTable(document, headers, widths);
+            long rowCount = 0;
+
+            for (Iterator<WorkOrder> it = workOrders.iterator(); it.hasNext(); ) {
+                WorkOrder workOrder = it.next();
+                table.addCell(shortId(workOrder.getId()));
+                table.addCell(text(workOrder.getTitle()));
+                table.addCell(coloredText(workOrder.getStatus() != null ? workOrder.getStatus().toString() : "",
+                                          statusColor(workOrder)));
+                table.addCell(workOrder.getPriority() != null ? workOrder.getPriority().toString() : "");
+                table.addCell(workOrder.getSchool() != null ? text(workOrder.getSchool().getName()) : "");
+                table.addCell(workOrder.getAssignedTo() != null ? text(workOrder.getAssignedTo().getFullName()) : "");
+                table.addCell(formatDateTime(workOrder.getCreatedAt()));
+                table.addCell(workOrder.getScheduledStart() != null ? workOrder.getScheduledStart().format(DATE_FORMATTER) : "");
+
+                rowCount++;
+                flushPdfRows(table, rowCount);
             }
-        });
+
+            table.complete();
+            logger.info("Streamed {} work orders to PDF for company: {}", rowCount, companyId);
+        }
     }
-    
+
     // ========== Private Helper Methods for Excel Generation ==========
-    
-    private void createMaintenanceReportsExcelSheet(Sheet sheet, UUID companyId, 
-                                                   LocalDate startDate, LocalDate endDate) {
-        // Create header row with styling
-        Row headerRow = sheet.createRow(0);
-        CellStyle headerStyle = createHeaderStyle(sheet.getWorkbook());
-        
+
+    private long writeMaintenanceReportsSheet(Sheet sheet, Stream<Report> reports,
+                                              Map<ReportStatus, Long> statusCounts) {
         String[] headers = {
-            "Report ID", "Title", "Description", "Priority", "Status", 
-            "Asset Name", "Asset Location", "Reported By", "Assigned To", 
+            "Report ID", "Title", "Description", "Priority", "Status",
+            "Asset Name", "Asset Location", "Reported By", "Assigned To",
             "Created Date", "Due Date", "Completed Date"
         };
-        
-        for (int i = 0; i < headers.length; i++) {
-            Cell cell = headerRow.createCell(i);
-            cell.setCellValue(headers[i]);
-            cell.setCellStyle(headerStyle);
-        }
-        
-        // Fetch reports data
-        LocalDateTime startDateTime = startDate.atStartOfDay();
-        LocalDateTime endDateTime = endDate.atTime(23, 59, 59);
-        
-        List<Report> reports = reportRepository.findReportsBetweenDates(
-            startDateTime.toLocalDate(), endDateTime.toLocalDate());
-        
-        // Populate data rows
-        int rowNum = 1;
+        int[] widths = {38, 30, 50, 10, 14, 25, 35, 22, 22, 20, 12, 20};
+        writeHeaderRow(sheet, headers, widths);
+
         CellStyle dateStyle = createDateStyle(sheet.getWorkbook());
-        
-        for (Report report : reports) {
+        int rowNum = 1;
+
+        for (Iterator<Report> it = reports.iterator(); it.hasNext(); ) {
+            Report report = it.next();
             Row dataRow = sheet.createRow(rowNum++);
-            
+
             dataRow.createCell(0).setCellValue(report.getId().toString());
             dataRow.createCell(1).setCellValue(report.getTitle());
             dataRow.createCell(2).setCellValue(report.getDescription());
-            dataRow.createCell(3).setCellValue(report.getPriority() != null ? 
+            dataRow.createCell(3).setCellValue(report.getPriority() != null ?
                                              report.getPriority().toString() : "");
-            dataRow.createCell(4).setCellValue(report.getStatus() != null ? 
+            dataRow.createCell(4).setCellValue(report.getStatus() != null ?
                                              report.getStatus().toString() : "");
-            dataRow.createCell(5).setCellValue(report.getSchool() != null ? 
+            dataRow.createCell(5).setCellValue(report.getSchool() != null ?
                                              report.getSchool().getName() : "");
-            dataRow.createCell(6).setCellValue(report.getSchool() != null ? 
+            dataRow.createCell(6).setCellValue(report.getSchool() != null ?
                                              report.getSchool().getAddress() : "");
-            dataRow.createCell(7).setCellValue(report.getSupervisor() != null ? 
+            dataRow.createCell(7).setCellValue(report.getSupervisor() != null ?
                                              report.getSupervisor().getFullName() : "");
-            dataRow.createCell(8).setCellValue(report.getAssignedTo() != null ? 
+            dataRow.createCell(8).setCellValue(report.getAssignedTo() != null ?
                                              report.getAssignedTo().getFullName() : "");
-            
-            // Date cells with formatting
-            Cell createdCell = dataRow.createCell(9);
-            if (report.getCreatedAt() != null) {
-                createdCell.setCellValue(report.getCreatedAt().format(DATETIME_FORMATTER));
-                createdCell.setCellStyle(dateStyle);
-            }
-            
-            Cell dueCell = dataRow.createCell(10);
-            if (report.getScheduledDate() != null) {
-                dueCell.setCellValue(report.getScheduledDate().format(DATE_FORMATTER));
-                dueCell.setCellStyle(dateStyle);
-            }
-            
-            Cell completedCell = dataRow.createCell(11);
-            if (report.getCompletedAt() != null) {
-                completedCell.setCellValue(report.getCompletedAt().format(DATETIME_FORMATTER));
-                completedCell.setCellStyle(dateStyle);
+
+            setDateCell(dataRow, 9, formatDateTime(report.getCreatedAt()), dateStyle);
+            setDateCell(dataRow, 10, report.getScheduledDate() != null ?
+                                     report.getScheduledDate().format(DATE_FORMATTER) : "", dateStyle);
+            setDateCell(dataRow, 11, formatDateTime(report.getCompletedAt()), dateStyle);
+
+            if (report.getStatus() != null) {
+                statusCounts.merge(report.getStatus(), 1L, Long::sum);
             }
+            releaseStreamedRows(rowNum - 1);
         }
-        
-        // Auto-size columns
-        for (int i = 0; i < headers.length; i++) {
-            sheet.autoSizeColumn(i);
-        }
+
+        return rowNum - 1;
     }
-    
-    private void createWorkOrdersExcelSheet(Sheet sheet, UUID companyId, 
-                                          LocalDate startDate, LocalDate endDate) {
-        // Create header row
-        Row headerRow = sheet.createRow(0);
-        CellStyle headerStyle = createHeaderStyle(sheet.getWorkbook());
-        
+
+    private long writeWorkOrdersSheet(Sheet sheet, Stream<WorkOrder> workOrders,
+                                      Map<WorkOrderStatus, Long> statusCounts) {
         String[] headers = {
             "Work Order ID", "Title", "Description", "Status", "Priority",
             "Asset Name", "Asset Location", "Assigned To", "Supervisor",
             "Created Date", "Due Date", "Completed Date", "Estimated Hours", "Actual Hours"
         };
-        
-        for (int i = 0; i < headers.length; i++) {
-            Cell cell = headerRow.createCell(i);
-            cell.setCellValue(headers[i]);
-            cell.setCellStyle(headerStyle);
-        }
-        
-        // Fetch work orders data
-        LocalDateTime startDateTime = startDate.atStartOfDay();
-        LocalDateTime endDateTime = endDate.atTime(23, 59, 59);
-        
-        List<WorkOrder> workOrders = workOrderRepository.findByCompany_IdAndScheduledDateRange(
-            companyId, startDateTime, endDateTime);
-        
-        // Populate data rows
-        int rowNum = 1;
+        int[] widths = {38, 30, 50, 14, 12, 25, 35, 22, 22, 20, 12, 20, 16, 14};
+        writeHeaderRow(sheet, headers, widths);
+
         CellStyle dateStyle = createDateStyle(sheet.getWorkbook());
-        
-        for (WorkOrder workOrder : workOrders) {
+        int rowNum = 1;
+
+        for (Iterator<WorkOrder> it = workOrders.iterator(); it.hasNext(); ) {
+            WorkOrder workOrder = it.next();
             Row dataRow = sheet.createRow(rowNum++);
-            
+
             dataRow.createCell(0).setCellValue(workOrder.getId().toString());
             dataRow.createCell(1).setCellValue(workOrder.getTitle());
             dataRow.createCell(2).setCellValue(workOrder.getDescription());
-            dataRow.createCell(3).setCellValue(workOrder.getStatus() != null ? 
+            dataRow.createCell(3).setCellValue(workOrder.getStatus() != null ?
                                              workOrder.getStatus().toString() : "");
-            dataRow.createCell(4).setCellValue(workOrder.getPriority() != null ? 
+            dataRow.createCell(4).setCellValue(workOrder.getPriority() != null ?
                                              workOrder.getPriority().toString() : "");
-            dataRow.createCell(5).setCellValue(workOrder.getSchool() != null ? 
+            dataRow.createCell(5).setCellValue(workOrder.getSchool() != null ?
                                              workOrder.getSchool().getName() : "");
-            dataRow.createCell(6).setCellValue(workOrder.getSchool() != null ? 
+            dataRow.createCell(6).setCellValue(workOrder.getSchool() != null ?
                                              workOrder.getSchool().getAddress() : "");
-            dataRow.createCell(7).setCellValue(workOrder.getAssignedTo() != null ? 
+            dataRow.createCell(7).setCellValue(workOrder.getAssignedTo() != null ?
                                              workOrder.getAssignedTo().getFullName() : "");
-            dataRow.createCell(8).setCellValue(workOrder.getAssignedBy() != null ? 
+            dataRow.createCell(8).setCellValue(workOrder.getAssignedBy() != null ?
                                              workOrder.getAssignedBy().getFullName() : "");
-            
-            // Date cells
-            Cell createdCell = dataRow.createCell(9);
-            if (workOrder.getCreatedAt() != null) {
-                createdCell.setCellValue(workOrder.getCreatedAt().format(DATETIME_FORMATTER));
-                createdCell.setCellStyle(dateStyle);
-            }
-            
-            Cell dueCell = dataRow.createCell(10);
-            if (workOrder.getScheduledStart() != null) {
-                dueCell.setCellValue(workOrder.getScheduledStart().format(DATE_FORMATTER));
-                dueCell.setCellStyle(dateStyle);
-            }
-            
-            Cell completedCell = dataRow.createCell(11);
-            if (workOrder.getActualEnd() != null) {
-                completedCell.setCellValue(workOrder.getActualEnd().format(DATETIME_FORMATTER));
-                completedCell.setCellStyle(dateStyle);
-            }
-            
-            // Numeric cells
-            dataRow.createCell(12).setCellValue(workOrder.getEstimatedHours() != null ? 
+
+            setDateCell(dataRow, 9, formatDateTime(workOrder.getCreatedAt()), dateStyle);
+            setDateCell(dataRow, 10, workOrder.getScheduledStart() != null ?
+                                     workOrder.getScheduledStart().format(DATE_FORMATTER) : "", dateStyle);
+            setDateCell(dataRow, 11, formatDateTime(workOrder.getActualEnd()), dateStyle);
+
+            dataRow.createCell(12).setCellValue(workOrder.getEstimatedHours() != null ?
                                               workOrder.getEstimatedHours().doubleValue() : 0);
-            dataRow.createCell(13).setCellValue(workOrder.getActualHours() != null ? 
+            dataRow.createCell(13).setCellValue(workOrder.getActualHours() != null ?
                                               workOrder.getActualHours().doubleValue() : 0);
+
+            if (workOrder.getStatus() != null) {
+                statusCounts.merge(workOrder.getStatus(), 1L, Long::sum);
+            }
+            releaseStreamedRows(rowNum - 1);
         }
-        
-        // Auto-size columns
-        for (int i = 0; i < headers.length; i++) {
-            sheet.autoSizeColumn(i);
-        }
+
+        return rowNum - 1;
     }
-    
-    private void createAssetsInventoryExcelSheet(Sheet sheet, UUID companyId) {
-        // Create header row
-        Row headerRow = sheet.createRow(0);
-        CellStyle headerStyle = createHeaderStyle(sheet.getWorkbook());
-        
+
+    private long writeAssetsInventorySheet(Sheet sheet, Stream<Asset> assets) {
         String[] headers = {
-            "Asset ID", "Name", "Description", "Category", "Location", 
+            "Asset ID", "Name", "Description", "Category", "Location",
             "Status", "Purchase Date", "Purchase Cost", "Warranty Expiry",
             "Maintenance Schedule", "Last Maintenance", "Next Maintenance"
         };
-        
-        for (int i = 0; i < headers.length; i++) {
-            Cell cell = headerRow.createCell(i);
-            cell.setCellValue(headers[i]);
-            cell.setCellStyle(headerStyle);
-        }
-        
-        // Fetch assets data
-        List<Asset> assets = assetRepository.findByCompany_IdAndStatus(companyId, com.cafm.cafmbackend.shared.enums.AssetStatus.ACTIVE);
-        
-        // Populate data rows
-        int rowNum = 1;
+        int[] widths = {38, 30, 50, 20, 30, 14, 14, 16, 16, 22, 18, 18};
+        writeHeaderRow(sheet, headers, widths);
+
         CellStyle dateStyle = createDateStyle(sheet.getWorkbook());
         CellStyle currencyStyle = createCurrencyStyle(sheet.getWorkbook());
-        
-        for (Asset asset : assets) {
+        int rowNum = 1;
+
+        for (Iterator<Asset> it = assets.iterator(); it.hasNext(); ) {
+            Asset asset = it.next();
             Row dataRow = sheet.createRow(rowNum++);
-            
+
             dataRow.createCell(0).setCellValue(asset.getId().toString());
             dataRow.createCell(1).setCellValue(asset.getName());
             dataRow.createCell(2).setCellValue(asset.getDescription());
-            dataRow.createCell(3).setCellValue(asset.getCategory() != null ? 
+            dataRow.createCell(3).setCellValue(asset.getCategory() != null ?
                                              asset.getCategory().getName() : "");
             dataRow.createCell(4).setCellValue(asset.getLocation());
-            dataRow.createCell(5).setCellValue(asset.getStatus() != null ? 
+            dataRow.createCell(5).setCellValue(asset.getStatus() != null ?
                                              asset.getStatus().toString() : "");
-            
-            // Date cells
-            Cell purchaseDateCell = dataRow.createCell(6);
-            if (asset.getPurchaseDate() != null) {
-                purchaseDateCell.setCellValue(asset.getPurchaseDate().format(DATE_FORMATTER));
-                purchaseDateCell.setCellStyle(dateStyle);
-            }
-            
-            // Currency cell
+
+            setDateCell(dataRow, 6, formatDate(asset.getPurchaseDate()), dateStyle);
+
             Cell costCell = dataRow.createCell(7);
             if (asset.getPurchaseCost() != null) {
                 costCell.setCellValue(asset.getPurchaseCost().doubleValue());
                 costCell.setCellStyle(currencyStyle);
             }
-            
-            Cell warrantyCell = dataRow.createCell(8);
-            if (asset.getWarrantyEndDate() != null) {
-                warrantyCell.setCellValue(asset.getWarrantyEndDate().format(DATE_FORMATTER));
-                warrantyCell.setCellStyle(dateStyle);
-            }
-            
-            dataRow.createCell(9).setCellValue(asset.getMaintenanceFrequencyDays() != null ? 
+
+            setDateCell(dataRow, 8, formatDate(asset.getWarrantyEndDate()), dateStyle);
+            dataRow.createCell(9).setCellValue(asset.getMaintenanceFrequencyDays() != null ?
                                              asset.getMaintenanceFrequencyDays() + " days" : "");
-            
-            Cell lastMaintenanceCell = dataRow.createCell(10);
-            if (asset.getLastMaintenanceDate() != null) {
-                lastMaintenanceCell.setCellValue(asset.getLastMaintenanceDate().format(DATE_FORMATTER));
-                lastMaintenanceCell.setCellStyle(dateStyle);
-            }
-            
-            Cell nextMaintenanceCell = dataRow.createCell(11);
-            if (asset.getNextMaintenanceDate() != null) {
-                nextMaintenanceCell.setCellValue(asset.getNextMaintenanceDate().format(DATE_FORMATTER));
-                nextMaintenanceCell.setCellStyle(dateStyle);
-            }
+            setDateCell(dataRow, 10, formatDate(asset.getLastMaintenanceDate()), dateStyle);
+            setDateCell(dataRow, 11, formatDate(asset.getNextMaintenanceDate()), dateStyle);
+
+            releaseStreamedRows(rowNum - 1);
         }
-        
-        // Auto-size columns
+
+        return rowNum - 1;
+    }
+
+    private void writeSummarySheet(Sheet sheet, String title, String[][] lines) {
+        sheet.setColumnWidth(0, 60 * 256);
+        sheet.createRow(0).createCell(0).setCellValue(title);
+
+        int rowNum = 2;
+        for (String[] line : lines) {
+            sheet.createRow(rowNum++).createCell(0).setCellValue(line[0] + ": " + line[1]);
+        }
+    }
+
+    /**
+     * Header row with fixed column widths. Auto-sizing is not used because SXSSF only
+     * sees the rows still inside its window.
+     */
+    private void writeHeaderRow(Sheet sheet, String[] headers, int[] widths) {
+        Row headerRow = sheet.createRow(0);
+        CellStyle headerStyle = createHeaderStyle(sheet.getWorkbook());
+
         for (int i = 0; i < headers.length; i++) {
-            sheet.autoSizeColumn(i);
+            Cell cell = headerRow.createCell(i);
+            cell.setCellValue(headers[i]);
+            cell.setCellStyle(headerStyle);
+            sheet.setColumnWidth(i, widths[i] * 256);
         }
+        sheet.createFreezePane(0, 1);
     }
-    
-    private void createReportsSummarySheet(Sheet sheet, UUID companyId, 
-                                          LocalDate startDate, LocalDate endDate) {
-        Row titleRow = sheet.createRow(0);
-        Cell titleCell = titleRow.createCell(0);
-        titleCell.setCellValue("Maintenance Reports Summary - " + startDate + " to " + endDate);
-        
-        // Add summary statistics
-        LocalDateTime startDateTime = startDate.atStartOfDay();
-        LocalDateTime endDateTime = endDate.atTime(23, 59, 59);
-        
-        List<Report> allReports = reportRepository.findReportsBetweenDates(
-            startDate, endDate);
-        long totalReports = allReports.size();
-        long pendingReports = allReports.stream()
-            .filter(r -> r.getStatus() == com.cafm.cafmbackend.shared.enums.ReportStatus.SUBMITTED)
-            .count();
-        long completedReports = allReports.stream()
-            .filter(r -> r.getStatus() == com.cafm.cafmbackend.shared.enums.ReportStatus.COMPLETED)
-            .count();
-        
-        int rowNum = 2;
-        sheet.createRow(rowNum++).createCell(0).setCellValue("Total Reports: " + totalReports);
-        sheet.createRow(rowNum++).createCell(0).setCellValue("Pending Reports: " + pendingReports);
-        sheet.createRow(rowNum++).createCell(0).setCellValue("Completed Reports: " + completedReports);
-        sheet.createRow(rowNum++).createCell(0).setCellValue("Completion Rate: " + 
-            (totalReports > 0 ? String.format("%.1f%%", (completedReports * 100.0 / totalReports)) : "0%"));
+
+    private void setDateCell(Row row, int column, String value, CellStyle dateStyle) {
+        Cell cell = row.createCell(column);
+        if (!value.isEmpty()) {
+            cell.setCellValue(value);
+            cell.setCellStyle(dateStyle);
+        }
     }
-    
-    private void createWorkOrderStatusSummarySheet(Sheet sheet, UUID companyId, 
-                                                  LocalDate startDate, LocalDate endDate) {
-        Row titleRow = sheet.createRow(0);
-        Cell titleCell = titleRow.createCell(0);
-        titleCell.setCellValue("Work Orders Status Summary - " + startDate + " to " + endDate);
-        
-        // Add work order statistics
-        LocalDateTime startDateTime = startDate.atStartOfDay();
-        LocalDateTime endDateTime = endDate.atTime(23, 59, 59);
-        
-        List<WorkOrder> allOrders = workOrderRepository.findByCompany_IdAndScheduledDateRange(
-            companyId, startDateTime, endDateTime);
-        long totalOrders = allOrders.size();
-        long assignedOrders = allOrders.stream()
-            .filter(wo -> wo.getStatus() == com.cafm.cafmbackend.shared.enums.WorkOrderStatus.ASSIGNED)
-            .count();
-        long inProgressOrders = allOrders.stream()
-            .filter(wo -> wo.getStatus() == com.cafm.cafmbackend.shared.enums.WorkOrderStatus.IN_PROGRESS)
-            .count();
-        long completedOrders = allOrders.stream()
-            .filter(wo -> wo.getStatus() == com.cafm.cafmbackend.shared.enums.WorkOrderStatus.COMPLETED)
-            .count();
-        
-        int rowNum = 2;
-        sheet.createRow(rowNum++).createCell(0).setCellValue("Total Work Orders: " + totalOrders);
-        sheet.createRow(rowNum++).createCell(0).setCellValue("Assigned Orders: " + assignedOrders);
-        sheet.createRow(rowNum++).createCell(0).setCellValue("In Progress Orders: " + inProgressOrders);
-        sheet.createRow(rowNum++).createCell(0).setCellValue("Completed Orders: " + completedOrders);
-        sheet.createRow(rowNum++).createCell(0).setCellValue("Completion Rate: " + 
-            (totalOrders > 0 ? String.format("%.1f%%", (completedOrders * 100.0 / totalOrders)) : "0%"));
+
+    private SXSSFWorkbook newStreamingWorkbook() {
+        SXSSFWorkbook workbook = new SXSSFWorkbook(EXCEL_ROW_WINDOW);
+        workbook.setCompressTempFiles(true);
+        return workbook;
     }
-    
+
     // ========== Private Helper Methods for PDF Generation ==========
-    
-    private String generateMaintenanceReportsHTML(UUID companyId, LocalDate startDate, LocalDate endDate) {
-        LocalDateTime startDateTime = startDate.atStartOfDay();
-        LocalDateTime endDateTime = endDate.atTime(23, 59, 59);
-        
-        List<Report> reports = reportRepository.findReportsBetweenDates(
-            startDateTime.toLocalDate(), endDateTime.toLocalDate());
-        
-        StringBuilder html = new StringBuilder();
-        html.append("<!DOCTYPE html><html><head>");
-        html.append("<style>");
-        html.append("body { font-family: Arial, sans-serif; margin: 20px; }");
-        html.append("h1 { color: #2c3e50; border-bottom: 2px solid #3498db; }");
-        html.append("table { width: 100%; border-collapse: collapse; margin: 20px 0; }");
-        html.append("th, td { border: 1px solid #ddd; padding: 8px; text-align: left; }");
-        html.append("th { background-color: #f2f2f2; font-weight: bold; }");
-        html.append("tr:nth-child(even) { background-color: #f9f9f9; }");
-        html.append(".high-priority { color: #e74c3c; font-weight: bold; }");
-        html.append(".medium-priority { color: #f39c12; }");
-        html.append(".low-priority { color: #27ae60; }");
-        html.append("</style>");
-        html.append("</head><body>");
-        
-        html.append("<h1>Maintenance Reports - ").append(startDate).append(" to ").append(endDate).append("</h1>");
-        
-        html.append("<table>");
-        html.append("<tr>");
-        html.append("<th>Report ID</th><th>Title</th><th>Priority</th><th>Status</th>");
-        html.append("<th>Asset</th><th>Reported By</th><th>Created Date</th><th>Due Date</th>");
-        html.append("</tr>");
-        
-        for (Report report : reports) {
-            html.append("<tr>");
-            html.append("<td>").append(report.getId().toString().substring(0, 8)).append("...</td>");
-            html.append("<td>").append(escapeHtml(report.getTitle())).append("</td>");
-            
-            String priorityClass = "";
-            if (report.getPriority() != null) {
-                switch (report.getPriority()) {
-                    case HIGH -> priorityClass = "high-priority";
-                    case MEDIUM -> priorityClass = "medium-priority";
-                    case LOW -> priorityClass = "low-priority";
-                }
-            }
-            html.append("<td class=\"").append(priorityClass).append("\">")
-                .append(report.getPriority() != null ? report.getPriority().toString() : "").append("</td>");
-            
-            html.append("<td>").append(report.getStatus() != null ? report.getStatus().toString() : "").append("</td>");
-            html.append("<td>").append(report.getSchool() != null ? escapeHtml(report.getSchool().getName()) : "").append("</td>");
-            html.append("<td>").append(report.getSupervisor() != null ? escapeHtml(report.getSupervisor().getFullName()) : "").append("</td>");
-            html.append("<td>").append(report.getCreatedAt() != null ? report.getCreatedAt().format(DATETIME_FORMATTER) : "").append("</td>");
-            html.append("<td>").append(report.getScheduledDate() != null ? report.getScheduledDate().format(DATE_FORMATTER) : "").append("</td>");
-            html.append("</tr>");
+
+    private Document newPdfDocument(OutputStream outputStream) {
+        PdfWriter writer = new PdfWriter(outputStream);
+        writer.setCloseStream(false);
+        return new Document(new PdfDocument(writer), PageSize.A4.rotate());
+    }
+
+    /**
+     * Large iText table: rows added after it is attached to the document are laid out
+     * and written on each flush instead of being held until the document closes.
+     */
+    private Table newLargeTable(Document document, String[] headers, float[] widths) {
+        Table table = new Table(UnitValue.createPercentArray(widths), true).useAllAvailableWidth();
+        table.setFontSize(8);
+        for (String header : headers) {
+            table.addHeaderCell(new Paragraph(header).setBold());
         }
-        
-        html.append("</table>");
-        html.append("</body></html>");
-        
-        return html.toString();
+        document.add(table);
+        return table;
     }
-    
-    private String generateWorkOrdersHTML(UUID companyId, LocalDate startDate, LocalDate endDate) {
-        LocalDateTime startDateTime = startDate.atStartOfDay();
-        LocalDateTime endDateTime = endDate.atTime(23, 59, 59);
-        
-        List<WorkOrder> workOrders = workOrderRepository.findByCompany_IdAndScheduledDateRange(
-            companyId, startDateTime, endDateTime);
-        
-        StringBuilder html = new StringBuilder();
-        html.append("<!DOCTYPE html><html><head>");
-        html.append("<style>");
-        html.append("body { font-family: Arial, sans-serif; margin: 20px; }");
-        html.append("h1 { color: #2c3e50; border-bottom: 2px solid #3498db; }");
-        html.append("table { width: 100%; border-collapse: collapse; margin: 20px 0; }");
-        html.append("th, td { border: 1px solid #ddd; padding: 8px; text-align: left; }");
-        html.append("th { background-color: #f2f2f2; font-weight: bold; }");
-        html.append("tr:nth-child(even) { background-color: #f9f9f9; }");
-        html.append(".status-assigned { color: #f39c12; }");
-        html.append(".status-progress { color: #3498db; }");
-        html.append(".status-completed { color: #27ae60; }");
-        html.append("</style>");
-        html.append("</head><body>");
-        
-        html.append("<h1>Work Orders - ").append(startDate).append(" to ").append(endDate).append("</h1>");
-        
-        html.append("<table>");
-        html.append("<tr>");
-        html.append("<th>Work Order ID</th><th>Title</th><th>Status</th><th>Priority</th>");
-        html.append("<th>Asset</th><th>Assigned To</th><th>Created Date</th><th>Due Date</th>");
-        html.append("</tr>");
-        
-        for (WorkOrder workOrder : workOrders) {
-            html.append("<tr>");
-            html.append("<td>").append(workOrder.getId().toString().substring(0, 8)).append("...</td>");
-            html.append("<td>").append(escapeHtml(workOrder.getTitle())).append("</td>");
-            
-            String statusClass = "";
-            if (workOrder.getStatus() != null) {
-                switch (workOrder.getStatus()) {
-                    case ASSIGNED -> statusClass = "status-assigned";
-                    case IN_PROGRESS -> statusClass = "status-progress";
-                    case COMPLETED -> statusClass = "status-completed";
-                }
-            }
-            html.append("<td class=\"").append(statusClass).append("\">")
-                .append(workOrder.getStatus() != null ? workOrder.getStatus().toString() : "").append("</td>");
-            
-            html.append("<td>").append(workOrder.getPriority() != null ? workOrder.getPriority().toString() : "").append("</td>");
-            html.append("<td>").append(workOrder.getSchool() != null ? escapeHtml(workOrder.getSchool().getName()) : "").append("</td>");
-            html.append("<td>").append(workOrder.getAssignedTo() != null ? escapeHtml(workOrder.getAssignedTo().getFullName()) : "").append("</td>");
-            html.append("<td>").append(workOrder.getCreatedAt() != null ? workOrder.getCreatedAt().format(DATETIME_FORMATTER) : "").append("</td>");
-            html.append("<td>").append(workOrder.getScheduledStart() != null ? workOrder.getScheduledStart().format(DATE_FORMATTER) : "").append("</td>");
-            html.append("</tr>");
+
+    private void flushPdfRows(Table table, long rowCount) {
+        if (rowCount % PDF_FLUSH_INTERVAL == 0) {
+            table.flush();
+        }
+        releaseStreamedRows(rowCount);
+    }
+
+    private Paragraph coloredText(String value, Color color) {
+        Paragraph paragraph = new Paragraph(value);
+        return color != null ? paragraph.setFontColor(color) : paragraph;
+    }
+
+    private Color priorityColor(Report report) {
+        if (report.getPriority() == null) {
+            return null;
         }
-        
-        html.append("</table>");
-        html.append("</body></html>");
-        
-        return html.toString();
+        return switch (report.getPriority()) {
+            case HIGH -> HIGH_COLOR;
+            case MEDIUM -> MEDIUM_COLOR;
+            case LOW -> LOW_COLOR;
+            default -> null;
+        };
+    }
+
+    private Color statusColor(WorkOrder workOrder) {
+        if (workOrder.getStatus() == null) {
+            return null;
+        }
+        return switch (workOrder.getStatus()) {
+            case ASSIGNED -> MEDIUM_COLOR;
+            case IN_PROGRESS -> PROGRESS_COLOR;
+            case COMPLETED -> LOW_COLOR;
+            default -> null;
+        };
     }
-    
+
+    private String shortId(UUID id) {
+        return id.toString().substring(0, 8) + "...";
+    }
+
+    // ========== Shared Helpers ==========
+
+    /**
+     * Detach already written entities every {@link #DETACH_INTERVAL} rows so the
+     * persistence context stays small for the whole export.
+     */
+    private void releaseStreamedRows(long rowCount) {
+        if (rowCount % DETACH_INTERVAL == 0) {
+            entityManager.clear();
+        }
+    }
+
+    private String completionRate(long completed, long total) {
+        return total > 0 ? String.format("%.1f%%", (completed * 100.0 / total)) : "0%";
+    }
+
+    private String formatDateTime(LocalDateTime value) {
+        return value != null ? value.format(DATETIME_FORMATTER) : "";
+    }
+
+    private String formatDate(LocalDate value) {
+        return value != null ? value.format(DATE_FORMATTER) : "";
+    }
+
+    private String text(String value) {
+        return value != null ? value : "";
+    }
+
     // ========== Style Helper Methods ==========
-    
+
     private CellStyle createHeaderStyle(Workbook workbook) {
         CellStyle style = workbook.createCellStyle();
         Font font = workbook.createFont();
@@ -647,27 +545,18 @@ public class ReportGenerationService {
         style.setBorderLeft(BorderStyle.THIN);
         return style;
     }
-    
+
     private CellStyle createDateStyle(Workbook workbook) {
         CellStyle style = workbook.createCellStyle();
         CreationHelper createHelper = workbook.getCreationHelper();
         style.setDataFormat(createHelper.createDataFormat().getFormat("yyyy-mm-dd hh:mm:ss"));
         return style;
     }
-    
+
     private CellStyle createCurrencyStyle(Workbook workbook) {
         CellStyle style = workbook.createCellStyle();
         CreationHelper createHelper = workbook.getCreationHelper();
         style.setDataFormat(createHelper.createDataFormat().getFormat("$#,##0.00"));
         return style;
     }
-    
-    private String escapeHtml(String text) {
-        if (text == null) return "";
-        return text.replace("&", "&amp;")
-                   .replace("<", "&lt;")
-                   .replace(">", "&gt;")
-                   .replace("\"", "&quot;")
-                   .replace("'", "&#39;");
-    }
-}
\ No newline at end of file
+}
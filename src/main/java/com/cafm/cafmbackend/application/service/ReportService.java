@@ -9,11 +9,15 @@ import com.cafm.cafmbackend.shared.enums.ReportStatus;
 import com.cafm.cafmbackend.shared.enums.UserType;
 import com.cafm.cafmbackend.infrastructure.persistence.repository.CompanyRepository;
 import com.cafm.cafmbackend.infrastructure.persistence.repository.ReportRepository;
+import com.cafm.cafmbackend.infrastructure.persistence.repository.RowEstimateRepository;
+import com.cafm.cafmbackend.infrastructure.persistence.repository.RowEstimateRepository.EstimateScope;
 import com.cafm.cafmbackend.infrastructure.persistence.repository.SchoolRepository;
 import com.cafm.cafmbackend.infrastructure.persistence.repository.UserRepository;
 import com.cafm.cafmbackend.dto.report.ReportCreateRequest;
 import com.cafm.cafmbackend.dto.report.ReportUpdateRequest;
 import com.cafm.cafmbackend.dto.report.ReportSimplifiedResponse;
+import com.cafm.cafmbackend.dto.common.CursorPageResponse;
+import com.cafm.cafmbackend.dto.common.SeekCursor;
 import com.cafm.cafmbackend.shared.exception.DuplicateResourceException;
 import com.cafm.cafmbackend.shared.exception.ResourceNotFoundException;
 import com.cafm.cafmbackend.application.service.tenant.TenantContextService;
@@ -48,17 +52,20 @@ public class ReportService {
     private final UserRepository userRepository;
     private final CompanyRepository companyRepository;
     private final TenantContextService tenantContextService;
+    private final RowEstimateRepository rowEstimateRepository;
     
     public ReportService(ReportRepository reportRepository,
                         SchoolRepository schoolRepository,
                         UserRepository userRepository,
                         CompanyRepository companyRepository,
-                        TenantContextService tenantContextService) {
+                        TenantContextService tenantContextService,
+                        RowEstimateRepository rowEstimateRepository) {
         this.reportRepository = reportRepository;
         this.schoolRepository = schoolRepository;
         this.userRepository = userRepository;
         this.companyRepository = companyRepository;
         this.tenantContextService = tenantContextService;
+        this.rowEstimateRepository = rowEstimateRepository;
     }
     
     // ========== DTO Conversion Methods ==========
@@ -284,6 +291,26 @@ public class ReportService {
         return new PageImpl<>(responseContent, pageable, allReports.size());
     }
     
+    /**
+     * Get a page of reports after a cursor, newest first, without a count query.
+     */
+    @Transactional(readOnly = true)
+    public CursorPageResponse<ReportSimplifiedResponse> getReportsPage(UUID companyId, String cursor,
+                                                                       int size, boolean estimateTotal) {
+        int pageSize = CursorPageResponse.clampSize(size);
+        SeekCursor after = SeekCursor.decodeOrNull(cursor, companyId);
+        Pageable limit = Pageable.ofSize(CursorPageResponse.probeSize(pageSize));
+        
+        List<Report> rows = after == null
+            ? reportRepository.findFirstPageByCompanyId(companyId, limit)
+            : reportRepository.findPageAfterByCompanyId(companyId, after.timestamp(), after.id(), limit);
+        
+        return CursorPageResponse.fromProbe(rows, pageSize,
+            report -> new SeekCursor(companyId, report.getCreatedAt(), report.getId()),
+            this::toResponse,
+            estimateTotal ? rowEstimateRepository.estimateRows(EstimateScope.REPORTS, companyId) : null);
+    }
+    
     /**
      * Get reports by school.
      */
@@ -47,6 +47,7 @@ public class SchoolService {
     private final WorkOrderRepository workOrderRepository;
     private final AssetRepository assetRepository;
     private final SupervisorSchoolRepository supervisorSchoolRepository;
+    private final WorkOrderStatusCounters workOrderStatusCounters;
     
     public SchoolService(SchoolRepository schoolRepository,
                         UserRepository userRepository,
@@ -54,7 +55,8 @@ public class SchoolService {
                         ReportRepository reportRepository,
                         WorkOrderRepository workOrderRepository,
                         AssetRepository assetRepository,
-                        SupervisorSchoolRepository supervisorSchoolRepository) {
+                        SupervisorSchoolRepository supervisorSchoolRepository,
+                        WorkOrderStatusCounters workOrderStatusCounters) {
         this.schoolRepository = schoolRepository;
         this.userRepository = userRepository;
         this.companyRepository = companyRepository;
@@ -62,6 +64,7 @@ public class SchoolService {
         this.workOrderRepository = workOrderRepository;
         this.assetRepository = assetRepository;
         this.supervisorSchoolRepository = supervisorSchoolRepository;
+        this.workOrderStatusCounters = workOrderStatusCounters;
     }
     
     // ========== School Management Methods ==========
@@ -242,19 +245,19 @@ public class SchoolService {
     // ========== Spatial Queries ==========
     
     /**
-     * Find schools within radius of a location.
+     * Find a company's schools within radius of a location.
      */
-    public List<School> findSchoolsWithinRadius(Double latitude, Double longitude, Double radiusKm) {
-        logger.debug("Finding schools within {}km of ({}, {})", radiusKm, latitude, longitude);
-        return schoolRepository.findSchoolsWithinRadius(latitude, longitude, radiusKm);
+    public List<School> findSchoolsWithinRadius(UUID companyId, Double latitude, Double longitude, Double radiusKm) {
+        logger.debug("Finding schools of company {} within {}km of ({}, {})", companyId, radiusKm, latitude, longitude);
+        return schoolRepository.findSchoolsWithinRadius(companyId, latitude, longitude, radiusKm);
     }
     
     /**
-     * Find nearest schools to a location.
+     * Find a company's nearest schools to a location.
      */
-    public List<School> findNearestSchools(Double latitude, Double longitude, int limit) {
-        logger.debug("Finding {} nearest schools to ({}, {})", limit, latitude, longitude);
-        return schoolRepository.findNearestSchools(latitude, longitude, limit);
+    public List<School> findNearestSchools(UUID companyId, Double latitude, Double longitude, int limit) {
+        logger.debug("Finding {} nearest schools of company {} to ({}, {})", limit, companyId, latitude, longitude);
+        return schoolRepository.findNearestSchools(companyId, latitude, longitude, limit);
     }
     
     // ========== Supervisor Assignment Methods ==========
@@ -636,8 +639,11 @@ public class SchoolService {
         long pendingReports = reportRepository.countBySchoolIdAndStatusAndDeletedAtIsNull(
             school.getId(), ReportStatus.PENDING);
         
-        long activeWorkOrders = workOrderRepository.countByCompanyIdAndStatus(
-            school.getCompany().getId(), WorkOrderStatus.IN_PROGRESS);
+        // Company-wide figure, the same for every school of a list: read from the status counters
+        UUID companyId = school.getCompany().getId();
+        long activeWorkOrders = workOrderStatusCounters.counts(companyId)
+            .map(counts -> counts.get(WorkOrderStatus.IN_PROGRESS))
+            .orElseGet(() -> workOrderRepository.countByCompanyIdAndStatus(companyId, WorkOrderStatus.IN_PROGRESS));
         
         long totalAssets = assetRepository.countBySchoolIdAndIsActiveTrue(school.getId());
         List<AssetCondition> poorConditions = Arrays.asList(
@@ -12,9 +12,11 @@ import com.cafm.cafmbackend.dto.user.UserCreateRequest;
 import com.cafm.cafmbackend.dto.user.UserUpdateRequest;
 import com.cafm.cafmbackend.dto.user.UserResponseSimplified;
 import com.cafm.cafmbackend.dto.user.UserProfileUpdateRequest;
+import com.cafm.cafmbackend.security.event.UserSecurityChangedEvent;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.cache.annotation.CacheEvict;
 import org.springframework.cache.annotation.Cacheable;
 import org.springframework.data.domain.Page;
@@ -46,6 +48,7 @@ public class UserService implements UserDetailsService {
     private final UserRepository userRepository;
     private final CompanyRepository companyRepository;
     private final PasswordEncoder passwordEncoder;
+    private final ApplicationEventPublisher eventPublisher;
     
     @Value("${app.security.max-login-attempts:5}")
     private int maxLoginAttempts;
@@ -55,10 +58,12 @@ public class UserService implements UserDetailsService {
     
     public UserService(UserRepository userRepository,
                       CompanyRepository companyRepository,
-                      PasswordEncoder passwordEncoder) {
+                      PasswordEncoder passwordEncoder,
+                      ApplicationEventPublisher eventPublisher) {
         this.userRepository = userRepository;
         this.companyRepository = companyRepository;
         this.passwordEncoder = passwordEncoder;
+        this.eventPublisher = eventPublisher;
     }
     
     // ========== UserDetailsService Implementation ==========
@@ -240,6 +245,7 @@ public class UserService implements UserDetailsService {
         user.setPasswordHash(passwordEncoder.encode(newPassword));
         
         userRepository.save(user);
+        publishSecurityChange(user);
         logger.info("Password changed successfully for user: {}", userId);
     }
     
@@ -258,6 +264,7 @@ public class UserService implements UserDetailsService {
         }
         
         userRepository.save(user);
+        publishSecurityChange(user);
     }
     
     // ========== User Management Methods ==========
@@ -342,8 +349,9 @@ public class UserService implements UserDetailsService {
         }
         
         // Update role if changed and user has permission
-        if (updatedUser.getUserType() != null) {
+        if (updatedUser.getUserType() != null && updatedUser.getUserType() != existingUser.getUserType()) {
             existingUser.setUserType(updatedUser.getUserType());
+            publishSecurityChange(existingUser);
         }
         
         return userRepository.save(existingUser);
@@ -363,6 +371,7 @@ public class UserService implements UserDetailsService {
         user.setEmailVerified(true);
         
         User savedUser = userRepository.save(user);
+        publishSecurityChange(savedUser);
         return toResponse(savedUser);
     }
     
@@ -376,6 +385,7 @@ public class UserService implements UserDetailsService {
         user.setStatus(UserStatus.INACTIVE);
         
         User savedUser = userRepository.save(user);
+        publishSecurityChange(savedUser);
         return toResponse(savedUser);
     }
     
@@ -389,7 +399,9 @@ public class UserService implements UserDetailsService {
         user.setStatus(UserStatus.SUSPENDED);
         // Store suspension reason in metadata or audit log
         
-        return userRepository.save(user);
+        User savedUser = userRepository.save(user);
+        publishSecurityChange(savedUser);
+        return savedUser;
     }
     
     // ========== User CRUD Operations with DTO Conversion ==========
@@ -500,6 +512,7 @@ public class UserService implements UserDetailsService {
         user.setStatus(UserStatus.LOCKED);
         user.setIsLocked(true);
         User savedUser = userRepository.save(user);
+        publishSecurityChange(savedUser);
         logger.info("User {} locked. Reason: {}", userId, reason);
         return toResponse(savedUser);
     }
@@ -513,6 +526,7 @@ public class UserService implements UserDetailsService {
         user.setIsLocked(false);
         user.setFailedLoginAttempts(0);
         User savedUser = userRepository.save(user);
+        publishSecurityChange(savedUser);
         logger.info("User {} unlocked", userId);
         return toResponse(savedUser);
     }
@@ -527,6 +541,7 @@ public class UserService implements UserDetailsService {
         user.setPasswordChangeRequired(true);
         user.setPasswordChangedAt(LocalDateTime.now());
         userRepository.save(user);
+        publishSecurityChange(user);
         logger.info("Password reset for user {}", userId);
         return newPassword;
     }
@@ -564,6 +579,13 @@ public class UserService implements UserDetailsService {
         return toResponse(savedUser);
     }
     
+    /**
+     * Announce a status, role or credential change so cached principals are dropped after commit.
+     */
+    private void publishSecurityChange(User user) {
+        eventPublisher.publishEvent(new UserSecurityChangedEvent(user.getId(), user.getEmail(), user.getCompanyId()));
+    }
+    
     /**
      * Generate random password.
      */
@@ -583,6 +605,7 @@ public class UserService implements UserDetailsService {
         user.setDeletedAt(LocalDateTime.now());
         user.setIsActive(false);
         userRepository.save(user);
+        publishSecurityChange(user);
         
         logger.info("Soft deleted user with ID: {}", id);
     }
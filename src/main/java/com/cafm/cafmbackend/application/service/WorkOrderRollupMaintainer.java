@@ -0,0 +1,216 @@
+package com.cafm.cafmbackend.application.service;
+
+import com.cafm.cafmbackend.application.service.tenant.TenantContextService;
+import com.cafm.cafmbackend.infrastructure.persistence.entity.Company;
+import com.cafm.cafmbackend.infrastructure.persistence.entity.base.WorkOrderChangedEvent;
+import com.cafm.cafmbackend.infrastructure.persistence.repository.CompanyRepository;
+import com.cafm.cafmbackend.infrastructure.persistence.repository.WorkOrderRollupRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Keeps the daily work order rollups in step with work_orders.
+ *
+ * Purpose: Maintain work_order_daily_rollups incrementally, so analytics never scan work_orders
+ * Pattern: Committed work order changes mark their tenant-day dirty; a fixed-delay flush rebuilds
+ *          each dirty run of days once, however many writes it saw. A nightly reconciliation
+ *          rebuilds a lookback window per tenant and backfills tenants whose rollups do not reach
+ *          back to their oldest work order
+ * Java 23: Records for dirty tenant-days
+ * Architecture: Fed by WorkOrderChangeListener events; writes through WorkOrderRollupRepository
+ *               under each tenant's context
+ * Standards: Rebuilds are idempotent and serialized per tenant by the repository, so every node may
+ *            run them; failed days are retried on the next flush, missed events on the next reconcile
+ */
+@Component
+public class WorkOrderRollupMaintainer {
+
+    private static final Logger logger = LoggerFactory.getLogger(WorkOrderRollupMaintainer.class);
+
+    // Backfills are rebuilt in chunks so no single transaction covers a tenant's whole history
+    private static final int BACKFILL_CHUNK_DAYS = 31;
+
+    private final WorkOrderRollupRepository rollupRepository;
+    private final CompanyRepository companyRepository;
+    private final TenantContextService tenantContextService;
+    private final boolean enabled;
+    private final int reconcileLookbackDays;
+    private final Set<TenantDay> dirtyDays = ConcurrentHashMap.newKeySet();
+
+    private final Counter refreshedFromEvents;
+    private final Counter refreshedFromReconcile;
+    private final Counter failedRefreshes;
+
+    public WorkOrderRollupMaintainer(WorkOrderRollupRepository rollupRepository,
+                                     CompanyRepository companyRepository,
+                                     TenantContextService tenantContextService,
+                                     MeterRegistry meterRegistry,
+                                     @Value("${app.analytics.rollups.enabled:true}") boolean enabled,
+                                     @Value("${app.analytics.rollups.reconcile-lookback-days:7}") int reconcileLookbackDays) {
+        this.rollupRepository = rollupRepository;
+        this.companyRepository = companyRepository;
+        this.tenantContextService = tenantContextService;
+        this.enabled = enabled;
+        this.reconcileLookbackDays = reconcileLookbackDays;
+        this.refreshedFromEvents = Counter.builder("cafm.analytics.rollups.refreshed")
+            .description("Tenant-day ranges of work order rollups rebuilt")
+            .tag("trigger", "event")
+            .register(meterRegistry);
+        this.refreshedFromReconcile = Counter.builder("cafm.analytics.rollups.refreshed")
+            .description("Tenant-day ranges of work order rollups rebuilt")
+            .tag("trigger", "reconcile")
+            .register(meterRegistry);
+        this.failedRefreshes = Counter.builder("cafm.analytics.rollups.failed")
+            .description("Work order rollup rebuilds that failed and will be retried")
+            .register(meterRegistry);
+    }
+
+    /**
+     * Mark the changed work order's tenant-day for rebuilding once its transaction has committed.
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onWorkOrderChanged(WorkOrderChangedEvent event) {
+        if (enabled) {
+            dirtyDays.add(new TenantDay(event.companyId(), event.createdDate()));
+        }
+    }
+
+    /**
+     * Rebuild the dirty tenant-days, one range per run of consecutive days.
+     */
+    @Scheduled(fixedDelayString = "${app.analytics.rollups.flush-interval-ms:30000}")
+    public void flush() {
+        if (!enabled || dirtyDays.isEmpty()) {
+            return;
+        }
+
+        Map<UUID, TreeSet<LocalDate>> byCompany = new TreeMap<>();
+        for (TenantDay day : List.copyOf(dirtyDays)) {
+            if (dirtyDays.remove(day)) {
+                byCompany.computeIfAbsent(day.companyId(), id -> new TreeSet<>()).add(day.date());
+            }
+        }
+
+        byCompany.forEach((companyId, days) -> {
+            for (DayRange range : consecutiveRanges(days)) {
+                if (refresh(companyId, range)) {
+                    refreshedFromEvents.increment();
+                } else {
+                    range.days().forEach(date -> dirtyDays.add(new TenantDay(companyId, date)));
+                }
+            }
+        });
+    }
+
+    /**
+     * Rebuild the recent days of every active tenant, and backfill tenants whose history is not rolled up yet.
+     */
+    @Scheduled(cron = "${app.analytics.rollups.reconcile-cron:0 30 2 * * *}")
+    public void reconcile() {
+        if (!enabled) {
+            return;
+        }
+        List<Company> companies = companyRepository.findActiveCompanies();
+        logger.info("Reconciling work order rollups for {} companies", companies.size());
+        companies.forEach(company -> reconcile(company.getId()));
+    }
+
+    /**
+     * Rebuild a tenant's recent rollups, or backfill its history when rollups do not reach back to
+     * its oldest work order. The backfill check compares the two dates rather than testing for no
+     * rollups at all, because an event flush before the first reconcile already writes recent days.
+     */
+    public void reconcile(UUID companyId) {
+        LocalDate today = LocalDate.now();
+        Coverage coverage = tenantContextService.executeWithTenant(companyId, () -> new Coverage(
+            rollupRepository.findOldestRollupDate(companyId), rollupRepository.findOldestWorkOrderDate(companyId)));
+
+        if (coverage.needsBackfill()) {
+            logger.info("Backfilling work order rollups for company {} from {}", companyId, coverage.oldestWorkOrder());
+            rebuild(companyId, coverage.oldestWorkOrder(), today);
+        } else if (coverage.oldestRollup() != null) {
+            rebuild(companyId, today.minusDays(reconcileLookbackDays), today);
+        }
+    }
+
+    /**
+     * Rebuild a tenant's days in chunks, newest first, stopping at the first failed chunk.
+     * The rollups then always cover an unbroken run of days up to today, so a failed backfill
+     * leaves the oldest rollup later than the oldest work order and is resumed by the next reconcile.
+     */
+    private void rebuild(UUID companyId, LocalDate from, LocalDate to) {
+        for (LocalDate end = to; !end.isBefore(from); end = end.minusDays(BACKFILL_CHUNK_DAYS)) {
+            LocalDate start = end.minusDays(BACKFILL_CHUNK_DAYS - 1);
+            if (!refresh(companyId, new DayRange(start.isBefore(from) ? from : start, end))) {
+                return;
+            }
+            refreshedFromReconcile.increment();
+        }
+    }
+
+    private boolean refresh(UUID companyId, DayRange range) {
+        try {
+            int rows = tenantContextService.executeWithTenant(companyId, () ->
+                rollupRepository.refresh(companyId, range.from(), range.to()));
+            logger.debug("Rebuilt {} rollup rows for company {} from {} to {}", rows, companyId, range.from(), range.to());
+            return true;
+        } catch (RuntimeException e) {
+            failedRefreshes.increment();
+            logger.warn("Failed to rebuild work order rollups for company {} from {} to {}: {}",
+                companyId, range.from(), range.to(), e.getMessage());
+            return false;
+        }
+    }
+
+    static List<DayRange> consecutiveRanges(TreeSet<LocalDate> days) {
+        List<DayRange> ranges = new ArrayList<>();
+        LocalDate start = null;
+        LocalDate previous = null;
+        for (LocalDate day : days) {
+            if (previous == null || !day.equals(previous.plusDays(1))) {
+                if (start != null) {
+                    ranges.add(new DayRange(start, previous));
+                }
+                start = day;
+            }
+            previous = day;
+        }
+        if (start != null) {
+            ranges.add(new DayRange(start, previous));
+        }
+        return ranges;
+    }
+
+    record TenantDay(UUID companyId, LocalDate date) {
+    }
+
+    record Coverage(LocalDate oldestRollup, LocalDate oldestWorkOrder) {
+
+        boolean needsBackfill() {
+            return oldestWorkOrder != null && (oldestRollup == null || oldestWorkOrder.isBefore(oldestRollup));
+        }
+    }
+
+    record DayRange(LocalDate from, LocalDate to) {
+
+        List<LocalDate> days() {
+            return from.datesUntil(to.plusDays(1)).toList();
+        }
+    }
+}
@@ -6,12 +6,18 @@ import com.cafm.cafmbackend.shared.enums.UserType;
 import com.cafm.cafmbackend.shared.enums.WorkOrderPriority;
 import com.cafm.cafmbackend.shared.enums.WorkOrderStatus;
 import com.cafm.cafmbackend.infrastructure.persistence.repository.*;
+import com.cafm.cafmbackend.infrastructure.persistence.projection.TechnicianPerformanceAggregate;
+import com.cafm.cafmbackend.infrastructure.persistence.projection.WorkOrderStatusAggregate;
 import com.cafm.cafmbackend.dto.workorder.WorkOrderCreateRequest;
 import com.cafm.cafmbackend.dto.workorder.WorkOrderProgressRequest;
 import com.cafm.cafmbackend.dto.workorder.WorkOrderSimplifiedResponse;
+import com.cafm.cafmbackend.dto.common.CursorPageResponse;
+import com.cafm.cafmbackend.dto.common.SeekCursor;
+import com.cafm.cafmbackend.infrastructure.persistence.repository.RowEstimateRepository.EstimateScope;
 import com.cafm.cafmbackend.shared.exception.ResourceNotFoundException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.cache.annotation.Cacheable;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
@@ -45,6 +51,8 @@ public class WorkOrderService {
     private final SchoolRepository schoolRepository;
     private final ReportRepository reportRepository;
     private final CompanyRepository companyRepository;
+    private final RowEstimateRepository rowEstimateRepository;
+    private final WorkOrderStatusCounters statusCounters;
     
     public WorkOrderService(WorkOrderRepository workOrderRepository,
                            WorkOrderTaskRepository workOrderTaskRepository,
@@ -53,7 +61,9 @@ public class WorkOrderService {
                            UserRepository userRepository,
                            SchoolRepository schoolRepository,
                            ReportRepository reportRepository,
-                           CompanyRepository companyRepository) {
+                           CompanyRepository companyRepository,
+                           RowEstimateRepository rowEstimateRepository,
+                           WorkOrderStatusCounters statusCounters) {
         this.workOrderRepository = workOrderRepository;
         this.workOrderTaskRepository = workOrderTaskRepository;
         this.workOrderMaterialRepository = workOrderMaterialRepository;
@@ -62,6 +72,8 @@ public class WorkOrderService {
         this.schoolRepository = schoolRepository;
         this.reportRepository = reportRepository;
         this.companyRepository = companyRepository;
+        this.rowEstimateRepository = rowEstimateRepository;
+        this.statusCounters = statusCounters;
     }
     
     // ========== DTO Conversion Methods ==========
@@ -219,7 +231,7 @@ public class WorkOrderService {
         }
         
         // Save and return
-        workOrder = workOrderRepository.save(workOrder);
+        workOrder = saveTransition(workOrder, null);
         logger.info("Created work order with ID: {}", workOrder.getId());
         return toResponse(workOrder);
     }
@@ -259,7 +271,7 @@ public class WorkOrderService {
             workOrder.setCompletionPercentage(0);
         }
         
-        WorkOrder savedWorkOrder = workOrderRepository.save(workOrder);
+        WorkOrder savedWorkOrder = saveTransition(workOrder, null);
         logger.info("Work order created successfully: {}", savedWorkOrder.getWorkOrderNumber());
         
         return savedWorkOrder;
@@ -289,8 +301,9 @@ public class WorkOrderService {
             throw new IllegalStateException("Cannot update progress for work order in status: " + workOrder.getStatus());
         }
         
+        WorkOrderStatus previousStatus = workOrder.getStatus();
         updateProgress(workOrder, request);
-        workOrder = workOrderRepository.save(workOrder);
+        workOrder = saveTransition(workOrder, previousStatus);
         
         logger.info("Updated work order progress: {} - {}%", id, workOrder.getCompletionPercentage());
         return toResponse(workOrder);
@@ -304,6 +317,26 @@ public class WorkOrderService {
             .map(this::toResponse);
     }
     
+    /**
+     * Get a page of work orders after a cursor, newest first, without a count query.
+     */
+    @Transactional(readOnly = true)
+    public CursorPageResponse<WorkOrderSimplifiedResponse> getWorkOrdersPage(UUID companyId, String cursor,
+                                                                             int size, boolean estimateTotal) {
+        int pageSize = CursorPageResponse.clampSize(size);
+        SeekCursor after = SeekCursor.decodeOrNull(cursor, companyId);
+        Pageable limit = Pageable.ofSize(CursorPageResponse.probeSize(pageSize));
+        
+        List<WorkOrder> rows = after == null
+            ? workOrderRepository.findFirstPageByCompanyId(companyId, limit)
+            : workOrderRepository.findPageAfterByCompanyId(companyId, after.timestamp(), after.id(), limit);
+        
+        return CursorPageResponse.fromProbe(rows, pageSize,
+            workOrder -> new SeekCursor(companyId, workOrder.getCreatedAt(), workOrder.getId()),
+            this::toResponse,
+            estimateTotal ? rowEstimateRepository.estimateRows(EstimateScope.WORK_ORDERS, companyId) : null);
+    }
+    
     /**
      * Get work orders by assignee.
      */
@@ -335,11 +368,12 @@ public class WorkOrderService {
             throw new IllegalStateException("Cannot cancel completed or verified work order");
         }
         
+        WorkOrderStatus previousStatus = workOrder.getStatus();
         workOrder.setStatus(WorkOrderStatus.CANCELLED);
         workOrder.setCompletionNotes(reason);
         workOrder.setActualEnd(LocalDateTime.now());
         
-        workOrder = workOrderRepository.save(workOrder);
+        workOrder = saveTransition(workOrder, previousStatus);
         logger.info("Cancelled work order: {}", id);
         return toResponse(workOrder);
     }
@@ -369,7 +403,7 @@ public class WorkOrderService {
             workOrder.setActualHours(BigDecimal.valueOf(hours));
         }
         
-        workOrder = workOrderRepository.save(workOrder);
+        workOrder = saveTransition(workOrder, WorkOrderStatus.IN_PROGRESS);
         
         // Update related report if exists
         if (workOrder.getReport() != null) {
@@ -480,11 +514,12 @@ public class WorkOrderService {
             throw new IllegalStateException("Technician is not available for assignment");
         }
         
+        WorkOrderStatus previousStatus = workOrder.getStatus();
         workOrder.setAssignedTo(technician);
         workOrder.setAssignmentDate(LocalDateTime.now());
         workOrder.setStatus(WorkOrderStatus.ASSIGNED);
         
-        return workOrderRepository.save(workOrder);
+        return saveTransition(workOrder, previousStatus);
     }
     
     /**
@@ -498,9 +533,10 @@ public class WorkOrderService {
         User technician = userRepository.findById(technicianId)
             .orElseThrow(() -> new ResourceNotFoundException("Technician not found: " + technicianId));
         
+        WorkOrderStatus previousStatus = workOrder.getStatus();
         workOrder.startWork(technician);
         
-        return workOrderRepository.save(workOrder);
+        return saveTransition(workOrder, previousStatus);
     }
     
     /**
@@ -536,9 +572,10 @@ public class WorkOrderService {
         logger.info("Putting work order {} on hold: {}", workOrderId, reason);
         
         WorkOrder workOrder = findById(workOrderId);
+        WorkOrderStatus previousStatus = workOrder.getStatus();
         workOrder.putOnHold(reason);
         
-        return workOrderRepository.save(workOrder);
+        return saveTransition(workOrder, previousStatus);
     }
     
     /**
@@ -555,7 +592,7 @@ public class WorkOrderService {
         
         workOrder.setStatus(WorkOrderStatus.IN_PROGRESS);
         
-        return workOrderRepository.save(workOrder);
+        return saveTransition(workOrder, WorkOrderStatus.ON_HOLD);
     }
     
     /**
@@ -566,6 +603,7 @@ public class WorkOrderService {
         logger.info("Completing work order: {}", workOrderId);
         
         WorkOrder workOrder = findById(workOrderId);
+        WorkOrderStatus previousStatus = workOrder.getStatus();
         workOrder.complete(completionNotes);
         
         if (actualHours != null) {
@@ -586,7 +624,7 @@ public class WorkOrderService {
         
         // Total cost is calculated automatically in the entity
         
-        return workOrderRepository.save(workOrder);
+        return saveTransition(workOrder, previousStatus);
     }
     
     /**
@@ -604,9 +642,10 @@ public class WorkOrderService {
             throw new IllegalArgumentException("User must be supervisor or admin to verify work orders");
         }
         
+        WorkOrderStatus previousStatus = workOrder.getStatus();
         workOrder.verify(supervisor);
         
-        return workOrderRepository.save(workOrder);
+        return saveTransition(workOrder, previousStatus);
     }
     
     /**
@@ -616,9 +655,10 @@ public class WorkOrderService {
         logger.info("Cancelling work order {}: {}", workOrderId, reason);
         
         WorkOrder workOrder = findById(workOrderId);
+        WorkOrderStatus previousStatus = workOrder.getStatus();
         workOrder.cancel(reason);
         
-        return workOrderRepository.save(workOrder);
+        return saveTransition(workOrder, previousStatus);
     }
     
     /**
@@ -628,9 +668,13 @@ public class WorkOrderService {
         logger.info("Soft deleting work order: {}", workOrderId);
         
         WorkOrder workOrder = findById(workOrderId);
+        boolean wasDeleted = workOrder.getDeletedAt() != null;
         workOrder.setDeletedAt(LocalDateTime.now());
         
         workOrderRepository.save(workOrder);
+        if (!wasDeleted) {
+            statusCounters.recordTransition(workOrder.getCompanyId(), workOrder.getStatus(), null);
+        }
     }
     
     // ========== Task Management ==========
@@ -815,109 +859,120 @@ public class WorkOrderService {
     
     /**
      * Get work order statistics for company.
+     * One grouped pass over the tenant's work orders; also reseeds the status counters.
      */
     @Transactional(readOnly = true)
     public WorkOrderStatistics getStatistics(UUID companyId) {
         WorkOrderStatistics stats = new WorkOrderStatistics();
-        
-        // Count by status
         for (WorkOrderStatus status : WorkOrderStatus.values()) {
-            long count = workOrderRepository.countByCompanyIdAndStatus(companyId, status);
-            stats.countByStatus.put(status, count);
-            stats.totalWorkOrders += count;
+            stats.countByStatus.put(status, 0L);
         }
         
-        // Calculate metrics
-        stats.pendingCount = stats.countByStatus.getOrDefault(WorkOrderStatus.PENDING, 0L);
-        stats.inProgressCount = stats.countByStatus.getOrDefault(WorkOrderStatus.IN_PROGRESS, 0L);
-        stats.completedCount = stats.countByStatus.getOrDefault(WorkOrderStatus.COMPLETED, 0L);
-        stats.verifiedCount = stats.countByStatus.getOrDefault(WorkOrderStatus.VERIFIED, 0L);
-        
-        // Overdue count
-        stats.overdueCount = findOverdueWorkOrders(companyId).size();
-        
-        // Average completion rate
-        List<WorkOrderStatus> includeStatuses = Arrays.asList(
-            WorkOrderStatus.IN_PROGRESS, 
-            WorkOrderStatus.COMPLETED, 
-            WorkOrderStatus.VERIFIED
-        );
-        Double avgCompletion = workOrderRepository.getAverageCompletionRate(companyId, includeStatuses);
-        stats.averageCompletionRate = avgCompletion != null ? avgCompletion : 0.0;
-        
-        // Calculate this month's costs
-        LocalDateTime monthStart = LocalDateTime.now().withDayOfMonth(1).withHour(0).withMinute(0);
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime monthStart = now.withDayOfMonth(1).withHour(0).withMinute(0);
         LocalDateTime monthEnd = monthStart.plusMonths(1);
         
-        BigDecimal monthlyTotal = workOrderRepository.getTotalCostInPeriod(companyId, monthStart, monthEnd, WorkOrderStatus.COMPLETED);
-        stats.totalCostThisMonth = monthlyTotal != null ? monthlyTotal : BigDecimal.ZERO;
-        
-        // Recent activity
-        stats.createdThisWeek = workOrderRepository.countRecentWorkOrders(
-            companyId, LocalDateTime.now().minusDays(7)
+        long completionSum = 0;
+        long completionCount = 0;
+        List<WorkOrderStatusAggregate> aggregates = workOrderRepository.aggregateByStatus(
+            companyId, now, now.minusDays(7), monthStart, monthEnd
         );
+        for (WorkOrderStatusAggregate aggregate : aggregates) {
+            WorkOrderStatus status = aggregate.getStatus();
+            stats.countByStatus.put(status, aggregate.getTotal());
+            stats.totalWorkOrders += aggregate.getTotal();
+            stats.createdThisWeek += aggregate.getCreatedSince();
+            
+            // Overdue: past scheduled end and not yet finished
+            if (!status.isFinal()) {
+                stats.overdueCount += aggregate.getPastDue();
+            }
+            
+            // Average completion rate over started work
+            if (status == WorkOrderStatus.IN_PROGRESS || status == WorkOrderStatus.COMPLETED
+                    || status == WorkOrderStatus.VERIFIED) {
+                completionSum += aggregate.getCompletionSum() != null ? aggregate.getCompletionSum() : 0L;
+                completionCount += aggregate.getCompletionCount();
+            }
+            
+            // This month's costs
+            if (status == WorkOrderStatus.COMPLETED && aggregate.getCostInPeriod() != null) {
+                stats.totalCostThisMonth = aggregate.getCostInPeriod();
+            }
+        }
+        
+        stats.pendingCount = stats.countByStatus.get(WorkOrderStatus.PENDING);
+        stats.inProgressCount = stats.countByStatus.get(WorkOrderStatus.IN_PROGRESS);
+        stats.completedCount = stats.countByStatus.get(WorkOrderStatus.COMPLETED);
+        stats.verifiedCount = stats.countByStatus.get(WorkOrderStatus.VERIFIED);
+        stats.averageCompletionRate = completionCount > 0 ? (double) completionSum / completionCount : 0.0;
         
+        statusCounters.reset(companyId, stats.countByStatus);
         return stats;
     }
     
+    /**
+     * Get work order counts by status, from the per-tenant counters when they are current.
+     */
+    @Transactional(readOnly = true)
+    public Map<WorkOrderStatus, Long> getStatusCounts(UUID companyId) {
+        return statusCounters.counts(companyId)
+            .orElseGet(() -> getStatistics(companyId).countByStatus);
+    }
+    
     /**
      * Get technician performance metrics.
      */
     @Transactional(readOnly = true)
     public TechnicianPerformance getTechnicianPerformance(UUID technicianId, LocalDateTime startDate, LocalDateTime endDate) {
-        TechnicianPerformance performance = new TechnicianPerformance();
-        
-        performance.technicianId = technicianId;
-        
-        // Get all work orders for technician in period
-        List<WorkOrderStatus> allStatuses = Arrays.asList(WorkOrderStatus.values());
-        List<WorkOrder> workOrders = workOrderRepository.findByAssignedToAndStatuses(
-            technicianId, allStatuses, Pageable.unpaged()
-        ).getContent();
-        
-        // Filter by date range
-        workOrders = workOrders.stream()
-            .filter(wo -> wo.getCreatedAt().isAfter(startDate) && wo.getCreatedAt().isBefore(endDate))
-            .collect(Collectors.toList());
-        
-        performance.totalAssigned = workOrders.size();
-        performance.completed = workOrders.stream()
-            .filter(wo -> wo.getStatus() == WorkOrderStatus.COMPLETED || wo.getStatus() == WorkOrderStatus.VERIFIED)
-            .count();
-        performance.inProgress = workOrders.stream()
-            .filter(wo -> wo.getStatus() == WorkOrderStatus.IN_PROGRESS)
-            .count();
-        
-        // Calculate average completion time
-        List<WorkOrder> completedOrders = workOrders.stream()
-            .filter(wo -> wo.getStatus() == WorkOrderStatus.COMPLETED || wo.getStatus() == WorkOrderStatus.VERIFIED)
-            .filter(wo -> wo.getActualStart() != null && wo.getActualEnd() != null)
+        return workOrderRepository.aggregateTechnicianPerformance(technicianId, startDate, endDate)
+            .map(this::toTechnicianPerformance)
+            .orElseGet(() -> {
+                TechnicianPerformance performance = new TechnicianPerformance();
+                performance.technicianId = technicianId;
+                return performance;
+            });
+    }
+    
+    /**
+     * Get performance metrics of every technician of a company, in one pass.
+     * Technicians with no work orders created in the period are not listed.
+     */
+    @Transactional(readOnly = true)
+    @Cacheable(value = "technician-performance", key = "#companyId + ':' + #startDate + ':' + #endDate")
+    public List<TechnicianPerformance> getTechnicianPerformanceForCompany(UUID companyId, LocalDateTime startDate, LocalDateTime endDate) {
+        return workOrderRepository.aggregateTechnicianPerformanceByCompany(companyId, startDate, endDate).stream()
+            .map(this::toTechnicianPerformance)
             .collect(Collectors.toList());
+    }
+    
+    private TechnicianPerformance toTechnicianPerformance(TechnicianPerformanceAggregate aggregate) {
+        TechnicianPerformance performance = new TechnicianPerformance();
+        performance.technicianId = aggregate.getTechnicianId();
+        performance.totalAssigned = aggregate.getTotalAssigned();
+        performance.completed = aggregate.getCompleted();
+        performance.inProgress = aggregate.getInProgress();
+        performance.averageCompletionHours = aggregate.getAverageCompletionHours() != null
+            ? aggregate.getAverageCompletionHours() : 0.0;
+        performance.totalHoursWorked = aggregate.getTotalHoursWorked();
         
-        if (!completedOrders.isEmpty()) {
-            double avgHours = completedOrders.stream()
-                .mapToLong(wo -> ChronoUnit.HOURS.between(wo.getActualStart(), wo.getActualEnd()))
-                .average()
-                .orElse(0);
-            performance.averageCompletionHours = avgHours;
-        }
-        
-        // Calculate total hours worked
-        performance.totalHoursWorked = workOrders.stream()
-            .map(WorkOrder::getActualHours)
-            .filter(Objects::nonNull)
-            .reduce(BigDecimal.ZERO, BigDecimal::add);
-        
-        // Calculate completion rate
         if (performance.totalAssigned > 0) {
             performance.completionRate = (performance.completed * 100.0) / performance.totalAssigned;
         }
-        
         return performance;
     }
     
     // ========== Utility Methods ==========
     
+    /**
+     * Save a work order and record its status transition in the per-tenant counters.
+     */
+    private WorkOrder saveTransition(WorkOrder workOrder, WorkOrderStatus previousStatus) {
+        WorkOrder saved = workOrderRepository.save(workOrder);
+        statusCounters.recordTransition(saved.getCompanyId(), previousStatus, saved.getStatus());
+        return saved;
+    }
+    
     /**
      * Generate unique work order number.
      */
@@ -978,7 +1033,7 @@ public class WorkOrderService {
                     ));
                 }
                 
-                workOrderRepository.save(order);
+                saveTransition(order, WorkOrderStatus.PENDING);
                 technicianIndex++;
             }
         }
@@ -1036,8 +1091,8 @@ public class WorkOrderService {
         public long overdueCount;
         public long createdThisWeek;
         public double averageCompletionRate;
-        public BigDecimal totalCostThisMonth;
-        public Map<WorkOrderStatus, Long> countByStatus = new HashMap<>();
+        public BigDecimal totalCostThisMonth = BigDecimal.ZERO;
+        public Map<WorkOrderStatus, Long> countByStatus = new EnumMap<>(WorkOrderStatus.class);
     }
     
     /**
@@ -1050,6 +1105,6 @@ public class WorkOrderService {
         public long inProgress;
         public double completionRate;
         public double averageCompletionHours;
-        public BigDecimal totalHoursWorked;
+        public BigDecimal totalHoursWorked = BigDecimal.ZERO;
     }
 }
\ No newline at end of file
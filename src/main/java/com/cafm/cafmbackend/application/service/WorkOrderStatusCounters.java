@@ -0,0 +1,176 @@
+package com.cafm.cafmbackend.application.service;
+
+import com.cafm.cafmbackend.shared.enums.WorkOrderStatus;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Per-tenant work order counts by status, kept current on every status transition.
+ *
+ * Purpose: Let dashboards read status counts in O(1) instead of counting work_orders
+ * Pattern: One Redis hash per tenant (status -> count); transitions accumulate per transaction
+ *          and are applied with HINCRBY after commit, so rolled-back changes never count
+ * Java 23: EnumMap deltas bound to the transaction as a synchronization resource
+ * Architecture: Fed by WorkOrderService transitions; seeded and reconciled from the grouped
+ *               statistics query whenever the counts are missing or older than the reconcile interval
+ * Standards: Counts exclude soft-deleted work orders; Redis failures degrade to the SQL path
+ */
+@Component
+public class WorkOrderStatusCounters {
+
+    private static final Logger logger = LoggerFactory.getLogger(WorkOrderStatusCounters.class);
+
+    private static final String KEY_PREFIX = "cafm:wo-status:";
+    private static final String RECONCILED_AT_FIELD = "reconciledAt";
+
+    private final StringRedisTemplate redisTemplate;
+    private final boolean enabled;
+    private final Duration reconcileInterval;
+
+    public WorkOrderStatusCounters(StringRedisTemplate redisTemplate,
+                                   @Value("${app.work-orders.status-counters.enabled:true}") boolean enabled,
+                                   @Value("${app.work-orders.status-counters.reconcile-interval:PT10M}") Duration reconcileInterval) {
+        this.redisTemplate = redisTemplate;
+        this.enabled = enabled;
+        this.reconcileInterval = reconcileInterval;
+    }
+
+    /**
+     * Record a status change; null from means created, null to means deleted.
+     * Inside a transaction the change is applied after commit.
+     */
+    public void recordTransition(UUID companyId, WorkOrderStatus from, WorkOrderStatus to) {
+        if (!enabled || companyId == null || from == to) {
+            return;
+        }
+
+        boolean inTransaction = TransactionSynchronizationManager.isSynchronizationActive();
+        Map<UUID, Map<WorkOrderStatus, Long>> pending = inTransaction ? transactionDeltas() : new HashMap<>();
+        Map<WorkOrderStatus, Long> deltas = pending.computeIfAbsent(companyId, id -> new EnumMap<>(WorkOrderStatus.class));
+        if (from != null) {
+            deltas.merge(from, -1L, Long::sum);
+        }
+        if (to != null) {
+            deltas.merge(to, 1L, Long::sum);
+        }
+
+        if (!inTransaction) {
+            apply(pending);
+        }
+    }
+
+    /**
+     * Current counts of a tenant, or empty when they must be (re)computed from SQL.
+     */
+    public Optional<Map<WorkOrderStatus, Long>> counts(UUID companyId) {
+        if (!enabled) {
+            return Optional.empty();
+        }
+        try {
+            Map<Object, Object> entries = redisTemplate.opsForHash().entries(key(companyId));
+            Object reconciledAt = entries.get(RECONCILED_AT_FIELD);
+            if (reconciledAt == null
+                    || System.currentTimeMillis() - Long.parseLong(reconciledAt.toString()) > reconcileInterval.toMillis()) {
+                return Optional.empty();
+            }
+
+            Map<WorkOrderStatus, Long> counts = new EnumMap<>(WorkOrderStatus.class);
+            for (WorkOrderStatus status : WorkOrderStatus.values()) {
+                Object value = entries.get(status.name());
+                counts.put(status, value != null ? Long.parseLong(value.toString()) : 0L);
+            }
+            return Optional.of(counts);
+        } catch (RuntimeException e) {
+            logger.warn("Could not read work order counters for company {}: {}", companyId, e.getMessage());
+            return Optional.empty();
+        }
+    }
+
+    /**
+     * Replace a tenant's counts with values computed from SQL.
+     */
+    public void reset(UUID companyId, Map<WorkOrderStatus, Long> counts) {
+        if (!enabled) {
+            return;
+        }
+        Map<String, String> fields = new HashMap<>();
+        counts.forEach((status, count) -> fields.put(status.name(), Long.toString(count)));
+        fields.put(RECONCILED_AT_FIELD, Long.toString(System.currentTimeMillis()));
+
+        String key = key(companyId);
+        try {
+            redisTemplate.delete(key);
+            redisTemplate.opsForHash().putAll(key, fields);
+            // Idle tenants drop out and are seeded again on their next read
+            redisTemplate.expire(key, reconcileInterval.multipliedBy(2));
+        } catch (RuntimeException e) {
+            logger.warn("Could not reset work order counters for company {}: {}", companyId, e.getMessage());
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private Map<UUID, Map<WorkOrderStatus, Long>> transactionDeltas() {
+        Map<UUID, Map<WorkOrderStatus, Long>> pending =
+            (Map<UUID, Map<WorkOrderStatus, Long>>) TransactionSynchronizationManager.getResource(this);
+        if (pending != null) {
+            return pending;
+        }
+
+        Map<UUID, Map<WorkOrderStatus, Long>> created = new HashMap<>();
+        TransactionSynchronizationManager.bindResource(this, created);
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                TransactionSynchronizationManager.unbindResourceIfPossible(WorkOrderStatusCounters.this);
+                if (status == STATUS_COMMITTED) {
+                    apply(created);
+                }
+            }
+        });
+        return created;
+    }
+
+    private void apply(Map<UUID, Map<WorkOrderStatus, Long>> deltas) {
+        deltas.forEach((companyId, statusDeltas) -> {
+            String key = key(companyId);
+            try {
+                // Counts that were never seeded are computed from SQL on the next read
+                if (!Boolean.TRUE.equals(redisTemplate.hasKey(key))) {
+                    return;
+                }
+                statusDeltas.forEach((status, delta) -> {
+                    if (delta != 0) {
+                        redisTemplate.opsForHash().increment(key, status.name(), delta);
+                    }
+                });
+            } catch (RuntimeException e) {
+                logger.warn("Could not update work order counters for company {}: {}", companyId, e.getMessage());
+                discard(key);
+            }
+        });
+    }
+
+    private void discard(String key) {
+        try {
+            redisTemplate.delete(key);
+        } catch (RuntimeException e) {
+            // Left as is; the counts are reconciled within the reconcile interval
+        }
+    }
+
+    private static String key(UUID companyId) {
+        return KEY_PREFIX + companyId;
+    }
+}
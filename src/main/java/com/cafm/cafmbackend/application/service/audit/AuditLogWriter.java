@@ -0,0 +1,471 @@
+package com.cafm.cafmbackend.application.service.audit;
+
+import com.cafm.cafmbackend.infrastructure.persistence.entity.AuditLog;
+import com.cafm.cafmbackend.infrastructure.persistence.repository.AuditLogBatchRepository;
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.dao.RecoverableDataAccessException;
+import org.springframework.dao.TransientDataAccessException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.CannotCreateTransactionException;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.sql.SQLException;
+import java.sql.SQLNonTransientConnectionException;
+import java.sql.SQLRecoverableException;
+import java.sql.SQLTransientException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Asynchronous, batching writer for audit events.
+ *
+ * Purpose: Keep audit writes off request threads and down to one transaction per batch
+ * Pattern: Bounded queue drained by a single writer thread; a batch is written when it reaches
+ *          the batch size or the flush interval elapses. When the queue stays full or the
+ *          database fails, events are spilled to JSON-lines segments on disk and replayed later
+ * Java 23: Dedicated platform writer thread built with Thread.ofPlatform()
+ * Architecture: Fed by AuditService; persisted through AuditLogBatchRepository
+ * Standards: Callers wait at most the offer timeout; only connection-level failures back off and spill.
+ *            A batch rejected for its data is retried row by row and the rejected rows are quarantined,
+ *            so one bad event never blocks the others. Quarantined events and events that can neither
+ *            be queued nor spilled are counted as dropped
+ */
+@Component
+public class AuditLogWriter {
+
+    private static final Logger logger = LoggerFactory.getLogger(AuditLogWriter.class);
+
+    private static final String SPILL_PREFIX = "audit-spill-";
+    private static final String SPILL_SUFFIX = ".jsonl";
+    private static final String QUARANTINE_FILE = "audit-quarantine.jsonl";
+
+    private final AuditLogBatchRepository batchRepository;
+    private final ObjectMapper spillMapper;
+    private final BlockingQueue<AuditLog> queue;
+    private final Object spillLock = new Object();
+    private final AtomicLong spillSequence = new AtomicLong();
+
+    private final Counter written;
+    private final Counter spilled;
+    private final Counter dropped;
+    private final DistributionSummary batchSizes;
+    private final Timer flushTimer;
+
+    @Value("${app.audit.writer.batch-size:500}")
+    private int batchSize;
+
+    @Value("${app.audit.writer.flush-interval-ms:200}")
+    private long flushIntervalMs;
+
+    @Value("${app.audit.writer.offer-timeout-ms:10}")
+    private long offerTimeoutMs;
+
+    @Value("${app.audit.writer.retry-backoff-ms:5000}")
+    private long retryBackoffMs;
+
+    @Value("${app.audit.writer.spill-dir:${java.io.tmpdir}/cafm-audit-spill}")
+    private String spillDir;
+
+    private Path spillDirectory;
+    private volatile boolean running;
+    private volatile long backoffUntil;
+    private Path currentSegment;
+    private Thread writerThread;
+
+    public AuditLogWriter(AuditLogBatchRepository batchRepository,
+                          ObjectMapper objectMapper,
+                          MeterRegistry meterRegistry,
+                          @Value("${app.audit.writer.queue-capacity:10000}") int queueCapacity) {
+        this.batchRepository = batchRepository;
+        this.spillMapper = objectMapper.copy().addMixIn(AuditLog.class, SpilledAuditLog.class);
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+
+        Gauge.builder("cafm.audit.queue.depth", queue, BlockingQueue::size)
+            .description("Audit events waiting to be written")
+            .register(meterRegistry);
+        this.batchSizes = DistributionSummary.builder("cafm.audit.batch.size")
+            .description("Audit events written per batch")
+            .register(meterRegistry);
+        this.flushTimer = Timer.builder("cafm.audit.flush.duration")
+            .description("Time to write one audit batch")
+            .register(meterRegistry);
+        this.written = eventCounter(meterRegistry, "written");
+        this.spilled = eventCounter(meterRegistry, "spilled");
+        this.dropped = eventCounter(meterRegistry, "dropped");
+    }
+
+    @PostConstruct
+    public void start() {
+        spillDirectory = Path.of(spillDir);
+        running = true;
+        writerThread = Thread.ofPlatform()
+            .name("AuditLogWriter")
+            .daemon()
+            .start(this::runWriter);
+    }
+
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        running = false;
+        writerThread.interrupt();
+        writerThread.join(TimeUnit.SECONDS.toMillis(10));
+    }
+
+    /**
+     * Queue an audit event, waiting at most the offer timeout before spilling it to disk.
+     */
+    public void submit(AuditLog auditLog) {
+        try {
+            if (queue.offer(auditLog, offerTimeoutMs, TimeUnit.MILLISECONDS)) {
+                return;
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        spill(List.of(auditLog));
+    }
+
+    /**
+     * Number of events waiting in memory.
+     */
+    public int getQueueDepth() {
+        return queue.size();
+    }
+
+    // ========== Writer Thread ==========
+
+    private void runWriter() {
+        long lastReplay = 0;
+        while (running) {
+            try {
+                List<AuditLog> batch = nextBatch();
+                if (!batch.isEmpty()) {
+                    write(batch);
+                } else if (System.currentTimeMillis() - lastReplay > retryBackoffMs) {
+                    replaySpilled();
+                    lastReplay = System.currentTimeMillis();
+                }
+            } catch (InterruptedException e) {
+                // Shutdown requested; fall through to the final drain
+            } catch (RuntimeException e) {
+                logger.error("Audit writer iteration failed", e);
+            }
+        }
+
+        // Clear a pending interrupt so the final writes are not aborted
+        Thread.interrupted();
+        List<AuditLog> remaining = new ArrayList<>();
+        queue.drainTo(remaining);
+        for (int from = 0; from < remaining.size(); from += batchSize) {
+            write(remaining.subList(from, Math.min(from + batchSize, remaining.size())));
+        }
+    }
+
+    /**
+     * Wait for the first event, then collect until the batch is full or the flush interval elapses.
+     */
+    private List<AuditLog> nextBatch() throws InterruptedException {
+        List<AuditLog> batch = new ArrayList<>(batchSize);
+        AuditLog first = queue.poll(flushIntervalMs, TimeUnit.MILLISECONDS);
+        if (first == null) {
+            return batch;
+        }
+        batch.add(first);
+
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(flushIntervalMs);
+        while (batch.size() < batchSize) {
+            if (queue.drainTo(batch, batchSize - batch.size()) > 0) {
+                continue;
+            }
+            long remainingNanos = deadline - System.nanoTime();
+            if (remainingNanos <= 0) {
+                break;
+            }
+            AuditLog next = queue.poll(remainingNanos, TimeUnit.NANOSECONDS);
+            if (next == null) {
+                break;
+            }
+            batch.add(next);
+        }
+        return batch;
+    }
+
+    private void write(List<AuditLog> batch) {
+        if (System.currentTimeMillis() < backoffUntil) {
+            spill(batch);
+            return;
+        }
+        Timer.Sample sample = Timer.start();
+        try {
+            int handled = insert(batch);
+            batchSizes.record(batch.size());
+            if (handled < batch.size()) {
+                logger.warn("Failed to write {} audit events, spilling to disk", batch.size() - handled);
+                spill(batch.subList(handled, batch.size()));
+            }
+        } finally {
+            sample.stop(flushTimer);
+        }
+    }
+
+    /**
+     * Insert a batch in one transaction. When the database rejects it for its data, the events are
+     * retried one by one and the rejected ones are quarantined; a transient failure starts the backoff.
+     *
+     * @return number of leading events written or quarantined; fewer than the batch only after a transient failure
+     */
+    int insert(List<AuditLog> batch) {
+        try {
+            batchRepository.insertAll(batch);
+            written.increment(batch.size());
+            return batch.size();
+        } catch (RuntimeException e) {
+            if (isTransient(e)) {
+                backoffUntil = System.currentTimeMillis() + retryBackoffMs;
+                logger.warn("Audit database unavailable: {}", e.getMessage());
+                return 0;
+            }
+            if (batch.size() == 1) {
+                quarantine(spillLine(batch.get(0)), e);
+                return 1;
+            }
+            logger.warn("Batch of {} audit events rejected, retrying row by row: {}", batch.size(), e.getMessage());
+        }
+
+        for (int i = 0; i < batch.size(); i++) {
+            // The failed batch already assigned ids, so each row is retried as a fresh copy
+            AuditLog copy;
+            try {
+                copy = spillMapper.readValue(spillLine(batch.get(i)), AuditLog.class);
+            } catch (IOException e) {
+                quarantine(spillLine(batch.get(i)), e);
+                continue;
+            }
+            if (insert(List.of(copy)) == 0) {
+                return i;
+            }
+        }
+        return batch.size();
+    }
+
+    /**
+     * Connection-level failures that a later retry can succeed on, as opposed to rejected data.
+     */
+    static boolean isTransient(Throwable failure) {
+        for (Throwable cause = failure; cause != null; cause = cause.getCause()) {
+            if (cause instanceof TransientDataAccessException
+                    || cause instanceof RecoverableDataAccessException
+                    || cause instanceof DataAccessResourceFailureException
+                    || cause instanceof CannotCreateTransactionException
+                    || cause instanceof SQLTransientException
+                    || cause instanceof SQLRecoverableException
+                    || cause instanceof SQLNonTransientConnectionException) {
+                return true;
+            }
+            // Class 08: connection exception, 53: insufficient resources, 57P: operator intervention
+            if (cause instanceof SQLException sql && sql.getSQLState() != null
+                    && (sql.getSQLState().startsWith("08") || sql.getSQLState().startsWith("53")
+                        || sql.getSQLState().startsWith("57P"))) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    // ========== Spill Segments ==========
+
+    private void spill(List<AuditLog> auditLogs) {
+        synchronized (spillLock) {
+            try {
+                if (currentSegment == null) {
+                    Files.createDirectories(spillDirectory);
+                    currentSegment = spillDirectory.resolve(
+                        SPILL_PREFIX + System.currentTimeMillis() + "-" + spillSequence.incrementAndGet() + SPILL_SUFFIX);
+                }
+                try (BufferedWriter out = Files.newBufferedWriter(currentSegment, StandardCharsets.UTF_8,
+                        StandardOpenOption.CREATE, StandardOpenOption.APPEND)) {
+                    for (AuditLog auditLog : auditLogs) {
+                        out.write(spillMapper.writeValueAsString(auditLog));
+                        out.newLine();
+                    }
+                }
+                spilled.increment(auditLogs.size());
+            } catch (IOException e) {
+                dropped.increment(auditLogs.size());
+                logger.error("Dropped {} audit events, spill to {} failed: {}",
+                            auditLogs.size(), spillDirectory, e.getMessage());
+            }
+        }
+    }
+
+    private String spillLine(AuditLog auditLog) {
+        try {
+            return spillMapper.writeValueAsString(auditLog);
+        } catch (IOException e) {
+            return "{\"unserializable\":\"" + auditLog.getAction() + " " + auditLog.getEntityType() + "\"}";
+        }
+    }
+
+    /**
+     * Set aside an event the database rejected, so it is kept for inspection but never retried.
+     */
+    private void quarantine(String line, Exception cause) {
+        dropped.increment();
+        logger.error("Quarantined audit event rejected by the database: {}", cause.getMessage());
+        synchronized (spillLock) {
+            try {
+                Files.createDirectories(spillDirectory);
+                try (BufferedWriter out = Files.newBufferedWriter(spillDirectory.resolve(QUARANTINE_FILE),
+                        StandardCharsets.UTF_8, StandardOpenOption.CREATE, StandardOpenOption.APPEND)) {
+                    out.write(line);
+                    out.newLine();
+                }
+            } catch (IOException e) {
+                logger.error("Failed to write audit quarantine in {}: {}", spillDirectory, e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Re-insert spilled segments, oldest first, once the database accepts writes again.
+     */
+    private void replaySpilled() {
+        if (System.currentTimeMillis() < backoffUntil || !Files.isDirectory(spillDirectory)) {
+            return;
+        }
+
+        List<Path> segments = new ArrayList<>();
+        synchronized (spillLock) {
+            try (DirectoryStream<Path> stream = Files.newDirectoryStream(spillDirectory, SPILL_PREFIX + "*" + SPILL_SUFFIX)) {
+                stream.forEach(segments::add);
+            } catch (IOException e) {
+                logger.warn("Failed to list audit spill segments: {}", e.getMessage());
+                return;
+            }
+            // Seal the segment being appended to; new spills start a fresh one
+            currentSegment = null;
+        }
+        segments.sort(null);
+
+        for (Path segment : segments) {
+            if (!replaySegment(segment)) {
+                return;
+            }
+        }
+    }
+
+    private boolean replaySegment(Path segment) {
+        List<AuditLog> batch = new ArrayList<>(batchSize);
+        int replayed = 0;
+        try (BufferedReader in = Files.newBufferedReader(segment, StandardCharsets.UTF_8)) {
+            String line;
+            while ((line = in.readLine()) != null) {
+                if (line.isBlank()) {
+                    continue;
+                }
+                try {
+                    batch.add(spillMapper.readValue(line, AuditLog.class));
+                } catch (IOException e) {
+                    // An unreadable line can never be replayed; count it as handled so it is not retried
+                    replayed += replay(batch);
+                    if (!batch.isEmpty()) {
+                        return stopReplay(segment, replayed);
+                    }
+                    quarantine(line, e);
+                    replayed++;
+                    continue;
+                }
+                if (batch.size() == batchSize) {
+                    replayed += replay(batch);
+                    if (!batch.isEmpty()) {
+                        return stopReplay(segment, replayed);
+                    }
+                }
+            }
+            replayed += replay(batch);
+            if (!batch.isEmpty()) {
+                return stopReplay(segment, replayed);
+            }
+            Files.delete(segment);
+            logger.info("Replayed {} spilled audit events from {}", replayed, segment.getFileName());
+            return true;
+        } catch (IOException e) {
+            logger.warn("Replay of {} failed after {} events: {}", segment.getFileName(), replayed, e.getMessage());
+            return stopReplay(segment, replayed);
+        }
+    }
+
+    /**
+     * Insert the collected events and remove the handled ones from the list.
+     *
+     * @return number of events handled
+     */
+    private int replay(List<AuditLog> batch) {
+        if (batch.isEmpty()) {
+            return 0;
+        }
+        int handled = insert(batch);
+        batch.subList(0, handled).clear();
+        return handled;
+    }
+
+    private boolean stopReplay(Path segment, int replayed) {
+        logger.warn("Replay of {} stopped after {} events", segment.getFileName(), replayed);
+        truncateReplayed(segment, replayed);
+        return false;
+    }
+
+    /**
+     * Drop the lines of a segment that were already inserted, so a later replay does not duplicate them.
+     */
+    private void truncateReplayed(Path segment, int replayed) {
+        if (replayed == 0) {
+            return;
+        }
+        try {
+            List<String> lines = Files.readAllLines(segment, StandardCharsets.UTF_8);
+            List<String> pending = lines.stream().filter(line -> !line.isBlank()).skip(replayed).toList();
+            Files.write(segment, pending, StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            logger.error("Failed to truncate audit spill segment {}; replayed events may be duplicated",
+                        segment.getFileName(), e);
+        }
+    }
+
+    private static Counter eventCounter(MeterRegistry meterRegistry, String outcome) {
+        return Counter.builder("cafm.audit.events")
+            .tag("outcome", outcome)
+            .description("Audit events by outcome")
+            .register(meterRegistry);
+    }
+
+    /**
+     * Spilled events carry no id; one is generated when they are finally inserted.
+     */
+    @JsonIgnoreProperties(value = "id", ignoreUnknown = true)
+    private abstract static class SpilledAuditLog {
+    }
+}
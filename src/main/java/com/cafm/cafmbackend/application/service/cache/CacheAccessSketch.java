@@ -0,0 +1,125 @@
+package com.cafm.cafmbackend.application.service.cache;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Approximate access frequencies of the keys of one cache for one tenant.
+ *
+ * Purpose: Find the hottest keys without keeping a counter per key ever seen
+ * Pattern: Count-min sketch with periodic halving (aging) plus a bounded heavy-hitter set
+ * Java 23: Lock-free counters; only candidate replacement is synchronized
+ * Architecture: Owned by HotKeyTracker, one instance per (tenant, cache)
+ * Standards: Memory is fixed at construction (depth x width counters + capacity candidates)
+ */
+final class CacheAccessSketch {
+
+    private static final int DEPTH = 4;
+    private static final long[] SEEDS = {
+        0x9E3779B97F4A7C15L, 0xC2B2AE3D27D4EB4FL, 0x165667B19E3779F9L, 0xD6E8FEB86659FD93L
+    };
+
+    private final int width;
+    private final int capacity;
+    private final long sampleSize;
+    private final AtomicLongArray counters;
+    private final AtomicLong additions = new AtomicLong();
+    private final ConcurrentHashMap<String, Long> candidates = new ConcurrentHashMap<>();
+    private volatile long admissionThreshold;
+
+    /**
+     * @param width    counters per row, rounded up to a power of two
+     * @param capacity number of hot keys retained
+     */
+    CacheAccessSketch(int width, int capacity) {
+        this.width = Integer.highestOneBit(Math.max(16, width - 1) << 1);
+        this.capacity = capacity;
+        this.sampleSize = 10L * this.width;
+        this.counters = new AtomicLongArray(DEPTH * this.width);
+    }
+
+    /**
+     * Count one access and return the key's estimated frequency.
+     */
+    long increment(String key) {
+        int hash = key.hashCode();
+        long estimate = Long.MAX_VALUE;
+        for (int row = 0; row < DEPTH; row++) {
+            estimate = Math.min(estimate, counters.incrementAndGet(index(hash, row)));
+        }
+
+        if (additions.incrementAndGet() % sampleSize == 0) {
+            age();
+        }
+        admit(key, estimate);
+        return estimate;
+    }
+
+    /**
+     * Hottest keys, most frequent first.
+     */
+    List<String> topKeys(int limit) {
+        return candidates.entrySet().stream()
+            .sorted(Map.Entry.<String, Long>comparingByValue(Comparator.reverseOrder()))
+            .limit(limit)
+            .map(Map.Entry::getKey)
+            .toList();
+    }
+
+    Map<String, Long> snapshot() {
+        return Map.copyOf(candidates);
+    }
+
+    boolean isEmpty() {
+        return candidates.isEmpty();
+    }
+
+    private void admit(String key, long estimate) {
+        if (candidates.computeIfPresent(key, (k, v) -> estimate) != null) {
+            return;
+        }
+        if (candidates.size() < capacity) {
+            candidates.put(key, estimate);
+            return;
+        }
+        if (estimate <= admissionThreshold) {
+            return;
+        }
+
+        synchronized (this) {
+            Map.Entry<String, Long> coldest = coldest();
+            if (coldest != null && estimate > coldest.getValue()) {
+                candidates.remove(coldest.getKey());
+                candidates.put(key, estimate);
+                Map.Entry<String, Long> next = coldest();
+                admissionThreshold = next != null ? next.getValue() : 0;
+            }
+        }
+    }
+
+    /**
+     * Halve all counters so that keys which stopped being accessed cool down.
+     */
+    private synchronized void age() {
+        for (int i = 0; i < counters.length(); i++) {
+            counters.updateAndGet(i, value -> value >>> 1);
+        }
+        candidates.replaceAll((key, value) -> value >>> 1);
+        admissionThreshold >>>= 1;
+    }
+
+    private Map.Entry<String, Long> coldest() {
+        return candidates.entrySet().stream()
+            .min(Map.Entry.comparingByValue())
+            .orElse(null);
+    }
+
+    private int index(int hash, int row) {
+        long mixed = (hash ^ SEEDS[row]) * SEEDS[(row + 1) % DEPTH];
+        return row * width + (int) ((mixed >>> 32) & (width - 1));
+    }
+}
@@ -0,0 +1,24 @@
+package com.cafm.cafmbackend.application.service.cache;
+
+/**
+ * Loads a single entry of one cache during warm-up.
+ *
+ * Purpose: Tell the warm-up pipeline how to recompute a hot key
+ * Pattern: Strategy interface; implementations call the cached service method,
+ *          so the value is stored through the regular @Cacheable path
+ * Java 23: Functional-style single-key contract
+ * Architecture: Implementations are Spring beans collected by CacheWarmupService
+ * Standards: Called with the tenant context of the key already set
+ */
+public interface CacheWarmupLoader {
+
+    /**
+     * Name of the cache this loader fills.
+     */
+    String cacheName();
+
+    /**
+     * Load the value for the given (un-prefixed) cache key.
+     */
+    void load(String key);
+}
@@ -0,0 +1,270 @@
+package com.cafm.cafmbackend.application.service.cache;
+
+import com.cafm.cafmbackend.application.service.tenant.TenantActivatedEvent;
+import com.cafm.cafmbackend.application.service.tenant.TenantContextService;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Preloads each tenant's hottest cache keys.
+ *
+ * Purpose: Take cold-cache latency off the first users after a deploy, failover or tenant activation
+ * Pattern: Hot keys from HotKeyTracker, loaded in batches by CacheWarmupLoader strategies
+ * Java 23: Virtual threads per batch, bounded by a semaphore to protect the connection pool
+ * Architecture: Triggered on application start and on TenantActivatedEvent; status is
+ *               reported through TenantCacheService.getCacheHealthForTenant
+ * Standards: One warm-up per tenant at a time; failures are counted, never propagated
+ */
+@Service
+public class CacheWarmupService {
+
+    private static final Logger logger = LoggerFactory.getLogger(CacheWarmupService.class);
+
+    private final Map<String, CacheWarmupLoader> loaders;
+    private final HotKeyTracker hotKeyTracker;
+    private final TenantContextService tenantContextService;
+    private final ConcurrentHashMap<UUID, WarmupProgress> progressByTenant = new ConcurrentHashMap<>();
+    private final ExecutorService orchestrator = Executors.newThreadPerTaskExecutor(
+        Thread.ofVirtual().name("CacheWarmup-", 0).factory());
+
+    private final Timer warmupTimer;
+    private final Counter keysLoaded;
+    private final Counter keysFailed;
+    private final AtomicInteger warmupsRunning = new AtomicInteger();
+
+    @Value("${app.cache.warmup.enabled:true}")
+    private boolean enabled;
+
+    @Value("${app.cache.warmup.hot-keys-per-cache:200}")
+    private int hotKeysPerCache;
+
+    @Value("${app.cache.warmup.batch-size:25}")
+    private int batchSize;
+
+    @Value("${app.cache.warmup.concurrency:8}")
+    private int concurrency;
+
+    public CacheWarmupService(List<CacheWarmupLoader> loaders,
+                              HotKeyTracker hotKeyTracker,
+                              TenantContextService tenantContextService,
+                              MeterRegistry meterRegistry) {
+        this.loaders = loaders.stream()
+            .collect(Collectors.toMap(CacheWarmupLoader::cacheName, Function.identity()));
+        this.hotKeyTracker = hotKeyTracker;
+        this.tenantContextService = tenantContextService;
+        this.loaders.keySet().forEach(hotKeyTracker::track);
+
+        this.warmupTimer = Timer.builder("cafm.cache.warmup.duration")
+            .description("Time to warm a tenant's caches")
+            .register(meterRegistry);
+        this.keysLoaded = Counter.builder("cafm.cache.warmup.keys")
+            .tag("outcome", "loaded")
+            .description("Cache keys preloaded by warm-up")
+            .register(meterRegistry);
+        this.keysFailed = Counter.builder("cafm.cache.warmup.keys")
+            .tag("outcome", "failed")
+            .description("Cache keys preloaded by warm-up")
+            .register(meterRegistry);
+        Gauge.builder("cafm.cache.warmup.running", warmupsRunning, AtomicInteger::get)
+            .description("Tenant warm-ups in progress")
+            .register(meterRegistry);
+    }
+
+    /**
+     * Warm every tenant with a known hot set once the node accepts traffic.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        if (!enabled) {
+            return;
+        }
+        orchestrator.execute(() -> {
+            Set<UUID> tenants = hotKeyTracker.trackedTenants();
+            logger.info("Starting cache warm-up for {} tenants", tenants.size());
+            tenants.forEach(this::warmUpTenant);
+        });
+    }
+
+    /**
+     * Warm a tenant's caches after it has been activated.
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTenantActivated(TenantActivatedEvent event) {
+        if (enabled) {
+            warmUpTenantAsync(event.companyId());
+        }
+    }
+
+    public void warmUpTenantAsync(UUID tenantId) {
+        orchestrator.execute(() -> warmUpTenant(tenantId));
+    }
+
+    /**
+     * Preload the hot keys of all warmable caches for a tenant; blocks until done.
+     */
+    public WarmupProgress warmUpTenant(UUID tenantId) {
+        return warmUp(tenantId, loaders.keySet());
+    }
+
+    /**
+     * Preload the hot keys of one cache for a tenant; blocks until done.
+     */
+    public WarmupProgress warmUpCache(UUID tenantId, String cacheName) {
+        if (!loaders.containsKey(cacheName)) {
+            logger.debug("No warm-up loader for cache '{}'", cacheName);
+            return getProgress(tenantId);
+        }
+        return warmUp(tenantId, List.of(cacheName));
+    }
+
+    /**
+     * Latest warm-up progress of a tenant on this node, or null if never warmed.
+     */
+    public WarmupProgress getProgress(UUID tenantId) {
+        return progressByTenant.get(tenantId);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        orchestrator.shutdownNow();
+    }
+
+    // ========== Warm-up Execution ==========
+
+    private WarmupProgress warmUp(UUID tenantId, Collection<String> cacheNames) {
+        Map<String, List<String>> plan = new LinkedHashMap<>();
+        for (String cacheName : cacheNames) {
+            List<String> keys = hotKeyTracker.hotKeys(tenantId, cacheName, hotKeysPerCache);
+            if (!keys.isEmpty()) {
+                plan.put(cacheName, keys);
+            }
+        }
+        int plannedKeys = plan.values().stream().mapToInt(List::size).sum();
+
+        WarmupProgress progress = new WarmupProgress(tenantId, plannedKeys);
+        WarmupProgress running = progressByTenant.compute(tenantId,
+            (id, current) -> current != null && current.isRunning() ? current : progress);
+        if (running != progress) {
+            logger.debug("Cache warm-up already running for tenant: {}", tenantId);
+            return running;
+        }
+
+        warmupsRunning.incrementAndGet();
+        Timer.Sample sample = Timer.start();
+        try (ExecutorService batches = Executors.newVirtualThreadPerTaskExecutor()) {
+            Semaphore permits = new Semaphore(concurrency);
+            plan.forEach((cacheName, keys) -> {
+                CacheWarmupLoader loader = loaders.get(cacheName);
+                for (int from = 0; from < keys.size(); from += batchSize) {
+                    List<String> batch = keys.subList(from, Math.min(from + batchSize, keys.size()));
+                    batches.execute(() -> loadBatch(tenantId, loader, batch, permits, progress));
+                }
+            });
+        } finally {
+            progress.complete(Duration.ofNanos(sample.stop(warmupTimer)));
+            warmupsRunning.decrementAndGet();
+        }
+
+        logger.info("Cache warm-up for tenant {} finished in {} ms: {} loaded, {} failed of {}",
+                   tenantId, progress.getDuration().toMillis(), progress.getLoaded(),
+                   progress.getFailed(), progress.getPlanned());
+        return progress;
+    }
+
+    private void loadBatch(UUID tenantId, CacheWarmupLoader loader, List<String> keys,
+                           Semaphore permits, WarmupProgress progress) {
+        try {
+            permits.acquire();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return;
+        }
+        try {
+            tenantContextService.executeWithTenant(tenantId, () -> {
+                for (String key : keys) {
+                    try {
+                        loader.load(key);
+                        progress.loaded.incrementAndGet();
+                        keysLoaded.increment();
+                    } catch (RuntimeException e) {
+                        progress.failed.incrementAndGet();
+                        keysFailed.increment();
+                        logger.debug("Warm-up of '{}' key {} failed for tenant {}: {}",
+                                    loader.cacheName(), key, tenantId, e.getMessage());
+                    }
+                }
+                return null;
+            });
+        } finally {
+            permits.release();
+        }
+    }
+
+    // ========== Inner Classes ==========
+
+    /**
+     * Progress of one tenant warm-up
+     */
+    public static class WarmupProgress {
+        private final UUID tenantId;
+        private final int planned;
+        private final AtomicInteger loaded = new AtomicInteger();
+        private final AtomicInteger failed = new AtomicInteger();
+        private final Instant startedAt = Instant.now();
+        private volatile Duration duration;
+
+        WarmupProgress(UUID tenantId, int planned) {
+            this.tenantId = tenantId;
+            this.planned = planned;
+        }
+
+        void complete(Duration duration) {
+            this.duration = duration;
+        }
+
+        public UUID getTenantId() { return tenantId; }
+        public int getPlanned() { return planned; }
+        public int getLoaded() { return loaded.get(); }
+        public int getFailed() { return failed.get(); }
+        public Instant getStartedAt() { return startedAt; }
+        public boolean isRunning() { return duration == null; }
+
+        /**
+         * Time to warm, or time elapsed so far while running.
+         */
+        public Duration getDuration() {
+            Duration finished = duration;
+            return finished != null ? finished : Duration.between(startedAt, Instant.now());
+        }
+
+        public double getCompletion() {
+            return planned > 0 ? (double) (getLoaded() + getFailed()) / planned : 1.0;
+        }
+    }
+}
@@ -0,0 +1,34 @@
+package com.cafm.cafmbackend.application.service.cache;
+
+import com.cafm.cafmbackend.application.service.CompanyService;
+import org.springframework.stereotype.Component;
+
+import java.util.UUID;
+
+/**
+ * Warm-up loader for company statistics in the "statistics" cache
+ * (keyed "company-stats-{companyId}"); other statistics keys are skipped.
+ */
+@Component
+public class CompanyStatisticsWarmupLoader implements CacheWarmupLoader {
+
+    private static final String KEY_PREFIX = "company-stats-";
+
+    private final CompanyService companyService;
+
+    public CompanyStatisticsWarmupLoader(CompanyService companyService) {
+        this.companyService = companyService;
+    }
+
+    @Override
+    public String cacheName() {
+        return "statistics";
+    }
+
+    @Override
+    public void load(String key) {
+        if (key.startsWith(KEY_PREFIX)) {
+            companyService.getCompanyStatistics(UUID.fromString(key.substring(KEY_PREFIX.length())));
+        }
+    }
+}
@@ -0,0 +1,142 @@
+package com.cafm.cafmbackend.application.service.cache;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.ZSetOperations.TypedTuple;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Tracks the hottest cache keys per tenant so they can be preloaded after a cold start.
+ *
+ * Purpose: Feed the cache warm-up with the keys users actually request
+ * Pattern: One CacheAccessSketch per (tenant, cache), snapshotted to Redis sorted sets
+ * Java 23: ConcurrentHashMap nesting with computeIfAbsent for lock-free registration
+ * Architecture: Recorded by TenantAwareCache on lookups, read by CacheWarmupService
+ * Standards: Only caches registered for warm-up are tracked; the Redis snapshot survives
+ *            rolling deploys so a fresh node knows what to preload
+ */
+@Component
+public class HotKeyTracker {
+
+    private static final Logger logger = LoggerFactory.getLogger(HotKeyTracker.class);
+
+    private static final String HOT_KEYS_PREFIX = "cafm:cache-hot:";
+    private static final String TENANTS_KEY = HOT_KEYS_PREFIX + "tenants";
+
+    private final StringRedisTemplate redisTemplate;
+    private final Set<String> trackedCaches = ConcurrentHashMap.newKeySet();
+    private final ConcurrentHashMap<UUID, ConcurrentHashMap<String, CacheAccessSketch>> sketches =
+        new ConcurrentHashMap<>();
+
+    @Value("${app.cache.warmup.sketch-width:512}")
+    private int sketchWidth;
+
+    @Value("${app.cache.warmup.hot-keys-per-cache:200}")
+    private int hotKeysPerCache;
+
+    @Value("${app.cache.warmup.snapshot-ttl:P7D}")
+    private Duration snapshotTtl;
+
+    public HotKeyTracker(StringRedisTemplate redisTemplate) {
+        this.redisTemplate = redisTemplate;
+    }
+
+    /**
+     * Start tracking accesses to a cache.
+     */
+    public void track(String cacheName) {
+        trackedCaches.add(cacheName);
+    }
+
+    /**
+     * Count one lookup of a key by a tenant.
+     */
+    public void recordAccess(UUID tenantId, String cacheName, Object key) {
+        if (!trackedCaches.contains(cacheName) || key == null) {
+            return;
+        }
+        sketches.computeIfAbsent(tenantId, id -> new ConcurrentHashMap<>())
+            .computeIfAbsent(cacheName, name -> new CacheAccessSketch(sketchWidth, hotKeysPerCache))
+            .increment(key.toString());
+    }
+
+    /**
+     * Hottest keys of a tenant's cache; falls back to the last Redis snapshot on a fresh node.
+     */
+    public List<String> hotKeys(UUID tenantId, String cacheName, int limit) {
+        Map<String, CacheAccessSketch> tenantSketches = sketches.get(tenantId);
+        CacheAccessSketch sketch = tenantSketches != null ? tenantSketches.get(cacheName) : null;
+        if (sketch != null && !sketch.isEmpty()) {
+            return sketch.topKeys(limit);
+        }
+
+        try {
+            Set<String> snapshot = redisTemplate.opsForZSet()
+                .reverseRange(snapshotKey(cacheName, tenantId), 0, limit - 1L);
+            return snapshot != null ? List.copyOf(snapshot) : List.of();
+        } catch (RuntimeException e) {
+            logger.warn("Could not read hot key snapshot for tenant {} cache '{}': {}",
+                       tenantId, cacheName, e.getMessage());
+            return List.of();
+        }
+    }
+
+    /**
+     * Tenants with hot keys, locally or in the last snapshot of any node.
+     */
+    public Set<UUID> trackedTenants() {
+        Set<UUID> tenants = new HashSet<>(sketches.keySet());
+        try {
+            Set<String> persisted = redisTemplate.opsForSet().members(TENANTS_KEY);
+            if (persisted != null) {
+                persisted.forEach(id -> tenants.add(UUID.fromString(id)));
+            }
+        } catch (RuntimeException e) {
+            logger.warn("Could not read hot key tenants: {}", e.getMessage());
+        }
+        return tenants;
+    }
+
+    /**
+     * Persist the current hot sets so that other and future nodes can warm up from them.
+     */
+    @Scheduled(fixedDelayString = "${app.cache.warmup.snapshot-interval-ms:300000}",
+               initialDelayString = "${app.cache.warmup.snapshot-interval-ms:300000}")
+    public void snapshot() {
+        sketches.forEach((tenantId, tenantSketches) -> tenantSketches.forEach((cacheName, sketch) -> {
+            Map<String, Long> hot = sketch.snapshot();
+            if (hot.isEmpty()) {
+                return;
+            }
+            try {
+                String key = snapshotKey(cacheName, tenantId);
+                Set<TypedTuple<String>> tuples = new HashSet<>();
+                hot.forEach((cacheKey, count) -> tuples.add(TypedTuple.of(cacheKey, count.doubleValue())));
+
+                redisTemplate.delete(key);
+                redisTemplate.opsForZSet().add(key, tuples);
+                redisTemplate.expire(key, snapshotTtl);
+                redisTemplate.opsForSet().add(TENANTS_KEY, tenantId.toString());
+                redisTemplate.expire(TENANTS_KEY, snapshotTtl);
+            } catch (RuntimeException e) {
+                logger.warn("Could not snapshot hot keys for tenant {} cache '{}': {}",
+                           tenantId, cacheName, e.getMessage());
+            }
+        }));
+    }
+
+    private static String snapshotKey(String cacheName, UUID tenantId) {
+        return HOT_KEYS_PREFIX + cacheName + ":" + tenantId;
+    }
+}
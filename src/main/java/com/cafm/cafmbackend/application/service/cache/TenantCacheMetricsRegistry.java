@@ -0,0 +1,56 @@
+package com.cafm.cafmbackend.application.service.cache;
+
+import com.cafm.cafmbackend.application.service.cache.TenantCacheService.TenantCacheMetrics;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Holder of per-tenant cache counters fed by cache operations.
+ *
+ * Purpose: Collect hits, misses, evictions and errors as TenantAwareCache observes them
+ * Pattern: Registry of lock-free counters keyed by tenant id
+ * Java 23: LongAdder-backed metrics for the cache hot path
+ * Architecture: Written by the cache layer, read by TenantCacheService; has no dependencies
+ *               so the cache manager can use it without a cycle
+ * Standards: Recording never throws into cache operations
+ */
+@Component
+public class TenantCacheMetricsRegistry {
+
+    private final ConcurrentHashMap<UUID, TenantCacheMetrics> metrics = new ConcurrentHashMap<>();
+
+    public TenantCacheMetrics forTenant(UUID tenantId) {
+        return metrics.computeIfAbsent(tenantId, TenantCacheMetrics::new);
+    }
+
+    public void recordHit(UUID tenantId) {
+        forTenant(tenantId).incrementHits();
+    }
+
+    public void recordMiss(UUID tenantId) {
+        forTenant(tenantId).incrementMisses();
+    }
+
+    public void recordEvictions(UUID tenantId, long count) {
+        forTenant(tenantId).addEvictions(count);
+    }
+
+    public void recordError(UUID tenantId) {
+        forTenant(tenantId).incrementErrors();
+    }
+
+    public void recordPreload(UUID tenantId) {
+        forTenant(tenantId).incrementPreloads();
+    }
+
+    public Map<UUID, TenantCacheMetrics> getAll() {
+        return Map.copyOf(metrics);
+    }
+
+    public void clear() {
+        metrics.clear();
+    }
+}
@@ -1,6 +1,7 @@
 package com.cafm.cafmbackend.application.service.cache;
 
 import com.cafm.cafmbackend.application.service.tenant.TenantContextService;
+import com.cafm.cafmbackend.configuration.tenant.TenantAwareCacheConfig.TenantAwareCache;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -8,9 +9,8 @@ import org.springframework.cache.Cache;
 import org.springframework.cache.CacheManager;
 import org.springframework.stereotype.Service;
 
-import java.util.Set;
 import java.util.UUID;
-import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
 
 /**
  * Service for managing tenant-specific cache operations and eviction.
@@ -33,8 +33,12 @@ public class TenantCacheService {
     @Autowired
     private TenantContextService tenantContextService;
     
-    // Track cache metrics per tenant
-    private final ConcurrentHashMap<UUID, TenantCacheMetrics> cacheMetrics = new ConcurrentHashMap<>();
+    // Per-tenant cache metrics, recorded by TenantAwareCache on every cache operation
+    @Autowired
+    private TenantCacheMetricsRegistry cacheMetrics;
+    
+    @Autowired
+    private CacheWarmupService cacheWarmupService;
     
     /**
      * Evict all cache entries for the current tenant
@@ -50,14 +54,12 @@ public class TenantCacheService {
     public void evictAllForTenant(UUID tenantId) {
         logger.info("Evicting all cache entries for tenant: {}", tenantId);
         
+        int evicted = 0;
         for (String cacheName : cacheManager.getCacheNames()) {
-            evictTenantFromCache(cacheName, tenantId);
+            evicted += evictTenantFromCache(cacheName, tenantId);
         }
         
-        // Reset metrics for this tenant
-        cacheMetrics.remove(tenantId);
-        
-        logger.info("Completed cache eviction for tenant: {}", tenantId);
+        logger.info("Completed cache eviction for tenant: {} ({} entries)", tenantId, evicted);
     }
     
     /**
@@ -69,23 +71,32 @@ public class TenantCacheService {
     }
     
     /**
-     * Evict specific cache for a tenant
+     * Evict specific cache for a tenant. Only that tenant's indexed keys are removed;
+     * entries of other tenants stay cached.
+     *
+     * @return number of entries evicted
      */
-    public void evictTenantFromCache(String cacheName, UUID tenantId) {
+    public int evictTenantFromCache(String cacheName, UUID tenantId) {
         Cache cache = cacheManager.getCache(cacheName);
         if (cache == null) {
             logger.warn("Cache '{}' not found", cacheName);
-            return;
+            return 0;
         }
         
-        logger.debug("Evicting tenant {} from cache '{}'", tenantId, cacheName);
-        
-        // Since we're using tenant-prefixed keys, we need to implement 
-        // pattern-based eviction for Redis or maintain key tracking
-        // This is a simplified approach - in production you might use Redis SCAN
-        cache.clear(); // For now, clear the entire cache
+        if (!(cache instanceof TenantAwareCache tenantAwareCache)) {
+            logger.warn("Cache '{}' is not tenant-aware, skipping tenant eviction", cacheName);
+            return 0;
+        }
         
-        recordCacheEviction(tenantId, cacheName);
+        try {
+            int evicted = tenantAwareCache.evictTenant(tenantId);
+            logger.debug("Evicted {} entries of tenant {} from cache '{}'", evicted, tenantId, cacheName);
+            return evicted;
+        } catch (RuntimeException e) {
+            logger.warn("Failed to evict tenant {} from cache '{}': {}", tenantId, cacheName, e.getMessage());
+            cacheMetrics.recordError(tenantId);
+            return 0;
+        }
     }
     
     /**
@@ -97,22 +108,13 @@ public class TenantCacheService {
     }
     
     /**
-     * Warm up cache for a specific tenant
+     * Warm up cache for a specific tenant by preloading its hottest keys
      */
     public void warmUpCacheForTenant(UUID tenantId) {
         logger.info("Warming up cache for tenant: {}", tenantId);
         
-        // Execute with tenant context
-        tenantContextService.executeWithTenant(tenantId, () -> {
-            // Cache warm-up operations would go here
-            // For example:
-            // - Load frequently accessed companies
-            // - Load user permissions
-            // - Load common configuration data
-            
-            logger.debug("Cache warm-up completed for tenant: {}", tenantId);
-            return null;
-        });
+        CacheWarmupService.WarmupProgress progress = cacheWarmupService.warmUpTenant(tenantId);
+        cacheMetrics.forTenant(tenantId).addPreloads(progress.getLoaded());
     }
     
     /**
@@ -127,7 +129,7 @@ public class TenantCacheService {
      * Get cache statistics for a specific tenant
      */
     public TenantCacheMetrics getCacheMetricsForTenant(UUID tenantId) {
-        return cacheMetrics.computeIfAbsent(tenantId, id -> new TenantCacheMetrics(id));
+        return cacheMetrics.forTenant(tenantId);
     }
     
     /**
@@ -167,29 +169,33 @@ public class TenantCacheService {
             healthLevel = CacheHealthStatus.HealthLevel.POOR;
         }
         
+        CacheWarmupService.WarmupProgress warmup = cacheWarmupService.getProgress(tenantId);
+        
         return new CacheHealthStatus(
             tenantId,
             healthLevel,
             hitRatio,
             totalOperations,
             metrics.getEvictions(),
-            metrics.getErrors()
+            metrics.getErrors(),
+            warmup == null ? CacheHealthStatus.WarmupState.NOT_STARTED
+                : warmup.isRunning() ? CacheHealthStatus.WarmupState.RUNNING : CacheHealthStatus.WarmupState.COMPLETED,
+            warmup != null ? warmup.getCompletion() : 0.0,
+            warmup != null ? warmup.getLoaded() : 0,
+            warmup != null ? warmup.getDuration().toMillis() : 0L
         );
     }
     
     /**
-     * Preload data into cache for specific entities
+     * Preload the hottest keys of a single cache for a tenant
      */
     public void preloadEntityCache(String cacheName, String entityType, UUID tenantId) {
-        logger.debug("Preloading {} cache for tenant: {}", entityType, tenantId);
+        logger.debug("Preloading {} cache '{}' for tenant: {}", entityType, cacheName, tenantId);
         
-        tenantContextService.executeWithTenant(tenantId, () -> {
-            // Preloading logic would be implemented here based on entity type
-            // This could call appropriate services to load commonly accessed data
-            
-            recordCachePreload(tenantId, cacheName);
-            return null;
-        });
+        CacheWarmupService.WarmupProgress progress = cacheWarmupService.warmUpCache(tenantId, cacheName);
+        if (progress != null) {
+            cacheMetrics.forTenant(tenantId).addPreloads(progress.getLoaded());
+        }
     }
     
     /**
@@ -230,20 +236,6 @@ public class TenantCacheService {
         return isValid;
     }
     
-    // ========== Private Helper Methods ==========
-    
-    private void recordCacheEviction(UUID tenantId, String cacheName) {
-        TenantCacheMetrics metrics = getCacheMetricsForTenant(tenantId);
-        metrics.incrementEvictions();
-        logger.debug("Recorded cache eviction for tenant {} cache '{}'", tenantId, cacheName);
-    }
-    
-    private void recordCachePreload(UUID tenantId, String cacheName) {
-        TenantCacheMetrics metrics = getCacheMetricsForTenant(tenantId);
-        metrics.incrementPreloads();
-        logger.debug("Recorded cache preload for tenant {} cache '{}'", tenantId, cacheName);
-    }
-    
     // ========== Inner Classes ==========
     
     /**
@@ -251,37 +243,40 @@ public class TenantCacheService {
      */
     public static class TenantCacheMetrics {
         private final UUID tenantId;
-        private long hits = 0;
-        private long misses = 0;
-        private long evictions = 0;
-        private long preloads = 0;
-        private long errors = 0;
-        private long lastUpdated = System.currentTimeMillis();
+        private final LongAdder hits = new LongAdder();
+        private final LongAdder misses = new LongAdder();
+        private final LongAdder evictions = new LongAdder();
+        private final LongAdder preloads = new LongAdder();
+        private final LongAdder errors = new LongAdder();
+        private volatile long lastUpdated = System.currentTimeMillis();
         
         public TenantCacheMetrics(UUID tenantId) {
             this.tenantId = tenantId;
         }
         
-        public synchronized void incrementHits() { hits++; updateTimestamp(); }
-        public synchronized void incrementMisses() { misses++; updateTimestamp(); }
-        public synchronized void incrementEvictions() { evictions++; updateTimestamp(); }
-        public synchronized void incrementPreloads() { preloads++; updateTimestamp(); }
-        public synchronized void incrementErrors() { errors++; updateTimestamp(); }
+        public void incrementHits() { hits.increment(); updateTimestamp(); }
+        public void incrementMisses() { misses.increment(); updateTimestamp(); }
+        public void incrementEvictions() { addEvictions(1); }
+        public void addEvictions(long count) { evictions.add(count); updateTimestamp(); }
+        public void incrementPreloads() { addPreloads(1); }
+        public void addPreloads(long count) { preloads.add(count); updateTimestamp(); }
+        public void incrementErrors() { errors.increment(); updateTimestamp(); }
         
         private void updateTimestamp() { lastUpdated = System.currentTimeMillis(); }
         
         // Getters
         public UUID getTenantId() { return tenantId; }
-        public long getHits() { return hits; }
-        public long getMisses() { return misses; }
-        public long getEvictions() { return evictions; }
-        public long getPreloads() { return preloads; }
-        public long getErrors() { return errors; }
+        public long getHits() { return hits.sum(); }
+        public long getMisses() { return misses.sum(); }
+        public long getEvictions() { return evictions.sum(); }
+        public long getPreloads() { return preloads.sum(); }
+        public long getErrors() { return errors.sum(); }
         public long getLastUpdated() { return lastUpdated; }
         
         public double getHitRatio() {
-            long total = hits + misses;
-            return total > 0 ? (double) hits / total : 0.0;
+            long hitCount = getHits();
+            long total = hitCount + getMisses();
+            return total > 0 ? (double) hitCount / total : 0.0;
         }
     }
     
@@ -294,12 +289,20 @@ public class TenantCacheService {
         double hitRatio,
         long totalOperations,
         long evictions,
-        long errors
+        long errors,
+        WarmupState warmupState,
+        double warmupCompletion,
+        int warmedKeys,
+        long timeToWarmMs
     ) {
         public enum HealthLevel {
             EXCELLENT, GOOD, FAIR, POOR
         }
         
+        public enum WarmupState {
+            NOT_STARTED, RUNNING, COMPLETED
+        }
+        
         public boolean isHealthy() {
             return healthLevel == HealthLevel.EXCELLENT || healthLevel == HealthLevel.GOOD;
         }
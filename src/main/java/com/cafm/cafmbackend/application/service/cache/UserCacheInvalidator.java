@@ -0,0 +1,55 @@
+package com.cafm.cafmbackend.application.service.cache;
+
+import com.cafm.cafmbackend.configuration.tenant.TenantAwareCacheConfig;
+import com.cafm.cafmbackend.configuration.tenant.TenantAwareCacheConfig.TenantAwareCache;
+import com.cafm.cafmbackend.security.event.UserSecurityChangedEvent;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * Drops a user from the "users" cache when their status, roles or credentials change.
+ *
+ * Purpose: Keep the cached UserDetails in step with the authenticated principal cache
+ * Pattern: Listens to the same UserSecurityChangedEvent as AuthenticatedPrincipalCache
+ * Java 23: Pattern matching on the tenant-aware cache
+ * Architecture: Evicting through the cache manager also announces the eviction to every node's local tier
+ * Standards: Runs after commit, so a concurrent load cannot re-cache the old state
+ */
+@Component
+public class UserCacheInvalidator {
+
+    private static final Logger logger = LoggerFactory.getLogger(UserCacheInvalidator.class);
+
+    static final String CACHE_NAME = "users";
+
+    private final CacheManager cacheManager;
+
+    public UserCacheInvalidator(CacheManager cacheManager) {
+        this.cacheManager = cacheManager;
+    }
+
+    /**
+     * Evict the user's entry in their own tenant and in the system tenant, which holds
+     * entries loaded before a tenant context was set (e.g. during authentication).
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onUserSecurityChanged(UserSecurityChangedEvent event) {
+        Cache cache = cacheManager.getCache(CACHE_NAME);
+        if (cache == null || event.email() == null) {
+            return;
+        }
+        if (cache instanceof TenantAwareCache tenantAwareCache) {
+            if (event.companyId() != null) {
+                tenantAwareCache.evict(event.companyId(), event.email());
+            }
+            tenantAwareCache.evict(TenantAwareCacheConfig.SYSTEM_TENANT_ID, event.email());
+        } else {
+            cache.evict(event.email());
+        }
+        logger.debug("Evicted cached user details for user: {}", event.userId());
+    }
+}
@@ -0,0 +1,27 @@
+package com.cafm.cafmbackend.application.service.cache;
+
+import com.cafm.cafmbackend.application.service.UserService;
+import org.springframework.stereotype.Component;
+
+/**
+ * Warm-up loader for the "users" cache (keyed by username).
+ */
+@Component
+public class UserCacheWarmupLoader implements CacheWarmupLoader {
+
+    private final UserService userService;
+
+    public UserCacheWarmupLoader(UserService userService) {
+        this.userService = userService;
+    }
+
+    @Override
+    public String cacheName() {
+        return "users";
+    }
+
+    @Override
+    public void load(String key) {
+        userService.loadUserByUsername(key);
+    }
+}
@@ -0,0 +1,11 @@
+package com.cafm.cafmbackend.application.service.tenant;
+
+import java.util.UUID;
+
+/**
+ * Published when a company (tenant) is activated.
+ *
+ * @param companyId the activated tenant
+ */
+public record TenantActivatedEvent(UUID companyId) {
+}
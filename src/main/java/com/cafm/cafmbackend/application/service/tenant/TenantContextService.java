@@ -18,7 +18,8 @@ import java.util.UUID;
  * Service for managing tenant context in multi-tenant application.
  * 
  * Architecture: Multi-tenant context management with Row-Level Security
- * Pattern: Thread-local tenant context with database session integration
+ * Pattern: Thread-local tenant context; TenantAwareDataSource applies it to the database
+ *          connection before statements run
  * Java 23: Modern exception handling and validation patterns
  */
 @Service
@@ -56,9 +57,6 @@ public class TenantContextService {
         logger.debug("Setting tenant context to: {}", companyId);
         
         currentTenantId.set(companyId);
-        
-        // Set database-level tenant context for RLS policies
-        setDatabaseTenantContext(companyId);
     }
     
     /**
@@ -88,7 +86,13 @@ public class TenantContextService {
     public void clearTenantContext() {
         logger.debug("Clearing tenant context");
         currentTenantId.remove();
-        clearDatabaseTenantContext();
+    }
+    
+    /**
+     * Tenant of the current thread without falling back to the system default, for the connection layer
+     */
+    public static UUID peekCurrentTenant() {
+        return currentTenantId.get();
     }
     
     /**
@@ -165,46 +169,7 @@ public class TenantContextService {
     // ========== Database Context Management ==========
     
     /**
-     * Set database-level tenant context for RLS policies
-     */
-    private void setDatabaseTenantContext(UUID companyId) {
-        try {
-            entityManager.createNativeQuery(
-                "SELECT set_config(?, ?, false)"
-            )
-            .setParameter(1, TENANT_CONTEXT_KEY)
-            .setParameter(2, companyId.toString())
-            .getSingleResult();
-            
-            logger.debug("Set database tenant context to: {}", companyId);
-            
-        } catch (Exception e) {
-            logger.error("Failed to set database tenant context: {}", e.getMessage());
-            // Don't throw - fall back to application-level filtering
-        }
-    }
-    
-    /**
-     * Clear database-level tenant context
-     */
-    private void clearDatabaseTenantContext() {
-        try {
-            entityManager.createNativeQuery(
-                "SELECT set_config(?, ?, false)"
-            )
-            .setParameter(1, TENANT_CONTEXT_KEY)
-            .setParameter(2, "")
-            .getSingleResult();
-            
-            logger.debug("Cleared database tenant context");
-            
-        } catch (Exception e) {
-            logger.error("Failed to clear database tenant context: {}", e.getMessage());
-        }
-    }
-    
-    /**
-     * Get database-level tenant context
+     * Get database-level tenant context, as applied to the connection of the current transaction
      */
     public UUID getDatabaseTenantContext() {
         try {
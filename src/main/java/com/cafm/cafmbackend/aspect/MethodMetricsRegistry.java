@@ -0,0 +1,163 @@
+package com.cafm.cafmbackend.aspect;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.stereotype.Component;
+import org.springframework.util.ClassUtils;
+
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-method meters for instrumented layers.
+ *
+ * Purpose: Resolve the timers and statistics of an instrumented method without building
+ *          or registering meters on the call path
+ * Pattern: Registry keyed by layer, bean class and method; meters are registered once,
+ *          on the first call of a method
+ * Java 23: ClassValue lookup per bean class, so the steady state is two hash probes
+ * Architecture: Used by PerformanceMonitoringAspect; exposes snapshots for analysis
+ * Standards: Meter names and tags match the earlier aspect (db.query.duration,
+ *            service.method.duration, http.request.duration, custom.method.duration)
+ */
+@Component
+public class MethodMetricsRegistry {
+
+    private static final String BASE_PACKAGE = "com.cafm.cafmbackend";
+
+    /**
+     * Instrumented layer, with its meter name and tag used for the class name.
+     */
+    public enum Layer {
+        REPOSITORY("db.query.duration", null, "Database query execution time"),
+        SERVICE("service.method.duration", "class", "Service method execution time"),
+        CONTROLLER("http.request.duration", "controller", "API endpoint execution time"),
+        CUSTOM("custom.method.duration", null, "Custom monitored method execution time");
+
+        private final String meterName;
+        private final String classTag;
+        private final String description;
+
+        Layer(String meterName, String classTag, String description) {
+            this.meterName = meterName;
+            this.classTag = classTag;
+            this.description = description;
+        }
+
+        public String type() {
+            return name().toLowerCase();
+        }
+    }
+
+    private final MeterRegistry meterRegistry;
+    private final List<ClassValue<ConcurrentHashMap<Method, MethodMeters>>> metersByLayer;
+    private final ConcurrentHashMap<String, MethodMeters> allMeters = new ConcurrentHashMap<>();
+
+    public MethodMetricsRegistry(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+        this.metersByLayer = new ArrayList<>(Layer.values().length);
+        for (int i = 0; i < Layer.values().length; i++) {
+            metersByLayer.add(new ClassValue<>() {
+                @Override
+                protected ConcurrentHashMap<Method, MethodMeters> computeValue(Class<?> type) {
+                    return new ConcurrentHashMap<>();
+                }
+            });
+        }
+    }
+
+    /**
+     * Meters of a method invoked on a bean of the given (possibly proxied) class.
+     *
+     * @param displayName name to use instead of Class.method, or null
+     */
+    public MethodMeters meters(Layer layer, Class<?> beanClass, Method method, String displayName) {
+        ConcurrentHashMap<Method, MethodMeters> methods = metersByLayer.get(layer.ordinal()).get(beanClass);
+        MethodMeters meters = methods.get(method);
+        if (meters == null) {
+            meters = methods.computeIfAbsent(method, m -> register(layer, beanClass, m, displayName));
+        }
+        return meters;
+    }
+
+    public Collection<MethodMeters> getAll() {
+        return allMeters.values();
+    }
+
+    public void resetStats() {
+        allMeters.values().forEach(meters -> meters.stats().reset());
+    }
+
+    private MethodMeters register(Layer layer, Class<?> beanClass, Method method, String displayName) {
+        String className = userClassName(beanClass, method);
+        String methodName = method.getName();
+        String fullName = displayName != null ? displayName : switch (layer) {
+            case REPOSITORY, CUSTOM -> shortString(method);
+            case SERVICE, CONTROLLER -> className + "." + methodName;
+        };
+
+        Tags tags = switch (layer) {
+            case REPOSITORY, CUSTOM -> Tags.of("method", fullName);
+            case SERVICE, CONTROLLER -> Tags.of(layer.classTag, className, "method", methodName);
+        };
+
+        MethodMeters meters = new MethodMeters(
+            layer,
+            fullName,
+            timer(layer, tags, "success"),
+            timer(layer, tags, "failure"),
+            new MethodStats(fullName, layer.type())
+        );
+        // Same method reached through another proxy class shares its statistics
+        MethodMeters existing = allMeters.putIfAbsent(layer.type() + ":" + fullName, meters);
+        return existing != null ? existing : meters;
+    }
+
+    private Timer timer(Layer layer, Tags tags, String status) {
+        return Timer.builder(layer.meterName)
+            .tags(tags)
+            .tag("status", status)
+            .description(layer.description)
+            .register(meterRegistry);
+    }
+
+    /**
+     * Same format as Signature.toShortString() of a Spring AOP join point, e.g.
+     * "CrudRepository.findById(..)", so repository and custom method tags keep their values.
+     */
+    private static String shortString(Method method) {
+        return ClassUtils.getShortName(method.getDeclaringClass()) + "." + method.getName() + "(..)";
+    }
+
+    /**
+     * Application type behind a CGLIB or JDK proxy, e.g. the repository interface.
+     */
+    private static String userClassName(Class<?> beanClass, Method method) {
+        if (Proxy.isProxyClass(beanClass)) {
+            for (Class<?> candidate : beanClass.getInterfaces()) {
+                if (candidate.getName().startsWith(BASE_PACKAGE)) {
+                    return candidate.getSimpleName();
+                }
+            }
+            return method.getDeclaringClass().getSimpleName();
+        }
+        return ClassUtils.getUserClass(beanClass).getSimpleName();
+    }
+
+    /**
+     * Pre-registered meters of one method.
+     */
+    public record MethodMeters(Layer layer, String name, Timer successTimer, Timer failureTimer, MethodStats stats) {
+
+        public void record(long durationNanos, boolean success) {
+            (success ? successTimer : failureTimer).record(durationNanos, TimeUnit.NANOSECONDS);
+            stats.record(durationNanos, success);
+        }
+    }
+}
@@ -0,0 +1,152 @@
+package com.cafm.cafmbackend.aspect;
+
+import org.slf4j.MDC;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Execution statistics of one instrumented method.
+ *
+ * Purpose: Call counts, error rate, latency percentiles and the latest slow calls per method
+ * Pattern: Write-optimised counters read through immutable snapshots
+ * Java 23: Records for snapshots and slow-call exemplars
+ * Architecture: Owned by MethodMetricsRegistry, updated by PerformanceMonitoringAspect
+ * Standards: No locks or allocation on the recording path except for slow calls
+ */
+public final class MethodStats {
+
+    private static final int SLOW_CALL_CAPACITY = 8;
+    private static final double NANOS_PER_MILLI = 1_000_000.0;
+
+    private final String methodName;
+    private final String type;
+    private final LongAdder calls = new LongAdder();
+    private final LongAdder errors = new LongAdder();
+    private final LongAdder totalNanos = new LongAdder();
+    private final LongAccumulator maxNanos = new LongAccumulator(Math::max, 0);
+    private final LatencyHistogram histogram = new LatencyHistogram();
+    private final AtomicReferenceArray<SlowCall> slowCalls = new AtomicReferenceArray<>(SLOW_CALL_CAPACITY);
+    private final AtomicInteger slowCallCursor = new AtomicInteger();
+
+    MethodStats(String methodName, String type) {
+        this.methodName = methodName;
+        this.type = type;
+    }
+
+    void record(long durationNanos, boolean success) {
+        calls.increment();
+        totalNanos.add(durationNanos);
+        maxNanos.accumulate(durationNanos);
+        histogram.record(durationNanos);
+        if (!success) {
+            errors.increment();
+        }
+    }
+
+    /**
+     * Keep a slow call as an exemplar, with the trace id when tracing is active.
+     */
+    void recordSlowCall(long durationNanos, boolean success) {
+        int slot = Math.floorMod(slowCallCursor.getAndIncrement(), SLOW_CALL_CAPACITY);
+        slowCalls.set(slot, new SlowCall(Instant.now(), durationNanos / NANOS_PER_MILLI, success,
+                                         MDC.get("traceId"), Thread.currentThread().getName()));
+    }
+
+    public String getMethodName() {
+        return methodName;
+    }
+
+    public String getType() {
+        return type;
+    }
+
+    public long getCallCount() {
+        return calls.sum();
+    }
+
+    public long getErrorCount() {
+        return errors.sum();
+    }
+
+    /**
+     * Mean execution time in milliseconds.
+     */
+    public double getAverageTime() {
+        long count = calls.sum();
+        return count > 0 ? totalNanos.sum() / NANOS_PER_MILLI / count : 0;
+    }
+
+    public Snapshot snapshot() {
+        long count = calls.sum();
+        long errorCount = errors.sum();
+        List<SlowCall> exemplars = new ArrayList<>(SLOW_CALL_CAPACITY);
+        for (int i = 0; i < SLOW_CALL_CAPACITY; i++) {
+            SlowCall slowCall = slowCalls.get(i);
+            if (slowCall != null) {
+                exemplars.add(slowCall);
+            }
+        }
+        exemplars.sort(Comparator.comparing(SlowCall::at).reversed());
+
+        return new Snapshot(
+            methodName,
+            type,
+            count,
+            errorCount,
+            count > 0 ? (double) errorCount / count * 100 : 0,
+            getAverageTime(),
+            maxNanos.get() / NANOS_PER_MILLI,
+            histogram.valueAtQuantile(0.50) / 1000.0,
+            histogram.valueAtQuantile(0.95) / 1000.0,
+            histogram.valueAtQuantile(0.99) / 1000.0,
+            List.copyOf(exemplars)
+        );
+    }
+
+    void reset() {
+        calls.reset();
+        errors.reset();
+        totalNanos.reset();
+        maxNanos.reset();
+        histogram.reset();
+        for (int i = 0; i < SLOW_CALL_CAPACITY; i++) {
+            slowCalls.set(i, null);
+        }
+    }
+
+    /**
+     * Point-in-time view; times are in milliseconds, error rate in percent.
+     */
+    public record Snapshot(
+        String methodName,
+        String type,
+        long callCount,
+        long errorCount,
+        double errorRate,
+        double averageMs,
+        double maxMs,
+        double p50Ms,
+        double p95Ms,
+        double p99Ms,
+        List<SlowCall> slowCalls
+    ) {
+        @Override
+        public String toString() {
+            return String.format("%s [%s] - Calls: %d, Avg: %.2f ms, p50: %.2f ms, p95: %.2f ms, p99: %.2f ms, Max: %.2f ms, Errors: %d (%.2f%%)",
+                methodName, type, callCount, averageMs, p50Ms, p95Ms, p99Ms, maxMs, errorCount, errorRate);
+        }
+    }
+
+    /**
+     * A call that exceeded the slow threshold of its layer.
+     */
+    public record SlowCall(Instant at, double durationMs, boolean success, String traceId, String thread) {
+    }
+}
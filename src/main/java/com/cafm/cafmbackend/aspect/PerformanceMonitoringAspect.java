@@ -1,11 +1,12 @@
 package com.cafm.cafmbackend.aspect;
 
-import io.micrometer.core.instrument.MeterRegistry;
-import io.micrometer.core.instrument.Timer;
+import com.cafm.cafmbackend.aspect.MethodMetricsRegistry.Layer;
+import com.cafm.cafmbackend.aspect.MethodMetricsRegistry.MethodMeters;
 import org.aspectj.lang.ProceedingJoinPoint;
 import org.aspectj.lang.annotation.Around;
 import org.aspectj.lang.annotation.Aspect;
 import org.aspectj.lang.annotation.Pointcut;
+import org.aspectj.lang.reflect.MethodSignature;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
@@ -15,17 +16,21 @@ import java.lang.annotation.ElementType;
 import java.lang.annotation.Retention;
 import java.lang.annotation.RetentionPolicy;
 import java.lang.annotation.Target;
-import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.atomic.AtomicLong;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
 
 /**
  * Aspect for monitoring performance of critical methods.
  * 
  * Purpose: Track execution time, identify bottlenecks, and alert on slow operations
  * Pattern: AOP cross-cutting concern for performance monitoring
- * Java 23: Uses record patterns for performance data
- * Architecture: Aspect layer for non-invasive monitoring
+ * Java 23: Uses record snapshots for performance data
+ * Architecture: Aspect layer for non-invasive monitoring; meters live in MethodMetricsRegistry
  * Standards: Integrates with Micrometer for metrics collection
+ * Performance: Meters are resolved once per method; the call path is two nanoTime reads,
+ *              a registry lookup and lock-free counter updates
  */
 @Aspect
 @Component
@@ -33,11 +38,9 @@ public class PerformanceMonitoringAspect {
     
     private static final Logger logger = LoggerFactory.getLogger(PerformanceMonitoringAspect.class);
     
-    private final MeterRegistry meterRegistry;
-    private final ConcurrentHashMap<String, MethodPerformanceStats> performanceStats;
+    private final MethodMetricsRegistry methodMetrics;
     
-    @Value("${app.performance.slow-method-threshold-ms:1000}")
-    private long slowMethodThresholdMs;
+    private final long slowMethodThresholdNanos;
     
     @Value("${app.performance.monitoring.enabled:true}")
     private boolean monitoringEnabled;
@@ -45,9 +48,10 @@ public class PerformanceMonitoringAspect {
     @Value("${app.performance.log-slow-queries:true}")
     private boolean logSlowQueries;
     
-    public PerformanceMonitoringAspect(MeterRegistry meterRegistry) {
-        this.meterRegistry = meterRegistry;
-        this.performanceStats = new ConcurrentHashMap<>();
+    public PerformanceMonitoringAspect(MethodMetricsRegistry methodMetrics,
+                                       @Value("${app.performance.slow-method-threshold-ms:1000}") long slowMethodThresholdMs) {
+        this.methodMetrics = methodMetrics;
+        this.slowMethodThresholdNanos = TimeUnit.MILLISECONDS.toNanos(slowMethodThresholdMs);
     }
     
     /**
@@ -62,15 +66,18 @@ public class PerformanceMonitoringAspect {
     }
     
     /**
-     * Pointcut for all repository methods (database operations).
+     * Pointcut for all repository methods (database operations): methods declared in the
+     * repository package, plus CRUD methods Spring Data repositories inherit.
      */
-    @Pointcut("execution(* com.cafm.cafmbackend.data.repository..*(..))")
+    @Pointcut("execution(* com.cafm.cafmbackend.infrastructure.persistence.repository..*(..)) " +
+              "|| this(org.springframework.data.repository.Repository)")
     public void repositoryMethods() {}
     
     /**
      * Pointcut for all service methods (business logic).
      */
-    @Pointcut("execution(* com.cafm.cafmbackend.service..*(..))")
+    @Pointcut("execution(* com.cafm.cafmbackend.application.service..*(..)) " +
+              "|| execution(* com.cafm.cafmbackend.domain.services..*(..))")
     public void serviceMethods() {}
     
     /**
@@ -94,10 +101,8 @@ public class PerformanceMonitoringAspect {
             return joinPoint.proceed();
         }
         
-        String methodName = joinPoint.getSignature().toShortString();
-        Timer.Sample sample = Timer.start(meterRegistry);
-        
-        long startTime = System.currentTimeMillis();
+        MethodMeters meters = meters(Layer.REPOSITORY, joinPoint, null);
+        long startTime = System.nanoTime();
         Object result = null;
         boolean success = false;
         
@@ -106,25 +111,19 @@ public class PerformanceMonitoringAspect {
             success = true;
             return result;
         } finally {
-            long executionTime = System.currentTimeMillis() - startTime;
-            
-            // Record metrics
-            sample.stop(Timer.builder("db.query.duration")
-                    .tag("method", methodName)
-                    .tag("status", success ? "success" : "failure")
-                    .description("Database query execution time")
-                    .register(meterRegistry));
-            
-            // Update stats
-            updateStats("repository", methodName, executionTime, success);
+            long executionTime = System.nanoTime() - startTime;
+            meters.record(executionTime, success);
             
             // Log slow queries
-            if (logSlowQueries && executionTime > slowMethodThresholdMs) {
-                logger.warn("SLOW QUERY detected: {} took {} ms", methodName, executionTime);
+            if (executionTime > slowMethodThresholdNanos) {
+                meters.stats().recordSlowCall(executionTime, success);
+                if (logSlowQueries) {
+                    logger.warn("SLOW QUERY detected: {} took {} ms", meters.name(), toMillis(executionTime));
                 
-                // Log query details if available
-                if (result instanceof java.util.Collection<?> collection) {
-                    logger.warn("Query returned {} results", collection.size());
+                    // Log query details if available
+                    if (result instanceof java.util.Collection<?> collection) {
+                        logger.warn("Query returned {} results", collection.size());
+                    }
                 }
             }
         }
@@ -139,37 +138,23 @@ public class PerformanceMonitoringAspect {
             return joinPoint.proceed();
         }
         
-        String className = joinPoint.getTarget().getClass().getSimpleName();
-        String methodName = joinPoint.getSignature().getName();
-        String fullMethodName = className + "." + methodName;
-        
-        Timer.Sample sample = Timer.start(meterRegistry);
-        long startTime = System.currentTimeMillis();
-        
-        Object result = null;
+        MethodMeters meters = meters(Layer.SERVICE, joinPoint, null);
+        long startTime = System.nanoTime();
         boolean success = false;
         
         try {
-            result = joinPoint.proceed();
+            Object result = joinPoint.proceed();
             success = true;
             return result;
         } finally {
-            long executionTime = System.currentTimeMillis() - startTime;
-            
-            // Record metrics
-            sample.stop(Timer.builder("service.method.duration")
-                    .tag("class", className)
-                    .tag("method", methodName)
-                    .tag("status", success ? "success" : "failure")
-                    .description("Service method execution time")
-                    .register(meterRegistry));
-            
-            // Update stats
-            updateStats("service", fullMethodName, executionTime, success);
+            long executionTime = System.nanoTime() - startTime;
+            meters.record(executionTime, success);
             
             // Log slow methods
-            if (executionTime > slowMethodThresholdMs * 2) {
-                logger.warn("SLOW SERVICE METHOD: {} took {} ms", fullMethodName, executionTime);
+            if (executionTime > slowMethodThresholdNanos * 2) {
+                meters.stats().recordSlowCall(executionTime, success);
+                logger.warn("SLOW SERVICE METHOD: {} took {} ms", meters.name(), toMillis(executionTime));
+                warnIfConsistentlySlow(meters);
             }
         }
     }
@@ -183,44 +168,29 @@ public class PerformanceMonitoringAspect {
             return joinPoint.proceed();
         }
         
-        String className = joinPoint.getTarget().getClass().getSimpleName();
-        String methodName = joinPoint.getSignature().getName();
-        String endpoint = className + "." + methodName;
-        
-        Timer.Sample sample = Timer.start(meterRegistry);
-        long startTime = System.currentTimeMillis();
-        
-        Object result = null;
+        MethodMeters meters = meters(Layer.CONTROLLER, joinPoint, null);
+        long startTime = System.nanoTime();
         boolean success = false;
         
         try {
-            result = joinPoint.proceed();
+            Object result = joinPoint.proceed();
             success = true;
             return result;
         } finally {
-            long executionTime = System.currentTimeMillis() - startTime;
-            
-            // Record metrics
-            sample.stop(Timer.builder("http.request.duration")
-                    .tag("controller", className)
-                    .tag("method", methodName)
-                    .tag("status", success ? "success" : "failure")
-                    .description("API endpoint execution time")
-                    .register(meterRegistry));
-            
-            // Update stats
-            updateStats("controller", endpoint, executionTime, success);
+            long executionTime = System.nanoTime() - startTime;
+            meters.record(executionTime, success);
             
             // Log slow endpoints
-            if (executionTime > slowMethodThresholdMs) {
-                logger.warn("SLOW API ENDPOINT: {} took {} ms", endpoint, executionTime);
-            }
+            if (executionTime > slowMethodThresholdNanos) {
+                meters.stats().recordSlowCall(executionTime, success);
+                logger.warn("SLOW API ENDPOINT: {} took {} ms", meters.name(), toMillis(executionTime));
             
-            // Alert on very slow endpoints
-            if (executionTime > slowMethodThresholdMs * 5) {
-                logger.error("CRITICAL: API endpoint {} took {} ms - possible performance issue!", 
-                           endpoint, executionTime);
-                // Could trigger alerts here
+                // Alert on very slow endpoints
+                if (executionTime > slowMethodThresholdNanos * 5) {
+                    logger.error("CRITICAL: API endpoint {} took {} ms - possible performance issue!",
+                               meters.name(), toMillis(executionTime));
+                }
+                warnIfConsistentlySlow(meters);
             }
         }
     }
@@ -235,150 +205,76 @@ public class PerformanceMonitoringAspect {
             return joinPoint.proceed();
         }
         
-        String methodName = monitorPerformance.value().isEmpty() 
-            ? joinPoint.getSignature().toShortString() 
-            : monitorPerformance.value();
-        
-        long startTime = System.currentTimeMillis();
+        MethodMeters meters = meters(Layer.CUSTOM, joinPoint,
+            monitorPerformance.value().isEmpty() ? null : monitorPerformance.value());
         
         // Log method arguments if requested
         if (monitorPerformance.logArgs()) {
-            logger.debug("Executing {} with args: {}", methodName, joinPoint.getArgs());
+            logger.debug("Executing {} with args: {}", meters.name(), joinPoint.getArgs());
         }
         
-        Object result = null;
+        long startTime = System.nanoTime();
         boolean success = false;
         
         try {
-            result = joinPoint.proceed();
+            Object result = joinPoint.proceed();
             success = true;
             
             // Log result if requested
             if (monitorPerformance.logResult()) {
-                logger.debug("Method {} returned: {}", methodName, result);
+                logger.debug("Method {} returned: {}", meters.name(), result);
             }
             
             return result;
         } finally {
-            long executionTime = System.currentTimeMillis() - startTime;
-            
-            // Record custom metric
-            meterRegistry.timer("custom.method.duration", "method", methodName)
-                        .record(executionTime, java.util.concurrent.TimeUnit.MILLISECONDS);
-            
-            logger.info("Method {} executed in {} ms", methodName, executionTime);
-        }
-    }
-    
-    /**
-     * Update performance statistics for a method.
-     */
-    private void updateStats(String type, String methodName, long executionTime, boolean success) {
-        String key = type + ":" + methodName;
-        
-        performanceStats.compute(key, (k, stats) -> {
-            if (stats == null) {
-                stats = new MethodPerformanceStats(methodName, type);
+            long executionTime = System.nanoTime() - startTime;
+            meters.record(executionTime, success);
+            if (executionTime > slowMethodThresholdNanos) {
+                meters.stats().recordSlowCall(executionTime, success);
             }
-            stats.recordExecution(executionTime, success);
-            return stats;
-        });
-        
-        // Check if method is consistently slow
-        MethodPerformanceStats stats = performanceStats.get(key);
-        if (stats != null && stats.getAverageTime() > slowMethodThresholdMs && stats.getCallCount() > 10) {
-            logger.warn("Performance Alert: {} consistently slow - Avg: {} ms, Count: {}", 
-                       methodName, stats.getAverageTime(), stats.getCallCount());
+            
+            logger.debug("Method {} executed in {} ms", meters.name(), toMillis(executionTime));
         }
     }
     
     /**
-     * Get performance statistics for analysis.
+     * Get performance statistics for analysis, slowest mean first.
      */
-    public ConcurrentHashMap<String, MethodPerformanceStats> getPerformanceStats() {
-        return new ConcurrentHashMap<>(performanceStats);
+    public Map<String, MethodStats.Snapshot> getPerformanceStats() {
+        Map<String, MethodStats.Snapshot> snapshots = new LinkedHashMap<>();
+        methodMetrics.getAll().stream()
+            .map(meters -> meters.stats().snapshot())
+            .sorted(Comparator.comparingDouble(MethodStats.Snapshot::averageMs).reversed())
+            .forEach(snapshot -> snapshots.put(snapshot.type() + ":" + snapshot.methodName(), snapshot));
+        return snapshots;
     }
     
     /**
      * Reset performance statistics.
      */
     public void resetStats() {
-        performanceStats.clear();
+        methodMetrics.resetStats();
         logger.info("Performance statistics reset");
     }
     
+    private MethodMeters meters(Layer layer, ProceedingJoinPoint joinPoint, String displayName) {
+        Object bean = joinPoint.getThis();
+        Class<?> beanClass = bean != null ? bean.getClass() : joinPoint.getSignature().getDeclaringType();
+        return methodMetrics.meters(layer, beanClass, ((MethodSignature) joinPoint.getSignature()).getMethod(), displayName);
+    }
+    
     /**
-     * Inner class for tracking method performance statistics.
+     * Check if method is consistently slow; only evaluated on slow calls.
      */
-    public static class MethodPerformanceStats {
-        private final String methodName;
-        private final String type;
-        private final AtomicLong totalTime = new AtomicLong(0);
-        private final AtomicLong callCount = new AtomicLong(0);
-        private final AtomicLong errorCount = new AtomicLong(0);
-        private volatile long minTime = Long.MAX_VALUE;
-        private volatile long maxTime = 0;
-        private volatile long lastExecutionTime = 0;
-        
-        public MethodPerformanceStats(String methodName, String type) {
-            this.methodName = methodName;
-            this.type = type;
-        }
-        
-        public void recordExecution(long executionTime, boolean success) {
-            totalTime.addAndGet(executionTime);
-            callCount.incrementAndGet();
-            
-            if (!success) {
-                errorCount.incrementAndGet();
-            }
-            
-            lastExecutionTime = executionTime;
-            
-            // Update min/max
-            if (executionTime < minTime) {
-                minTime = executionTime;
-            }
-            if (executionTime > maxTime) {
-                maxTime = executionTime;
-            }
-        }
-        
-        public long getAverageTime() {
-            long count = callCount.get();
-            return count > 0 ? totalTime.get() / count : 0;
-        }
-        
-        public long getCallCount() {
-            return callCount.get();
-        }
-        
-        public long getErrorCount() {
-            return errorCount.get();
-        }
-        
-        public double getErrorRate() {
-            long count = callCount.get();
-            return count > 0 ? (double) errorCount.get() / count * 100 : 0;
-        }
-        
-        public long getMinTime() {
-            return minTime == Long.MAX_VALUE ? 0 : minTime;
-        }
-        
-        public long getMaxTime() {
-            return maxTime;
-        }
-        
-        public long getLastExecutionTime() {
-            return lastExecutionTime;
-        }
-        
-        @Override
-        public String toString() {
-            return String.format("%s [%s] - Calls: %d, Avg: %d ms, Min: %d ms, Max: %d ms, Errors: %d (%.2f%%)",
-                methodName, type, callCount.get(), getAverageTime(), 
-                getMinTime(), maxTime, errorCount.get(), getErrorRate());
+    private void warnIfConsistentlySlow(MethodMeters meters) {
+        MethodStats stats = meters.stats();
+        if (stats.getCallCount() > 10 && stats.getAverageTime() > toMillis(slowMethodThresholdNanos)) {
+            logger.warn("Performance Alert: {} consistently slow - Avg: {} ms, Count: {}",
+                       meters.name(), Math.round(stats.getAverageTime()), stats.getCallCount());
         }
     }
+    
+    private static long toMillis(long nanos) {
+        return TimeUnit.NANOSECONDS.toMillis(nanos);
+    }
 }
\ No newline at end of file
@@ -176,6 +176,34 @@ public class AsyncConfig implements AsyncConfigurer {
         return executor;
     }
     
+    /**
+     * Export job executor, kept apart from request-path async work.
+     * Bounded in threads and queue; submissions beyond the queue are rejected
+     * and reported back on the job instead of running on the caller.
+     */
+    @Bean(name = "exportJobExecutor")
+    public ThreadPoolTaskExecutor exportJobExecutor(
+            @Value("${app.export.jobs.concurrency:2}") int concurrency,
+            @Value("${app.export.jobs.queue-capacity:50}") int exportQueueCapacity) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+
+        executor.setCorePoolSize(concurrency);
+        executor.setMaxPoolSize(concurrency);
+        executor.setQueueCapacity(exportQueueCapacity);
+        executor.setThreadNamePrefix("ExportJob-");
+
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.AbortPolicy());
+
+        executor.setWaitForTasksToCompleteOnShutdown(false);
+        executor.setAwaitTerminationSeconds(30);
+
+        executor.initialize();
+
+        logger.info("Configured export job executor with {} threads, queue capacity: {}",
+                   concurrency, exportQueueCapacity);
+        return executor;
+    }
+
     /**
      * Scheduled task executor for periodic operations.
      */
@@ -0,0 +1,122 @@
+package com.cafm.cafmbackend.configuration.cache;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+
+/**
+ * Cross-node invalidation of local cache tiers over Redis pub/sub.
+ *
+ * Purpose: Tell other nodes to drop local copies after this node changed a cache entry
+ * Pattern: Publish/subscribe; message format is "op|nodeId|cacheName|key"
+ * Java 23: Pattern-matching switch over operations
+ * Architecture: Publisher used by TwoTierCache, listener registered by TenantAwareCacheConfig
+ * Standards: Messages from this node are ignored; publish failures are logged, never thrown,
+ *            so the local TTL bounds staleness when Redis is unreachable
+ */
+@Component
+public class CacheInvalidationBus implements MessageListener {
+
+    private static final Logger logger = LoggerFactory.getLogger(CacheInvalidationBus.class);
+
+    static final String OP_EVICT = "E";
+    static final String OP_EVICT_PREFIX = "P";
+    static final String OP_CLEAR = "C";
+
+    private final StringRedisTemplate redisTemplate;
+    private final String channel;
+    private final String nodeId = UUID.randomUUID().toString();
+
+    private volatile TwoTierCacheManager cacheManager;
+    private final Map<String, LocalHandler> localHandlers = new ConcurrentHashMap<>();
+
+    public CacheInvalidationBus(StringRedisTemplate redisTemplate,
+                                @Value("${app.cache.near-cache.channel:cafm:cache:invalidation}") String channel) {
+        this.redisTemplate = redisTemplate;
+        this.channel = channel;
+    }
+
+    void bind(TwoTierCacheManager cacheManager) {
+        this.cacheManager = cacheManager;
+    }
+
+    /**
+     * Route invalidations of a cache that is not managed by TwoTierCacheManager
+     * (e.g. a plain in-process cache) to the given callbacks.
+     */
+    public void registerLocalHandler(String cacheName, Consumer<String> onEvict, Runnable onClear) {
+        localHandlers.put(cacheName, new LocalHandler(onEvict, onClear));
+    }
+
+    public String getChannel() {
+        return channel;
+    }
+
+    public String getNodeId() {
+        return nodeId;
+    }
+
+    public void publishEvict(String cacheName, String key) {
+        publish(OP_EVICT + "|" + nodeId + "|" + cacheName + "|" + key);
+    }
+
+    public void publishEvictPrefix(String cacheName, String keyPrefix) {
+        publish(OP_EVICT_PREFIX + "|" + nodeId + "|" + cacheName + "|" + keyPrefix);
+    }
+
+    public void publishClear(String cacheName) {
+        publish(OP_CLEAR + "|" + nodeId + "|" + cacheName + "|");
+    }
+
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        // Key may itself contain '|', so it is always the last, unsplit part
+        String[] parts = new String(message.getBody(), StandardCharsets.UTF_8).split("\\|", 4);
+        if (parts.length < 4 || nodeId.equals(parts[1])) {
+            return;
+        }
+
+        LocalHandler handler = localHandlers.get(parts[2]);
+        if (handler != null) {
+            switch (parts[0]) {
+                case OP_EVICT -> handler.onEvict().accept(parts[3]);
+                case OP_CLEAR, OP_EVICT_PREFIX -> handler.onClear().run();
+                default -> logger.debug("Ignoring unknown cache invalidation message: {}", parts[0]);
+            }
+            return;
+        }
+
+        TwoTierCacheManager manager = cacheManager;
+        if (manager == null) {
+            return;
+        }
+
+        switch (parts[0]) {
+            case OP_EVICT -> manager.evictLocal(parts[2], parts[3]);
+            case OP_EVICT_PREFIX -> manager.evictLocalByPrefix(parts[2], parts[3]);
+            case OP_CLEAR -> manager.clearLocal(parts[2]);
+            default -> logger.debug("Ignoring unknown cache invalidation message: {}", parts[0]);
+        }
+    }
+
+    private record LocalHandler(Consumer<String> onEvict, Runnable onClear) {
+    }
+
+    private void publish(String payload) {
+        try {
+            redisTemplate.convertAndSend(channel, payload);
+        } catch (RuntimeException e) {
+            logger.warn("Could not publish cache invalidation on '{}': {}", channel, e.getMessage());
+        }
+    }
+}
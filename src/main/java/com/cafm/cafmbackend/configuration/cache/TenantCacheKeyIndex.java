@@ -0,0 +1,86 @@
+package com.cafm.cafmbackend.configuration.cache;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.connection.StringRedisConnection;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Per-tenant index of the keys written to each cache.
+ *
+ * Purpose: Let one tenant's entries be evicted without clearing the cache for every tenant
+ * Pattern: Tag set per (cache, tenant) in Redis; written on put, drained on tenant eviction
+ * Java 23: Pipelined SADD + EXPIRE so indexing costs one round trip per write
+ * Architecture: Used by TenantAwareCache; eviction cost is O(keys of that tenant)
+ * Standards: The index outlives entries by its own TTL; members whose entries already expired
+ *            are harmless because evicting a missing key is a no-op
+ */
+@Component
+public class TenantCacheKeyIndex {
+
+    private static final Logger logger = LoggerFactory.getLogger(TenantCacheKeyIndex.class);
+
+    private static final String INDEX_PREFIX = "cafm:cache-index:";
+
+    private final StringRedisTemplate redisTemplate;
+    private final long indexTtlSeconds;
+
+    public TenantCacheKeyIndex(StringRedisTemplate redisTemplate,
+                               @Value("${app.cache.tenant-index.ttl:PT25H}") Duration indexTtl) {
+        this.redisTemplate = redisTemplate;
+        this.indexTtlSeconds = indexTtl.toSeconds();
+    }
+
+    /**
+     * Record that a tenant wrote a key to a cache.
+     */
+    public void add(String cacheName, UUID tenantId, String key) {
+        String indexKey = indexKey(cacheName, tenantId);
+        try {
+            redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+                StringRedisConnection stringConnection = (StringRedisConnection) connection;
+                stringConnection.sAdd(indexKey, key);
+                stringConnection.expire(indexKey, indexTtlSeconds);
+                return null;
+            });
+        } catch (RuntimeException e) {
+            logger.warn("Could not index cache key for tenant {} in '{}': {}", tenantId, cacheName, e.getMessage());
+        }
+    }
+
+    /**
+     * Remove a single key from a tenant's index.
+     */
+    public void remove(String cacheName, UUID tenantId, String key) {
+        try {
+            redisTemplate.opsForSet().remove(indexKey(cacheName, tenantId), key);
+        } catch (RuntimeException e) {
+            logger.debug("Could not unindex cache key for tenant {} in '{}': {}", tenantId, cacheName, e.getMessage());
+        }
+    }
+
+    /**
+     * Return and unindex every key indexed for a tenant in a cache.
+     * Only the returned members are removed, so keys written meanwhile stay indexed.
+     */
+    public Set<String> drain(String cacheName, UUID tenantId) {
+        String indexKey = indexKey(cacheName, tenantId);
+        Set<String> keys = redisTemplate.opsForSet().members(indexKey);
+        if (keys == null || keys.isEmpty()) {
+            return Set.of();
+        }
+        redisTemplate.opsForSet().remove(indexKey, keys.toArray());
+        return keys;
+    }
+
+    private static String indexKey(String cacheName, UUID tenantId) {
+        return INDEX_PREFIX + cacheName + ":" + tenantId;
+    }
+}
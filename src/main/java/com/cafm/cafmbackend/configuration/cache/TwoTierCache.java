@@ -0,0 +1,255 @@
+package com.cafm.cafmbackend.configuration.cache;
+
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import org.springframework.cache.Cache;
+import org.springframework.cache.support.SimpleValueWrapper;
+import org.springframework.data.redis.serializer.RedisSerializer;
+import org.springframework.data.redis.serializer.SerializationException;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.Collection;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.Callable;
+
+/**
+ * Cache with a bounded in-process tier in front of a shared remote tier.
+ *
+ * Purpose: Serve hot entries from local memory while Redis stays the shared source of truth
+ * Pattern: Near-cache decorator; reads fall through L1 -> L2, writes go through to L2
+ * Java 23: Caffeine local tier keyed by the string form of the cache key
+ * Architecture: Wrapped by TenantAwareCache, so local keys carry the same tenant prefix as Redis keys
+ * Standards: Every local mutation is announced on the invalidation bus so other nodes drop
+ *            their copy; remote failures propagate to the cache error handler as before.
+ *            Like the remote tier, the local tier never hands two callers the same mutable
+ *            instance: such values are kept serialized and every hit gets its own copy
+ */
+public class TwoTierCache implements Cache {
+
+    // Values of these types cannot change, so the local tier may share one instance between callers
+    private static final Set<Class<?>> IMMUTABLE_TYPES = Set.of(
+        String.class, Boolean.class, Character.class, Byte.class, Short.class, Integer.class, Long.class,
+        Float.class, Double.class, BigDecimal.class, BigInteger.class, UUID.class);
+
+    private final Cache remote;
+    private final com.github.benmanes.caffeine.cache.Cache<String, Object> local;
+    private final CacheInvalidationBus invalidationBus;
+    private final RedisSerializer<Object> valueSerializer;
+
+    /**
+     * @param valueSerializer serializer of the remote tier, used to keep local copies of mutable values
+     */
+    public TwoTierCache(Cache remote,
+                        com.github.benmanes.caffeine.cache.Cache<String, Object> local,
+                        CacheInvalidationBus invalidationBus,
+                        RedisSerializer<Object> valueSerializer) {
+        this.remote = remote;
+        this.local = local;
+        this.invalidationBus = invalidationBus;
+        this.valueSerializer = valueSerializer;
+    }
+
+    @Override
+    public String getName() {
+        return remote.getName();
+    }
+
+    @Override
+    public Object getNativeCache() {
+        return remote.getNativeCache();
+    }
+
+    @Override
+    public ValueWrapper get(Object key) {
+        String localKey = localKey(key);
+        Object value = getLocal(localKey);
+        if (value != null) {
+            return new SimpleValueWrapper(value);
+        }
+
+        ValueWrapper wrapper = remote.get(key);
+        if (wrapper != null && wrapper.get() != null) {
+            putLocal(localKey, wrapper.get());
+        }
+        return wrapper;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T get(Object key, Class<T> type) {
+        ValueWrapper wrapper = get(key);
+        Object value = wrapper != null ? wrapper.get() : null;
+        if (value != null && type != null && !type.isInstance(value)) {
+            throw new IllegalStateException(
+                "Cached value is not of required type [" + type.getName() + "]: " + value);
+        }
+        return (T) value;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T get(Object key, Callable<T> valueLoader) {
+        String localKey = localKey(key);
+        Object value = getLocal(localKey);
+        if (value != null) {
+            return (T) value;
+        }
+
+        T loaded = remote.get(key, valueLoader);
+        if (loaded != null) {
+            putLocal(localKey, loaded);
+        }
+        return loaded;
+    }
+
+    @Override
+    public void put(Object key, Object value) {
+        remote.put(key, value);
+        String localKey = localKey(key);
+        if (value != null) {
+            putLocal(localKey, value);
+        } else {
+            local.invalidate(localKey);
+        }
+        invalidationBus.publishEvict(getName(), localKey);
+    }
+
+    @Override
+    public ValueWrapper putIfAbsent(Object key, Object value) {
+        ValueWrapper existing = remote.putIfAbsent(key, value);
+        String localKey = localKey(key);
+        if (existing != null && existing.get() != null) {
+            putLocal(localKey, existing.get());
+        } else if (existing == null && value != null) {
+            putLocal(localKey, value);
+            invalidationBus.publishEvict(getName(), localKey);
+        }
+        return existing;
+    }
+
+    @Override
+    public void evict(Object key) {
+        remote.evict(key);
+        evictLocalAndPublish(key);
+    }
+
+    @Override
+    public boolean evictIfPresent(Object key) {
+        boolean evicted = remote.evictIfPresent(key);
+        evictLocalAndPublish(key);
+        return evicted;
+    }
+
+    @Override
+    public void clear() {
+        remote.clear();
+        local.invalidateAll();
+        invalidationBus.publishClear(getName());
+    }
+
+    @Override
+    public boolean invalidate() {
+        boolean invalidated = remote.invalidate();
+        local.invalidateAll();
+        invalidationBus.publishClear(getName());
+        return invalidated;
+    }
+
+    /**
+     * Evict a known set of keys remotely and every local entry under a key prefix,
+     * announcing the prefix once instead of once per key.
+     */
+    public void evictAll(Collection<?> keys, String localKeyPrefix) {
+        for (Object key : keys) {
+            remote.evict(key);
+        }
+        evictLocalByPrefix(localKeyPrefix);
+        invalidationBus.publishEvictPrefix(getName(), localKeyPrefix);
+    }
+
+    // ========== Local Tier ==========
+
+    /**
+     * Local value for a key, as a copy of its own unless the value is immutable; null on a miss.
+     */
+    private Object getLocal(String localKey) {
+        Object stored = local.getIfPresent(localKey);
+        if (!(stored instanceof SerializedValue serialized)) {
+            return stored;
+        }
+        try {
+            return valueSerializer.deserialize(serialized.bytes());
+        } catch (SerializationException e) {
+            local.invalidate(localKey);
+            return null;
+        }
+    }
+
+    /**
+     * Keep a value locally; mutable values are stored serialized so no caller can change the cached state.
+     * A value the serializer cannot handle is not kept locally and is served from the remote tier.
+     */
+    private void putLocal(String localKey, Object value) {
+        if (isImmutable(value)) {
+            local.put(localKey, value);
+            return;
+        }
+        try {
+            local.put(localKey, new SerializedValue(valueSerializer.serialize(value)));
+        } catch (SerializationException e) {
+            local.invalidate(localKey);
+        }
+    }
+
+    private static boolean isImmutable(Object value) {
+        return IMMUTABLE_TYPES.contains(value.getClass()) || value instanceof Enum<?>
+            || value.getClass().getPackageName().equals("java.time");
+    }
+
+    /**
+     * Drop a single entry from this node only (remote invalidation message).
+     */
+    void evictLocal(String localKey) {
+        local.invalidate(localKey);
+    }
+
+    /**
+     * Drop entries under a key prefix from this node only.
+     */
+    void evictLocalByPrefix(String localKeyPrefix) {
+        local.asMap().keySet().removeIf(key -> key.startsWith(localKeyPrefix));
+    }
+
+    /**
+     * Drop every entry from this node only (remote invalidation message).
+     */
+    void clearLocal() {
+        local.invalidateAll();
+    }
+
+    public long getLocalSize() {
+        return local.estimatedSize();
+    }
+
+    public CacheStats getLocalStats() {
+        return local.stats();
+    }
+
+    public Cache getRemoteCache() {
+        return remote;
+    }
+
+    private void evictLocalAndPublish(Object key) {
+        String localKey = localKey(key);
+        local.invalidate(localKey);
+        invalidationBus.publishEvict(getName(), localKey);
+    }
+
+    private static String localKey(Object key) {
+        return String.valueOf(key);
+    }
+
+    private record SerializedValue(byte[] bytes) {
+    }
+}
@@ -0,0 +1,115 @@
+package com.cafm.cafmbackend.configuration.cache;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.data.redis.serializer.RedisSerializer;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Cache manager that puts a per-node Caffeine tier in front of every remote cache.
+ *
+ * Purpose: Build and track TwoTierCache instances with per-cache local size and TTL
+ * Pattern: Decorating cache manager; remote caches are created lazily by the delegate
+ * Java 23: Records for local tier specifications
+ * Architecture: Sits between TenantAwareCacheManager and RedisCacheManager
+ * Standards: Local TTL never exceeds the remote TTL of the same cache
+ */
+public class TwoTierCacheManager implements CacheManager {
+
+    private final CacheManager remoteCacheManager;
+    private final Map<String, LocalCacheSpec> localSpecs;
+    private final LocalCacheSpec defaultLocalSpec;
+    private final CacheInvalidationBus invalidationBus;
+    private final RedisSerializer<Object> valueSerializer;
+    private final ConcurrentMap<String, TwoTierCache> caches = new ConcurrentHashMap<>();
+
+    /**
+     * @param valueSerializer value serializer of the remote caches; local copies of mutable values use it too
+     */
+    public TwoTierCacheManager(CacheManager remoteCacheManager,
+                               Map<String, LocalCacheSpec> localSpecs,
+                               LocalCacheSpec defaultLocalSpec,
+                               CacheInvalidationBus invalidationBus,
+                               RedisSerializer<Object> valueSerializer) {
+        this.remoteCacheManager = remoteCacheManager;
+        this.localSpecs = Map.copyOf(localSpecs);
+        this.defaultLocalSpec = defaultLocalSpec;
+        this.invalidationBus = invalidationBus;
+        this.valueSerializer = valueSerializer;
+        invalidationBus.bind(this);
+    }
+
+    @Override
+    public Cache getCache(String name) {
+        return caches.computeIfAbsent(name, this::createCache);
+    }
+
+    @Override
+    public Collection<String> getCacheNames() {
+        return remoteCacheManager.getCacheNames();
+    }
+
+    /**
+     * Caches created on this node so far, for metrics and health reporting.
+     */
+    public Collection<TwoTierCache> getCaches() {
+        return caches.values();
+    }
+
+    // ========== Remote Invalidation ==========
+
+    void evictLocal(String cacheName, String localKey) {
+        TwoTierCache cache = caches.get(cacheName);
+        if (cache != null) {
+            cache.evictLocal(localKey);
+        }
+    }
+
+    void evictLocalByPrefix(String cacheName, String localKeyPrefix) {
+        TwoTierCache cache = caches.get(cacheName);
+        if (cache != null) {
+            cache.evictLocalByPrefix(localKeyPrefix);
+        }
+    }
+
+    void clearLocal(String cacheName) {
+        TwoTierCache cache = caches.get(cacheName);
+        if (cache != null) {
+            cache.clearLocal();
+        }
+    }
+
+    private TwoTierCache createCache(String name) {
+        Cache remote = remoteCacheManager.getCache(name);
+        if (remote == null) {
+            return null;
+        }
+
+        LocalCacheSpec spec = localSpecs.getOrDefault(name, defaultLocalSpec);
+        com.github.benmanes.caffeine.cache.Cache<String, Object> local = Caffeine.newBuilder()
+            .maximumSize(spec.maximumSize())
+            .expireAfterWrite(spec.ttl())
+            .recordStats()
+            .build();
+        return new TwoTierCache(remote, local, invalidationBus, valueSerializer);
+    }
+
+    /**
+     * Size bound and time-to-live of a cache's local tier.
+     */
+    public record LocalCacheSpec(long maximumSize, Duration ttl) {
+
+        /**
+         * Same size bound with the TTL capped at the given duration.
+         */
+        public LocalCacheSpec cappedAt(Duration maxTtl) {
+            return ttl.compareTo(maxTtl) > 0 ? new LocalCacheSpec(maximumSize, maxTtl) : this;
+        }
+    }
+}
@@ -1,7 +1,10 @@
 package com.cafm.cafmbackend.configuration.database;
 
+import com.cafm.cafmbackend.application.service.tenant.TenantContextService;
 import com.zaxxer.hikari.HikariConfig;
 import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.context.annotation.Bean;
@@ -62,6 +65,9 @@ public class DataSourceConfig {
     @Value("${spring.datasource.hikari.register-mbeans:false}")
     private boolean registerMbeans;
     
+    @Value("${app.tenant.rls-context.enabled:true}")
+    private boolean tenantRlsContextEnabled;
+    
     /**
      * Configure optimized HikariCP data source
      */
@@ -73,7 +79,7 @@ public class DataSourceConfig {
         havingValue = "true",
         matchIfMissing = true
     )
-    public DataSource dataSource() {
+    public DataSource dataSource(ObjectProvider<MeterRegistry> meterRegistry) {
         HikariConfig config = new HikariConfig();
         
         // Basic configuration
@@ -122,7 +128,14 @@ public class DataSourceConfig {
         // Register MBeans for monitoring - respect application property to prevent conflicts
         config.setRegisterMbeans(registerMbeans);
         
-        return new HikariDataSource(config);
+        HikariDataSource pool = new HikariDataSource(config);
+        if (!tenantRlsContextEnabled) {
+            return pool;
+        }
+        
+        // RLS tenant is set on each connection before its first statement, only when it differs
+        return new TenantAwareDataSource(pool, TenantContextService::peekCurrentTenant,
+            meterRegistry.getIfAvailable());
     }
     
     /**
@@ -0,0 +1,121 @@
+package com.cafm.cafmbackend.configuration.database;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * SQL activity of the current request.
+ *
+ * Purpose: Count statements, loaded rows and JDBC execution time per HTTP request,
+ *          and spot statements repeated with different parameters (N+1)
+ * Pattern: Thread-bound collector fed by Hibernate hooks, opened and closed by SqlBudgetFilter
+ * Java 23: Plain fields; only the owning request thread writes them
+ * Architecture: Written by SqlInstrumentationConfig hooks, read by SqlBudgetFilter
+ * Standards: Work outside a request (schedulers, async executors) is not tracked
+ */
+public final class RequestSqlStats {
+
+    private static final ThreadLocal<RequestSqlStats> CURRENT = new ThreadLocal<>();
+
+    /** Distinct statements tracked per request; beyond this only totals are counted */
+    private static final int MAX_DISTINCT_STATEMENTS = 1000;
+
+    private final Map<String, Integer> statementCounts = new HashMap<>();
+    private int statements;
+    private long rows;
+    private long executionNanos;
+    private String mostRepeatedStatement;
+    private int mostRepeatedCount;
+
+    private RequestSqlStats() {
+    }
+
+    /**
+     * Start collecting for the current thread.
+     */
+    public static RequestSqlStats begin() {
+        RequestSqlStats stats = new RequestSqlStats();
+        CURRENT.set(stats);
+        return stats;
+    }
+
+    /**
+     * Stop collecting for the current thread.
+     */
+    public static void end() {
+        CURRENT.remove();
+    }
+
+    /**
+     * Collector of the current request, or null outside a tracked request.
+     */
+    public static RequestSqlStats current() {
+        return CURRENT.get();
+    }
+
+    static void onStatement(String sql) {
+        RequestSqlStats stats = CURRENT.get();
+        if (stats == null) {
+            return;
+        }
+        stats.statements++;
+
+        Integer count = stats.statementCounts.get(sql);
+        if (count == null) {
+            if (stats.statementCounts.size() >= MAX_DISTINCT_STATEMENTS) {
+                return;
+            }
+            count = 0;
+        }
+        count++;
+        stats.statementCounts.put(sql, count);
+        if (count > stats.mostRepeatedCount) {
+            stats.mostRepeatedCount = count;
+            stats.mostRepeatedStatement = sql;
+        }
+    }
+
+    static void onRowsLoaded(int loaded) {
+        RequestSqlStats stats = CURRENT.get();
+        if (stats != null) {
+            stats.rows += loaded;
+        }
+    }
+
+    static void onExecution(long nanos) {
+        RequestSqlStats stats = CURRENT.get();
+        if (stats != null) {
+            stats.executionNanos += nanos;
+        }
+    }
+
+    public int getStatements() {
+        return statements;
+    }
+
+    /**
+     * Entity rows hydrated by Hibernate; scalar projections are not counted.
+     */
+    public long getRows() {
+        return rows;
+    }
+
+    public long getExecutionNanos() {
+        return executionNanos;
+    }
+
+    public int getDistinctStatements() {
+        return statementCounts.size();
+    }
+
+    /**
+     * Highest number of times one statement text ran in this request.
+     */
+    public int getMostRepeatedCount() {
+        return mostRepeatedCount;
+    }
+
+    public String getMostRepeatedStatement() {
+        return mostRepeatedStatement;
+    }
+}
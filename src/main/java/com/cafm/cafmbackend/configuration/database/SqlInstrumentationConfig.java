@@ -0,0 +1,88 @@
+package com.cafm.cafmbackend.configuration.database;
+
+import org.hibernate.Interceptor;
+import org.hibernate.SessionEventListener;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.hibernate.type.Type;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Hibernate hooks feeding per-request SQL statistics.
+ *
+ * Purpose: Make query storms and N+1 patterns visible per request and endpoint
+ * Pattern: StatementInspector counts statements, a session event listener times JDBC
+ *          executions and an interceptor counts hydrated entity rows
+ * Java 23: Stateless hooks; all state lives in the thread-bound RequestSqlStats
+ * Architecture: Database configuration layer; results are reported by SqlBudgetFilter
+ * Standards: Enabled with app.sql-budget.enabled; the hooks are no-ops outside a request
+ */
+@Configuration
+@ConditionalOnProperty(name = "app.sql-budget.enabled", havingValue = "true", matchIfMissing = true)
+public class SqlInstrumentationConfig {
+
+    @Bean
+    public HibernatePropertiesCustomizer sqlInstrumentationCustomizer() {
+        return properties -> {
+            properties.put(AvailableSettings.STATEMENT_INSPECTOR, new CountingStatementInspector());
+            properties.put(AvailableSettings.INTERCEPTOR, new RowCountingInterceptor());
+            properties.put(AvailableSettings.AUTO_SESSION_EVENTS_LISTENER, TimingSessionEventListener.class.getName());
+        };
+    }
+
+    /**
+     * Counts every statement Hibernate prepares; the SQL is returned unchanged.
+     */
+    static class CountingStatementInspector implements StatementInspector {
+
+        @Override
+        public String inspect(String sql) {
+            RequestSqlStats.onStatement(sql);
+            return sql;
+        }
+    }
+
+    /**
+     * Counts entity rows hydrated from result sets.
+     */
+    static class RowCountingInterceptor implements Interceptor {
+
+        @Override
+        public boolean onLoad(Object entity, Object id, Object[] state, String[] propertyNames, Type[] types) {
+            RequestSqlStats.onRowsLoaded(1);
+            return false;
+        }
+    }
+
+    /**
+     * Times JDBC statement and batch executions; one instance per session.
+     */
+    public static class TimingSessionEventListener implements SessionEventListener {
+
+        private long executionStart;
+        private long batchStart;
+
+        @Override
+        public void jdbcExecuteStatementStart() {
+            executionStart = System.nanoTime();
+        }
+
+        @Override
+        public void jdbcExecuteStatementEnd() {
+            RequestSqlStats.onExecution(System.nanoTime() - executionStart);
+        }
+
+        @Override
+        public void jdbcExecuteBatchStart() {
+            batchStart = System.nanoTime();
+        }
+
+        @Override
+        public void jdbcExecuteBatchEnd() {
+            RequestSqlStats.onExecution(System.nanoTime() - batchStart);
+        }
+    }
+}
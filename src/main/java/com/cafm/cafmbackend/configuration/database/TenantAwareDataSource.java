@@ -0,0 +1,208 @@
+package com.cafm.cafmbackend.configuration.database;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.io.Closeable;
+import java.io.IOException;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.UUID;
+import java.util.function.Supplier;
+
+/**
+ * Connection-bound tenant context for Row-Level Security.
+ *
+ * Purpose: Give every pooled connection the current thread's tenant before its first statement,
+ *          with no round trip when the connection already carries that tenant
+ * Pattern: DataSource decorator; connections are JDK proxies that compare the thread's tenant
+ *          with the value last applied to the physical connection whenever a statement is created
+ * Java 23: Weak-keyed Caffeine map per physical connection, so retired connections drop out
+ * Architecture: Wraps the Hikari pool in DataSourceConfig; the tenant comes from
+ *               TenantContextService and RLS policies read app.current_company_id
+ * Standards: A statement never runs under another tenant's id, including no tenant at all;
+ *            a value set in a transaction that does not commit is forgotten and applied again
+ */
+public class TenantAwareDataSource extends DelegatingDataSource implements Closeable {
+
+    static final String TENANT_SETTING = "app.current_company_id";
+
+    private static final String NO_TENANT = "";
+    private static final String SET_TENANT_SQL = "SELECT set_config(?, ?, false)";
+
+    private final Supplier<UUID> tenantSupplier;
+    // Tenant committed on each physical connection, as seen by this node
+    private final Cache<Connection, String> committedTenants = Caffeine.newBuilder().weakKeys().build();
+
+    private final Counter applied;
+    private final Counter reused;
+
+    public TenantAwareDataSource(DataSource targetDataSource, Supplier<UUID> tenantSupplier, MeterRegistry meterRegistry) {
+        super(targetDataSource);
+        this.tenantSupplier = tenantSupplier;
+        this.applied = meterRegistry != null ? outcomeCounter(meterRegistry, "applied") : null;
+        this.reused = meterRegistry != null ? outcomeCounter(meterRegistry, "reused") : null;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return wrap(obtainTargetDataSource().getConnection());
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return wrap(obtainTargetDataSource().getConnection(username, password));
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (obtainTargetDataSource() instanceof Closeable closeable) {
+            closeable.close();
+        }
+    }
+
+    private Connection wrap(Connection connection) throws SQLException {
+        // The pool hands out a new proxy per checkout; state is kept against the physical connection
+        Connection physical = connection.isWrapperFor(Connection.class) ? connection.unwrap(Connection.class) : connection;
+        return (Connection) Proxy.newProxyInstance(Connection.class.getClassLoader(),
+            new Class<?>[] {Connection.class}, new TenantConnectionHandler(connection, physical));
+    }
+
+    private String desiredTenant() {
+        UUID tenantId = tenantSupplier.get();
+        return tenantId != null ? tenantId.toString() : NO_TENANT;
+    }
+
+    private static Counter outcomeCounter(MeterRegistry meterRegistry, String outcome) {
+        return Counter.builder("cafm.tenant.rls.context")
+            .tag("outcome", outcome)
+            .description("Connection tenant checks: applied with a round trip or reused as is")
+            .register(meterRegistry);
+    }
+
+    /**
+     * One checkout of a pooled connection.
+     */
+    private final class TenantConnectionHandler implements InvocationHandler {
+
+        private final Connection target;
+        private final Connection physical;
+        // Tenant on the server session, null when unknown
+        private String current;
+        // Tenant set inside the open transaction; only kept once the transaction commits
+        private String pending;
+
+        TenantConnectionHandler(Connection target, Connection physical) {
+            this.target = target;
+            this.physical = physical;
+            String committed = committedTenants.getIfPresent(physical);
+            // A connection this node never configured has no tenant set
+            this.current = committed != null ? committed : NO_TENANT;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            switch (method.getName()) {
+                case "equals":
+                    return proxy == args[0];
+                case "hashCode":
+                    return System.identityHashCode(proxy);
+                case "toString":
+                    return "TenantAware[" + target + "]";
+                case "unwrap":
+                    if (((Class<?>) args[0]).isInstance(proxy)) {
+                        return proxy;
+                    }
+                    break;
+                case "isWrapperFor":
+                    if (((Class<?>) args[0]).isInstance(proxy)) {
+                        return true;
+                    }
+                    break;
+                case "createStatement":
+                case "prepareStatement":
+                case "prepareCall":
+                    applyTenant();
+                    break;
+                case "close":
+                    // The pool rolls back an unfinished transaction on return
+                    forgetPending();
+                    break;
+                default:
+                    break;
+            }
+
+            Object result;
+            try {
+                result = method.invoke(target, args);
+            } catch (InvocationTargetException e) {
+                throw e.getTargetException();
+            }
+
+            switch (method.getName()) {
+                case "commit" -> confirmPending();
+                case "rollback" -> forgetPending();
+                case "setAutoCommit" -> {
+                    // Switching auto-commit on commits the open transaction
+                    if (Boolean.TRUE.equals(args[0])) {
+                        confirmPending();
+                    }
+                }
+                default -> {
+                }
+            }
+            return result;
+        }
+
+        private void applyTenant() throws SQLException {
+            String desired = desiredTenant();
+            if (desired.equals(current)) {
+                if (reused != null) {
+                    reused.increment();
+                }
+                return;
+            }
+
+            try (PreparedStatement statement = target.prepareStatement(SET_TENANT_SQL)) {
+                statement.setString(1, TENANT_SETTING);
+                statement.setString(2, desired);
+                statement.execute();
+            }
+            current = desired;
+            if (applied != null) {
+                applied.increment();
+            }
+
+            if (target.getAutoCommit()) {
+                committedTenants.put(physical, desired);
+            } else {
+                pending = desired;
+            }
+        }
+
+        private void confirmPending() {
+            if (pending != null) {
+                committedTenants.put(physical, pending);
+                pending = null;
+            }
+        }
+
+        private void forgetPending() {
+            if (pending != null) {
+                // A rolled-back transaction also reverts set_config; the server value is unknown now
+                committedTenants.invalidate(physical);
+                current = null;
+                pending = null;
+            }
+        }
+    }
+}
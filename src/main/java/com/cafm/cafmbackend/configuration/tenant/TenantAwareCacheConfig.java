@@ -1,7 +1,16 @@
 package com.cafm.cafmbackend.configuration.tenant;
 
+import com.cafm.cafmbackend.application.service.cache.HotKeyTracker;
+import com.cafm.cafmbackend.application.service.cache.TenantCacheMetricsRegistry;
 import com.cafm.cafmbackend.application.service.tenant.TenantContextService;
+import com.cafm.cafmbackend.configuration.cache.CacheInvalidationBus;
+import com.cafm.cafmbackend.configuration.cache.TenantCacheKeyIndex;
+import com.cafm.cafmbackend.configuration.cache.TwoTierCache;
+import com.cafm.cafmbackend.configuration.cache.TwoTierCacheManager;
+import com.cafm.cafmbackend.configuration.cache.TwoTierCacheManager.LocalCacheSpec;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.cache.Cache;
 import org.springframework.cache.CacheManager;
 import org.springframework.cache.annotation.CachingConfigurer;
@@ -12,6 +21,8 @@ import org.springframework.context.annotation.Configuration;
 import org.springframework.context.annotation.Primary;
 import org.springframework.data.redis.cache.RedisCacheManager;
 import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
 import org.springframework.data.redis.serializer.GenericJackson2JsonRedisSerializer;
 import org.springframework.data.redis.serializer.RedisSerializationContext;
 import org.springframework.data.redis.serializer.StringRedisSerializer;
@@ -20,31 +31,90 @@ import java.util.concurrent.Callable;
 
 import java.time.Duration;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.UUID;
 
 /**
- * Tenant-aware caching configuration with Redis backend.
+ * Tenant-aware caching configuration with a Caffeine near-cache in front of Redis.
  * 
  * Explanation:
  * - Purpose: Provides tenant-isolated caching with automatic key prefixing
  * - Pattern: Decorator pattern for cache operations with tenant context
  * - Java 23: Modern caching configuration with performance optimizations
  * - Architecture: Performance enhancement while maintaining tenant security
- * - Standards: Cache isolation prevents cross-tenant data leakage
+ * - Standards: Cache isolation prevents cross-tenant data leakage; local tiers are
+ *   bounded per cache and invalidated across nodes over Redis pub/sub
  */
 @Configuration
 @EnableCaching
 public class TenantAwareCacheConfig implements CachingConfigurer {
     
+    /** Tenant that entries are cached under when no tenant context is set */
+    public static final UUID SYSTEM_TENANT_ID = UUID.fromString("00000000-0000-0000-0000-000000000001");
+    
+    /**
+     * Remote TTL and local tier bounds per cache.
+     */
+    private static final List<CacheRegion> CACHE_REGIONS = List.of(
+        // User cache - 30 minutes
+        new CacheRegion("users", Duration.ofMinutes(30), 5_000, Duration.ofMinutes(5)),
+        // Company cache - 2 hours (relatively static)
+        new CacheRegion("companies", Duration.ofHours(2), 500, Duration.ofMinutes(10)),
+        // Reports cache - 15 minutes (frequently updated)
+        new CacheRegion("reports", Duration.ofMinutes(15), 2_000, Duration.ofMinutes(1)),
+        // Assets cache - 1 hour
+        new CacheRegion("assets", Duration.ofHours(1), 5_000, Duration.ofMinutes(5)),
+        // Work orders cache - 15 minutes (active data)
+        new CacheRegion("workOrders", Duration.ofMinutes(15), 2_000, Duration.ofMinutes(1)),
+        new CacheRegion("workorders", Duration.ofMinutes(15), 2_000, Duration.ofMinutes(1)), // legacy name
+        // Schools cache - 1 hour (relatively static)
+        new CacheRegion("schools", Duration.ofHours(1), 2_000, Duration.ofMinutes(10)),
+        // Statistics cache - 5 minutes (aggregated data)
+        new CacheRegion("statistics", Duration.ofMinutes(5), 1_000, Duration.ofSeconds(30)),
+        // Technician scorecards per company and period - 1 hour
+        new CacheRegion("technician-performance", Duration.ofHours(1), 1_000, Duration.ofMinutes(5)),
+        // Permission cache - 1 hour (relatively stable)
+        new CacheRegion("permissions", Duration.ofHours(1), 5_000, Duration.ofMinutes(5)),
+        // Token blacklist cache - 24 hours (security tokens), kept short locally
+        new CacheRegion("tokenBlacklist", Duration.ofHours(24), 10_000, Duration.ofMinutes(1)),
+        // Short-term cache for API responses - 2 minutes
+        new CacheRegion("api-responses", Duration.ofMinutes(2), 1_000, Duration.ofSeconds(30))
+    );
+    
+    // Shared by the Redis tier and the local copies of mutable values, so both tiers round-trip alike
+    private final GenericJackson2JsonRedisSerializer valueSerializer = new GenericJackson2JsonRedisSerializer();
+    
     @Autowired
     private RedisConnectionFactory redisConnectionFactory;
     
     @Autowired
     private TenantContextService tenantContextService;
     
+    @Autowired
+    private CacheInvalidationBus cacheInvalidationBus;
+    
+    @Autowired
+    private TenantCacheKeyIndex tenantCacheKeyIndex;
+    
+    @Autowired
+    private TenantCacheMetricsRegistry tenantCacheMetricsRegistry;
+    
+    @Autowired
+    private HotKeyTracker hotKeyTracker;
+    
+    @Value("${app.cache.near-cache.enabled:true}")
+    private boolean nearCacheEnabled;
+    
+    @Value("${app.cache.near-cache.default-maximum-size:1000}")
+    private long defaultLocalMaximumSize;
+    
+    @Value("${app.cache.near-cache.max-ttl:PT5M}")
+    private Duration maxLocalTtl;
+    
     /**
-     * Tenant-aware cache manager with Redis backend
+     * Tenant-aware cache manager with a local Caffeine tier in front of Redis
      */
     @Bean
     @Primary
@@ -55,10 +125,30 @@ public class TenantAwareCacheConfig implements CachingConfigurer {
             .cacheDefaults(cacheConfiguration())
             .withInitialCacheConfigurations(getCacheConfigurations());
         
-        RedisCacheManager cacheManager = builder.build();
+        RedisCacheManager redisCacheManager = builder.build();
+        redisCacheManager.initializeCaches();
         
-        // Wrap with tenant-aware cache manager
-        return new TenantAwareCacheManager(cacheManager, tenantContextService);
+        CacheManager cacheManager = redisCacheManager;
+        if (nearCacheEnabled) {
+            cacheManager = new TwoTierCacheManager(redisCacheManager, getLocalCacheSpecs(),
+                new LocalCacheSpec(defaultLocalMaximumSize, maxLocalTtl), cacheInvalidationBus, valueSerializer);
+        }
+        
+        // Wrap with tenant-aware cache manager; local keys carry the same tenant prefix as Redis keys
+        return new TenantAwareCacheManager(cacheManager, tenantContextService,
+            tenantCacheKeyIndex, tenantCacheMetricsRegistry, hotKeyTracker);
+    }
+    
+    /**
+     * Subscribes this node to local cache invalidations published by other nodes
+     */
+    @Bean
+    @ConditionalOnProperty(name = "app.cache.invalidation.enabled", havingValue = "true", matchIfMissing = true)
+    public RedisMessageListenerContainer cacheInvalidationListenerContainer() {
+        RedisMessageListenerContainer container = new RedisMessageListenerContainer();
+        container.setConnectionFactory(redisConnectionFactory);
+        container.addMessageListener(cacheInvalidationBus, new ChannelTopic(cacheInvalidationBus.getChannel()));
+        return container;
     }
     
     /**
@@ -70,7 +160,7 @@ public class TenantAwareCacheConfig implements CachingConfigurer {
             .serializeKeysWith(RedisSerializationContext.SerializationPair
                 .fromSerializer(new StringRedisSerializer()))
             .serializeValuesWith(RedisSerializationContext.SerializationPair
-                .fromSerializer(new GenericJackson2JsonRedisSerializer()))
+                .fromSerializer(valueSerializer))
             .disableCachingNullValues();
     }
     
@@ -79,41 +169,26 @@ public class TenantAwareCacheConfig implements CachingConfigurer {
      */
     private Map<String, org.springframework.data.redis.cache.RedisCacheConfiguration> getCacheConfigurations() {
         Map<String, org.springframework.data.redis.cache.RedisCacheConfiguration> cacheConfigurations = new HashMap<>();
-        
-        // User cache - 30 minutes
-        cacheConfigurations.put("users", cacheConfiguration().entryTtl(Duration.ofMinutes(30)));
-        
-        // Company cache - 2 hours (relatively static)
-        cacheConfigurations.put("companies", cacheConfiguration().entryTtl(Duration.ofHours(2)));
-        
-        // Reports cache - 15 minutes (frequently updated)
-        cacheConfigurations.put("reports", cacheConfiguration().entryTtl(Duration.ofMinutes(15)));
-        
-        // Assets cache - 1 hour
-        cacheConfigurations.put("assets", cacheConfiguration().entryTtl(Duration.ofHours(1)));
-        
-        // Work orders cache - 15 minutes (active data)  
-        cacheConfigurations.put("workOrders", cacheConfiguration().entryTtl(Duration.ofMinutes(15)));
-        cacheConfigurations.put("workorders", cacheConfiguration().entryTtl(Duration.ofMinutes(15))); // legacy name
-        
-        // Schools cache - 1 hour (relatively static)
-        cacheConfigurations.put("schools", cacheConfiguration().entryTtl(Duration.ofHours(1)));
-        
-        // Statistics cache - 5 minutes (aggregated data)
-        cacheConfigurations.put("statistics", cacheConfiguration().entryTtl(Duration.ofMinutes(5)));
-        
-        // Permission cache - 1 hour (relatively stable)
-        cacheConfigurations.put("permissions", cacheConfiguration().entryTtl(Duration.ofHours(1)));
-        
-        // Token blacklist cache - 24 hours (security tokens)
-        cacheConfigurations.put("tokenBlacklist", cacheConfiguration().entryTtl(Duration.ofHours(24)));
-        
-        // Short-term cache for API responses - 2 minutes
-        cacheConfigurations.put("api-responses", cacheConfiguration().entryTtl(Duration.ofMinutes(2)));
-        
+        for (CacheRegion region : CACHE_REGIONS) {
+            cacheConfigurations.put(region.name(), cacheConfiguration().entryTtl(region.remoteTtl()));
+        }
         return cacheConfigurations;
     }
     
+    /**
+     * Local tier bounds per cache; local TTL never outlives the Redis entry or the configured cap
+     */
+    private Map<String, LocalCacheSpec> getLocalCacheSpecs() {
+        Map<String, LocalCacheSpec> localSpecs = new HashMap<>();
+        for (CacheRegion region : CACHE_REGIONS) {
+            Duration localTtl = region.localTtl().compareTo(region.remoteTtl()) < 0
+                ? region.localTtl() : region.remoteTtl();
+            localSpecs.put(region.name(),
+                new LocalCacheSpec(region.localMaximumSize(), localTtl).cappedAt(maxLocalTtl));
+        }
+        return localSpecs;
+    }
+    
     /**
      * Tenant-aware cache key generator
      */
@@ -138,7 +213,13 @@ public class TenantAwareCacheConfig implements CachingConfigurer {
     @Bean
     @Override
     public CacheErrorHandler errorHandler() {
-        return new TenantAwareCacheErrorHandler();
+        return new TenantAwareCacheErrorHandler(tenantContextService, tenantCacheMetricsRegistry);
+    }
+    
+    /**
+     * Cache name with its Redis TTL and local tier bounds
+     */
+    private record CacheRegion(String name, Duration remoteTtl, long localMaximumSize, Duration localTtl) {
     }
     
     /**
@@ -148,10 +229,18 @@ public class TenantAwareCacheConfig implements CachingConfigurer {
         
         private final CacheManager delegate;
         private final TenantContextService tenantContextService;
+        private final TenantCacheKeyIndex keyIndex;
+        private final TenantCacheMetricsRegistry metricsRegistry;
+        private final HotKeyTracker hotKeyTracker;
         
-        public TenantAwareCacheManager(CacheManager delegate, TenantContextService tenantContextService) {
+        public TenantAwareCacheManager(CacheManager delegate, TenantContextService tenantContextService,
+                                       TenantCacheKeyIndex keyIndex, TenantCacheMetricsRegistry metricsRegistry,
+                                       HotKeyTracker hotKeyTracker) {
             this.delegate = delegate;
             this.tenantContextService = tenantContextService;
+            this.keyIndex = keyIndex;
+            this.metricsRegistry = metricsRegistry;
+            this.hotKeyTracker = hotKeyTracker;
         }
         
         @Override
@@ -160,26 +249,44 @@ public class TenantAwareCacheConfig implements CachingConfigurer {
             if (cache == null) {
                 return null;
             }
-            return new TenantAwareCache(cache, tenantContextService);
+            return new TenantAwareCache(cache, tenantContextService, keyIndex, metricsRegistry, hotKeyTracker);
         }
         
         @Override
         public java.util.Collection<String> getCacheNames() {
             return delegate.getCacheNames();
         }
+        
+        /**
+         * Underlying (two-tier or Redis) cache manager
+         */
+        public CacheManager getDelegate() {
+            return delegate;
+        }
     }
     
     /**
-     * Cache wrapper that adds tenant context to all operations
+     * Cache wrapper that adds tenant context to all operations.
+     * Written keys are indexed per tenant so that clear() only removes the current tenant's entries,
+     * hits, misses and evictions are counted per tenant as they happen, and lookups feed the
+     * hot-key tracker used by cache warm-up.
      */
     public static class TenantAwareCache implements Cache {
         
         private final Cache delegate;
         private final TenantContextService tenantContextService;
+        private final TenantCacheKeyIndex keyIndex;
+        private final TenantCacheMetricsRegistry metricsRegistry;
+        private final HotKeyTracker hotKeyTracker;
         
-        public TenantAwareCache(Cache delegate, TenantContextService tenantContextService) {
+        public TenantAwareCache(Cache delegate, TenantContextService tenantContextService,
+                                TenantCacheKeyIndex keyIndex, TenantCacheMetricsRegistry metricsRegistry,
+                                HotKeyTracker hotKeyTracker) {
             this.delegate = delegate;
             this.tenantContextService = tenantContextService;
+            this.keyIndex = keyIndex;
+            this.metricsRegistry = metricsRegistry;
+            this.hotKeyTracker = hotKeyTracker;
         }
         
         @Override
@@ -194,53 +301,124 @@ public class TenantAwareCacheConfig implements CachingConfigurer {
         
         @Override
         public ValueWrapper get(Object key) {
-            return delegate.get(getTenantAwareKey(key));
+            UUID tenantId = getCurrentTenantId();
+            ValueWrapper wrapper = delegate.get(getTenantAwareKey(tenantId, key));
+            recordLookup(tenantId, key, wrapper != null);
+            return wrapper;
         }
         
         @Override
         public <T> T get(Object key, Class<T> type) {
-            return delegate.get(getTenantAwareKey(key), type);
+            UUID tenantId = getCurrentTenantId();
+            T value = delegate.get(getTenantAwareKey(tenantId, key), type);
+            recordLookup(tenantId, key, value != null);
+            return value;
         }
         
         @Override
         public <T> T get(Object key, Callable<T> valueLoader) {
-            return delegate.get(getTenantAwareKey(key), valueLoader);
+            UUID tenantId = getCurrentTenantId();
+            String tenantKey = getTenantAwareKey(tenantId, key);
+            boolean[] loaded = new boolean[1];
+            T value = delegate.get(tenantKey, () -> {
+                loaded[0] = true;
+                return valueLoader.call();
+            });
+            recordLookup(tenantId, key, !loaded[0]);
+            if (loaded[0] && value != null) {
+                keyIndex.add(getName(), tenantId, tenantKey);
+            }
+            return value;
         }
         
         @Override
         public void put(Object key, Object value) {
-            delegate.put(getTenantAwareKey(key), value);
+            UUID tenantId = getCurrentTenantId();
+            String tenantKey = getTenantAwareKey(tenantId, key);
+            delegate.put(tenantKey, value);
+            keyIndex.add(getName(), tenantId, tenantKey);
         }
         
         @Override
         public ValueWrapper putIfAbsent(Object key, Object value) {
-            return delegate.putIfAbsent(getTenantAwareKey(key), value);
+            UUID tenantId = getCurrentTenantId();
+            String tenantKey = getTenantAwareKey(tenantId, key);
+            ValueWrapper existing = delegate.putIfAbsent(tenantKey, value);
+            if (existing == null) {
+                keyIndex.add(getName(), tenantId, tenantKey);
+            }
+            return existing;
         }
         
         @Override
         public void evict(Object key) {
-            delegate.evict(getTenantAwareKey(key));
+            evict(getCurrentTenantId(), key);
+        }
+        
+        /**
+         * Evict a tenant's entry from outside that tenant's context, e.g. from an event listener
+         */
+        public void evict(UUID tenantId, Object key) {
+            String tenantKey = getTenantAwareKey(tenantId, key);
+            delegate.evict(tenantKey);
+            keyIndex.remove(getName(), tenantId, tenantKey);
+            metricsRegistry.recordEvictions(tenantId, 1);
         }
         
         @Override
         public boolean evictIfPresent(Object key) {
-            return delegate.evictIfPresent(getTenantAwareKey(key));
+            UUID tenantId = getCurrentTenantId();
+            String tenantKey = getTenantAwareKey(tenantId, key);
+            boolean evicted = delegate.evictIfPresent(tenantKey);
+            keyIndex.remove(getName(), tenantId, tenantKey);
+            if (evicted) {
+                metricsRegistry.recordEvictions(tenantId, 1);
+            }
+            return evicted;
         }
         
+        /**
+         * Clear only the current tenant's entries
+         */
         @Override
         public void clear() {
-            // Clear only current tenant's cache entries
-            // Note: This is a simplified implementation
-            // In production, you might want to implement a more sophisticated approach
-            delegate.clear();
+            evictTenant(getCurrentTenantId());
+        }
+        
+        /**
+         * Evict every indexed entry of a tenant; other tenants' entries are untouched
+         *
+         * @return number of keys evicted
+         */
+        public int evictTenant(UUID tenantId) {
+            Set<String> keys = keyIndex.drain(getName(), tenantId);
+            if (delegate instanceof TwoTierCache twoTierCache) {
+                twoTierCache.evictAll(keys, getTenantKeyPrefix(tenantId));
+            } else {
+                keys.forEach(delegate::evict);
+            }
+            metricsRegistry.recordEvictions(tenantId, keys.size());
+            return keys.size();
         }
         
         /**
          * Generate tenant-aware cache key
          */
-        private Object getTenantAwareKey(Object key) {
-            UUID tenantId = getCurrentTenantId();
-            return String.format("tenant:%s:key:%s", tenantId, key);
+        private String getTenantAwareKey(UUID tenantId, Object key) {
+            return getTenantKeyPrefix(tenantId) + key;
+        }
+        
+        private static String getTenantKeyPrefix(UUID tenantId) {
+            return "tenant:" + tenantId + ":key:";
+        }
+        
+        private void recordLookup(UUID tenantId, Object key, boolean hit) {
+            hotKeyTracker.recordAccess(tenantId, getName(), key);
+            if (hit) {
+                metricsRegistry.recordHit(tenantId);
+            } else {
+                metricsRegistry.recordMiss(tenantId);
+            }
         }
         
         /**
@@ -251,7 +429,7 @@ public class TenantAwareCacheConfig implements CachingConfigurer {
                 return tenantContextService.getCurrentTenant();
             }
             // Fallback to system tenant
-            return UUID.fromString("00000000-0000-0000-0000-000000000001");
+            return SYSTEM_TENANT_ID;
         }
     }
     
@@ -318,28 +496,46 @@ public class TenantAwareCacheConfig implements CachingConfigurer {
         private static final org.slf4j.Logger logger = 
             org.slf4j.LoggerFactory.getLogger(TenantAwareCacheErrorHandler.class);
         
+        private final TenantContextService tenantContextService;
+        private final TenantCacheMetricsRegistry metricsRegistry;
+        
+        public TenantAwareCacheErrorHandler(TenantContextService tenantContextService,
+                                            TenantCacheMetricsRegistry metricsRegistry) {
+            this.tenantContextService = tenantContextService;
+            this.metricsRegistry = metricsRegistry;
+        }
+        
         @Override
         public void handleCacheGetError(RuntimeException exception, Cache cache, Object key) {
             logger.warn("Cache GET error for cache '{}' and key '{}': {}", 
                 cache.getName(), key, exception.getMessage());
+            recordError();
         }
         
         @Override
         public void handleCachePutError(RuntimeException exception, Cache cache, Object key, Object value) {
             logger.warn("Cache PUT error for cache '{}' and key '{}': {}", 
                 cache.getName(), key, exception.getMessage());
+            recordError();
         }
         
         @Override
         public void handleCacheEvictError(RuntimeException exception, Cache cache, Object key) {
             logger.warn("Cache EVICT error for cache '{}' and key '{}': {}", 
                 cache.getName(), key, exception.getMessage());
+            recordError();
         }
         
         @Override
         public void handleCacheClearError(RuntimeException exception, Cache cache) {
             logger.warn("Cache CLEAR error for cache '{}': {}", 
                 cache.getName(), exception.getMessage());
+            recordError();
+        }
+        
+        private void recordError() {
+            metricsRegistry.recordError(tenantContextService.hasTenantContext()
+                ? tenantContextService.getCurrentTenant() : SYSTEM_TENANT_ID);
         }
     }
 }
\ No newline at end of file
@@ -0,0 +1,42 @@
+package com.cafm.cafmbackend.configuration.web;
+
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.http.HttpHeaders;
+import org.springframework.web.context.request.async.WebAsyncTask;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+/**
+ * Runs a streamed export as an async request on the export pool.
+ *
+ * Purpose: Give export endpoints their own executor and timeout without changing them for other async handlers
+ * Pattern: WebAsyncTask per request; the task writes the body straight to the servlet response
+ * Java 23: Platform threads; each export holds a database cursor while it writes
+ * Architecture: Web support used by the Excel/PDF export endpoints
+ * Standards: A saturated pool rejects the export instead of running it on the servlet container thread
+ */
+public class ExportStreamer {
+
+    private final AsyncTaskExecutor executor;
+    private final long timeoutMs;
+
+    public ExportStreamer(AsyncTaskExecutor executor, long timeoutMs) {
+        this.executor = executor;
+        this.timeoutMs = timeoutMs;
+    }
+
+    /**
+     * Set the export headers and write the body asynchronously.
+     *
+     * The body is not returned as a StreamingResponseBody, since that would be written on
+     * the application-wide MVC async executor rather than on the export pool.
+     */
+    public WebAsyncTask<Void> stream(HttpServletResponse response, HttpHeaders headers, StreamingResponseBody body) {
+        headers.forEach((name, values) -> values.forEach(value -> response.addHeader(name, value)));
+        return new WebAsyncTask<>(timeoutMs, executor, () -> {
+            body.writeTo(response.getOutputStream());
+            response.flushBuffer();
+            return null;
+        });
+    }
+}
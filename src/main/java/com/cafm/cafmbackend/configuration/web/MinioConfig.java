@@ -62,7 +62,7 @@ public class MinioConfig {
     /**
      * Configure RestTemplate for HTTP client operations.
      * 
-     * Purpose: Provides RestTemplate bean for services like PushNotificationService
+     * Purpose: Provides a shared RestTemplate bean for outbound HTTP calls (FCM uses FcmClient)
      * Pattern: RestTemplate with timeouts and error handling
      * Java 23: Ready for virtual threads
      * Architecture: HTTP client configuration
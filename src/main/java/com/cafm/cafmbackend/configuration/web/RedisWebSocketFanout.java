@@ -0,0 +1,152 @@
+package com.cafm.cafmbackend.configuration.web;
+
+import com.cafm.cafmbackend.configuration.cache.CacheInvalidationBus;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageChannel;
+import org.springframework.messaging.MessageHeaders;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.messaging.simp.SimpMessageType;
+import org.springframework.messaging.support.ChannelInterceptor;
+import org.springframework.messaging.support.MessageBuilder;
+import org.springframework.stereotype.Component;
+import org.springframework.util.MimeType;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.List;
+
+/**
+ * Cross-node fan-out of STOMP broadcasts over Redis pub/sub.
+ *
+ * Purpose: Deliver a broadcast sent on one node to clients connected to any node, while each
+ *          node keeps its in-memory simple broker
+ * Pattern: Broker channel interceptor publishes outgoing broadcasts; a Redis listener injects
+ *          messages from other nodes into the local broker channel, marked so they are not
+ *          published again. Message format is "nodeId|contentType|base64Payload|destination"
+ * Java 23: Stateless apart from meters; node id shared with CacheInvalidationBus
+ * Architecture: Enabled by app.websocket.broker.mode=redis; wired by WebSocketConfig
+ * Standards: Only fanned-out prefixes are published; publish failures are logged and counted,
+ *            never thrown, so local delivery is unaffected when Redis is unreachable
+ */
+@Component
+@ConditionalOnProperty(name = "app.websocket.broker.mode", havingValue = "redis")
+public class RedisWebSocketFanout implements ChannelInterceptor, MessageListener {
+
+    private static final Logger logger = LoggerFactory.getLogger(RedisWebSocketFanout.class);
+
+    static final String RELAYED_HEADER = "cafmRelayedFrom";
+
+    private final StringRedisTemplate redisTemplate;
+    private final MessageChannel brokerChannel;
+    private final String nodeId;
+    private final String channel;
+    private final List<String> prefixes;
+
+    private final Counter published;
+    private final Counter received;
+    private final Counter failed;
+
+    public RedisWebSocketFanout(StringRedisTemplate redisTemplate,
+                                @Lazy @Qualifier("brokerChannel") MessageChannel brokerChannel,
+                                CacheInvalidationBus invalidationBus,
+                                MeterRegistry meterRegistry,
+                                @Value("${app.websocket.broker.redis.channel:cafm:ws:fanout}") String channel,
+                                @Value("${app.websocket.broker.redis.prefixes:/topic/,/user/}") List<String> prefixes) {
+        this.redisTemplate = redisTemplate;
+        this.brokerChannel = brokerChannel;
+        this.nodeId = invalidationBus.getNodeId();
+        this.channel = channel;
+        this.prefixes = List.copyOf(prefixes);
+        this.published = fanoutCounter(meterRegistry, "published");
+        this.received = fanoutCounter(meterRegistry, "received");
+        this.failed = fanoutCounter(meterRegistry, "failed");
+    }
+
+    public String getChannel() {
+        return channel;
+    }
+
+    /**
+     * Publish broadcasts originating on this node before the local broker handles them.
+     */
+    @Override
+    public Message<?> preSend(Message<?> message, MessageChannel messageChannel) {
+        MessageHeaders headers = message.getHeaders();
+        String destination = SimpMessageHeaderAccessor.getDestination(headers);
+        SimpMessageType messageType = SimpMessageHeaderAccessor.getMessageType(headers);
+        if (headers.containsKey(RELAYED_HEADER)
+            || (messageType != null && messageType != SimpMessageType.MESSAGE)
+            || destination == null || !isFannedOut(destination)) {
+            return message;
+        }
+        if (!(message.getPayload() instanceof byte[] payload)) {
+            logger.debug("Not fanning out non-serialized payload to {}", destination);
+            return message;
+        }
+
+        Object contentType = headers.get(MessageHeaders.CONTENT_TYPE);
+        String payloadText = nodeId + "|" + (contentType != null ? contentType.toString() : "") + "|"
+            + Base64.getEncoder().encodeToString(payload) + "|" + destination;
+        try {
+            redisTemplate.convertAndSend(channel, payloadText);
+            published.increment();
+        } catch (RuntimeException e) {
+            failed.increment();
+            logger.warn("Could not fan out WebSocket message to {}: {}", destination, e.getMessage());
+        }
+        return message;
+    }
+
+    /**
+     * Deliver a broadcast from another node to the clients connected here.
+     */
+    @Override
+    public void onMessage(org.springframework.data.redis.connection.Message redisMessage, byte[] pattern) {
+        // Destination may itself contain '|', so it is always the last, unsplit part
+        String[] parts = new String(redisMessage.getBody(), StandardCharsets.UTF_8).split("\\|", 4);
+        if (parts.length < 4 || nodeId.equals(parts[0])) {
+            return;
+        }
+
+        try {
+            SimpMessageHeaderAccessor accessor = SimpMessageHeaderAccessor.create(SimpMessageType.MESSAGE);
+            accessor.setDestination(parts[3]);
+            if (!parts[1].isEmpty()) {
+                accessor.setContentType(MimeType.valueOf(parts[1]));
+            }
+            accessor.setHeader(RELAYED_HEADER, parts[0]);
+            byte[] payload = Base64.getDecoder().decode(parts[2]);
+            brokerChannel.send(MessageBuilder.createMessage(payload, accessor.getMessageHeaders()));
+            received.increment();
+        } catch (RuntimeException e) {
+            failed.increment();
+            logger.warn("Could not deliver fanned-out WebSocket message to {}: {}", parts[3], e.getMessage());
+        }
+    }
+
+    private boolean isFannedOut(String destination) {
+        for (String prefix : prefixes) {
+            if (destination.startsWith(prefix)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static Counter fanoutCounter(MeterRegistry meterRegistry, String outcome) {
+        return Counter.builder("cafm.websocket.fanout")
+            .tag("outcome", outcome)
+            .description("WebSocket broadcasts exchanged with other nodes")
+            .register(meterRegistry);
+    }
+}
@@ -0,0 +1,214 @@
+package com.cafm.cafmbackend.configuration.web;
+
+import com.cafm.cafmbackend.configuration.database.RequestSqlStats;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.core.env.Environment;
+import org.springframework.security.web.util.OnCommittedResponseWrapper;
+import org.springframework.stereotype.Component;
+import org.springframework.util.AntPathMatcher;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-request SQL statement budget and N+1 detector.
+ *
+ * Purpose: Report statements, rows and database time per request and endpoint, flag
+ *          statements repeated within one request, and enforce per-endpoint budgets
+ * Pattern: Outermost servlet filter around RequestSqlStats; meters cached per endpoint
+ * Java 23: Pattern-matched budgets bound from app.sql-budget.endpoints
+ * Architecture: Web configuration layer, fed by the Hibernate hooks in SqlInstrumentationConfig
+ * Standards: Headers only where app.sql-budget.expose-headers is set (non-prod profiles);
+ *            budget violations fail the request only with app.sql-budget.fail-on-exceed (tests)
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+@ConditionalOnProperty(name = "app.sql-budget.enabled", havingValue = "true", matchIfMissing = true)
+public class SqlBudgetFilter extends OncePerRequestFilter {
+
+    private static final Logger logger = LoggerFactory.getLogger(SqlBudgetFilter.class);
+
+    static final String STATEMENTS_HEADER = "X-SQL-Statements";
+    static final String ROWS_HEADER = "X-SQL-Rows";
+    static final String TIME_HEADER = "X-SQL-Time-Ms";
+    static final String REPEATED_HEADER = "X-SQL-Max-Repeated";
+
+    private static final int LOGGED_SQL_LENGTH = 300;
+
+    private final MeterRegistry meterRegistry;
+    private final Map<String, Integer> endpointBudgets;
+    private final AntPathMatcher pathMatcher = new AntPathMatcher();
+    private final ConcurrentHashMap<String, EndpointMeters> endpointMeters = new ConcurrentHashMap<>();
+
+    @Value("${app.sql-budget.expose-headers:false}")
+    private boolean exposeHeaders;
+
+    @Value("${app.sql-budget.fail-on-exceed:false}")
+    private boolean failOnExceed;
+
+    @Value("${app.sql-budget.default-max-statements:-1}")
+    private int defaultMaxStatements;
+
+    @Value("${app.sql-budget.repeated-statement-threshold:5}")
+    private int repeatedStatementThreshold;
+
+    public SqlBudgetFilter(MeterRegistry meterRegistry, Environment environment) {
+        this.meterRegistry = meterRegistry;
+        this.endpointBudgets = Binder.get(environment)
+            .bind("app.sql-budget.endpoints", Bindable.mapOf(String.class, Integer.class))
+            .map(LinkedHashMap::new)
+            .orElseGet(LinkedHashMap::new);
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request,
+                                    HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+        RequestSqlStats stats = RequestSqlStats.begin();
+        HttpServletResponse target = exposeHeaders ? new SqlHeaderResponse(response, stats) : response;
+        boolean completed = false;
+        try {
+            filterChain.doFilter(request, target);
+            completed = true;
+        } finally {
+            RequestSqlStats.end();
+            if (exposeHeaders && !response.isCommitted()) {
+                writeHeaders(response, stats);
+            }
+            report(request, stats, completed);
+        }
+    }
+
+    private void report(HttpServletRequest request, RequestSqlStats stats, boolean completed) {
+        if (stats.getStatements() == 0) {
+            return;
+        }
+        String endpoint = endpoint(request);
+        EndpointMeters meters = endpointMeters.computeIfAbsent(endpoint, this::registerMeters);
+        meters.statements().record(stats.getStatements());
+        meters.rows().record(stats.getRows());
+        meters.databaseTime().record(stats.getExecutionNanos(), TimeUnit.NANOSECONDS);
+
+        if (stats.getMostRepeatedCount() >= repeatedStatementThreshold) {
+            meters.repeated().increment();
+            logger.warn("Possible N+1 on {}: statement ran {} times in one request ({} statements, {} distinct): {}",
+                       endpoint, stats.getMostRepeatedCount(), stats.getStatements(),
+                       stats.getDistinctStatements(), abbreviate(stats.getMostRepeatedStatement()));
+        }
+
+        int budget = budgetFor(request);
+        if (budget >= 0 && stats.getStatements() > budget) {
+            meters.budgetExceeded().increment();
+            String message = String.format("SQL budget exceeded on %s: %d statements, budget %d",
+                                           endpoint, stats.getStatements(), budget);
+            if (failOnExceed && completed) {
+                throw new SqlBudgetExceededException(message);
+            }
+            logger.warn(message);
+        }
+    }
+
+    private int budgetFor(HttpServletRequest request) {
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+        for (Map.Entry<String, Integer> budget : endpointBudgets.entrySet()) {
+            if (pathMatcher.match(budget.getKey(), path)) {
+                return budget.getValue();
+            }
+        }
+        return defaultMaxStatements;
+    }
+
+    private static String endpoint(HttpServletRequest request) {
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        return request.getMethod() + " " + (pattern != null ? pattern : "UNMAPPED");
+    }
+
+    private EndpointMeters registerMeters(String endpoint) {
+        return new EndpointMeters(
+            DistributionSummary.builder("cafm.sql.statements")
+                .tag("endpoint", endpoint)
+                .description("SQL statements per request")
+                .register(meterRegistry),
+            DistributionSummary.builder("cafm.sql.rows")
+                .tag("endpoint", endpoint)
+                .description("Entity rows loaded per request")
+                .register(meterRegistry),
+            Timer.builder("cafm.sql.time")
+                .tag("endpoint", endpoint)
+                .description("JDBC execution time per request")
+                .register(meterRegistry),
+            Counter.builder("cafm.sql.repeated.statements")
+                .tag("endpoint", endpoint)
+                .description("Requests with a statement repeated at least the N+1 threshold")
+                .register(meterRegistry),
+            Counter.builder("cafm.sql.budget.exceeded")
+                .tag("endpoint", endpoint)
+                .description("Requests over their SQL statement budget")
+                .register(meterRegistry)
+        );
+    }
+
+    private static void writeHeaders(HttpServletResponse response, RequestSqlStats stats) {
+        response.setHeader(STATEMENTS_HEADER, Integer.toString(stats.getStatements()));
+        response.setHeader(ROWS_HEADER, Long.toString(stats.getRows()));
+        response.setHeader(TIME_HEADER, Long.toString(TimeUnit.NANOSECONDS.toMillis(stats.getExecutionNanos())));
+        response.setHeader(REPEATED_HEADER, Integer.toString(stats.getMostRepeatedCount()));
+    }
+
+    private static String abbreviate(String sql) {
+        return sql != null && sql.length() > LOGGED_SQL_LENGTH ? sql.substring(0, LOGGED_SQL_LENGTH) + "..." : sql;
+    }
+
+    private record EndpointMeters(DistributionSummary statements, DistributionSummary rows, Timer databaseTime,
+                                  Counter repeated, Counter budgetExceeded) {
+    }
+
+    /**
+     * Writes the SQL headers just before the response is committed.
+     */
+    private static final class SqlHeaderResponse extends OnCommittedResponseWrapper {
+
+        private final RequestSqlStats stats;
+
+        SqlHeaderResponse(HttpServletResponse response, RequestSqlStats stats) {
+            super(response);
+            this.stats = stats;
+        }
+
+        @Override
+        protected void onResponseCommitted() {
+            writeHeaders((HttpServletResponse) getResponse(), stats);
+        }
+    }
+
+    /**
+     * Thrown when a request runs more statements than its budget and
+     * app.sql-budget.fail-on-exceed is set.
+     */
+    public static class SqlBudgetExceededException extends IllegalStateException {
+
+        public SqlBudgetExceededException(String message) {
+            super(message);
+        }
+    }
+}
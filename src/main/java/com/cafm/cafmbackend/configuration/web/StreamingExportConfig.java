@@ -0,0 +1,61 @@
+package com.cafm.cafmbackend.configuration.web;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.util.concurrent.ThreadPoolExecutor;
+
+/**
+ * Async configuration for streamed export responses.
+ *
+ * Purpose: Run exports on a bounded pool with an export-sized timeout
+ * Pattern: Export-only executor and timeout handed to ExportStreamer; the application-wide
+ *          MVC async executor and timeout are left as they are
+ * Java 23: Platform threads; each export holds a database cursor while it writes
+ * Architecture: Web configuration backing the Excel/PDF export endpoints
+ * Standards: Concurrency is capped so exports cannot exhaust the connection pool
+ */
+@Configuration
+public class StreamingExportConfig {
+
+    private static final Logger logger = LoggerFactory.getLogger(StreamingExportConfig.class);
+
+    @Value("${app.export.streaming.max-concurrent:4}")
+    private int maxConcurrentExports;
+
+    @Value("${app.export.streaming.queue-capacity:20}")
+    private int queueCapacity;
+
+    @Value("${app.export.streaming.timeout-ms:600000}")
+    private long timeoutMs;
+
+    /**
+     * Executor for export tasks. Rejects when saturated instead of
+     * running the export on the servlet container thread.
+     */
+    @Bean(name = "exportStreamingExecutor")
+    public ThreadPoolTaskExecutor exportStreamingExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(maxConcurrentExports);
+        executor.setMaxPoolSize(maxConcurrentExports);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix("Export-");
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.AbortPolicy());
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.setAwaitTerminationSeconds(60);
+        executor.initialize();
+
+        logger.info("Configured export streaming executor with {} threads, queue capacity: {}",
+                   maxConcurrentExports, queueCapacity);
+        return executor;
+    }
+
+    @Bean
+    public ExportStreamer exportStreamer() {
+        return new ExportStreamer(exportStreamingExecutor(), timeoutMs);
+    }
+}
@@ -2,10 +2,19 @@ package com.cafm.cafmbackend.configuration.web;
 
 import com.cafm.cafmbackend.configuration.web.WebSocketAuthInterceptor;
 import com.cafm.cafmbackend.configuration.web.WebSocketTenantInterceptor;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
 import org.springframework.messaging.simp.config.ChannelRegistration;
 import org.springframework.messaging.simp.config.MessageBrokerRegistry;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
 import org.springframework.web.socket.config.annotation.*;
 
 /**
@@ -20,6 +29,14 @@ import org.springframework.web.socket.config.annotation.*;
  * 
  * Uses Spring WebSocket with STOMP protocol for scalable real-time communication.
  * Implements authentication and tenant filtering to ensure security and data isolation.
+ *
+ * Broker mode (app.websocket.broker.mode):
+ * - simple: in-memory broker; broadcasts only reach clients of the sending node
+ * - relay: STOMP broker relay to an external broker (e.g. ActiveMQ); user destinations
+ *   and the user registry are shared through the broker
+ * - redis: in-memory broker per node, with broadcasts fanned out over Redis pub/sub
+ *
+ * Sessions that exceed the outbound send time or buffer limit are closed as slow consumers.
  */
 @Configuration
 @EnableWebSocketMessageBroker
@@ -27,21 +44,81 @@ public class WebSocketConfig implements WebSocketMessageBrokerConfigurer {
 
     private final WebSocketAuthInterceptor authInterceptor;
     private final WebSocketTenantInterceptor tenantInterceptor;
+    private final ObjectProvider<RedisWebSocketFanout> redisFanout;
+    private final WebSocketSlowConsumerMonitor slowConsumerMonitor;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${app.websocket.broker.mode:simple}")
+    private String brokerMode;
+
+    @Value("${app.websocket.broker.relay.host:localhost}")
+    private String relayHost;
+
+    @Value("${app.websocket.broker.relay.port:61613}")
+    private int relayPort;
+
+    @Value("${app.websocket.broker.relay.virtual-host:}")
+    private String relayVirtualHost;
+
+    @Value("${app.websocket.broker.relay.login:guest}")
+    private String relayLogin;
+
+    @Value("${app.websocket.broker.relay.passcode:guest}")
+    private String relayPasscode;
+
+    @Value("${app.websocket.broker.relay.heartbeat-ms:10000}")
+    private long relayHeartbeatMs;
+
+    @Value("${app.websocket.outbound.send-time-limit-ms:10000}")
+    private int sendTimeLimitMs;
+
+    @Value("${app.websocket.outbound.send-buffer-size-limit:524288}")
+    private int sendBufferSizeLimit;
 
     public WebSocketConfig(WebSocketAuthInterceptor authInterceptor,
-                          WebSocketTenantInterceptor tenantInterceptor) {
+                          WebSocketTenantInterceptor tenantInterceptor,
+                          ObjectProvider<RedisWebSocketFanout> redisFanout,
+                          WebSocketSlowConsumerMonitor slowConsumerMonitor,
+                          MeterRegistry meterRegistry) {
         this.authInterceptor = authInterceptor;
         this.tenantInterceptor = tenantInterceptor;
+        this.redisFanout = redisFanout;
+        this.slowConsumerMonitor = slowConsumerMonitor;
+        this.meterRegistry = meterRegistry;
     }
 
     @Override
     public void configureMessageBroker(MessageBrokerRegistry config) {
-        // Enable in-memory message broker for topics and queues
-        config.enableSimpleBroker(
-                "/topic",   // For broadcast messages (notifications, alerts)
-                "/queue",   // For user-specific messages (private notifications)
-                "/user"     // For user-specific subscriptions
-        );
+        if ("relay".equalsIgnoreCase(brokerMode)) {
+            // External broker holds subscriptions for all nodes
+            var relay = config.enableStompBrokerRelay("/topic", "/queue")
+                    .setRelayHost(relayHost)
+                    .setRelayPort(relayPort)
+                    .setClientLogin(relayLogin)
+                    .setClientPasscode(relayPasscode)
+                    .setSystemLogin(relayLogin)
+                    .setSystemPasscode(relayPasscode)
+                    .setSystemHeartbeatSendInterval(relayHeartbeatMs)
+                    .setSystemHeartbeatReceiveInterval(relayHeartbeatMs)
+                    // Share user sessions so /user destinations resolve on any node
+                    .setUserDestinationBroadcast("/topic/cafm.unresolved-user-destination")
+                    .setUserRegistryBroadcast("/topic/cafm.user-registry");
+            if (!relayVirtualHost.isBlank()) {
+                relay.setVirtualHost(relayVirtualHost);
+            }
+        } else {
+            // Enable in-memory message broker for topics and queues
+            config.enableSimpleBroker(
+                    "/topic",   // For broadcast messages (notifications, alerts)
+                    "/queue",   // For user-specific messages (private notifications)
+                    "/user"     // For user-specific subscriptions
+            );
+            RedisWebSocketFanout fanout = redisFanout.getIfAvailable();
+            if (fanout != null) {
+                // Publish local broadcasts to the other nodes
+                config.configureBrokerChannel().interceptors(fanout);
+            }
+        }
         
         // Set application destination prefix for client messages
         config.setApplicationDestinationPrefixes("/app");
@@ -78,11 +155,37 @@ public class WebSocketConfig implements WebSocketMessageBrokerConfigurer {
 
     @Override
     public void configureClientOutboundChannel(ChannelRegistration registration) {
-        // Configure thread pool for handling outbound messages
-        registration.taskExecutor()
+        // Configure thread pool for handling outbound messages; a growing queue means
+        // clients are not draining messages as fast as they are produced
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setThreadNamePrefix("ws-outbound-");
+        registration.taskExecutor(executor)
                 .corePoolSize(10)
                 .maxPoolSize(50)
                 .queueCapacity(1000);
+        Gauge.builder("cafm.websocket.outbound.queue", executor, ThreadPoolTaskExecutor::getQueueSize)
+                .description("Messages waiting on the client outbound channel")
+                .register(meterRegistry);
     }
 
+    @Override
+    public void configureWebSocketTransport(WebSocketTransportRegistration registration) {
+        // Close sessions that cannot keep up instead of buffering without bound
+        registration.setSendTimeLimit(sendTimeLimitMs)
+                .setSendBufferSizeLimit(sendBufferSizeLimit)
+                .addDecoratorFactory(slowConsumerMonitor);
+    }
+
+    /**
+     * Subscribes this node to broadcasts fanned out by other nodes
+     */
+    @Bean
+    @ConditionalOnProperty(name = "app.websocket.broker.mode", havingValue = "redis")
+    public RedisMessageListenerContainer webSocketFanoutListenerContainer(RedisConnectionFactory connectionFactory,
+                                                                          RedisWebSocketFanout fanout) {
+        RedisMessageListenerContainer container = new RedisMessageListenerContainer();
+        container.setConnectionFactory(connectionFactory);
+        container.addMessageListener(fanout, new ChannelTopic(fanout.getChannel()));
+        return container;
+    }
 }
\ No newline at end of file
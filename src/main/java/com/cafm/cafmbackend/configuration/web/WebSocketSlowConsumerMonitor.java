@@ -0,0 +1,52 @@
+package com.cafm.cafmbackend.configuration.web;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.web.socket.CloseStatus;
+import org.springframework.web.socket.WebSocketHandler;
+import org.springframework.web.socket.WebSocketSession;
+import org.springframework.web.socket.handler.WebSocketHandlerDecorator;
+import org.springframework.web.socket.handler.WebSocketHandlerDecoratorFactory;
+
+/**
+ * Detection of WebSocket clients that cannot keep up with outbound messages.
+ *
+ * Purpose: Make slow consumers visible; the transport closes a session whose send buffer
+ *          or send time exceeds the limits set in WebSocketConfig
+ * Pattern: Handler decorator observing session close status
+ * Java 23: Stateless decorator apart from the shared counter
+ * Architecture: Registered on the WebSocket transport by WebSocketConfig
+ * Standards: Only closes caused by the send limits are counted, each logged with its session
+ */
+@Component
+public class WebSocketSlowConsumerMonitor implements WebSocketHandlerDecoratorFactory {
+
+    private static final Logger logger = LoggerFactory.getLogger(WebSocketSlowConsumerMonitor.class);
+
+    private final Counter slowConsumers;
+
+    public WebSocketSlowConsumerMonitor(MeterRegistry meterRegistry) {
+        this.slowConsumers = Counter.builder("cafm.websocket.slow.consumers")
+            .description("WebSocket sessions closed for exceeding the send time or buffer limit")
+            .register(meterRegistry);
+    }
+
+    @Override
+    public WebSocketHandler decorate(WebSocketHandler handler) {
+        return new WebSocketHandlerDecorator(handler) {
+            @Override
+            public void afterConnectionClosed(WebSocketSession session, CloseStatus closeStatus) throws Exception {
+                if (CloseStatus.SESSION_NOT_RELIABLE.equalsCode(closeStatus)) {
+                    slowConsumers.increment();
+                    logger.warn("Closed slow WebSocket consumer: session {}, user {}: {}", session.getId(),
+                            session.getPrincipal() != null ? session.getPrincipal().getName() : "anonymous",
+                            closeStatus.getReason());
+                }
+                super.afterConnectionClosed(session, closeStatus);
+            }
+        };
+    }
+}
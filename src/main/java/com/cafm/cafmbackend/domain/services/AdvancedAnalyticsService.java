@@ -2,7 +2,6 @@ package com.cafm.cafmbackend.domain.services;
 
 import com.cafm.cafmbackend.infrastructure.persistence.entity.*;
 import com.cafm.cafmbackend.infrastructure.persistence.repository.*;
-import com.cafm.cafmbackend.shared.enums.WorkOrderStatus;
 import com.cafm.cafmbackend.shared.util.TenantContext;
 import jakarta.annotation.PostConstruct;
 import org.slf4j.Logger;
@@ -47,6 +46,7 @@ public class AdvancedAnalyticsService {
     private final UserRepository userRepository;
     private final ReportRepository reportRepository;
     private final SchoolRepository schoolRepository;
+    private final WorkOrderRollupRepository rollupRepository;
     
     // Analytics calculation constants
     private static final int TREND_ANALYSIS_MONTHS = 12;
@@ -59,12 +59,14 @@ public class AdvancedAnalyticsService {
             AssetRepository assetRepository,
             UserRepository userRepository,
             ReportRepository reportRepository,
-            SchoolRepository schoolRepository) {
+            SchoolRepository schoolRepository,
+            WorkOrderRollupRepository rollupRepository) {
         this.workOrderRepository = workOrderRepository;
         this.assetRepository = assetRepository;
         this.userRepository = userRepository;
         this.reportRepository = reportRepository;
         this.schoolRepository = schoolRepository;
+        this.rollupRepository = rollupRepository;
     }
 
     @PostConstruct
@@ -276,7 +278,7 @@ public class AdvancedAnalyticsService {
                         roiAnalysis,
                         budgetVariance,
                         efficiencyMetrics,
-                        calculateTotalCost(costsByCategory),
+                        rollupRepository.findTotals(tenantId, startDate.toLocalDate(), endDate.toLocalDate()).totalCost(),
                         calculateCostPerWorkOrder(tenantId, startDate, endDate)
                 );
                 
@@ -385,30 +387,28 @@ public class AdvancedAnalyticsService {
     // Helper methods for complex analytics calculations
 
     private List<MonthlyDataPoint> generateMonthlyDataPoints(LocalDateTime startDate, LocalDateTime endDate) {
-        List<MonthlyDataPoint> dataPoints = new ArrayList<>();
         UUID tenantId = TenantContext.getCurrentCompanyId();
+        LocalDate firstMonth = startDate.toLocalDate().withDayOfMonth(1);
         
-        LocalDateTime current = startDate.withDayOfMonth(1).withHour(0).withMinute(0).withSecond(0);
+        // One read of the daily rollups; months without work orders count as zero
+        Map<LocalDate, WorkOrderRollupRepository.RollupTotals> totalsByMonth = new HashMap<>();
+        for (WorkOrderRollupRepository.MonthlyRollup month :
+                rollupRepository.findMonthlyTotals(tenantId, firstMonth, endDate.toLocalDate())) {
+            totalsByMonth.put(month.month(), month.totals());
+        }
         
-        while (current.isBefore(endDate)) {
-            LocalDateTime monthEnd = current.plusMonths(1);
-            
-            // Calculate metrics for this month
-            int workOrderCount = (int) workOrderRepository.countRecentWorkOrders(tenantId, current);
-            BigDecimal totalCost = calculateMonthlyTotalCost(tenantId, current, monthEnd);
-            double efficiencyScore = calculateMonthlyEfficiencyScore(tenantId, current, monthEnd);
-            int completedOrders = (int) workOrderRepository.countByCompanyIdAndStatus(
-                    tenantId, WorkOrderStatus.COMPLETED);
-            
-            dataPoints.add(new MonthlyDataPoint(
-                    current.toLocalDate(),
-                    workOrderCount,
-                    totalCost,
-                    efficiencyScore,
-                    completedOrders
-            ));
-            
-            current = monthEnd;
+        List<MonthlyDataPoint> dataPoints = new ArrayList<>();
+        for (LocalDate month = firstMonth; month.atStartOfDay().isBefore(endDate); month = month.plusMonths(1)) {
+            WorkOrderRollupRepository.RollupTotals totals = totalsByMonth.get(month);
+            dataPoints.add(totals == null
+                    ? new MonthlyDataPoint(month, 0, BigDecimal.ZERO, 0.0, 0)
+                    : new MonthlyDataPoint(
+                            month,
+                            (int) totals.workOrders(),
+                            totals.totalCost(),
+                            // Efficiency: share of the month's work orders that are completed or verified
+                            totals.completionRate(),
+                            (int) totals.completed()));
         }
         
         return dataPoints;
@@ -595,8 +595,6 @@ public class AdvancedAnalyticsService {
     }
 
     // Placeholder methods for complex calculations
-    private BigDecimal calculateMonthlyTotalCost(UUID tenantId, LocalDateTime start, LocalDateTime end) { return BigDecimal.ZERO; }
-    private double calculateMonthlyEfficiencyScore(UUID tenantId, LocalDateTime start, LocalDateTime end) { return 75.0; }
     private SeasonalPattern calculateSeasonalPattern(List<MonthlyDataPoint> data) { return null; }
     private List<AnomalyDetection> detectAnomalies(List<MonthlyDataPoint> data) { return Collections.emptyList(); }
     private CorrelationMatrix calculateCorrelationMatrix(List<MonthlyDataPoint> data) { return null; }
@@ -627,15 +625,30 @@ public class AdvancedAnalyticsService {
     
     // Stub implementations for complex calculations
     private Map<String, BigDecimal> calculateCostsByCategory(UUID tenantId, LocalDateTime start, LocalDateTime end) { return new HashMap<>(); }
-    private Map<String, BigDecimal> calculateCostsBySchool(UUID tenantId, LocalDateTime start, LocalDateTime end) { return new HashMap<>(); }
+    private Map<String, BigDecimal> calculateCostsBySchool(UUID tenantId, LocalDateTime start, LocalDateTime end) {
+        Map<UUID, BigDecimal> costs = rollupRepository.findCostBySchool(tenantId, start.toLocalDate(), end.toLocalDate());
+        Map<String, BigDecimal> costsBySchool = new HashMap<>();
+        for (School school : schoolRepository.findAllById(costs.keySet())) {
+            costsBySchool.merge(school.getName(), costs.get(school.getId()), BigDecimal::add);
+        }
+        return costsBySchool;
+    }
     private Map<String, BigDecimal> calculateCostsByAssetType(UUID tenantId, LocalDateTime start, LocalDateTime end) { return new HashMap<>(); }
-    private List<MonthlyCostData> calculateMonthlyCosts(UUID tenantId, LocalDateTime start, LocalDateTime end) { return new ArrayList<>(); }
+    private List<MonthlyCostData> calculateMonthlyCosts(UUID tenantId, LocalDateTime start, LocalDateTime end) {
+        return rollupRepository.findMonthlyTotals(tenantId, start.toLocalDate(), end.toLocalDate()).stream()
+                .map(month -> new MonthlyCostData(month.month(), month.totals().totalCost()))
+                .collect(Collectors.toList());
+    }
     private List<CostOptimizationOpportunity> identifyCostOptimizationOpportunities(UUID tenantId, Map<String, BigDecimal> costsByCategory, Map<String, BigDecimal> costsBySchool) { return new ArrayList<>(); }
     private ROIAnalysis calculateROIAnalysis(UUID tenantId, LocalDateTime start, LocalDateTime end) { return new ROIAnalysis(BigDecimal.ZERO); }
     private BudgetVariance calculateBudgetVariance(UUID tenantId, List<MonthlyCostData> monthlyCosts) { return new BudgetVariance(BigDecimal.ZERO); }
     private CostEfficiencyMetrics calculateCostEfficiencyMetrics(UUID tenantId, LocalDateTime start, LocalDateTime end) { return new CostEfficiencyMetrics(75.0); }
-    private BigDecimal calculateTotalCost(Map<String, BigDecimal> costsByCategory) { return costsByCategory.values().stream().reduce(BigDecimal.ZERO, BigDecimal::add); }
-    private BigDecimal calculateCostPerWorkOrder(UUID tenantId, LocalDateTime start, LocalDateTime end) { return BigDecimal.valueOf(500); }
+    private BigDecimal calculateCostPerWorkOrder(UUID tenantId, LocalDateTime start, LocalDateTime end) {
+        WorkOrderRollupRepository.RollupTotals totals = rollupRepository.findTotals(tenantId, start.toLocalDate(), end.toLocalDate());
+        return totals.workOrders() > 0
+                ? totals.totalCost().divide(BigDecimal.valueOf(totals.workOrders()), 2, RoundingMode.HALF_UP)
+                : BigDecimal.ZERO;
+    }
     private WorkOrderPerformance calculateWorkOrderPerformance(UUID tenantId, LocalDateTime start, LocalDateTime end) { return new WorkOrderPerformance(80.0); }
     private List<TechnicianPerformance> calculateTechnicianPerformance(UUID tenantId, LocalDateTime start, LocalDateTime end) { return new ArrayList<>(); }
     private AssetPerformance calculateAssetPerformance(UUID tenantId, LocalDateTime start, LocalDateTime end) { return new AssetPerformance(85.0); }
@@ -643,7 +656,11 @@ public class AdvancedAnalyticsService {
     private QualityMetrics calculateQualityMetrics(UUID tenantId, LocalDateTime start, LocalDateTime end) { return new QualityMetrics(90.0); }
     private BenchmarkingResults calculateBenchmarking(UUID tenantId, LocalDateTime start, LocalDateTime end) { return new BenchmarkingResults(100.0); }
     private double calculateOverallPerformanceScore(WorkOrderPerformance workOrder, QualityMetrics quality, ResponseTimeAnalytics response) { return 82.5; }
-    private MaintenanceStatistics calculateMaintenanceStatistics(UUID tenantId, LocalDateTime start, LocalDateTime end) { return new MaintenanceStatistics(100, 85, 85.0, 24.0); }
+    private MaintenanceStatistics calculateMaintenanceStatistics(UUID tenantId, LocalDateTime start, LocalDateTime end) {
+        WorkOrderRollupRepository.RollupTotals totals = rollupRepository.findTotals(tenantId, start.toLocalDate(), end.toLocalDate());
+        return new MaintenanceStatistics((int) totals.workOrders(), (int) totals.completed(),
+                totals.completionRate(), totals.averageCompletionHours());
+    }
     private MaintenancePatterns analyzeMaintenancePatterns(UUID tenantId, LocalDateTime start, LocalDateTime end) { return new MaintenancePatterns("REGULAR"); }
     private AssetReliabilityAnalysis calculateAssetReliability(UUID tenantId, LocalDateTime start, LocalDateTime end) { return new AssetReliabilityAnalysis(92.0); }
     private PreventiveReactiveAnalysis analyzePreventiveReactive(UUID tenantId, LocalDateTime start, LocalDateTime end) { return new PreventiveReactiveAnalysis(0.6); }
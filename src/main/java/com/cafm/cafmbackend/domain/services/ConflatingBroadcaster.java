@@ -0,0 +1,128 @@
+package com.cafm.cafmbackend.domain.services;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Rate-shaped publisher for high-frequency WebSocket broadcasts.
+ *
+ * Purpose: Make outbound frame volume follow the refresh rate instead of the event rate; most
+ *          location and dashboard updates are superseded within a second
+ * Pattern: Per-destination, per-entity "latest value wins" buffers, drained on a fixed rate
+ *          into one batched frame per destination
+ * Java 23: Records for batch frames; buffers are the only shared state
+ * Architecture: Used by WebSocketNotificationService; frames go through SimpMessagingTemplate,
+ *               so they follow the configured broker mode
+ * Standards: Per-entity order is preserved (only the latest value is sent); an entity updated
+ *            between two flushes is delivered once, at most one flush interval late
+ */
+@Component
+public class ConflatingBroadcaster {
+
+    private static final Logger logger = LoggerFactory.getLogger(ConflatingBroadcaster.class);
+
+    private final SimpMessagingTemplate messagingTemplate;
+    private final ConcurrentHashMap<String, DestinationBuffer> buffers = new ConcurrentHashMap<>();
+
+    private final Counter published;
+    private final Counter superseded;
+    private final Counter frames;
+
+    public ConflatingBroadcaster(SimpMessagingTemplate messagingTemplate, MeterRegistry meterRegistry) {
+        this.messagingTemplate = messagingTemplate;
+        this.published = Counter.builder("cafm.websocket.conflation.events")
+            .description("Updates offered for conflated broadcast")
+            .register(meterRegistry);
+        this.superseded = Counter.builder("cafm.websocket.conflation.superseded")
+            .description("Updates replaced by a newer value before they were sent")
+            .register(meterRegistry);
+        this.frames = Counter.builder("cafm.websocket.conflation.frames")
+            .description("Batched frames sent")
+            .register(meterRegistry);
+        Gauge.builder("cafm.websocket.conflation.pending", this, ConflatingBroadcaster::getPendingCount)
+            .description("Entities with an unsent value")
+            .register(meterRegistry);
+    }
+
+    /**
+     * Queue the latest value of an entity for a destination, replacing any unsent value.
+     */
+    public void publish(String destination, String entityKey, Object payload) {
+        published.increment();
+        if (buffers.computeIfAbsent(destination, key -> new DestinationBuffer()).put(entityKey, payload)) {
+            superseded.increment();
+        }
+    }
+
+    /**
+     * Send one frame per destination with the latest value of every updated entity.
+     */
+    @Scheduled(fixedRateString = "${app.websocket.conflation.flush-interval-ms:500}")
+    public void flush() {
+        buffers.forEach((destination, buffer) -> {
+            List<Object> updates = buffer.drain();
+            if (updates.isEmpty()) {
+                return;
+            }
+            try {
+                messagingTemplate.convertAndSend(destination,
+                    new BatchFrame(updates.size(), LocalDateTime.now(), updates));
+                frames.increment();
+            } catch (Exception e) {
+                logger.error("Error sending conflated frame to {}", destination, e);
+            }
+        });
+    }
+
+    /**
+     * Entities with an unsent value, across all destinations.
+     */
+    public int getPendingCount() {
+        return buffers.values().stream().mapToInt(DestinationBuffer::size).sum();
+    }
+
+    /**
+     * A batch of the latest values of the entities updated since the previous frame.
+     */
+    public record BatchFrame(int count, LocalDateTime flushedAt, List<Object> updates) {
+    }
+
+    /**
+     * Latest unsent value per entity; insertion order is kept so frames list entities
+     * in the order they first changed.
+     */
+    private static final class DestinationBuffer {
+
+        private Map<String, Object> pending = new LinkedHashMap<>();
+
+        synchronized boolean put(String entityKey, Object payload) {
+            return pending.put(entityKey, payload) != null;
+        }
+
+        synchronized List<Object> drain() {
+            if (pending.isEmpty()) {
+                return List.of();
+            }
+            List<Object> updates = new ArrayList<>(pending.values());
+            pending = new LinkedHashMap<>();
+            return updates;
+        }
+
+        synchronized int size() {
+            return pending.size();
+        }
+    }
+}
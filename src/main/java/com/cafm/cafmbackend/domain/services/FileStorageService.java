@@ -355,6 +355,62 @@ public class FileStorageService {
         }
     }
     
+    /**
+     * Upload a generated file (e.g. an export artifact) from local disk to the files bucket.
+     * The object is streamed from disk, so file size does not affect heap usage.
+     */
+    public void uploadGeneratedFile(String objectName, Path file, String contentType) {
+        logger.debug("Uploading generated file: {}", objectName);
+        
+        try {
+            minioClient.uploadObject(
+                UploadObjectArgs.builder()
+                    .bucket(filesBucket)
+                    .object(objectName)
+                    .filename(file.toString())
+                    .contentType(contentType)
+                    .build()
+            );
+            
+            logger.info("Generated file uploaded successfully: {}", objectName);
+            
+        } catch (Exception e) {
+            logger.error("Error uploading generated file: {}", objectName, e);
+            throw new RuntimeException("Failed to upload generated file: " + e.getMessage(), e);
+        }
+    }
+    
+    /**
+     * Generate a presigned download URL for an object in the files bucket.
+     */
+    public String generateFileDownloadUrl(String objectName, String downloadFileName, int expiryMinutes) {
+        logger.debug("Generating download URL for: {}", objectName);
+        
+        try {
+            return minioClient.getPresignedObjectUrl(
+                GetPresignedObjectUrlArgs.builder()
+                    .method(Method.GET)
+                    .bucket(filesBucket)
+                    .object(objectName)
+                    .expiry(expiryMinutes, TimeUnit.MINUTES)
+                    .extraQueryParams(Map.of("response-content-disposition",
+                        "attachment; filename=\"" + downloadFileName + "\""))
+                    .build()
+            );
+            
+        } catch (Exception e) {
+            logger.error("Error generating download URL", e);
+            throw new RuntimeException("Failed to generate download URL: " + e.getMessage(), e);
+        }
+    }
+    
+    /**
+     * Delete an object from the files bucket.
+     */
+    public boolean deleteGeneratedFile(String objectName) {
+        return deleteFile(filesBucket, objectName);
+    }
+    
     /**
      * Generate a presigned URL for direct upload.
      */
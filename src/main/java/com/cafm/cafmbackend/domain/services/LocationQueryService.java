@@ -2,9 +2,7 @@ package com.cafm.cafmbackend.domain.services;
 
 import com.cafm.cafmbackend.infrastructure.persistence.entity.WorkOrder;
 import com.cafm.cafmbackend.infrastructure.persistence.entity.Report;
-import com.cafm.cafmbackend.infrastructure.persistence.entity.School;
 import com.cafm.cafmbackend.infrastructure.persistence.entity.User;
-import com.cafm.cafmbackend.shared.enums.WorkOrderStatus;
 import com.cafm.cafmbackend.shared.enums.UserType;
 import com.cafm.cafmbackend.infrastructure.persistence.repository.*;
 import org.slf4j.Logger;
@@ -22,10 +20,12 @@ import java.util.stream.Collectors;
  * Service for location-based spatial queries and proximity calculations.
  * 
  * Purpose: Provides spatial query capabilities for location-aware features
- * Pattern: Domain service with PostGIS-ready spatial query support
+ * Pattern: Domain service over index-bounded k-NN queries (cube/earthdistance GiST indexes)
+ *          and the in-memory SchoolLocationIndex for school lookups
  * Java 23: Uses modern collection patterns and efficient distance calculations
  * Architecture: Domain service coordinating spatial operations across entities
- * Standards: Haversine formula for accurate distance calculations
+ * Standards: Haversine formula for accurate distance calculations; the database returns
+ *            candidates nearest first, distances in results are computed here
  */
 @Service
 @Transactional(readOnly = true)
@@ -39,17 +39,20 @@ public class LocationQueryService {
     private final ReportRepository reportRepository;
     private final SchoolRepository schoolRepository;
     private final UserRepository userRepository;
+    private final SchoolLocationIndex schoolLocationIndex;
     
     @Autowired
     public LocationQueryService(
             WorkOrderRepository workOrderRepository,
             ReportRepository reportRepository,
             SchoolRepository schoolRepository,
-            UserRepository userRepository) {
+            UserRepository userRepository,
+            SchoolLocationIndex schoolLocationIndex) {
         this.workOrderRepository = workOrderRepository;
         this.reportRepository = reportRepository;
         this.schoolRepository = schoolRepository;
         this.userRepository = userRepository;
+        this.schoolLocationIndex = schoolLocationIndex;
     }
     
     /**
@@ -60,18 +63,11 @@ public class LocationQueryService {
         logger.debug("Finding work orders within {}km of {}, {}", radiusKm, latitude, longitude);
         
         try {
-            // Get all active work orders for the company
+            // Nearest active work orders of the company, bounded by the spatial index
             List<WorkOrder> activeWorkOrders = workOrderRepository
-                .findAll(PageRequest.of(0, MAX_RESULTS))
-                .getContent()
-                .stream()
-                .filter(wo -> wo.getCompanyId().equals(companyId))
-                .filter(wo -> wo.getDeletedAt() == null)
-                .filter(wo -> wo.getStatus() != WorkOrderStatus.COMPLETED && wo.getStatus() != WorkOrderStatus.CANCELLED)
-                .toList();
+                .findNearbyWorkOrders(companyId, latitude, longitude, radiusKm, true, MAX_RESULTS);
             
             return activeWorkOrders.stream()
-                .filter(wo -> wo.getLatitude() != null && wo.getLongitude() != null)
                 .map(workOrder -> {
                     double woLat = workOrder.getLatitude().doubleValue();
                     double woLon = workOrder.getLongitude().doubleValue();
@@ -163,32 +159,27 @@ public class LocationQueryService {
         logger.debug("Finding schools within {}km of {}, {}", radiusKm, latitude, longitude);
         
         try {
-            // Get all active schools for the company
-            List<School> schools = schoolRepository
-                .findAll(PageRequest.of(0, MAX_RESULTS))
-                .getContent()
-                .stream()
-                .filter(school -> school.getCompany().getId().equals(companyId))
-                .filter(school -> school.getDeletedAt() == null)
-                .toList();
+            // Candidates from the tenant's in-memory grid, prefiltered by bounding box
+            Map<String, Double> box = calculateBoundingBox(latitude, longitude, radiusKm);
+            List<SchoolLocationIndex.SchoolLocation> schools = schoolLocationIndex.findInBox(
+                companyId, box.get("minLat"), box.get("maxLat"), box.get("minLon"), box.get("maxLon"));
             
             return schools.stream()
-                .filter(school -> school.getLatitude() != null && school.getLongitude() != null)
                 .map(school -> {
-                    double schoolLat = school.getLatitude().doubleValue();
-                    double schoolLon = school.getLongitude().doubleValue();
+                    double schoolLat = school.latitude();
+                    double schoolLon = school.longitude();
                     double distance = calculateDistance(latitude, longitude, schoolLat, schoolLon);
                     
                     Map<String, Object> result = new HashMap<>();
-                    result.put("id", school.getId());
-                    result.put("name", school.getName());
-                    result.put("address", school.getAddress());
-                    result.put("city", school.getCity());
+                    result.put("id", school.id());
+                    result.put("name", school.name());
+                    result.put("address", school.address());
+                    result.put("city", school.city());
                     result.put("latitude", schoolLat);
                     result.put("longitude", schoolLon);
                     result.put("distance", distance);
                     result.put("unit", "km");
-                    result.put("isActive", school.getDeletedAt() == null);
+                    result.put("isActive", true);
                     
                     return result;
                 })
@@ -213,15 +204,9 @@ public class LocationQueryService {
         
         try {
             List<WorkOrder> workOrders = workOrderRepository
-                .findAll(PageRequest.of(0, MAX_RESULTS * 2))
-                .getContent()
-                .stream()
-                .filter(wo -> wo.getCompanyId().equals(companyId))
-                .filter(wo -> wo.getDeletedAt() == null)
-                .toList();
+                .findNearbyWorkOrders(companyId, centerLat, centerLon, radiusKm, false, MAX_RESULTS);
             
             return workOrders.stream()
-                .filter(wo -> wo.getLatitude() != null && wo.getLongitude() != null)
                 .map(workOrder -> {
                     double woLat = workOrder.getLatitude().doubleValue();
                     double woLon = workOrder.getLongitude().doubleValue();
@@ -267,17 +252,11 @@ public class LocationQueryService {
         logger.debug("Finding reports within {}km of {}, {}", radiusKm, latitude, longitude);
         
         try {
-            // Get recent reports for the company  
+            // Nearest reports of the company, bounded by the spatial index
             List<Report> reports = reportRepository
-                .findAll(PageRequest.of(0, MAX_RESULTS))
-                .getContent()
-                .stream()
-                .filter(report -> report.getSchool().getCompany().getId().equals(companyId))
-                .filter(report -> report.getDeletedAt() == null)
-                .toList();
+                .findNearbyReports(companyId, latitude, longitude, radiusKm, MAX_RESULTS);
             
             return reports.stream()
-                .filter(report -> report.getLatitude() != null && report.getLongitude() != null)
                 .map(report -> {
                     double repLat = report.getLatitude();
                     double repLon = report.getLongitude();
@@ -2,6 +2,9 @@ package com.cafm.cafmbackend.domain.services;
 
 import com.cafm.cafmbackend.infrastructure.persistence.entity.*;
 import com.cafm.cafmbackend.infrastructure.persistence.repository.*;
+import com.cafm.cafmbackend.infrastructure.persistence.repository.DashboardAggregationRepository.DashboardScope;
+import com.cafm.cafmbackend.infrastructure.persistence.repository.DashboardAggregationRepository.ReportKpis;
+import com.cafm.cafmbackend.infrastructure.persistence.repository.DashboardAggregationRepository.WorkOrderKpis;
 import com.cafm.cafmbackend.shared.enums.*;
 import com.cafm.cafmbackend.dto.mobile.MobileDashboardResponse;
 import com.cafm.cafmbackend.dto.mobile.MobileDashboardResponse.*;
@@ -10,6 +13,8 @@ import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import jakarta.persistence.criteria.JoinType;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -22,7 +27,7 @@ import java.util.stream.Collectors;
  * Service for generating mobile dashboard data for supervisors.
  * 
  * Purpose: Aggregates and optimizes dashboard data for mobile supervisor app
- * Pattern: Domain service with complex aggregation logic
+ * Pattern: Domain service over grouped aggregate queries scoped to the supervisor's schools
  * Java 23: Uses stream API with pattern matching and sequenced collections
  * Architecture: Domain layer service coordinating multiple repositories
  * Standards: Constructor injection, transaction management, comprehensive logging
@@ -34,6 +39,7 @@ public class MobileDashboardService {
     private static final Logger logger = LoggerFactory.getLogger(MobileDashboardService.class);
     private static final int MAX_RECENT_ITEMS = 10;
     private static final int MAX_NOTIFICATIONS = 20;
+    private static final int TREND_DAYS = 7;
     
     private final UserRepository userRepository;
     private final ReportRepository reportRepository;
@@ -41,6 +47,7 @@ public class MobileDashboardService {
     private final NotificationRepository notificationRepository;
     private final SchoolRepository schoolRepository;
     private final SupervisorSchoolRepository supervisorSchoolRepository;
+    private final DashboardAggregationRepository dashboardAggregationRepository;
     
     @Autowired
     public MobileDashboardService(
@@ -49,13 +56,15 @@ public class MobileDashboardService {
             WorkOrderRepository workOrderRepository,
             NotificationRepository notificationRepository,
             SchoolRepository schoolRepository,
-            SupervisorSchoolRepository supervisorSchoolRepository) {
+            SupervisorSchoolRepository supervisorSchoolRepository,
+            DashboardAggregationRepository dashboardAggregationRepository) {
         this.userRepository = userRepository;
         this.reportRepository = reportRepository;
         this.workOrderRepository = workOrderRepository;
         this.notificationRepository = notificationRepository;
         this.schoolRepository = schoolRepository;
         this.supervisorSchoolRepository = supervisorSchoolRepository;
+        this.dashboardAggregationRepository = dashboardAggregationRepository;
     }
     
     /**
@@ -67,32 +76,34 @@ public class MobileDashboardService {
      * Architecture: Domain service method providing mobile-optimized dashboard data
      * Standards: Implements comprehensive dashboard data with performance optimization
      */
+    @Transactional(readOnly = true)
     public Map<String, Object> getSupervisorDashboard(String username, boolean detailed) {
         logger.debug("Getting mobile dashboard for user: {}, detailed: {}", username, detailed);
         
         try {
             // Get user and verify supervisor role
-            User user = userRepository.findAll().stream()
-                .filter(u -> u.getUsername().equals(username))
-                .findFirst()
+            User user = userRepository.findByEmailOrUsername(username)
                 .orElseThrow(() -> new RuntimeException("User not found: " + username));
             
             if (user.getUserType() != UserType.SUPERVISOR && user.getUserType() != UserType.ADMIN) {
                 throw new RuntimeException("User is not a supervisor: " + username);
             }
             
+            DashboardScope scope = resolveScope(user);
+            DashboardAggregates aggregates = loadAggregates(scope, detailed);
+            
             Map<String, Object> dashboard = new HashMap<>();
             
             // Basic metrics
             dashboard.put("supervisorInfo", createSupervisorInfo(user));
-            dashboard.put("quickStats", createQuickStats(user, detailed));
-            dashboard.put("recentActivities", getRecentActivities(user, detailed));
-            dashboard.put("priorities", getPriorityTasks(user));
-            dashboard.put("schools", getAssignedSchools(user));
+            dashboard.put("quickStats", createQuickStats(aggregates, detailed));
+            dashboard.put("recentActivities", getRecentActivities(scope, detailed));
+            dashboard.put("priorities", getPriorityTasks(scope));
+            dashboard.put("schools", getAssignedSchools(user, scope, aggregates));
             
             if (detailed) {
-                dashboard.put("performance", getPerformanceMetrics(user));
-                dashboard.put("trends", getTrendData(user));
+                dashboard.put("performance", getPerformanceMetrics(aggregates));
+                dashboard.put("trends", getTrendData(aggregates));
                 dashboard.put("alerts", getActiveAlerts(user));
             }
             
@@ -110,6 +121,75 @@ public class MobileDashboardService {
         }
     }
     
+    // Aggregation pipeline
+    
+    /**
+     * All counters a dashboard needs, computed by a fixed number of grouped queries.
+     */
+    private record DashboardAggregates(
+        ReportKpis reports,
+        WorkOrderKpis workOrders,
+        Map<UUID, Long> activeReportsBySchool,
+        Map<LocalDate, Long> reportsPerDay,
+        Map<LocalDate, Long> completionsPerDay,
+        Map<String, Long> openWorkOrdersByPriority
+    ) {}
+    
+    /**
+     * Supervisors are scoped to their assigned schools; admins see the whole tenant.
+     */
+    private DashboardScope resolveScope(User user) {
+        if (user.getUserType() == UserType.SUPERVISOR) {
+            return new DashboardScope(user.getCompanyId(), getAssignedSchoolIds(user.getId()));
+        }
+        return DashboardScope.tenantWide(user.getCompanyId());
+    }
+    
+    private DashboardAggregates loadAggregates(DashboardScope scope, boolean withTrends) {
+        if (scope.isEmpty()) {
+            return new DashboardAggregates(ReportKpis.empty(), WorkOrderKpis.empty(),
+                Map.of(), Map.of(), Map.of(), Map.of());
+        }
+        
+        LocalDate today = LocalDate.now();
+        LocalDate trendStart = today.minusDays(TREND_DAYS - 1);
+        
+        ReportKpis reports = dashboardAggregationRepository.getReportKpis(scope, today.atStartOfDay());
+        WorkOrderKpis workOrders = dashboardAggregationRepository.getWorkOrderKpis(scope,
+            today.atStartOfDay(), today.minusDays(7).atStartOfDay(), today.minusDays(30).atStartOfDay());
+        Map<UUID, Long> activeBySchool = dashboardAggregationRepository.countActiveReportsBySchool(scope);
+        Map<LocalDate, Long> reportsPerDay = dashboardAggregationRepository.countReportsCreatedPerDay(scope, trendStart);
+        
+        Map<LocalDate, Long> completionsPerDay = withTrends
+            ? dashboardAggregationRepository.countWorkOrdersCompletedPerDay(scope, trendStart)
+            : Map.of();
+        Map<String, Long> byPriority = withTrends
+            ? dashboardAggregationRepository.countOpenWorkOrdersByPriority(scope)
+            : Map.of();
+        
+        return new DashboardAggregates(reports, workOrders, activeBySchool,
+            reportsPerDay, completionsPerDay, byPriority);
+    }
+    
+    /**
+     * Tenant/school scope as a work order or report specification; fetches the school
+     * eagerly for row queries so mapping does not trigger lazy loads.
+     */
+    private <T> Specification<T> scopeSpecification(DashboardScope scope) {
+        return (root, query, cb) -> {
+            if (query.getResultType() != Long.class && query.getResultType() != long.class) {
+                root.fetch("school", JoinType.LEFT);
+            }
+            var predicate = cb.and(
+                cb.equal(root.get("company").get("id"), scope.companyId()),
+                cb.isNull(root.get("deletedAt"))
+            );
+            return scope.isTenantWide()
+                ? predicate
+                : cb.and(predicate, root.get("school").get("id").in(scope.schoolIds()));
+        };
+    }
+    
     // Helper methods for dashboard generation
     
     private Map<String, Object> createSupervisorInfo(User user) {
@@ -123,44 +203,32 @@ public class MobileDashboardService {
         return info;
     }
     
-    private Map<String, Object> createQuickStats(User supervisor, boolean detailed) {
+    private Map<String, Object> createQuickStats(DashboardAggregates aggregates, boolean detailed) {
         Map<String, Object> stats = new HashMap<>();
         
-        // Count active reports (simplified for now)
-        long activeReports = reportRepository.findAll().stream()
-            .filter(r -> r.getStatus() == ReportStatus.SUBMITTED)
-            .count();
-        
-        // Count pending work orders (simplified for now)  
-        long pendingWorkOrders = workOrderRepository.findAll().stream()
-            .filter(w -> w.getStatus() == WorkOrderStatus.ASSIGNED)
-            .count();
-            
-        // Count overdue items (simplified for now)
-        long overdueItems = 0; // Simplified - skip due date checks for now
-        
-        stats.put("activeReports", activeReports);
-        stats.put("pendingWorkOrders", pendingWorkOrders);
-        stats.put("overdueItems", overdueItems);
-        stats.put("completedToday", getCompletedTodayCount(supervisor));
+        stats.put("activeReports", aggregates.reports().submitted());
+        stats.put("pendingWorkOrders", aggregates.workOrders().assigned());
+        stats.put("overdueItems", aggregates.workOrders().overdue());
+        stats.put("completedToday", aggregates.workOrders().completedToday());
         
         if (detailed) {
-            stats.put("completedThisWeek", getCompletedThisWeekCount(supervisor));
-            stats.put("completedThisMonth", getCompletedThisMonthCount(supervisor));
-            stats.put("averageCompletionTime", getAverageCompletionTime(supervisor));
+            stats.put("completedThisWeek", aggregates.workOrders().completedThisWeek());
+            stats.put("completedThisMonth", aggregates.workOrders().completedThisMonth());
+            stats.put("averageCompletionTime", getAverageCompletionTime(aggregates));
         }
         
         return stats;
     }
     
-    private List<Map<String, Object>> getRecentActivities(User supervisor, boolean detailed) {
+    private List<Map<String, Object>> getRecentActivities(DashboardScope scope, boolean detailed) {
+        if (scope.isEmpty()) {
+            return List.of();
+        }
         int limit = detailed ? MAX_RECENT_ITEMS * 2 : MAX_RECENT_ITEMS;
         
-        // Get recent work order updates (simplified)
-        List<WorkOrder> recentWorkOrders = workOrderRepository.findAll().stream()
-            .sorted((a, b) -> b.getUpdatedAt().compareTo(a.getUpdatedAt()))
-            .limit(limit)
-            .toList();
+        List<WorkOrder> recentWorkOrders = workOrderRepository.findBy(
+            this.<WorkOrder>scopeSpecification(scope),
+            q -> q.sortBy(Sort.by(Sort.Direction.DESC, "updatedAt")).limit(limit).all());
             
         return recentWorkOrders.stream()
             .map(this::mapWorkOrderToActivity)
@@ -175,18 +243,26 @@ public class MobileDashboardService {
         activity.put("status", workOrder.getStatus());
         activity.put("priority", workOrder.getPriority());
         activity.put("updatedAt", workOrder.getUpdatedAt());
-        activity.put("schoolName", workOrder.getReport().getSchool().getName());
+        activity.put("schoolName", schoolNameOf(workOrder));
         return activity;
     }
     
-    private List<Map<String, Object>> getPriorityTasks(User supervisor) {
-        // Get high priority and overdue items (simplified)
-        List<WorkOrder> priorityTasks = workOrderRepository.findAll().stream()
-            .filter(w -> w.getPriority() == WorkOrderPriority.HIGH || w.getPriority() == WorkOrderPriority.EMERGENCY)
-            .toList();
+    private List<Map<String, Object>> getPriorityTasks(DashboardScope scope) {
+        if (scope.isEmpty()) {
+            return List.of();
+        }
+        Specification<WorkOrder> spec = this.<WorkOrder>scopeSpecification(scope)
+            .and((root, query, cb) -> cb.and(
+                root.get("priority").in(List.of(WorkOrderPriority.HIGH, WorkOrderPriority.EMERGENCY)),
+                cb.not(root.get("status").in(List.of(
+                    WorkOrderStatus.COMPLETED, WorkOrderStatus.CANCELLED, WorkOrderStatus.VERIFIED)))
+            ));
+        
+        // Top 5 priority tasks
+        List<WorkOrder> priorityTasks = workOrderRepository.findBy(spec,
+            q -> q.sortBy(Sort.by(Sort.Direction.ASC, "scheduledEnd")).limit(5).all());
         
         return priorityTasks.stream()
-            .limit(5) // Top 5 priority tasks
             .map(this::mapWorkOrderToTask)
             .collect(Collectors.toList());
     }
@@ -197,14 +273,27 @@ public class MobileDashboardService {
         task.put("title", workOrder.getTitle());
         task.put("status", workOrder.getStatus());
         task.put("priority", workOrder.getPriority());
-        task.put("dueDate", null); // Simplified - skip due date for now
-        task.put("schoolName", workOrder.getReport().getSchool().getName());
-        task.put("isOverdue", false); // Simplified - skip overdue check for now
+        task.put("dueDate", workOrder.getScheduledEnd());
+        task.put("schoolName", schoolNameOf(workOrder));
+        task.put("isOverdue", workOrder.getScheduledEnd() != null
+            && workOrder.getScheduledEnd().isBefore(LocalDateTime.now()));
         return task;
     }
     
-    private List<Map<String, Object>> getAssignedSchools(User supervisor) {
-        List<School> schools = schoolRepository.findAll(); // Simplified - get all schools
+    private String schoolNameOf(WorkOrder workOrder) {
+        if (workOrder.getSchool() != null) {
+            return workOrder.getSchool().getName();
+        }
+        return "Unknown";
+    }
+    
+    private List<Map<String, Object>> getAssignedSchools(User supervisor, DashboardScope scope,
+                                                         DashboardAggregates aggregates) {
+        List<School> schools = scope.isTenantWide()
+            ? schoolRepository.findAll((root, query, cb) -> cb.and(
+                cb.equal(root.get("company").get("id"), scope.companyId()),
+                cb.isNull(root.get("deletedAt"))))
+            : schoolRepository.findSchoolsBySupervisor(supervisor.getId());
         
         return schools.stream()
             .map(school -> {
@@ -212,26 +301,26 @@ public class MobileDashboardService {
                 schoolInfo.put("id", school.getId());
                 schoolInfo.put("name", school.getName());
                 schoolInfo.put("district", "N/A"); // Simplified - district field may not exist
-                schoolInfo.put("activeReports", getActiveReportsCountForSchool(school));
+                schoolInfo.put("activeReports", aggregates.activeReportsBySchool().getOrDefault(school.getId(), 0L));
                 return schoolInfo;
             })
             .collect(Collectors.toList());
     }
     
-    private Map<String, Object> getPerformanceMetrics(User supervisor) {
+    private Map<String, Object> getPerformanceMetrics(DashboardAggregates aggregates) {
         Map<String, Object> metrics = new HashMap<>();
-        metrics.put("completionRate", calculateCompletionRate(supervisor));
-        metrics.put("averageResponseTime", calculateAverageResponseTime(supervisor));
-        metrics.put("customerSatisfaction", calculateCustomerSatisfaction(supervisor));
-        metrics.put("efficiency", calculateEfficiencyScore(supervisor));
+        metrics.put("completionRate", calculateCompletionRate(aggregates));
+        metrics.put("averageResponseTime", calculateAverageResponseTime());
+        metrics.put("customerSatisfaction", calculateCustomerSatisfaction());
+        metrics.put("efficiency", calculateEfficiencyScore());
         return metrics;
     }
     
-    private Map<String, Object> getTrendData(User supervisor) {
+    private Map<String, Object> getTrendData(DashboardAggregates aggregates) {
         Map<String, Object> trends = new HashMap<>();
-        trends.put("weeklyCompletions", getWeeklyCompletionTrend(supervisor));
-        trends.put("monthlyWorkload", getMonthlyWorkloadTrend(supervisor));
-        trends.put("priorityDistribution", getPriorityDistribution(supervisor));
+        trends.put("weeklyCompletions", getWeeklyCompletionTrend(aggregates));
+        trends.put("monthlyWorkload", getMonthlyWorkloadTrend());
+        trends.put("priorityDistribution", getPriorityDistribution(aggregates));
         return trends;
     }
     
@@ -240,92 +329,54 @@ public class MobileDashboardService {
         return List.of(); // Placeholder implementation
     }
     
-    // Utility methods for metrics calculation (simplified implementations)
-    
-    private long getCompletedTodayCount(User supervisor) {
-        LocalDateTime startOfDay = LocalDate.now().atStartOfDay();
-        return workOrderRepository.findAll().stream()
-            .filter(w -> w.getStatus() == WorkOrderStatus.COMPLETED)
-            .filter(w -> w.getUpdatedAt().isAfter(startOfDay))
-            .count();
-    }
-    
-    private long getCompletedThisWeekCount(User supervisor) {
-        LocalDateTime startOfWeek = LocalDate.now().minusDays(7).atStartOfDay();
-        return workOrderRepository.findAll().stream()
-            .filter(w -> w.getStatus() == WorkOrderStatus.COMPLETED)
-            .filter(w -> w.getUpdatedAt().isAfter(startOfWeek))
-            .count();
-    }
-    
-    private long getCompletedThisMonthCount(User supervisor) {
-        LocalDateTime startOfMonth = LocalDate.now().minusDays(30).atStartOfDay();
-        return workOrderRepository.findAll().stream()
-            .filter(w -> w.getStatus() == WorkOrderStatus.COMPLETED)
-            .filter(w -> w.getUpdatedAt().isAfter(startOfMonth))
-            .count();
-    }
+    // Utility methods for metrics calculation
     
-    private double getAverageCompletionTime(User supervisor) {
-        return 2.5; // Simplified - return static average in days
+    private double getAverageCompletionTime(DashboardAggregates aggregates) {
+        Double days = aggregates.workOrders().averageCompletionDays();
+        return days != null ? days : 0.0;
     }
     
-    private long getActiveReportsCountForSchool(School school) {
-        return reportRepository.findAll().stream()
-            .filter(r -> r.getSchool().getId().equals(school.getId()))
-            .filter(r -> r.getStatus() == ReportStatus.SUBMITTED)
-            .count();
-    }
-    
-    private double calculateCompletionRate(User supervisor) {
-        List<WorkOrder> allOrders = workOrderRepository.findAll();
-        long total = allOrders.size();
-        long completed = allOrders.stream()
-            .filter(w -> w.getStatus() == WorkOrderStatus.COMPLETED)
-            .count();
+    private double calculateCompletionRate(DashboardAggregates aggregates) {
+        long total = aggregates.workOrders().total();
+        long completed = aggregates.workOrders().completed();
         return total > 0 ? (double) completed / total * 100 : 0.0;
     }
     
-    private double calculateAverageResponseTime(User supervisor) {
+    private double calculateAverageResponseTime() {
         return 1.2; // Simplified - return static average in days
     }
     
-    private double calculateCustomerSatisfaction(User supervisor) {
+    private double calculateCustomerSatisfaction() {
         // Placeholder - would calculate from feedback/ratings
         return 4.5; // Default satisfaction score
     }
     
-    private double calculateEfficiencyScore(User supervisor) {
+    private double calculateEfficiencyScore() {
         // Complex calculation based on completion time, quality, etc.
         return 85.0; // Placeholder efficiency score
     }
     
-    private List<Integer> getWeeklyCompletionTrend(User supervisor) {
-        // Simplified - return sample trend data
-        return List.of(2, 3, 1, 5, 4, 3, 2); // Last 7 days
+    private List<Integer> getWeeklyCompletionTrend(DashboardAggregates aggregates) {
+        // Last 7 days, oldest first
+        return aggregates.completionsPerDay().values().stream()
+            .map(Long::intValue)
+            .toList();
     }
     
-    private List<Integer> getMonthlyWorkloadTrend(User supervisor) {
+    private List<Integer> getMonthlyWorkloadTrend() {
         // Simplified - return sample trend data
         return List.of(15, 18, 22, 20, 25, 19, 23, 21, 24, 26, 20, 22); // Last 12 months
     }
     
-    private Map<String, Integer> getPriorityDistribution(User supervisor) {
-        // Simplified - return sample distribution
-        Map<String, Integer> distribution = new HashMap<>();
-        distribution.put("EMERGENCY", 2);
-        distribution.put("HIGH", 8);
-        distribution.put("MEDIUM", 15);
-        distribution.put("LOW", 25);
-        distribution.put("SCHEDULED", 10);
+    private Map<String, Integer> getPriorityDistribution(DashboardAggregates aggregates) {
+        Map<String, Integer> distribution = new LinkedHashMap<>();
+        for (WorkOrderPriority priority : WorkOrderPriority.values()) {
+            distribution.put(priority.name(),
+                aggregates.openWorkOrdersByPriority().getOrDefault(priority.name(), 0L).intValue());
+        }
         return distribution;
     }
     
-    private UUID getTenantId() {
-        // Implementation would get current tenant ID from context
-        return UUID.randomUUID(); // Placeholder
-    }
-    
     /**
      * Generate dashboard data for a supervisor.
      */
@@ -341,14 +392,15 @@ public class MobileDashboardService {
         }
         
         // Get assigned schools for the supervisor
-        List<UUID> assignedSchoolIds = getAssignedSchoolIds(user.getId());
+        DashboardScope scope = new DashboardScope(user.getCompanyId(), getAssignedSchoolIds(user.getId()));
+        DashboardAggregates aggregates = loadAggregates(scope, false);
         
         // Generate dashboard components
-        DashboardSummary summary = generateSummary(user, assignedSchoolIds);
-        List<MobileReportSummary> recentReports = getRecentReports(assignedSchoolIds);
-        List<MobileWorkOrderSummary> pendingWorkOrders = getPendingWorkOrders(assignedSchoolIds);
+        DashboardSummary summary = generateSummary(scope, aggregates);
+        List<MobileReportSummary> recentReports = getRecentReports(scope);
+        List<MobileWorkOrderSummary> pendingWorkOrders = getPendingWorkOrders(scope);
         List<MobileNotification> notifications = getRecentNotifications(user.getId());
-        DashboardStatistics statistics = calculateStatistics(user, assignedSchoolIds);
+        DashboardStatistics statistics = calculateStatistics(aggregates);
         
         // Get last sync timestamp
         LocalDateTime lastSync = getLastSyncTimestamp(user.getId());
@@ -368,85 +420,40 @@ public class MobileDashboardService {
     }
     
     private List<UUID> getAssignedSchoolIds(UUID supervisorId) {
-        return supervisorSchoolRepository.findBySupervisorIdAndIsActiveTrue(supervisorId)
-            .stream()
-            .map(ss -> ss.getSchool().getId())
-            .collect(Collectors.toList());
+        return supervisorSchoolRepository.findActiveSchoolIdsBySupervisorId(supervisorId);
     }
     
-    private DashboardSummary generateSummary(User supervisor, List<UUID> schoolIds) {
-        LocalDate today = LocalDate.now();
-        
-        // Calculate counts for each school and sum them up
-        int totalReports = 0;
-        int pendingReports = 0;
-        int urgentCount = 0;
-        
-        for (UUID schoolId : schoolIds) {
-            totalReports += reportRepository.countBySchoolIdAndDeletedAtIsNull(schoolId);
-            pendingReports += reportRepository.countBySchoolIdAndStatusAndDeletedAtIsNull(schoolId, ReportStatus.PENDING);
-            // Count urgent priority reports
-            urgentCount += reportRepository.count(
-                (root, query, cb) -> cb.and(
-                    cb.equal(root.get("school").get("id"), schoolId),
-                    cb.equal(root.get("priority"), ReportPriority.URGENT),
-                    cb.isNull(root.get("deletedAt"))
-                )
-            );
-        }
-        
-        // Count completed today
-        int completedToday = (int) reportRepository.count(
-            (root, query, cb) -> cb.and(
-                root.get("school").get("id").in(schoolIds),
-                cb.equal(root.get("status"), ReportStatus.COMPLETED),
-                cb.between(root.get("resolvedDate"), 
-                          today.atStartOfDay(), 
-                          today.plusDays(1).atStartOfDay()),
-                cb.isNull(root.get("deletedAt"))
-            )
-        );
-        int schoolsAssigned = schoolIds.size();
-        // Count active work orders
-        int activeWorkOrders = (int) workOrderRepository.count(
-            (root, query, cb) -> cb.and(
-                root.get("report").get("school").get("id").in(schoolIds),
-                root.get("status").in(List.of(WorkOrderStatus.PENDING, WorkOrderStatus.IN_PROGRESS)),
-                cb.isNull(root.get("deletedAt"))
-            )
-        );
+    private DashboardSummary generateSummary(DashboardScope scope, DashboardAggregates aggregates) {
+        ReportKpis reports = aggregates.reports();
         
         return new DashboardSummary(
-            totalReports,
-            pendingReports,
-            completedToday,
-            urgentCount,
-            schoolsAssigned,
-            activeWorkOrders
+            (int) reports.total(),
+            (int) reports.pending(),
+            (int) reports.completedToday(),
+            (int) reports.urgent(),
+            scope.isTenantWide() ? 0 : scope.schoolIds().size(),
+            (int) aggregates.workOrders().active()
         );
     }
     
-    private List<MobileReportSummary> getRecentReports(List<UUID> schoolIds) {
-        PageRequest pageRequest = PageRequest.of(0, MAX_RECENT_ITEMS, 
-            Sort.by(Sort.Direction.DESC, "createdAt"));
-        
-        // Get reports from multiple schools
-        List<Report> reports = new ArrayList<>();
-        for (UUID schoolId : schoolIds) {
-            reports.addAll(reportRepository.findBySchoolId(schoolId, pageRequest).getContent());
+    private List<MobileReportSummary> getRecentReports(DashboardScope scope) {
+        if (scope.isEmpty()) {
+            return List.of();
         }
         
-        // Sort by creation date and limit to MAX_RECENT_ITEMS
+        // One query across all assigned schools, newest first
+        List<Report> reports = reportRepository.findBy(
+            this.<Report>scopeSpecification(scope),
+            q -> q.sortBy(Sort.by(Sort.Direction.DESC, "createdAt")).limit(MAX_RECENT_ITEMS).all());
+        
         return reports.stream()
-            .sorted((r1, r2) -> r2.getCreatedAt().compareTo(r1.getCreatedAt()))
-            .limit(MAX_RECENT_ITEMS)
             .map(this::mapToMobileReportSummary)
             .collect(Collectors.toList());
     }
     
     private MobileReportSummary mapToMobileReportSummary(Report report) {
-        School school = schoolRepository.findById(report.getSchool().getId())
-            .orElse(null);
+        // School is fetched with the report by scopeSpecification
+        School school = report.getSchool();
         
         LocationInfo location = null;
         if (school != null && school.getLatitude() != null && school.getLongitude() != null) {
@@ -473,22 +480,17 @@ public class MobileDashboardService {
         );
     }
     
-    private List<MobileWorkOrderSummary> getPendingWorkOrders(List<UUID> schoolIds) {
-        PageRequest pageRequest = PageRequest.of(0, MAX_RECENT_ITEMS,
-            Sort.by(Sort.Direction.ASC, "scheduledDate"));
+    private List<MobileWorkOrderSummary> getPendingWorkOrders(DashboardScope scope) {
+        if (scope.isEmpty()) {
+            return List.of();
+        }
+        
+        Specification<WorkOrder> spec = this.<WorkOrder>scopeSpecification(scope)
+            .and((root, query, cb) ->
+                root.get("status").in(List.of(WorkOrderStatus.PENDING, WorkOrderStatus.IN_PROGRESS)));
         
-        // Get pending work orders from multiple schools
-        List<WorkOrder> workOrders = workOrderRepository.findAll(
-            (root, query, cb) -> {
-                query.orderBy(cb.asc(root.get("scheduledDate")));
-                return cb.and(
-                    root.get("report").get("school").get("id").in(schoolIds),
-                    root.get("status").in(List.of(WorkOrderStatus.PENDING, WorkOrderStatus.IN_PROGRESS)),
-                    cb.isNull(root.get("deletedAt"))
-                );
-            },
-            pageRequest
-        ).getContent();
+        List<WorkOrder> workOrders = workOrderRepository.findBy(spec,
+            q -> q.sortBy(Sort.by(Sort.Direction.ASC, "scheduledStart")).limit(MAX_RECENT_ITEMS).all());
         
         return workOrders.stream()
             .map(this::mapToMobileWorkOrderSummary)
@@ -496,8 +498,7 @@ public class MobileDashboardService {
     }
     
     private MobileWorkOrderSummary mapToMobileWorkOrderSummary(WorkOrder workOrder) {
-        Report report = workOrder.getReport();
-        School school = report != null && report.getSchool() != null ? report.getSchool() : null;
+        School school = workOrder.getSchool();
         
         // Get technician names if assigned
         List<String> technicianNames = new ArrayList<>();
@@ -520,11 +521,9 @@ public class MobileDashboardService {
     }
     
     private List<MobileNotification> getRecentNotifications(UUID userId) {
-        PageRequest pageRequest = PageRequest.of(0, MAX_NOTIFICATIONS,
-            Sort.by(Sort.Direction.DESC, "createdAt"));
-        
-        // Get notifications for user (simplified as NotificationRepository doesn't have specification support)
-        List<Notification> notifications = new ArrayList<>(); // Placeholder until proper query is added
+        // First keyset page: newest notifications, no count query
+        List<Notification> notifications = notificationRepository.findFirstPageByUserId(userId,
+            PageRequest.ofSize(MAX_NOTIFICATIONS));
         
         return notifications.stream()
             .map(this::mapToMobileNotification)
@@ -543,15 +542,10 @@ public class MobileDashboardService {
         );
     }
     
-    private DashboardStatistics calculateStatistics(User supervisor, List<UUID> schoolIds) {
+    private DashboardStatistics calculateStatistics(DashboardAggregates aggregates) {
         // Calculate completion rate
-        int totalReports = 0;
-        int completedReports = 0;
-        
-        for (UUID schoolId : schoolIds) {
-            totalReports += reportRepository.countBySchoolIdAndDeletedAtIsNull(schoolId);
-            completedReports += reportRepository.countBySchoolIdAndStatusAndDeletedAtIsNull(schoolId, ReportStatus.COMPLETED);
-        }
+        long totalReports = aggregates.reports().total();
+        long completedReports = aggregates.reports().completed();
         
         double completionRate = totalReports > 0 ? (double) completedReports / totalReports * 100 : 0;
         
@@ -559,7 +553,7 @@ public class MobileDashboardService {
         Double avgResolutionTime = 48.0; // Default 48 hours
         
         // Get weekly trends
-        Map<String, Integer> weeklyTrends = calculateWeeklyTrends(schoolIds);
+        Map<String, Integer> weeklyTrends = calculateWeeklyTrends(aggregates);
         
         // Get category distribution (simplified for now)
         Map<String, Integer> categoryDistribution = new HashMap<>();
@@ -580,21 +574,13 @@ public class MobileDashboardService {
         );
     }
     
-    private Map<String, Integer> calculateWeeklyTrends(List<UUID> schoolIds) {
+    private Map<String, Integer> calculateWeeklyTrends(DashboardAggregates aggregates) {
         Map<String, Integer> trends = new LinkedHashMap<>();
         LocalDate today = LocalDate.now();
         
-        for (int i = 6; i >= 0; i--) {
+        for (int i = TREND_DAYS - 1; i >= 0; i--) {
             LocalDate date = today.minusDays(i);
-            int count = (int) reportRepository.count(
-                (root, query, cb) -> cb.and(
-                    root.get("school").get("id").in(schoolIds),
-                    cb.between(root.get("createdAt"), 
-                              date.atStartOfDay(), 
-                              date.plusDays(1).atStartOfDay()),
-                    cb.isNull(root.get("deletedAt"))
-                )
-            );
+            int count = aggregates.reportsPerDay().getOrDefault(date, 0L).intValue();
             trends.put(date.getDayOfWeek().toString().substring(0, 3), count);
         }
         
@@ -1,10 +1,17 @@
 package com.cafm.cafmbackend.domain.services;
 
+import com.cafm.cafmbackend.dto.common.CursorPageResponse;
+import com.cafm.cafmbackend.dto.common.SeekCursor;
+import com.cafm.cafmbackend.infrastructure.persistence.entity.Notification;
 import com.cafm.cafmbackend.infrastructure.persistence.entity.User;
+import com.cafm.cafmbackend.infrastructure.persistence.repository.NotificationRepository;
+import com.cafm.cafmbackend.infrastructure.persistence.repository.RowEstimateRepository;
+import com.cafm.cafmbackend.infrastructure.persistence.repository.RowEstimateRepository.EstimateScope;
 import com.cafm.cafmbackend.infrastructure.persistence.repository.UserRepository;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -30,10 +37,16 @@ public class MobileNotificationService {
     private static final Logger logger = LoggerFactory.getLogger(MobileNotificationService.class);
     
     private final UserRepository userRepository;
+    private final NotificationRepository notificationRepository;
+    private final RowEstimateRepository rowEstimateRepository;
     
     @Autowired
-    public MobileNotificationService(UserRepository userRepository) {
+    public MobileNotificationService(UserRepository userRepository,
+                                     NotificationRepository notificationRepository,
+                                     RowEstimateRepository rowEstimateRepository) {
         this.userRepository = userRepository;
+        this.notificationRepository = notificationRepository;
+        this.rowEstimateRepository = rowEstimateRepository;
     }
     
     /**
@@ -173,6 +186,30 @@ public class MobileNotificationService {
         return notification;
     }
     
+    /**
+     * Get a page of the user's notifications after a cursor, newest first, without a count query.
+     */
+    @Transactional(readOnly = true)
+    public CursorPageResponse<Map<String, Object>> getNotifications(String userEmail, String cursor, int size,
+                                                                    boolean estimateTotal) {
+        User user = userRepository.findByEmail(userEmail)
+            .orElseThrow(() -> new RuntimeException("User not found: " + userEmail));
+        UUID userId = user.getId();
+        
+        int pageSize = CursorPageResponse.clampSize(size);
+        SeekCursor after = SeekCursor.decodeOrNull(cursor, userId);
+        Pageable limit = Pageable.ofSize(CursorPageResponse.probeSize(pageSize));
+        
+        List<Notification> rows = after == null
+            ? notificationRepository.findFirstPageByUserId(userId, limit)
+            : notificationRepository.findPageAfterByUserId(userId, after.timestamp(), after.id(), limit);
+        
+        return CursorPageResponse.fromProbe(rows, pageSize,
+            notification -> new SeekCursor(userId, notification.getCreatedAt(), notification.getId()),
+            this::toMap,
+            estimateTotal ? rowEstimateRepository.estimateRows(EstimateScope.NOTIFICATIONS, userId) : null);
+    }
+    
     /**
      * Get unread notification count for user.
      */
@@ -230,4 +267,16 @@ public class MobileNotificationService {
         // Would remove from device_topic_subscriptions table
         logger.info("User {} unsubscribed from topic: {}", userEmail, topic);
     }
-}
\ No newline at end of file
+    
+    private Map<String, Object> toMap(Notification notification) {
+        Map<String, Object> map = new HashMap<>();
+        map.put("id", notification.getId());
+        map.put("title", notification.getTitle());
+        map.put("message", notification.getBody());
+        map.put("data", notification.getData());
+        map.put("read", Boolean.TRUE.equals(notification.getRead()));
+        map.put("read_at", notification.getReadAt());
+        map.put("created_at", notification.getCreatedAt());
+        return map;
+    }
+}
@@ -3,6 +3,18 @@ package com.cafm.cafmbackend.domain.services;
 import com.cafm.cafmbackend.dto.mobile.MobileSyncRequest;
 import com.cafm.cafmbackend.dto.mobile.MobileSyncResponse;
 import com.cafm.cafmbackend.dto.mobile.MobileSyncConflict;
+import com.cafm.cafmbackend.dto.mobile.SyncCursor;
+import com.cafm.cafmbackend.infrastructure.persistence.entity.Asset;
+import com.cafm.cafmbackend.infrastructure.persistence.entity.Report;
+import com.cafm.cafmbackend.infrastructure.persistence.entity.User;
+import com.cafm.cafmbackend.infrastructure.persistence.entity.WorkOrder;
+import com.cafm.cafmbackend.infrastructure.persistence.repository.AssetRepository;
+import com.cafm.cafmbackend.infrastructure.persistence.repository.ReportRepository;
+import com.cafm.cafmbackend.infrastructure.persistence.repository.SupervisorSchoolRepository;
+import com.cafm.cafmbackend.infrastructure.persistence.repository.SyncChangeLogRepository;
+import com.cafm.cafmbackend.infrastructure.persistence.repository.UserRepository;
+import com.cafm.cafmbackend.infrastructure.persistence.repository.WorkOrderRepository;
+import com.cafm.cafmbackend.shared.enums.UserType;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Service;
@@ -15,7 +27,7 @@ import java.util.*;
  * Service for mobile synchronization operations.
  * 
  * Purpose: Handles mobile app synchronization with conflict resolution
- * Pattern: Synchronization service with simplified conflict detection
+ * Pattern: Cursor-based delta sync over the per-tenant sync change log (V135)
  * Java 23: Uses modern collections and stream processing
  * Architecture: Domain service coordinating mobile sync operations
  * Standards: Implements mobile-first synchronization patterns
@@ -26,6 +38,32 @@ public class MobileSyncService {
     
     private static final Logger logger = LoggerFactory.getLogger(MobileSyncService.class);
     
+    private static final String ENTITY_REPORT = "REPORT";
+    private static final String ENTITY_WORK_ORDER = "WORK_ORDER";
+    private static final String ENTITY_ASSET = "ASSET";
+    private static final Set<String> SYNCED_ENTITY_TYPES = Set.of(ENTITY_REPORT, ENTITY_WORK_ORDER, ENTITY_ASSET);
+    
+    private final UserRepository userRepository;
+    private final ReportRepository reportRepository;
+    private final WorkOrderRepository workOrderRepository;
+    private final AssetRepository assetRepository;
+    private final SupervisorSchoolRepository supervisorSchoolRepository;
+    private final SyncChangeLogRepository syncChangeLogRepository;
+    
+    public MobileSyncService(UserRepository userRepository,
+                             ReportRepository reportRepository,
+                             WorkOrderRepository workOrderRepository,
+                             AssetRepository assetRepository,
+                             SupervisorSchoolRepository supervisorSchoolRepository,
+                             SyncChangeLogRepository syncChangeLogRepository) {
+        this.userRepository = userRepository;
+        this.reportRepository = reportRepository;
+        this.workOrderRepository = workOrderRepository;
+        this.assetRepository = assetRepository;
+        this.supervisorSchoolRepository = supervisorSchoolRepository;
+        this.syncChangeLogRepository = syncChangeLogRepository;
+    }
+    
     /**
      * Process mobile synchronization request.
      * 
@@ -103,6 +141,7 @@ public class MobileSyncService {
         // Sync configuration
         Map<String, Object> syncConfig = new HashMap<>();
         syncConfig.put("conflictResolution", "SERVER_WINS");
+        syncConfig.put("cursorSync", true); // send next_sync_token back as syncToken
         syncConfig.put("retryAttempts", 3);
         syncConfig.put("timeoutMs", 30000);
         config.put("syncConfig", syncConfig);
@@ -167,50 +206,104 @@ public class MobileSyncService {
     private MobileSyncResponse processFullSync(String username, MobileSyncRequest syncRequest) {
         logger.debug("Processing full sync for user: {}", username);
         
-        // Simplified full sync - return sample data
-        var serverChanges = new MobileSyncResponse.ServerChanges(
-            List.of(), // reports
-            List.of(), // workOrders  
-            List.of(), // assets
-            0 // totalCount
-        );
-        
-        var statistics = new MobileSyncResponse.SyncStatistics(
-            0, 0, 0, 0, 0, // counts
-            System.currentTimeMillis(),
-            syncRequest.getEffectiveBatchSize()
-        );
-        
-        return new MobileSyncResponse(
-            UUID.randomUUID().toString(),
-            MobileSyncResponse.SyncStatus.SUCCESS,
-            serverChanges,
-            List.of(), // conflicts
-            List.of(), // errors
-            LocalDateTime.now(),
-            UUID.randomUUID().toString(), // nextSyncToken
-            statistics,
-            Map.of("fullSync", true)
-        );
+        User user = resolveUser(username);
+        return streamChanges(user, syncRequest, SyncCursor.initial(user.getCompanyId()), true);
     }
     
     private MobileSyncResponse processIncrementalSync(String username, MobileSyncRequest syncRequest) {
         logger.debug("Processing incremental sync for user: {}", username);
         
-        // Simplified incremental sync - return minimal changes
-        var serverChanges = new MobileSyncResponse.ServerChanges(
-            List.of(), // reports
-            List.of(), // workOrders
-            List.of(), // assets
-            0 // totalCount
-        );
+        User user = resolveUser(username);
+        UUID companyId = user.getCompanyId();
+        
+        SyncCursor cursor;
+        if (syncRequest.hasSyncToken()) {
+            cursor = SyncCursor.decode(syncRequest.syncToken(), companyId);
+        } else {
+            // Legacy clients only send lastSyncTime; translate it once into a cursor
+            long seq = syncChangeLogRepository.findSequenceBefore(companyId, syncRequest.lastSyncTime());
+            cursor = SyncCursor.at(companyId, seq);
+        }
+        
+        return streamChanges(user, syncRequest, cursor, false);
+    }
+    
+    /**
+     * Read one batch of changes after the cursor and hydrate the affected entities.
+     * Cost is bounded by the batch size, not by the size of the synced tables.
+     */
+    private MobileSyncResponse streamChanges(User user, MobileSyncRequest syncRequest,
+                                             SyncCursor cursor, boolean fullSync) {
+        long startTime = System.currentTimeMillis();
+        UUID companyId = user.getCompanyId();
+        int batchSize = syncRequest.getEffectiveBatchSize();
+        
+        syncChangeLogRepository.sequencePendingChanges(companyId);
+        
+        Collection<UUID> schoolScope = resolveSchoolScope(user);
+        List<SyncChangeLogRepository.ChangeEntry> entries = schoolScope != null && schoolScope.isEmpty()
+            ? List.of()
+            : syncChangeLogRepository.findChangesAfter(
+                companyId, cursor.changeSeq(), resolveEntityTypes(syncRequest), schoolScope, batchSize + 1);
+        
+        boolean hasMore = entries.size() > batchSize;
+        if (hasMore) {
+            entries = entries.subList(0, batchSize);
+        }
+        
+        List<MobileSyncResponse.EntityData> created = new ArrayList<>();
+        List<MobileSyncResponse.EntityData> updated = new ArrayList<>();
+        List<MobileSyncResponse.DeletedEntity> deleted = new ArrayList<>();
+        
+        Map<String, List<UUID>> liveIdsByType = new HashMap<>();
+        for (var entry : entries) {
+            if (entry.deleted()) {
+                deleted.add(new MobileSyncResponse.DeletedEntity(
+                    entry.entityType(), entry.entityId().toString(), entry.changedAt()));
+            } else {
+                liveIdsByType.computeIfAbsent(entry.entityType(), k -> new ArrayList<>()).add(entry.entityId());
+            }
+        }
+        
+        // One query per entity type for the whole batch
+        LocalDateTime createdAfter = fullSync || cursor.isInitial() ? null : cursor.issuedAt();
+        for (var entityData : loadEntities(liveIdsByType)) {
+            if (createdAfter == null || entityData.lastModified() == null
+                    || isCreatedAfter(entityData, createdAfter)) {
+                created.add(entityData);
+            } else {
+                updated.add(entityData);
+            }
+        }
+        
+        SyncCursor nextCursor = entries.isEmpty()
+            ? SyncCursor.at(companyId, cursor.changeSeq())
+            : SyncCursor.at(companyId, entries.getLast().changeSeq());
+        
+        int changeCount = created.size() + updated.size() + deleted.size();
+        long duration = System.currentTimeMillis() - startTime;
+        
+        syncChangeLogRepository.recordSync(
+            syncRequest.deviceId(), user.getId(), companyId,
+            fullSync ? "FULL" : "INCREMENTAL", changeCount, duration,
+            "{\"cursor\":\"" + nextCursor.encode() + "\",\"has_more\":" + hasMore + "}");
+        
+        logger.debug("Sync for user {} sent {} changes (cursor {} -> {}, more: {})",
+                    user.getEmail(), changeCount, cursor.changeSeq(), nextCursor.changeSeq(), hasMore);
+        
+        var serverChanges = new MobileSyncResponse.ServerChanges(created, updated, deleted, changeCount);
         
         var statistics = new MobileSyncResponse.SyncStatistics(
-            0, 0, 0, 0, 0, // counts
-            System.currentTimeMillis(),
-            syncRequest.getEffectiveBatchSize()
+            0, changeCount, 0, 0, 0,
+            duration,
+            0
         );
         
+        Map<String, Object> metadata = new HashMap<>();
+        metadata.put(fullSync ? "fullSync" : "incrementalSync", true);
+        metadata.put("hasMore", hasMore);
+        metadata.put("batchSize", batchSize);
+        
         return new MobileSyncResponse(
             UUID.randomUUID().toString(),
             MobileSyncResponse.SyncStatus.SUCCESS,
@@ -218,9 +311,119 @@ public class MobileSyncService {
             List.of(), // conflicts
             List.of(), // errors
             LocalDateTime.now(),
-            UUID.randomUUID().toString(), // nextSyncToken
+            nextCursor.encode(),
             statistics,
-            Map.of("incrementalSync", true, "lastSyncTime", syncRequest.lastSyncTime())
+            metadata
         );
     }
-}
\ No newline at end of file
+    
+    private User resolveUser(String username) {
+        return userRepository.findByEmail(username)
+            .orElseThrow(() -> new IllegalArgumentException("User not found: " + username));
+    }
+    
+    /**
+     * Supervisors only receive changes for their assigned schools; admins see the whole tenant.
+     */
+    private Collection<UUID> resolveSchoolScope(User user) {
+        if (user.getUserType() == UserType.SUPERVISOR) {
+            return supervisorSchoolRepository.findActiveSchoolIdsBySupervisorId(user.getId());
+        }
+        return null;
+    }
+    
+    private Set<String> resolveEntityTypes(MobileSyncRequest syncRequest) {
+        if (syncRequest.entityTypes() == null || syncRequest.entityTypes().isEmpty()) {
+            return SYNCED_ENTITY_TYPES;
+        }
+        Set<String> requested = new HashSet<>();
+        for (String type : syncRequest.entityTypes()) {
+            String normalized = type.toUpperCase(Locale.ROOT);
+            if (SYNCED_ENTITY_TYPES.contains(normalized)) {
+                requested.add(normalized);
+            }
+        }
+        return requested.isEmpty() ? SYNCED_ENTITY_TYPES : requested;
+    }
+    
+    private List<MobileSyncResponse.EntityData> loadEntities(Map<String, List<UUID>> idsByType) {
+        List<MobileSyncResponse.EntityData> result = new ArrayList<>();
+        
+        List<UUID> reportIds = idsByType.get(ENTITY_REPORT);
+        if (reportIds != null) {
+            reportRepository.findAllById(reportIds).forEach(report -> result.add(toEntityData(report)));
+        }
+        
+        List<UUID> workOrderIds = idsByType.get(ENTITY_WORK_ORDER);
+        if (workOrderIds != null) {
+            workOrderRepository.findAllById(workOrderIds).forEach(workOrder -> result.add(toEntityData(workOrder)));
+        }
+        
+        List<UUID> assetIds = idsByType.get(ENTITY_ASSET);
+        if (assetIds != null) {
+            assetRepository.findAllById(assetIds).forEach(asset -> result.add(toEntityData(asset)));
+        }
+        
+        return result;
+    }
+    
+    private boolean isCreatedAfter(MobileSyncResponse.EntityData entityData, LocalDateTime since) {
+        Object createdAt = entityData.data().get("createdAt");
+        return createdAt instanceof LocalDateTime ts && ts.isAfter(since);
+    }
+    
+    private MobileSyncResponse.EntityData toEntityData(Report report) {
+        Map<String, Object> data = new HashMap<>();
+        data.put("reportNumber", report.getReportNumber());
+        data.put("title", report.getTitle());
+        data.put("description", report.getDescription());
+        data.put("status", report.getStatus());
+        data.put("priority", report.getPriority());
+        data.put("schoolId", report.getSchool() != null ? report.getSchool().getId() : null);
+        data.put("reportedDate", report.getReportedDate());
+        data.put("scheduledDate", report.getScheduledDate());
+        data.put("completedDate", report.getCompletedDate());
+        data.put("latitude", report.getLatitude());
+        data.put("longitude", report.getLongitude());
+        data.put("createdAt", report.getCreatedAt());
+        return new MobileSyncResponse.EntityData(
+            ENTITY_REPORT, report.getId().toString(), data,
+            report.getVersion(), report.getUpdatedAt(), null);
+    }
+    
+    private MobileSyncResponse.EntityData toEntityData(WorkOrder workOrder) {
+        Map<String, Object> data = new HashMap<>();
+        data.put("workOrderNumber", workOrder.getWorkOrderNumber());
+        data.put("title", workOrder.getTitle());
+        data.put("description", workOrder.getDescription());
+        data.put("category", workOrder.getCategory());
+        data.put("status", workOrder.getStatus());
+        data.put("priority", workOrder.getPriority());
+        data.put("schoolId", workOrder.getSchool() != null ? workOrder.getSchool().getId() : null);
+        data.put("assignedToId", workOrder.getAssignedTo() != null ? workOrder.getAssignedTo().getId() : null);
+        data.put("scheduledStart", workOrder.getScheduledStart());
+        data.put("scheduledEnd", workOrder.getScheduledEnd());
+        data.put("completionPercentage", workOrder.getCompletionPercentage());
+        data.put("createdAt", workOrder.getCreatedAt());
+        return new MobileSyncResponse.EntityData(
+            ENTITY_WORK_ORDER, workOrder.getId().toString(), data,
+            workOrder.getVersion(), workOrder.getUpdatedAt(), null);
+    }
+    
+    private MobileSyncResponse.EntityData toEntityData(Asset asset) {
+        Map<String, Object> data = new HashMap<>();
+        data.put("assetCode", asset.getAssetCode());
+        data.put("name", asset.getName());
+        data.put("nameAr", asset.getNameAr());
+        data.put("status", asset.getStatus());
+        data.put("condition", asset.getCondition());
+        data.put("schoolId", asset.getSchool() != null ? asset.getSchool().getId() : null);
+        data.put("location", asset.getLocation());
+        data.put("barcode", asset.getBarcode());
+        data.put("nextMaintenanceDate", asset.getNextMaintenanceDate());
+        data.put("createdAt", asset.getCreatedAt());
+        return new MobileSyncResponse.EntityData(
+            ENTITY_ASSET, asset.getId().toString(), data,
+            asset.getVersion(), asset.getUpdatedAt(), null);
+    }
+}
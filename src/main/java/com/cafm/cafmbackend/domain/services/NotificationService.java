@@ -1,5 +1,8 @@
 package com.cafm.cafmbackend.domain.services;
 
+import com.cafm.cafmbackend.application.service.PushNotificationService;
+import com.cafm.cafmbackend.application.service.PushNotificationService.UserDeliverySummary;
+import com.cafm.cafmbackend.infrastructure.persistence.entity.NotificationQueue;
 import com.cafm.cafmbackend.infrastructure.persistence.entity.User;
 import com.cafm.cafmbackend.infrastructure.persistence.entity.WorkOrder;
 import com.cafm.cafmbackend.infrastructure.persistence.entity.Report;
@@ -33,11 +36,12 @@ public class NotificationService {
     private static final Logger logger = LoggerFactory.getLogger(NotificationService.class);
     
     private final UserRepository userRepository;
-    // private final FirebaseMessaging firebaseMessaging; // Will be injected when Firebase is configured
+    private final PushNotificationService pushNotificationService;
     
     @Autowired
-    public NotificationService(UserRepository userRepository) {
+    public NotificationService(UserRepository userRepository, PushNotificationService pushNotificationService) {
         this.userRepository = userRepository;
+        this.pushNotificationService = pushNotificationService;
         logger.info("NotificationService initialized");
     }
     
@@ -122,44 +126,44 @@ public class NotificationService {
         logger.info("Sending urgent maintenance alert: reportId={}, radius={}km", 
                    urgentReport.getId(), radiusKm);
         
-        return CompletableFuture.supplyAsync(() -> {
-            try {
-                // Find supervisors in the same company
-                List<User> nearbySupervisors = userRepository
-                    .findByUserTypeAndCompany_IdAndDeletedAtIsNull(UserType.SUPERVISOR, urgentReport.getSchool().getCompany().getId());
-                
-                if (nearbySupervisors.isEmpty()) {
-                    return List.of(Map.of("status", "no_supervisors", "message", "No supervisors found"));
-                }
-                
-                String title = "⚠️ Urgent Maintenance Alert";
-                String body = String.format("Urgent issue reported at %s: %s", 
-                                          urgentReport.getSchool().getName(),
-                                          urgentReport.getTitle());
-                
-                Map<String, String> data = Map.of(
-                    "type", "URGENT_ALERT",
-                    "reportId", urgentReport.getId().toString(),
-                    "reportNumber", urgentReport.getReportNumber(),
-                    "schoolId", urgentReport.getSchool().getId().toString(),
-                    "schoolName", urgentReport.getSchool().getName(),
-                    "priority", urgentReport.getPriority().toString()
-                );
-                
-                // Send to all nearby supervisors in parallel
-                return nearbySupervisors.parallelStream()
-                    .map(supervisor -> (Map<String, Object>) sendPushNotification(supervisor, title, body, data))
-                    .collect(Collectors.toList());
-                
-            } catch (Exception e) {
-                logger.error("Failed to send urgent maintenance alert", e);
-                return List.of(Map.of(
-                    "status", "failed",
-                    "error", e.getMessage(),
-                    "timestamp", System.currentTimeMillis()
-                ));
+        try {
+            // Find supervisors in the same company
+            List<User> nearbySupervisors = userRepository
+                .findByUserTypeAndCompany_IdAndDeletedAtIsNull(UserType.SUPERVISOR, urgentReport.getSchool().getCompany().getId());
+            
+            if (nearbySupervisors.isEmpty()) {
+                return CompletableFuture.completedFuture(
+                    List.of(Map.of("status", "no_supervisors", "message", "No supervisors found")));
             }
-        });
+            
+            String title = "⚠️ Urgent Maintenance Alert";
+            String body = String.format("Urgent issue reported at %s: %s", 
+                                      urgentReport.getSchool().getName(),
+                                      urgentReport.getTitle());
+            
+            Map<String, String> data = Map.of(
+                "type", "URGENT_ALERT",
+                "reportId", urgentReport.getId().toString(),
+                "reportNumber", urgentReport.getReportNumber(),
+                "schoolId", urgentReport.getSchool().getId().toString(),
+                "schoolName", urgentReport.getSchool().getName(),
+                "priority", urgentReport.getPriority().toString()
+            );
+            
+            // One multicast to every device of every supervisor
+            NotificationQueue alert = pushMessage(title, body, data,
+                NotificationQueue.NotificationType.ALERT, NotificationQueue.NotificationPriority.URGENT);
+            return pushNotificationService.sendToUsers(userIds(nearbySupervisors), alert)
+                .thenApply(summary -> deliveryReport(nearbySupervisors, summary))
+                .exceptionally(e -> {
+                    logger.error("Failed to send urgent maintenance alert", e);
+                    return failureReport(e);
+                });
+            
+        } catch (Exception e) {
+            logger.error("Failed to send urgent maintenance alert", e);
+            return CompletableFuture.completedFuture(failureReport(e));
+        }
     }
     
     /**
@@ -271,15 +275,65 @@ public class NotificationService {
             List<User> users, String title, String body, Map<String, String> data) {
         logger.info("Sending bulk notifications to {} users", users.size());
         
-        return CompletableFuture.supplyAsync(() -> {
-            return users.parallelStream()
-                .map(user -> sendPushNotification(user, title, body, data))
-                .collect(Collectors.toList());
-        });
+        NotificationQueue message = pushMessage(title, body, data,
+            NotificationQueue.NotificationType.BROADCAST, NotificationQueue.NotificationPriority.NORMAL);
+        try {
+            return pushNotificationService.sendToUsers(userIds(users), message)
+                .thenApply(summary -> deliveryReport(users, summary))
+                .exceptionally(e -> {
+                    logger.error("Failed to send bulk notifications", e);
+                    return failureReport(e);
+                });
+        } catch (Exception e) {
+            logger.error("Failed to send bulk notifications", e);
+            return CompletableFuture.completedFuture(failureReport(e));
+        }
     }
     
     // ========== Private Helper Methods ==========
     
+    private static NotificationQueue pushMessage(String title, String body, Map<String, String> data,
+                                                 NotificationQueue.NotificationType type,
+                                                 NotificationQueue.NotificationPriority priority) {
+        return NotificationQueue.builder()
+            .title(title)
+            .body(body)
+            .data(new HashMap<>(data))
+            .notificationType(type)
+            .priority(priority)
+            .build();
+    }
+    
+    private static List<UUID> userIds(List<User> users) {
+        return users.stream().map(User::getId).collect(Collectors.toList());
+    }
+    
+    /**
+     * Per-user result of a multicast: success when at least one device was reached.
+     */
+    private static List<Map<String, Object>> deliveryReport(List<User> users, UserDeliverySummary summary) {
+        long timestamp = System.currentTimeMillis();
+        return users.stream()
+            .map(user -> {
+                String status = summary.deliveredTo().contains(user.getId()) ? "success"
+                    : summary.withoutDevices().contains(user.getId()) ? "skipped" : "failed";
+                return Map.<String, Object>of(
+                    "userId", user.getId().toString(),
+                    "status", status,
+                    "timestamp", timestamp
+                );
+            })
+            .collect(Collectors.toList());
+    }
+    
+    private static List<Map<String, Object>> failureReport(Throwable e) {
+        return List.of(Map.of(
+            "status", "failed",
+            "error", String.valueOf(e.getMessage()),
+            "timestamp", System.currentTimeMillis()
+        ));
+    }
+    
     private Map<String, Object> calculateDailyStats(User supervisor) {
         // Simple mock implementation - in production would query actual data
         LocalDateTime today = LocalDateTime.now().withHour(0).withMinute(0).withSecond(0);
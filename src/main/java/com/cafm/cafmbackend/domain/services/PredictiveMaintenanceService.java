@@ -9,16 +9,22 @@ import com.cafm.cafmbackend.infrastructure.persistence.repository.WorkOrderRepos
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.cache.annotation.Cacheable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
 import java.math.RoundingMode;
+import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.temporal.ChronoUnit;
 import java.util.*;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.function.Consumer;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 /**
@@ -42,22 +48,26 @@ public class PredictiveMaintenanceService {
     private static final int MIN_HISTORICAL_DATA_POINTS = 10;
     private static final double COST_INFLATION_FACTOR = 0.03; // 3% annual inflation
     private static final double PREVENTIVE_COST_MULTIPLIER = 0.7; // Preventive costs 70% of reactive
+    private static final int MIN_SCORING_CHUNK_SIZE = 512; // Assets per parallel scoring task
     
     private final AssetRepository assetRepository;
     private final ReportRepository reportRepository;
     private final WorkOrderRepository workOrderRepository;
     private final com.cafm.cafmbackend.domain.services.adapters.AIDataAdapter dataAdapter;
+    private final Executor computationExecutor;
     
     @Autowired
     public PredictiveMaintenanceService(
             AssetRepository assetRepository,
             ReportRepository reportRepository,
             WorkOrderRepository workOrderRepository,
-            com.cafm.cafmbackend.domain.services.adapters.AIDataAdapter dataAdapter) {
+            com.cafm.cafmbackend.domain.services.adapters.AIDataAdapter dataAdapter,
+            @Qualifier("computationExecutor") Executor computationExecutor) {
         this.assetRepository = assetRepository;
         this.reportRepository = reportRepository;
         this.workOrderRepository = workOrderRepository;
         this.dataAdapter = dataAdapter;
+        this.computationExecutor = computationExecutor;
     }
     
     /**
@@ -88,21 +98,25 @@ public class PredictiveMaintenanceService {
                     );
                 }
                 
+                HistoryFeatures features = extractHistoryFeatures(maintenanceHistory, workOrderHistory);
+                LocalDate today = LocalDate.now();
+                
                 // Calculate failure probability using multiple algorithms
-                double failureProbability = calculateFailureProbability(asset, maintenanceHistory, workOrderHistory, predictionHorizonDays);
+                double failureProbability = calculateFailureProbability(
+                    calculateAgeFactor(asset.getPurchaseDate(), today), features, predictionHorizonDays);
                 
                 // Determine risk level
                 String riskLevel = determineRiskLevel(failureProbability);
                 
                 // Predict next maintenance date
-                LocalDateTime predictedMaintenanceDate = predictNextMaintenanceDate(asset, maintenanceHistory);
+                LocalDateTime predictedMaintenanceDate = features.predictedMaintenanceDate();
                 
                 // Generate recommendations
                 List<MaintenanceRecommendation> recommendations = generateMaintenanceRecommendations(
-                    asset, failureProbability, riskLevel, maintenanceHistory);
+                    daysSince(asset.getLastMaintenanceDate(), today), failureProbability, features);
                 
                 // Estimate maintenance cost
-                BigDecimal estimatedCost = estimateMaintenanceCost(asset, maintenanceHistory, failureProbability);
+                BigDecimal estimatedCost = estimateMaintenanceCost(features, failureProbability);
                 
                 logger.info("Failure prediction for asset {}: {}% probability, risk level: {}", 
                            assetId, Math.round(failureProbability * 100), riskLevel);
@@ -216,6 +230,18 @@ public class PredictiveMaintenanceService {
      * Generate optimal maintenance schedule using ML algorithms.
      */
     public CompletableFuture<OptimalMaintenanceSchedule> generateOptimalSchedule(UUID companyId, int daysAhead) {
+        return generateOptimalSchedule(companyId, daysAhead, item -> { });
+    }
+    
+    /**
+     * Generate optimal maintenance schedule, handing each scheduled item to a sink as soon as it is scored.
+     * 
+     * The company's maintenance history is loaded once and shared by all its assets; per-asset features
+     * are extracted into primitive arrays and scored in parallel chunks on the computation executor.
+     * The sink is called one chunk at a time, never concurrently, before the schedule is ordered.
+     */
+    public CompletableFuture<OptimalMaintenanceSchedule> generateOptimalSchedule(
+            UUID companyId, int daysAhead, Consumer<ScheduledMaintenanceItem> itemSink) {
         return CompletableFuture.supplyAsync(() -> {
             logger.info("Generating optimal maintenance schedule for company: {} for {} days", companyId, daysAhead);
             
@@ -223,24 +249,19 @@ public class PredictiveMaintenanceService {
                 // Get all assets for the company
                 List<Asset> assets = dataAdapter.findActiveAssetsByCompany(companyId);
                 
+                // Every asset of the company shares the same maintenance history
+                List<Report> maintenanceHistory = dataAdapter.getCompanyMaintenanceReports(companyId);
+                List<WorkOrder> workOrderHistory = dataAdapter.getCompanyMaintenanceHistory(companyId);
+                
                 List<ScheduledMaintenanceItem> scheduledItems = new ArrayList<>();
                 
-                for (Asset asset : assets) {
-                    // Get failure prediction for each asset
-                    AssetFailurePrediction prediction = predictAssetFailure(asset.getId(), daysAhead).join();
-                    
-                    if (prediction.failureProbability() > FAILURE_PREDICTION_THRESHOLD) {
-                        ScheduledMaintenanceItem item = new ScheduledMaintenanceItem(
-                            asset.getId(),
-                            asset.getName(),
-                            prediction.predictedMaintenanceDate(),
-                            prediction.failureProbability(),
-                            prediction.estimatedCost(),
-                            determineMaintenanceType(prediction),
-                            prediction.recommendations()
-                        );
-                        scheduledItems.add(item);
-                    }
+                if (maintenanceHistory.size() >= MIN_HISTORICAL_DATA_POINTS) {
+                    HistoryFeatures features = extractHistoryFeatures(maintenanceHistory, workOrderHistory);
+                    AssetFeatures assetFeatures = extractAssetFeatures(assets, LocalDate.now());
+                    scheduledItems = scoreAssets(assetFeatures, features, daysAhead, itemSink);
+                } else {
+                    logger.info("Insufficient maintenance history for company: {} ({} reports), nothing to schedule",
+                               companyId, maintenanceHistory.size());
                 }
                 
                 // Optimize schedule using resource constraints and priorities
@@ -249,8 +270,8 @@ public class PredictiveMaintenanceService {
                 // Calculate schedule metrics
                 ScheduleMetrics metrics = calculateScheduleMetrics(scheduledItems);
                 
-                logger.info("Generated optimal schedule with {} maintenance items for company: {}", 
-                           scheduledItems.size(), companyId);
+                logger.info("Generated optimal schedule with {} maintenance items from {} assets for company: {}", 
+                           scheduledItems.size(), assets.size(), companyId);
                 
                 return new OptimalMaintenanceSchedule(
                     companyId,
@@ -267,23 +288,110 @@ public class PredictiveMaintenanceService {
         });
     }
     
-    // ========== Private ML Algorithm Methods ==========
+    // ========== Batch Scoring ==========
+    
+    private AssetFeatures extractAssetFeatures(List<Asset> assets, LocalDate today) {
+        int size = assets.size();
+        UUID[] ids = new UUID[size];
+        String[] names = new String[size];
+        double[] ageFactors = new double[size];
+        long[] daysSinceMaintenance = new long[size];
+        
+        for (int i = 0; i < size; i++) {
+            Asset asset = assets.get(i);
+            ids[i] = asset.getId();
+            names[i] = asset.getName();
+            ageFactors[i] = calculateAgeFactor(asset.getPurchaseDate(), today);
+            daysSinceMaintenance[i] = daysSince(asset.getLastMaintenanceDate(), today);
+        }
+        
+        return new AssetFeatures(ids, names, ageFactors, daysSinceMaintenance);
+    }
     
-    private double calculateFailureProbability(Asset asset, List<Report> maintenanceHistory, 
-                                             List<WorkOrder> workOrderHistory, int predictionHorizonDays) {
+    private List<ScheduledMaintenanceItem> scoreAssets(AssetFeatures assets, HistoryFeatures features,
+                                                       int predictionHorizonDays,
+                                                       Consumer<ScheduledMaintenanceItem> itemSink) {
+        int size = assets.size();
+        if (size == 0) {
+            return new ArrayList<>();
+        }
+        
+        // At most two chunks per core; the executor is shared and bounded, so a chunk it
+        // rejects under load is scored on the calling thread instead
+        int maxChunks = Runtime.getRuntime().availableProcessors() * 2;
+        int chunkSize = Math.max(MIN_SCORING_CHUNK_SIZE, (size + maxChunks - 1) / maxChunks);
+        
+        Object sinkLock = new Object();
+        Function<List<ScheduledMaintenanceItem>, List<ScheduledMaintenanceItem>> emit = items -> {
+            synchronized (sinkLock) {
+                items.forEach(itemSink);
+            }
+            return items;
+        };
+        
+        List<CompletableFuture<List<ScheduledMaintenanceItem>>> chunks = new ArrayList<>();
+        for (int from = 0; from < size; from += chunkSize) {
+            int chunkStart = from;
+            int chunkEnd = Math.min(from + chunkSize, size);
+            try {
+                chunks.add(CompletableFuture.supplyAsync(
+                    () -> scoreChunk(assets, chunkStart, chunkEnd, features, predictionHorizonDays),
+                    computationExecutor).thenApply(emit));
+            } catch (RejectedExecutionException e) {
+                chunks.add(CompletableFuture.completedFuture(
+                    emit.apply(scoreChunk(assets, chunkStart, chunkEnd, features, predictionHorizonDays))));
+            }
+        }
+        
+        List<ScheduledMaintenanceItem> scheduledItems = new ArrayList<>();
+        chunks.forEach(chunk -> scheduledItems.addAll(chunk.join()));
+        return scheduledItems;
+    }
+    
+    private List<ScheduledMaintenanceItem> scoreChunk(AssetFeatures assets, int from, int to,
+                                                      HistoryFeatures features, int predictionHorizonDays) {
+        List<ScheduledMaintenanceItem> items = new ArrayList<>();
+        
+        for (int i = from; i < to; i++) {
+            double failureProbability = calculateFailureProbability(
+                assets.ageFactors()[i], features, predictionHorizonDays);
+            
+            if (failureProbability > FAILURE_PREDICTION_THRESHOLD) {
+                items.add(new ScheduledMaintenanceItem(
+                    assets.ids()[i],
+                    assets.names()[i],
+                    features.predictedMaintenanceDate(),
+                    failureProbability,
+                    estimateMaintenanceCost(features, failureProbability),
+                    determineMaintenanceType(determineRiskLevel(failureProbability)),
+                    generateMaintenanceRecommendations(assets.daysSinceMaintenance()[i], failureProbability, features)
+                ));
+            }
+        }
         
-        // Multi-factor failure probability calculation
-        double ageFactor = calculateAgeFactor(asset);
-        double maintenanceFrequencyFactor = calculateMaintenanceFrequencyFactor(maintenanceHistory);
-        double costTrendFactor = calculateCostTrendFactor(workOrderHistory);
-        double historicalFailureFactor = calculateHistoricalFailureFactor(maintenanceHistory);
+        return items;
+    }
+    
+    // ========== Private ML Algorithm Methods ==========
+    
+    private HistoryFeatures extractHistoryFeatures(List<Report> maintenanceHistory, List<WorkOrder> workOrderHistory) {
+        return new HistoryFeatures(
+            calculateMaintenanceFrequencyFactor(maintenanceHistory),
+            calculateCostTrendFactor(workOrderHistory),
+            calculateHistoricalFailureFactor(maintenanceHistory),
+            predictNextMaintenanceDate(maintenanceHistory),
+            calculateAverageCost(maintenanceHistory)
+        );
+    }
+    
+    private double calculateFailureProbability(double ageFactor, HistoryFeatures features, int predictionHorizonDays) {
         
         // Weighted average with ML-inspired coefficients
         double failureProbability = (
             ageFactor * 0.25 +
-            maintenanceFrequencyFactor * 0.30 +
-            costTrendFactor * 0.20 +
-            historicalFailureFactor * 0.25
+            features.maintenanceFrequencyFactor() * 0.30 +
+            features.costTrendFactor() * 0.20 +
+            features.historicalFailureFactor() * 0.25
         );
         
         // Apply time horizon adjustment
@@ -293,10 +401,10 @@ public class PredictiveMaintenanceService {
         return Math.min(failureProbability, 0.95); // Cap at 95%
     }
     
-    private double calculateAgeFactor(Asset asset) {
-        if (asset.getPurchaseDate() == null) return 0.3; // Default for unknown age
+    private double calculateAgeFactor(LocalDate purchaseDate, LocalDate today) {
+        if (purchaseDate == null) return 0.3; // Default for unknown age
         
-        long ageInDays = ChronoUnit.DAYS.between(asset.getPurchaseDate().atStartOfDay(), LocalDateTime.now());
+        long ageInDays = ChronoUnit.DAYS.between(purchaseDate, today);
         
         // Assuming typical asset lifecycle of 10 years
         double normalizedAge = ageInDays / (10.0 * 365);
@@ -367,7 +475,7 @@ public class PredictiveMaintenanceService {
         }
     }
     
-    private LocalDateTime predictNextMaintenanceDate(Asset asset, List<Report> maintenanceHistory) {
+    private LocalDateTime predictNextMaintenanceDate(List<Report> maintenanceHistory) {
         if (maintenanceHistory.size() < 2) {
             return LocalDateTime.now().plusDays(PREDICTION_HORIZON_DAYS);
         }
@@ -386,7 +494,7 @@ public class PredictiveMaintenanceService {
     }
     
     private List<MaintenanceRecommendation> generateMaintenanceRecommendations(
-            Asset asset, double failureProbability, String riskLevel, List<Report> maintenanceHistory) {
+            long daysSinceMaintenance, double failureProbability, HistoryFeatures features) {
         
         List<MaintenanceRecommendation> recommendations = new ArrayList<>();
         
@@ -404,12 +512,11 @@ public class PredictiveMaintenanceService {
                 "PREVENTIVE_MAINTENANCE",
                 "Schedule preventive maintenance to avoid costly failures",
                 7,
-                estimatePreventiveCost(asset, maintenanceHistory)
+                estimatePreventiveCost(features)
             ));
         }
         
-        if (asset.getLastMaintenanceDate() != null && 
-            ChronoUnit.DAYS.between(asset.getLastMaintenanceDate().atStartOfDay(), LocalDateTime.now()) > 180) {
+        if (daysSinceMaintenance > 180) {
             recommendations.add(new MaintenanceRecommendation(
                 "ROUTINE_CHECKUP",
                 "Asset hasn't been maintained in over 6 months",
@@ -421,18 +528,30 @@ public class PredictiveMaintenanceService {
         return recommendations;
     }
     
-    private BigDecimal estimateMaintenanceCost(Asset asset, List<Report> maintenanceHistory, double failureProbability) {
+    private OptionalDouble calculateAverageCost(List<Report> maintenanceHistory) {
         if (maintenanceHistory.isEmpty()) {
-            return BigDecimal.valueOf(1000); // Default estimate
+            return OptionalDouble.empty();
         }
         
-        // Calculate average historical cost
-        double avgCost = maintenanceHistory.stream()
+        return OptionalDouble.of(maintenanceHistory.stream()
             .map(Report::getActualCost)
             .filter(Objects::nonNull)
             .mapToDouble(BigDecimal::doubleValue)
             .average()
-            .orElse(1000.0);
+            .orElse(1000.0));
+    }
+    
+    private long daysSince(LocalDate date, LocalDate today) {
+        return date != null ? ChronoUnit.DAYS.between(date, today) : Long.MIN_VALUE;
+    }
+    
+    private BigDecimal estimateMaintenanceCost(HistoryFeatures features, double failureProbability) {
+        if (features.averageCost().isEmpty()) {
+            return BigDecimal.valueOf(1000); // Default estimate
+        }
+        
+        // Average historical cost
+        double avgCost = features.averageCost().getAsDouble();
         
         // Adjust for failure probability (emergency repairs cost more)
         double costMultiplier = 1.0 + (failureProbability * 1.5);
@@ -444,8 +563,8 @@ public class PredictiveMaintenanceService {
             .setScale(2, RoundingMode.HALF_UP);
     }
     
-    private BigDecimal estimatePreventiveCost(Asset asset, List<Report> maintenanceHistory) {
-        BigDecimal averageCost = estimateMaintenanceCost(asset, maintenanceHistory, 0.5);
+    private BigDecimal estimatePreventiveCost(HistoryFeatures features) {
+        BigDecimal averageCost = estimateMaintenanceCost(features, 0.5);
         return averageCost.multiply(BigDecimal.valueOf(PREVENTIVE_COST_MULTIPLIER))
             .setScale(2, RoundingMode.HALF_UP);
     }
@@ -582,8 +701,8 @@ public class PredictiveMaintenanceService {
         return new ArrayList<>(); // Simplified for brevity
     }
     
-    private String determineMaintenanceType(AssetFailurePrediction prediction) {
-        return switch (prediction.riskLevel()) {
+    private String determineMaintenanceType(String riskLevel) {
+        return switch (riskLevel) {
             case "CRITICAL" -> "EMERGENCY";
             case "HIGH" -> "URGENT_PREVENTIVE";
             case "MEDIUM" -> "SCHEDULED_PREVENTIVE";
@@ -628,6 +747,34 @@ public class PredictiveMaintenanceService {
         );
     }
     
+    // ========== Inner Classes for ML Features ==========
+    
+    /**
+     * Features of a company's maintenance history, shared by all of its assets.
+     */
+    private record HistoryFeatures(
+        double maintenanceFrequencyFactor,
+        double costTrendFactor,
+        double historicalFailureFactor,
+        LocalDateTime predictedMaintenanceDate,
+        OptionalDouble averageCost
+    ) {}
+    
+    /**
+     * Per-asset features in parallel arrays, indexed by position in the company's asset list.
+     * Days since maintenance is Long.MIN_VALUE for assets never maintained.
+     */
+    private record AssetFeatures(
+        UUID[] ids,
+        String[] names,
+        double[] ageFactors,
+        long[] daysSinceMaintenance
+    ) {
+        int size() {
+            return ids.length;
+        }
+    }
+    
     // ========== Inner Classes for ML Results ==========
     
     public record AssetFailurePrediction(
@@ -0,0 +1,170 @@
+package com.cafm.cafmbackend.domain.services;
+
+import com.cafm.cafmbackend.configuration.cache.CacheInvalidationBus;
+import com.cafm.cafmbackend.infrastructure.persistence.entity.base.SchoolChangedEvent;
+import com.cafm.cafmbackend.infrastructure.persistence.repository.SchoolRepository;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.LoadingCache;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Per-tenant in-memory grid of school coordinates.
+ *
+ * Purpose: Answer nearby-school lookups without a database round trip; school locations are
+ *          few per tenant, rarely change and are read on every supervisor location update
+ * Pattern: Caffeine cache of immutable uniform grids (one per tenant), built from a single
+ *          projection query; event-driven invalidation propagated over the cache invalidation bus
+ * Java 23: Records for grid entries; grids are rebuilt, never mutated
+ * Architecture: Used by LocationQueryService, which applies the exact distance filter
+ * Standards: Returns only the points inside the requested bounding box; TTL bounds staleness
+ *            if an invalidation is missed
+ */
+@Component
+public class SchoolLocationIndex {
+
+    private static final Logger logger = LoggerFactory.getLogger(SchoolLocationIndex.class);
+
+    static final String CACHE_NAME = "school-locations";
+
+    /** Cell edge in degrees (about 5.5 km of latitude) */
+    private static final double CELL_DEGREES = 0.05;
+    private static final long LON_CELLS = (long) Math.ceil(360 / CELL_DEGREES);
+
+    private final SchoolRepository schoolRepository;
+    private final CacheInvalidationBus invalidationBus;
+    private final LoadingCache<UUID, TenantGrid> grids;
+
+    public SchoolLocationIndex(SchoolRepository schoolRepository,
+                               CacheInvalidationBus invalidationBus,
+                               MeterRegistry meterRegistry,
+                               @Value("${app.location.school-index.max-tenants:1000}") long maxTenants,
+                               @Value("${app.location.school-index.ttl:PT10M}") Duration ttl) {
+        this.schoolRepository = schoolRepository;
+        this.invalidationBus = invalidationBus;
+        this.grids = Caffeine.newBuilder()
+            .maximumSize(maxTenants)
+            .expireAfterWrite(ttl)
+            .recordStats()
+            .build(this::load);
+
+        CaffeineCacheMetrics.monitor(meterRegistry, grids, CACHE_NAME);
+        invalidationBus.registerLocalHandler(CACHE_NAME,
+            key -> grids.invalidate(UUID.fromString(key)), grids::invalidateAll);
+    }
+
+    /**
+     * Schools of a tenant whose coordinates fall inside the bounding box.
+     */
+    public List<SchoolLocation> findInBox(UUID companyId, double minLat, double maxLat,
+                                          double minLon, double maxLon) {
+        return grids.get(companyId).findInBox(minLat, maxLat, minLon, maxLon);
+    }
+
+    /**
+     * Drop a tenant's grid on every node once the school change is committed.
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onSchoolChanged(SchoolChangedEvent event) {
+        grids.invalidate(event.companyId());
+        invalidationBus.publishEvict(CACHE_NAME, event.companyId().toString());
+    }
+
+    private TenantGrid load(UUID companyId) {
+        List<Object[]> rows = schoolRepository.findLocatedSchoolsByCompany(companyId);
+        List<SchoolLocation> locations = new ArrayList<>(rows.size());
+        for (Object[] row : rows) {
+            locations.add(new SchoolLocation(
+                (UUID) row[0], (String) row[1], (String) row[2], (String) row[3],
+                ((BigDecimal) row[4]).doubleValue(), ((BigDecimal) row[5]).doubleValue()));
+        }
+        logger.debug("Indexed {} school locations for company {}", locations.size(), companyId);
+        return new TenantGrid(locations);
+    }
+
+    private static long latCell(double latitude) {
+        return (long) Math.floor((latitude + 90) / CELL_DEGREES);
+    }
+
+    private static long lonCell(double longitude) {
+        return (long) Math.floor((longitude + 180) / CELL_DEGREES);
+    }
+
+    /**
+     * A located school as held in the index.
+     */
+    public record SchoolLocation(UUID id, String name, String address, String city,
+                                 double latitude, double longitude) {
+
+        boolean isInside(double minLat, double maxLat, double minLon, double maxLon) {
+            return latitude >= minLat && latitude <= maxLat && longitude >= minLon && longitude <= maxLon;
+        }
+    }
+
+    /**
+     * Uniform lat/lon grid; only non-empty cells are stored.
+     */
+    private static final class TenantGrid {
+
+        private final List<SchoolLocation> locations;
+        private final Map<Long, List<SchoolLocation>> cells = new HashMap<>();
+
+        TenantGrid(List<SchoolLocation> locations) {
+            this.locations = List.copyOf(locations);
+            for (SchoolLocation location : locations) {
+                cells.computeIfAbsent(latCell(location.latitude()) * LON_CELLS + lonCell(location.longitude()),
+                                      cell -> new ArrayList<>())
+                     .add(location);
+            }
+        }
+
+        List<SchoolLocation> findInBox(double minLat, double maxLat, double minLon, double maxLon) {
+            List<SchoolLocation> found = new ArrayList<>();
+            long fromLat = latCell(Math.max(minLat, -90));
+            long toLat = latCell(Math.min(maxLat, 90));
+            long fromLon = lonCell(minLon);
+            long toLon = lonCell(maxLon);
+
+            // Boxes crossing the antimeridian, or covering more cells than are occupied, are scanned
+            boolean wraps = minLon < -180 || maxLon > 180;
+            if (wraps || (toLat - fromLat + 1) * (toLon - fromLon + 1) > cells.size()) {
+                for (SchoolLocation location : locations) {
+                    if (location.isInside(minLat, maxLat, minLon, maxLon)
+                        || (wraps && (location.isInside(minLat, maxLat, minLon - 360, maxLon - 360)
+                                      || location.isInside(minLat, maxLat, minLon + 360, maxLon + 360)))) {
+                        found.add(location);
+                    }
+                }
+                return found;
+            }
+
+            for (long lat = fromLat; lat <= toLat; lat++) {
+                for (long lon = fromLon; lon <= toLon; lon++) {
+                    List<SchoolLocation> cell = cells.get(lat * LON_CELLS + lon);
+                    if (cell == null) {
+                        continue;
+                    }
+                    for (SchoolLocation location : cell) {
+                        if (location.isInside(minLat, maxLat, minLon, maxLon)) {
+                            found.add(location);
+                        }
+                    }
+                }
+            }
+            return found;
+        }
+    }
+}
@@ -0,0 +1,355 @@
+package com.cafm.cafmbackend.domain.services;
+
+import com.cafm.cafmbackend.infrastructure.persistence.entity.User;
+import com.cafm.cafmbackend.infrastructure.persistence.entity.UserLocation;
+import com.cafm.cafmbackend.infrastructure.persistence.entity.UserLocation.LocationSource;
+import com.cafm.cafmbackend.infrastructure.persistence.repository.UserLocationBatchRepository;
+import com.cafm.cafmbackend.infrastructure.persistence.repository.UserRepository;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.geo.Point;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Ingestion pipeline for supervisor location pings.
+ *
+ * Purpose: Absorb frequent GPS pings without a database write per ping. The latest position
+ *          is kept in memory and in Redis; only downsampled history points reach user_locations
+ * Pattern: Last-known-location map with Redis write-through; distance/time downsampling per
+ *          supervisor; bounded queue flushed as JDBC batches on a fixed delay and on shutdown
+ * Java 23: Records for tracks, pending points and identities; tracks are replaced, never mutated
+ * Architecture: Used by SupervisorLocationService; persisted through UserLocationBatchRepository
+ * Standards: History is best effort. A point is dropped, and counted, when the queue is full or
+ *            its batch fails; the latest position is never lost. Downsampling state is per
+ *            node, so pings spread over nodes may record somewhat more history
+ */
+@Component
+public class SupervisorLocationIngest {
+
+    private static final Logger logger = LoggerFactory.getLogger(SupervisorLocationIngest.class);
+
+    static final String LOCATIONS_KEY = "supervisor:locations";
+    static final String METADATA_KEY_PREFIX = LOCATIONS_KEY + ":metadata:";
+    static final String HISTORY_KEY_PREFIX = "location:history:";
+    static final int HISTORY_DAYS = 7;
+
+    private static final Duration METADATA_TTL = Duration.ofHours(24);
+    private static final double EARTH_RADIUS_METERS = 6_371_000;
+    private static final double MAX_ACCURACY_METERS = 999_999.99;
+
+    private final UserRepository userRepository;
+    private final UserLocationBatchRepository batchRepository;
+    private final RedisTemplate<String, Object> redisTemplate;
+    private final Cache<String, SupervisorIdentity> identities;
+    private final Cache<UUID, Track> tracks;
+    private final BlockingQueue<PendingPoint> queue;
+
+    private final Counter recorded;
+    private final Counter downsampled;
+    private final Counter dropped;
+    private final Counter failed;
+    private final DistributionSummary batchSizes;
+    private final Timer flushTimer;
+    private final Timer flushLag;
+
+    @Value("${app.location.ingest.batch-size:500}")
+    private int batchSize;
+
+    @Value("${app.location.ingest.min-distance-meters:25}")
+    private double minDistanceMeters;
+
+    @Value("${app.location.ingest.min-interval:PT5S}")
+    private Duration minInterval;
+
+    @Value("${app.location.ingest.max-interval:PT60S}")
+    private Duration maxInterval;
+
+    @Value("${app.location.ingest.local-max-age:PT30S}")
+    private Duration localMaxAge;
+
+    public SupervisorLocationIngest(UserRepository userRepository,
+                                    UserLocationBatchRepository batchRepository,
+                                    RedisTemplate<String, Object> redisTemplate,
+                                    MeterRegistry meterRegistry,
+                                    @Value("${app.location.ingest.queue-capacity:50000}") int queueCapacity,
+                                    @Value("${app.location.ingest.max-tracked:20000}") long maxTracked,
+                                    @Value("${app.location.ingest.identity-ttl:PT10M}") Duration identityTtl) {
+        this.userRepository = userRepository;
+        this.batchRepository = batchRepository;
+        this.redisTemplate = redisTemplate;
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+        this.identities = Caffeine.newBuilder()
+            .maximumSize(maxTracked)
+            .expireAfterWrite(identityTtl)
+            .recordStats()
+            .build();
+        this.tracks = Caffeine.newBuilder()
+            .maximumSize(maxTracked)
+            .expireAfterWrite(METADATA_TTL)
+            .build();
+
+        CaffeineCacheMetrics.monitor(meterRegistry, identities, "supervisor-identities");
+        this.recorded = pingCounter(meterRegistry, "recorded");
+        this.downsampled = pingCounter(meterRegistry, "downsampled");
+        this.dropped = pingCounter(meterRegistry, "dropped");
+        this.failed = Counter.builder("cafm.location.points.failed")
+            .description("History points lost because their batch failed")
+            .register(meterRegistry);
+        this.batchSizes = DistributionSummary.builder("cafm.location.flush.batch.size")
+            .description("History points per batch insert")
+            .register(meterRegistry);
+        this.flushTimer = Timer.builder("cafm.location.flush.duration")
+            .description("Time to write one batch of history points")
+            .register(meterRegistry);
+        this.flushLag = Timer.builder("cafm.location.flush.lag")
+            .description("Age of the oldest point in a batch when it is written")
+            .register(meterRegistry);
+        Gauge.builder("cafm.location.queue.depth", queue, BlockingQueue::size)
+            .description("History points waiting to be written")
+            .register(meterRegistry);
+        Gauge.builder("cafm.location.tracked", tracks, Cache::estimatedSize)
+            .description("Supervisors with a last known location on this node")
+            .register(meterRegistry);
+    }
+
+    /**
+     * User id and tenant of a supervisor, cached by login name.
+     */
+    public SupervisorIdentity resolve(String username) {
+        return identities.get(username, this::loadIdentity);
+    }
+
+    /**
+     * Take one ping: update the last known location and queue a history point
+     * if the supervisor moved or was silent long enough.
+     */
+    public IngestOutcome ingest(SupervisorIdentity identity, double latitude, double longitude,
+                                Double accuracy, String source) {
+        long now = System.currentTimeMillis();
+        LastKnownLocation latest = new LastKnownLocation(identity.userId(), identity.username(), latitude,
+            longitude, accuracy != null ? accuracy : 0.0, source != null ? source : "mobile", now);
+
+        boolean[] record = new boolean[1];
+        tracks.asMap().compute(identity.userId(), (userId, track) -> {
+            if (track == null || shouldRecord(track, latitude, longitude, now)) {
+                record[0] = true;
+                return new Track(latest, latitude, longitude, now);
+            }
+            return new Track(latest, track.recordedLatitude(), track.recordedLongitude(), track.recordedAtMillis());
+        });
+
+        writeThrough(latest, record[0]);
+
+        if (!record[0]) {
+            downsampled.increment();
+            return IngestOutcome.DOWNSAMPLED;
+        }
+        PendingPoint point = new PendingPoint(identity.userId(), identity.companyId(), latitude, longitude,
+            accuracy, LocationSource.fromClient(source), toLocalDateTime(now), System.nanoTime());
+        if (!queue.offer(point)) {
+            dropped.increment();
+            return IngestOutcome.DROPPED;
+        }
+        recorded.increment();
+        return IngestOutcome.RECORDED;
+    }
+
+    /**
+     * Last known location metadata of a supervisor; empty if none is known. Served from this
+     * node while younger than the local max age, otherwise from Redis.
+     */
+    public Map<String, Object> findLatest(SupervisorIdentity identity) {
+        Track track = tracks.getIfPresent(identity.userId());
+        if (track != null && System.currentTimeMillis() - track.latest().timestampMillis() <= localMaxAge.toMillis()) {
+            return track.latest().toMetadata();
+        }
+        Map<Object, Object> entries = redisTemplate.opsForHash().entries(METADATA_KEY_PREFIX + identity.userId());
+        Map<String, Object> metadata = new HashMap<>(entries.size());
+        entries.forEach((key, value) -> metadata.put(key.toString(), value));
+        return metadata;
+    }
+
+    /**
+     * Write queued history points, one JDBC batch per batch size.
+     */
+    @Scheduled(fixedDelayString = "${app.location.ingest.flush-interval-ms:2000}")
+    public void flush() {
+        List<PendingPoint> batch = new ArrayList<>(batchSize);
+        while (queue.drainTo(batch, batchSize) > 0) {
+            writeBatch(batch);
+            batch.clear();
+        }
+    }
+
+    @PreDestroy
+    public void flushOnShutdown() {
+        flush();
+    }
+
+    /**
+     * Number of history points not yet written.
+     */
+    public int getQueueDepth() {
+        return queue.size();
+    }
+
+    private void writeBatch(List<PendingPoint> batch) {
+        long oldest = batch.getFirst().receivedNanos();
+        List<UserLocation> locations = new ArrayList<>(batch.size());
+        for (PendingPoint point : batch) {
+            oldest = Math.min(oldest, point.receivedNanos());
+            locations.add(point.toEntity());
+        }
+
+        long started = System.nanoTime();
+        try {
+            batchRepository.insertAll(locations);
+            flushTimer.record(System.nanoTime() - started, TimeUnit.NANOSECONDS);
+            flushLag.record(System.nanoTime() - oldest, TimeUnit.NANOSECONDS);
+            batchSizes.record(batch.size());
+            logger.debug("Wrote {} location history points", batch.size());
+        } catch (RuntimeException e) {
+            failed.increment(batch.size());
+            logger.warn("Failed to write {} location history points: {}", batch.size(), e.getMessage());
+        }
+    }
+
+    private boolean shouldRecord(Track track, double latitude, double longitude, long now) {
+        long elapsed = now - track.recordedAtMillis();
+        if (elapsed >= maxInterval.toMillis()) {
+            return true;
+        }
+        return elapsed >= minInterval.toMillis()
+            && distanceMeters(track.recordedLatitude(), track.recordedLongitude(), latitude, longitude) >= minDistanceMeters;
+    }
+
+    private void writeThrough(LastKnownLocation latest, boolean appendHistory) {
+        String member = latest.userId().toString();
+        try {
+            redisTemplate.opsForGeo().add(LOCATIONS_KEY, new Point(latest.longitude(), latest.latitude()), member);
+            String metadataKey = METADATA_KEY_PREFIX + member;
+            redisTemplate.opsForHash().putAll(metadataKey, latest.toMetadata());
+            redisTemplate.expire(metadataKey, METADATA_TTL);
+
+            if (appendHistory) {
+                String historyKey = HISTORY_KEY_PREFIX + member;
+                redisTemplate.opsForList().leftPush(historyKey, Map.of(
+                    "latitude", latest.latitude(),
+                    "longitude", latest.longitude(),
+                    "timestamp", latest.timestampMillis(),
+                    "date", toLocalDateTime(latest.timestampMillis()).toString()
+                ));
+                redisTemplate.opsForList().trim(historyKey, 0, HISTORY_DAYS * 24);
+                redisTemplate.expire(historyKey, Duration.ofDays(HISTORY_DAYS + 1));
+            }
+        } catch (RuntimeException e) {
+            logger.warn("Failed to publish location of supervisor {} to Redis: {}", member, e.getMessage());
+        }
+    }
+
+    private SupervisorIdentity loadIdentity(String username) {
+        User user = userRepository.findByEmail(username)
+            .orElseThrow(() -> new IllegalArgumentException("Supervisor not found"));
+        return new SupervisorIdentity(user.getId(), user.getCompanyId(), username);
+    }
+
+    private static Counter pingCounter(MeterRegistry meterRegistry, String outcome) {
+        return Counter.builder("cafm.location.pings")
+            .tag("outcome", outcome)
+            .description("Supervisor location pings by history outcome")
+            .register(meterRegistry);
+    }
+
+    static double distanceMeters(double lat1, double lon1, double lat2, double lon2) {
+        double latDistance = Math.toRadians(lat2 - lat1);
+        double lonDistance = Math.toRadians(lon2 - lon1);
+        double a = Math.sin(latDistance / 2) * Math.sin(latDistance / 2)
+            + Math.cos(Math.toRadians(lat1)) * Math.cos(Math.toRadians(lat2))
+            * Math.sin(lonDistance / 2) * Math.sin(lonDistance / 2);
+        return EARTH_RADIUS_METERS * 2 * Math.atan2(Math.sqrt(a), Math.sqrt(1 - a));
+    }
+
+    private static LocalDateTime toLocalDateTime(long epochMillis) {
+        return LocalDateTime.ofInstant(Instant.ofEpochMilli(epochMillis), ZoneId.systemDefault());
+    }
+
+    /**
+     * What happened to a ping's history point.
+     */
+    public enum IngestOutcome {
+        RECORDED, DOWNSAMPLED, DROPPED
+    }
+
+    /**
+     * A supervisor as needed by the ingest path.
+     */
+    public record SupervisorIdentity(UUID userId, UUID companyId, String username) {
+    }
+
+    /**
+     * Latest position of a supervisor.
+     */
+    public record LastKnownLocation(UUID userId, String username, double latitude, double longitude,
+                                    double accuracy, String source, long timestampMillis) {
+
+        Map<String, Object> toMetadata() {
+            return Map.of(
+                "username", username,
+                "latitude", latitude,
+                "longitude", longitude,
+                "accuracy", accuracy,
+                "source", source,
+                "timestamp", timestampMillis,
+                "lastUpdated", toLocalDateTime(timestampMillis).toString()
+            );
+        }
+    }
+
+    /**
+     * Latest position plus the last point written to history.
+     */
+    private record Track(LastKnownLocation latest, double recordedLatitude, double recordedLongitude,
+                         long recordedAtMillis) {
+    }
+
+    private record PendingPoint(UUID userId, UUID companyId, double latitude, double longitude, Double accuracy,
+                                LocationSource source, LocalDateTime recordedAt, long receivedNanos) {
+
+        UserLocation toEntity() {
+            BigDecimal accuracyMeters = accuracy != null
+                ? BigDecimal.valueOf(Math.min(Math.abs(accuracy), MAX_ACCURACY_METERS)).setScale(2, RoundingMode.HALF_UP)
+                : null;
+            return new UserLocation(userId, companyId,
+                BigDecimal.valueOf(latitude).setScale(8, RoundingMode.HALF_UP),
+                BigDecimal.valueOf(longitude).setScale(8, RoundingMode.HALF_UP),
+                accuracyMeters, source, recordedAt);
+        }
+    }
+}
@@ -1,7 +1,6 @@
 package com.cafm.cafmbackend.domain.services;
 
-import com.cafm.cafmbackend.infrastructure.persistence.entity.User;
-import com.cafm.cafmbackend.infrastructure.persistence.entity.WorkOrder;
+import com.cafm.cafmbackend.domain.services.SupervisorLocationIngest.SupervisorIdentity;
 import com.cafm.cafmbackend.infrastructure.persistence.repository.UserRepository;
 import com.cafm.cafmbackend.infrastructure.persistence.repository.WorkOrderRepository;
 import org.slf4j.Logger;
@@ -9,7 +8,6 @@ import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.cache.annotation.CacheEvict;
 import org.springframework.cache.annotation.Cacheable;
-import org.springframework.data.domain.PageRequest;
 import org.springframework.data.redis.core.RedisTemplate;
 import org.springframework.data.redis.core.GeoOperations;
 import org.springframework.data.geo.*;
@@ -17,17 +15,16 @@ import org.springframework.data.redis.connection.RedisGeoCommands.GeoLocation;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
-import java.time.Duration;
 import java.time.LocalDateTime;
 import java.util.*;
-import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
 
 /**
  * Service for managing supervisor location tracking and proximity-based features.
  * 
  * Purpose: Track supervisor real-time location and provide location-based work assignment
- * Pattern: Redis GEO operations for efficient spatial queries with caching
+ * Pattern: Redis GEO operations for efficient spatial queries with caching; pings go through
+ *          SupervisorLocationIngest, which keeps the latest position and batches history writes
  * Java 23: Uses modern collections and pattern matching for location processing
  * Architecture: Domain service coordinating location tracking across mobile supervisors
  * Standards: Real-time location updates with privacy controls and performance optimization
@@ -37,9 +34,8 @@ import java.util.stream.Collectors;
 public class SupervisorLocationService {
     
     private static final Logger logger = LoggerFactory.getLogger(SupervisorLocationService.class);
-    private static final String SUPERVISOR_LOCATION_KEY = "supervisor:locations";
-    private static final String LOCATION_HISTORY_KEY = "location:history:";
-    private static final int LOCATION_HISTORY_DAYS = 7;
+    private static final String SUPERVISOR_LOCATION_KEY = SupervisorLocationIngest.LOCATIONS_KEY;
+    private static final String LOCATION_HISTORY_KEY = SupervisorLocationIngest.HISTORY_KEY_PREFIX;
     private static final double DEFAULT_RADIUS_KM = 5.0;
     private static final int MAX_NEARBY_RESULTS = 50;
     
@@ -48,18 +44,21 @@ public class SupervisorLocationService {
     private final RedisTemplate<String, Object> redisTemplate;
     private final GeoOperations<String, Object> geoOperations;
     private final LocationQueryService locationQueryService;
+    private final SupervisorLocationIngest locationIngest;
     
     @Autowired
     public SupervisorLocationService(
             UserRepository userRepository,
             WorkOrderRepository workOrderRepository,
             RedisTemplate<String, Object> redisTemplate,
-            LocationQueryService locationQueryService) {
+            LocationQueryService locationQueryService,
+            SupervisorLocationIngest locationIngest) {
         this.userRepository = userRepository;
         this.workOrderRepository = workOrderRepository;
         this.redisTemplate = redisTemplate;
         this.geoOperations = redisTemplate.opsForGeo();
         this.locationQueryService = locationQueryService;
+        this.locationIngest = locationIngest;
     }
     
     /**
@@ -75,16 +74,10 @@ public class SupervisorLocationService {
         logger.debug("Updating supervisor location for user: {}", username);
         
         try {
-            // Extract location data from request (simplified)
-            // In a full implementation, this would parse the locationRequest object
-            
-            // For now, use default coordinates for Riyadh
-            double latitude = 24.7136;
-            double longitude = 46.6753;
-            double accuracy = 10.0;
-            
-            // Call the existing updateLocation method
-            return updateLocation(username, latitude, longitude, accuracy, "mobile");
+            if (!(locationRequest instanceof LocationReport report)) {
+                throw new IllegalArgumentException("Unsupported location request");
+            }
+            return updateLocation(username, report.latitude(), report.longitude(), report.accuracy(), "mobile");
             
         } catch (Exception e) {
             logger.error("Error updating supervisor location for user: {}", username, e);
@@ -100,8 +93,10 @@ public class SupervisorLocationService {
     
     /**
      * Update supervisor's current location.
+     * No database write happens here; history points are downsampled and written in batches.
      */
     @CacheEvict(value = "supervisor-locations", key = "#username")
+    @Transactional(readOnly = true)
     public Map<String, Object> updateLocation(String username, Double latitude, Double longitude, 
                                              Double accuracy, String source) {
         logger.debug("Updating location for supervisor: {}, lat: {}, lon: {}", 
@@ -113,35 +108,12 @@ public class SupervisorLocationService {
                 throw new IllegalArgumentException("Invalid coordinates provided");
             }
             
-            // Find supervisor
-            User supervisor = userRepository.findByEmail(username)
-                .orElseThrow(() -> new IllegalArgumentException("Supervisor not found"));
-            
-            // Store location in Redis GEO
-            Point point = new Point(longitude, latitude);
-            geoOperations.add(SUPERVISOR_LOCATION_KEY, point, supervisor.getId().toString());
-            
-            // Store location metadata
-            String metadataKey = SUPERVISOR_LOCATION_KEY + ":metadata:" + supervisor.getId();
-            Map<String, Object> metadata = Map.of(
-                "username", username,
-                "latitude", latitude,
-                "longitude", longitude,
-                "accuracy", accuracy != null ? accuracy : 0.0,
-                "source", source != null ? source : "mobile",
-                "timestamp", System.currentTimeMillis(),
-                "lastUpdated", LocalDateTime.now().toString()
-            );
-            
-            redisTemplate.opsForHash().putAll(metadataKey, metadata);
-            redisTemplate.expire(metadataKey, Duration.ofHours(24));
-            
-            // Store in location history
-            storeLocationHistory(supervisor.getId().toString(), latitude, longitude);
+            SupervisorIdentity supervisor = locationIngest.resolve(username);
+            locationIngest.ingest(supervisor, latitude, longitude, accuracy, source);
             
             // Check for nearby work using LocationQueryService
             List<Map<String, Object>> nearbyWork = locationQueryService.findNearbyWorkOrders(
-                latitude, longitude, DEFAULT_RADIUS_KM, supervisor.getCompanyId());
+                latitude, longitude, DEFAULT_RADIUS_KM, supervisor.companyId());
             
             logger.info("Location updated for supervisor: {}, found {} nearby work orders", 
                 username, nearbyWork.size());
@@ -228,11 +200,7 @@ public class SupervisorLocationService {
         logger.debug("Getting current location for supervisor: {}", username);
         
         try {
-            User supervisor = userRepository.findByEmail(username)
-                .orElseThrow(() -> new IllegalArgumentException("Supervisor not found"));
-            
-            String metadataKey = SUPERVISOR_LOCATION_KEY + ":metadata:" + supervisor.getId();
-            Map<Object, Object> metadata = redisTemplate.opsForHash().entries(metadataKey);
+            Map<String, Object> metadata = locationIngest.findLatest(locationIngest.resolve(username));
             
             if (metadata.isEmpty()) {
                 return Map.of(
@@ -263,10 +231,7 @@ public class SupervisorLocationService {
         logger.debug("Getting {} days location history for supervisor: {}", days, username);
         
         try {
-            User supervisor = userRepository.findByEmail(username)
-                .orElseThrow(() -> new IllegalArgumentException("Supervisor not found"));
-            
-            String historyKey = LOCATION_HISTORY_KEY + supervisor.getId();
+            String historyKey = LOCATION_HISTORY_KEY + locationIngest.resolve(username).userId();
             List<Object> history = redisTemplate.opsForList().range(
                 historyKey, 0, days * 24); // Approximate hourly updates
             
@@ -310,23 +275,12 @@ public class SupervisorLocationService {
             && longitude >= -180 && longitude <= 180;
     }
     
-    private void storeLocationHistory(String supervisorId, Double latitude, Double longitude) {
-        try {
-            String historyKey = LOCATION_HISTORY_KEY + supervisorId;
-            
-            Map<String, Object> historyEntry = Map.of(
-                "latitude", latitude,
-                "longitude", longitude,
-                "timestamp", System.currentTimeMillis(),
-                "date", LocalDateTime.now().toString()
-            );
-            
-            redisTemplate.opsForList().leftPush(historyKey, historyEntry);
-            redisTemplate.opsForList().trim(historyKey, 0, LOCATION_HISTORY_DAYS * 24);
-            redisTemplate.expire(historyKey, Duration.ofDays(LOCATION_HISTORY_DAYS + 1));
-            
-        } catch (Exception e) {
-            logger.warn("Failed to store location history for supervisor: {}", supervisorId, e);
-        }
+    /**
+     * Coordinates carried by a location update request.
+     */
+    public interface LocationReport {
+        double latitude();
+        double longitude();
+        Double accuracy();
     }
-}
\ No newline at end of file
+}
@@ -3,14 +3,14 @@ package com.cafm.cafmbackend.domain.services;
 import com.cafm.cafmbackend.dto.mobile.*;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.context.event.EventListener;
 import org.springframework.messaging.simp.SimpMessagingTemplate;
 import org.springframework.stereotype.Service;
+import org.springframework.web.socket.messaging.SessionDisconnectEvent;
 
 import java.time.LocalDateTime;
 import java.util.UUID;
 import java.util.concurrent.CompletableFuture;
-import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.ConcurrentMap;
 
 /**
  * Service for handling WebSocket-based real-time notifications in the CAFM system.
@@ -25,6 +25,9 @@ import java.util.concurrent.ConcurrentMap;
  * The service uses Spring's SimpMessagingTemplate for WebSocket message delivery
  * and maintains tenant isolation to ensure secure multi-tenant operation.
  * Supports async notification delivery for high-performance operation.
+ * Dashboard subscriptions are tracked in WebSocketSubscriptionRegistry, which is cluster-wide
+ * when the broker runs in relay or redis mode. Location and dashboard updates go through
+ * ConflatingBroadcaster, so subscribers receive batched frames of the latest values.
  */
 @Service
 public class WebSocketNotificationService {
@@ -32,13 +35,15 @@ public class WebSocketNotificationService {
     private static final Logger log = LoggerFactory.getLogger(WebSocketNotificationService.class);
     
     private final SimpMessagingTemplate messagingTemplate;
-    
-    // Active subscriptions tracking for efficient message routing
-    private final ConcurrentMap<String, UUID> userTenantMap = new ConcurrentHashMap<>();
-    private final ConcurrentMap<UUID, Integer> tenantSubscriptionCount = new ConcurrentHashMap<>();
+    private final WebSocketSubscriptionRegistry subscriptionRegistry;
+    private final ConflatingBroadcaster broadcaster;
 
-    public WebSocketNotificationService(SimpMessagingTemplate messagingTemplate) {
+    public WebSocketNotificationService(SimpMessagingTemplate messagingTemplate,
+                                        WebSocketSubscriptionRegistry subscriptionRegistry,
+                                        ConflatingBroadcaster broadcaster) {
         this.messagingTemplate = messagingTemplate;
+        this.subscriptionRegistry = subscriptionRegistry;
+        this.broadcaster = broadcaster;
     }
 
     /**
@@ -110,39 +115,37 @@ public class WebSocketNotificationService {
     }
 
     /**
-     * Broadcasts location updates to supervisors and relevant personnel
+     * Broadcasts location updates to supervisors and relevant personnel.
+     * Updates are conflated per user and delivered in batched frames at the flush rate.
      */
     public CompletableFuture<Void> broadcastLocationUpdate(LocationUpdateDto locationUpdate, 
                                                           String username, UUID tenantId) {
-        return CompletableFuture.runAsync(() -> {
-            log.debug("Broadcasting location update for user: {} in tenant: {}", username, tenantId);
+        log.debug("Broadcasting location update for user: {} in tenant: {}", username, tenantId);
+        
+        try {
+            // Create enhanced location update with user info
+            EnhancedLocationUpdate enhancedUpdate = new EnhancedLocationUpdate(
+                    username,
+                    locationUpdate.latitude(),
+                    locationUpdate.longitude(),
+                    locationUpdate.accuracy(),
+                    locationUpdate.timestamp(),
+                    locationUpdate.batteryLevel(),
+                    calculateMovementStatus(locationUpdate)
+            );
             
-            try {
-                // Create enhanced location update with user info
-                EnhancedLocationUpdate enhancedUpdate = new EnhancedLocationUpdate(
-                        username,
-                        locationUpdate.latitude(),
-                        locationUpdate.longitude(),
-                        locationUpdate.accuracy(),
-                        locationUpdate.timestamp(),
-                        locationUpdate.batteryLevel(),
-                        calculateMovementStatus(locationUpdate)
-                );
-                
-                // Broadcast to supervisors in the tenant
-                String supervisorTopic = String.format("/topic/tenant/%s/locations/supervisors", tenantId);
-                messagingTemplate.convertAndSend(supervisorTopic, enhancedUpdate);
-                
-                // Broadcast to admin dashboard
-                String adminTopic = String.format("/topic/tenant/%s/dashboard/locations", tenantId);
-                messagingTemplate.convertAndSend(adminTopic, enhancedUpdate);
-                
-                log.debug("Location update broadcasted successfully for user: {}", username);
-                
-            } catch (Exception e) {
-                log.error("Error broadcasting location update", e);
-            }
-        });
+            // Broadcast to supervisors in the tenant
+            String supervisorTopic = String.format("/topic/tenant/%s/locations/supervisors", tenantId);
+            broadcaster.publish(supervisorTopic, username, enhancedUpdate);
+            
+            // Broadcast to admin dashboard
+            String adminTopic = String.format("/topic/tenant/%s/dashboard/locations", tenantId);
+            broadcaster.publish(adminTopic, username, enhancedUpdate);
+            
+        } catch (Exception e) {
+            log.error("Error broadcasting location update", e);
+        }
+        return CompletableFuture.completedFuture(null);
     }
 
     /**
@@ -255,11 +258,8 @@ public class WebSocketNotificationService {
         log.debug("Registering dashboard subscription for user: {} in tenant: {}", username, tenantId);
         
         try {
-            // Track user-tenant mapping
-            userTenantMap.put(username, tenantId);
-            
-            // Update tenant subscription count
-            tenantSubscriptionCount.merge(tenantId, 1, Integer::sum);
+            // Track the subscription cluster-wide
+            subscriptionRegistry.register(username, tenantId);
             
             // Send initial dashboard data
             sendInitialDashboardData(username, tenantId);
@@ -272,32 +272,41 @@ public class WebSocketNotificationService {
     }
 
     /**
-     * Sends real-time dashboard updates to subscribed users
+     * Sends real-time dashboard updates to subscribed users.
+     * Only the latest update of each type is delivered per flush.
      */
     public CompletableFuture<Void> sendDashboardUpdate(DashboardUpdateDto update, UUID tenantId) {
-        return CompletableFuture.runAsync(() -> {
-            log.debug("Sending dashboard update to tenant: {}", tenantId);
+        log.debug("Sending dashboard update to tenant: {}", tenantId);
+        
+        try {
+            String dashboardTopic = String.format("/topic/tenant/%s/dashboard/updates", tenantId);
+            broadcaster.publish(dashboardTopic, update.updateType(), update);
             
-            try {
-                String dashboardTopic = String.format("/topic/tenant/%s/dashboard/updates", tenantId);
-                messagingTemplate.convertAndSend(dashboardTopic, update);
-                
-                log.debug("Dashboard update sent successfully to tenant: {}", tenantId);
-                
-            } catch (Exception e) {
-                log.error("Error sending dashboard update", e);
-            }
-        });
+        } catch (Exception e) {
+            log.error("Error sending dashboard update", e);
+        }
+        return CompletableFuture.completedFuture(null);
     }
 
     /**
      * Unregisters user from dashboard subscriptions (called on disconnect)
      */
     public void unregisterDashboardSubscription(String username) {
-        UUID tenantId = userTenantMap.remove(username);
-        if (tenantId != null) {
-            tenantSubscriptionCount.computeIfPresent(tenantId, (key, count) -> count > 1 ? count - 1 : null);
-            log.debug("Dashboard subscription unregistered for user: {}", username);
+        subscriptionRegistry.unregister(username);
+        log.debug("Dashboard subscription unregistered for user: {}", username);
+    }
+
+    /**
+     * Dashboard subscribers of a tenant across all nodes
+     */
+    public int getDashboardSubscriberCount(UUID tenantId) {
+        return subscriptionRegistry.countSubscribers(tenantId);
+    }
+
+    @EventListener
+    public void onSessionDisconnect(SessionDisconnectEvent event) {
+        if (event.getUser() != null) {
+            unregisterDashboardSubscription(event.getUser().getName());
         }
     }
 
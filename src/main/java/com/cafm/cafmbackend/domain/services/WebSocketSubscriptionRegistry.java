@@ -0,0 +1,172 @@
+package com.cafm.cafmbackend.domain.services;
+
+import com.cafm.cafmbackend.configuration.cache.CacheInvalidationBus;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Cluster-wide registry of dashboard subscriptions.
+ *
+ * Purpose: Know which tenants have dashboard subscribers on any node, not only on this one
+ * Pattern: Local map of this node's subscribers, mirrored to one Redis hash per tenant with
+ *          field "nodeId|username" and a heartbeat timestamp as value
+ * Java 23: Concurrent map for this node's subscribers; no locking on the notification path
+ * Architecture: Used by WebSocketNotificationService; Redis mirror is active whenever
+ *               app.websocket.broker.mode is not "simple"
+ * Standards: Entries of nodes that stop heartbeating expire after the stale interval and are
+ *            pruned on read; Redis failures fall back to the local view
+ */
+@Component
+public class WebSocketSubscriptionRegistry {
+
+    private static final Logger logger = LoggerFactory.getLogger(WebSocketSubscriptionRegistry.class);
+
+    private static final String KEY_PREFIX = "cafm:ws:subscribers:";
+
+    private final StringRedisTemplate redisTemplate;
+    private final String nodeId;
+    private final boolean distributed;
+    private final Duration staleAfter;
+    private final ConcurrentMap<String, UUID> localSubscribers = new ConcurrentHashMap<>();
+
+    public WebSocketSubscriptionRegistry(StringRedisTemplate redisTemplate,
+                                         CacheInvalidationBus invalidationBus,
+                                         @Value("${app.websocket.broker.mode:simple}") String brokerMode,
+                                         @Value("${app.websocket.registry.stale-after:PT90S}") Duration staleAfter) {
+        this.redisTemplate = redisTemplate;
+        this.nodeId = invalidationBus.getNodeId();
+        this.distributed = !"simple".equalsIgnoreCase(brokerMode);
+        this.staleAfter = staleAfter;
+    }
+
+    public void register(String username, UUID tenantId) {
+        UUID previous = localSubscribers.put(username, tenantId);
+        if (!distributed) {
+            return;
+        }
+        try {
+            if (previous != null && !previous.equals(tenantId)) {
+                redisTemplate.opsForHash().delete(key(previous), field(username));
+            }
+            touch(username, tenantId);
+        } catch (RuntimeException e) {
+            logger.warn("Could not register dashboard subscription of {} in Redis: {}", username, e.getMessage());
+        }
+    }
+
+    public void unregister(String username) {
+        UUID tenantId = localSubscribers.remove(username);
+        if (tenantId == null || !distributed) {
+            return;
+        }
+        try {
+            redisTemplate.opsForHash().delete(key(tenantId), field(username));
+        } catch (RuntimeException e) {
+            logger.warn("Could not unregister dashboard subscription of {} in Redis: {}", username, e.getMessage());
+        }
+    }
+
+    /**
+     * Dashboard subscribers of a tenant across all live nodes.
+     */
+    public int countSubscribers(UUID tenantId) {
+        if (!distributed) {
+            return countLocal(tenantId);
+        }
+        try {
+            Map<Object, Object> entries = redisTemplate.opsForHash().entries(key(tenantId));
+            long liveSince = System.currentTimeMillis() - staleAfter.toMillis();
+            List<Object> stale = new ArrayList<>();
+            Set<String> usernames = new HashSet<>();
+            for (Map.Entry<Object, Object> entry : entries.entrySet()) {
+                String field = entry.getKey().toString();
+                if (Long.parseLong(entry.getValue().toString()) >= liveSince) {
+                    usernames.add(field.substring(field.indexOf('|') + 1));
+                } else {
+                    stale.add(field);
+                }
+            }
+            if (!stale.isEmpty()) {
+                redisTemplate.opsForHash().delete(key(tenantId), stale.toArray());
+            }
+            return usernames.size();
+        } catch (RuntimeException e) {
+            logger.warn("Could not count dashboard subscribers of tenant {} in Redis: {}", tenantId, e.getMessage());
+            return countLocal(tenantId);
+        }
+    }
+
+    /**
+     * Dashboard subscribers connected to this node.
+     */
+    public int countLocal(UUID tenantId) {
+        return (int) localSubscribers.values().stream().filter(tenantId::equals).count();
+    }
+
+    /**
+     * Refresh this node's entries so other nodes keep counting them.
+     */
+    @Scheduled(fixedDelayString = "${app.websocket.registry.heartbeat-interval-ms:30000}")
+    public void heartbeat() {
+        if (!distributed || localSubscribers.isEmpty()) {
+            return;
+        }
+        try {
+            Map<UUID, Map<String, String>> byTenant = new HashMap<>();
+            String now = Long.toString(System.currentTimeMillis());
+            localSubscribers.forEach((username, tenantId) ->
+                byTenant.computeIfAbsent(tenantId, id -> new HashMap<>()).put(field(username), now));
+            byTenant.forEach((tenantId, fields) -> {
+                redisTemplate.opsForHash().putAll(key(tenantId), fields);
+                redisTemplate.expire(key(tenantId), staleAfter.multipliedBy(2));
+            });
+        } catch (RuntimeException e) {
+            logger.warn("Could not refresh dashboard subscriptions in Redis: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Remove this node's entries on shutdown instead of waiting for them to go stale.
+     */
+    @PreDestroy
+    public void deregisterNode() {
+        if (!distributed) {
+            return;
+        }
+        try {
+            localSubscribers.forEach((username, tenantId) ->
+                redisTemplate.opsForHash().delete(key(tenantId), field(username)));
+        } catch (RuntimeException e) {
+            logger.warn("Could not remove dashboard subscriptions from Redis on shutdown: {}", e.getMessage());
+        }
+    }
+
+    private void touch(String username, UUID tenantId) {
+        redisTemplate.opsForHash().put(key(tenantId), field(username), Long.toString(System.currentTimeMillis()));
+        redisTemplate.expire(key(tenantId), staleAfter.multipliedBy(2));
+    }
+
+    private String field(String username) {
+        return nodeId + "|" + username;
+    }
+
+    private static String key(UUID tenantId) {
+        return KEY_PREFIX + tenantId;
+    }
+}
@@ -4,6 +4,7 @@ import com.cafm.cafmbackend.infrastructure.persistence.entity.*;
 import com.cafm.cafmbackend.infrastructure.persistence.repository.*;
 import com.cafm.cafmbackend.shared.enums.*;
 import com.cafm.cafmbackend.shared.enums.UserType;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -26,6 +27,9 @@ import java.util.stream.Collectors;
 @Transactional(readOnly = true)
 public class AIDataAdapter {
     
+    // Limit for performance
+    private static final int MAINTENANCE_HISTORY_LIMIT = 100;
+    
     private final AssetRepository assetRepository;
     private final WorkOrderRepository workOrderRepository;
     private final ReportRepository reportRepository;
@@ -49,22 +53,9 @@ public class AIDataAdapter {
      * through the school that owns the asset
      */
     public List<WorkOrder> getAssetMaintenanceHistory(UUID assetId) {
+        // Since assets don't directly link to schools, we use company context
         return assetRepository.findById(assetId)
-            .map(asset -> {
-                // Find school that might be related to this asset
-                // Since assets don't directly link to schools, we use company context
-                UUID companyId = asset.getCompany().getId();
-                
-                // Get all work orders for the company and filter by relevance
-                return workOrderRepository.findByCompanyIdAndDeletedAtIsNull(companyId, 
-                    org.springframework.data.domain.Pageable.unpaged())
-                    .getContent()
-                    .stream()
-                    .filter(wo -> wo.getStatus() == WorkOrderStatus.COMPLETED)
-                    .sorted((a, b) -> b.getCreatedAt().compareTo(a.getCreatedAt()))
-                    .limit(100) // Limit for performance
-                    .collect(Collectors.toList());
-            })
+            .map(asset -> getCompanyMaintenanceHistory(asset.getCompany().getId()))
             .orElse(Collections.emptyList());
     }
     
@@ -73,21 +64,28 @@ public class AIDataAdapter {
      */
     public List<Report> getAssetMaintenanceReports(UUID assetId) {
         return assetRepository.findById(assetId)
-            .map(asset -> {
-                UUID companyId = asset.getCompany().getId();
-                
-                // Get completed reports that might relate to this asset type
-                return reportRepository.findByStatus(ReportStatus.COMPLETED)
-                    .stream()
-                    .filter(r -> r.getCompany() != null && 
-                                r.getCompany().getId().equals(companyId))
-                    .sorted((a, b) -> b.getCreatedAt().compareTo(a.getCreatedAt()))
-                    .limit(100)
-                    .collect(Collectors.toList());
-            })
+            .map(asset -> getCompanyMaintenanceReports(asset.getCompany().getId()))
             .orElse(Collections.emptyList());
     }
     
+    /**
+     * Get the most recent completed work orders of a company, newest first.
+     * Every asset of the company shares this history, so batch callers load it once.
+     */
+    public List<WorkOrder> getCompanyMaintenanceHistory(UUID companyId) {
+        return workOrderRepository.findByCompany_IdAndStatusAndDeletedAtIsNullOrderByCreatedAtDesc(
+            companyId, WorkOrderStatus.COMPLETED, PageRequest.of(0, MAINTENANCE_HISTORY_LIMIT));
+    }
+    
+    /**
+     * Get the most recent completed reports of a company, newest first.
+     * Every asset of the company shares these reports, so batch callers load them once.
+     */
+    public List<Report> getCompanyMaintenanceReports(UUID companyId) {
+        return reportRepository.findByCompany_IdAndStatusOrderByCreatedAtDesc(
+            companyId, ReportStatus.COMPLETED, PageRequest.of(0, MAINTENANCE_HISTORY_LIMIT));
+    }
+    
     /**
      * Find work orders by company and date range (missing repository method)
      */
@@ -0,0 +1,82 @@
+package com.cafm.cafmbackend.dto.common;
+
+import java.nio.charset.StandardCharsets;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+import java.util.StringJoiner;
+import java.util.function.Function;
+import java.util.regex.Pattern;
+
+/**
+ * Codec for opaque cursor tokens.
+ *
+ * Purpose: Encode cursor fields as a versioned, URL-safe token and decode them back
+ * Pattern: Immutable codec shared by the cursor value objects (SeekCursor, SyncCursor)
+ * Java 23: Functional field parser so each cursor builds itself from the decoded fields
+ * Architecture: Contract helper for cursor-based endpoints; tokens are Base64url of
+ *               version, separator, field, separator, field...
+ * Standards: Every decoding failure is an IllegalArgumentException naming the token kind
+ */
+public final class CursorCodec {
+
+    private final String version;
+    private final String separator;
+    private final Pattern splitter;
+    private final int fieldCount;
+    private final String tokenName;
+
+    /**
+     * @param version prefix identifying the token format
+     * @param separator field separator; must not occur in any field
+     * @param fieldCount number of fields after the version
+     * @param tokenName token kind used in error messages, e.g. "cursor"
+     */
+    public CursorCodec(String version, char separator, int fieldCount, String tokenName) {
+        this.version = version;
+        this.separator = String.valueOf(separator);
+        this.splitter = Pattern.compile(Pattern.quote(this.separator));
+        this.fieldCount = fieldCount;
+        this.tokenName = tokenName;
+    }
+
+    /**
+     * Encode fields as an opaque URL-safe token.
+     */
+    public String encode(Object... fields) {
+        if (fields.length != fieldCount) {
+            throw new IllegalArgumentException("Expected " + fieldCount + " " + tokenName + " fields");
+        }
+        StringJoiner raw = new StringJoiner(separator).add(version);
+        for (Object field : fields) {
+            raw.add(String.valueOf(field));
+        }
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.toString().getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Decode a token and build a cursor from its fields.
+     *
+     * @param parser builds the cursor from the fields after the version; parse and validation
+     *               failures are reported as a malformed token
+     */
+    public <T> T decode(String token, Function<String[], T> parser) {
+        String[] parts;
+        try {
+            parts = splitter.split(new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8), -1);
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Malformed " + tokenName, e);
+        }
+
+        if (parts.length != fieldCount + 1 || !version.equals(parts[0])) {
+            throw new IllegalArgumentException("Unsupported " + tokenName);
+        }
+
+        String[] fields = new String[fieldCount];
+        System.arraycopy(parts, 1, fields, 0, fieldCount);
+        try {
+            return parser.apply(fields);
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            throw new IllegalArgumentException("Malformed " + tokenName, e);
+        }
+    }
+}
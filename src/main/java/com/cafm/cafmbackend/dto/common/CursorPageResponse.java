@@ -0,0 +1,72 @@
+package com.cafm.cafmbackend.dto.common;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Cursor (keyset) pagination response wrapper for API responses.
+ *
+ * Slice-style: no exact total, so a page never pays for a COUNT(*). The optional
+ * estimatedTotal is the query planner's row estimate, for "about N results" displays.
+ *
+ * @param <T> The type of content in the page
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record CursorPageResponse<T>(
+    @JsonProperty("content")
+    List<T> content,
+
+    @JsonProperty("size")
+    int size,
+
+    @JsonProperty("hasNext")
+    boolean hasNext,
+
+    @JsonProperty("nextCursor")
+    String nextCursor,
+
+    @JsonProperty("estimatedTotal")
+    Long estimatedTotal
+) {
+
+    public static final int DEFAULT_SIZE = 20;
+    public static final int MAX_SIZE = 100;
+
+    /**
+     * Page size within 1..MAX_SIZE.
+     */
+    public static int clampSize(int size) {
+        return Math.max(1, Math.min(size, MAX_SIZE));
+    }
+
+    /**
+     * Rows to fetch for a page: one more than the page size tells whether a next page exists.
+     */
+    public static int probeSize(int size) {
+        return size + 1;
+    }
+
+    /**
+     * Build a page from rows fetched with probeSize(size), in sort order.
+     */
+    public static <E, T> CursorPageResponse<T> fromProbe(List<E> rows,
+                                                         int size,
+                                                         Function<E, SeekCursor> positionOf,
+                                                         Function<E, T> mapper,
+                                                         Long estimatedTotal) {
+        boolean hasNext = rows.size() > size;
+        List<E> page = hasNext ? rows.subList(0, size) : rows;
+        String nextCursor = hasNext ? positionOf.apply(page.get(page.size() - 1)).encode() : null;
+        return new CursorPageResponse<>(page.stream().map(mapper).toList(), size, hasNext, nextCursor, estimatedTotal);
+    }
+
+    /**
+     * Transform content using a mapper function
+     */
+    public <U> CursorPageResponse<U> map(Function<T, U> mapper) {
+        return new CursorPageResponse<>(content.stream().map(mapper).toList(), size, hasNext, nextCursor, estimatedTotal);
+    }
+}
@@ -0,0 +1,55 @@
+package com.cafm.cafmbackend.dto.common;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Opaque keyset pagination cursor.
+ *
+ * Purpose: Position after the last row of a "newest first" page, as its (timestamp, id) sort key
+ * Pattern: Value object encoded as a URL-safe token (nextCursor / cursor)
+ * Java 23: Record with compact validation
+ * Architecture: Contract between the cursor list endpoints and the seek queries in the repositories
+ * Standards: Tokens are bound to the scope that issued them (tenant, or user for personal lists)
+ */
+public record SeekCursor(
+    UUID scopeId,
+    LocalDateTime timestamp,
+    UUID id
+) {
+
+    private static final CursorCodec CODEC = new CursorCodec("s1", '|', 3, "cursor");
+
+    public SeekCursor {
+        if (scopeId == null || timestamp == null || id == null) {
+            throw new IllegalArgumentException("Seek cursor requires a scope, timestamp and id");
+        }
+    }
+
+    /**
+     * Decode a token and verify it was issued for the given scope.
+     */
+    public static SeekCursor decode(String token, UUID expectedScopeId) {
+        SeekCursor cursor = CODEC.decode(token, fields -> new SeekCursor(
+            UUID.fromString(fields[0]), LocalDateTime.parse(fields[1]), UUID.fromString(fields[2])));
+
+        if (!cursor.scopeId().equals(expectedScopeId)) {
+            throw new IllegalArgumentException("Cursor was issued for a different scope");
+        }
+        return cursor;
+    }
+
+    /**
+     * Decode an optional token; a missing token means the first page.
+     */
+    public static SeekCursor decodeOrNull(String token, UUID expectedScopeId) {
+        return token == null || token.isBlank() ? null : decode(token, expectedScopeId);
+    }
+
+    /**
+     * Encode as an opaque URL-safe token.
+     */
+    public String encode() {
+        return CODEC.encode(scopeId, timestamp, id);
+    }
+}
@@ -0,0 +1,28 @@
+package com.cafm.cafmbackend.dto.export;
+
+import com.cafm.cafmbackend.infrastructure.persistence.entity.ExportJob.ExportType;
+import jakarta.validation.constraints.NotNull;
+
+import java.time.LocalDate;
+
+/**
+ * Request DTO for submitting an asynchronous export job.
+ * Date range is required for report and work order exports.
+ */
+public record ExportJobRequest(
+    @NotNull(message = "Export type is required")
+    ExportType exportType,
+    
+    LocalDate startDate,
+    LocalDate endDate
+) {
+    /**
+     * Whether the date range fits the export type.
+     */
+    public boolean hasValidDateRange() {
+        if (!exportType.isDateRangeRequired()) {
+            return true;
+        }
+        return startDate != null && endDate != null && !endDate.isBefore(startDate);
+    }
+}
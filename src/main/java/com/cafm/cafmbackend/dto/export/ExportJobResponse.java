@@ -0,0 +1,54 @@
+package com.cafm.cafmbackend.dto.export;
+
+import com.cafm.cafmbackend.infrastructure.persistence.entity.ExportJob;
+import com.cafm.cafmbackend.infrastructure.persistence.entity.ExportJob.ExportStatus;
+import com.cafm.cafmbackend.infrastructure.persistence.entity.ExportJob.ExportType;
+import com.fasterxml.jackson.annotation.JsonFormat;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Response DTO describing an export job.
+ * reused is true when the submission was served by an identical recent job.
+ */
+public record ExportJobResponse(
+    UUID jobId,
+    ExportType exportType,
+    ExportStatus status,
+    LocalDate startDate,
+    LocalDate endDate,
+    String fileName,
+    Long fileSize,
+    String errorMessage,
+    boolean reused,
+    String downloadPath,
+    
+    @JsonFormat(pattern = "yyyy-MM-dd'T'HH:mm:ss")
+    LocalDateTime createdAt,
+    
+    @JsonFormat(pattern = "yyyy-MM-dd'T'HH:mm:ss")
+    LocalDateTime completedAt,
+    
+    @JsonFormat(pattern = "yyyy-MM-dd'T'HH:mm:ss")
+    LocalDateTime expiresAt
+) {
+    public static ExportJobResponse from(ExportJob job, boolean reused) {
+        return new ExportJobResponse(
+            job.getId(),
+            job.getExportType(),
+            job.getStatus(),
+            job.getStartDate(),
+            job.getEndDate(),
+            job.getFileName(),
+            job.getFileSize(),
+            job.getErrorMessage(),
+            reused,
+            job.isDownloadable() ? "/api/v1/exports/" + job.getId() + "/download" : null,
+            job.getCreatedAt(),
+            job.getCompletedAt(),
+            job.getExpiresAt()
+        );
+    }
+}
@@ -22,7 +22,8 @@ public record MobileSyncRequest(
     Map<String, LocalDateTime> entityLastSyncTimes,
     int batchSize,
     boolean fullSync,
-    MobileDeviceInfo deviceInfo
+    MobileDeviceInfo deviceInfo,
+    String syncToken
 ) {
     
     /**
@@ -47,7 +48,14 @@ public record MobileSyncRequest(
      * Check if this is a full synchronization request.
      */
     public boolean isFullSync() {
-        return fullSync || lastSyncTime == null;
+        return fullSync || (lastSyncTime == null && !hasSyncToken());
+    }
+    
+    /**
+     * Check if the client sent the cursor returned by its previous sync.
+     */
+    public boolean hasSyncToken() {
+        return syncToken != null && !syncToken.isBlank();
     }
     
     /**
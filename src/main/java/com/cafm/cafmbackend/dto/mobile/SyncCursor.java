@@ -0,0 +1,80 @@
+package com.cafm.cafmbackend.dto.mobile;
+
+import com.cafm.cafmbackend.dto.common.CursorCodec;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.UUID;
+
+/**
+ * Opaque mobile sync cursor.
+ *
+ * Purpose: Position of a device in the per-tenant sync change log
+ * Pattern: Value object encoded as a URL-safe token (next_sync_token / syncToken)
+ * Java 23: Record with compact validation
+ * Architecture: Mobile sync protocol contract between MobileSyncService and devices
+ * Standards: Tokens are bound to the tenant that issued them
+ */
+public record SyncCursor(
+    UUID companyId,
+    long changeSeq,
+    long issuedAtEpochMillis
+) {
+
+    private static final CursorCodec CODEC = new CursorCodec("v1", ':', 3, "sync token");
+
+    public SyncCursor {
+        if (companyId == null) {
+            throw new IllegalArgumentException("Sync cursor requires a company");
+        }
+        if (changeSeq < 0) {
+            throw new IllegalArgumentException("Sync cursor sequence must not be negative");
+        }
+    }
+
+    /**
+     * Cursor positioned before the first change of a tenant (full sync).
+     */
+    public static SyncCursor initial(UUID companyId) {
+        return new SyncCursor(companyId, 0, 0);
+    }
+
+    /**
+     * Cursor at the given sequence, issued now.
+     */
+    public static SyncCursor at(UUID companyId, long changeSeq) {
+        return new SyncCursor(companyId, changeSeq, System.currentTimeMillis());
+    }
+
+    /**
+     * Decode a token and verify it was issued for the given tenant.
+     */
+    public static SyncCursor decode(String token, UUID expectedCompanyId) {
+        SyncCursor cursor = CODEC.decode(token, fields -> new SyncCursor(
+            UUID.fromString(fields[0]), Long.parseLong(fields[1]), Long.parseLong(fields[2])));
+
+        if (!cursor.companyId().equals(expectedCompanyId)) {
+            throw new IllegalArgumentException("Sync token was issued for a different tenant");
+        }
+        return cursor;
+    }
+
+    /**
+     * Encode as an opaque URL-safe token.
+     */
+    public String encode() {
+        return CODEC.encode(companyId, changeSeq, issuedAtEpochMillis);
+    }
+
+    /**
+     * Time the cursor was issued, used to tell created from updated entities.
+     */
+    public LocalDateTime issuedAt() {
+        return LocalDateTime.ofInstant(Instant.ofEpochMilli(issuedAtEpochMillis), ZoneId.systemDefault());
+    }
+
+    public boolean isInitial() {
+        return changeSeq == 0;
+    }
+}
@@ -0,0 +1,286 @@
+package com.cafm.cafmbackend.infrastructure.persistence.entity;
+
+import com.cafm.cafmbackend.infrastructure.persistence.entity.base.BaseEntity;
+import jakarta.persistence.*;
+import jakarta.validation.constraints.NotNull;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Entity representing an asynchronous export job and its stored artifact.
+ *
+ * Purpose: Track an export from submission to the finished file in object storage
+ * Pattern: Job entity with explicit state transitions
+ * Java 23: Enums carry file metadata per export type
+ * Architecture: Data layer entity for the export job subsystem
+ * Standards: Tenant is kept as a plain id because jobs are updated from worker threads
+ *            that have no tenant context
+ */
+@Entity
+@Table(name = "export_jobs")
+public class ExportJob extends BaseEntity {
+
+    @NotNull
+    @Column(name = "company_id", nullable = false)
+    private UUID companyId;
+
+    @Column(name = "requested_by")
+    private UUID requestedBy;
+
+    @NotNull
+    @Column(name = "export_type", nullable = false, length = 40)
+    @Enumerated(EnumType.STRING)
+    private ExportType exportType;
+
+    @NotNull
+    @Column(name = "status", nullable = false, length = 20)
+    @Enumerated(EnumType.STRING)
+    private ExportStatus status = ExportStatus.QUEUED;
+
+    @Column(name = "start_date")
+    private LocalDate startDate;
+
+    @Column(name = "end_date")
+    private LocalDate endDate;
+
+    @NotNull
+    @Column(name = "dedup_key", nullable = false, length = 200)
+    private String dedupKey;
+
+    @NotNull
+    @Column(name = "file_name", nullable = false)
+    private String fileName;
+
+    @Column(name = "object_name", length = 500)
+    private String objectName;
+
+    @Column(name = "file_size")
+    private Long fileSize;
+
+    @Column(name = "error_message", columnDefinition = "TEXT")
+    private String errorMessage;
+
+    @Column(name = "started_at")
+    private LocalDateTime startedAt;
+
+    @Column(name = "completed_at")
+    private LocalDateTime completedAt;
+
+    @Column(name = "expires_at")
+    private LocalDateTime expiresAt;
+
+    public ExportJob() {
+        super();
+    }
+
+    public ExportJob(UUID companyId, UUID requestedBy, ExportType exportType,
+                     LocalDate startDate, LocalDate endDate) {
+        this();
+        this.companyId = companyId;
+        this.requestedBy = requestedBy;
+        this.exportType = exportType;
+        this.startDate = startDate;
+        this.endDate = endDate;
+        this.dedupKey = dedupKey(exportType, startDate, endDate);
+        this.fileName = exportType.fileName(startDate, endDate);
+    }
+
+    /**
+     * Key identifying identical exports of a tenant.
+     */
+    public static String dedupKey(ExportType exportType, LocalDate startDate, LocalDate endDate) {
+        return exportType.name() + ":" + startDate + ":" + endDate;
+    }
+
+    // ========== State Transitions ==========
+
+    public void markRunning() {
+        this.status = ExportStatus.RUNNING;
+        this.startedAt = LocalDateTime.now();
+    }
+
+    public void markCompleted(String objectName, long fileSize, LocalDateTime expiresAt) {
+        this.status = ExportStatus.COMPLETED;
+        this.objectName = objectName;
+        this.fileSize = fileSize;
+        this.expiresAt = expiresAt;
+        this.completedAt = LocalDateTime.now();
+        this.errorMessage = null;
+    }
+
+    public void markFailed(String errorMessage) {
+        this.status = ExportStatus.FAILED;
+        this.errorMessage = errorMessage;
+        this.completedAt = LocalDateTime.now();
+    }
+
+    public void markExpired() {
+        this.status = ExportStatus.EXPIRED;
+        this.objectName = null;
+    }
+
+    public boolean isDownloadable() {
+        return status == ExportStatus.COMPLETED && objectName != null
+            && (expiresAt == null || expiresAt.isAfter(LocalDateTime.now()));
+    }
+
+    // ========== Getters and Setters ==========
+
+    public UUID getCompanyId() {
+        return companyId;
+    }
+
+    public void setCompanyId(UUID companyId) {
+        this.companyId = companyId;
+    }
+
+    public UUID getRequestedBy() {
+        return requestedBy;
+    }
+
+    public void setRequestedBy(UUID requestedBy) {
+        this.requestedBy = requestedBy;
+    }
+
+    public ExportType getExportType() {
+        return exportType;
+    }
+
+    public void setExportType(ExportType exportType) {
+        this.exportType = exportType;
+    }
+
+    public ExportStatus getStatus() {
+        return status;
+    }
+
+    public void setStatus(ExportStatus status) {
+        this.status = status;
+    }
+
+    public LocalDate getStartDate() {
+        return startDate;
+    }
+
+    public void setStartDate(LocalDate startDate) {
+        this.startDate = startDate;
+    }
+
+    public LocalDate getEndDate() {
+        return endDate;
+    }
+
+    public void setEndDate(LocalDate endDate) {
+        this.endDate = endDate;
+    }
+
+    public String getDedupKey() {
+        return dedupKey;
+    }
+
+    public void setDedupKey(String dedupKey) {
+        this.dedupKey = dedupKey;
+    }
+
+    public String getFileName() {
+        return fileName;
+    }
+
+    public void setFileName(String fileName) {
+        this.fileName = fileName;
+    }
+
+    public String getObjectName() {
+        return objectName;
+    }
+
+    public void setObjectName(String objectName) {
+        this.objectName = objectName;
+    }
+
+    public Long getFileSize() {
+        return fileSize;
+    }
+
+    public void setFileSize(Long fileSize) {
+        this.fileSize = fileSize;
+    }
+
+    public String getErrorMessage() {
+        return errorMessage;
+    }
+
+    public void setErrorMessage(String errorMessage) {
+        this.errorMessage = errorMessage;
+    }
+
+    public LocalDateTime getStartedAt() {
+        return startedAt;
+    }
+
+    public void setStartedAt(LocalDateTime startedAt) {
+        this.startedAt = startedAt;
+    }
+
+    public LocalDateTime getCompletedAt() {
+        return completedAt;
+    }
+
+    public void setCompletedAt(LocalDateTime completedAt) {
+        this.completedAt = completedAt;
+    }
+
+    public LocalDateTime getExpiresAt() {
+        return expiresAt;
+    }
+
+    public void setExpiresAt(LocalDateTime expiresAt) {
+        this.expiresAt = expiresAt;
+    }
+
+    // ========== Enums ==========
+
+    public enum ExportType {
+        MAINTENANCE_REPORTS_EXCEL("maintenance-reports", "xlsx", true),
+        MAINTENANCE_REPORTS_PDF("maintenance-reports", "pdf", true),
+        WORK_ORDERS_EXCEL("work-orders", "xlsx", true),
+        WORK_ORDERS_PDF("work-orders", "pdf", true),
+        ASSETS_INVENTORY_EXCEL("assets-inventory", "xlsx", false);
+
+        private final String baseName;
+        private final String extension;
+        private final boolean dateRangeRequired;
+
+        ExportType(String baseName, String extension, boolean dateRangeRequired) {
+            this.baseName = baseName;
+            this.extension = extension;
+            this.dateRangeRequired = dateRangeRequired;
+        }
+
+        public String getExtension() {
+            return extension;
+        }
+
+        public boolean isDateRangeRequired() {
+            return dateRangeRequired;
+        }
+
+        public String getContentType() {
+            return "pdf".equals(extension)
+                ? "application/pdf"
+                : "application/vnd.openxmlformats-officedocument.spreadsheetml.sheet";
+        }
+
+        public String fileName(LocalDate startDate, LocalDate endDate) {
+            return dateRangeRequired
+                ? baseName + "-" + startDate + "-to-" + endDate + "." + extension
+                : baseName + "." + extension;
+        }
+    }
+
+    public enum ExportStatus {
+        QUEUED, RUNNING, COMPLETED, FAILED, EXPIRED
+    }
+}
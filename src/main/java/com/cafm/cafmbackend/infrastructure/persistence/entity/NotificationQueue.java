@@ -7,6 +7,7 @@ import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.Size;
 import org.hibernate.annotations.Type;
 
+import java.time.Duration;
 import java.time.LocalDateTime;
 import java.util.HashMap;
 import java.util.Map;
@@ -148,6 +149,14 @@ public class NotificationQueue extends BaseEntity {
     }
 
     public void markAsFailed(String errorMessage, String errorCode) {
+        markAsFailed(errorMessage, errorCode, Duration.ofMinutes(5));
+    }
+
+    /**
+     * Record a failed attempt; while retries remain the next one is scheduled
+     * after baseDelay, 3 x baseDelay, 9 x baseDelay, ...
+     */
+    public void markAsFailed(String errorMessage, String errorCode, Duration baseDelay) {
         this.status = NotificationStatus.FAILED;
         this.failedAt = LocalDateTime.now();
         this.errorMessage = errorMessage;
@@ -156,12 +165,24 @@ public class NotificationQueue extends BaseEntity {
         
         if (retryCount < maxRetries) {
             this.status = NotificationStatus.RETRY;
-            // Exponential backoff: 5 min, 15 min, 45 min
-            int delayMinutes = 5 * (int) Math.pow(3, retryCount - 1);
-            this.nextRetryAt = LocalDateTime.now().plusMinutes(delayMinutes);
+            // Exponential backoff: 5 min, 15 min, 45 min with the default base delay
+            long factor = (long) Math.pow(3, retryCount - 1);
+            this.nextRetryAt = LocalDateTime.now().plus(baseDelay.multipliedBy(factor));
         }
     }
 
+    /**
+     * Record a failure that retrying cannot fix, such as an unregistered device token.
+     */
+    public void markAsUndeliverable(String errorMessage, String errorCode) {
+        this.status = NotificationStatus.FAILED;
+        this.failedAt = LocalDateTime.now();
+        this.processed = true;
+        this.errorMessage = errorMessage;
+        this.errorCode = errorCode;
+        this.nextRetryAt = null;
+    }
+
     public boolean canRetry() {
         return retryCount < maxRetries && !isExpired();
     }
@@ -1,5 +1,6 @@
 package com.cafm.cafmbackend.infrastructure.persistence.entity;
 
+import com.cafm.cafmbackend.infrastructure.persistence.entity.base.SchoolChangeListener;
 import com.cafm.cafmbackend.infrastructure.persistence.entity.base.TenantAwareEntity;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.NotNull;
@@ -22,6 +23,7 @@ import java.util.UUID;
  */
 @Entity
 @Table(name = "schools")
+@EntityListeners(SchoolChangeListener.class)
 public class School extends TenantAwareEntity {
     
     // ========== Core Fields ==========
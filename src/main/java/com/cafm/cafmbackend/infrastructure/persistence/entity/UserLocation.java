@@ -0,0 +1,102 @@
+package com.cafm.cafmbackend.infrastructure.persistence.entity;
+
+import jakarta.persistence.*;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Entity for a recorded point of a user's GPS location history.
+ *
+ * Purpose: Persist the downsampled location trail of mobile users
+ * Pattern: Append-only history entity; rows are inserted in batches and never updated
+ * Java 23: Application-generated UUID ids, so inserts stay batchable
+ * Architecture: Data layer entity written by SupervisorLocationIngest
+ * Standards: Maps the user_locations table from V129; tenant kept as a plain id
+ */
+@Entity
+@Table(name = "user_locations")
+public class UserLocation {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.UUID)
+    private UUID id;
+
+    @Column(name = "user_id", nullable = false)
+    private UUID userId;
+
+    @Column(name = "company_id", nullable = false)
+    private UUID companyId;
+
+    @Column(name = "latitude", nullable = false, precision = 10, scale = 8)
+    private BigDecimal latitude;
+
+    @Column(name = "longitude", nullable = false, precision = 11, scale = 8)
+    private BigDecimal longitude;
+
+    @Column(name = "accuracy_meters", precision = 8, scale = 2)
+    private BigDecimal accuracyMeters;
+
+    @Column(name = "location_source", length = 20)
+    @Enumerated(EnumType.STRING)
+    private LocationSource locationSource;
+
+    @Column(name = "recorded_at", nullable = false)
+    private LocalDateTime recordedAt;
+
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+
+    @Column(name = "updated_at", nullable = false)
+    private LocalDateTime updatedAt;
+
+    public UserLocation() {
+    }
+
+    public UserLocation(UUID userId, UUID companyId, BigDecimal latitude, BigDecimal longitude,
+                        BigDecimal accuracyMeters, LocationSource locationSource, LocalDateTime recordedAt) {
+        this.userId = userId;
+        this.companyId = companyId;
+        this.latitude = latitude;
+        this.longitude = longitude;
+        this.accuracyMeters = accuracyMeters;
+        this.locationSource = locationSource;
+        this.recordedAt = recordedAt;
+    }
+
+    @PrePersist
+    protected void onCreate() {
+        LocalDateTime now = LocalDateTime.now();
+        createdAt = now;
+        updatedAt = now;
+    }
+
+    public UUID getId() { return id; }
+    public UUID getUserId() { return userId; }
+    public UUID getCompanyId() { return companyId; }
+    public BigDecimal getLatitude() { return latitude; }
+    public BigDecimal getLongitude() { return longitude; }
+    public BigDecimal getAccuracyMeters() { return accuracyMeters; }
+    public LocationSource getLocationSource() { return locationSource; }
+    public LocalDateTime getRecordedAt() { return recordedAt; }
+    public LocalDateTime getCreatedAt() { return createdAt; }
+    public LocalDateTime getUpdatedAt() { return updatedAt; }
+
+    /**
+     * Location provider, as allowed by the user_locations check constraint.
+     */
+    public enum LocationSource {
+        GPS, NETWORK, PASSIVE;
+
+        public static LocationSource fromClient(String source) {
+            if (source == null) {
+                return GPS;
+            }
+            return switch (source.trim().toUpperCase()) {
+                case "NETWORK" -> NETWORK;
+                case "PASSIVE" -> PASSIVE;
+                default -> GPS;
+            };
+        }
+    }
+}
@@ -2,6 +2,7 @@ package com.cafm.cafmbackend.infrastructure.persistence.entity;
 
 
 import com.cafm.cafmbackend.infrastructure.persistence.entity.base.TenantAwareEntity;
+import com.cafm.cafmbackend.infrastructure.persistence.entity.base.WorkOrderChangeListener;
 import com.cafm.cafmbackend.shared.enums.WorkOrderStatus;
 import com.cafm.cafmbackend.shared.enums.WorkOrderPriority;
 import jakarta.persistence.*;
@@ -25,6 +26,7 @@ import java.util.Set;
  */
 @Entity
 @Table(name = "work_orders")
+@EntityListeners(WorkOrderChangeListener.class)
 @NamedQueries({
     @NamedQuery(
         name = "WorkOrder.findByCompanyAndStatus",
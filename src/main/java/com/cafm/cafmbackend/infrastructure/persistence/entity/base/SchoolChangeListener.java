@@ -0,0 +1,37 @@
+package com.cafm.cafmbackend.infrastructure.persistence.entity.base;
+
+import com.cafm.cafmbackend.infrastructure.persistence.entity.School;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Configurable;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+
+/**
+ * JPA Entity Listener announcing school changes.
+ *
+ * Purpose: Let per-tenant school caches (e.g. the location index) invalidate on every write path
+ * Pattern: JPA lifecycle callbacks republished as Spring application events
+ * Java 23: Pattern matching on the callback entity
+ * Architecture: Registered on School; consumers use @TransactionalEventListener to act after commit
+ * Standards: Never throws; a missed event only delays invalidation until the consumer's TTL
+ */
+@Component
+@Configurable
+public class SchoolChangeListener {
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @PostPersist
+    @PostUpdate
+    @PostRemove
+    public void schoolChanged(Object entity) {
+        if (eventPublisher == null || !(entity instanceof School school) || school.getCompany() == null) {
+            return;
+        }
+        eventPublisher.publishEvent(new SchoolChangedEvent(school.getId(), school.getCompany().getId()));
+    }
+}
@@ -0,0 +1,13 @@
+package com.cafm.cafmbackend.infrastructure.persistence.entity.base;
+
+import java.util.UUID;
+
+/**
+ * Published when a school row is inserted, updated or deleted, so that
+ * anything caching school data per tenant can drop it.
+ *
+ * @param schoolId  the changed school
+ * @param companyId the school's tenant
+ */
+public record SchoolChangedEvent(UUID schoolId, UUID companyId) {
+}
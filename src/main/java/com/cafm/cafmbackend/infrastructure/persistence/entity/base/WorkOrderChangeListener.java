@@ -0,0 +1,39 @@
+package com.cafm.cafmbackend.infrastructure.persistence.entity.base;
+
+import com.cafm.cafmbackend.infrastructure.persistence.entity.WorkOrder;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Configurable;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+
+/**
+ * JPA Entity Listener announcing work order changes.
+ *
+ * Purpose: Let the analytics rollups refresh the tenant-day of every written work order
+ * Pattern: JPA lifecycle callbacks republished as Spring application events
+ * Java 23: Pattern matching on the callback entity
+ * Architecture: Registered on WorkOrder; consumers use @TransactionalEventListener to act after commit
+ * Standards: Never throws; a missed event is corrected by the nightly rollup reconciliation
+ */
+@Component
+@Configurable
+public class WorkOrderChangeListener {
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @PostPersist
+    @PostUpdate
+    @PostRemove
+    public void workOrderChanged(Object entity) {
+        if (eventPublisher == null || !(entity instanceof WorkOrder workOrder)
+                || workOrder.getCompany() == null || workOrder.getCreatedAt() == null) {
+            return;
+        }
+        eventPublisher.publishEvent(new WorkOrderChangedEvent(
+            workOrder.getCompany().getId(), workOrder.getCreatedAt().toLocalDate()));
+    }
+}
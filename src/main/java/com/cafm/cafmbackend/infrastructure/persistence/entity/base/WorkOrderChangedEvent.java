@@ -0,0 +1,14 @@
+package com.cafm.cafmbackend.infrastructure.persistence.entity.base;
+
+import java.time.LocalDate;
+import java.util.UUID;
+
+/**
+ * Published when a work order row is inserted, updated or deleted, so that
+ * anything aggregating work orders per tenant and day can refresh that day.
+ *
+ * @param companyId   the work order's tenant
+ * @param createdDate the day the work order was created
+ */
+public record WorkOrderChangedEvent(UUID companyId, LocalDate createdDate) {
+}
@@ -0,0 +1,26 @@
+package com.cafm.cafmbackend.infrastructure.persistence.projection;
+
+import java.math.BigDecimal;
+import java.util.UUID;
+
+/**
+ * Projection for per-technician work order aggregates over a period.
+ * 
+ * Purpose: Carry a technician scorecard computed entirely in SQL, one row per technician
+ * Pattern: Spring Data JPA projection interface over a native GROUP BY assigned_to with FILTER aggregates
+ * Java 23: Interface-based projections for performance
+ * Architecture: Data layer optimization behind WorkOrderService technician performance
+ * Standards: Average completion hours is null when no completed work order has start and end times
+ */
+public interface TechnicianPerformanceAggregate {
+    UUID getTechnicianId();
+    Long getTotalAssigned();
+    
+    // Completed or verified
+    Long getCompleted();
+    Long getInProgress();
+    
+    // Mean of whole hours between actual start and end of completed work orders
+    Double getAverageCompletionHours();
+    BigDecimal getTotalHoursWorked();
+}
@@ -0,0 +1,30 @@
+package com.cafm.cafmbackend.infrastructure.persistence.projection;
+
+import com.cafm.cafmbackend.shared.enums.WorkOrderStatus;
+import java.math.BigDecimal;
+
+/**
+ * Projection for per-status work order aggregates.
+ * 
+ * Purpose: Carry every work order statistic of one status from a single grouped query
+ * Pattern: Spring Data JPA projection interface over GROUP BY status with FILTER aggregates
+ * Java 23: Interface-based projections for performance
+ * Architecture: Data layer optimization behind WorkOrderService statistics and status counters
+ * Standards: Sums are null when a status has no matching rows
+ */
+public interface WorkOrderStatusAggregate {
+    WorkOrderStatus getStatus();
+    Long getTotal();
+    
+    // Rows whose scheduled end is before the reference time
+    Long getPastDue();
+    
+    // Rows created at or after the reference time
+    Long getCreatedSince();
+    
+    Long getCompletionSum();
+    Long getCompletionCount();
+    
+    // Total cost of rows that ended within the reference period
+    BigDecimal getCostInPeriod();
+}
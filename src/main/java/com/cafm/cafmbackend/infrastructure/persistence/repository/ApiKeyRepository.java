@@ -8,6 +8,7 @@ import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
 import java.util.List;
@@ -97,6 +98,25 @@ public interface ApiKeyRepository extends JpaRepository<ApiKey, UUID> {
                     @Param("now") LocalDateTime now, 
                     @Param("ip") String ip);
     
+    /**
+     * Apply aggregated usage; the last-used fields only move forward
+     */
+    @Modifying
+    @Transactional
+    @Query("""
+        UPDATE ApiKey ak 
+        SET ak.usageCount = COALESCE(ak.usageCount, 0) + :count, 
+            ak.lastUsedIp = CASE WHEN ak.lastUsedAt IS NULL OR ak.lastUsedAt < :lastUsedAt 
+                                 THEN :ip ELSE ak.lastUsedIp END, 
+            ak.lastUsedAt = CASE WHEN ak.lastUsedAt IS NULL OR ak.lastUsedAt < :lastUsedAt 
+                                 THEN :lastUsedAt ELSE ak.lastUsedAt END 
+        WHERE ak.id = :keyId
+        """)
+    int addUsage(@Param("keyId") UUID keyId, 
+                @Param("count") long count, 
+                @Param("lastUsedAt") LocalDateTime lastUsedAt, 
+                @Param("ip") String ip);
+    
     /**
      * Revoke API key
      */
@@ -3,12 +3,15 @@ package com.cafm.cafmbackend.infrastructure.persistence.repository;
 import com.cafm.cafmbackend.infrastructure.persistence.entity.Asset;
 import com.cafm.cafmbackend.shared.enums.AssetStatus;
 import com.cafm.cafmbackend.shared.enums.AssetCondition;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
@@ -18,6 +21,7 @@ import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.stream.Stream;
 
 /**
  * Repository for Asset entity with tenant-aware queries.
@@ -43,6 +47,19 @@ public interface AssetRepository extends JpaRepository<Asset, UUID>, JpaSpecific
     
     List<Asset> findByCompany_IdAndStatus(UUID companyId, AssetStatus status);
     
+    /**
+     * Stream a company's assets in a status for export.
+     * Must be consumed inside a read-only transaction; rows are fetched from a server-side cursor.
+     */
+    @Query("SELECT a FROM Asset a LEFT JOIN FETCH a.category " +
+           "WHERE a.company.id = :companyId AND a.status = :status AND a.deletedAt IS NULL " +
+           "ORDER BY a.name, a.id")
+    @QueryHints({
+        @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+        @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    Stream<Asset> streamForExport(@Param("companyId") UUID companyId, @Param("status") AssetStatus status);
+    
     List<Asset> findByCompany_IdAndCondition(UUID companyId, AssetCondition condition);
     
     @Query("SELECT a FROM Asset a WHERE a.company.id = :companyId " +
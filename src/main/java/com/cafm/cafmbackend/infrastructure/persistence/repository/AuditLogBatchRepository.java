@@ -0,0 +1,40 @@
+package com.cafm.cafmbackend.infrastructure.persistence.repository;
+
+import com.cafm.cafmbackend.infrastructure.persistence.entity.AuditLog;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.hibernate.Session;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+/**
+ * Batched inserts into audit_logs.
+ *
+ * Purpose: Write a batch of audit events in one transaction and one JDBC batch
+ * Pattern: EntityManager-backed repository with a per-session JDBC batch size
+ * Java 23: Application-generated UUID ids, so inserts stay batchable
+ * Architecture: Data access layer behind AuditLogWriter
+ * Standards: The persistence context is cleared after each batch
+ */
+@Repository
+public class AuditLogBatchRepository {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    /**
+     * Insert all entries, or none if the batch fails.
+     */
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public void insertAll(List<AuditLog> auditLogs) {
+        entityManager.unwrap(Session.class).setJdbcBatchSize(auditLogs.size());
+        for (AuditLog auditLog : auditLogs) {
+            entityManager.persist(auditLog);
+        }
+        entityManager.flush();
+        entityManager.clear();
+    }
+}
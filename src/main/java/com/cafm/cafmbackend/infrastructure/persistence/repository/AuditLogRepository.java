@@ -37,6 +37,23 @@ public interface AuditLogRepository extends JpaRepository<AuditLog, UUID> {
      */
     Page<AuditLog> findByCompanyIdOrderByTimestampDesc(UUID companyId, Pageable pageable);
     
+    /**
+     * First page of a company's audit logs, newest first, without a count query
+     */
+    @Query("SELECT a FROM AuditLog a WHERE a.companyId = :companyId ORDER BY a.timestamp DESC, a.id DESC")
+    List<AuditLog> findFirstPageByCompanyId(@Param("companyId") UUID companyId, Pageable limit);
+    
+    /**
+     * Page of a company's audit logs strictly after a (timestamp, id) cursor, newest first
+     */
+    @Query("SELECT a FROM AuditLog a WHERE a.companyId = :companyId " +
+           "AND a.timestamp <= :timestamp AND (a.timestamp < :timestamp OR a.id < :id) " +
+           "ORDER BY a.timestamp DESC, a.id DESC")
+    List<AuditLog> findPageAfterByCompanyId(@Param("companyId") UUID companyId,
+                                            @Param("timestamp") LocalDateTime timestamp,
+                                            @Param("id") UUID id,
+                                            Pageable limit);
+    
     /**
      * Find audit logs by entity
      */
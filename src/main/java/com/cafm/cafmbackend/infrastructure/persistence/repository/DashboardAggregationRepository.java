@@ -0,0 +1,238 @@
+package com.cafm.cafmbackend.infrastructure.persistence.repository;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Query;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.Date;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Grouped aggregate queries behind the mobile supervisor dashboard.
+ *
+ * Purpose: Compute all dashboard KPIs in a handful of GROUP BY / FILTER queries
+ * Pattern: Native-query repository returning records; no entity hydration
+ * Java 23: Records for aggregate results
+ * Architecture: Data access layer backing MobileDashboardService
+ * Standards: Every query is bounded by company_id and the supervisor's school scope,
+ *            so cost follows the tenant's indexed rows rather than whole tables
+ */
+@Repository
+@Transactional(readOnly = true)
+public class DashboardAggregationRepository {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    /**
+     * Report counters in a single pass.
+     */
+    public ReportKpis getReportKpis(DashboardScope scope, LocalDateTime startOfDay) {
+        Query query = scopedQuery("""
+            SELECT COUNT(*),
+                   COUNT(*) FILTER (WHERE status = 'SUBMITTED'),
+                   COUNT(*) FILTER (WHERE status = 'PENDING'),
+                   COUNT(*) FILTER (WHERE status = 'COMPLETED'),
+                   COUNT(*) FILTER (WHERE priority = 'URGENT'),
+                   COUNT(*) FILTER (WHERE status = 'COMPLETED' AND completed_at >= :startOfDay)
+            FROM reports
+            WHERE company_id = :companyId AND deleted_at IS NULL
+            """, "", scope)
+            .setParameter("startOfDay", startOfDay);
+
+        Object[] row = (Object[]) query.getSingleResult();
+        return new ReportKpis(
+            toLong(row[0]), toLong(row[1]), toLong(row[2]),
+            toLong(row[3]), toLong(row[4]), toLong(row[5])
+        );
+    }
+
+    /**
+     * Work order counters in a single pass.
+     */
+    public WorkOrderKpis getWorkOrderKpis(DashboardScope scope, LocalDateTime startOfDay,
+                                          LocalDateTime startOfWeek, LocalDateTime startOfMonth) {
+        Query query = scopedQuery("""
+            SELECT COUNT(*),
+                   COUNT(*) FILTER (WHERE status = 'ASSIGNED'),
+                   COUNT(*) FILTER (WHERE status IN ('PENDING', 'IN_PROGRESS')),
+                   COUNT(*) FILTER (WHERE status = 'COMPLETED'),
+                   COUNT(*) FILTER (WHERE status = 'COMPLETED' AND COALESCE(actual_end, updated_at) >= :startOfDay),
+                   COUNT(*) FILTER (WHERE status = 'COMPLETED' AND COALESCE(actual_end, updated_at) >= :startOfWeek),
+                   COUNT(*) FILTER (WHERE status = 'COMPLETED' AND COALESCE(actual_end, updated_at) >= :startOfMonth),
+                   COUNT(*) FILTER (WHERE scheduled_end < CURRENT_TIMESTAMP
+                                    AND status NOT IN ('COMPLETED', 'CANCELLED', 'VERIFIED')),
+                   AVG(EXTRACT(EPOCH FROM (actual_end - actual_start)) / 86400.0)
+                       FILTER (WHERE status IN ('COMPLETED', 'VERIFIED') AND actual_start IS NOT NULL AND actual_end IS NOT NULL)
+            FROM work_orders
+            WHERE company_id = :companyId AND deleted_at IS NULL
+            """, "", scope)
+            .setParameter("startOfDay", startOfDay)
+            .setParameter("startOfWeek", startOfWeek)
+            .setParameter("startOfMonth", startOfMonth);
+
+        Object[] row = (Object[]) query.getSingleResult();
+        return new WorkOrderKpis(
+            toLong(row[0]), toLong(row[1]), toLong(row[2]), toLong(row[3]),
+            toLong(row[4]), toLong(row[5]), toLong(row[6]), toLong(row[7]),
+            row[8] != null ? ((Number) row[8]).doubleValue() : null
+        );
+    }
+
+    /**
+     * Submitted (active) report count per school.
+     */
+    public Map<UUID, Long> countActiveReportsBySchool(DashboardScope scope) {
+        Query query = scopedQuery("""
+            SELECT school_id, COUNT(*)
+            FROM reports
+            WHERE company_id = :companyId AND deleted_at IS NULL AND status = 'SUBMITTED'
+            """, " GROUP BY school_id", scope);
+
+        Map<UUID, Long> counts = new HashMap<>();
+        for (Object[] row : resultRows(query)) {
+            counts.put((UUID) row[0], toLong(row[1]));
+        }
+        return counts;
+    }
+
+    /**
+     * Reports created per day since the given date, oldest first, with empty days filled in.
+     */
+    public Map<LocalDate, Long> countReportsCreatedPerDay(DashboardScope scope, LocalDate since) {
+        Query query = scopedQuery("""
+            SELECT CAST(created_at AS date), COUNT(*)
+            FROM reports
+            WHERE company_id = :companyId AND deleted_at IS NULL AND created_at >= :since
+            """, " GROUP BY 1", scope)
+            .setParameter("since", since.atStartOfDay());
+
+        return toDailySeries(resultRows(query), since);
+    }
+
+    /**
+     * Work orders completed per day since the given date, oldest first, with empty days filled in.
+     */
+    public Map<LocalDate, Long> countWorkOrdersCompletedPerDay(DashboardScope scope, LocalDate since) {
+        Query query = scopedQuery("""
+            SELECT CAST(COALESCE(actual_end, updated_at) AS date), COUNT(*)
+            FROM work_orders
+            WHERE company_id = :companyId AND deleted_at IS NULL
+              AND status = 'COMPLETED' AND COALESCE(actual_end, updated_at) >= :since
+            """, " GROUP BY 1", scope)
+            .setParameter("since", since.atStartOfDay());
+
+        return toDailySeries(resultRows(query), since);
+    }
+
+    /**
+     * Open work orders per priority.
+     */
+    public Map<String, Long> countOpenWorkOrdersByPriority(DashboardScope scope) {
+        Query query = scopedQuery("""
+            SELECT CAST(priority AS text), COUNT(*)
+            FROM work_orders
+            WHERE company_id = :companyId AND deleted_at IS NULL
+              AND status NOT IN ('COMPLETED', 'CANCELLED', 'VERIFIED')
+            """, " GROUP BY 1", scope);
+
+        Map<String, Long> counts = new LinkedHashMap<>();
+        for (Object[] row : resultRows(query)) {
+            if (row[0] != null) {
+                counts.put((String) row[0], toLong(row[1]));
+            }
+        }
+        return counts;
+    }
+
+    // ========== Helpers ==========
+
+    private Query scopedQuery(String baseSql, String suffix, DashboardScope scope) {
+        String sql = baseSql + (scope.isTenantWide() ? "" : " AND school_id IN (:schoolIds)") + suffix;
+        Query query = entityManager.createNativeQuery(sql)
+            .setParameter("companyId", scope.companyId());
+        if (!scope.isTenantWide()) {
+            query.setParameter("schoolIds", scope.schoolIds());
+        }
+        return query;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static List<Object[]> resultRows(Query query) {
+        return query.getResultList();
+    }
+
+    private static Map<LocalDate, Long> toDailySeries(List<Object[]> rows, LocalDate since) {
+        Map<LocalDate, Long> series = new LinkedHashMap<>();
+        for (LocalDate day = since; !day.isAfter(LocalDate.now()); day = day.plusDays(1)) {
+            series.put(day, 0L);
+        }
+        for (Object[] row : rows) {
+            LocalDate day = row[0] instanceof Date date ? date.toLocalDate() : (LocalDate) row[0];
+            series.computeIfPresent(day, (k, v) -> toLong(row[1]));
+        }
+        return series;
+    }
+
+    private static long toLong(Object value) {
+        return value != null ? ((Number) value).longValue() : 0L;
+    }
+
+    // ========== Result Records ==========
+
+    /**
+     * Tenant and school scope of a dashboard. A null school list means the whole tenant.
+     */
+    public record DashboardScope(UUID companyId, Collection<UUID> schoolIds) {
+
+        public static DashboardScope tenantWide(UUID companyId) {
+            return new DashboardScope(companyId, null);
+        }
+
+        public boolean isTenantWide() {
+            return schoolIds == null;
+        }
+
+        public boolean isEmpty() {
+            return schoolIds != null && schoolIds.isEmpty();
+        }
+    }
+
+    public record ReportKpis(
+        long total,
+        long submitted,
+        long pending,
+        long completed,
+        long urgent,
+        long completedToday
+    ) {
+        public static ReportKpis empty() {
+            return new ReportKpis(0, 0, 0, 0, 0, 0);
+        }
+    }
+
+    public record WorkOrderKpis(
+        long total,
+        long assigned,
+        long active,
+        long completed,
+        long completedToday,
+        long completedThisWeek,
+        long completedThisMonth,
+        long overdue,
+        Double averageCompletionDays
+    ) {
+        public static WorkOrderKpis empty() {
+            return new WorkOrderKpis(0, 0, 0, 0, 0, 0, 0, 0, null);
+        }
+    }
+}
@@ -0,0 +1,88 @@
+package com.cafm.cafmbackend.infrastructure.persistence.repository;
+
+import com.cafm.cafmbackend.infrastructure.persistence.entity.ExportJob;
+import com.cafm.cafmbackend.infrastructure.persistence.entity.ExportJob.ExportStatus;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Repository interface for ExportJob entity.
+ *
+ * Purpose: Data access for asynchronous export jobs
+ * Pattern: Spring Data JPA repository
+ * Java 23: Leverages Spring Data's query derivation
+ * Architecture: Data layer repository for the export job subsystem
+ * Standards: Every lookup served to clients is bounded by company id
+ */
+@Repository
+public interface ExportJobRepository extends JpaRepository<ExportJob, UUID> {
+
+    Optional<ExportJob> findByIdAndCompanyId(UUID id, UUID companyId);
+
+    /**
+     * Latest job with the same export parameters created after the cutoff.
+     */
+    Optional<ExportJob> findFirstByCompanyIdAndDedupKeyAndStatusInAndCreatedAtAfterOrderByCreatedAtDesc(
+        UUID companyId, String dedupKey, Collection<ExportStatus> statuses, LocalDateTime createdAfter);
+
+    /**
+     * Serialize submissions of the same export within a tenant until the transaction ends.
+     */
+    @Query(value = "SELECT 1 FROM pg_advisory_xact_lock(hashtext(:lockKey))", nativeQuery = true)
+    Integer lockSubmission(@Param("lockKey") String lockKey);
+
+    /**
+     * Completed jobs whose artifacts have passed their retention.
+     */
+    @Query("""
+        SELECT ej FROM ExportJob ej
+        WHERE ej.status = com.cafm.cafmbackend.infrastructure.persistence.entity.ExportJob.ExportStatus.COMPLETED
+        AND ej.expiresAt < :now
+        ORDER BY ej.expiresAt
+        """)
+    List<ExportJob> findExpiredArtifacts(@Param("now") LocalDateTime now, Pageable pageable);
+
+    /**
+     * Fail jobs that stopped progressing, e.g. because the node running them was restarted.
+     * The version is bumped so a worker that is still alive cannot overwrite the failure.
+     */
+    @Modifying
+    @Query("""
+        UPDATE ExportJob ej
+        SET ej.status = com.cafm.cafmbackend.infrastructure.persistence.entity.ExportJob.ExportStatus.FAILED,
+            ej.errorMessage = 'Export did not finish in time',
+            ej.completedAt = :now,
+            ej.updatedAt = :now,
+            ej.version = ej.version + 1
+        WHERE ej.status IN :statuses AND ej.updatedAt < :staleBefore
+        """)
+    int failStaleJobs(@Param("statuses") Collection<ExportStatus> statuses,
+                      @Param("staleBefore") LocalDateTime staleBefore,
+                      @Param("now") LocalDateTime now);
+
+    /**
+     * Heartbeat of the jobs a node is still queueing or running, so they are not taken for stale.
+     * The version is left alone: the worker's own later update supersedes the heartbeat.
+     */
+    @Modifying
+    @Query("""
+        UPDATE ExportJob ej
+        SET ej.updatedAt = :now
+        WHERE ej.id IN :ids AND ej.status IN :statuses
+        """)
+    int touchJobs(@Param("ids") Collection<UUID> ids,
+                  @Param("statuses") Collection<ExportStatus> statuses,
+                  @Param("now") LocalDateTime now);
+
+    long countByStatus(ExportStatus status);
+}
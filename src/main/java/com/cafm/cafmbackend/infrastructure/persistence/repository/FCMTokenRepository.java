@@ -9,8 +9,10 @@ import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
@@ -99,6 +101,24 @@ public interface FCMTokenRepository extends JpaRepository<FCMToken, UUID>,
     int deactivateUserTokens(@Param("userId") UUID userId);
 
 
+    /**
+     * Active tokens of several users as (userId, token) pairs.
+     */
+    @Query("SELECT f.user.id, f.token FROM FCMToken f " +
+           "WHERE f.user.id IN :userIds " +
+           "AND f.active = true")
+    List<Object[]> findActiveTokensByUserIds(@Param("userIds") Collection<UUID> userIds);
+
+    /**
+     * Deactivate tokens reported invalid by FCM.
+     */
+    @Modifying
+    @Transactional
+    @Query("UPDATE FCMToken f SET f.active = false, f.updatedAt = :now " +
+           "WHERE f.token IN :tokens " +
+           "AND f.active = true")
+    int deactivateTokens(@Param("tokens") Collection<String> tokens, @Param("now") LocalDateTime now);
+
     /**
      * Count active tokens for a user.
      */
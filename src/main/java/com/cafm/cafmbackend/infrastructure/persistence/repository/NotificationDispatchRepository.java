@@ -0,0 +1,181 @@
+package com.cafm.cafmbackend.infrastructure.persistence.repository;
+
+import com.cafm.cafmbackend.infrastructure.persistence.entity.NotificationQueue;
+import com.cafm.cafmbackend.infrastructure.persistence.entity.NotificationQueue.NotificationPriority;
+import com.cafm.cafmbackend.infrastructure.persistence.entity.NotificationQueue.NotificationStatus;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.hibernate.Session;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.PreparedStatement;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Batch claiming and completion of queued notifications.
+ *
+ * Purpose: Let several dispatcher threads and nodes drain notification_queue concurrently
+ *          without handing the same row to two senders
+ * Pattern: EntityManager-backed repository; claims lock due rows with FOR UPDATE SKIP LOCKED
+ *          and move them to PROCESSING in one short transaction
+ * Java 23: Claimed entities are returned detached; their outcomes are written back with one JDBC
+ *          batch of versioned row updates
+ * Architecture: Data access layer behind NotificationDispatcher
+ * Standards: Claims never wait on rows locked by another claimer; a claim abandoned by a
+ *            stopped node is released after the claim timeout
+ */
+@Repository
+public class NotificationDispatchRepository {
+
+    private static final Logger logger = LoggerFactory.getLogger(NotificationDispatchRepository.class);
+
+    private static final String LOCK_DUE_SQL = """
+        SELECT id FROM notification_queue
+        WHERE status IN ('PENDING', 'RETRY')
+          AND priority = :priority
+          AND COALESCE(next_retry_at, scheduled_for, created_at) <= :now
+        ORDER BY COALESCE(next_retry_at, scheduled_for, created_at)
+        LIMIT :limit
+        FOR UPDATE SKIP LOCKED
+        """;
+
+    private static final String SAVE_OUTCOME_SQL = """
+        UPDATE notification_queue
+        SET status = ?, processed = ?, sent_at = ?, failed_at = ?, retry_count = ?, next_retry_at = ?,
+            error_message = ?, error_code = ?, fcm_message_id = ?, updated_at = ?, version = version + 1
+        WHERE id = ? AND version = ?
+        """;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    /**
+     * Claim up to {@code limit} due notifications of one priority, oldest first.
+     */
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public List<NotificationQueue> claimDue(NotificationPriority priority, LocalDateTime now, int limit) {
+        @SuppressWarnings("unchecked")
+        List<UUID> ids = entityManager.createNativeQuery(LOCK_DUE_SQL, UUID.class)
+            .setParameter("priority", priority.name())
+            .setParameter("now", now)
+            .setParameter("limit", limit)
+            .getResultList();
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+
+        List<NotificationQueue> claimed = entityManager.createQuery("""
+                SELECT nq FROM NotificationQueue nq
+                LEFT JOIN FETCH nq.user
+                WHERE nq.id IN :ids
+                """, NotificationQueue.class)
+            .setParameter("ids", ids)
+            .getResultList();
+
+        entityManager.unwrap(Session.class).setJdbcBatchSize(claimed.size());
+        for (NotificationQueue notification : claimed) {
+            notification.setStatus(NotificationStatus.PROCESSING);
+        }
+        entityManager.flush();
+        entityManager.clear();
+        return claimed;
+    }
+
+    /**
+     * Write back the outcome of dispatched notifications in one JDBC batch, without reading them first.
+     * Each row is updated only if it still has the version it was claimed with; a row whose claim was
+     * released in the meantime is skipped on its own, and the other outcomes are kept.
+     *
+     * @return the number of outcomes written
+     */
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public int saveOutcomes(List<NotificationQueue> notifications) {
+        if (notifications.isEmpty()) {
+            return 0;
+        }
+        LocalDateTime now = LocalDateTime.now();
+        int[] counts = entityManager.unwrap(Session.class).doReturningWork(connection -> {
+            try (PreparedStatement statement = connection.prepareStatement(SAVE_OUTCOME_SQL)) {
+                for (NotificationQueue notification : notifications) {
+                    statement.setString(1, notification.getStatus().name());
+                    statement.setObject(2, notification.getProcessed());
+                    statement.setObject(3, notification.getSentAt());
+                    statement.setObject(4, notification.getFailedAt());
+                    statement.setObject(5, notification.getRetryCount());
+                    statement.setObject(6, notification.getNextRetryAt());
+                    statement.setString(7, notification.getErrorMessage());
+                    statement.setString(8, notification.getErrorCode());
+                    statement.setString(9, notification.getFcmMessageId());
+                    statement.setObject(10, now);
+                    statement.setObject(11, notification.getId());
+                    statement.setObject(12, notification.getVersion());
+                    statement.addBatch();
+                }
+                return statement.executeBatch();
+            }
+        });
+
+        int written = 0;
+        for (int i = 0; i < counts.length; i++) {
+            if (counts[i] == 0) {
+                logger.warn("Skipped outcome {} of notification {}: its claim was released before the write-back",
+                           notifications.get(i).getStatus(), notifications.get(i).getId());
+            } else {
+                written++;
+            }
+        }
+        return written;
+    }
+
+    /**
+     * Return claims older than the cutoff to the queue; their dispatcher stopped before finishing.
+     * The version is bumped so a late write-back from that dispatcher fails instead of overwriting.
+     */
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public int releaseStaleClaims(LocalDateTime claimedBefore) {
+        return entityManager.createQuery("""
+                UPDATE NotificationQueue nq
+                SET nq.status = :retry, nq.nextRetryAt = NULL, nq.version = nq.version + 1
+                WHERE nq.status = :processing AND nq.updatedAt < :cutoff
+                """)
+            .setParameter("retry", NotificationStatus.RETRY)
+            .setParameter("processing", NotificationStatus.PROCESSING)
+            .setParameter("cutoff", claimedBefore)
+            .executeUpdate();
+    }
+
+    /**
+     * Mark queued notifications whose expiry passed before they could be sent.
+     */
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public int expireOverdue(LocalDateTime now) {
+        return entityManager.createQuery("""
+                UPDATE NotificationQueue nq
+                SET nq.status = :expired, nq.failedAt = :now
+                WHERE nq.status IN :queued AND nq.expiresAt < :now
+                """)
+            .setParameter("expired", NotificationStatus.EXPIRED)
+            .setParameter("queued", List.of(NotificationStatus.PENDING, NotificationStatus.RETRY))
+            .setParameter("now", now)
+            .executeUpdate();
+    }
+
+    /**
+     * Notifications waiting to be sent, due or not.
+     */
+    @Transactional(readOnly = true)
+    public long countQueued() {
+        return entityManager.createQuery("""
+                SELECT COUNT(nq) FROM NotificationQueue nq
+                WHERE nq.status IN :queued
+                """, Long.class)
+            .setParameter("queued", List.of(NotificationStatus.PENDING, NotificationStatus.RETRY))
+            .getSingleResult();
+    }
+}
@@ -30,6 +30,24 @@ public interface NotificationRepository extends JpaRepository<Notification, UUID
      */
     Page<Notification> findByUser_IdOrderByCreatedAtDesc(UUID userId, Pageable pageable);
     
+    /**
+     * First page of a user's notifications, newest first, without a count query
+     */
+    @Query("SELECT n FROM Notification n WHERE n.user.id = :userId AND n.deletedAt IS NULL " +
+           "ORDER BY n.createdAt DESC, n.id DESC")
+    List<Notification> findFirstPageByUserId(@Param("userId") UUID userId, Pageable limit);
+    
+    /**
+     * Page of a user's notifications strictly after a (createdAt, id) cursor, newest first
+     */
+    @Query("SELECT n FROM Notification n WHERE n.user.id = :userId AND n.deletedAt IS NULL " +
+           "AND n.createdAt <= :createdAt AND (n.createdAt < :createdAt OR n.id < :id) " +
+           "ORDER BY n.createdAt DESC, n.id DESC")
+    List<Notification> findPageAfterByUserId(@Param("userId") UUID userId,
+                                             @Param("createdAt") LocalDateTime createdAt,
+                                             @Param("id") UUID id,
+                                             Pageable limit);
+    
     /**
      * Find unread notifications by user
      */
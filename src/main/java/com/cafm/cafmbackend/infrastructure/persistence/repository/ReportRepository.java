@@ -4,12 +4,16 @@ import com.cafm.cafmbackend.infrastructure.persistence.entity.Report;
 import com.cafm.cafmbackend.shared.enums.ReportPriority;
 import com.cafm.cafmbackend.shared.enums.ReportStatus;
 import com.cafm.cafmbackend.infrastructure.persistence.projection.ReportSummaryProjection;
+import com.cafm.cafmbackend.infrastructure.persistence.repository.base.SeekPagingRepository;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
@@ -19,6 +23,7 @@ import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.stream.Stream;
 
 /**
  * Repository interface for Report entity.
@@ -27,7 +32,8 @@ import java.util.UUID;
  * Pattern: Repository pattern with workflow queries
  */
 @Repository
-public interface ReportRepository extends JpaRepository<Report, UUID>, JpaSpecificationExecutor<Report> {
+public interface ReportRepository extends JpaRepository<Report, UUID>, JpaSpecificationExecutor<Report>,
+        SeekPagingRepository<Report, UUID> {
     
     // ========== Basic Queries ==========
     
@@ -46,6 +52,11 @@ public interface ReportRepository extends JpaRepository<Report, UUID>, JpaSpecif
      */
     List<Report> findByStatus(ReportStatus status);
     
+    /**
+     * Find a company's reports by status, newest first
+     */
+    List<Report> findByCompany_IdAndStatusOrderByCreatedAtDesc(UUID companyId, ReportStatus status, Pageable pageable);
+    
     /**
      * Find reports by priority
      */
@@ -132,6 +143,28 @@ public interface ReportRepository extends JpaRepository<Report, UUID>, JpaSpecif
     List<Report> findReportsBetweenDates(@Param("startDate") LocalDate startDate, 
                                          @Param("endDate") LocalDate endDate);
     
+    /**
+     * Stream a company's reports reported between dates for export.
+     * Must be consumed inside a read-only transaction; rows are fetched from a server-side cursor.
+     */
+    @Query("""
+        SELECT r FROM Report r
+        LEFT JOIN FETCH r.school
+        LEFT JOIN FETCH r.supervisor
+        LEFT JOIN FETCH r.assignedTo
+        WHERE r.company.id = :companyId
+        AND r.reportedDate BETWEEN :startDate AND :endDate
+        AND r.deletedAt IS NULL
+        ORDER BY r.reportedDate, r.id
+        """)
+    @QueryHints({
+        @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+        @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    Stream<Report> streamForExport(@Param("companyId") UUID companyId,
+                                   @Param("startDate") LocalDate startDate,
+                                   @Param("endDate") LocalDate endDate);
+    
     /**
      * Find reports scheduled for date
      */
@@ -265,24 +298,26 @@ public interface ReportRepository extends JpaRepository<Report, UUID>, JpaSpecif
     // ========== Location-based Queries ==========
     
     /**
-     * Find reports within radius of location (requires PostGIS)
+     * Find a tenant's reports within radius (in kilometers) of a location, nearest first.
+     * Index-bounded by idx_reports_geo: tenant filter, earth_box prefilter and nearest-first
+     * ordering run on the GiST index. Distances are on the 6371 km sphere used by
+     * LocationQueryService.calculateDistance (earth() is the extension's radius in meters).
      */
     @Query(value = """
         SELECT * FROM reports r
-        WHERE r.deleted_at IS NULL
+        WHERE r.company_id = :companyId
+        AND r.deleted_at IS NULL
         AND r.latitude IS NOT NULL 
         AND r.longitude IS NOT NULL
-        AND (
-            6371 * acos(
-                cos(radians(:latitude)) * cos(radians(r.latitude)) *
-                cos(radians(r.longitude) - radians(:longitude)) +
-                sin(radians(:latitude)) * sin(radians(r.latitude))
-            )
-        ) <= :radiusKm
-        ORDER BY r.created_at DESC
+        AND earth_box(ll_to_earth(:latitude, :longitude), :radiusKm * earth() / 6371.0)
+            @> geo_point(r.latitude, r.longitude)
+        AND earth_distance(ll_to_earth(:latitude, :longitude), geo_point(r.latitude, r.longitude))
+            <= :radiusKm * earth() / 6371.0
+        ORDER BY geo_point(r.latitude, r.longitude) <-> ll_to_earth(:latitude, :longitude)
         LIMIT :limit
         """, nativeQuery = true)
-    List<Report> findNearbyReports(@Param("latitude") Double latitude,
+    List<Report> findNearbyReports(@Param("companyId") UUID companyId,
+                                   @Param("latitude") Double latitude,
                                    @Param("longitude") Double longitude,
                                    @Param("radiusKm") Double radiusKm,
                                    @Param("limit") int limit);
@@ -0,0 +1,87 @@
+package com.cafm.cafmbackend.infrastructure.persistence.repository;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.hibernate.Session;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.interceptor.TransactionAspectSupport;
+
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.util.UUID;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Planner row estimates for cursor-paginated lists.
+ *
+ * Purpose: Give "about N results" totals without running COUNT(*) over a large tenant
+ * Pattern: EntityManager-backed repository; runs EXPLAIN (FORMAT JSON) and reads the top plan
+ *          node's row estimate, which PostgreSQL derives from table statistics without reading rows
+ * Java 23: Enum of supported list scopes; table and column names never come from callers
+ * Architecture: Data access layer behind the cursor list endpoints
+ * Standards: An estimate is best effort; null when the database cannot provide one
+ */
+@Repository
+public class RowEstimateRepository {
+
+    private static final Logger logger = LoggerFactory.getLogger(RowEstimateRepository.class);
+
+    private static final Pattern PLAN_ROWS = Pattern.compile("\"Plan Rows\":\\s*(\\d+)");
+
+    /**
+     * Lists that support estimates, with the column that scopes them.
+     */
+    public enum EstimateScope {
+        WORK_ORDERS("work_orders", "company_id", true),
+        REPORTS("reports", "company_id", true),
+        AUDIT_LOGS("audit_logs", "company_id", false),
+        NOTIFICATIONS("notifications", "user_id", true);
+
+        private final String table;
+        private final String scopeColumn;
+        private final boolean softDeletable;
+
+        EstimateScope(String table, String scopeColumn, boolean softDeletable) {
+            this.table = table;
+            this.scopeColumn = scopeColumn;
+            this.softDeletable = softDeletable;
+        }
+    }
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    /**
+     * Planner estimate of the rows a scope lists, or null if not available.
+     * Runs in its own transaction so a failed EXPLAIN cannot abort the caller's.
+     */
+    @Transactional(propagation = Propagation.REQUIRES_NEW, readOnly = true)
+    public Long estimateRows(EstimateScope scope, UUID scopeId) {
+        // scopeId is a UUID, so inlining it is safe; EXPLAIN cannot take bind parameters
+        String sql = "EXPLAIN (FORMAT JSON) SELECT 1 FROM " + scope.table
+            + " WHERE " + scope.scopeColumn + " = '" + scopeId + "'::uuid"
+            + (scope.softDeletable ? " AND deleted_at IS NULL" : "");
+        try {
+            return entityManager.unwrap(Session.class).doReturningWork(connection -> {
+                try (Statement statement = connection.createStatement();
+                     ResultSet resultSet = statement.executeQuery(sql)) {
+                    if (!resultSet.next()) {
+                        return null;
+                    }
+                    Matcher matcher = PLAN_ROWS.matcher(resultSet.getString(1));
+                    return matcher.find() ? Long.parseLong(matcher.group(1)) : null;
+                }
+            });
+        } catch (RuntimeException e) {
+            // The failed statement aborted this transaction; roll it back instead of committing
+            TransactionAspectSupport.currentTransactionStatus().setRollbackOnly();
+            logger.debug("No row estimate for {}: {}", scope, e.getMessage());
+            return null;
+        }
+    }
+}
@@ -91,53 +91,58 @@ public interface SchoolRepository extends JpaRepository<School, UUID>, JpaSpecif
     // ========== Spatial Queries ==========
     
     /**
-     * Find schools within radius (in kilometers) using PostgreSQL
+     * Find a tenant's schools within radius (in kilometers), nearest first.
+     * Index-bounded by idx_schools_geo: the earth_box prefilter and the nearest-first
+     * ordering run on the GiST index. Distances are on the 6371 km sphere used by
+     * LocationQueryService.calculateDistance (earth() is the extension's radius in meters).
      */
     @Query(value = """
         SELECT * FROM schools s 
-        WHERE s.deleted_at IS NULL 
+        WHERE s.company_id = :companyId
+        AND s.deleted_at IS NULL 
         AND s.latitude IS NOT NULL 
         AND s.longitude IS NOT NULL
-        AND (
-            6371 * acos(
-                cos(radians(:lat)) * cos(radians(s.latitude)) * 
-                cos(radians(s.longitude) - radians(:lng)) + 
-                sin(radians(:lat)) * sin(radians(s.latitude))
-            )
-        ) <= :radius
-        ORDER BY (
-            6371 * acos(
-                cos(radians(:lat)) * cos(radians(s.latitude)) * 
-                cos(radians(s.longitude) - radians(:lng)) + 
-                sin(radians(:lat)) * sin(radians(s.latitude))
-            )
-        )
+        AND earth_box(ll_to_earth(:lat, :lng), :radius * earth() / 6371.0)
+            @> geo_point(s.latitude::float8, s.longitude::float8)
+        AND earth_distance(ll_to_earth(:lat, :lng), geo_point(s.latitude::float8, s.longitude::float8))
+            <= :radius * earth() / 6371.0
+        ORDER BY geo_point(s.latitude::float8, s.longitude::float8) <-> ll_to_earth(:lat, :lng)
         """, nativeQuery = true)
-    List<School> findSchoolsWithinRadius(@Param("lat") Double latitude, 
+    List<School> findSchoolsWithinRadius(@Param("companyId") UUID companyId,
+                                         @Param("lat") Double latitude, 
                                          @Param("lng") Double longitude, 
                                          @Param("radius") Double radius);
     
     /**
-     * Find nearest schools to a location
+     * Find a tenant's nearest schools to a location (k-NN scan of idx_schools_geo)
      */
     @Query(value = """
         SELECT * FROM schools s 
-        WHERE s.deleted_at IS NULL 
+        WHERE s.company_id = :companyId
+        AND s.deleted_at IS NULL 
         AND s.latitude IS NOT NULL 
         AND s.longitude IS NOT NULL
-        ORDER BY (
-            6371 * acos(
-                cos(radians(:lat)) * cos(radians(s.latitude)) * 
-                cos(radians(s.longitude) - radians(:lng)) + 
-                sin(radians(:lat)) * sin(radians(s.latitude))
-            )
-        )
+        ORDER BY geo_point(s.latitude::float8, s.longitude::float8) <-> ll_to_earth(:lat, :lng)
         LIMIT :limit
         """, nativeQuery = true)
-    List<School> findNearestSchools(@Param("lat") Double latitude, 
+    List<School> findNearestSchools(@Param("companyId") UUID companyId,
+                                    @Param("lat") Double latitude, 
                                     @Param("lng") Double longitude, 
                                     @Param("limit") int limit);
     
+    /**
+     * Coordinates of a tenant's located schools: id, name, address, city, latitude, longitude.
+     * Feeds the in-memory SchoolLocationIndex.
+     */
+    @Query("""
+        SELECT s.id, s.name, s.address, s.city, s.latitude, s.longitude FROM School s 
+        WHERE s.company.id = :companyId 
+        AND s.deletedAt IS NULL 
+        AND s.latitude IS NOT NULL 
+        AND s.longitude IS NOT NULL
+        """)
+    List<Object[]> findLocatedSchoolsByCompany(@Param("companyId") UUID companyId);
+    
     // ========== Supervisor Assignment Queries ==========
     
     /**
@@ -32,7 +32,13 @@ public interface SupervisorSchoolRepository extends JpaRepository<SupervisorScho
      * Find active assignments for a supervisor
      */
     List<SupervisorSchool> findBySupervisorIdAndIsActiveTrue(UUID supervisorId);
-    
+
+    /**
+     * Find school IDs of active assignments for a supervisor (no entity hydration)
+     */
+    @Query("SELECT ss.school.id FROM SupervisorSchool ss WHERE ss.supervisor.id = :supervisorId AND ss.isActive = true")
+    List<UUID> findActiveSchoolIdsBySupervisorId(@Param("supervisorId") UUID supervisorId);
+
     /**
      * Find active assignments for a school
      */
@@ -0,0 +1,184 @@
+package com.cafm.cafmbackend.infrastructure.persistence.repository;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Query;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.OffsetDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Repository for the sync_change_log table (V135).
+ *
+ * Purpose: Cursor-based reads over the compacted per-tenant change log used by mobile sync
+ * Pattern: Native-query repository; the log has no JPA entity because it is written by triggers
+ * Java 23: Records for change entries
+ * Architecture: Data access layer backing MobileSyncService
+ * Standards: All reads are bounded by (company_id, change_seq) index ranges
+ */
+@Repository
+public class SyncChangeLogRepository {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    /**
+     * Stamp pending changes of a tenant with sequence numbers.
+     *
+     * Runs in its own short transaction under a per-tenant advisory lock, so sequence
+     * numbers are handed out in commit order. A cursor read after this call therefore
+     * never misses a change that is later stamped with a lower number.
+     *
+     * @return number of changes stamped
+     */
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public int sequencePendingChanges(UUID companyId) {
+        entityManager.createNativeQuery("SELECT pg_advisory_xact_lock(hashtext(:lockKey))")
+            .setParameter("lockKey", "sync_change_log:" + companyId)
+            .getSingleResult();
+
+        return entityManager.createNativeQuery("""
+            UPDATE sync_change_log
+            SET change_seq = nextval('sync_change_seq')
+            WHERE company_id = :companyId AND change_seq IS NULL
+            """)
+            .setParameter("companyId", companyId)
+            .executeUpdate();
+    }
+
+    /**
+     * Find stamped changes after a cursor, ordered by sequence.
+     *
+     * @param companyId tenant
+     * @param afterSeq exclusive lower bound (the device cursor)
+     * @param entityTypes entity types to include
+     * @param schoolIds school scope, or null for the whole tenant
+     * @param limit maximum number of entries
+     */
+    @Transactional(readOnly = true)
+    public List<ChangeEntry> findChangesAfter(UUID companyId, long afterSeq, Collection<String> entityTypes,
+                                              Collection<UUID> schoolIds, int limit) {
+        String sql = """
+            SELECT entity_type, entity_id, change_seq, is_deleted, changed_at
+            FROM sync_change_log
+            WHERE company_id = :companyId
+              AND change_seq > :afterSeq
+              AND entity_type IN (:entityTypes)
+            """
+            + (schoolIds != null ? " AND school_id IN (:schoolIds)" : "")
+            + " ORDER BY change_seq LIMIT :limit";
+
+        Query query = entityManager.createNativeQuery(sql)
+            .setParameter("companyId", companyId)
+            .setParameter("afterSeq", afterSeq)
+            .setParameter("entityTypes", entityTypes)
+            .setParameter("limit", limit);
+        if (schoolIds != null) {
+            query.setParameter("schoolIds", schoolIds);
+        }
+
+        @SuppressWarnings("unchecked")
+        List<Object[]> rows = query.getResultList();
+        List<ChangeEntry> entries = new ArrayList<>(rows.size());
+        for (Object[] row : rows) {
+            entries.add(new ChangeEntry(
+                (String) row[0],
+                (UUID) row[1],
+                ((Number) row[2]).longValue(),
+                (Boolean) row[3],
+                toLocalDateTime(row[4])
+            ));
+        }
+        return entries;
+    }
+
+    /**
+     * Translate a legacy lastSyncTime into a sequence cursor for clients without a sync token.
+     *
+     * Changes stamped in one batch do not get sequence numbers in changed_at order, so the cursor
+     * is placed just below the lowest sequence changed at or after {@code since}, rather than at the
+     * highest sequence changed before it. Every change since then is therefore after the cursor, at
+     * the cost of possibly resending a few older ones. Without such changes the cursor is the tenant's
+     * latest sequence; changes stamped later are numbered above it.
+     */
+    @Transactional(readOnly = true)
+    public long findSequenceBefore(UUID companyId, LocalDateTime since) {
+        Object result = entityManager.createNativeQuery("""
+            SELECT COALESCE(
+                (SELECT MIN(change_seq) - 1 FROM sync_change_log
+                 WHERE company_id = :companyId AND change_seq IS NOT NULL AND changed_at >= :since),
+                (SELECT MAX(change_seq) FROM sync_change_log
+                 WHERE company_id = :companyId AND change_seq IS NOT NULL),
+                0)
+            """)
+            .setParameter("companyId", companyId)
+            .setParameter("since", since)
+            .getSingleResult();
+        return ((Number) result).longValue();
+    }
+
+    /**
+     * Record a sync in sync_logs and touch the device registration.
+     * No-op when the device is not registered for the user.
+     */
+    @Transactional
+    public void recordSync(UUID deviceId, UUID userId, UUID companyId, String syncType,
+                           int recordsSynced, long durationMs, String metadataJson) {
+        entityManager.createNativeQuery("""
+            INSERT INTO sync_logs (user_id, device_id, company_id, sync_type, status,
+                                   records_synced, sync_duration_ms, metadata, completed_at)
+            SELECT :userId, d.id, :companyId, :syncType, 'COMPLETED',
+                   :recordsSynced, :durationMs, CAST(:metadata AS jsonb), CURRENT_TIMESTAMP
+            FROM device_registrations d
+            WHERE d.id = :deviceId AND d.user_id = :userId AND d.deleted_at IS NULL
+            """)
+            .setParameter("userId", userId)
+            .setParameter("companyId", companyId)
+            .setParameter("syncType", syncType)
+            .setParameter("recordsSynced", recordsSynced)
+            .setParameter("durationMs", (int) Math.min(durationMs, Integer.MAX_VALUE))
+            .setParameter("metadata", metadataJson)
+            .setParameter("deviceId", deviceId)
+            .executeUpdate();
+
+        entityManager.createNativeQuery("""
+            UPDATE device_registrations SET last_seen_at = CURRENT_TIMESTAMP
+            WHERE id = :deviceId AND user_id = :userId
+            """)
+            .setParameter("deviceId", deviceId)
+            .setParameter("userId", userId)
+            .executeUpdate();
+    }
+
+    private static LocalDateTime toLocalDateTime(Object value) {
+        return switch (value) {
+            case null -> null;
+            case Timestamp ts -> ts.toLocalDateTime();
+            case OffsetDateTime odt -> odt.toLocalDateTime();
+            case Instant instant -> LocalDateTime.ofInstant(instant, ZoneId.systemDefault());
+            case LocalDateTime ldt -> ldt;
+            default -> throw new IllegalStateException("Unexpected timestamp type: " + value.getClass());
+        };
+    }
+
+    /**
+     * One compacted change: the latest state of an entity as of its sequence number.
+     */
+    public record ChangeEntry(
+        String entityType,
+        UUID entityId,
+        long changeSeq,
+        boolean deleted,
+        LocalDateTime changedAt
+    ) {}
+}
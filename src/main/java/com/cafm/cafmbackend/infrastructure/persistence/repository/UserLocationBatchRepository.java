@@ -0,0 +1,40 @@
+package com.cafm.cafmbackend.infrastructure.persistence.repository;
+
+import com.cafm.cafmbackend.infrastructure.persistence.entity.UserLocation;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.hibernate.Session;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+/**
+ * Batched inserts into user_locations.
+ *
+ * Purpose: Write a batch of location history points in one transaction and one JDBC batch
+ * Pattern: EntityManager-backed repository with a per-session JDBC batch size
+ * Java 23: Application-generated UUID ids, so inserts stay batchable
+ * Architecture: Data access layer behind SupervisorLocationIngest
+ * Standards: The persistence context is cleared after each batch
+ */
+@Repository
+public class UserLocationBatchRepository {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    /**
+     * Insert all points, or none if the batch fails.
+     */
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public void insertAll(List<UserLocation> locations) {
+        entityManager.unwrap(Session.class).setJdbcBatchSize(locations.size());
+        for (UserLocation location : locations) {
+            entityManager.persist(location);
+        }
+        entityManager.flush();
+        entityManager.clear();
+    }
+}
@@ -3,12 +3,18 @@ package com.cafm.cafmbackend.infrastructure.persistence.repository;
 import com.cafm.cafmbackend.infrastructure.persistence.entity.WorkOrder;
 import com.cafm.cafmbackend.shared.enums.WorkOrderStatus;
 import com.cafm.cafmbackend.shared.enums.WorkOrderPriority;
+import com.cafm.cafmbackend.infrastructure.persistence.projection.TechnicianPerformanceAggregate;
+import com.cafm.cafmbackend.infrastructure.persistence.projection.WorkOrderStatusAggregate;
+import com.cafm.cafmbackend.infrastructure.persistence.repository.base.SeekPagingRepository;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
@@ -17,12 +23,14 @@ import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.stream.Stream;
 
 /**
  * Repository for WorkOrder entity with tenant-aware queries.
  */
 @Repository
-public interface WorkOrderRepository extends JpaRepository<WorkOrder, UUID>, JpaSpecificationExecutor<WorkOrder> {
+public interface WorkOrderRepository extends JpaRepository<WorkOrder, UUID>, JpaSpecificationExecutor<WorkOrder>,
+        SeekPagingRepository<WorkOrder, UUID> {
     
     // ========== Basic Queries ==========
     
@@ -38,6 +46,8 @@ public interface WorkOrderRepository extends JpaRepository<WorkOrder, UUID>, Jpa
     
     List<WorkOrder> findByCompany_IdAndStatus(UUID companyId, WorkOrderStatus status);
     
+    List<WorkOrder> findByCompany_IdAndStatusAndDeletedAtIsNullOrderByCreatedAtDesc(UUID companyId, WorkOrderStatus status, Pageable pageable);
+    
     List<WorkOrder> findByCompany_IdAndPriority(UUID companyId, WorkOrderPriority priority);
     
     // ========== Assignment Queries ==========
@@ -71,26 +81,30 @@ public interface WorkOrderRepository extends JpaRepository<WorkOrder, UUID>, Jpa
     // ========== Location-based Queries ==========
     
     /**
-     * Find work orders within radius of location
+     * Find a tenant's work orders within radius (in kilometers) of a location, nearest first.
+     * Index-bounded by idx_work_orders_geo: tenant filter, earth_box prefilter and nearest-first
+     * ordering run on the GiST index. Distances are on the 6371 km sphere used by
+     * LocationQueryService.calculateDistance (earth() is the extension's radius in meters).
      */
     @Query(value = """
         SELECT * FROM work_orders wo
-        WHERE wo.deleted_at IS NULL
+        WHERE wo.company_id = :companyId
+        AND wo.deleted_at IS NULL
         AND wo.latitude IS NOT NULL 
         AND wo.longitude IS NOT NULL
-        AND (
-            6371 * acos(
-                cos(radians(:latitude)) * cos(radians(wo.latitude)) *
-                cos(radians(wo.longitude) - radians(:longitude)) +
-                sin(radians(:latitude)) * sin(radians(wo.latitude))
-            )
-        ) <= :radiusKm
-        ORDER BY wo.created_at DESC
+        AND (:activeOnly = false OR wo.status NOT IN ('COMPLETED', 'CANCELLED'))
+        AND earth_box(ll_to_earth(:latitude, :longitude), :radiusKm * earth() / 6371.0)
+            @> geo_point(wo.latitude::float8, wo.longitude::float8)
+        AND earth_distance(ll_to_earth(:latitude, :longitude), geo_point(wo.latitude::float8, wo.longitude::float8))
+            <= :radiusKm * earth() / 6371.0
+        ORDER BY geo_point(wo.latitude::float8, wo.longitude::float8) <-> ll_to_earth(:latitude, :longitude)
         LIMIT :limit
         """, nativeQuery = true)
-    List<WorkOrder> findNearbyWorkOrders(@Param("latitude") Double latitude,
+    List<WorkOrder> findNearbyWorkOrders(@Param("companyId") UUID companyId,
+                                         @Param("latitude") Double latitude,
                                          @Param("longitude") Double longitude,
                                          @Param("radiusKm") Double radiusKm,
+                                         @Param("activeOnly") boolean activeOnly,
                                          @Param("limit") int limit);
     
     // ========== Date-based Queries ==========
@@ -101,6 +115,23 @@ public interface WorkOrderRepository extends JpaRepository<WorkOrder, UUID>, Jpa
                                                         @Param("startDate") LocalDateTime startDate,
                                                         @Param("endDate") LocalDateTime endDate);
     
+    /**
+     * Stream a company's work orders scheduled in a date range for export.
+     * Must be consumed inside a read-only transaction; rows are fetched from a server-side cursor.
+     */
+    @Query("SELECT wo FROM WorkOrder wo " +
+           "LEFT JOIN FETCH wo.school LEFT JOIN FETCH wo.assignedTo LEFT JOIN FETCH wo.assignedBy " +
+           "WHERE wo.company.id = :companyId " +
+           "AND wo.scheduledStart BETWEEN :startDate AND :endDate AND wo.deletedAt IS NULL " +
+           "ORDER BY wo.scheduledStart, wo.id")
+    @QueryHints({
+        @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+        @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    Stream<WorkOrder> streamForExport(@Param("companyId") UUID companyId,
+                                      @Param("startDate") LocalDateTime startDate,
+                                      @Param("endDate") LocalDateTime endDate);
+    
     @Query("SELECT wo FROM WorkOrder wo WHERE wo.company.id = :companyId " +
            "AND wo.scheduledEnd < :currentDate AND wo.status NOT IN :excludeStatuses " +
            "AND wo.deletedAt IS NULL")
@@ -138,6 +169,65 @@ public interface WorkOrderRepository extends JpaRepository<WorkOrder, UUID>, Jpa
            "AND wo.createdAt >= :startDate AND wo.deletedAt IS NULL")
     long countRecentWorkOrders(@Param("companyId") UUID companyId, @Param("startDate") LocalDateTime startDate);
     
+    /**
+     * All work order statistics of a company in one pass, one row per status
+     */
+    @Query("SELECT wo.status AS status, COUNT(wo) AS total, " +
+           "COUNT(wo) FILTER (WHERE wo.scheduledEnd < :now) AS pastDue, " +
+           "COUNT(wo) FILTER (WHERE wo.createdAt >= :createdSince) AS createdSince, " +
+           "SUM(wo.completionPercentage) AS completionSum, " +
+           "COUNT(wo.completionPercentage) AS completionCount, " +
+           "SUM(wo.totalCost) FILTER (WHERE wo.actualEnd BETWEEN :periodStart AND :periodEnd) AS costInPeriod " +
+           "FROM WorkOrder wo WHERE wo.company.id = :companyId AND wo.deletedAt IS NULL " +
+           "GROUP BY wo.status")
+    List<WorkOrderStatusAggregate> aggregateByStatus(@Param("companyId") UUID companyId,
+                                                     @Param("now") LocalDateTime now,
+                                                     @Param("createdSince") LocalDateTime createdSince,
+                                                     @Param("periodStart") LocalDateTime periodStart,
+                                                     @Param("periodEnd") LocalDateTime periodEnd);
+    
+    /**
+     * Scorecard of one technician over work orders created strictly between two instants
+     */
+    @Query(value = """
+        SELECT wo.assigned_to AS "technicianId",
+               COUNT(*) AS "totalAssigned",
+               COUNT(*) FILTER (WHERE wo.status IN ('COMPLETED', 'VERIFIED')) AS "completed",
+               COUNT(*) FILTER (WHERE wo.status = 'IN_PROGRESS') AS "inProgress",
+               AVG(TRUNC(EXTRACT(EPOCH FROM (wo.actual_end - wo.actual_start)) / 3600))
+                   FILTER (WHERE wo.status IN ('COMPLETED', 'VERIFIED')
+                           AND wo.actual_start IS NOT NULL AND wo.actual_end IS NOT NULL)::float8 AS "averageCompletionHours",
+               COALESCE(SUM(wo.actual_hours), 0) AS "totalHoursWorked"
+        FROM work_orders wo
+        WHERE wo.assigned_to = :technicianId AND wo.deleted_at IS NULL
+        AND wo.created_at > :startDate AND wo.created_at < :endDate
+        GROUP BY wo.assigned_to
+        """, nativeQuery = true)
+    Optional<TechnicianPerformanceAggregate> aggregateTechnicianPerformance(@Param("technicianId") UUID technicianId,
+                                                                            @Param("startDate") LocalDateTime startDate,
+                                                                            @Param("endDate") LocalDateTime endDate);
+    
+    /**
+     * Scorecards of every technician of a company in one pass, one row per technician
+     */
+    @Query(value = """
+        SELECT wo.assigned_to AS "technicianId",
+               COUNT(*) AS "totalAssigned",
+               COUNT(*) FILTER (WHERE wo.status IN ('COMPLETED', 'VERIFIED')) AS "completed",
+               COUNT(*) FILTER (WHERE wo.status = 'IN_PROGRESS') AS "inProgress",
+               AVG(TRUNC(EXTRACT(EPOCH FROM (wo.actual_end - wo.actual_start)) / 3600))
+                   FILTER (WHERE wo.status IN ('COMPLETED', 'VERIFIED')
+                           AND wo.actual_start IS NOT NULL AND wo.actual_end IS NOT NULL)::float8 AS "averageCompletionHours",
+               COALESCE(SUM(wo.actual_hours), 0) AS "totalHoursWorked"
+        FROM work_orders wo
+        WHERE wo.company_id = :companyId AND wo.deleted_at IS NULL AND wo.assigned_to IS NOT NULL
+        AND wo.created_at > :startDate AND wo.created_at < :endDate
+        GROUP BY wo.assigned_to
+        """, nativeQuery = true)
+    List<TechnicianPerformanceAggregate> aggregateTechnicianPerformanceByCompany(@Param("companyId") UUID companyId,
+                                                                                 @Param("startDate") LocalDateTime startDate,
+                                                                                 @Param("endDate") LocalDateTime endDate);
+    
     @Query("SELECT AVG(wo.completionPercentage) FROM WorkOrder wo WHERE wo.company.id = :companyId " +
            "AND wo.status IN :includeStatuses")
     Double getAverageCompletionRate(@Param("companyId") UUID companyId, @Param("includeStatuses") List<WorkOrderStatus> includeStatuses);
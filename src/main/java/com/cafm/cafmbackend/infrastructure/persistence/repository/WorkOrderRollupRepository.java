@@ -0,0 +1,230 @@
+package com.cafm.cafmbackend.infrastructure.persistence.repository;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Repository for the work_order_daily_rollups table (V141).
+ *
+ * Purpose: Maintain and read daily per-tenant work order aggregates for analytics
+ * Pattern: Native-query repository; a tenant-day range is rebuilt with DELETE + grouped INSERT ... SELECT
+ *          under a per-tenant advisory lock, so concurrent rebuilds never double count
+ * Java 23: Records for rollup totals
+ * Architecture: Data access layer behind WorkOrderRollupMaintainer and AdvancedAnalyticsService
+ * Standards: Reads are bounded by the (company_id, rollup_date) index; days are work order creation days
+ */
+@Repository
+public class WorkOrderRollupRepository {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    /**
+     * Recompute a tenant's rollups for work orders created between two days, inclusive.
+     *
+     * @return number of rollup rows written
+     */
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public int refresh(UUID companyId, LocalDate fromDate, LocalDate toDate) {
+        entityManager.createNativeQuery("SELECT pg_advisory_xact_lock(hashtext(:lockKey))")
+            .setParameter("lockKey", "work_order_daily_rollups:" + companyId)
+            .getSingleResult();
+
+        entityManager.createNativeQuery("""
+            DELETE FROM work_order_daily_rollups
+            WHERE company_id = :companyId AND rollup_date BETWEEN :fromDate AND :toDate
+            """)
+            .setParameter("companyId", companyId)
+            .setParameter("fromDate", fromDate)
+            .setParameter("toDate", toDate)
+            .executeUpdate();
+
+        return entityManager.createNativeQuery("""
+            INSERT INTO work_order_daily_rollups (company_id, rollup_date, school_id, status, priority,
+                                                  work_order_count, total_cost,
+                                                  completion_hours_sum, completion_count, refreshed_at)
+            SELECT wo.company_id, CAST(wo.created_at AS date), wo.school_id,
+                   CAST(wo.status AS varchar), CAST(wo.priority AS varchar),
+                   COUNT(*), COALESCE(SUM(wo.total_cost), 0),
+                   COALESCE(SUM(EXTRACT(EPOCH FROM (wo.actual_end - wo.actual_start)) / 3600)
+                       FILTER (WHERE wo.actual_start IS NOT NULL AND wo.actual_end IS NOT NULL), 0),
+                   COUNT(*) FILTER (WHERE wo.actual_start IS NOT NULL AND wo.actual_end IS NOT NULL),
+                   CURRENT_TIMESTAMP
+            FROM work_orders wo
+            WHERE wo.company_id = :companyId AND wo.deleted_at IS NULL
+              AND wo.created_at >= :fromStart AND wo.created_at < :toEnd
+            GROUP BY wo.company_id, CAST(wo.created_at AS date), wo.school_id, wo.status, wo.priority
+            """)
+            .setParameter("companyId", companyId)
+            .setParameter("fromStart", fromDate.atStartOfDay())
+            .setParameter("toEnd", toDate.plusDays(1).atStartOfDay())
+            .executeUpdate();
+    }
+
+    /**
+     * Totals per calendar month for days between two dates, inclusive, oldest first.
+     * Months without work orders are absent.
+     */
+    @Transactional(readOnly = true)
+    public List<MonthlyRollup> findMonthlyTotals(UUID companyId, LocalDate fromDate, LocalDate toDate) {
+        @SuppressWarnings("unchecked")
+        List<Object[]> rows = entityManager.createNativeQuery("""
+            SELECT CAST(date_trunc('month', r.rollup_date) AS date),
+                   SUM(r.work_order_count),
+                   SUM(r.work_order_count) FILTER (WHERE r.status IN ('COMPLETED', 'VERIFIED')),
+                   SUM(r.total_cost), SUM(r.completion_hours_sum), SUM(r.completion_count)
+            FROM work_order_daily_rollups r
+            WHERE r.company_id = :companyId AND r.rollup_date BETWEEN :fromDate AND :toDate
+            GROUP BY 1
+            ORDER BY 1
+            """)
+            .setParameter("companyId", companyId)
+            .setParameter("fromDate", fromDate)
+            .setParameter("toDate", toDate)
+            .getResultList();
+
+        List<MonthlyRollup> months = new ArrayList<>(rows.size());
+        for (Object[] row : rows) {
+            months.add(new MonthlyRollup(toLocalDate(row[0]), toTotals(row, 1)));
+        }
+        return months;
+    }
+
+    /**
+     * Totals for days between two dates, inclusive.
+     */
+    @Transactional(readOnly = true)
+    public RollupTotals findTotals(UUID companyId, LocalDate fromDate, LocalDate toDate) {
+        Object[] row = (Object[]) entityManager.createNativeQuery("""
+            SELECT SUM(r.work_order_count),
+                   SUM(r.work_order_count) FILTER (WHERE r.status IN ('COMPLETED', 'VERIFIED')),
+                   SUM(r.total_cost), SUM(r.completion_hours_sum), SUM(r.completion_count)
+            FROM work_order_daily_rollups r
+            WHERE r.company_id = :companyId AND r.rollup_date BETWEEN :fromDate AND :toDate
+            """)
+            .setParameter("companyId", companyId)
+            .setParameter("fromDate", fromDate)
+            .setParameter("toDate", toDate)
+            .getSingleResult();
+        return toTotals(row, 0);
+    }
+
+    /**
+     * Cost per school for days between two dates, inclusive; work orders without a school are omitted.
+     */
+    @Transactional(readOnly = true)
+    public Map<UUID, BigDecimal> findCostBySchool(UUID companyId, LocalDate fromDate, LocalDate toDate) {
+        @SuppressWarnings("unchecked")
+        List<Object[]> rows = entityManager.createNativeQuery("""
+            SELECT r.school_id, SUM(r.total_cost)
+            FROM work_order_daily_rollups r
+            WHERE r.company_id = :companyId AND r.rollup_date BETWEEN :fromDate AND :toDate
+              AND r.school_id IS NOT NULL
+            GROUP BY r.school_id
+            """)
+            .setParameter("companyId", companyId)
+            .setParameter("fromDate", fromDate)
+            .setParameter("toDate", toDate)
+            .getResultList();
+
+        Map<UUID, BigDecimal> costs = new HashMap<>();
+        for (Object[] row : rows) {
+            costs.put((UUID) row[0], (BigDecimal) row[1]);
+        }
+        return costs;
+    }
+
+    /**
+     * Oldest day with rollups for a tenant, or null if it has none.
+     */
+    @Transactional(readOnly = true)
+    public LocalDate findOldestRollupDate(UUID companyId) {
+        return toLocalDate(entityManager.createNativeQuery("""
+            SELECT MIN(rollup_date) FROM work_order_daily_rollups WHERE company_id = :companyId
+            """)
+            .setParameter("companyId", companyId)
+            .getSingleResult());
+    }
+
+    /**
+     * Creation day of a tenant's oldest work order, or null if it has none.
+     */
+    @Transactional(readOnly = true)
+    public LocalDate findOldestWorkOrderDate(UUID companyId) {
+        return toLocalDate(entityManager.createNativeQuery("""
+            SELECT CAST(MIN(created_at) AS date) FROM work_orders
+            WHERE company_id = :companyId AND deleted_at IS NULL
+            """)
+            .setParameter("companyId", companyId)
+            .getSingleResult());
+    }
+
+    private static RollupTotals toTotals(Object[] row, int offset) {
+        return new RollupTotals(
+            toLong(row[offset]),
+            toLong(row[offset + 1]),
+            row[offset + 2] != null ? (BigDecimal) row[offset + 2] : BigDecimal.ZERO,
+            row[offset + 3] != null ? (BigDecimal) row[offset + 3] : BigDecimal.ZERO,
+            toLong(row[offset + 4])
+        );
+    }
+
+    private static long toLong(Object value) {
+        return value != null ? ((Number) value).longValue() : 0L;
+    }
+
+    private static LocalDate toLocalDate(Object value) {
+        return switch (value) {
+            case null -> null;
+            case Date date -> date.toLocalDate();
+            case Timestamp ts -> ts.toLocalDateTime().toLocalDate();
+            case LocalDateTime ldt -> ldt.toLocalDate();
+            case LocalDate date -> date;
+            default -> throw new IllegalStateException("Unexpected date type: " + value.getClass());
+        };
+    }
+
+    /**
+     * Aggregates of a set of rollup rows.
+     *
+     * @param workOrders          work orders created
+     * @param completed           of which completed or verified
+     * @param totalCost           sum of their total cost
+     * @param completionHoursSum  hours between actual start and end, summed
+     * @param completionCount     work orders with both actual start and end
+     */
+    public record RollupTotals(long workOrders, long completed, BigDecimal totalCost,
+                               BigDecimal completionHoursSum, long completionCount) {
+
+        public double completionRate() {
+            return workOrders > 0 ? completed * 100.0 / workOrders : 0.0;
+        }
+
+        public double averageCompletionHours() {
+            return completionCount > 0
+                ? completionHoursSum.divide(BigDecimal.valueOf(completionCount), 2, RoundingMode.HALF_UP).doubleValue()
+                : 0.0;
+        }
+    }
+
+    /**
+     * Aggregates of one calendar month.
+     */
+    public record MonthlyRollup(LocalDate month, RollupTotals totals) {
+    }
+}
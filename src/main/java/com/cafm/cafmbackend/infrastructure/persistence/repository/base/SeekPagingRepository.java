@@ -0,0 +1,52 @@
+package com.cafm.cafmbackend.infrastructure.persistence.repository.base;
+
+import com.cafm.cafmbackend.infrastructure.persistence.entity.base.TenantAware;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.NoRepositoryBean;
+import org.springframework.data.repository.Repository;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Keyset (seek) pagination for tenant-aware entities, newest first.
+ *
+ * Explanation:
+ * - Purpose: Page through a tenant's rows by (createdAt, id) cursor, so deep pages cost the same as the first
+ * - Pattern: Repository fragment interface; the limit comes from Pageable.ofSize and no count query runs
+ * - Java 23: Spring Data JPA declared queries over #{#entityName}
+ * - Architecture: Extended by TenantAwareRepository and by repositories of TenantAwareEntity subclasses
+ * - Standards: The predicate and ORDER BY match the (company_id, created_at DESC, id DESC) partial indexes
+ */
+@NoRepositoryBean
+public interface SeekPagingRepository<T extends TenantAware, ID> extends Repository<T, ID> {
+
+    /**
+     * First page of a tenant's rows, newest first
+     * @param companyId Tenant ID
+     * @param limit Pageable.ofSize(rows to fetch)
+     * @return Rows in (createdAt, id) descending order
+     */
+    @Query("SELECT e FROM #{#entityName} e WHERE e.company.id = :companyId AND e.deletedAt IS NULL " +
+           "ORDER BY e.createdAt DESC, e.id DESC")
+    List<T> findFirstPageByCompanyId(@Param("companyId") UUID companyId, Pageable limit);
+
+    /**
+     * Page of a tenant's rows strictly after a cursor, newest first
+     * @param companyId Tenant ID
+     * @param createdAt Creation time of the last row of the previous page
+     * @param id ID of the last row of the previous page
+     * @param limit Pageable.ofSize(rows to fetch)
+     * @return Rows in (createdAt, id) descending order
+     */
+    @Query("SELECT e FROM #{#entityName} e WHERE e.company.id = :companyId AND e.deletedAt IS NULL " +
+           "AND e.createdAt <= :createdAt AND (e.createdAt < :createdAt OR e.id < :id) " +
+           "ORDER BY e.createdAt DESC, e.id DESC")
+    List<T> findPageAfterByCompanyId(@Param("companyId") UUID companyId,
+                                     @Param("createdAt") LocalDateTime createdAt,
+                                     @Param("id") UUID id,
+                                     Pageable limit);
+}
@@ -26,7 +26,7 @@ import java.util.UUID;
  */
 @NoRepositoryBean
 public interface TenantAwareRepository<T extends TenantAware, ID> 
-    extends JpaRepository<T, ID>, JpaSpecificationExecutor<T> {
+    extends JpaRepository<T, ID>, JpaSpecificationExecutor<T>, SeekPagingRepository<T, ID> {
     
     // ========== Tenant-Safe Query Methods ==========
     
@@ -50,6 +50,8 @@ public class JwtTokenProvider {
     
     private SecretKey signingKey;
     
+    private JwtParser jwtParser;
+    
     /**
      * Initialize and validate JWT secret on startup
      */
@@ -111,6 +113,9 @@ public class JwtTokenProvider {
         // Initialize signing key
         byte[] keyBytes = jwtSecret.getBytes(StandardCharsets.UTF_8);
         this.signingKey = Keys.hmacShaKeyFor(keyBytes);
+        this.jwtParser = Jwts.parser()
+            .verifyWith(signingKey)
+            .build();
         
         logger.info("JWT token provider initialized successfully with {} character secret", jwtSecret.length());
     }
@@ -258,17 +263,23 @@ public class JwtTokenProvider {
             .compact();
     }
     
+    /**
+     * Verify a token and return its claims in a single parse.
+     *
+     * @throws JwtException if the token is expired, malformed or has an invalid signature
+     */
+    public Claims parseClaims(String token) {
+        if (jwtParser == null) {
+            throw new IllegalStateException("JWT signing key not initialized");
+        }
+        return jwtParser.parseSignedClaims(token).getPayload();
+    }
+    
     /**
      * Get username from token.
      */
     public String getUsernameFromToken(String token) {
-        Claims claims = Jwts.parser()
-            .verifyWith(getSigningKey())
-            .build()
-            .parseSignedClaims(token)
-            .getPayload();
-        
-        return claims.getSubject();
+        return parseClaims(token).getSubject();
     }
     
     /**
@@ -276,10 +287,7 @@ public class JwtTokenProvider {
      */
     public boolean validateToken(String authToken) {
         try {
-            Jwts.parser()
-                .verifyWith(getSigningKey())
-                .build()
-                .parseSignedClaims(authToken);
+            parseClaims(authToken);
             return true;
         } catch (SecurityException ex) {
             logger.error("Invalid JWT signature");
@@ -300,11 +308,7 @@ public class JwtTokenProvider {
      */
     public Long getExpirationTime(String token) {
         try {
-            Claims claims = Jwts.parser()
-                .verifyWith(getSigningKey())
-                .build()
-                .parseSignedClaims(token)
-                .getPayload();
+            Claims claims = parseClaims(token);
             
             Date expiration = claims.getExpiration();
             long now = System.currentTimeMillis();
@@ -319,11 +323,7 @@ public class JwtTokenProvider {
      */
     public Claims getClaimsFromToken(String token) {
         try {
-            return Jwts.parser()
-                .verifyWith(getSigningKey())
-                .build()
-                .parseSignedClaims(token)
-                .getPayload();
+            return parseClaims(token);
         } catch (Exception e) {
             logger.error("Could not extract claims from token", e);
             return null;
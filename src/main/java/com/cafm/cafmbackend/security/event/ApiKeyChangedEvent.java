@@ -0,0 +1,12 @@
+package com.cafm.cafmbackend.security.event;
+
+import java.util.UUID;
+
+/**
+ * Published when an API key is revoked or its scopes change, so that
+ * anything caching the verified key can drop it.
+ *
+ * @param apiKeyId the changed key
+ */
+public record ApiKeyChangedEvent(UUID apiKeyId) {
+}
@@ -0,0 +1,14 @@
+package com.cafm.cafmbackend.security.event;
+
+import java.util.UUID;
+
+/**
+ * Published when a user's status, roles or credentials change, so that
+ * anything caching the authenticated principal can drop it.
+ *
+ * @param userId    the changed user
+ * @param email     the user's login (JWT subject)
+ * @param companyId the user's tenant, whose cache entries hold the user
+ */
+public record UserSecurityChangedEvent(UUID userId, String email, UUID companyId) {
+}
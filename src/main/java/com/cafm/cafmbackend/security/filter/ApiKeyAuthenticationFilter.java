@@ -4,6 +4,8 @@ import com.cafm.cafmbackend.infrastructure.persistence.entity.ApiKey;
 import com.cafm.cafmbackend.infrastructure.persistence.repository.ApiKeyRepository;
 //import com.cafm.cafmbackend.security.TenantContext;
 import com.cafm.cafmbackend.application.service.tenant.TenantContextService;
+import com.cafm.cafmbackend.security.service.ApiKeyUsageRecorder;
+import com.cafm.cafmbackend.security.service.ApiKeyVerificationCache;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -33,6 +35,8 @@ import java.util.stream.Collectors;
  * Java 23: Efficient string processing
  * Architecture: Security layer filter
  * Standards: API key in X-API-Key header
+ * Performance: Verified keys are cached by digest, so only the first request per key pays
+ *              for the lookup and BCrypt check; usage is recorded in memory and flushed in batches
  */
 @Component
 @Order(2)
@@ -44,14 +48,20 @@ public class ApiKeyAuthenticationFilter extends OncePerRequestFilter {
     private final ApiKeyRepository apiKeyRepository;
     private final PasswordEncoder passwordEncoder;
     private final TenantContextService tenantContextService;
+    private final ApiKeyVerificationCache verificationCache;
+    private final ApiKeyUsageRecorder usageRecorder;
     
     @Autowired
     public ApiKeyAuthenticationFilter(@Lazy ApiKeyRepository apiKeyRepository,
                                     PasswordEncoder passwordEncoder,
-                                    TenantContextService tenantContextService) {
+                                    TenantContextService tenantContextService,
+                                    ApiKeyVerificationCache verificationCache,
+                                    ApiKeyUsageRecorder usageRecorder) {
         this.apiKeyRepository = apiKeyRepository;
         this.passwordEncoder = passwordEncoder;
         this.tenantContextService = tenantContextService;
+        this.verificationCache = verificationCache;
+        this.usageRecorder = usageRecorder;
     }
     
     @Override
@@ -87,22 +97,17 @@ public class ApiKeyAuthenticationFilter extends OncePerRequestFilter {
                 return;
             }
             
-            String keyPrefix = apiKeyValue.substring(0, 8);
-            
-            // Find API key by prefix
-            Optional<ApiKey> apiKeyOpt = apiKeyRepository.findByKeyPrefixAndIsActiveTrue(keyPrefix);
-            
-            if (apiKeyOpt.isEmpty()) {
-                logger.warn("API key not found for prefix: {} from IP: {}", keyPrefix, getClientIP(request));
-                return;
-            }
-            
-            ApiKey apiKey = apiKeyOpt.get();
-            
-            // Verify the full key
-            if (!passwordEncoder.matches(apiKeyValue, apiKey.getKeyHash())) {
-                logger.warn("Invalid API key for prefix: {} from IP: {}", keyPrefix, getClientIP(request));
-                return;
+            String digest = verificationCache.digest(apiKeyValue);
+            ApiKey apiKey = verificationCache.get(digest);
+            
+            if (apiKey == null) {
+                apiKey = verifyApiKey(apiKeyValue, request);
+                if (apiKey == null) {
+                    return;
+                }
+                if (apiKey.isValid()) {
+                    verificationCache.put(digest, apiKey);
+                }
             }
             
             // Check if key is valid
@@ -151,11 +156,10 @@ public class ApiKeyAuthenticationFilter extends OncePerRequestFilter {
             // Set authentication in context
             SecurityContextHolder.getContext().setAuthentication(authentication);
             
-            // Record usage
-            apiKey.recordUsage(clientIp);
-            apiKeyRepository.save(apiKey);
+            // Record usage; written in batches by ApiKeyUsageRecorder
+            usageRecorder.record(apiKey.getId(), clientIp);
             
-            logger.info("API key authentication successful for key: {} from IP: {}", 
+            logger.debug("API key authentication successful for key: {} from IP: {}", 
                 apiKey.getKeyName(), clientIp);
             
         } catch (Exception e) {
@@ -163,6 +167,31 @@ public class ApiKeyAuthenticationFilter extends OncePerRequestFilter {
         }
     }
     
+    /**
+     * Look up an API key by prefix and verify the presented secret against its hash
+     */
+    private ApiKey verifyApiKey(String apiKeyValue, HttpServletRequest request) {
+        String keyPrefix = apiKeyValue.substring(0, 8);
+        
+        // Find API key by prefix
+        Optional<ApiKey> apiKeyOpt = apiKeyRepository.findByKeyPrefixAndIsActiveTrue(keyPrefix);
+        
+        if (apiKeyOpt.isEmpty()) {
+            logger.warn("API key not found for prefix: {} from IP: {}", keyPrefix, getClientIP(request));
+            return null;
+        }
+        
+        ApiKey apiKey = apiKeyOpt.get();
+        
+        // Verify the full key
+        if (!passwordEncoder.matches(apiKeyValue, apiKey.getKeyHash())) {
+            logger.warn("Invalid API key for prefix: {} from IP: {}", keyPrefix, getClientIP(request));
+            return null;
+        }
+        
+        return apiKey;
+    }
+    
     /**
      * Check if API key has required scope for endpoint
      */
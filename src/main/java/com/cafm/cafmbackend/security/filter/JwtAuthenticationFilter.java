@@ -3,7 +3,10 @@ package com.cafm.cafmbackend.security.filter;
 import com.cafm.cafmbackend.infrastructure.persistence.entity.User;
 import com.cafm.cafmbackend.infrastructure.persistence.repository.UserRepository;
 import com.cafm.cafmbackend.security.JwtTokenProvider;
+import com.cafm.cafmbackend.security.service.AuthenticatedPrincipalCache;
+import io.jsonwebtoken.Claims;
 import io.jsonwebtoken.ExpiredJwtException;
+import io.jsonwebtoken.JwtException;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -31,6 +34,8 @@ import java.util.Optional;
  * Pattern: Servlet filter for authentication
  * Java 23: Modern exception handling and validation
  * Order: Runs before TenantSecurityFilter to establish authentication context
+ * Performance: The token is verified once per request and principals are served from
+ *              AuthenticatedPrincipalCache, so most requests need no user lookup
  */
 @Component
 @Order(1) // Run first to establish authentication
@@ -41,14 +46,22 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
     private static final String AUTHORIZATION_HEADER = "Authorization";
     private static final String BEARER_PREFIX = "Bearer ";
     
+    /**
+     * Request attribute holding the verified {@link Claims} of the current request.
+     */
+    public static final String CLAIMS_ATTRIBUTE = JwtAuthenticationFilter.class.getName() + ".CLAIMS";
+    
     private final JwtTokenProvider jwtTokenProvider;
     private final UserRepository userRepository;
+    private final AuthenticatedPrincipalCache principalCache;
     
     @Autowired
     public JwtAuthenticationFilter(JwtTokenProvider jwtTokenProvider,
-                                  UserRepository userRepository) {
+                                  UserRepository userRepository,
+                                  AuthenticatedPrincipalCache principalCache) {
         this.jwtTokenProvider = jwtTokenProvider;
         this.userRepository = userRepository;
+        this.principalCache = principalCache;
     }
     
     @Override
@@ -60,15 +73,17 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         try {
             String jwt = extractJwtFromRequest(request);
             
-            if (jwt != null && jwtTokenProvider.validateToken(jwt)) {
-                String username = jwtTokenProvider.getUsernameFromToken(jwt);
+            if (jwt != null) {
+                // Verify once and keep the claims for the rest of the request
+                Claims claims = jwtTokenProvider.parseClaims(jwt);
+                request.setAttribute(CLAIMS_ATTRIBUTE, claims);
+                String username = claims.getSubject();
                 
                 if (username != null && SecurityContextHolder.getContext().getAuthentication() == null) {
-                    // Load user from database
-                    Optional<User> userOptional = userRepository.findByEmail(username);
+                    User user = resolvePrincipal(username, claims);
                     
-                    if (userOptional.isPresent()) {
-                        UserDetails userDetails = userOptional.get();
+                    if (user != null) {
+                        UserDetails userDetails = user;
                         
                         // Check if user is active and not locked
                         if (userDetails.isAccountNonLocked() && userDetails.isEnabled()) {
@@ -100,6 +115,8 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
             logger.debug("JWT token is expired: {}", e.getMessage());
             // Set request attribute for expired token
             request.setAttribute("token_status", "expired");
+        } catch (JwtException | IllegalArgumentException e) {
+            logger.warn("Invalid JWT token: {}", e.getMessage());
         } catch (Exception e) {
             logger.error("Cannot set user authentication", e);
         }
@@ -107,6 +124,22 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         filterChain.doFilter(request, response);
     }
     
+    /**
+     * Resolve the principal for a token subject, from the principal cache when possible.
+     * Cached entries never outlive the token that loaded them.
+     */
+    private User resolvePrincipal(String username, Claims claims) {
+        User cached = principalCache.get(username);
+        if (cached != null) {
+            return cached;
+        }
+        
+        long loadStarted = System.nanoTime();
+        Optional<User> userOptional = userRepository.findByEmail(username);
+        userOptional.ifPresent(user -> principalCache.put(username, user, claims.getExpiration(), loadStarted));
+        return userOptional.orElse(null);
+    }
+    
     /**
      * Extract JWT token from Authorization header.
      */
@@ -3,6 +3,7 @@ package com.cafm.cafmbackend.security.filter;
 import com.cafm.cafmbackend.infrastructure.persistence.entity.User;
 import com.cafm.cafmbackend.security.JwtTokenProvider;
 import com.cafm.cafmbackend.application.service.tenant.TenantContextService;
+import io.jsonwebtoken.Claims;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -161,6 +162,12 @@ public class TenantSecurityFilter extends OncePerRequestFilter {
      */
     private UUID extractTenantFromJwtToken(HttpServletRequest request) {
         try {
+            // Reuse the claims already verified by JwtAuthenticationFilter
+            if (request.getAttribute(JwtAuthenticationFilter.CLAIMS_ATTRIBUTE) instanceof Claims claims) {
+                String companyId = claims.get("companyId", String.class);
+                return companyId != null ? UUID.fromString(companyId) : null;
+            }
+            
             String authHeader = request.getHeader("Authorization");
             if (StringUtils.hasText(authHeader) && authHeader.startsWith("Bearer ")) {
                 String token = authHeader.substring(7);
@@ -0,0 +1,125 @@
+package com.cafm.cafmbackend.security.service;
+
+import com.cafm.cafmbackend.infrastructure.persistence.repository.ApiKeyRepository;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Aggregates API key usage in memory and writes it in batches.
+ *
+ * Purpose: Keep the per-request usage write off the API key authentication path
+ * Pattern: Write-behind accumulator flushed on a fixed delay and on shutdown
+ * Java 23: Records for flushed deltas
+ * Architecture: Fed by ApiKeyAuthenticationFilter; persisted through ApiKeyRepository.addUsage
+ * Standards: Deltas are only mutated under the map's per-key lock, so a flush never loses
+ *            a concurrent increment; failed flushes are merged back and retried
+ */
+@Component
+public class ApiKeyUsageRecorder {
+
+    private static final Logger logger = LoggerFactory.getLogger(ApiKeyUsageRecorder.class);
+
+    private final ApiKeyRepository apiKeyRepository;
+    private final ConcurrentHashMap<UUID, UsageDelta> pending = new ConcurrentHashMap<>();
+
+    public ApiKeyUsageRecorder(@Lazy ApiKeyRepository apiKeyRepository) {
+        this.apiKeyRepository = apiKeyRepository;
+    }
+
+    /**
+     * Record one request made with an API key.
+     */
+    public void record(UUID apiKeyId, String clientIp) {
+        LocalDateTime now = LocalDateTime.now();
+        pending.compute(apiKeyId, (id, delta) -> {
+            UsageDelta updated = delta != null ? delta : new UsageDelta();
+            updated.count++;
+            if (updated.lastUsedAt == null || !now.isBefore(updated.lastUsedAt)) {
+                updated.lastUsedAt = now;
+                updated.lastUsedIp = clientIp;
+            }
+            return updated;
+        });
+    }
+
+    /**
+     * Write accumulated usage, one update per key in a single transaction.
+     */
+    @Scheduled(fixedDelayString = "${app.security.api-key-usage.flush-interval-ms:10000}")
+    @Transactional
+    public void flush() {
+        if (pending.isEmpty()) {
+            return;
+        }
+
+        List<FlushedUsage> batch = new ArrayList<>(pending.size());
+        for (UUID apiKeyId : pending.keySet()) {
+            UsageDelta delta = pending.remove(apiKeyId);
+            if (delta != null) {
+                batch.add(new FlushedUsage(apiKeyId, delta.count, delta.lastUsedAt, delta.lastUsedIp));
+            }
+        }
+
+        try {
+            for (FlushedUsage usage : batch) {
+                apiKeyRepository.addUsage(usage.apiKeyId(), usage.count(), usage.lastUsedAt(), usage.lastUsedIp());
+            }
+            logger.debug("Flushed usage for {} API keys", batch.size());
+        } catch (RuntimeException e) {
+            logger.warn("Failed to flush API key usage, retrying on next run: {}", e.getMessage());
+            batch.forEach(this::restore);
+            throw e;
+        }
+    }
+
+    @PreDestroy
+    public void flushOnShutdown() {
+        try {
+            flush();
+        } catch (RuntimeException e) {
+            logger.error("Lost usage for {} API keys on shutdown", pending.size(), e);
+        }
+    }
+
+    /**
+     * Number of keys with usage not yet written.
+     */
+    public int getPendingKeys() {
+        return pending.size();
+    }
+
+    private void restore(FlushedUsage usage) {
+        pending.compute(usage.apiKeyId(), (id, delta) -> {
+            UsageDelta merged = delta != null ? delta : new UsageDelta();
+            merged.count += usage.count();
+            if (merged.lastUsedAt == null || usage.lastUsedAt().isAfter(merged.lastUsedAt)) {
+                merged.lastUsedAt = usage.lastUsedAt();
+                merged.lastUsedIp = usage.lastUsedIp();
+            }
+            return merged;
+        });
+    }
+
+    /**
+     * Mutable delta; only touched inside ConcurrentHashMap.compute.
+     */
+    private static final class UsageDelta {
+        private long count;
+        private LocalDateTime lastUsedAt;
+        private String lastUsedIp;
+    }
+
+    private record FlushedUsage(UUID apiKeyId, long count, LocalDateTime lastUsedAt, String lastUsedIp) {
+    }
+}
@@ -0,0 +1,179 @@
+package com.cafm.cafmbackend.security.service;
+
+import com.cafm.cafmbackend.configuration.cache.CacheInvalidationBus;
+import com.cafm.cafmbackend.infrastructure.persistence.entity.ApiKey;
+import com.cafm.cafmbackend.infrastructure.persistence.repository.ApiKeyRepository;
+import com.cafm.cafmbackend.security.event.ApiKeyChangedEvent;
+import com.github.benmanes.caffeine.cache.CacheLoader;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.LoadingCache;
+import com.github.benmanes.caffeine.cache.Ticker;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.SecureRandom;
+import java.time.Duration;
+import java.util.Base64;
+import java.util.UUID;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Per-node cache of API keys whose secret has already been verified.
+ *
+ * Purpose: Take the BCrypt check and the key lookup off steady-state API key requests
+ * Pattern: Caffeine cache keyed by an HMAC-SHA256 digest of the presented key; entries are
+ *          re-read by id after the refresh interval so revocations apply without re-hashing
+ * Java 23: Record cache entries, reloads on the Caffeine refresh executor
+ * Architecture: Used by ApiKeyAuthenticationFilter; invalidated by ApiKeyChangedEvent and
+ *               propagated to other nodes over the cache invalidation bus
+ * Standards: The digest secret is random per node and never leaves memory; failed
+ *            verifications are never cached
+ */
+@Component
+public class ApiKeyVerificationCache {
+
+    private static final Logger logger = LoggerFactory.getLogger(ApiKeyVerificationCache.class);
+
+    static final String CACHE_NAME = "api-keys";
+    private static final String DIGEST_ALGORITHM = "HmacSHA256";
+
+    private final LoadingCache<String, VerifiedApiKey> verifiedKeys;
+    private final ApiKeyRepository apiKeyRepository;
+    private final CacheInvalidationBus invalidationBus;
+    private final SecretKeySpec digestKey;
+
+    @Autowired
+    public ApiKeyVerificationCache(@Lazy ApiKeyRepository apiKeyRepository,
+                                   CacheInvalidationBus invalidationBus,
+                                   MeterRegistry meterRegistry,
+                                   @Value("${app.security.api-key-cache.max-size:10000}") long maxSize,
+                                   @Value("${app.security.api-key-cache.ttl:PT15M}") Duration ttl,
+                                   @Value("${app.security.api-key-cache.refresh:PT30S}") Duration refresh) {
+        this(apiKeyRepository, invalidationBus, meterRegistry, maxSize, ttl, refresh,
+             Ticker.systemTicker(), ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Cache on the given clock, reloading entries on the given executor.
+     */
+    ApiKeyVerificationCache(ApiKeyRepository apiKeyRepository,
+                            CacheInvalidationBus invalidationBus,
+                            MeterRegistry meterRegistry,
+                            long maxSize,
+                            Duration ttl,
+                            Duration refresh,
+                            Ticker ticker,
+                            Executor refreshExecutor) {
+        this.apiKeyRepository = apiKeyRepository;
+        this.invalidationBus = invalidationBus;
+
+        byte[] secret = new byte[32];
+        new SecureRandom().nextBytes(secret);
+        this.digestKey = new SecretKeySpec(secret, DIGEST_ALGORITHM);
+
+        this.verifiedKeys = Caffeine.newBuilder()
+            .maximumSize(maxSize)
+            .expireAfterWrite(ttl)
+            .refreshAfterWrite(refresh)
+            .ticker(ticker)
+            .executor(refreshExecutor)
+            .recordStats()
+            .build(new CacheLoader<>() {
+                @Override
+                public VerifiedApiKey load(String digest) {
+                    // Entries are only ever inserted after a successful BCrypt check
+                    return null;
+                }
+
+                @Override
+                public VerifiedApiKey reload(String digest, VerifiedApiKey current) {
+                    return revalidate(current);
+                }
+            });
+
+        CaffeineCacheMetrics.monitor(meterRegistry, verifiedKeys, "api-key-verifications");
+        invalidationBus.registerLocalHandler(CACHE_NAME, this::invalidateLocal, verifiedKeys::invalidateAll);
+    }
+
+    /**
+     * Digest under which a presented key is cached.
+     */
+    public String digest(String presentedKey) {
+        try {
+            Mac mac = Mac.getInstance(DIGEST_ALGORITHM);
+            mac.init(digestKey);
+            byte[] digest = mac.doFinal(presentedKey.getBytes(StandardCharsets.UTF_8));
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(digest);
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("HMAC-SHA256 not available", e);
+        }
+    }
+
+    /**
+     * Previously verified key for a digest, or null.
+     */
+    public ApiKey get(String digest) {
+        VerifiedApiKey verified = verifiedKeys.getIfPresent(digest);
+        return verified != null ? verified.apiKey() : null;
+    }
+
+    /**
+     * Remember a key whose secret has just been verified.
+     */
+    public void put(String digest, ApiKey apiKey) {
+        verifiedKeys.put(digest, new VerifiedApiKey(apiKey.getId(), apiKey));
+    }
+
+    /**
+     * Drop a key on every node, e.g. after it was revoked or its scopes changed.
+     */
+    public void invalidate(UUID apiKeyId) {
+        invalidateLocal(apiKeyId.toString());
+        invalidationBus.publishEvict(CACHE_NAME, apiKeyId.toString());
+    }
+
+    /**
+     * Drop a revoked or changed key once the change is committed.
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onApiKeyChanged(ApiKeyChangedEvent event) {
+        invalidate(event.apiKeyId());
+        logger.debug("Invalidated cached verification for API key: {}", event.apiKeyId());
+    }
+
+    private void invalidateLocal(String apiKeyId) {
+        verifiedKeys.asMap().values().removeIf(verified -> verified.apiKeyId().toString().equals(apiKeyId));
+    }
+
+    /**
+     * Re-read a cached key by id; a revoked, expired or deleted key is dropped.
+     */
+    private VerifiedApiKey revalidate(VerifiedApiKey current) {
+        try {
+            return apiKeyRepository.findById(current.apiKeyId())
+                .filter(ApiKey::isValid)
+                .filter(apiKey -> apiKey.getKeyHash().equals(current.apiKey().getKeyHash()))
+                .map(apiKey -> new VerifiedApiKey(apiKey.getId(), apiKey))
+                .orElse(null);
+        } catch (RuntimeException e) {
+            // Keep serving the verified entry until it expires rather than failing requests
+            logger.warn("Failed to revalidate API key {}: {}", current.apiKeyId(), e.getMessage());
+            return current;
+        }
+    }
+
+    private record VerifiedApiKey(UUID apiKeyId, ApiKey apiKey) {
+    }
+}
@@ -0,0 +1,175 @@
+package com.cafm.cafmbackend.security.service;
+
+import com.cafm.cafmbackend.configuration.cache.CacheInvalidationBus;
+import com.cafm.cafmbackend.infrastructure.persistence.entity.Company;
+import com.cafm.cafmbackend.infrastructure.persistence.entity.Role;
+import com.cafm.cafmbackend.infrastructure.persistence.entity.User;
+import com.cafm.cafmbackend.security.event.UserSecurityChangedEvent;
+import com.cafm.cafmbackend.shared.enums.UserStatus;
+import com.cafm.cafmbackend.shared.enums.UserType;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Date;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+/**
+ * Per-node cache of authenticated principals resolved from JWT subjects.
+ *
+ * Purpose: Avoid a user lookup on every authenticated request
+ * Pattern: Caffeine cache with per-entry expiry bounded by the token expiry and a maximum TTL;
+ *          event-driven invalidation, propagated to other nodes over the cache invalidation bus
+ * Java 23: Records for cache entries; principals are kept as immutable snapshots
+ * Architecture: Used by JwtAuthenticationFilter; invalidated by UserSecurityChangedEvent
+ * Standards: Loads that started before the latest invalidation of a subject are not cached,
+ *            so a concurrent request cannot re-insert a stale principal; every hit gets its
+ *            own User copy, so no request can change what another one sees
+ */
+@Component
+public class AuthenticatedPrincipalCache {
+
+    private static final Logger logger = LoggerFactory.getLogger(AuthenticatedPrincipalCache.class);
+
+    static final String CACHE_NAME = "principals";
+
+    private final Cache<String, CachedPrincipal> principals;
+    private final Cache<String, Long> invalidatedAt;
+    private final CacheInvalidationBus invalidationBus;
+
+    public AuthenticatedPrincipalCache(CacheInvalidationBus invalidationBus,
+                                       MeterRegistry meterRegistry,
+                                       @Value("${app.security.principal-cache.max-size:50000}") long maxSize,
+                                       @Value("${app.security.principal-cache.ttl:PT5M}") Duration ttl) {
+        this.invalidationBus = invalidationBus;
+        long maxTtlNanos = ttl.toNanos();
+
+        this.principals = Caffeine.newBuilder()
+            .maximumSize(maxSize)
+            .expireAfter(new Expiry<String, CachedPrincipal>() {
+                @Override
+                public long expireAfterCreate(String key, CachedPrincipal value, long currentTime) {
+                    long untilTokenExpiry = Duration.ofMillis(value.tokenExpiresAtMillis() - System.currentTimeMillis()).toNanos();
+                    return Math.max(0, Math.min(maxTtlNanos, untilTokenExpiry));
+                }
+
+                @Override
+                public long expireAfterUpdate(String key, CachedPrincipal value, long currentTime, long currentDuration) {
+                    return expireAfterCreate(key, value, currentTime);
+                }
+
+                @Override
+                public long expireAfterRead(String key, CachedPrincipal value, long currentTime, long currentDuration) {
+                    return currentDuration;
+                }
+            })
+            .recordStats()
+            .build();
+        this.invalidatedAt = Caffeine.newBuilder()
+            .maximumSize(maxSize)
+            .expireAfterWrite(ttl)
+            .build();
+
+        CaffeineCacheMetrics.monitor(meterRegistry, principals, "jwt-principals");
+        invalidationBus.registerLocalHandler(CACHE_NAME, this::invalidateLocal, this::clearLocal);
+    }
+
+    /**
+     * Cached principal for a subject as a new detached User, or null.
+     */
+    public User get(String subject) {
+        CachedPrincipal cached = principals.getIfPresent(subject);
+        return cached != null ? cached.principal().toUser() : null;
+    }
+
+    /**
+     * Cache a principal loaded at {@code loadStartedNanos} (from {@link System#nanoTime()}),
+     * unless the subject was invalidated after the load began.
+     */
+    public void put(String subject, User user, Date tokenExpiration, long loadStartedNanos) {
+        Long invalidated = invalidatedAt.getIfPresent(subject);
+        if (invalidated != null && invalidated - loadStartedNanos >= 0) {
+            return;
+        }
+        long tokenExpiresAt = tokenExpiration != null ? tokenExpiration.getTime() : System.currentTimeMillis();
+        principals.put(subject, new CachedPrincipal(PrincipalSnapshot.of(user), tokenExpiresAt));
+    }
+
+    /**
+     * Drop a user's principal on every node once the change is committed.
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onUserSecurityChanged(UserSecurityChangedEvent event) {
+        if (event.email() == null) {
+            return;
+        }
+        invalidateLocal(event.email());
+        invalidationBus.publishEvict(CACHE_NAME, event.email());
+        logger.debug("Invalidated cached principal for user: {}", event.userId());
+    }
+
+    private void invalidateLocal(String key) {
+        invalidatedAt.put(key, System.nanoTime());
+        principals.invalidate(key);
+    }
+
+    private void clearLocal() {
+        principals.invalidateAll();
+    }
+
+    private record CachedPrincipal(PrincipalSnapshot principal, long tokenExpiresAtMillis) {
+    }
+
+    /**
+     * The fields authentication and tenant resolution read from a principal.
+     * Credentials are not kept; the login name is the email.
+     */
+    record PrincipalSnapshot(UUID id, String email, String firstName, String lastName,
+                             UserType userType, UserStatus status, boolean active, boolean locked,
+                             LocalDateTime deletedAt, UUID companyId, Set<String> roleNames) {
+
+        static PrincipalSnapshot of(User user) {
+            Set<String> roleNames = user.getRoles() == null ? Set.of() : user.getRoles().stream()
+                .map(Role::getName)
+                .collect(Collectors.toUnmodifiableSet());
+            UUID companyId = user.getCompany() != null ? user.getCompany().getId() : null;
+            return new PrincipalSnapshot(user.getId(), user.getEmail(), user.getFirstName(), user.getLastName(),
+                user.getUserType(), user.getStatus(), Boolean.TRUE.equals(user.getIsActive()),
+                Boolean.TRUE.equals(user.getIsLocked()), user.getDeletedAt(), companyId, roleNames);
+        }
+
+        User toUser() {
+            User user = new User();
+            user.setId(id);
+            user.setEmail(email);
+            user.setFirstName(firstName);
+            user.setLastName(lastName);
+            user.setUserType(userType);
+            user.setStatus(status);
+            user.setIsActive(active);
+            user.setIsLocked(locked);
+            user.setDeletedAt(deletedAt);
+            if (companyId != null) {
+                Company company = new Company();
+                company.setId(companyId);
+                user.setCompany(company);
+            }
+            user.setRoles(roleNames.stream()
+                .map(name -> new Role(name, null))
+                .collect(Collectors.toCollection(HashSet::new)));
+            return user;
+        }
+    }
+}
@@ -0,0 +1,84 @@
+-- Create sync change log for incremental mobile synchronization
+-- Purpose: Track the latest change per synced entity so devices pull O(changes) instead of O(table)
+-- Pattern: Compacted change log (one row per entity) with lazily assigned monotonic sequence numbers
+-- Architecture: Complements sync_logs/device_registrations (V129); cursors handed to devices are change_seq values
+-- Standards: Follows existing naming conventions and partial index style
+
+-- Global sequence; values are only assigned by the per-tenant sequencer so that
+-- a cursor never skips a change that commits later with a lower number
+CREATE SEQUENCE IF NOT EXISTS sync_change_seq;
+
+CREATE TABLE sync_change_log (
+    entity_type VARCHAR(30) NOT NULL CHECK (entity_type IN ('REPORT', 'WORK_ORDER', 'ASSET')),
+    entity_id UUID NOT NULL,
+    company_id UUID NOT NULL,
+    school_id UUID,
+    change_seq BIGINT,
+    is_deleted BOOLEAN NOT NULL DEFAULT false,
+    changed_at TIMESTAMP WITH TIME ZONE NOT NULL DEFAULT CURRENT_TIMESTAMP,
+
+    CONSTRAINT pk_sync_change_log PRIMARY KEY (entity_type, entity_id)
+);
+
+-- Cursor scans: (tenant, seq) range reads bounded by batch size
+CREATE INDEX idx_sync_change_log_cursor ON sync_change_log(company_id, change_seq)
+    WHERE change_seq IS NOT NULL;
+
+-- Sequencer lookups: rows changed since the last sequencing pass
+CREATE INDEX idx_sync_change_log_pending ON sync_change_log(company_id)
+    WHERE change_seq IS NULL;
+
+-- Record a change for the row being written; re-marks the entry as pending
+CREATE OR REPLACE FUNCTION record_sync_change()
+RETURNS TRIGGER AS $$
+DECLARE
+    v_entity_type VARCHAR(30) := TG_ARGV[0];
+    v_row RECORD;
+BEGIN
+    IF TG_OP = 'DELETE' THEN
+        v_row := OLD;
+    ELSE
+        v_row := NEW;
+    END IF;
+
+    INSERT INTO sync_change_log (entity_type, entity_id, company_id, school_id, change_seq, is_deleted, changed_at)
+    VALUES (v_entity_type, v_row.id, v_row.company_id, v_row.school_id, NULL,
+            TG_OP = 'DELETE' OR v_row.deleted_at IS NOT NULL, CURRENT_TIMESTAMP)
+    ON CONFLICT (entity_type, entity_id) DO UPDATE
+        SET company_id = EXCLUDED.company_id,
+            school_id = EXCLUDED.school_id,
+            change_seq = NULL,
+            is_deleted = EXCLUDED.is_deleted,
+            changed_at = EXCLUDED.changed_at;
+
+    RETURN NULL;
+END;
+$$ LANGUAGE plpgsql;
+
+CREATE TRIGGER trg_reports_sync_change
+    AFTER INSERT OR UPDATE OR DELETE ON reports
+    FOR EACH ROW EXECUTE FUNCTION record_sync_change('REPORT');
+
+CREATE TRIGGER trg_work_orders_sync_change
+    AFTER INSERT OR UPDATE OR DELETE ON work_orders
+    FOR EACH ROW EXECUTE FUNCTION record_sync_change('WORK_ORDER');
+
+CREATE TRIGGER trg_assets_sync_change
+    AFTER INSERT OR UPDATE OR DELETE ON assets
+    FOR EACH ROW EXECUTE FUNCTION record_sync_change('ASSET');
+
+-- Backfill existing rows in modification order so the first full sync has a stable ordering
+INSERT INTO sync_change_log (entity_type, entity_id, company_id, school_id, change_seq, is_deleted, changed_at)
+SELECT entity_type, id, company_id, school_id, nextval('sync_change_seq'), deleted_at IS NOT NULL,
+       COALESCE(updated_at, CURRENT_TIMESTAMP)
+FROM (
+    SELECT 'REPORT' AS entity_type, id, company_id, school_id, deleted_at, updated_at FROM reports
+    UNION ALL
+    SELECT 'WORK_ORDER', id, company_id, school_id, deleted_at, updated_at FROM work_orders
+    UNION ALL
+    SELECT 'ASSET', id, company_id, school_id, deleted_at, updated_at FROM assets
+    ORDER BY updated_at
+) existing;
+
+COMMENT ON TABLE sync_change_log IS 'Latest change per synced entity; change_seq is the opaque cursor handed to mobile devices';
+COMMENT ON COLUMN sync_change_log.change_seq IS 'Monotonic per-commit sequence, NULL until the tenant sequencer stamps the change';
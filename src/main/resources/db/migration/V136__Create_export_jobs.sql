@@ -0,0 +1,46 @@
+-- Create export jobs table for asynchronous Excel/PDF exports
+-- Purpose: Track submitted exports and the MinIO artifact each one produced
+-- Pattern: Job table polled by clients (submit -> status -> download)
+-- Architecture: Artifacts live in the files bucket; rows are matched on dedup_key to reuse recent exports
+-- Standards: Follows existing naming conventions, UUID primary keys and partial index style
+
+CREATE TABLE export_jobs (
+    id UUID PRIMARY KEY DEFAULT gen_random_uuid(),
+    company_id UUID NOT NULL REFERENCES companies(id) ON DELETE CASCADE,
+    requested_by UUID REFERENCES users(id) ON DELETE SET NULL,
+    export_type VARCHAR(40) NOT NULL CHECK (export_type IN (
+        'MAINTENANCE_REPORTS_EXCEL', 'MAINTENANCE_REPORTS_PDF',
+        'WORK_ORDERS_EXCEL', 'WORK_ORDERS_PDF', 'ASSETS_INVENTORY_EXCEL'
+    )),
+    status VARCHAR(20) NOT NULL CHECK (status IN ('QUEUED', 'RUNNING', 'COMPLETED', 'FAILED', 'EXPIRED')),
+    start_date DATE,
+    end_date DATE,
+    dedup_key VARCHAR(200) NOT NULL,
+    file_name VARCHAR(255) NOT NULL,
+    object_name VARCHAR(500),
+    file_size BIGINT,
+    error_message TEXT,
+    started_at TIMESTAMP,
+    completed_at TIMESTAMP,
+    expires_at TIMESTAMP,
+    created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    updated_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    created_by UUID,
+    modified_by UUID,
+    version BIGINT DEFAULT 0
+);
+
+-- Deduplication lookups: latest live job for the same tenant and export parameters
+CREATE INDEX idx_export_jobs_dedup ON export_jobs(company_id, dedup_key, created_at DESC)
+    WHERE status IN ('QUEUED', 'RUNNING', 'COMPLETED');
+
+-- Artifact cleanup: completed jobs ordered by expiry
+CREATE INDEX idx_export_jobs_expires ON export_jobs(expires_at)
+    WHERE status = 'COMPLETED';
+
+-- Stale job recovery: jobs left queued or running by a stopped node
+CREATE INDEX idx_export_jobs_unfinished ON export_jobs(updated_at)
+    WHERE status IN ('QUEUED', 'RUNNING');
+
+COMMENT ON TABLE export_jobs IS 'Asynchronous export jobs and their MinIO artifacts';
+COMMENT ON COLUMN export_jobs.dedup_key IS 'Export type and parameters; identical submissions within the dedup TTL reuse the job';
@@ -0,0 +1,46 @@
+-- Add spatial indexes for nearby/k-NN location queries without PostGIS
+-- Purpose: Answer radius and nearest-neighbour lookups on schools, work orders and reports from an index
+--          instead of evaluating a distance expression over every row
+-- Pattern: cube + earthdistance contrib extensions; GiST index on (company_id, geo_point(lat, lon))
+--          serves the tenant filter, the earth_box prefilter and ORDER BY <-> (k-NN) in one scan
+-- Architecture: Used by the nearby queries in SchoolRepository, WorkOrderRepository and ReportRepository
+-- Standards: Follows existing naming conventions and partial index style; queries must repeat the
+--            partial index predicate (deleted_at IS NULL, coordinates NOT NULL) to use the index
+
+CREATE EXTENSION IF NOT EXISTS cube;
+CREATE EXTENSION IF NOT EXISTS earthdistance;
+CREATE EXTENSION IF NOT EXISTS btree_gist;
+
+-- Point on the earth cube for a coordinate pair.
+-- Wraps ll_to_earth with a pinned search_path so the index expression also evaluates
+-- during restores and maintenance, where the caller's search_path is not available.
+CREATE OR REPLACE FUNCTION geo_point(lat DOUBLE PRECISION, lon DOUBLE PRECISION)
+RETURNS earth
+LANGUAGE sql
+IMMUTABLE STRICT PARALLEL SAFE
+SET search_path = public
+AS $$
+    SELECT ll_to_earth(lat, lon)
+$$;
+
+-- Reports map latitude/longitude but the columns were never created
+ALTER TABLE reports ADD COLUMN IF NOT EXISTS latitude DOUBLE PRECISION;
+ALTER TABLE reports ADD COLUMN IF NOT EXISTS longitude DOUBLE PRECISION;
+
+CREATE INDEX IF NOT EXISTS idx_schools_geo ON schools
+    USING gist (company_id, geo_point(latitude::float8, longitude::float8))
+    WHERE deleted_at IS NULL AND latitude IS NOT NULL AND longitude IS NOT NULL;
+
+CREATE INDEX IF NOT EXISTS idx_work_orders_geo ON work_orders
+    USING gist (company_id, geo_point(latitude::float8, longitude::float8))
+    WHERE deleted_at IS NULL AND latitude IS NOT NULL AND longitude IS NOT NULL;
+
+CREATE INDEX IF NOT EXISTS idx_reports_geo ON reports
+    USING gist (company_id, geo_point(latitude, longitude))
+    WHERE deleted_at IS NULL AND latitude IS NOT NULL AND longitude IS NOT NULL;
+
+ANALYZE schools;
+ANALYZE work_orders;
+ANALYZE reports;
+
+COMMENT ON FUNCTION geo_point(DOUBLE PRECISION, DOUBLE PRECISION) IS 'll_to_earth with a fixed search_path; used by the *_geo GiST indexes and nearby queries';
@@ -0,0 +1,90 @@
+-- Align notification_queue with the NotificationQueue entity and index it for dispatch
+-- Purpose: Let NotificationDispatcher claim due notifications in batches with FOR UPDATE SKIP LOCKED
+-- Pattern: Additive columns (IF NOT EXISTS), backfill, partial expression index on the dispatch predicate
+-- Architecture: Used by NotificationDispatchRepository; cleanup via NotificationQueueRepository
+-- Standards: Follows existing naming conventions; priorities are stored as upper-case enum names
+
+-- Columns mapped by NotificationQueue / BaseEntity that the original table never had
+ALTER TABLE notification_queue ADD COLUMN IF NOT EXISTS updated_at TIMESTAMP WITH TIME ZONE NOT NULL DEFAULT CURRENT_TIMESTAMP;
+ALTER TABLE notification_queue ADD COLUMN IF NOT EXISTS created_by UUID;
+ALTER TABLE notification_queue ADD COLUMN IF NOT EXISTS modified_by UUID;
+ALTER TABLE notification_queue ADD COLUMN IF NOT EXISTS version BIGINT DEFAULT 0;
+ALTER TABLE notification_queue ADD COLUMN IF NOT EXISTS device_token VARCHAR(255);
+ALTER TABLE notification_queue ADD COLUMN IF NOT EXISTS topic VARCHAR(100);
+ALTER TABLE notification_queue ADD COLUMN IF NOT EXISTS notification_type VARCHAR(50);
+ALTER TABLE notification_queue ADD COLUMN IF NOT EXISTS category VARCHAR(50);
+ALTER TABLE notification_queue ADD COLUMN IF NOT EXISTS platform VARCHAR(20);
+ALTER TABLE notification_queue ADD COLUMN IF NOT EXISTS sound VARCHAR(100);
+ALTER TABLE notification_queue ADD COLUMN IF NOT EXISTS badge INTEGER;
+ALTER TABLE notification_queue ADD COLUMN IF NOT EXISTS status VARCHAR(20) NOT NULL DEFAULT 'PENDING';
+ALTER TABLE notification_queue ADD COLUMN IF NOT EXISTS failed_at TIMESTAMP WITH TIME ZONE;
+ALTER TABLE notification_queue ADD COLUMN IF NOT EXISTS max_retries INTEGER DEFAULT 3;
+ALTER TABLE notification_queue ADD COLUMN IF NOT EXISTS next_retry_at TIMESTAMP WITH TIME ZONE;
+ALTER TABLE notification_queue ADD COLUMN IF NOT EXISTS error_code VARCHAR(50);
+ALTER TABLE notification_queue ADD COLUMN IF NOT EXISTS scheduled_for TIMESTAMP WITH TIME ZONE;
+ALTER TABLE notification_queue ADD COLUMN IF NOT EXISTS expires_at TIMESTAMP WITH TIME ZONE;
+ALTER TABLE notification_queue ADD COLUMN IF NOT EXISTS fcm_message_id VARCHAR(255);
+ALTER TABLE notification_queue ADD COLUMN IF NOT EXISTS fcm_response JSONB;
+ALTER TABLE notification_queue ADD COLUMN IF NOT EXISTS company_id UUID REFERENCES companies(id) ON DELETE CASCADE;
+ALTER TABLE notification_queue ADD COLUMN IF NOT EXISTS created_by_user UUID REFERENCES users(id) ON DELETE SET NULL;
+
+-- Topic notifications have no recipient user
+ALTER TABLE notification_queue ALTER COLUMN user_id DROP NOT NULL;
+ALTER TABLE notification_queue ALTER COLUMN title TYPE VARCHAR(500);
+
+-- Backfill tenant and status of existing rows
+UPDATE notification_queue nq
+SET company_id = u.company_id
+FROM users u
+WHERE nq.user_id = u.id AND nq.company_id IS NULL;
+
+-- Nothing drained the queue before the dispatcher, so unprocessed rows are a stale backlog:
+-- expire them rather than pushing old notifications to devices on the first deploy
+UPDATE notification_queue
+SET status = CASE WHEN processed IS TRUE THEN 'SENT' ELSE 'EXPIRED' END,
+    failed_at = CASE WHEN processed IS TRUE THEN failed_at ELSE CURRENT_TIMESTAMP END,
+    error_code = CASE WHEN processed IS TRUE THEN error_code ELSE 'STALE_BACKLOG' END
+WHERE status = 'PENDING';
+
+-- Priorities are mapped as enum names; older writers (e.g. the V9 rule engine) insert lower case
+-- priorities and no company_id, so both are normalized on write
+ALTER TABLE notification_queue DROP CONSTRAINT IF EXISTS chk_notification_priority;
+UPDATE notification_queue SET priority = UPPER(priority) WHERE priority <> UPPER(priority);
+
+CREATE OR REPLACE FUNCTION normalize_notification_queue_row()
+RETURNS TRIGGER AS $$
+BEGIN
+    NEW.priority := UPPER(COALESCE(NEW.priority, 'NORMAL'));
+    IF NEW.company_id IS NULL AND NEW.user_id IS NOT NULL THEN
+        SELECT company_id INTO NEW.company_id FROM users WHERE id = NEW.user_id;
+    END IF;
+    RETURN NEW;
+END;
+$$ LANGUAGE plpgsql;
+
+DROP TRIGGER IF EXISTS normalize_notification_queue_row ON notification_queue;
+CREATE TRIGGER normalize_notification_queue_row
+    BEFORE INSERT OR UPDATE OF priority, company_id ON notification_queue
+    FOR EACH ROW EXECUTE FUNCTION normalize_notification_queue_row();
+
+ALTER TABLE notification_queue ALTER COLUMN priority SET DEFAULT 'NORMAL';
+ALTER TABLE notification_queue ADD CONSTRAINT chk_notification_priority
+    CHECK (priority IN ('LOW', 'NORMAL', 'HIGH', 'URGENT'));
+ALTER TABLE notification_queue ADD CONSTRAINT chk_notification_status
+    CHECK (status IN ('PENDING', 'PROCESSING', 'SENT', 'FAILED', 'RETRY', 'EXPIRED', 'CANCELLED'));
+
+-- Claim query: one priority at a time, oldest due first
+CREATE INDEX IF NOT EXISTS idx_notification_queue_dispatch ON notification_queue
+    (priority, (COALESCE(next_retry_at, scheduled_for, created_at)))
+    WHERE status IN ('PENDING', 'RETRY');
+
+-- Recovery of claims abandoned by a stopped node
+CREATE INDEX IF NOT EXISTS idx_notification_queue_processing ON notification_queue (updated_at)
+    WHERE status = 'PROCESSING';
+
+-- Cleanup of processed rows
+CREATE INDEX IF NOT EXISTS idx_notification_queue_status_sent ON notification_queue (status, sent_at);
+
+ANALYZE notification_queue;
+
+COMMENT ON INDEX idx_notification_queue_dispatch IS 'Due notifications per priority; matches NotificationDispatchRepository.claimDue';
@@ -0,0 +1,24 @@
+-- Add keyset pagination indexes for cursor-based list endpoints
+-- Purpose: Serve "newest first" pages after a (created_at, id) cursor with an index range scan, so page N
+--          reads the same handful of rows as page 1 instead of skipping OFFSET rows
+-- Pattern: Composite B-tree matching the seek predicate and ORDER BY ... DESC, id DESC exactly;
+--          the id column breaks ties between rows created in the same microsecond
+-- Architecture: Used by the cursor queries in SeekPagingRepository (work orders, reports),
+--               AuditLogRepository and NotificationRepository
+-- Standards: Follows existing naming conventions and partial index style; queries repeat the
+--            partial index predicate (deleted_at IS NULL) to use the index
+
+CREATE INDEX IF NOT EXISTS idx_work_orders_company_created_seek
+    ON work_orders (company_id, created_at DESC, id DESC)
+    WHERE deleted_at IS NULL;
+
+CREATE INDEX IF NOT EXISTS idx_reports_company_created_seek
+    ON reports (company_id, created_at DESC, id DESC)
+    WHERE deleted_at IS NULL;
+
+CREATE INDEX IF NOT EXISTS idx_audit_logs_company_timestamp_seek
+    ON audit_logs (company_id, timestamp DESC, id DESC);
+
+CREATE INDEX IF NOT EXISTS idx_notifications_user_created_seek
+    ON notifications (user_id, created_at DESC, id DESC)
+    WHERE deleted_at IS NULL;
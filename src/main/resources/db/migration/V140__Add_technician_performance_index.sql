@@ -0,0 +1,14 @@
+-- Add technician performance index for date-range scorecards
+-- Purpose: Aggregate one technician's work orders created in a period with a single index range scan
+--          instead of loading every work order ever assigned to them
+-- Pattern: Composite B-tree on (assigned_to, created_at) with the aggregated columns INCLUDEd,
+--          so the scorecard query can run as an index-only scan
+-- Architecture: Used by WorkOrderRepository.aggregateTechnicianPerformance; the tenant-wide scorecard
+--               (aggregateTechnicianPerformanceByCompany) ranges over idx_work_orders_company_created_seek
+-- Standards: Follows existing naming conventions and partial index style; queries repeat the
+--            partial index predicate (deleted_at IS NULL) to use the index
+
+CREATE INDEX IF NOT EXISTS idx_work_orders_assignee_created_perf
+    ON work_orders (assigned_to, created_at)
+    INCLUDE (status, actual_start, actual_end, actual_hours)
+    WHERE deleted_at IS NULL;
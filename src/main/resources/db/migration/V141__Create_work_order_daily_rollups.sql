@@ -0,0 +1,37 @@
+-- Create daily work order rollups for analytics
+-- Purpose: Let trend, forecast and cost analytics read a few compact rows per tenant-day instead of
+--          scanning work_orders for every dashboard
+-- Pattern: Fact table at (company, creation day, school, status, priority) grain; a tenant-day is
+--          recomputed as a whole from work_orders, so rows are always an exact aggregate of that day
+-- Architecture: Maintained by WorkOrderRollupMaintainer (after-commit work order events and a nightly
+--               reconciliation) through WorkOrderRollupRepository; read by AdvancedAnalyticsService
+--               Rebuilding a tenant-day ranges over idx_work_orders_company_created_seek (V139)
+-- Standards: analytics_summary is not reused: its unique key has no company_id and only two dimensions;
+--            follows the existing RLS tenant isolation policy
+
+CREATE TABLE IF NOT EXISTS work_order_daily_rollups (
+    company_id UUID NOT NULL REFERENCES companies(id) ON DELETE CASCADE,
+    rollup_date DATE NOT NULL,
+    school_id UUID,
+    status VARCHAR(30) NOT NULL,
+    priority VARCHAR(30),
+    work_order_count INTEGER NOT NULL DEFAULT 0,
+    total_cost NUMERIC(14,2) NOT NULL DEFAULT 0,
+    -- Hours between actual start and end, over the work orders that have both
+    completion_hours_sum NUMERIC(14,2) NOT NULL DEFAULT 0,
+    completion_count INTEGER NOT NULL DEFAULT 0,
+    refreshed_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP
+);
+
+CREATE INDEX IF NOT EXISTS idx_work_order_daily_rollups_company_date
+    ON work_order_daily_rollups (company_id, rollup_date);
+
+ALTER TABLE work_order_daily_rollups ENABLE ROW LEVEL SECURITY;
+
+CREATE POLICY tenant_isolation_work_order_daily_rollups ON work_order_daily_rollups
+    FOR ALL USING (company_id = COALESCE(
+        NULLIF(current_setting('app.current_company_id', true), '')::UUID,
+        '00000000-0000-0000-0000-000000000001'::UUID
+    ));
+
+COMMENT ON TABLE work_order_daily_rollups IS 'Daily per-tenant work order aggregates by school, status and priority, keyed by creation date';
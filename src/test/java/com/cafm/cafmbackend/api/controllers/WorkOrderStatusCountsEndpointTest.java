@@ -0,0 +1,65 @@
+package com.cafm.cafmbackend.api.controllers;
+
+import com.cafm.cafmbackend.application.service.CurrentUserService;
+import com.cafm.cafmbackend.application.service.ReportGenerationService;
+import com.cafm.cafmbackend.application.service.WorkOrderService;
+import com.cafm.cafmbackend.configuration.web.ExportStreamer;
+import com.cafm.cafmbackend.shared.enums.WorkOrderStatus;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import java.util.Map;
+import java.util.UUID;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Unit tests for the work order status counts endpoint.
+ *
+ * Purpose: Verify status counts are only ever served for the caller's own company
+ * Pattern: Standalone MockMvc over WorkOrderController with mocked services
+ * Java 23: JUnit 5 with display names
+ * Architecture: Testing GET /api/v1/work-orders/statistics/status-counts
+ * Standards: A company id supplied by the client must never select the tenant
+ */
+@DisplayName("Work Order Status Counts Endpoint Tests")
+class WorkOrderStatusCountsEndpointTest {
+
+    private final UUID ownCompanyId = UUID.randomUUID();
+    private final UUID foreignCompanyId = UUID.randomUUID();
+
+    private WorkOrderService workOrderService;
+    private MockMvc mockMvc;
+
+    @BeforeEach
+    void setUp() {
+        workOrderService = mock(WorkOrderService.class);
+        CurrentUserService currentUserService = mock(CurrentUserService.class);
+        when(currentUserService.ensureTenantContext()).thenReturn(ownCompanyId);
+        when(workOrderService.getStatusCounts(ownCompanyId)).thenReturn(Map.of(WorkOrderStatus.IN_PROGRESS, 3L));
+
+        mockMvc = MockMvcBuilders.standaloneSetup(new WorkOrderController(
+            workOrderService, mock(ReportGenerationService.class), currentUserService,
+            mock(ExportStreamer.class))).build();
+    }
+
+    @Test
+    @DisplayName("A supervisor naming a foreign company should still get only their own company's counts")
+    void getStatusCounts_shouldIgnoreForeignCompanyId() throws Exception {
+        mockMvc.perform(get("/api/v1/work-orders/statistics/status-counts")
+                .param("companyId", foreignCompanyId.toString()))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.IN_PROGRESS").value(3));
+
+        verify(workOrderService).getStatusCounts(ownCompanyId);
+        verify(workOrderService, never()).getStatusCounts(foreignCompanyId);
+        verify(workOrderService, never()).getStatistics(any());
+    }
+}
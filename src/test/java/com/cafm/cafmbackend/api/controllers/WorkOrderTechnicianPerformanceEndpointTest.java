@@ -0,0 +1,75 @@
+package com.cafm.cafmbackend.api.controllers;
+
+import com.cafm.cafmbackend.application.service.CurrentUserService;
+import com.cafm.cafmbackend.application.service.ReportGenerationService;
+import com.cafm.cafmbackend.application.service.WorkOrderService;
+import com.cafm.cafmbackend.application.service.WorkOrderService.TechnicianPerformance;
+import com.cafm.cafmbackend.configuration.web.ExportStreamer;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Unit tests for the technician scorecards endpoint.
+ *
+ * Purpose: Verify technician scorecards are only ever served for the caller's own company
+ * Pattern: Standalone MockMvc over WorkOrderController with mocked services
+ * Java 23: JUnit 5 with display names
+ * Architecture: Testing GET /api/v1/work-orders/technicians/performance
+ * Standards: A company id supplied by the client must never select the tenant
+ */
+@DisplayName("Work Order Technician Performance Endpoint Tests")
+class WorkOrderTechnicianPerformanceEndpointTest {
+
+    private static final LocalDateTime START = LocalDateTime.of(2025, 1, 1, 0, 0);
+    private static final LocalDateTime END = LocalDateTime.of(2025, 2, 1, 0, 0);
+
+    private final UUID ownCompanyId = UUID.randomUUID();
+    private final UUID foreignCompanyId = UUID.randomUUID();
+
+    private WorkOrderService workOrderService;
+    private MockMvc mockMvc;
+
+    @BeforeEach
+    void setUp() {
+        workOrderService = mock(WorkOrderService.class);
+        CurrentUserService currentUserService = mock(CurrentUserService.class);
+        when(currentUserService.ensureTenantContext()).thenReturn(ownCompanyId);
+        TechnicianPerformance performance = new TechnicianPerformance();
+        performance.technicianId = UUID.randomUUID();
+        performance.completed = 4;
+        when(workOrderService.getTechnicianPerformanceForCompany(ownCompanyId, START, END))
+            .thenReturn(List.of(performance));
+
+        mockMvc = MockMvcBuilders.standaloneSetup(new WorkOrderController(
+            workOrderService, mock(ReportGenerationService.class), currentUserService,
+            mock(ExportStreamer.class))).build();
+    }
+
+    @Test
+    @DisplayName("An admin naming a foreign company should still get only their own company's scorecards")
+    void getTechnicianPerformance_shouldIgnoreForeignCompanyId() throws Exception {
+        mockMvc.perform(get("/api/v1/work-orders/technicians/performance")
+                .param("companyId", foreignCompanyId.toString())
+                .param("startDate", START.toString())
+                .param("endDate", END.toString()))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$[0].completed").value(4));
+
+        verify(workOrderService).getTechnicianPerformanceForCompany(ownCompanyId, START, END);
+        verify(workOrderService, never()).getTechnicianPerformanceForCompany(eq(foreignCompanyId), any(), any());
+    }
+}
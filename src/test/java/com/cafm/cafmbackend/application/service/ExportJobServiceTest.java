@@ -0,0 +1,119 @@
+package com.cafm.cafmbackend.application.service;
+
+import com.cafm.cafmbackend.application.service.tenant.TenantContextService;
+import com.cafm.cafmbackend.domain.services.FileStorageService;
+import com.cafm.cafmbackend.dto.export.ExportJobRequest;
+import com.cafm.cafmbackend.dto.export.ExportJobResponse;
+import com.cafm.cafmbackend.infrastructure.persistence.entity.ExportJob;
+import com.cafm.cafmbackend.infrastructure.persistence.entity.ExportJob.ExportStatus;
+import com.cafm.cafmbackend.infrastructure.persistence.entity.ExportJob.ExportType;
+import com.cafm.cafmbackend.infrastructure.persistence.repository.ExportJobRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for asynchronous export job submission.
+ *
+ * Purpose: Verify identical submissions are deduplicated and a full queue fails the job
+ * Pattern: JUnit 5 with mocked repository and executor and a manually driven transaction synchronization
+ * Java 23: JUnit 5 with display names
+ * Architecture: Testing ExportJobService without a database or worker threads
+ * Standards: A rejected job must end FAILED, never stay QUEUED
+ */
+@DisplayName("Export Job Service Tests")
+class ExportJobServiceTest {
+
+    private final UUID companyId = UUID.randomUUID();
+    private final UUID userId = UUID.randomUUID();
+    private final ExportJobRequest request = new ExportJobRequest(
+        ExportType.WORK_ORDERS_EXCEL, LocalDate.of(2025, 1, 1), LocalDate.of(2025, 1, 31));
+
+    private ExportJobRepository exportJobRepository;
+    private ThreadPoolTaskExecutor exportJobExecutor;
+    private ExportJobService service;
+
+    @BeforeEach
+    void setUp() {
+        exportJobRepository = mock(ExportJobRepository.class);
+        exportJobExecutor = mock(ThreadPoolTaskExecutor.class);
+        service = new ExportJobService(exportJobRepository, mock(ReportGenerationService.class),
+            mock(FileStorageService.class), mock(TenantContextService.class), exportJobExecutor,
+            new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(service, "dedupTtlMinutes", 30L);
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    @DisplayName("An identical submission within the dedup TTL should reuse the queued job")
+    void submit_shouldReuseIdenticalJob() {
+        ExportJob existing = job();
+        when(exportJobRepository.findFirstByCompanyIdAndDedupKeyAndStatusInAndCreatedAtAfterOrderByCreatedAtDesc(
+            eq(companyId), eq(existing.getDedupKey()), anyCollection(), any()))
+            .thenReturn(Optional.of(existing));
+
+        ExportJobResponse response = service.submit(companyId, userId, request);
+
+        assertTrue(response.reused());
+        assertEquals(existing.getId(), response.jobId());
+        verify(exportJobRepository).lockSubmission("export_jobs:" + companyId + ":" + existing.getDedupKey());
+        verify(exportJobRepository, never()).save(any());
+        verifyNoInteractions(exportJobExecutor);
+    }
+
+    @Test
+    @DisplayName("A job rejected by a full queue should be marked failed after commit")
+    void submit_shouldFailJobWhenQueueIsFull() {
+        ExportJob created = job();
+        when(exportJobRepository.findFirstByCompanyIdAndDedupKeyAndStatusInAndCreatedAtAfterOrderByCreatedAtDesc(
+            any(), any(), anyCollection(), any())).thenReturn(Optional.empty());
+        when(exportJobRepository.save(any(ExportJob.class))).thenReturn(created);
+        when(exportJobRepository.findById(created.getId())).thenReturn(Optional.of(created));
+        doThrow(new TaskRejectedException("queue full")).when(exportJobExecutor).execute(any(Runnable.class));
+
+        TransactionSynchronizationManager.initSynchronization();
+        ExportJobResponse response = service.submit(companyId, userId, request);
+        assertFalse(response.reused());
+        assertEquals(ExportStatus.QUEUED, created.getStatus());
+
+        List<TransactionSynchronization> synchronizations = TransactionSynchronizationManager.getSynchronizations();
+        TransactionSynchronizationManager.clearSynchronization();
+        synchronizations.forEach(TransactionSynchronization::afterCommit);
+
+        assertEquals(ExportStatus.FAILED, created.getStatus());
+        assertEquals("Export queue is full, please retry later", created.getErrorMessage());
+        verify(exportJobRepository, times(2)).save(created);
+
+        // A rejected job is not heartbeated, so the stale sweep can still see it
+        service.heartbeat();
+        verify(exportJobRepository, never()).touchJobs(anyCollection(), anyCollection(), any());
+    }
+
+    private ExportJob job() {
+        ExportJob job = new ExportJob(companyId, userId, request.exportType(), request.startDate(), request.endDate());
+        job.setId(UUID.randomUUID());
+        return job;
+    }
+}
@@ -0,0 +1,176 @@
+package com.cafm.cafmbackend.application.service;
+
+import com.cafm.cafmbackend.application.service.FcmClient.TokenResult;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the FCM transport against a local stub FCM server.
+ *
+ * Purpose: Verify multicast chunking, per-token result mapping and the request limit, which is
+ *          waited for off the calling thread
+ * Pattern: JUnit 5 with an in-process HTTP server speaking the legacy FCM send API
+ * Java 23: JUnit 5 with display names
+ * Architecture: Testing the transport behind PushNotificationService
+ * Standards: Every token must get a result, in the order it was given
+ */
+@DisplayName("FCM Client Tests")
+class FcmClientTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final AtomicInteger requests = new AtomicInteger();
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final AtomicInteger maxInFlight = new AtomicInteger();
+    private final List<FcmClient> clients = new ArrayList<>();
+    private volatile int responseStatus = 200;
+    private volatile CountDownLatch holdResponses;
+
+    private HttpServer stubServer;
+    private ExecutorService stubExecutor;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        stubServer = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        stubServer.createContext("/fcm/send", this::handleSend);
+        stubExecutor = Executors.newCachedThreadPool();
+        stubServer.setExecutor(stubExecutor);
+        stubServer.start();
+    }
+
+    @AfterEach
+    void tearDown() {
+        clients.forEach(FcmClient::close);
+        stubServer.stop(0);
+        stubExecutor.shutdownNow();
+    }
+
+    @Test
+    @DisplayName("Tokens should be sent in chunks of 1000 with results in token order")
+    void sendMulticast_shouldChunkAndMapResults() {
+        List<String> tokens = new ArrayList<>(IntStream.range(0, 2498).mapToObj(i -> "token-" + i).toList());
+        tokens.add("bad-token");
+        tokens.add("busy-token");
+
+        List<TokenResult> results = client(4).sendMulticast(tokens, Map.of("notification", Map.of("title", "Leak")))
+            .join();
+
+        assertEquals(3, requests.get());
+        assertEquals(tokens.size(), results.size());
+        assertEquals("token-1500", results.get(1500).token());
+        assertTrue(results.get(1500).success());
+        TokenResult invalid = results.get(2498);
+        assertTrue(invalid.invalidToken());
+        assertFalse(invalid.retryable());
+        TokenResult unavailable = results.get(2499);
+        assertEquals("Unavailable", unavailable.error());
+        assertTrue(unavailable.retryable());
+    }
+
+    @Test
+    @DisplayName("Concurrent requests should not exceed the configured limit")
+    void sendMulticast_shouldBoundConcurrency() {
+        List<String> tokens = IntStream.range(0, 6000).mapToObj(i -> "token-" + i).toList();
+
+        List<TokenResult> results = client(2).sendMulticast(tokens, Map.of()).join();
+
+        assertEquals(6, requests.get());
+        assertTrue(maxInFlight.get() <= 2, "max in flight was " + maxInFlight.get());
+        assertTrue(results.stream().allMatch(TokenResult::success));
+    }
+
+    @Test
+    @DisplayName("An HTTP error should fail every token of the request as retryable")
+    void sendMulticast_shouldFailAllTokensOnHttpError() {
+        responseStatus = 503;
+
+        List<TokenResult> results = client(4).sendMulticast(List.of("a", "b"), Map.of()).join();
+
+        assertEquals(2, results.size());
+        assertTrue(results.stream().noneMatch(TokenResult::success));
+        assertTrue(results.stream().allMatch(TokenResult::retryable));
+        assertTrue(results.stream().noneMatch(TokenResult::invalidToken));
+    }
+
+    @Test
+    @DisplayName("A caller should not wait for a request permit when the limit is reached")
+    void sendMulticast_shouldNotBlockCallerOnRequestLimit() {
+        holdResponses = new CountDownLatch(1);
+        List<String> tokens = IntStream.range(0, 3000).mapToObj(i -> "token-" + i).toList();
+        FcmClient client = client(1);
+
+        long started = System.nanoTime();
+        CompletableFuture<List<TokenResult>> pending = client.sendMulticast(tokens, Map.of());
+        long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started);
+
+        assertTrue(elapsedMillis < 1000, "sendMulticast blocked for " + elapsedMillis + " ms");
+        assertFalse(pending.isDone());
+        holdResponses.countDown();
+        List<TokenResult> results = pending.join();
+        assertEquals(3, requests.get());
+        assertEquals(1, maxInFlight.get());
+        assertTrue(results.stream().allMatch(TokenResult::success));
+    }
+
+    private FcmClient client(int maxConcurrentRequests) {
+        String url = "http://127.0.0.1:" + stubServer.getAddress().getPort() + "/fcm/send";
+        FcmClient client = new FcmClient(objectMapper, new SimpleMeterRegistry(), url, "test-key", true,
+            maxConcurrentRequests, Duration.ofSeconds(2), Duration.ofSeconds(5), Duration.ofSeconds(10));
+        clients.add(client);
+        return client;
+    }
+
+    @SuppressWarnings("unchecked")
+    private void handleSend(HttpExchange exchange) throws IOException {
+        requests.incrementAndGet();
+        maxInFlight.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+        try {
+            Map<String, Object> payload = objectMapper.readValue(exchange.getRequestBody(), Map.class);
+            assertEquals("key=test-key", exchange.getRequestHeaders().getFirst("Authorization"));
+            Thread.sleep(50);
+            CountDownLatch hold = holdResponses;
+            if (hold != null) {
+                hold.await(5, TimeUnit.SECONDS);
+            }
+
+            byte[] body = new byte[0];
+            if (responseStatus == 200) {
+                List<Map<String, Object>> results = ((List<String>) payload.get("registration_ids")).stream()
+                    .map(token -> token.startsWith("bad") ? Map.<String, Object>of("error", "NotRegistered")
+                        : token.startsWith("busy") ? Map.<String, Object>of("error", "Unavailable")
+                        : Map.<String, Object>of("message_id", "msg-" + token))
+                    .toList();
+                body = objectMapper.writeValueAsBytes(Map.of("multicast_id", 1, "results", results));
+            }
+            exchange.getResponseHeaders().add("Content-Type", "application/json");
+            exchange.sendResponseHeaders(responseStatus, body.length == 0 ? -1 : body.length);
+            exchange.getResponseBody().write(body);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            inFlight.decrementAndGet();
+            exchange.close();
+        }
+    }
+}
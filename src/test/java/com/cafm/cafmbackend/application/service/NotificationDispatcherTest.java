@@ -0,0 +1,180 @@
+package com.cafm.cafmbackend.application.service;
+
+import com.cafm.cafmbackend.application.service.FcmClient.TokenResult;
+import com.cafm.cafmbackend.application.service.PushNotificationService.DeliveryResult;
+import com.cafm.cafmbackend.infrastructure.persistence.entity.NotificationQueue;
+import com.cafm.cafmbackend.infrastructure.persistence.entity.NotificationQueue.NotificationPriority;
+import com.cafm.cafmbackend.infrastructure.persistence.entity.NotificationQueue.NotificationStatus;
+import com.cafm.cafmbackend.infrastructure.persistence.entity.User;
+import com.cafm.cafmbackend.infrastructure.persistence.repository.FCMTokenRepository;
+import com.cafm.cafmbackend.infrastructure.persistence.repository.NotificationDispatchRepository;
+import com.cafm.cafmbackend.infrastructure.persistence.repository.NotificationQueueRepository;
+import com.cafm.cafmbackend.infrastructure.persistence.repository.UserRepository;
+import com.cafm.cafmbackend.shared.enums.UserType;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for the notification queue dispatcher.
+ *
+ * Purpose: Verify priority order of claims and the queue state written for each delivery outcome
+ * Pattern: JUnit 5 with mocked repositories and push service
+ * Java 23: JUnit 5 with display names
+ * Architecture: Testing one worker iteration of NotificationDispatcher
+ * Standards: Every claimed notification must be written back, whatever its outcome
+ */
+@DisplayName("Notification Dispatcher Tests")
+class NotificationDispatcherTest {
+
+    private NotificationDispatchRepository dispatchRepository;
+    private PushNotificationService pushNotificationService;
+    private NotificationDispatcher dispatcher;
+
+    @BeforeEach
+    void setUp() {
+        dispatchRepository = mock(NotificationDispatchRepository.class);
+        pushNotificationService = mock(PushNotificationService.class);
+        when(dispatchRepository.claimDue(any(), any(), anyInt())).thenReturn(List.of());
+        dispatcher = new NotificationDispatcher(dispatchRepository, mock(NotificationQueueRepository.class),
+            pushNotificationService, new SimpleMeterRegistry(), 1, 100, Duration.ofSeconds(30));
+    }
+
+    @Test
+    @DisplayName("Higher priorities should be claimed first and outcomes written back in one batch")
+    void dispatchNextBatch_shouldApplyDeliveryOutcomes() {
+        NotificationQueue delivered = notification();
+        NotificationQueue transientFailure = notification();
+        NotificationQueue invalidToken = notification();
+        NotificationQueue expired = notification();
+        expired.setExpiresAt(LocalDateTime.now().minusMinutes(1));
+        List<NotificationQueue> claimed = List.of(delivered, transientFailure, invalidToken, expired);
+        when(dispatchRepository.claimDue(eq(NotificationPriority.HIGH), any(), eq(100))).thenReturn(claimed);
+        when(pushNotificationService.sendBatch(any())).thenReturn(Map.of(
+            delivered.getId(), new DeliveryResult(true, "msg-1", null, false),
+            transientFailure.getId(), new DeliveryResult(false, null, "Unavailable", true),
+            invalidToken.getId(), new DeliveryResult(false, null, "NotRegistered", false)));
+
+        assertEquals(4, dispatcher.dispatchNextBatch());
+
+        verify(dispatchRepository).claimDue(eq(NotificationPriority.URGENT), any(), eq(100));
+        verify(dispatchRepository, never()).claimDue(eq(NotificationPriority.NORMAL), any(), anyInt());
+        verify(pushNotificationService).sendBatch(List.of(delivered, transientFailure, invalidToken));
+        verify(dispatchRepository).saveOutcomes(claimed);
+
+        assertEquals(NotificationStatus.SENT, delivered.getStatus());
+        assertEquals("msg-1", delivered.getFcmMessageId());
+        assertEquals(NotificationStatus.RETRY, transientFailure.getStatus());
+        assertNotNull(transientFailure.getNextRetryAt());
+        assertEquals(NotificationStatus.FAILED, invalidToken.getStatus());
+        assertNull(invalidToken.getNextRetryAt());
+        assertEquals(NotificationStatus.EXPIRED, expired.getStatus());
+    }
+
+    @Test
+    @DisplayName("A failed send should schedule a retry instead of leaving the claim open")
+    void dispatchNextBatch_shouldRetryWhenSendThrows() {
+        NotificationQueue notification = notification();
+        when(dispatchRepository.claimDue(eq(NotificationPriority.URGENT), any(), anyInt()))
+            .thenReturn(List.of(notification));
+        when(pushNotificationService.sendBatch(any())).thenThrow(new IllegalStateException("connection reset"));
+
+        assertEquals(1, dispatcher.dispatchNextBatch());
+
+        assertEquals(NotificationStatus.RETRY, notification.getStatus());
+        assertEquals(1, notification.getRetryCount());
+        verify(dispatchRepository).saveOutcomes(List.of(notification));
+    }
+
+    @Test
+    @DisplayName("A notification addressed only to a user should reach that user's active devices")
+    void dispatchNextBatch_shouldSendUserOnlyRowsToActiveDevices() {
+        FcmClient fcmClient = mock(FcmClient.class);
+        FCMTokenRepository fcmTokenRepository = mock(FCMTokenRepository.class);
+        NotificationDispatcher userDispatcher = new NotificationDispatcher(dispatchRepository,
+            mock(NotificationQueueRepository.class), new PushNotificationService(fcmClient, fcmTokenRepository,
+                mock(UserRepository.class), mock(AuditService.class), new ObjectMapper()),
+            new SimpleMeterRegistry(), 1, 100, Duration.ofSeconds(30));
+
+        User withDevices = user();
+        User withoutDevices = user();
+        // Rows as written by the V9 rule engine and NotificationService: a user, no token or topic
+        NotificationQueue reachable = userNotification(withDevices);
+        NotificationQueue unreachable = userNotification(withoutDevices);
+        when(dispatchRepository.claimDue(eq(NotificationPriority.URGENT), any(), anyInt()))
+            .thenReturn(List.of(reachable, unreachable));
+        when(fcmClient.isEnabled()).thenReturn(true);
+        when(fcmTokenRepository.findActiveTokensByUserIds(any())).thenReturn(List.of(
+            new Object[] {withDevices.getId(), "old-phone"},
+            new Object[] {withDevices.getId(), "new-phone"}));
+        when(fcmClient.sendMulticast(eq(List.of("old-phone", "new-phone")), any()))
+            .thenReturn(CompletableFuture.completedFuture(List.of(
+                new TokenResult("old-phone", null, "NotRegistered", false, true),
+                new TokenResult("new-phone", "msg-2", null, false, false))));
+
+        assertEquals(2, userDispatcher.dispatchNextBatch());
+
+        assertEquals(NotificationStatus.SENT, reachable.getStatus());
+        assertEquals("msg-2", reachable.getFcmMessageId());
+        assertEquals(NotificationStatus.FAILED, unreachable.getStatus());
+        assertNull(unreachable.getNextRetryAt());
+        verify(fcmTokenRepository).deactivateTokens(eq(List.of("old-phone")), any());
+        verify(dispatchRepository).saveOutcomes(List.of(reachable, unreachable));
+    }
+
+    @Test
+    @DisplayName("Nothing due should claim nothing and send nothing")
+    void dispatchNextBatch_shouldReturnZeroWhenIdle() {
+        assertEquals(0, dispatcher.dispatchNextBatch());
+        verify(dispatchRepository, times(4)).claimDue(any(), any(), anyInt());
+        verifyNoInteractions(pushNotificationService);
+    }
+
+    private static User user() {
+        User user = new User("tech@school.sa", "tech", "hash", UserType.TECHNICIAN);
+        user.setId(UUID.randomUUID());
+        return user;
+    }
+
+    private static NotificationQueue userNotification(User user) {
+        NotificationQueue notification = NotificationQueue.builder()
+            .user(user)
+            .title("Work order assigned")
+            .body("WO-1042")
+            .priority(NotificationPriority.URGENT)
+            .status(NotificationStatus.PROCESSING)
+            .build();
+        notification.setId(UUID.randomUUID());
+        notification.setCreatedAt(LocalDateTime.now().minusSeconds(5));
+        return notification;
+    }
+
+    private static NotificationQueue notification() {
+        NotificationQueue notification = NotificationQueue.builder()
+            .deviceToken("token-" + UUID.randomUUID())
+            .title("Water leak")
+            .body("Building B")
+            .priority(NotificationPriority.HIGH)
+            .platform(NotificationQueue.Platform.ANDROID)
+            .status(NotificationStatus.PROCESSING)
+            .build();
+        notification.setId(UUID.randomUUID());
+        notification.setCreatedAt(LocalDateTime.now().minusSeconds(5));
+        return notification;
+    }
+}
@@ -0,0 +1,164 @@
+package com.cafm.cafmbackend.application.service;
+
+import com.cafm.cafmbackend.infrastructure.persistence.entity.Report;
+import com.cafm.cafmbackend.infrastructure.persistence.entity.WorkOrder;
+import com.cafm.cafmbackend.infrastructure.persistence.repository.AssetRepository;
+import com.cafm.cafmbackend.infrastructure.persistence.repository.ReportRepository;
+import com.cafm.cafmbackend.infrastructure.persistence.repository.WorkOrderRepository;
+import com.cafm.cafmbackend.shared.enums.ReportPriority;
+import com.cafm.cafmbackend.shared.enums.ReportStatus;
+import com.cafm.cafmbackend.shared.enums.WorkOrderStatus;
+import com.itextpdf.kernel.pdf.PdfDocument;
+import com.itextpdf.kernel.pdf.PdfReader;
+import com.itextpdf.kernel.pdf.canvas.parser.PdfTextExtractor;
+import jakarta.persistence.EntityManager;
+import org.apache.poi.ss.usermodel.Sheet;
+import org.apache.poi.ss.usermodel.Workbook;
+import org.apache.poi.xssf.usermodel.XSSFWorkbook;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for the streaming Excel and PDF export writers.
+ *
+ * Purpose: Verify exports are written while rows are read, release streamed entities, and parse back complete
+ * Pattern: JUnit 5 with repositories returning generated entity streams; output is parsed with POI and iText
+ * Java 23: JUnit 5 with display names
+ * Architecture: Testing ReportGenerationService without a database
+ * Standards: Memory is bounded by the row window and flush intervals, not by the number of exported rows
+ */
+@DisplayName("Report Generation Service Tests")
+class ReportGenerationServiceTest {
+
+    private static final int ROWS = 1_050;
+    private static final LocalDate START = LocalDate.of(2026, 1, 1);
+    private static final LocalDate END = LocalDate.of(2026, 3, 31);
+
+    private final UUID companyId = UUID.randomUUID();
+
+    private ReportRepository reportRepository;
+    private WorkOrderRepository workOrderRepository;
+    private EntityManager entityManager;
+    private ReportGenerationService service;
+
+    @BeforeEach
+    void setUp() {
+        reportRepository = mock(ReportRepository.class);
+        workOrderRepository = mock(WorkOrderRepository.class);
+        entityManager = mock(EntityManager.class);
+
+        service = new ReportGenerationService(reportRepository, workOrderRepository, mock(AssetRepository.class));
+        ReflectionTestUtils.setField(service, "entityManager", entityManager);
+    }
+
+    @Test
+    @DisplayName("The Excel workbook should hold every streamed row and release entities as it goes")
+    void writeMaintenanceReportsExcel_shouldWriteEveryRow() throws Exception {
+        when(reportRepository.streamForExport(companyId, START, END)).thenReturn(reports(ROWS));
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+
+        service.writeMaintenanceReportsExcel(companyId, START, END, output);
+
+        try (Workbook workbook = new XSSFWorkbook(new ByteArrayInputStream(output.toByteArray()))) {
+            Sheet reportsSheet = workbook.getSheet("Maintenance Reports");
+            assertEquals(ROWS, reportsSheet.getLastRowNum());
+            assertEquals("Report " + ROWS, reportsSheet.getRow(ROWS).getCell(1).getStringCellValue());
+            assertEquals("Total Reports: " + ROWS,
+                workbook.getSheet("Summary").getRow(2).getCell(0).getStringCellValue());
+        }
+        verify(entityManager, times(ROWS / 500)).clear();
+    }
+
+    @Test
+    @DisplayName("The PDF should be flushed to the output while rows are still being read")
+    void writeMaintenanceReportsPdf_shouldFlushWhileStreaming() throws Exception {
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        AtomicInteger bytesAtFirstRow = new AtomicInteger();
+        AtomicInteger bytesBeforeLastRow = new AtomicInteger();
+        Stream<Report> reports = reports(ROWS).peek(report -> {
+            if (report.getTitle().equals("Report 1")) {
+                bytesAtFirstRow.set(output.size());
+            } else if (report.getTitle().equals("Report " + ROWS)) {
+                bytesBeforeLastRow.set(output.size());
+            }
+        });
+        when(reportRepository.streamForExport(companyId, START, END)).thenReturn(reports);
+
+        service.writeMaintenanceReportsPdf(companyId, START, END, output);
+
+        assertTrue(bytesBeforeLastRow.get() > bytesAtFirstRow.get(), "pages are written before the stream ends");
+        try (PdfDocument pdf = new PdfDocument(new PdfReader(new ByteArrayInputStream(output.toByteArray())))) {
+            assertTrue(pdf.getNumberOfPages() > 1);
+            assertTrue(PdfTextExtractor.getTextFromPage(pdf.getLastPage()).contains("Report " + ROWS));
+        }
+        verify(entityManager, times(ROWS / 500)).clear();
+    }
+
+    @Test
+    @DisplayName("An empty work order export should still produce a valid workbook")
+    void writeWorkOrdersExcel_shouldWriteHeaderOnlyWhenEmpty() throws Exception {
+        when(workOrderRepository.streamForExport(eq(companyId), any(LocalDateTime.class), any(LocalDateTime.class)))
+            .thenReturn(Stream.<WorkOrder>empty());
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+
+        service.writeWorkOrdersExcel(companyId, START, END, output);
+
+        try (Workbook workbook = new XSSFWorkbook(new ByteArrayInputStream(output.toByteArray()))) {
+            assertEquals(0, workbook.getSheet("Work Orders").getLastRowNum());
+            assertEquals("Completion Rate: 0%",
+                workbook.getSheet("Status Summary").getRow(6).getCell(0).getStringCellValue());
+        }
+        verify(entityManager, never()).clear();
+    }
+
+    @Test
+    @DisplayName("Work orders should be streamed into a PDF that parses back")
+    void writeWorkOrdersPdf_shouldProduceReadableDocument() throws Exception {
+        WorkOrder workOrder = new WorkOrder();
+        workOrder.setId(UUID.randomUUID());
+        workOrder.setTitle("Replace chiller pump");
+        workOrder.setStatus(WorkOrderStatus.IN_PROGRESS);
+        workOrder.setCreatedAt(LocalDateTime.of(2026, 2, 1, 9, 0));
+        when(workOrderRepository.streamForExport(eq(companyId), any(LocalDateTime.class), any(LocalDateTime.class)))
+            .thenReturn(Stream.of(workOrder));
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+
+        service.writeWorkOrdersPdf(companyId, START, END, output);
+
+        try (PdfDocument pdf = new PdfDocument(new PdfReader(new ByteArrayInputStream(output.toByteArray())))) {
+            assertEquals(1, pdf.getNumberOfPages());
+            assertTrue(PdfTextExtractor.getTextFromPage(pdf.getFirstPage()).contains("Replace chiller pump"));
+        }
+    }
+
+    /**
+     * Reports titled "Report 1" to "Report count", generated lazily like a database cursor.
+     */
+    private static Stream<Report> reports(int count) {
+        return IntStream.rangeClosed(1, count).mapToObj(i -> {
+            Report report = new Report();
+            report.setId(UUID.randomUUID());
+            report.setTitle("Report " + i);
+            report.setStatus(i % 2 == 0 ? ReportStatus.COMPLETED : ReportStatus.SUBMITTED);
+            report.setPriority(ReportPriority.MEDIUM);
+            report.setCreatedAt(LocalDateTime.of(2026, 2, 1, 9, 0));
+            return report;
+        });
+    }
+}
@@ -0,0 +1,142 @@
+package com.cafm.cafmbackend.application.service;
+
+import com.cafm.cafmbackend.application.service.WorkOrderRollupMaintainer.DayRange;
+import com.cafm.cafmbackend.application.service.tenant.TenantContextService;
+import com.cafm.cafmbackend.application.service.tenant.TenantContextService.TenantOperation;
+import com.cafm.cafmbackend.infrastructure.persistence.entity.base.WorkOrderChangedEvent;
+import com.cafm.cafmbackend.infrastructure.persistence.repository.CompanyRepository;
+import com.cafm.cafmbackend.infrastructure.persistence.repository.WorkOrderRollupRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.TreeSet;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for the daily rollup maintainer.
+ *
+ * Purpose: Verify dirty tenant-days are rebuilt as few contiguous ranges as possible, and that a
+ *          tenant's history is backfilled however its first rollups were written
+ * Pattern: JUnit 5 with a rollup repository fake that tracks which days hold rollup rows
+ * Java 23: JUnit 5 with display names
+ * Architecture: Testing WorkOrderRollupMaintainer without a database
+ * Standards: Every dirty day must fall in exactly one range
+ */
+@DisplayName("Work Order Rollup Maintainer Tests")
+class WorkOrderRollupMaintainerTest {
+
+    private final UUID companyId = UUID.randomUUID();
+    private final LocalDate today = LocalDate.now();
+    private final LocalDate oldestWorkOrder = today.minusDays(400);
+
+    // Creation days of the tenant's work orders, and the days currently holding rollup rows
+    private final TreeSet<LocalDate> workOrderDays = new TreeSet<>(List.of(oldestWorkOrder, today.minusDays(90), today));
+    private final TreeSet<LocalDate> rollupDays = new TreeSet<>();
+    private final List<DayRange> refreshed = new ArrayList<>();
+    private LocalDate failingDay;
+
+    private WorkOrderRollupMaintainer maintainer;
+
+    @BeforeEach
+    void setUp() {
+        WorkOrderRollupRepository rollupRepository = mock(WorkOrderRollupRepository.class);
+        when(rollupRepository.findOldestRollupDate(companyId))
+            .thenAnswer(invocation -> rollupDays.isEmpty() ? null : rollupDays.first());
+        when(rollupRepository.findOldestWorkOrderDate(companyId)).thenAnswer(invocation -> workOrderDays.first());
+        when(rollupRepository.refresh(eq(companyId), any(), any())).thenAnswer(invocation -> {
+            DayRange range = new DayRange(invocation.getArgument(1), invocation.getArgument(2));
+            if (failingDay != null && range.days().contains(failingDay)) {
+                throw new IllegalStateException("statement timeout");
+            }
+            refreshed.add(range);
+            rollupDays.removeIf(day -> !day.isBefore(range.from()) && !day.isAfter(range.to()));
+            rollupDays.addAll(workOrderDays.subSet(range.from(), true, range.to(), true));
+            return 1;
+        });
+
+        TenantContextService tenantContextService = mock(TenantContextService.class);
+        when(tenantContextService.executeWithTenant(eq(companyId), any()))
+            .thenAnswer(invocation -> invocation.<TenantOperation<?>>getArgument(1).execute());
+
+        maintainer = new WorkOrderRollupMaintainer(rollupRepository, mock(CompanyRepository.class),
+            tenantContextService, new SimpleMeterRegistry(), true, 7);
+    }
+
+    @Test
+    @DisplayName("An event flush before the first reconcile should not prevent the history backfill")
+    void reconcile_shouldBackfillHistoryAfterEarlierEventFlush() {
+        maintainer.onWorkOrderChanged(new WorkOrderChangedEvent(companyId, today));
+        maintainer.flush();
+        assertEquals(List.of(new DayRange(today, today)), refreshed);
+        refreshed.clear();
+
+        maintainer.reconcile(companyId);
+
+        assertEquals(workOrderDays, rollupDays);
+        assertEveryDayRefreshed(oldestWorkOrder, today);
+    }
+
+    @Test
+    @DisplayName("A tenant whose history is rolled up should only rebuild the lookback window")
+    void reconcile_shouldOnlyRebuildLookbackOnceBackfilled() {
+        maintainer.reconcile(companyId);
+        refreshed.clear();
+
+        maintainer.reconcile(companyId);
+
+        assertEquals(List.of(new DayRange(today.minusDays(7), today)), refreshed);
+    }
+
+    @Test
+    @DisplayName("A failed backfill chunk should be resumed by the next reconcile")
+    void reconcile_shouldResumeFailedBackfill() {
+        failingDay = today.minusDays(200);
+        maintainer.reconcile(companyId);
+        assertTrue(rollupDays.contains(today));
+        assertFalse(rollupDays.contains(oldestWorkOrder));
+
+        failingDay = null;
+        maintainer.reconcile(companyId);
+
+        assertEquals(workOrderDays, rollupDays);
+    }
+
+    @Test
+    @DisplayName("Consecutive dirty days should merge into one range and gaps should split ranges")
+    void consecutiveRanges_shouldMergeAdjacentDays() {
+        LocalDate day = LocalDate.of(2025, 2, 27);
+        TreeSet<LocalDate> days = new TreeSet<>(List.of(
+            day, day.plusDays(1), day.plusDays(2), day.plusDays(5), day.plusDays(7), day.plusDays(8)));
+
+        List<DayRange> ranges = WorkOrderRollupMaintainer.consecutiveRanges(days);
+
+        assertEquals(List.of(
+            new DayRange(day, day.plusDays(2)),
+            new DayRange(day.plusDays(5), day.plusDays(5)),
+            new DayRange(day.plusDays(7), day.plusDays(8))), ranges);
+        assertEquals(days.size(), ranges.stream().mapToInt(range -> range.days().size()).sum());
+    }
+
+    @Test
+    @DisplayName("No dirty days should give no ranges")
+    void consecutiveRanges_shouldHandleEmptySet() {
+        assertTrue(WorkOrderRollupMaintainer.consecutiveRanges(new TreeSet<>()).isEmpty());
+    }
+
+    private void assertEveryDayRefreshed(LocalDate from, LocalDate to) {
+        for (LocalDate day : from.datesUntil(to.plusDays(1)).toList()) {
+            assertEquals(1, refreshed.stream().filter(range -> range.days().contains(day)).count(),
+                "day " + day);
+        }
+    }
+}
@@ -0,0 +1,105 @@
+package com.cafm.cafmbackend.application.service;
+
+import com.cafm.cafmbackend.shared.enums.WorkOrderStatus;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.core.HashOperations;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for the per-tenant work order status counters.
+ *
+ * Purpose: Verify transitions reach Redis only after commit and stale counts fall back to SQL
+ * Pattern: JUnit 5 with a mocked StringRedisTemplate and a manually driven transaction synchronization
+ * Java 23: JUnit 5 with display names
+ * Architecture: Testing WorkOrderStatusCounters in isolation from WorkOrderService
+ * Standards: Rolled-back transitions must never change the counts
+ */
+@DisplayName("Work Order Status Counters Tests")
+class WorkOrderStatusCountersTest {
+
+    private final UUID companyId = UUID.randomUUID();
+    private final String key = "cafm:wo-status:" + companyId;
+
+    private StringRedisTemplate redisTemplate;
+    private HashOperations<String, Object, Object> hashOperations;
+    private WorkOrderStatusCounters counters;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        redisTemplate = mock(StringRedisTemplate.class);
+        hashOperations = mock(HashOperations.class);
+        when(redisTemplate.<Object, Object>opsForHash()).thenReturn(hashOperations);
+        when(redisTemplate.hasKey(anyString())).thenReturn(true);
+        counters = new WorkOrderStatusCounters(redisTemplate, true, Duration.ofMinutes(10));
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+        TransactionSynchronizationManager.unbindResourceIfPossible(counters);
+    }
+
+    @Test
+    @DisplayName("Transitions of one transaction should be netted and applied after commit")
+    void recordTransition_shouldApplyAfterCommit() {
+        TransactionSynchronizationManager.initSynchronization();
+        counters.recordTransition(companyId, null, WorkOrderStatus.PENDING);
+        counters.recordTransition(companyId, WorkOrderStatus.PENDING, WorkOrderStatus.ASSIGNED);
+        verifyNoInteractions(hashOperations);
+
+        complete(TransactionSynchronization.STATUS_COMMITTED);
+
+        verify(hashOperations).increment(key, WorkOrderStatus.ASSIGNED.name(), 1L);
+        verify(hashOperations, never()).increment(key, WorkOrderStatus.PENDING.name(), 0L);
+    }
+
+    @Test
+    @DisplayName("Transitions of a rolled-back transaction should be discarded")
+    void recordTransition_shouldIgnoreRollback() {
+        TransactionSynchronizationManager.initSynchronization();
+        counters.recordTransition(companyId, WorkOrderStatus.IN_PROGRESS, WorkOrderStatus.COMPLETED);
+
+        complete(TransactionSynchronization.STATUS_ROLLED_BACK);
+
+        verifyNoInteractions(hashOperations);
+        assertNull(TransactionSynchronizationManager.getResource(counters));
+    }
+
+    @Test
+    @DisplayName("Counts should be served while reconciled and left to SQL once stale")
+    void counts_shouldRequireRecentReconcile() {
+        long fresh = System.currentTimeMillis();
+        when(hashOperations.entries(key)).thenReturn(Map.of("reconciledAt", Long.toString(fresh), "IN_PROGRESS", "4"));
+
+        Map<WorkOrderStatus, Long> counts = counters.counts(companyId).orElseThrow();
+
+        assertEquals(4L, counts.get(WorkOrderStatus.IN_PROGRESS));
+        assertEquals(0L, counts.get(WorkOrderStatus.PENDING));
+
+        long stale = fresh - Duration.ofMinutes(11).toMillis();
+        when(hashOperations.entries(key)).thenReturn(Map.of("reconciledAt", Long.toString(stale), "IN_PROGRESS", "4"));
+        assertTrue(counters.counts(companyId).isEmpty());
+    }
+
+    private void complete(int status) {
+        var synchronizations = TransactionSynchronizationManager.getSynchronizations();
+        TransactionSynchronizationManager.clearSynchronization();
+        synchronizations.forEach(synchronization -> synchronization.afterCompletion(status));
+    }
+}
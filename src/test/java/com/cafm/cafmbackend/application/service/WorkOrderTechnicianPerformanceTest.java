@@ -0,0 +1,135 @@
+package com.cafm.cafmbackend.application.service;
+
+import com.cafm.cafmbackend.application.service.WorkOrderService.TechnicianPerformance;
+import com.cafm.cafmbackend.infrastructure.persistence.projection.TechnicianPerformanceAggregate;
+import com.cafm.cafmbackend.infrastructure.persistence.repository.*;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for the per-company technician scorecards.
+ *
+ * Purpose: Verify the SQL aggregates map onto scorecards and that cached scorecards are keyed
+ *          by company and period
+ * Pattern: WorkOrderService proxied by a minimal Spring caching context over a mocked repository
+ * Java 23: JUnit 5 with display names
+ * Architecture: Testing WorkOrderService.getTechnicianPerformanceForCompany and its cache region
+ * Standards: One company's cached scorecards must never answer another company's request
+ */
+@DisplayName("Work Order Technician Performance Tests")
+class WorkOrderTechnicianPerformanceTest {
+
+    private static final LocalDateTime START = LocalDateTime.of(2025, 1, 1, 0, 0);
+    private static final LocalDateTime END = LocalDateTime.of(2025, 2, 1, 0, 0);
+
+    private final UUID companyA = UUID.randomUUID();
+    private final UUID companyB = UUID.randomUUID();
+
+    private AnnotationConfigApplicationContext context;
+    private WorkOrderRepository workOrderRepository;
+    private WorkOrderService workOrderService;
+
+    @BeforeEach
+    void setUp() {
+        workOrderRepository = mock(WorkOrderRepository.class);
+        context = new AnnotationConfigApplicationContext();
+        context.registerBean(WorkOrderRepository.class, () -> workOrderRepository);
+        context.register(CachingConfig.class);
+        context.refresh();
+        workOrderService = context.getBean(WorkOrderService.class);
+    }
+
+    @AfterEach
+    void tearDown() {
+        context.close();
+    }
+
+    @Test
+    @DisplayName("Aggregates should map onto scorecards with a completion rate")
+    void getTechnicianPerformanceForCompany_shouldMapAggregates() {
+        UUID technicianId = UUID.randomUUID();
+        when(workOrderRepository.aggregateTechnicianPerformanceByCompany(companyA, START, END))
+            .thenReturn(List.of(aggregate(technicianId, 8, 6, 1, 3.5, "42.50"), aggregate(UUID.randomUUID(), 2, 0, 2, null, "0")));
+
+        List<TechnicianPerformance> scorecards = workOrderService.getTechnicianPerformanceForCompany(companyA, START, END);
+
+        assertEquals(2, scorecards.size());
+        TechnicianPerformance first = scorecards.get(0);
+        assertEquals(technicianId, first.technicianId);
+        assertEquals(8, first.totalAssigned);
+        assertEquals(6, first.completed);
+        assertEquals(1, first.inProgress);
+        assertEquals(75.0, first.completionRate);
+        assertEquals(3.5, first.averageCompletionHours);
+        assertEquals(new BigDecimal("42.50"), first.totalHoursWorked);
+        assertEquals(0.0, scorecards.get(1).completionRate);
+        assertEquals(0.0, scorecards.get(1).averageCompletionHours);
+    }
+
+    @Test
+    @DisplayName("Cached scorecards should be keyed by company and period")
+    void getTechnicianPerformanceForCompany_shouldCachePerCompanyAndPeriod() {
+        when(workOrderRepository.aggregateTechnicianPerformanceByCompany(companyA, START, END))
+            .thenReturn(List.of(aggregate(UUID.randomUUID(), 1, 1, 0, 2.0, "2")));
+        when(workOrderRepository.aggregateTechnicianPerformanceByCompany(companyB, START, END))
+            .thenReturn(List.of());
+
+        workOrderService.getTechnicianPerformanceForCompany(companyA, START, END);
+        workOrderService.getTechnicianPerformanceForCompany(companyA, START, END);
+        List<TechnicianPerformance> companyBScorecards = workOrderService.getTechnicianPerformanceForCompany(companyB, START, END);
+        workOrderService.getTechnicianPerformanceForCompany(companyA, START, END.plusDays(1));
+
+        verify(workOrderRepository, times(1)).aggregateTechnicianPerformanceByCompany(companyA, START, END);
+        verify(workOrderRepository, times(1)).aggregateTechnicianPerformanceByCompany(companyB, START, END);
+        verify(workOrderRepository, times(1)).aggregateTechnicianPerformanceByCompany(companyA, START, END.plusDays(1));
+        assertTrue(companyBScorecards.isEmpty());
+        assertNotNull(context.getBean(CacheManager.class).getCache("technician-performance")
+            .get(companyA + ":" + START + ":" + END));
+    }
+
+    private static TechnicianPerformanceAggregate aggregate(UUID technicianId, long assigned, long completed,
+                                                            long inProgress, Double averageHours, String hoursWorked) {
+        TechnicianPerformanceAggregate aggregate = mock(TechnicianPerformanceAggregate.class);
+        when(aggregate.getTechnicianId()).thenReturn(technicianId);
+        when(aggregate.getTotalAssigned()).thenReturn(assigned);
+        when(aggregate.getCompleted()).thenReturn(completed);
+        when(aggregate.getInProgress()).thenReturn(inProgress);
+        when(aggregate.getAverageCompletionHours()).thenReturn(averageHours);
+        when(aggregate.getTotalHoursWorked()).thenReturn(new BigDecimal(hoursWorked));
+        return aggregate;
+    }
+
+    @Configuration
+    @EnableCaching
+    static class CachingConfig {
+
+        @Bean
+        CacheManager cacheManager() {
+            return new ConcurrentMapCacheManager("technician-performance");
+        }
+
+        @Bean
+        WorkOrderService workOrderService(WorkOrderRepository workOrderRepository) {
+            return new WorkOrderService(workOrderRepository, mock(WorkOrderTaskRepository.class),
+                mock(WorkOrderMaterialRepository.class), mock(WorkOrderAttachmentRepository.class),
+                mock(UserRepository.class), mock(SchoolRepository.class), mock(ReportRepository.class),
+                mock(CompanyRepository.class), mock(RowEstimateRepository.class), mock(WorkOrderStatusCounters.class));
+        }
+    }
+}
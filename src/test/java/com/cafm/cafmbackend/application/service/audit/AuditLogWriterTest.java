@@ -0,0 +1,104 @@
+package com.cafm.cafmbackend.application.service.audit;
+
+import com.cafm.cafmbackend.infrastructure.persistence.entity.AuditLog;
+import com.cafm.cafmbackend.infrastructure.persistence.entity.AuditLog.AuditAction;
+import com.cafm.cafmbackend.infrastructure.persistence.repository.AuditLogBatchRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.CannotGetJdbcConnectionException;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for the batching audit log writer.
+ *
+ * Purpose: Verify a rejected row is quarantined without holding back the rest of its batch
+ * Pattern: JUnit 5 with a mocked batch repository and a temporary spill directory
+ * Java 23: JUnit 5 with display names
+ * Architecture: Testing AuditLogWriter without a database or writer thread
+ * Standards: Only connection failures may back off; bad data must never block healthy events
+ */
+@DisplayName("Audit Log Writer Tests")
+class AuditLogWriterTest {
+
+    @TempDir
+    Path spillDirectory;
+
+    private AuditLogBatchRepository batchRepository;
+    private SimpleMeterRegistry meterRegistry;
+    private AuditLogWriter writer;
+
+    @BeforeEach
+    void setUp() {
+        batchRepository = mock(AuditLogBatchRepository.class);
+        meterRegistry = new SimpleMeterRegistry();
+        writer = new AuditLogWriter(batchRepository, new ObjectMapper().findAndRegisterModules(), meterRegistry, 100);
+        ReflectionTestUtils.setField(writer, "spillDirectory", spillDirectory);
+        ReflectionTestUtils.setField(writer, "retryBackoffMs", 5000L);
+    }
+
+    @Test
+    @DisplayName("One bad row should be quarantined while the rest of its batch is written")
+    void insert_shouldQuarantineOnlyTheRejectedRow() throws Exception {
+        doAnswer(invocation -> {
+            List<AuditLog> logs = invocation.getArgument(0);
+            if (logs.stream().anyMatch(log -> "Bad".equals(log.getEntityType()))) {
+                throw new DataIntegrityViolationException("value too long");
+            }
+            return null;
+        }).when(batchRepository).insertAll(anyList());
+
+        List<AuditLog> batch = List.of(event("WorkOrder"), event("Bad"), event("School"));
+
+        assertEquals(3, writer.insert(batch));
+
+        assertEquals(2.0, count("written"));
+        assertEquals(1.0, count("dropped"));
+        List<String> quarantined = Files.readAllLines(spillDirectory.resolve("audit-quarantine.jsonl"));
+        assertEquals(1, quarantined.size());
+        assertTrue(quarantined.get(0).contains("\"Bad\""));
+        assertEquals(0L, (long) ReflectionTestUtils.getField(writer, "backoffUntil"));
+    }
+
+    @Test
+    @DisplayName("A connection failure should back off and leave the batch for spilling")
+    void insert_shouldBackOffOnlyOnTransientFailures() {
+        doThrow(new CannotGetJdbcConnectionException("connection refused"))
+            .when(batchRepository).insertAll(anyList());
+
+        assertEquals(0, writer.insert(List.of(event("WorkOrder"), event("School"))));
+
+        verify(batchRepository, times(1)).insertAll(anyList());
+        assertEquals(0.0, count("dropped"));
+        assertTrue((long) ReflectionTestUtils.getField(writer, "backoffUntil") > System.currentTimeMillis());
+    }
+
+    @Test
+    @DisplayName("Only connection-level failures should count as transient")
+    void isTransient_shouldDistinguishConnectionFromDataErrors() {
+        assertTrue(AuditLogWriter.isTransient(new CannotGetJdbcConnectionException("down")));
+        assertTrue(AuditLogWriter.isTransient(new RuntimeException(new java.sql.SQLException("reset", "08006"))));
+        assertFalse(AuditLogWriter.isTransient(new DataIntegrityViolationException("duplicate key")));
+        assertFalse(AuditLogWriter.isTransient(new RuntimeException(new java.sql.SQLException("bad", "22001"))));
+    }
+
+    private double count(String outcome) {
+        return meterRegistry.get("cafm.audit.events").tag("outcome", outcome).counter().count();
+    }
+
+    private static AuditLog event(String entityType) {
+        return new AuditLog.Builder(AuditAction.UPDATE, entityType).build();
+    }
+}
@@ -0,0 +1,65 @@
+package com.cafm.cafmbackend.application.service.cache;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the cache access frequency sketch.
+ *
+ * Purpose: Verify that the hottest keys survive in the bounded candidate set
+ * Pattern: Plain JUnit 5 tests
+ * Java 23: JUnit 5 with display names
+ * Architecture: Testing the hot-key input of cache warm-up
+ * Standards: Covers ranking, capacity bound and admission of newly hot keys
+ */
+@DisplayName("Cache Access Sketch Tests")
+class CacheAccessSketchTest {
+
+    @Test
+    @DisplayName("Most accessed keys should rank first")
+    void topKeys_shouldRankByFrequency() {
+        CacheAccessSketch sketch = new CacheAccessSketch(256, 10);
+
+        access(sketch, "alice", 50);
+        access(sketch, "bob", 20);
+        access(sketch, "carol", 5);
+
+        assertEquals(List.of("alice", "bob", "carol"), sketch.topKeys(3));
+    }
+
+    @Test
+    @DisplayName("Candidate set should stay within capacity")
+    void topKeys_shouldBeBounded() {
+        CacheAccessSketch sketch = new CacheAccessSketch(256, 5);
+
+        for (int i = 0; i < 100; i++) {
+            access(sketch, "key-" + i, 1);
+        }
+
+        assertEquals(5, sketch.snapshot().size());
+    }
+
+    @Test
+    @DisplayName("A key that becomes hot should displace a cold one")
+    void increment_shouldAdmitNewlyHotKey() {
+        CacheAccessSketch sketch = new CacheAccessSketch(256, 3);
+        access(sketch, "a", 3);
+        access(sketch, "b", 3);
+        access(sketch, "c", 3);
+
+        access(sketch, "hot", 30);
+
+        assertEquals("hot", sketch.topKeys(1).get(0));
+        assertEquals(3, sketch.snapshot().size());
+    }
+
+    private static void access(CacheAccessSketch sketch, String key, int times) {
+        for (int i = 0; i < times; i++) {
+            sketch.increment(key);
+        }
+    }
+}
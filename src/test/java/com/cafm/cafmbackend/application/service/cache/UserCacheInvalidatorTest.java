@@ -0,0 +1,63 @@
+package com.cafm.cafmbackend.application.service.cache;
+
+import com.cafm.cafmbackend.configuration.tenant.TenantAwareCacheConfig;
+import com.cafm.cafmbackend.configuration.tenant.TenantAwareCacheConfig.TenantAwareCache;
+import com.cafm.cafmbackend.security.event.UserSecurityChangedEvent;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.concurrent.ConcurrentMapCache;
+
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for evicting cached user details on security changes.
+ *
+ * Purpose: Verify a changed user is dropped from the "users" cache wherever it may be cached
+ * Pattern: JUnit 5 with a mocked cache manager
+ * Java 23: JUnit 5 with display names
+ * Architecture: Testing UserCacheInvalidator over TenantAwareCache and a plain cache
+ * Standards: A deactivated or re-credentialed user is never served from the cache again
+ */
+@DisplayName("User Cache Invalidator Tests")
+class UserCacheInvalidatorTest {
+
+    private static final String EMAIL = "supervisor@school.sa";
+
+    private final UUID userId = UUID.randomUUID();
+    private final UUID companyId = UUID.randomUUID();
+
+    @Test
+    @DisplayName("A security change should evict the user in their tenant and in the system tenant")
+    void onUserSecurityChanged_shouldEvictTenantAndSystemEntries() {
+        TenantAwareCache cache = mock(TenantAwareCache.class);
+        UserCacheInvalidator invalidator = new UserCacheInvalidator(cacheManager(cache));
+
+        invalidator.onUserSecurityChanged(new UserSecurityChangedEvent(userId, EMAIL, companyId));
+
+        verify(cache).evict(companyId, EMAIL);
+        verify(cache).evict(TenantAwareCacheConfig.SYSTEM_TENANT_ID, EMAIL);
+        verify(cache, never()).evict((Object) EMAIL);
+    }
+
+    @Test
+    @DisplayName("Without tenant-aware caching the user should be evicted by email")
+    void onUserSecurityChanged_shouldEvictPlainCacheByEmail() {
+        ConcurrentMapCache cache = new ConcurrentMapCache(UserCacheInvalidator.CACHE_NAME);
+        cache.put(EMAIL, "cached user");
+        UserCacheInvalidator invalidator = new UserCacheInvalidator(cacheManager(cache));
+
+        invalidator.onUserSecurityChanged(new UserSecurityChangedEvent(userId, EMAIL, companyId));
+
+        assertNull(cache.get(EMAIL));
+    }
+
+    private static CacheManager cacheManager(org.springframework.cache.Cache cache) {
+        CacheManager cacheManager = mock(CacheManager.class);
+        when(cacheManager.getCache(UserCacheInvalidator.CACHE_NAME)).thenReturn(cache);
+        return cacheManager;
+    }
+}
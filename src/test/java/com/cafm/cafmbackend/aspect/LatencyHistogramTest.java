@@ -0,0 +1,61 @@
+package com.cafm.cafmbackend.aspect;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the method latency histogram.
+ *
+ * Purpose: Verify bucket boundaries and percentile accuracy
+ * Pattern: Plain JUnit 5 tests
+ * Java 23: JUnit 5 with display names
+ * Architecture: Testing the statistics behind PerformanceMonitoringAspect
+ * Standards: Percentiles must stay within the 12.5% bucket resolution
+ */
+@DisplayName("Latency Histogram Tests")
+class LatencyHistogramTest {
+
+    @Test
+    @DisplayName("Small values should map to exact buckets")
+    void bucketIndex_shouldBeExactBelowSubBucketCount() {
+        for (long micros = 0; micros < 16; micros++) {
+            assertEquals(micros, LatencyHistogram.bucketUpperBound(LatencyHistogram.bucketIndex(micros)));
+        }
+    }
+
+    @Test
+    @DisplayName("Every value should fall within its bucket bound")
+    void bucketUpperBound_shouldCoverValue() {
+        for (long micros = 1; micros < 10_000_000; micros = micros * 3 + 1) {
+            long upper = LatencyHistogram.bucketUpperBound(LatencyHistogram.bucketIndex(micros));
+            assertTrue(upper >= micros, "upper bound below value " + micros);
+            assertTrue(upper <= micros * 1.125 + 1, "bucket too wide for value " + micros);
+        }
+    }
+
+    @Test
+    @DisplayName("Percentiles should be within bucket resolution")
+    void valueAtQuantile_shouldApproximatePercentiles() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        for (int millis = 1; millis <= 1000; millis++) {
+            histogram.record(millis * 1_000_000L);
+        }
+
+        assertWithin(500_000, histogram.valueAtQuantile(0.50));
+        assertWithin(950_000, histogram.valueAtQuantile(0.95));
+        assertWithin(990_000, histogram.valueAtQuantile(0.99));
+    }
+
+    @Test
+    @DisplayName("Empty histogram should report zero")
+    void valueAtQuantile_shouldBeZeroWhenEmpty() {
+        assertEquals(0, new LatencyHistogram().valueAtQuantile(0.99));
+    }
+
+    private static void assertWithin(long expectedMicros, long actualMicros) {
+        assertTrue(actualMicros >= expectedMicros && actualMicros <= expectedMicros * 1.125,
+                   "expected ~" + expectedMicros + " us but was " + actualMicros);
+    }
+}
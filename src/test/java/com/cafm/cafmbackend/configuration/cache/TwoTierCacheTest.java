@@ -0,0 +1,147 @@
+package com.cafm.cafmbackend.configuration.cache;
+
+import com.cafm.cafmbackend.configuration.cache.TwoTierCacheManager.LocalCacheSpec;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.data.redis.connection.DefaultMessage;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.serializer.GenericJackson2JsonRedisSerializer;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for the Caffeine near-cache and its cross-node invalidation.
+ *
+ * Purpose: Verify an invalidation message from another node evicts exactly the local entries it names
+ * Pattern: Two nodes with their own local tiers over one shared in-memory remote tier;
+ *          pub/sub is simulated by delivering every published message to both buses
+ * Java 23: JUnit 5 with display names
+ * Architecture: Testing TwoTierCache, TwoTierCacheManager and CacheInvalidationBus without Redis
+ * Standards: A node never serves a local copy of an entry another node changed, and one
+ *            tenant's eviction leaves other tenants' local entries in place
+ */
+@DisplayName("Two Tier Cache Tests")
+class TwoTierCacheTest {
+
+    private static final String CHANNEL = "cafm:cache:invalidation";
+    private static final String CACHE = "schools";
+    private static final String TENANT_A = "tenant:aaaaaaaa-0000-0000-0000-000000000001:key:";
+    private static final String TENANT_B = "tenant:bbbbbbbb-0000-0000-0000-000000000002:key:";
+
+    private final List<CacheInvalidationBus> buses = new ArrayList<>();
+
+    private ConcurrentMapCacheManager remote;
+    private TwoTierCache nodeA;
+    private TwoTierCache nodeB;
+
+    @BeforeEach
+    void setUp() {
+        remote = new ConcurrentMapCacheManager();
+        nodeA = (TwoTierCache) node().getCache(CACHE);
+        nodeB = (TwoTierCache) node().getCache(CACHE);
+    }
+
+    @Test
+    @DisplayName("A write on one node should evict the other node's local copy")
+    void put_shouldEvictLocalCopyOnOtherNode() {
+        nodeA.put(TENANT_A + "school-1", "Old name");
+        assertEquals("Old name", nodeB.get(TENANT_A + "school-1").get());
+
+        nodeA.put(TENANT_A + "school-1", "New name");
+
+        assertEquals("New name", nodeB.get(TENANT_A + "school-1").get());
+    }
+
+    @Test
+    @DisplayName("An evict message should drop only the named local entry")
+    void evict_shouldDropOnlyNamedEntryOnOtherNode() {
+        nodeA.put(TENANT_A + "school-1", "School 1");
+        nodeA.put(TENANT_A + "school-2", "School 2");
+        nodeB.get(TENANT_A + "school-1");
+        nodeB.get(TENANT_A + "school-2");
+        assertEquals(2, nodeB.getLocalSize());
+
+        nodeA.evict(TENANT_A + "school-1");
+
+        assertEquals(1, nodeB.getLocalSize());
+        assertNull(nodeB.get(TENANT_A + "school-1"));
+        assertEquals("School 2", nodeB.get(TENANT_A + "school-2").get());
+    }
+
+    @Test
+    @DisplayName("A tenant eviction should leave other tenants' local entries on every node")
+    void evictAll_shouldBeLimitedToTheEvictingTenant() {
+        nodeA.put(TENANT_A + "school-1", "A 1");
+        nodeA.put(TENANT_B + "school-1", "B 1");
+        nodeB.get(TENANT_A + "school-1");
+        nodeB.get(TENANT_B + "school-1");
+
+        nodeA.evictAll(Set.of(TENANT_A + "school-1"), TENANT_A);
+
+        assertEquals(1, nodeB.getLocalSize());
+        assertNull(nodeA.get(TENANT_A + "school-1"));
+        assertNull(nodeB.get(TENANT_A + "school-1"));
+        assertEquals("B 1", nodeB.get(TENANT_B + "school-1").get());
+    }
+
+    @Test
+    @DisplayName("Every local hit on a mutable value should get its own copy")
+    void get_shouldNotShareMutableLocalValues() {
+        nodeA.put(TENANT_A + "school-1", new ArrayList<>(List.of("Building A")));
+
+        @SuppressWarnings("unchecked")
+        List<String> first = (List<String>) nodeA.get(TENANT_A + "school-1").get();
+        first.add("Building B");
+        Object second = nodeA.get(TENANT_A + "school-1").get();
+
+        assertNotSame(first, second);
+        assertEquals(List.of("Building A"), second);
+        assertEquals(2, nodeA.getLocalStats().hitCount());
+    }
+
+    @Test
+    @DisplayName("Immutable values should be served from the local tier as they are")
+    void get_shouldShareImmutableLocalValues() {
+        String name = "School 1";
+        nodeA.put(TENANT_A + "school-1", name);
+
+        assertSame(name, nodeA.get(TENANT_A + "school-1").get());
+    }
+
+    @Test
+    @DisplayName("A node should ignore its own invalidation messages")
+    void onMessage_shouldIgnoreOwnMessages() {
+        nodeA.put(TENANT_A + "school-1", "School 1");
+        remote.getCache(CACHE).clear();
+
+        // The put was delivered back to node A as well; its local copy must survive it
+        assertEquals("School 1", nodeA.get(TENANT_A + "school-1").get());
+    }
+
+    private TwoTierCacheManager node() {
+        StringRedisTemplate redisTemplate = mock(StringRedisTemplate.class);
+        doAnswer(invocation -> {
+            DefaultMessage message = new DefaultMessage(CHANNEL.getBytes(StandardCharsets.UTF_8),
+                invocation.<String>getArgument(1).getBytes(StandardCharsets.UTF_8));
+            buses.forEach(bus -> bus.onMessage(message, null));
+            return 1L;
+        }).when(redisTemplate).convertAndSend(eq(CHANNEL), anyString());
+
+        CacheInvalidationBus bus = new CacheInvalidationBus(redisTemplate, CHANNEL);
+        buses.add(bus);
+        return new TwoTierCacheManager(remote, Map.of(), new LocalCacheSpec(100, Duration.ofMinutes(5)), bus,
+            new GenericJackson2JsonRedisSerializer());
+    }
+}
@@ -0,0 +1,146 @@
+package com.cafm.cafmbackend.configuration.database;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for the connection-bound RLS tenant context.
+ *
+ * Purpose: Verify every borrowed connection runs under the current thread's tenant, and only
+ *          pays a round trip when the connection carries a different one
+ * Pattern: JUnit 5 with a mocked pool, physical connection and set_config statement
+ * Java 23: JUnit 5 with display names
+ * Architecture: Testing TenantAwareDataSource without a database or Hikari
+ * Standards: A statement never runs under another tenant's id, including no tenant at all
+ */
+@DisplayName("Tenant Aware Data Source Tests")
+class TenantAwareDataSourceTest {
+
+    private static final String SET_TENANT_SQL = "SELECT set_config(?, ?, false)";
+
+    private final UUID tenantA = UUID.randomUUID();
+    private final UUID tenantB = UUID.randomUUID();
+    private final AtomicReference<UUID> currentTenant = new AtomicReference<>();
+
+    private Connection physical;
+    private PreparedStatement setTenant;
+    private SimpleMeterRegistry meterRegistry;
+    private TenantAwareDataSource dataSource;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        DataSource pool = mock(DataSource.class);
+        physical = mock(Connection.class);
+        setTenant = mock(PreparedStatement.class);
+        when(pool.getConnection()).thenReturn(physical);
+        when(physical.prepareStatement(anyString())).thenReturn(mock(PreparedStatement.class));
+        when(physical.prepareStatement(SET_TENANT_SQL)).thenReturn(setTenant);
+        when(physical.getAutoCommit()).thenReturn(true);
+
+        meterRegistry = new SimpleMeterRegistry();
+        dataSource = new TenantAwareDataSource(pool, currentTenant::get, meterRegistry);
+    }
+
+    @Test
+    @DisplayName("Each borrowed connection should run under the current tenant")
+    void getConnection_shouldApplyCurrentTenant() throws Exception {
+        currentTenant.set(tenantA);
+        borrowAndQuery();
+
+        currentTenant.set(tenantB);
+        borrowAndQuery();
+
+        verify(setTenant, times(2)).setString(1, TenantAwareDataSource.TENANT_SETTING);
+        verify(setTenant).setString(2, tenantA.toString());
+        verify(setTenant).setString(2, tenantB.toString());
+        verify(setTenant, times(2)).execute();
+        assertEquals(2.0, outcome("applied"));
+    }
+
+    @Test
+    @DisplayName("A connection already carrying the tenant should be reused without a round trip")
+    void getConnection_shouldSkipUnchangedTenant() throws Exception {
+        currentTenant.set(tenantA);
+        borrowAndQuery();
+        borrowAndQuery();
+
+        verify(setTenant, times(1)).execute();
+        assertEquals(1.0, outcome("applied"));
+        assertEquals(1.0, outcome("reused"));
+    }
+
+    @Test
+    @DisplayName("A thread without a tenant should clear the previous borrower's tenant")
+    void getConnection_shouldMapMissingTenantToNoTenant() throws Exception {
+        currentTenant.set(tenantA);
+        borrowAndQuery();
+
+        currentTenant.set(null);
+        borrowAndQuery();
+
+        verify(setTenant).setString(2, tenantA.toString());
+        verify(setTenant).setString(2, "");
+        verify(setTenant, times(2)).execute();
+    }
+
+    @Test
+    @DisplayName("A fresh connection should need no round trip when there is no tenant")
+    void getConnection_shouldTreatFreshConnectionAsNoTenant() throws Exception {
+        borrowAndQuery();
+
+        verify(physical, never()).prepareStatement(SET_TENANT_SQL);
+    }
+
+    @Test
+    @DisplayName("A tenant set in a transaction rolled back on return should be applied again")
+    void close_shouldForgetTenantOfUnfinishedTransaction() throws Exception {
+        when(physical.getAutoCommit()).thenReturn(false);
+        currentTenant.set(tenantA);
+
+        // The pool rolls the unfinished transaction back, which also reverts set_config
+        borrowAndQuery();
+        borrowAndQuery();
+
+        verify(setTenant, times(2)).setString(2, tenantA.toString());
+        verify(setTenant, times(2)).execute();
+    }
+
+    @Test
+    @DisplayName("A tenant set in a committed transaction should survive the return to the pool")
+    void commit_shouldKeepTenantForNextBorrower() throws Exception {
+        when(physical.getAutoCommit()).thenReturn(false);
+        currentTenant.set(tenantA);
+
+        try (Connection connection = dataSource.getConnection()) {
+            connection.prepareStatement("select 1").close();
+            connection.commit();
+        }
+        borrowAndQuery();
+
+        verify(setTenant, times(1)).execute();
+        assertEquals(1.0, outcome("reused"));
+    }
+
+    private void borrowAndQuery() throws Exception {
+        try (Connection connection = dataSource.getConnection()) {
+            assertNotSame(physical, connection);
+            connection.prepareStatement("select 1").close();
+        }
+    }
+
+    private double outcome(String outcome) {
+        return meterRegistry.get("cafm.tenant.rls.context").tag("outcome", outcome).counter().count();
+    }
+}
@@ -0,0 +1,156 @@
+package com.cafm.cafmbackend.configuration.tenant;
+
+import com.cafm.cafmbackend.application.service.cache.HotKeyTracker;
+import com.cafm.cafmbackend.application.service.cache.TenantCacheMetricsRegistry;
+import com.cafm.cafmbackend.application.service.tenant.TenantContextService;
+import com.cafm.cafmbackend.configuration.cache.CacheInvalidationBus;
+import com.cafm.cafmbackend.configuration.cache.TenantCacheKeyIndex;
+import com.cafm.cafmbackend.configuration.cache.TwoTierCacheManager;
+import com.cafm.cafmbackend.configuration.cache.TwoTierCacheManager.LocalCacheSpec;
+import com.cafm.cafmbackend.configuration.tenant.TenantAwareCacheConfig.TenantAwareCache;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.Cache;
+import org.springframework.cache.concurrent.ConcurrentMapCache;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.data.redis.serializer.GenericJackson2JsonRedisSerializer;
+
+import java.time.Duration;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for the tenant-scoped cache wrapper.
+ *
+ * Purpose: Verify entries, clears and per-tenant metrics never cross from one tenant to another
+ * Pattern: JUnit 5 with an in-memory key index and a switchable tenant context
+ * Java 23: JUnit 5 with display names
+ * Architecture: Testing TenantAwareCache over a plain cache and over the two-tier cache
+ * Standards: Clearing a cache only ever removes the current tenant's entries, on every node
+ */
+@DisplayName("Tenant Aware Cache Tests")
+class TenantAwareCacheTest {
+
+    private static final String CACHE = "schools";
+
+    private final UUID tenantA = UUID.randomUUID();
+    private final UUID tenantB = UUID.randomUUID();
+    private final Map<UUID, Set<String>> indexedKeys = new ConcurrentHashMap<>();
+
+    private UUID currentTenant;
+    private TenantContextService tenantContextService;
+    private TenantCacheKeyIndex keyIndex;
+    private TenantCacheMetricsRegistry metricsRegistry;
+    private HotKeyTracker hotKeyTracker;
+
+    @BeforeEach
+    void setUp() {
+        tenantContextService = mock(TenantContextService.class);
+        when(tenantContextService.hasTenantContext()).thenAnswer(invocation -> currentTenant != null);
+        when(tenantContextService.getCurrentTenant()).thenAnswer(invocation -> currentTenant);
+
+        // In-memory stand-in for the Redis key index
+        keyIndex = mock(TenantCacheKeyIndex.class);
+        doAnswer(invocation -> indexedKeys.computeIfAbsent(invocation.getArgument(1), id -> new HashSet<>())
+            .add(invocation.getArgument(2)))
+            .when(keyIndex).add(eq(CACHE), any(UUID.class), anyString());
+        doAnswer(invocation -> indexedKeys.getOrDefault(invocation.getArgument(1), new HashSet<>())
+            .remove(invocation.getArgument(2)))
+            .when(keyIndex).remove(eq(CACHE), any(UUID.class), anyString());
+        when(keyIndex.drain(eq(CACHE), any(UUID.class))).thenAnswer(invocation -> {
+            Set<String> keys = indexedKeys.remove(invocation.<UUID>getArgument(1));
+            return keys != null ? keys : Set.of();
+        });
+
+        metricsRegistry = new TenantCacheMetricsRegistry();
+        hotKeyTracker = mock(HotKeyTracker.class);
+    }
+
+    @Test
+    @DisplayName("The same key should hold a separate entry for each tenant")
+    void get_shouldIsolateTenantsUnderSameKey() {
+        TenantAwareCache cache = tenantAware(new ConcurrentMapCache(CACHE));
+
+        currentTenant = tenantA;
+        cache.put("school-1", "A school");
+        currentTenant = tenantB;
+
+        assertNull(cache.get("school-1"));
+        cache.put("school-1", "B school");
+        assertEquals("B school", cache.get("school-1").get());
+        currentTenant = tenantA;
+        assertEquals("A school", cache.get("school-1").get());
+    }
+
+    @Test
+    @DisplayName("Clearing the cache should evict only the current tenant's entries")
+    void clear_shouldEvictOnlyCurrentTenant() {
+        TenantAwareCache cache = tenantAware(new ConcurrentMapCache(CACHE));
+        currentTenant = tenantA;
+        cache.put("school-1", "A 1");
+        cache.put("school-2", "A 2");
+        currentTenant = tenantB;
+        cache.put("school-1", "B 1");
+
+        currentTenant = tenantA;
+        cache.clear();
+
+        assertNull(cache.get("school-1"));
+        assertNull(cache.get("school-2"));
+        currentTenant = tenantB;
+        assertEquals("B 1", cache.get("school-1").get());
+        assertEquals(2, metricsRegistry.forTenant(tenantA).getEvictions());
+        assertEquals(0, metricsRegistry.forTenant(tenantB).getEvictions());
+    }
+
+    @Test
+    @DisplayName("A tenant eviction over the two-tier cache should broadcast only that tenant's prefix")
+    void evictTenant_shouldPublishTenantPrefixOnly() {
+        CacheInvalidationBus invalidationBus = mock(CacheInvalidationBus.class);
+        TwoTierCacheManager cacheManager = new TwoTierCacheManager(new ConcurrentMapCacheManager(), Map.of(),
+            new LocalCacheSpec(100, Duration.ofMinutes(5)), invalidationBus, new GenericJackson2JsonRedisSerializer());
+        TenantAwareCache cache = tenantAware(cacheManager.getCache(CACHE));
+        currentTenant = tenantA;
+        cache.put("school-1", "A 1");
+        currentTenant = tenantB;
+        cache.put("school-1", "B 1");
+
+        int evicted = cache.evictTenant(tenantA);
+
+        assertEquals(1, evicted);
+        verify(invalidationBus).publishEvictPrefix(CACHE, "tenant:" + tenantA + ":key:");
+        verify(invalidationBus, never()).publishClear(anyString());
+        assertEquals("B 1", cache.get("school-1").get());
+    }
+
+    @Test
+    @DisplayName("Hits, misses and evictions should be counted against the tenant that caused them")
+    void lookups_shouldRecordMetricsPerTenant() {
+        TenantAwareCache cache = tenantAware(new ConcurrentMapCache(CACHE));
+        currentTenant = tenantA;
+
+        cache.get("school-1");
+        cache.put("school-1", "A 1");
+        cache.get("school-1");
+        cache.evict("school-1");
+
+        assertEquals(1, metricsRegistry.forTenant(tenantA).getHits());
+        assertEquals(1, metricsRegistry.forTenant(tenantA).getMisses());
+        assertEquals(1, metricsRegistry.forTenant(tenantA).getEvictions());
+        assertEquals(0, metricsRegistry.forTenant(tenantB).getHits() + metricsRegistry.forTenant(tenantB).getMisses());
+        verify(hotKeyTracker, times(2)).recordAccess(tenantA, CACHE, "school-1");
+        assertTrue(indexedKeys.getOrDefault(tenantA, Set.of()).isEmpty());
+    }
+
+    private TenantAwareCache tenantAware(Cache delegate) {
+        return new TenantAwareCache(delegate, tenantContextService, keyIndex, metricsRegistry, hotKeyTracker);
+    }
+}
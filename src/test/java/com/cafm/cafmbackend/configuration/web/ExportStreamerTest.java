@@ -0,0 +1,63 @@
+package com.cafm.cafmbackend.configuration.web;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.context.request.async.WebAsyncTask;
+
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for running exports as async requests on the export pool.
+ *
+ * Purpose: Verify each export carries the export executor and timeout and writes its body to the response
+ * Pattern: JUnit 5 with a mock servlet response; the async task is called directly
+ * Java 23: JUnit 5 with display names
+ * Architecture: Testing ExportStreamer without a servlet container
+ * Standards: Export async settings never apply to other async handlers
+ */
+@DisplayName("Export Streamer Tests")
+class ExportStreamerTest {
+
+    private static final long TIMEOUT_MS = 600_000;
+
+    private final AsyncTaskExecutor executor = mock(AsyncTaskExecutor.class);
+    private final ExportStreamer exportStreamer = new ExportStreamer(executor, TIMEOUT_MS);
+
+    @Test
+    @DisplayName("The export task should run on the export executor with the export timeout")
+    void stream_shouldUseExportExecutorAndTimeout() {
+        WebAsyncTask<Void> task = exportStreamer.stream(new MockHttpServletResponse(), new HttpHeaders(),
+            outputStream -> { });
+
+        assertSame(executor, task.getExecutor());
+        assertEquals(TIMEOUT_MS, task.getTimeout());
+    }
+
+    @Test
+    @DisplayName("The export headers should be set up front and the body written when the task runs")
+    void stream_shouldWriteHeadersAndBody() throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(MediaType.APPLICATION_PDF);
+        headers.setContentDispositionFormData("attachment", "work-orders.pdf");
+
+        WebAsyncTask<Void> task = exportStreamer.stream(response, headers,
+            outputStream -> outputStream.write("%PDF-1.7".getBytes(StandardCharsets.US_ASCII)));
+
+        assertEquals(MediaType.APPLICATION_PDF_VALUE, response.getContentType());
+        assertTrue(response.getHeader(HttpHeaders.CONTENT_DISPOSITION).contains("work-orders.pdf"));
+        assertEquals(0, response.getContentAsByteArray().length);
+
+        task.getCallable().call();
+
+        assertEquals("%PDF-1.7", response.getContentAsString());
+        assertTrue(response.isCommitted());
+    }
+}
@@ -0,0 +1,137 @@
+package com.cafm.cafmbackend.configuration.web;
+
+import com.cafm.cafmbackend.configuration.cache.CacheInvalidationBus;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.connection.DefaultMessage;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageHeaders;
+import org.springframework.messaging.converter.MappingJackson2MessageConverter;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.messaging.support.ExecutorSubscribableChannel;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for the Redis fan-out of STOMP broadcasts.
+ *
+ * Purpose: Verify a broadcast sent on one node reaches the local broker of every other node exactly once
+ * Pattern: Two nodes, each with a synchronous broker channel, a JSON messaging template and its own
+ *          fan-out interceptor; pub/sub is simulated by delivering every published message to both nodes
+ * Java 23: JUnit 5 with display names
+ * Architecture: Testing RedisWebSocketFanout without Redis or a WebSocket server
+ * Standards: A node never re-delivers or re-publishes its own or an already relayed broadcast
+ */
+@DisplayName("Redis WebSocket Fanout Tests")
+class RedisWebSocketFanoutTest {
+
+    private static final String CHANNEL = "cafm:ws:fanout";
+    private static final String TOPIC = "/topic/tenant/aaaaaaaa-0000-0000-0000-000000000001/work-orders";
+
+    private final List<RedisWebSocketFanout> nodes = new ArrayList<>();
+
+    private StringRedisTemplate redisTemplate;
+    private Node nodeA;
+    private Node nodeB;
+
+    @BeforeEach
+    void setUp() {
+        redisTemplate = mock(StringRedisTemplate.class);
+        doAnswer(invocation -> {
+            DefaultMessage message = new DefaultMessage(CHANNEL.getBytes(StandardCharsets.UTF_8),
+                invocation.<String>getArgument(1).getBytes(StandardCharsets.UTF_8));
+            nodes.forEach(node -> node.onMessage(message, null));
+            return 1L;
+        }).when(redisTemplate).convertAndSend(eq(CHANNEL), anyString());
+
+        nodeA = new Node();
+        nodeB = new Node();
+    }
+
+    @Test
+    @DisplayName("A broadcast on one node should be delivered to the local broker of the other node")
+    void convertAndSend_shouldReachOtherNode() {
+        nodeA.template.convertAndSend(TOPIC, Map.of("status", "COMPLETED"));
+
+        assertEquals(1, nodeA.delivered.size());
+        assertEquals(1, nodeB.delivered.size());
+        Message<?> relayed = nodeB.delivered.get(0);
+        assertEquals(TOPIC, SimpMessageHeaderAccessor.getDestination(relayed.getHeaders()));
+        assertEquals("application/json", relayed.getHeaders().get(MessageHeaders.CONTENT_TYPE).toString());
+        assertArrayEquals((byte[]) nodeA.delivered.get(0).getPayload(), (byte[]) relayed.getPayload());
+        assertEquals(nodeA.nodeId, relayed.getHeaders().get(RedisWebSocketFanout.RELAYED_HEADER));
+
+        // The relayed copy is not published again by node B
+        verify(redisTemplate, times(1)).convertAndSend(eq(CHANNEL), anyString());
+    }
+
+    @Test
+    @DisplayName("A node should skip broadcasts it published itself")
+    void onMessage_shouldSkipOwnMessages() {
+        String ownMessage = nodeA.nodeId + "|application/json|"
+            + Base64.getEncoder().encodeToString("{}".getBytes(StandardCharsets.UTF_8)) + "|" + TOPIC;
+
+        nodeA.fanout.onMessage(new DefaultMessage(CHANNEL.getBytes(StandardCharsets.UTF_8),
+            ownMessage.getBytes(StandardCharsets.UTF_8)), null);
+
+        assertTrue(nodeA.delivered.isEmpty());
+    }
+
+    @Test
+    @DisplayName("Destinations outside the fanned-out prefixes should stay on the local node")
+    void convertAndSend_shouldNotPublishOtherDestinations() {
+        nodeA.template.convertAndSend("/queue/local-only", "hello");
+
+        assertEquals(1, nodeA.delivered.size());
+        assertTrue(nodeB.delivered.isEmpty());
+        verify(redisTemplate, never()).convertAndSend(anyString(), anyString());
+    }
+
+    @Test
+    @DisplayName("A destination containing the separator should survive the round trip")
+    void onMessage_shouldKeepSeparatorInDestination() {
+        String destination = "/topic/reports|archived";
+
+        nodeA.template.convertAndSend(destination, "archived");
+
+        assertEquals(destination, SimpMessageHeaderAccessor.getDestination(nodeB.delivered.get(0).getHeaders()));
+    }
+
+    /**
+     * One application node: a synchronous broker channel with the fan-out interceptor and a
+     * handler standing in for the simple broker.
+     */
+    private final class Node {
+
+        final List<Message<?>> delivered = new ArrayList<>();
+        final RedisWebSocketFanout fanout;
+        final SimpMessagingTemplate template;
+        final String nodeId;
+
+        Node() {
+            CacheInvalidationBus invalidationBus = new CacheInvalidationBus(redisTemplate, "cafm:cache:invalidation");
+            ExecutorSubscribableChannel brokerChannel = new ExecutorSubscribableChannel();
+            brokerChannel.subscribe(delivered::add);
+            fanout = new RedisWebSocketFanout(redisTemplate, brokerChannel, invalidationBus,
+                new SimpleMeterRegistry(), CHANNEL, List.of("/topic/", "/user/"));
+            brokerChannel.addInterceptor(fanout);
+            template = new SimpMessagingTemplate(brokerChannel);
+            template.setMessageConverter(new MappingJackson2MessageConverter());
+            nodeId = invalidationBus.getNodeId();
+            nodes.add(fanout);
+        }
+    }
+}
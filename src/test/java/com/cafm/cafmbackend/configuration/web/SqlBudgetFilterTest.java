@@ -0,0 +1,94 @@
+package com.cafm.cafmbackend.configuration.web;
+
+import com.cafm.cafmbackend.configuration.database.RequestSqlStats;
+import com.cafm.cafmbackend.configuration.web.SqlBudgetFilter.SqlBudgetExceededException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.FilterChain;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.env.MockEnvironment;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the per-request SQL statement budget.
+ *
+ * Purpose: Verify a request over its endpoint budget fails and one within it passes
+ * Pattern: JUnit 5 with mock servlet objects and a filter chain that records statements
+ * Java 23: JUnit 5 with display names
+ * Architecture: Testing SqlBudgetFilter without Hibernate or a servlet container
+ * Standards: With fail-on-exceed set, a budget regression must fail the request
+ */
+@DisplayName("SQL Budget Filter Tests")
+class SqlBudgetFilterTest {
+
+    private static final String DASHBOARD = "/api/v1/mobile/supervisor/dashboard";
+
+    private SimpleMeterRegistry meterRegistry;
+    private SqlBudgetFilter filter;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        MockEnvironment environment = new MockEnvironment()
+            .withProperty("app.sql-budget.endpoints[" + DASHBOARD + "]", "2");
+        filter = new SqlBudgetFilter(meterRegistry, environment);
+        ReflectionTestUtils.setField(filter, "exposeHeaders", true);
+        ReflectionTestUtils.setField(filter, "failOnExceed", true);
+        ReflectionTestUtils.setField(filter, "defaultMaxStatements", -1);
+        ReflectionTestUtils.setField(filter, "repeatedStatementThreshold", 5);
+    }
+
+    @Test
+    @DisplayName("A request within its budget should pass and report its statement count")
+    void doFilter_shouldPassWithinBudget() throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        filter.doFilter(get(DASHBOARD), response, runningStatements(2));
+
+        assertEquals("2", response.getHeader(SqlBudgetFilter.STATEMENTS_HEADER));
+        assertEquals(0.0, exceeded());
+        assertNull(RequestSqlStats.current());
+    }
+
+    @Test
+    @DisplayName("A request over its budget should fail when fail-on-exceed is set")
+    void doFilter_shouldFailOverBudget() {
+        SqlBudgetExceededException exception = assertThrows(SqlBudgetExceededException.class,
+            () -> filter.doFilter(get(DASHBOARD), new MockHttpServletResponse(), runningStatements(3)));
+
+        assertTrue(exception.getMessage().contains("3 statements, budget 2"));
+        assertEquals(1.0, exceeded());
+        assertNull(RequestSqlStats.current());
+    }
+
+    @Test
+    @DisplayName("An endpoint without a budget should not be limited by default")
+    void doFilter_shouldNotLimitEndpointsWithoutBudget() throws Exception {
+        assertDoesNotThrow(() -> filter.doFilter(get("/api/v1/schools"), new MockHttpServletResponse(),
+            runningStatements(50)));
+        assertEquals(0.0, exceeded());
+    }
+
+    private static MockHttpServletRequest get(String uri) {
+        return new MockHttpServletRequest("GET", uri);
+    }
+
+    private static FilterChain runningStatements(int count) {
+        return (request, response) -> {
+            for (int i = 0; i < count; i++) {
+                ReflectionTestUtils.invokeMethod(RequestSqlStats.class, "onStatement", "select * from schools where id = ?");
+            }
+        };
+    }
+
+    private double exceeded() {
+        return meterRegistry.find("cafm.sql.budget.exceeded").counters().stream()
+            .mapToDouble(counter -> counter.count())
+            .sum();
+    }
+}
@@ -0,0 +1,67 @@
+package com.cafm.cafmbackend.domain.services;
+
+import com.cafm.cafmbackend.domain.services.ConflatingBroadcaster.BatchFrame;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for the conflating WebSocket broadcaster.
+ *
+ * Purpose: Verify latest-value-wins buffering and one batched frame per destination
+ * Pattern: JUnit 5 with a mocked messaging template
+ * Java 23: JUnit 5 with display names
+ * Architecture: Testing the rate-shaped path of WebSocketNotificationService
+ * Standards: Frame count must follow flushes, not published updates
+ */
+@DisplayName("Conflating Broadcaster Tests")
+class ConflatingBroadcasterTest {
+
+    private SimpMessagingTemplate messagingTemplate;
+    private ConflatingBroadcaster broadcaster;
+
+    @BeforeEach
+    void setUp() {
+        messagingTemplate = mock(SimpMessagingTemplate.class);
+        broadcaster = new ConflatingBroadcaster(messagingTemplate, new SimpleMeterRegistry());
+    }
+
+    @Test
+    @DisplayName("Only the latest value per entity should be sent, in one frame per destination")
+    void flush_shouldSendLatestValuePerEntity() {
+        for (int i = 0; i < 100; i++) {
+            broadcaster.publish("/topic/locations", "alice", "alice-" + i);
+            broadcaster.publish("/topic/locations", "bob", "bob-" + i);
+        }
+        broadcaster.publish("/topic/dashboard", "STATS", "stats");
+
+        broadcaster.flush();
+
+        ArgumentCaptor<Object> frame = ArgumentCaptor.forClass(Object.class);
+        verify(messagingTemplate).convertAndSend(eq("/topic/locations"), frame.capture());
+        assertEquals(List.of("alice-99", "bob-99"), ((BatchFrame) frame.getValue()).updates());
+        verify(messagingTemplate).convertAndSend(eq("/topic/dashboard"), any(Object.class));
+        assertEquals(0, broadcaster.getPendingCount());
+    }
+
+    @Test
+    @DisplayName("A flush with nothing pending should send nothing")
+    void flush_shouldSkipEmptyBuffers() {
+        broadcaster.publish("/topic/locations", "alice", "alice-1");
+        broadcaster.flush();
+        broadcaster.flush();
+
+        verify(messagingTemplate, times(1)).convertAndSend(anyString(), any(Object.class));
+    }
+}
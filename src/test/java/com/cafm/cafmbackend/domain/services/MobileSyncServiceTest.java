@@ -0,0 +1,136 @@
+package com.cafm.cafmbackend.domain.services;
+
+import com.cafm.cafmbackend.dto.mobile.MobileSyncRequest;
+import com.cafm.cafmbackend.dto.mobile.MobileSyncResponse;
+import com.cafm.cafmbackend.dto.mobile.SyncCursor;
+import com.cafm.cafmbackend.infrastructure.persistence.entity.Company;
+import com.cafm.cafmbackend.infrastructure.persistence.entity.User;
+import com.cafm.cafmbackend.infrastructure.persistence.repository.AssetRepository;
+import com.cafm.cafmbackend.infrastructure.persistence.repository.ReportRepository;
+import com.cafm.cafmbackend.infrastructure.persistence.repository.SupervisorSchoolRepository;
+import com.cafm.cafmbackend.infrastructure.persistence.repository.SyncChangeLogRepository;
+import com.cafm.cafmbackend.infrastructure.persistence.repository.SyncChangeLogRepository.ChangeEntry;
+import com.cafm.cafmbackend.infrastructure.persistence.repository.UserRepository;
+import com.cafm.cafmbackend.infrastructure.persistence.repository.WorkOrderRepository;
+import com.cafm.cafmbackend.shared.enums.UserType;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.stream.LongStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for cursor-based mobile sync.
+ *
+ * Purpose: Verify legacy lastSyncTime requests are translated into a cursor once, and that
+ *          batches page through the change log with hasMore and the returned sync token
+ * Pattern: JUnit 5 with a mocked change log; entries are deletions so no entity is hydrated
+ * Java 23: JUnit 5 with display names
+ * Architecture: Testing MobileSyncService over SyncChangeLogRepository
+ * Standards: A client following next_sync_token sees every change exactly once
+ */
+@DisplayName("Mobile Sync Service Tests")
+class MobileSyncServiceTest {
+
+    private static final String EMAIL = "admin@school.sa";
+
+    private final UUID companyId = UUID.randomUUID();
+    private final UUID deviceId = UUID.randomUUID();
+
+    private SyncChangeLogRepository syncChangeLogRepository;
+    private MobileSyncService service;
+
+    @BeforeEach
+    void setUp() {
+        Company company = new Company();
+        company.setId(companyId);
+        User user = new User(EMAIL, "admin", "hash", UserType.ADMIN);
+        user.setId(UUID.randomUUID());
+        user.setCompany(company);
+
+        UserRepository userRepository = mock(UserRepository.class);
+        when(userRepository.findByEmail(EMAIL)).thenReturn(Optional.of(user));
+        syncChangeLogRepository = mock(SyncChangeLogRepository.class);
+
+        service = new MobileSyncService(userRepository, mock(ReportRepository.class),
+            mock(WorkOrderRepository.class), mock(AssetRepository.class),
+            mock(SupervisorSchoolRepository.class), syncChangeLogRepository);
+    }
+
+    @Test
+    @DisplayName("A legacy lastSyncTime should be translated into a cursor and answered with a sync token")
+    void processSyncRequest_shouldTranslateLegacySyncTime() {
+        LocalDateTime lastSyncTime = LocalDateTime.now().minusHours(2);
+        when(syncChangeLogRepository.findSequenceBefore(companyId, lastSyncTime)).thenReturn(41L);
+        when(syncChangeLogRepository.findChangesAfter(eq(companyId), eq(41L), anySet(), isNull(), eq(51)))
+            .thenReturn(changes(42, 44));
+
+        MobileSyncResponse response = service.processSyncRequest(EMAIL, request(lastSyncTime, null, 50));
+
+        assertEquals(MobileSyncResponse.SyncStatus.SUCCESS, response.syncStatus());
+        assertEquals(3, response.serverChanges().deleted().size());
+        assertEquals(false, response.metadata().get("hasMore"));
+        assertEquals(44, SyncCursor.decode(response.nextSyncToken(), companyId).changeSeq());
+        verify(syncChangeLogRepository).sequencePendingChanges(companyId);
+    }
+
+    @Test
+    @DisplayName("Following the sync token should page through every change once")
+    void processSyncRequest_shouldPageWithSyncToken() {
+        String start = SyncCursor.at(companyId, 100).encode();
+        when(syncChangeLogRepository.findChangesAfter(eq(companyId), eq(100L), anySet(), isNull(), eq(3)))
+            .thenReturn(changes(101, 103));
+        when(syncChangeLogRepository.findChangesAfter(eq(companyId), eq(102L), anySet(), isNull(), eq(3)))
+            .thenReturn(changes(103, 103));
+
+        MobileSyncResponse first = service.processSyncRequest(EMAIL, request(null, start, 2));
+        MobileSyncResponse second = service.processSyncRequest(EMAIL, request(null, first.nextSyncToken(), 2));
+
+        assertEquals(true, first.metadata().get("hasMore"));
+        assertEquals(List.of("101", "102"), deletedIds(first));
+        assertEquals(false, second.metadata().get("hasMore"));
+        assertEquals(List.of("103"), deletedIds(second));
+        assertEquals(103, SyncCursor.decode(second.nextSyncToken(), companyId).changeSeq());
+        verify(syncChangeLogRepository, never()).findSequenceBefore(any(), any());
+    }
+
+    @Test
+    @DisplayName("An empty batch should keep the cursor where it was")
+    void processSyncRequest_shouldKeepCursorWhenNothingChanged() {
+        String token = SyncCursor.at(companyId, 7).encode();
+        when(syncChangeLogRepository.findChangesAfter(eq(companyId), eq(7L), anySet(), isNull(), anyInt()))
+            .thenReturn(List.of());
+
+        MobileSyncResponse response = service.processSyncRequest(EMAIL, request(null, token, 50));
+
+        assertEquals(7, SyncCursor.decode(response.nextSyncToken(), companyId).changeSeq());
+        assertEquals(false, response.metadata().get("hasMore"));
+    }
+
+    private MobileSyncRequest request(LocalDateTime lastSyncTime, String syncToken, int batchSize) {
+        return new MobileSyncRequest(deviceId, "2.4.0", lastSyncTime, null, null, batchSize, false, null, syncToken);
+    }
+
+    /**
+     * Deletions stamped with the sequences from first to last; entity ids are named after their sequence.
+     */
+    private static List<ChangeEntry> changes(long first, long last) {
+        return LongStream.rangeClosed(first, last)
+            .mapToObj(seq -> new ChangeEntry("WORK_ORDER", new UUID(0, seq), seq, true, LocalDateTime.now()))
+            .toList();
+    }
+
+    private static List<String> deletedIds(MobileSyncResponse response) {
+        return response.serverChanges().deleted().stream()
+            .map(deleted -> String.valueOf(UUID.fromString(deleted.entityId()).getLeastSignificantBits()))
+            .toList();
+    }
+}
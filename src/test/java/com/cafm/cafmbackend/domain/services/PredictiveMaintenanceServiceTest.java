@@ -0,0 +1,137 @@
+package com.cafm.cafmbackend.domain.services;
+
+import com.cafm.cafmbackend.domain.services.PredictiveMaintenanceService.AssetFailurePrediction;
+import com.cafm.cafmbackend.domain.services.PredictiveMaintenanceService.OptimalMaintenanceSchedule;
+import com.cafm.cafmbackend.domain.services.PredictiveMaintenanceService.ScheduledMaintenanceItem;
+import com.cafm.cafmbackend.domain.services.adapters.AIDataAdapter;
+import com.cafm.cafmbackend.infrastructure.persistence.entity.Asset;
+import com.cafm.cafmbackend.infrastructure.persistence.entity.Report;
+import com.cafm.cafmbackend.infrastructure.persistence.repository.AssetRepository;
+import com.cafm.cafmbackend.infrastructure.persistence.repository.ReportRepository;
+import com.cafm.cafmbackend.infrastructure.persistence.repository.WorkOrderRepository;
+import com.cafm.cafmbackend.shared.enums.ReportPriority;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for batch maintenance schedule scoring.
+ *
+ * Purpose: Verify the batch schedule scores assets exactly like single-asset predictions
+ * Pattern: JUnit 5 with a mocked data adapter and a same-thread computation executor
+ * Java 23: JUnit 5 with display names
+ * Architecture: Testing PredictiveMaintenanceService.generateOptimalSchedule without a database
+ * Standards: Company history must be loaded once per schedule, not once per asset
+ */
+@DisplayName("Predictive Maintenance Service Tests")
+class PredictiveMaintenanceServiceTest {
+
+    private static final UUID COMPANY_ID = UUID.randomUUID();
+    private static final int DAYS_AHEAD = 1095;
+
+    private AssetRepository assetRepository;
+    private AIDataAdapter dataAdapter;
+    private PredictiveMaintenanceService service;
+    private Asset agedAsset;
+    private Asset newAsset;
+
+    @BeforeEach
+    void setUp() {
+        assetRepository = mock(AssetRepository.class);
+        dataAdapter = mock(AIDataAdapter.class);
+        service = new PredictiveMaintenanceService(assetRepository, mock(ReportRepository.class),
+            mock(WorkOrderRepository.class), dataAdapter, Runnable::run);
+
+        agedAsset = asset("Chiller", LocalDate.now().minusYears(12), LocalDate.now().minusYears(1));
+        newAsset = asset("Pump", LocalDate.now().minusDays(30), null);
+
+        List<Report> reports = new ArrayList<>();
+        for (int i = 0; i < 12; i++) {
+            Report report = new Report();
+            report.setPriority(ReportPriority.HIGH);
+            report.setActualCost(BigDecimal.valueOf(400 + i * 10));
+            report.setCreatedAt(LocalDateTime.now().minusDays(10L + i * 20));
+            reports.add(report);
+        }
+
+        when(dataAdapter.findActiveAssetsByCompany(COMPANY_ID)).thenReturn(List.of(agedAsset, newAsset));
+        when(dataAdapter.getCompanyMaintenanceReports(COMPANY_ID)).thenReturn(reports);
+        when(dataAdapter.getCompanyMaintenanceHistory(COMPANY_ID)).thenReturn(List.of());
+        when(dataAdapter.getAssetMaintenanceReports(agedAsset.getId())).thenReturn(reports);
+        when(dataAdapter.getAssetMaintenanceHistory(agedAsset.getId())).thenReturn(List.of());
+        when(assetRepository.findById(agedAsset.getId())).thenReturn(Optional.of(agedAsset));
+    }
+
+    @Test
+    @DisplayName("Batch schedule should match single-asset predictions and stream each item")
+    void generateOptimalSchedule_shouldMatchSingleAssetPrediction() {
+        List<ScheduledMaintenanceItem> streamed = new ArrayList<>();
+
+        OptimalMaintenanceSchedule schedule = service.generateOptimalSchedule(COMPANY_ID, DAYS_AHEAD, streamed::add).join();
+        AssetFailurePrediction prediction = service.predictAssetFailure(agedAsset.getId(), DAYS_AHEAD).join();
+
+        assertEquals(1, schedule.scheduledItems().size());
+        ScheduledMaintenanceItem item = schedule.scheduledItems().get(0);
+        assertEquals(agedAsset.getId(), item.assetId());
+        assertEquals(prediction.failureProbability(), item.failureProbability());
+        assertEquals(prediction.estimatedCost(), item.estimatedCost());
+        assertEquals(prediction.predictedMaintenanceDate(), item.scheduledDate());
+        assertEquals(prediction.recommendations(), item.recommendations());
+        assertEquals(schedule.scheduledItems(), streamed);
+
+        verify(dataAdapter, times(1)).getCompanyMaintenanceReports(COMPANY_ID);
+        verify(dataAdapter, times(1)).getCompanyMaintenanceHistory(COMPANY_ID);
+        verify(dataAdapter, never()).getAssetMaintenanceReports(newAsset.getId());
+    }
+
+    @Test
+    @DisplayName("Chunks rejected by a saturated executor should be scored and streamed on the calling thread")
+    void generateOptimalSchedule_shouldScoreRejectedChunksInline() {
+        Executor saturated = task -> {
+            throw new RejectedExecutionException("queue full");
+        };
+        service = new PredictiveMaintenanceService(assetRepository, mock(ReportRepository.class),
+            mock(WorkOrderRepository.class), dataAdapter, saturated);
+
+        List<ScheduledMaintenanceItem> streamed = new ArrayList<>();
+
+        OptimalMaintenanceSchedule schedule = service.generateOptimalSchedule(COMPANY_ID, DAYS_AHEAD, streamed::add).join();
+
+        assertEquals(1, schedule.scheduledItems().size());
+        assertEquals(agedAsset.getId(), schedule.scheduledItems().get(0).assetId());
+        assertEquals(schedule.scheduledItems(), streamed);
+    }
+
+    @Test
+    @DisplayName("Company without enough history should get an empty schedule")
+    void generateOptimalSchedule_shouldSkipInsufficientHistory() {
+        when(dataAdapter.getCompanyMaintenanceReports(COMPANY_ID)).thenReturn(List.of());
+
+        OptimalMaintenanceSchedule schedule = service.generateOptimalSchedule(COMPANY_ID, DAYS_AHEAD).join();
+
+        assertTrue(schedule.scheduledItems().isEmpty());
+        assertEquals(0, schedule.metrics().totalItems());
+    }
+
+    private static Asset asset(String name, LocalDate purchaseDate, LocalDate lastMaintenanceDate) {
+        Asset asset = new Asset();
+        asset.setId(UUID.randomUUID());
+        asset.setName(name);
+        asset.setPurchaseDate(purchaseDate);
+        asset.setLastMaintenanceDate(lastMaintenanceDate);
+        return asset;
+    }
+}
@@ -0,0 +1,94 @@
+package com.cafm.cafmbackend.domain.services;
+
+import com.cafm.cafmbackend.configuration.cache.CacheInvalidationBus;
+import com.cafm.cafmbackend.infrastructure.persistence.entity.base.SchoolChangedEvent;
+import com.cafm.cafmbackend.infrastructure.persistence.repository.SchoolRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for the per-tenant school location grid.
+ *
+ * Purpose: Verify bounding-box lookups, antimeridian handling and invalidation
+ * Pattern: JUnit 5 with a mocked repository
+ * Java 23: JUnit 5 with display names
+ * Architecture: Testing the candidate source of LocationQueryService.findNearbySchools
+ * Standards: Each lookup must return exactly the schools inside the box
+ */
+@DisplayName("School Location Index Tests")
+class SchoolLocationIndexTest {
+
+    private static final UUID COMPANY_ID = UUID.randomUUID();
+
+    private SchoolRepository schoolRepository;
+    private CacheInvalidationBus invalidationBus;
+    private SchoolLocationIndex index;
+    private List<Object[]> rows;
+
+    @BeforeEach
+    void setUp() {
+        schoolRepository = mock(SchoolRepository.class);
+        invalidationBus = mock(CacheInvalidationBus.class);
+        rows = new ArrayList<>();
+        when(schoolRepository.findLocatedSchoolsByCompany(COMPANY_ID)).thenAnswer(invocation -> rows);
+        index = new SchoolLocationIndex(schoolRepository, invalidationBus, new SimpleMeterRegistry(),
+                                        100, Duration.ofMinutes(10));
+    }
+
+    @Test
+    @DisplayName("Only schools inside the box should be returned")
+    void findInBox_shouldReturnSchoolsInsideBox() {
+        school("riyadh-center", 24.7136, 46.6753);
+        school("riyadh-north", 24.7743, 46.7386);
+        school("jeddah", 21.4858, 39.1925);
+
+        assertEquals(Set.of("riyadh-center", "riyadh-north"), names(index.findInBox(COMPANY_ID, 24.6, 24.8, 46.6, 46.8)));
+        assertEquals(Set.of("riyadh-center"), names(index.findInBox(COMPANY_ID, 24.70, 24.72, 46.66, 46.69)));
+        assertTrue(index.findInBox(COMPANY_ID, 10, 11, 10, 11).isEmpty());
+    }
+
+    @Test
+    @DisplayName("Boxes crossing the antimeridian should wrap")
+    void findInBox_shouldWrapAroundAntimeridian() {
+        school("east", -17.5, 179.9);
+        school("west", -17.5, -179.9);
+
+        assertEquals(Set.of("east", "west"), names(index.findInBox(COMPANY_ID, -18, -17, 179.5, 180.5)));
+    }
+
+    @Test
+    @DisplayName("A school change should rebuild the tenant grid")
+    void onSchoolChanged_shouldReloadGrid() {
+        school("first", 24.7, 46.7);
+        assertEquals(1, index.findInBox(COMPANY_ID, 24, 25, 46, 47).size());
+
+        school("second", 24.71, 46.71);
+        index.onSchoolChanged(new SchoolChangedEvent(UUID.randomUUID(), COMPANY_ID));
+
+        assertEquals(2, index.findInBox(COMPANY_ID, 24, 25, 46, 47).size());
+        verify(schoolRepository, times(2)).findLocatedSchoolsByCompany(COMPANY_ID);
+        verify(invalidationBus).publishEvict("school-locations", COMPANY_ID.toString());
+    }
+
+    private void school(String name, double latitude, double longitude) {
+        rows.add(new Object[] {UUID.randomUUID(), name, null, null,
+                               BigDecimal.valueOf(latitude), BigDecimal.valueOf(longitude)});
+    }
+
+    private static Set<String> names(List<SchoolLocationIndex.SchoolLocation> locations) {
+        return locations.stream().map(SchoolLocationIndex.SchoolLocation::name).collect(Collectors.toSet());
+    }
+}
@@ -0,0 +1,113 @@
+package com.cafm.cafmbackend.domain.services;
+
+import com.cafm.cafmbackend.domain.services.SupervisorLocationIngest.IngestOutcome;
+import com.cafm.cafmbackend.domain.services.SupervisorLocationIngest.SupervisorIdentity;
+import com.cafm.cafmbackend.infrastructure.persistence.entity.UserLocation;
+import com.cafm.cafmbackend.infrastructure.persistence.repository.UserLocationBatchRepository;
+import com.cafm.cafmbackend.infrastructure.persistence.repository.UserRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.data.redis.core.GeoOperations;
+import org.springframework.data.redis.core.HashOperations;
+import org.springframework.data.redis.core.ListOperations;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for the supervisor location ingest pipeline.
+ *
+ * Purpose: Verify downsampling, batched history writes and last-known-location reads
+ * Pattern: JUnit 5 with mocked repositories and Redis operations
+ * Java 23: JUnit 5 with display names
+ * Architecture: Testing the write path behind SupervisorLocationService.updateLocation
+ * Standards: Only accepted points may reach the batch repository
+ */
+@DisplayName("Supervisor Location Ingest Tests")
+class SupervisorLocationIngestTest {
+
+    private static final SupervisorIdentity SUPERVISOR =
+        new SupervisorIdentity(UUID.randomUUID(), UUID.randomUUID(), "supervisor@test.com");
+
+    private UserLocationBatchRepository batchRepository;
+    private HashOperations<String, Object, Object> hashOperations;
+    private SupervisorLocationIngest ingest;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        batchRepository = mock(UserLocationBatchRepository.class);
+        RedisTemplate<String, Object> redisTemplate = mock(RedisTemplate.class);
+        hashOperations = mock(HashOperations.class);
+        when(redisTemplate.opsForGeo()).thenReturn(mock(GeoOperations.class));
+        when(redisTemplate.opsForHash()).thenReturn(hashOperations);
+        when(redisTemplate.opsForList()).thenReturn(mock(ListOperations.class));
+
+        ingest = new SupervisorLocationIngest(mock(UserRepository.class), batchRepository, redisTemplate,
+                                              new SimpleMeterRegistry(), 100, 100, Duration.ofMinutes(10));
+        ReflectionTestUtils.setField(ingest, "batchSize", 500);
+        ReflectionTestUtils.setField(ingest, "minDistanceMeters", 25.0);
+        ReflectionTestUtils.setField(ingest, "minInterval", Duration.ZERO);
+        ReflectionTestUtils.setField(ingest, "maxInterval", Duration.ofMinutes(1));
+        ReflectionTestUtils.setField(ingest, "localMaxAge", Duration.ofSeconds(30));
+    }
+
+    @Test
+    @DisplayName("Pings that barely move should be downsampled")
+    void ingest_shouldDownsampleStationaryPings() {
+        assertEquals(IngestOutcome.RECORDED, ingest.ingest(SUPERVISOR, 24.7136, 46.6753, 10.0, "mobile"));
+        assertEquals(IngestOutcome.DOWNSAMPLED, ingest.ingest(SUPERVISOR, 24.71361, 46.67531, 10.0, "mobile"));
+        assertEquals(IngestOutcome.RECORDED, ingest.ingest(SUPERVISOR, 24.7236, 46.6753, 10.0, "mobile"));
+        assertEquals(2, ingest.getQueueDepth());
+    }
+
+    @Test
+    @DisplayName("Pings within the minimum interval should be downsampled even when moving")
+    void ingest_shouldRespectMinimumInterval() {
+        ReflectionTestUtils.setField(ingest, "minInterval", Duration.ofMinutes(1));
+        ReflectionTestUtils.setField(ingest, "maxInterval", Duration.ofMinutes(5));
+
+        assertEquals(IngestOutcome.RECORDED, ingest.ingest(SUPERVISOR, 24.7136, 46.6753, null, "mobile"));
+        assertEquals(IngestOutcome.DOWNSAMPLED, ingest.ingest(SUPERVISOR, 24.8136, 46.6753, null, "mobile"));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    @DisplayName("Flush should write queued points in one batch")
+    void flush_shouldWriteQueuedPointsInOneBatch() {
+        ingest.ingest(SUPERVISOR, 24.7136, 46.6753, 10.0, "network");
+        ingest.ingest(SUPERVISOR, 24.7236, 46.6753, 10.0, "network");
+
+        ingest.flush();
+
+        ArgumentCaptor<List<UserLocation>> batch = ArgumentCaptor.forClass(List.class);
+        verify(batchRepository).insertAll(batch.capture());
+        assertEquals(2, batch.getValue().size());
+        assertEquals(SUPERVISOR.companyId(), batch.getValue().getFirst().getCompanyId());
+        assertEquals(UserLocation.LocationSource.NETWORK, batch.getValue().getFirst().getLocationSource());
+        assertEquals(0, ingest.getQueueDepth());
+    }
+
+    @Test
+    @DisplayName("A recent local position should be served without reading Redis")
+    void findLatest_shouldServeRecentLocalPosition() {
+        ingest.ingest(SUPERVISOR, 24.7136, 46.6753, 10.0, "mobile");
+        ingest.ingest(SUPERVISOR, 24.71361, 46.67531, 10.0, "mobile");
+
+        Map<String, Object> latest = ingest.findLatest(SUPERVISOR);
+
+        assertEquals(24.71361, latest.get("latitude"));
+        verify(hashOperations, never()).entries(any());
+    }
+}
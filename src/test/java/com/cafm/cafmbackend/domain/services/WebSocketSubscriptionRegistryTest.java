@@ -0,0 +1,156 @@
+package com.cafm.cafmbackend.domain.services;
+
+import com.cafm.cafmbackend.configuration.cache.CacheInvalidationBus;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.core.HashOperations;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.messaging.support.MessageBuilder;
+import org.springframework.web.socket.CloseStatus;
+import org.springframework.web.socket.messaging.SessionDisconnectEvent;
+
+import java.security.Principal;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for the cluster-wide dashboard subscription registry.
+ *
+ * Purpose: Verify subscriptions made on one node are counted on every node and removed on disconnect
+ * Pattern: Two registries with their own node ids over one in-memory stand-in for the Redis hashes
+ * Java 23: JUnit 5 with display names
+ * Architecture: Testing WebSocketSubscriptionRegistry and its disconnect hook in WebSocketNotificationService
+ * Standards: A disconnected or silent subscriber is never counted as live
+ */
+@DisplayName("WebSocket Subscription Registry Tests")
+class WebSocketSubscriptionRegistryTest {
+
+    private static final Duration STALE_AFTER = Duration.ofSeconds(90);
+
+    private final UUID tenantA = UUID.randomUUID();
+    private final UUID tenantB = UUID.randomUUID();
+    private final Map<String, Map<Object, Object>> hashes = new ConcurrentHashMap<>();
+
+    private StringRedisTemplate redisTemplate;
+    private WebSocketSubscriptionRegistry nodeA;
+    private WebSocketSubscriptionRegistry nodeB;
+
+    @BeforeEach
+    void setUp() {
+        redisTemplate = mock(StringRedisTemplate.class);
+        doReturn(inMemoryHashes()).when(redisTemplate).opsForHash();
+
+        nodeA = registry("redis");
+        nodeB = registry("redis");
+    }
+
+    @Test
+    @DisplayName("A subscription on one node should be counted on every node")
+    void register_shouldBeVisibleToOtherNodes() {
+        nodeA.register("alice", tenantA);
+        nodeB.register("bob", tenantA);
+        nodeB.register("carol", tenantB);
+
+        assertEquals(2, nodeA.countSubscribers(tenantA));
+        assertEquals(2, nodeB.countSubscribers(tenantA));
+        assertEquals(1, nodeA.countSubscribers(tenantB));
+        assertEquals(1, nodeA.countLocal(tenantA));
+    }
+
+    @Test
+    @DisplayName("Resubscribing under another tenant should move the subscription")
+    void register_shouldMoveSubscriptionBetweenTenants() {
+        nodeA.register("alice", tenantA);
+        nodeA.register("alice", tenantB);
+
+        assertEquals(0, nodeB.countSubscribers(tenantA));
+        assertEquals(1, nodeB.countSubscribers(tenantB));
+    }
+
+    @Test
+    @DisplayName("A session disconnect should remove the subscription on every node")
+    void onSessionDisconnect_shouldUnregisterSubscriber() {
+        WebSocketNotificationService notificationService = new WebSocketNotificationService(
+            mock(SimpMessagingTemplate.class), nodeA, mock(ConflatingBroadcaster.class));
+        notificationService.registerDashboardSubscription("alice", tenantA);
+        nodeB.register("bob", tenantA);
+        assertEquals(2, nodeB.countSubscribers(tenantA));
+
+        notificationService.onSessionDisconnect(disconnect("alice"));
+
+        assertEquals(1, nodeB.countSubscribers(tenantA));
+        assertEquals(0, nodeA.countLocal(tenantA));
+        assertEquals(1, notificationService.getDashboardSubscriberCount(tenantA));
+    }
+
+    @Test
+    @DisplayName("Entries that stopped heartbeating should not be counted and should be pruned")
+    void countSubscribers_shouldPruneStaleEntries() {
+        nodeA.register("alice", tenantA);
+        String staleSince = Long.toString(System.currentTimeMillis() - STALE_AFTER.toMillis() - 1_000);
+        hashes.get("cafm:ws:subscribers:" + tenantA).put("departed-node|bob", staleSince);
+
+        assertEquals(1, nodeB.countSubscribers(tenantA));
+        assertFalse(hashes.get("cafm:ws:subscribers:" + tenantA).containsKey("departed-node|bob"));
+    }
+
+    @Test
+    @DisplayName("In simple broker mode subscriptions should stay local and never touch Redis")
+    void register_shouldStayLocalInSimpleMode() {
+        WebSocketSubscriptionRegistry local = registry("simple");
+
+        local.register("alice", tenantA);
+        assertEquals(1, local.countSubscribers(tenantA));
+        local.unregister("alice");
+
+        assertEquals(0, local.countSubscribers(tenantA));
+        assertTrue(hashes.isEmpty());
+    }
+
+    private WebSocketSubscriptionRegistry registry(String brokerMode) {
+        return new WebSocketSubscriptionRegistry(redisTemplate,
+            new CacheInvalidationBus(redisTemplate, "cafm:cache:invalidation"), brokerMode, STALE_AFTER);
+    }
+
+    private static SessionDisconnectEvent disconnect(String username) {
+        Message<byte[]> message = MessageBuilder.withPayload(new byte[0]).build();
+        Principal user = () -> username;
+        return new SessionDisconnectEvent(new Object(), message, "session-1", CloseStatus.NORMAL, user);
+    }
+
+    /**
+     * Hash operations backed by a map per key; only the calls the registry makes are supported.
+     */
+    @SuppressWarnings("unchecked")
+    private HashOperations<String, Object, Object> inMemoryHashes() {
+        return mock(HashOperations.class, invocation -> {
+            Object[] args = invocation.getArguments();
+            String key = args.length > 0 && args[0] instanceof String name ? name : null;
+            return switch (invocation.getMethod().getName()) {
+                case "put" -> {
+                    hashes.computeIfAbsent(key, k -> new ConcurrentHashMap<>()).put(args[1], args[2]);
+                    yield null;
+                }
+                case "putAll" -> {
+                    hashes.computeIfAbsent(key, k -> new ConcurrentHashMap<>()).putAll((Map<Object, Object>) args[1]);
+                    yield null;
+                }
+                case "delete" -> {
+                    Map<Object, Object> hash = hashes.getOrDefault(key, new ConcurrentHashMap<>());
+                    yield Arrays.stream(args, 1, args.length).filter(field -> hash.remove(field) != null).count();
+                }
+                case "entries" -> Map.copyOf(hashes.getOrDefault(key, Map.of()));
+                default -> RETURNS_DEFAULTS.answer(invocation);
+            };
+        });
+    }
+}
@@ -0,0 +1,65 @@
+package com.cafm.cafmbackend.dto.common;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the shared cursor token codec.
+ *
+ * Purpose: Verify token round-trips, URL safety and rejection of foreign or malformed tokens
+ * Pattern: Plain JUnit 5 value-object tests
+ * Java 23: JUnit 5 with display names
+ * Architecture: Testing the token format behind SeekCursor and SyncCursor
+ * Standards: Covers valid, wrong-version, wrong-arity and malformed tokens
+ */
+@DisplayName("Cursor Codec Tests")
+class CursorCodecTest {
+
+    private final CursorCodec codec = new CursorCodec("t1", '|', 2, "cursor");
+
+    @Test
+    @DisplayName("Encoded fields should decode to the same values in a URL-safe token")
+    void encode_shouldRoundTrip() {
+        String token = codec.encode("2025-03-01T08:00:00.123456", Long.MAX_VALUE);
+
+        String[] fields = codec.decode(token, parts -> parts);
+
+        assertArrayEquals(new String[] {"2025-03-01T08:00:00.123456", Long.toString(Long.MAX_VALUE)}, fields);
+        assertTrue(token.matches("[A-Za-z0-9_-]+"));
+    }
+
+    @Test
+    @DisplayName("Token of another version or field count should be unsupported")
+    void decode_shouldRejectUnsupportedToken() {
+        String otherVersion = new CursorCodec("t2", '|', 2, "cursor").encode("a", "b");
+
+        IllegalArgumentException version = assertThrows(IllegalArgumentException.class,
+            () -> codec.decode(otherVersion, parts -> parts));
+        IllegalArgumentException arity = assertThrows(IllegalArgumentException.class,
+            () -> codec.decode(raw("t1|a|b|c"), parts -> parts));
+
+        assertEquals("Unsupported cursor", version.getMessage());
+        assertEquals("Unsupported cursor", arity.getMessage());
+    }
+
+    @Test
+    @DisplayName("Invalid Base64 or unparseable fields should be malformed")
+    void decode_shouldRejectMalformedToken() {
+        IllegalArgumentException base64 = assertThrows(IllegalArgumentException.class,
+            () -> codec.decode("not-a-token!", parts -> parts));
+        IllegalArgumentException field = assertThrows(IllegalArgumentException.class,
+            () -> codec.decode(raw("t1|x|1"), parts -> Long.parseLong(parts[0])));
+
+        assertEquals("Malformed cursor", base64.getMessage());
+        assertEquals("Malformed cursor", field.getMessage());
+    }
+
+    private static String raw(String value) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(value.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,70 @@
+package com.cafm.cafmbackend.dto.common;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for keyset pagination cursors and cursor pages.
+ *
+ * Purpose: Verify token round-trips, scope binding and next-page detection
+ * Pattern: Plain JUnit 5 value-object tests
+ * Java 23: JUnit 5 with display names
+ * Architecture: Testing the cursor list endpoint contract
+ * Standards: Covers valid and foreign-scope tokens; the token format is covered by CursorCodecTest
+ */
+@DisplayName("Seek Cursor Tests")
+class SeekCursorTest {
+
+    private final UUID scopeId = UUID.randomUUID();
+
+    @Test
+    @DisplayName("Encoded cursor should decode to the same position, keeping sub-second precision")
+    void encode_shouldRoundTrip() {
+        SeekCursor cursor = new SeekCursor(scopeId, LocalDateTime.of(2025, 3, 1, 8, 0, 0, 123456000), UUID.randomUUID());
+
+        SeekCursor decoded = SeekCursor.decode(cursor.encode(), scopeId);
+
+        assertEquals(cursor, decoded);
+    }
+
+    @Test
+    @DisplayName("Token issued for another scope should be rejected")
+    void decode_shouldRejectForeignScope() {
+        String token = new SeekCursor(UUID.randomUUID(), LocalDateTime.now(), UUID.randomUUID()).encode();
+
+        assertThrows(IllegalArgumentException.class, () -> SeekCursor.decode(token, scopeId));
+    }
+
+    @Test
+    @DisplayName("A missing token should mean the first page")
+    void decodeOrNull_shouldTreatBlankTokenAsFirstPage() {
+        assertNull(SeekCursor.decodeOrNull(null, scopeId));
+        assertNull(SeekCursor.decodeOrNull(" ", scopeId));
+    }
+
+    @Test
+    @DisplayName("Probe row should set hasNext and the cursor of the last returned row")
+    void fromProbe_shouldDetectNextPage() {
+        LocalDateTime start = LocalDateTime.of(2025, 1, 1, 0, 0);
+        List<SeekCursor> rows = IntStream.range(0, 4)
+            .mapToObj(i -> new SeekCursor(scopeId, start.minusMinutes(i), UUID.randomUUID()))
+            .toList();
+
+        CursorPageResponse<String> page = CursorPageResponse.fromProbe(rows, 3, row -> row, row -> row.id().toString(), null);
+        CursorPageResponse<String> last = CursorPageResponse.fromProbe(rows.subList(0, 2), 3, row -> row, row -> "x", 2L);
+
+        assertEquals(3, page.content().size());
+        assertTrue(page.hasNext());
+        assertEquals(rows.get(2), SeekCursor.decode(page.nextCursor(), scopeId));
+        assertFalse(last.hasNext());
+        assertNull(last.nextCursor());
+        assertEquals(2L, last.estimatedTotal());
+    }
+}
@@ -0,0 +1,81 @@
+package com.cafm.cafmbackend.security.service;
+
+import com.cafm.cafmbackend.infrastructure.persistence.repository.ApiKeyRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataAccessResourceFailureException;
+
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for write-behind API key usage accounting.
+ *
+ * Purpose: Verify usage is written as one aggregated update per key and never lost on failure
+ * Pattern: JUnit 5 with a mocked repository
+ * Java 23: JUnit 5 with display names
+ * Architecture: Testing ApiKeyUsageRecorder without a database or scheduler
+ * Standards: Every recorded request is counted exactly once
+ */
+@DisplayName("API Key Usage Recorder Tests")
+class ApiKeyUsageRecorderTest {
+
+    private final UUID busyKey = UUID.randomUUID();
+    private final UUID quietKey = UUID.randomUUID();
+
+    private ApiKeyRepository apiKeyRepository;
+    private ApiKeyUsageRecorder recorder;
+
+    @BeforeEach
+    void setUp() {
+        apiKeyRepository = mock(ApiKeyRepository.class);
+        recorder = new ApiKeyUsageRecorder(apiKeyRepository);
+    }
+
+    @Test
+    @DisplayName("A flush should write one aggregated update per key with the latest client")
+    void flush_shouldAggregateUsagePerKey() {
+        recorder.record(busyKey, "10.0.0.1");
+        recorder.record(busyKey, "10.0.0.2");
+        recorder.record(busyKey, "10.0.0.3");
+        recorder.record(quietKey, "10.0.0.9");
+
+        recorder.flush();
+
+        verify(apiKeyRepository).addUsage(eq(busyKey), eq(3L), any(), eq("10.0.0.3"));
+        verify(apiKeyRepository).addUsage(eq(quietKey), eq(1L), any(), eq("10.0.0.9"));
+        verifyNoMoreInteractions(apiKeyRepository);
+        assertEquals(0, recorder.getPendingKeys());
+    }
+
+    @Test
+    @DisplayName("A flush with nothing recorded should not touch the database")
+    void flush_shouldSkipWhenIdle() {
+        recorder.flush();
+
+        verifyNoInteractions(apiKeyRepository);
+    }
+
+    @Test
+    @DisplayName("A failed flush should keep the usage and write it with later requests on the next run")
+    void flush_shouldRestoreUsageOnFailure() {
+        recorder.record(busyKey, "10.0.0.1");
+        recorder.record(busyKey, "10.0.0.1");
+        doThrow(new DataAccessResourceFailureException("connection refused"))
+            .when(apiKeyRepository).addUsage(any(), anyLong(), any(), any());
+
+        assertThrows(DataAccessResourceFailureException.class, () -> recorder.flush());
+        assertEquals(1, recorder.getPendingKeys());
+
+        reset(apiKeyRepository);
+        recorder.record(busyKey, "10.0.0.4");
+        recorder.flush();
+
+        verify(apiKeyRepository).addUsage(eq(busyKey), eq(3L), any(), eq("10.0.0.4"));
+        assertEquals(0, recorder.getPendingKeys());
+    }
+}
@@ -0,0 +1,135 @@
+package com.cafm.cafmbackend.security.service;
+
+import com.cafm.cafmbackend.configuration.cache.CacheInvalidationBus;
+import com.cafm.cafmbackend.infrastructure.persistence.entity.ApiKey;
+import com.cafm.cafmbackend.infrastructure.persistence.repository.ApiKeyRepository;
+import com.cafm.cafmbackend.security.event.ApiKeyChangedEvent;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataAccessResourceFailureException;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for the verified API key cache.
+ *
+ * Purpose: Verify cached keys are revalidated on refresh and dropped when revoked or changed
+ * Pattern: JUnit 5 with a mocked repository, a manual clock and same-thread reloads
+ * Java 23: JUnit 5 with display names
+ * Architecture: Testing ApiKeyVerificationCache without a database or Redis
+ * Standards: A revoked key must stop authenticating within one refresh interval, or at once
+ *            when the revocation goes through ApiKeyService
+ */
+@DisplayName("API Key Verification Cache Tests")
+class ApiKeyVerificationCacheTest {
+
+    private static final Duration REFRESH = Duration.ofSeconds(30);
+
+    private final AtomicLong clock = new AtomicLong();
+
+    private ApiKeyRepository apiKeyRepository;
+    private CacheInvalidationBus invalidationBus;
+    private ApiKeyVerificationCache cache;
+    private ApiKey apiKey;
+    private String digest;
+
+    @BeforeEach
+    void setUp() {
+        apiKeyRepository = mock(ApiKeyRepository.class);
+        invalidationBus = mock(CacheInvalidationBus.class);
+        cache = new ApiKeyVerificationCache(apiKeyRepository, invalidationBus, new SimpleMeterRegistry(),
+            100, Duration.ofMinutes(15), REFRESH, clock::get, Runnable::run);
+
+        apiKey = key("hash");
+        digest = cache.digest("cafm_live_secret");
+        cache.put(digest, apiKey);
+    }
+
+    @Test
+    @DisplayName("Digests should be stable for a key and differ between keys")
+    void digest_shouldBeStablePerKey() {
+        assertEquals(digest, cache.digest("cafm_live_secret"));
+        assertNotEquals(digest, cache.digest("cafm_live_other"));
+        assertSame(apiKey, cache.get(digest));
+    }
+
+    @Test
+    @DisplayName("A refresh should replace the entry with the current row")
+    void refresh_shouldReloadValidKey() {
+        ApiKey reloaded = key("hash");
+        reloaded.setId(apiKey.getId());
+        when(apiKeyRepository.findById(apiKey.getId())).thenReturn(Optional.of(reloaded));
+
+        advancePastRefresh();
+        cache.get(digest);
+
+        assertSame(reloaded, cache.get(digest));
+    }
+
+    @Test
+    @DisplayName("A refresh should drop a key revoked on another path")
+    void refresh_shouldDropRevokedKey() {
+        ApiKey revoked = key("hash");
+        revoked.setId(apiKey.getId());
+        revoked.revoke(UUID.randomUUID(), "leaked");
+        when(apiKeyRepository.findById(apiKey.getId())).thenReturn(Optional.of(revoked));
+
+        advancePastRefresh();
+        cache.get(digest);
+
+        assertNull(cache.get(digest));
+    }
+
+    @Test
+    @DisplayName("A refresh should drop a key whose secret was rotated")
+    void refresh_shouldDropRotatedKey() {
+        ApiKey rotated = key("new-hash");
+        rotated.setId(apiKey.getId());
+        when(apiKeyRepository.findById(apiKey.getId())).thenReturn(Optional.of(rotated));
+
+        advancePastRefresh();
+        cache.get(digest);
+
+        assertNull(cache.get(digest));
+    }
+
+    @Test
+    @DisplayName("A failed refresh should keep serving the verified entry")
+    void refresh_shouldKeepEntryWhenDatabaseFails() {
+        when(apiKeyRepository.findById(apiKey.getId()))
+            .thenThrow(new DataAccessResourceFailureException("connection refused"));
+
+        advancePastRefresh();
+        cache.get(digest);
+
+        assertSame(apiKey, cache.get(digest));
+    }
+
+    @Test
+    @DisplayName("A committed revocation should drop the key on every node at once")
+    void onApiKeyChanged_shouldInvalidateEverywhere() {
+        cache.onApiKeyChanged(new ApiKeyChangedEvent(apiKey.getId()));
+
+        assertNull(cache.get(digest));
+        verify(invalidationBus).publishEvict(ApiKeyVerificationCache.CACHE_NAME, apiKey.getId().toString());
+        verifyNoInteractions(apiKeyRepository);
+    }
+
+    private void advancePastRefresh() {
+        clock.addAndGet(REFRESH.plusSeconds(1).toNanos());
+    }
+
+    private static ApiKey key(String keyHash) {
+        ApiKey key = new ApiKey("integration", keyHash, "cafm_liv", null);
+        key.setId(UUID.randomUUID());
+        return key;
+    }
+}
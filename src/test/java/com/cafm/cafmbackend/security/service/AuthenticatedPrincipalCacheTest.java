@@ -0,0 +1,181 @@
+package com.cafm.cafmbackend.security.service;
+
+import com.cafm.cafmbackend.application.service.UserService;
+import com.cafm.cafmbackend.configuration.cache.CacheInvalidationBus;
+import com.cafm.cafmbackend.infrastructure.persistence.entity.Company;
+import com.cafm.cafmbackend.infrastructure.persistence.entity.Role;
+import com.cafm.cafmbackend.infrastructure.persistence.entity.User;
+import com.cafm.cafmbackend.infrastructure.persistence.repository.CompanyRepository;
+import com.cafm.cafmbackend.infrastructure.persistence.repository.UserRepository;
+import com.cafm.cafmbackend.security.event.UserSecurityChangedEvent;
+import com.cafm.cafmbackend.shared.enums.UserStatus;
+import com.cafm.cafmbackend.shared.enums.UserType;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.time.Duration;
+import java.util.Date;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for the per-node cache of authenticated principals.
+ *
+ * Purpose: Verify status, role, password and delete changes evict the cached principal,
+ *          and that callers never share a cached User instance
+ * Pattern: JUnit 5 with a mocked invalidation bus; UserService events are delivered to the cache
+ * Java 23: JUnit 5 with display names
+ * Architecture: Testing AuthenticatedPrincipalCache and its UserSecurityChangedEvent sources
+ * Standards: A principal must never outlive a security change to its user
+ */
+@DisplayName("Authenticated Principal Cache Tests")
+class AuthenticatedPrincipalCacheTest {
+
+    private static final String EMAIL = "tech@school.sa";
+
+    private CacheInvalidationBus invalidationBus;
+    private AuthenticatedPrincipalCache cache;
+    private UserRepository userRepository;
+    private PasswordEncoder passwordEncoder;
+    private UserService userService;
+    private User user;
+
+    @BeforeEach
+    void setUp() {
+        invalidationBus = mock(CacheInvalidationBus.class);
+        cache = new AuthenticatedPrincipalCache(invalidationBus, new SimpleMeterRegistry(), 100, Duration.ofMinutes(5));
+
+        user = new User(EMAIL, "tech", "hash", UserType.TECHNICIAN);
+        user.setId(UUID.randomUUID());
+        user.setStatus(UserStatus.ACTIVE);
+        Company company = new Company();
+        company.setId(UUID.randomUUID());
+        user.setCompany(company);
+        user.setRoles(Set.of(new Role("ROLE_TECHNICIAN", "Technician")));
+
+        userRepository = mock(UserRepository.class);
+        passwordEncoder = mock(PasswordEncoder.class);
+        when(userRepository.findById(user.getId())).thenReturn(Optional.of(user));
+        when(userRepository.save(any(User.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        when(passwordEncoder.matches(anyString(), anyString())).thenReturn(true);
+        when(passwordEncoder.encode(anyString())).thenReturn("new-hash");
+
+        // Deliver published events straight to the cache, as the transactional listener does after commit
+        ApplicationEventPublisher eventPublisher = event -> {
+            if (event instanceof UserSecurityChangedEvent changed) {
+                cache.onUserSecurityChanged(changed);
+            }
+        };
+        userService = new UserService(userRepository, mock(CompanyRepository.class), passwordEncoder, eventPublisher);
+    }
+
+    @Test
+    @DisplayName("Every hit should get its own copy of the principal")
+    void get_shouldReturnIndependentCopies() {
+        cacheUser();
+
+        User first = cache.get(EMAIL);
+        first.setStatus(UserStatus.SUSPENDED);
+        first.setIsLocked(true);
+        User second = cache.get(EMAIL);
+
+        assertNotSame(user, first);
+        assertNotSame(first, second);
+        assertEquals(UserStatus.ACTIVE, second.getStatus());
+        assertTrue(second.isAccountNonLocked());
+        assertEquals(user.getId(), second.getId());
+        assertEquals(user.getCompany().getId(), second.getCompany().getId());
+        assertEquals(EMAIL, second.getUsername());
+        assertTrue(second.getAuthorities().contains(new SimpleGrantedAuthority("ROLE_TECHNICIAN")));
+        assertNull(second.getPassword());
+    }
+
+    @Test
+    @DisplayName("A status change should evict the cached principal")
+    void suspendUser_shouldEvictPrincipal() {
+        cacheUser();
+
+        userService.suspendUser(user.getId(), "audit");
+
+        assertNull(cache.get(EMAIL));
+        verify(invalidationBus).publishEvict(AuthenticatedPrincipalCache.CACHE_NAME, EMAIL);
+    }
+
+    @Test
+    @DisplayName("A role change should evict the cached principal")
+    void updateUser_shouldEvictPrincipalOnRoleChange() {
+        cacheUser();
+        User update = new User();
+        update.setUserType(UserType.SUPERVISOR);
+
+        userService.updateUser(user.getId(), update);
+
+        assertNull(cache.get(EMAIL));
+    }
+
+    @Test
+    @DisplayName("A password change should evict the cached principal")
+    void changePassword_shouldEvictPrincipal() {
+        cacheUser();
+
+        userService.changePassword(user.getId(), "old-password", "new-password");
+
+        assertNull(cache.get(EMAIL));
+    }
+
+    @Test
+    @DisplayName("Deleting the user should evict the cached principal")
+    void deleteUser_shouldEvictPrincipal() {
+        cacheUser();
+
+        userService.deleteUser(user.getId());
+
+        assertNull(cache.get(EMAIL));
+    }
+
+    @Test
+    @DisplayName("A load that started before an invalidation should not be cached")
+    void put_shouldSkipLoadsOlderThanInvalidation() {
+        long loadStarted = System.nanoTime();
+        cache.onUserSecurityChanged(new UserSecurityChangedEvent(user.getId(), EMAIL, user.getCompanyId()));
+
+        cache.put(EMAIL, user, tokenExpiry(), loadStarted);
+
+        assertNull(cache.get(EMAIL));
+    }
+
+    @Test
+    @DisplayName("An eviction from another node should drop the local principal")
+    @SuppressWarnings("unchecked")
+    void remoteEvict_shouldDropPrincipal() {
+        ArgumentCaptor<Consumer<String>> onEvict = ArgumentCaptor.forClass(Consumer.class);
+        verify(invalidationBus).registerLocalHandler(eq(AuthenticatedPrincipalCache.CACHE_NAME),
+            onEvict.capture(), any(Runnable.class));
+        cacheUser();
+
+        onEvict.getValue().accept(EMAIL);
+
+        assertNull(cache.get(EMAIL));
+    }
+
+    private void cacheUser() {
+        cache.put(EMAIL, user, tokenExpiry(), System.nanoTime());
+        assertNotNull(cache.get(EMAIL));
+    }
+
+    private static Date tokenExpiry() {
+        return new Date(System.currentTimeMillis() + Duration.ofHours(1).toMillis());
+    }
+}